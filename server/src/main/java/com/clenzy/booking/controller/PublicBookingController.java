@@ -13,6 +13,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -66,6 +67,7 @@ public class PublicBookingController {
     private final com.clenzy.booking.service.PublicConciergeService conciergeService;
     private final com.clenzy.booking.service.BookingInquiryService inquiryService;
     private final com.clenzy.booking.service.BookingFunnelRecorder funnelRecorder;
+    private final com.clenzy.booking.service.StaySearchService staySearchService;
 
     /** Header optionnel du SDK : identifiant opaque de session (funnel, jamais de PII). */
     private static final String SESSION_HEADER = "X-Booking-Session";
@@ -83,7 +85,8 @@ public class PublicBookingController {
                                     com.clenzy.booking.service.BookingGuestAuthService guestAuthService,
                                     com.clenzy.booking.service.PublicConciergeService conciergeService,
                                     com.clenzy.booking.service.BookingInquiryService inquiryService,
-                                    com.clenzy.booking.service.BookingFunnelRecorder funnelRecorder) {
+                                    com.clenzy.booking.service.BookingFunnelRecorder funnelRecorder,
+                                    com.clenzy.booking.service.StaySearchService staySearchService) {
         this.bookingService = bookingService;
         this.serviceOptionsService = serviceOptionsService;
         this.publicPhotoService = publicPhotoService;
@@ -98,6 +101,7 @@ public class PublicBookingController {
         this.conciergeService = conciergeService;
         this.inquiryService = inquiryService;
         this.funnelRecorder = funnelRecorder;
+        this.staySearchService = staySearchService;
     }
 
     /** Télémétrie funnel (RMS R1) — hors chemin critique, jamais bloquante. */
@@ -294,6 +298,40 @@ public class PublicBookingController {
         return ResponseEntity.ok(calendarService.getPriceCalendar(ctx, filters, guests, ym, months, currency));
     }
 
+    /**
+     * GET /{slug}/stays?checkIn=YYYY-MM-DD&checkOut=YYYY-MM-DD&guests=N&currency=MAD&<filtres>
+     * Recherche par dates : logements DISPONIBLES sur le séjour avec devis complet (total identique à
+     * /availability). Montants déjà convertis en devise d'affichage par le service.
+     */
+    @GetMapping("/stays")
+    public ResponseEntity<List<AvailabilityResponseDto>> searchStays(
+            @PathVariable String slug,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int guests,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minBedrooms,
+            @RequestParam(required = false) Integer minBathrooms,
+            @RequestParam(required = false) Integer minGuests,
+            @RequestParam(required = false) List<String> amenities,
+            HttpServletRequest request) {
+        OrgContext ctx = resolveContext(slug, request);
+        PropertySearchFilters filters = PropertySearchFilters.of(
+            types, minPrice, maxPrice, minBedrooms, minBathrooms, minGuests, amenities);
+        List<AvailabilityResponseDto> stays = staySearchService.search(
+            ctx, checkIn, checkOut, guests, resolveMember(request), filters, currency);
+        // Funnel RMS : recherche org-wide (propertyId null) ; aucun résultat = denied demand.
+        recordFunnel(ctx, request,
+                stays.isEmpty() ? com.clenzy.model.BookingFunnelEvent.Type.SEARCH_NO_RESULT
+                        : com.clenzy.model.BookingFunnelEvent.Type.SEARCH,
+                null,
+                com.clenzy.booking.service.BookingFunnelRecorder.stayPayload(checkIn, checkOut, guests));
+        return ResponseEntity.ok(stays);
+    }
+
     /**
      * POST /{slug}/availability
      * Verifie la disponibilite et calcule le prix detaille.
@@ -1,70 +1,146 @@
 package com.clenzy.booking.controller;
 
-import com.clenzy.booking.dto.BlogPostPublicDto;
-import com.clenzy.booking.dto.BlogPostSummaryDto;
-import com.clenzy.booking.dto.SitemapEntryDto;
-import com.clenzy.booking.dto.SitePagePublicDto;
-import com.clenzy.booking.dto.SitePublicDto;
-import com.clenzy.booking.service.SiteDeliveryService;
+import com.clenzy.booking.service.SiteRenderCache;
+import com.clenzy.booking.service.SiteRenderCache.RenderedBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * Livraison publique des sites hébergés (P1.1) — contrat REST consommé par le service SSR
  * « Clenzy Sites » (Next.js). Public : couvert par {@code /api/public/**} (permitAll dans
  * SecurityConfigProd). Ne sert que des sites/pages PUBLISHED.
+ *
+ * <p>Réponses servies depuis le contenu matérialisé ({@link SiteRenderCache}) : JSON déjà
+ * compressé (gzip si le client l'accepte), ETag + requêtes conditionnelles
+ * ({@code If-None-Match} → 304 sans corps). Le contrat JSON est inchangé.</p>
  */
 @RestController
 @RequestMapping("/api/public/sites")
 @PreAuthorize("permitAll()")
 public class SiteDeliveryController {
 
-    private final SiteDeliveryService service;
+    private final SiteRenderCache renderCache;
 
-    public SiteDeliveryController(SiteDeliveryService service) {
-        this.service = service;
+    public SiteDeliveryController(SiteRenderCache renderCache) {
+        this.renderCache = renderCache;
     }
 
     /** Résout un hostname (sous-domaine ou domaine custom) → site + table des pages + SEO. */
     @GetMapping("/resolve")
-    public ResponseEntity<SitePublicDto> resolve(@RequestParam String hostname) {
-        return service.resolve(hostname)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> resolve(@RequestParam String hostname,
+                                          @RequestHeader HttpHeaders headers) {
+        return deliver(renderCache.resolve(hostname), headers);
     }
 
     /** Contenu d'une page (blocs + SEO) pour un site donné. */
     @GetMapping("/{siteId}/page")
-    public ResponseEntity<SitePagePublicDto> getPage(@PathVariable Long siteId,
-                                                     @RequestParam String path,
-                                                     @RequestParam(required = false) String locale) {
-        return service.getPage(siteId, path, locale)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getPage(@PathVariable Long siteId,
+                                          @RequestParam String path,
+                                          @RequestParam(required = false) String locale,
+                                          @RequestHeader HttpHeaders headers) {
+        return deliver(renderCache.page(siteId, path, locale), headers);
     }
 
     /** Index des articles publiés d'un site (blog / RSS). */
     @GetMapping("/{siteId}/posts")
-    public ResponseEntity<List<BlogPostSummaryDto>> listPosts(@PathVariable Long siteId) {
-        return ResponseEntity.ok(service.listPosts(siteId));
+    public ResponseEntity<byte[]> listPosts(@PathVariable Long siteId,
+                                            @RequestHeader HttpHeaders headers) {
+        return deliver(Optional.of(renderCache.posts(siteId)), headers);
     }
 
     /** Contenu d'un article publié. */
     @GetMapping("/{siteId}/posts/by-slug")
-    public ResponseEntity<BlogPostPublicDto> getPost(@PathVariable Long siteId,
-                                                     @RequestParam String slug,
-                                                     @RequestParam(required = false) String locale) {
-        return service.getPost(siteId, slug, locale)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getPost(@PathVariable Long siteId,
+                                          @RequestParam String slug,
+                                          @RequestParam(required = false) String locale,
+                                          @RequestHeader HttpHeaders headers) {
+        return deliver(renderCache.post(siteId, slug, locale), headers);
     }
 
     /** Sitemap agrégé (pages + articles) pour la génération du sitemap.xml côté SSR. */
     @GetMapping("/{siteId}/sitemap")
-    public ResponseEntity<List<SitemapEntryDto>> sitemap(@PathVariable Long siteId) {
-        return ResponseEntity.ok(service.sitemap(siteId));
+    public ResponseEntity<byte[]> sitemap(@PathVariable Long siteId,
+                                          @RequestHeader HttpHeaders headers) {
+        return deliver(Optional.of(renderCache.sitemap(siteId)), headers);
+    }
+
+    /**
+     * 404 si absent ; 304 si l'ETag présenté correspond ; sinon 200 avec le corps pré-compressé
+     * (ou décompressé pour un client sans gzip). {@code no-cache} : les intermédiaires peuvent
+     * garder la réponse mais doivent revalider (304) — une publication est visible immédiatement.
+     */
+    static ResponseEntity<byte[]> deliver(Optional<RenderedBody> rendered, HttpHeaders requestHeaders) {
+        if (rendered.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        RenderedBody body = rendered.get();
+        if (matches(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH), body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(body.etag())
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING))) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return ok.body(body.plain());
+    }
+
+    /** {@code If-None-Match} : liste d'ETags ou {@code *} ; comparaison faible (préfixe W/ ignoré). */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(opaque));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // « gzip;q=0 » = refusé explicitement.
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && qValue(param.substring(2)) == 0d) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** q-value illisible (« q=abc ») : ignorée, donc 1 — un en-tête malformé ne doit pas produire un 500. */
+    private static double qValue(String raw) {
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            return 1d;
+        }
     }
 }
@@ -34,15 +34,18 @@ public class BookingEngineAdminService {
     private final OrganizationRepository organizationRepository;
     private final SiteRepository siteRepository;
     private final TenantContext tenantContext;
+    private final SiteRenderCache renderCache;
 
     public BookingEngineAdminService(BookingEngineConfigRepository configRepository,
                                       OrganizationRepository organizationRepository,
                                       SiteRepository siteRepository,
-                                      TenantContext tenantContext) {
+                                      TenantContext tenantContext,
+                                      SiteRenderCache renderCache) {
         this.configRepository = configRepository;
         this.organizationRepository = organizationRepository;
         this.siteRepository = siteRepository;
         this.tenantContext = tenantContext;
+        this.renderCache = renderCache;
     }
 
     // ─── Legacy (compatible avec dashboard /status) ────────────────────────
@@ -152,6 +155,7 @@ public class BookingEngineAdminService {
         dto.applyTo(config);
         config.setName(newName);
         config = configRepository.save(config);
+        refreshLinkedSite(id, orgId);
         logger.info("Booking Engine template '{}' (id={}) updated for org {}", newName, id, orgId);
         return BookingEngineAdminConfigDto.from(config);
     }
@@ -168,7 +172,11 @@ public class BookingEngineAdminService {
         // (changeset 0254) : on supprime d'abord le site lié — ses pages/domaines cascadent au niveau DB —
         // sinon la suppression de la config viole `sites_booking_engine_config_id_fkey`.
         siteRepository.findFirstByBookingEngineConfigIdAndOrganizationId(id, orgId)
-            .ifPresent(siteRepository::delete);
+            .ifPresent(site -> {
+                siteRepository.delete(site);
+                renderCache.evictSite(site.getId());
+                renderCache.invalidateHosts();
+            });
         configRepository.delete(config);
         logger.info("Booking Engine template '{}' (id={}) deleted for org {}", config.getName(), id, orgId);
     }
@@ -183,6 +191,7 @@ public class BookingEngineAdminService {
             .orElseThrow(() -> new IllegalArgumentException("Configuration introuvable : " + id));
         config.setEnabled(enabled);
         config = configRepository.save(config);
+        refreshLinkedSite(id, orgId);
         logger.info("Booking Engine template '{}' (id={}) {} for org {}",
             config.getName(), id, enabled ? "enabled" : "disabled", orgId);
         return BookingEngineAdminConfigDto.from(config);
@@ -200,6 +209,7 @@ public class BookingEngineAdminService {
         String newKey = UUID.randomUUID().toString();
         config.setApiKey(newKey);
         config = configRepository.save(config);
+        refreshLinkedSite(id, orgId);
         logger.info("Booking Engine API key regenerated for template '{}' (id={}) org {}",
             config.getName(), id, orgId);
         return BookingEngineAdminConfigDto.from(config);
@@ -207,6 +217,12 @@ public class BookingEngineAdminService {
 
     // ─── Helpers ───────────────────────────────────────────────────────────
 
+    /** Le site lié embarque la cle API et le CSS/JS du widget : sa version publique est re-materialisee. */
+    private void refreshLinkedSite(Long configId, Long orgId) {
+        siteRepository.findFirstByBookingEngineConfigIdAndOrganizationId(configId, orgId)
+            .ifPresent(site -> renderCache.refreshSite(site.getId()));
+    }
+
     private BookingEngineConfig createDefaultConfig(Long organizationId) {
         logger.info("No Booking Engine config for org {} — creating defaults", organizationId);
         BookingEngineConfig config = new BookingEngineConfig();
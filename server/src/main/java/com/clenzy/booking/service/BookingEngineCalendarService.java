@@ -3,11 +3,10 @@ package com.clenzy.booking.service;
 import com.clenzy.booking.dto.AvailabilityDayDto;
 import com.clenzy.booking.dto.CalendarAvailabilityResponseDto;
 import com.clenzy.booking.dto.PropertyTypeInfoDto;
-import com.clenzy.model.CalendarDay;
-import com.clenzy.model.CalendarDayStatus;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.model.Property;
 import com.clenzy.model.PropertyType;
-import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.PriceEngine;
 import org.slf4j.Logger;
@@ -37,14 +36,14 @@ public class BookingEngineCalendarService {
     private static final Logger log = LoggerFactory.getLogger(BookingEngineCalendarService.class);
 
     private final PropertyRepository propertyRepository;
-    private final CalendarDayRepository calendarDayRepository;
+    private final CalendarGridJdbcRepository calendarGridRepository;
     private final PriceEngine priceEngine;
 
     public BookingEngineCalendarService(PropertyRepository propertyRepository,
-                                         CalendarDayRepository calendarDayRepository,
+                                         CalendarGridJdbcRepository calendarGridRepository,
                                          PriceEngine priceEngine) {
         this.propertyRepository = propertyRepository;
-        this.calendarDayRepository = calendarDayRepository;
+        this.calendarGridRepository = calendarGridRepository;
         this.priceEngine = priceEngine;
     }
 
@@ -85,13 +84,11 @@ public class BookingEngineCalendarService {
         final Map<Long, Set<LocalDate>> unavailableDays = buildUnavailableMap(
                 propertyIds, from, to, orgId);
 
-        // 3. Batch : resoudre les prix par propriete via PriceEngine
-        //    to+1 car PriceEngine.resolvePriceRange utilise [from, to) exclusif
-        final Map<Long, Map<LocalDate, BigDecimal>> pricesByProperty = new HashMap<>();
-        for (final Property prop : eligible) {
-            pricesByProperty.put(prop.getId(),
-                    priceEngine.resolvePriceRange(prop.getId(), from, to.plusDays(1), orgId));
-        }
+        // 3. Batch : resoudre les prix de toutes les proprietes via PriceEngine (2 requetes)
+        //    to+1 car PriceEngine.resolvePriceRanges utilise [from, to) exclusif
+        final Map<Long, Map<LocalDate, BigDecimal>> pricesByProperty = to.isBefore(from)
+                ? Map.of()
+                : priceEngine.resolvePriceRanges(eligible, from, to.plusDays(1), orgId);
 
         // 4. Agreger par jour
         final List<AvailabilityDayDto> days = new ArrayList<>();
@@ -140,16 +137,16 @@ public class BookingEngineCalendarService {
      */
     private Map<Long, Set<LocalDate>> buildUnavailableMap(
             Set<Long> propertyIds, LocalDate from, LocalDate to, Long orgId) {
-
-        // Single batch query instead of N+1
-        final List<CalendarDay> allDays = calendarDayRepository
-                .findByPropertiesAndDateRange(propertyIds, from, to, orgId);
-
+        if (to.isBefore(from)) {
+            return Map.of();
+        }
+        // Une seule requete de grilles (index couvrant), to inclus -> to+1 exclusif
         final Map<Long, Set<LocalDate>> result = new HashMap<>();
-        for (final CalendarDay cd : allDays) {
-            if (cd.getStatus() != CalendarDayStatus.AVAILABLE) {
-                result.computeIfAbsent(cd.getProperty().getId(), k -> new HashSet<>())
-                      .add(cd.getDate());
+        for (final CalendarGrid grid : calendarGridRepository
+                .findGrids(propertyIds, from, to.plusDays(1), orgId).values()) {
+            final Set<LocalDate> unavailable = grid.unavailableDates();
+            if (!unavailable.isEmpty()) {
+                result.put(grid.propertyId(), unavailable);
             }
         }
         return result;
@@ -17,6 +17,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class BookingEngineSearchCacheEvictor implements SearchCacheInvalidator {
 
+    private final StaySearchResultCache staySearchCache;
+
+    public BookingEngineSearchCacheEvictor(StaySearchResultCache staySearchCache) {
+        this.staySearchCache = staySearchCache;
+    }
+
     /**
      * Vide le calendrier agrégé des prix + le détail propriété + le listing/facettes de recherche
      * (toutes entrées). Éviction grossière mais sûre : ces caches sont petits + bornés (TTL 10 min),
@@ -31,6 +37,24 @@ public class BookingEngineSearchCacheEvictor implements SearchCacheInvalidator {
         @CacheEvict(value = "booking-engine-search", allEntries = true),
     })
     public void onAvailabilityOrPriceChanged() {
-        // no-op : le travail d'éviction est fait par @CacheEvict via le proxy Spring.
+        // Les caches annotés sont évincés par @CacheEvict via le proxy Spring ; la recherche par
+        // dates n'est pas scopable ici (org inconnue) → vidée entièrement.
+        staySearchCache.invalidateAll();
+    }
+
+    /**
+     * Variante scopée : mêmes évictions grossières que {@link #onAvailabilityOrPriceChanged()} pour
+     * les caches annotés, mais la recherche par dates ({@link StaySearchResultCache}) n'invalide que
+     * les entrées de l'org — c'est le cache le plus coûteux à reconstruire (une résolution de prix
+     * par logement et par séjour demandé).
+     */
+    @Override
+    @Caching(evict = {
+        @CacheEvict(value = "booking-engine-price-calendar", allEntries = true),
+        @CacheEvict(value = "booking-engine-properties", allEntries = true),
+        @CacheEvict(value = "booking-engine-search", allEntries = true),
+    })
+    public void onAvailabilityOrPriceChanged(Long organizationId) {
+        staySearchCache.invalidateOrganization(organizationId);
     }
 }
@@ -6,10 +6,9 @@ import com.clenzy.booking.dto.PropertySearchFilters;
 import com.clenzy.booking.dto.PublicPropertyDto;
 import com.clenzy.booking.model.DataSourceMode;
 import com.clenzy.booking.service.PublicBookingService.OrgContext;
-import com.clenzy.model.CalendarDay;
-import com.clenzy.model.CalendarDayStatus;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.model.Property;
-import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.CurrencyConverterService;
 import com.clenzy.service.PriceEngine;
@@ -25,7 +24,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Grille de calendrier publique par propriété (CLZ Domaine 2) : disponibilité + prix nuitée +
@@ -40,19 +38,19 @@ public class PublicBookingCalendarService {
     private static final ZoneId FALLBACK_ZONE = ZoneId.of("Europe/Paris");
 
     private final PropertyRepository propertyRepository;
-    private final CalendarDayRepository calendarDayRepository;
+    private final CalendarGridJdbcRepository calendarGridRepository;
     private final PriceEngine priceEngine;
     private final CurrencyConverterService currencyConverter;
     /** Jeu de démo servi quand la config est en mode {@link DataSourceMode#MOCK}. */
     private final BookingMockDataProvider mockDataProvider;
 
     public PublicBookingCalendarService(PropertyRepository propertyRepository,
-                                  CalendarDayRepository calendarDayRepository,
+                                  CalendarGridJdbcRepository calendarGridRepository,
                                   PriceEngine priceEngine,
                                   CurrencyConverterService currencyConverter,
                                   BookingMockDataProvider mockDataProvider) {
         this.propertyRepository = propertyRepository;
-        this.calendarDayRepository = calendarDayRepository;
+        this.calendarGridRepository = calendarGridRepository;
         this.priceEngine = priceEngine;
         this.currencyConverter = currencyConverter;
         this.mockDataProvider = mockDataProvider;
@@ -78,12 +76,10 @@ public class PublicBookingCalendarService {
         LocalDate today = LocalDate.now(resolveZone(property.getTimezone()));
         int minNights = property.getMinimumNights() != null ? property.getMinimumNights() : 1;
 
-        // Indisponibles = jours avec une ligne CalendarDay au statut != AVAILABLE (convention Clenzy).
-        Set<LocalDate> unavailable = calendarDayRepository
-            .findByPropertyAndDateRange(propertyId, start, end, orgId).stream()
-            .filter(cd -> cd.getStatus() != CalendarDayStatus.AVAILABLE)
-            .map(CalendarDay::getDate)
-            .collect(Collectors.toSet());
+        // Indisponibles = jours avec une ligne CalendarDay au statut != AVAILABLE (convention Clenzy) ;
+        // grille lue sur l'index couvrant (end exclusif -> end+1).
+        Set<LocalDate> unavailable = calendarGridRepository
+            .findGrid(propertyId, start, end.plusDays(1), orgId).unavailableDates();
 
         // Prix nuit par nuit (end exclusif côté PriceEngine -> end+1 pour inclure le dernier jour).
         Map<LocalDate, BigDecimal> priceMap = priceEngine.resolvePriceRange(propertyId, start, end.plusDays(1), orgId);
@@ -104,8 +100,8 @@ public class PublicBookingCalendarService {
      * matchent les filtres + la capacité voyageurs ET disponibles ce jour-là. Un jour sans aucun logement
      * disponible est marqué non disponible (grisé côté front). `propertyId = 0` (agrégat, pas une propriété).
      *
-     * NB perf : 1 requête CalendarDay + 1 résolution PriceEngine par logement filtré. Acceptable à l'échelle
-     * d'une conciergerie (dizaines de biens) ; mettre en cache (Redis) si le catalogue grossit.
+     * Perf : 1 requête de grilles (index couvrant) + 2 requêtes PriceEngine pour TOUS les logements filtrés,
+     * quel que soit leur nombre ; résultat en cache Redis.
      */
     // Cle alignee sur searchCacheKey : inclut configId, dataSourceMode et
     // featuredPropertyIds — sans eux, deux engines d'une meme org (ou un engine
@@ -138,17 +134,18 @@ public class PublicBookingCalendarService {
 
         Map<LocalDate, BigDecimal> minPrice = new HashMap<>();
         String resultCurrency = target;
+        Map<Long, CalendarGrid> grids = props.isEmpty() ? Map.of()
+            : calendarGridRepository.findGrids(props.stream().map(Property::getId).toList(), start, end.plusDays(1), orgId);
+        Map<Long, Map<LocalDate, BigDecimal>> prices = props.isEmpty() ? Map.of()
+            : priceEngine.resolvePriceRanges(props, start, end.plusDays(1), orgId);
         for (Property p : props) {
             final String propCurrency = p.getDefaultCurrency() != null ? p.getDefaultCurrency() : "EUR";
             if (resultCurrency == null) resultCurrency = propCurrency; // pas de devise demandée → devise du 1er logement
             LocalDate today = LocalDate.now(resolveZone(p.getTimezone()));
-            Set<LocalDate> unavailable = calendarDayRepository.findByPropertyAndDateRange(p.getId(), start, end, orgId).stream()
-                .filter(cd -> cd.getStatus() != CalendarDayStatus.AVAILABLE)
-                .map(CalendarDay::getDate)
-                .collect(Collectors.toSet());
-            Map<LocalDate, BigDecimal> priceMap = priceEngine.resolvePriceRange(p.getId(), start, end.plusDays(1), orgId);
+            CalendarGrid grid = grids.get(p.getId());
+            Map<LocalDate, BigDecimal> priceMap = prices.getOrDefault(p.getId(), Map.of());
             for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-                if (d.isBefore(today) || unavailable.contains(d)) continue;
+                if (d.isBefore(today) || !grid.isAvailable(d)) continue;
                 BigDecimal price = priceMap.get(d);
                 if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) continue;
                 BigDecimal converted = target != null ? currencyConverter.convert(price, propCurrency, target, rateDate) : price;
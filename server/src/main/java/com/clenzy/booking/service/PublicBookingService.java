@@ -173,7 +173,7 @@ public class PublicBookingService {
     }
 
     /** {@code true} si le booking engine du ctx est en mode démo (données mock). */
-    private static boolean isMock(OrgContext ctx) {
+    static boolean isMock(OrgContext ctx) {
         return ctx.config() != null && ctx.config().getDataSourceMode() == DataSourceMode.MOCK;
     }
 
@@ -511,39 +511,9 @@ public class PublicBookingService {
                 List.of("Propriete introuvable ou non visible"));
         }
 
-        // Verifier le nombre de guests
-        if (property.getMaxGuests() != null && guests > property.getMaxGuests()) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("Nombre de voyageurs depasse la capacite maximale (" + property.getMaxGuests() + ")"));
-        }
-
-        // Z4A-BUGS-08 : « aujourd'hui » s'evalue dans le fuseau de la PROPRIETE,
-        // pas celui de la JVM (conteneur en UTC) — sinon off-by-one autour de
-        // minuit (same-day refuse, ou date deja passee localement acceptee).
-        LocalDate today = LocalDate.now(resolvePropertyZone(property));
-        if (checkIn.isBefore(today)) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("checkIn est dans le passe"));
-        }
-        if (checkIn.isAfter(today.plusYears(MAX_ADVANCE_YEARS))) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("Date d'arrivee trop lointaine (maximum " + MAX_ADVANCE_YEARS + " ans)"));
-        }
-        if (ChronoUnit.DAYS.between(checkIn, checkOut) > MAX_STAY_NIGHTS) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("Duree de sejour maximale depassee (" + MAX_STAY_NIGHTS + " nuits)"));
-        }
-
-        // Verifier advance days (min/max) — meme reference timezone-aware
-        long daysInAdvance = ChronoUnit.DAYS.between(today, checkIn);
-        BookingEngineConfig config = ctx.config();
-        if (config.getMinAdvanceDays() != null && daysInAdvance < config.getMinAdvanceDays()) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("Reservation trop proche (minimum " + config.getMinAdvanceDays() + " jours a l'avance)"));
-        }
-        if (config.getMaxAdvanceDays() != null && daysInAdvance > config.getMaxAdvanceDays()) {
-            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests,
-                List.of("Reservation trop lointaine (maximum " + config.getMaxAdvanceDays() + " jours a l'avance)"));
+        List<String> stayViolations = stayViolations(ctx.config(), property, checkIn, checkOut, guests);
+        if (!stayViolations.isEmpty()) {
+            return AvailabilityResponseDto.unavailable(propertyId, checkIn, checkOut, guests, stayViolations);
         }
 
         // Verifier restrictions (min/max stay, closed to arrival/departure, etc.)
@@ -561,8 +531,23 @@ public class PublicBookingService {
         }
 
         // Calculer le prix nuit par nuit
-        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
         Map<LocalDate, BigDecimal> priceMap = priceEngine.resolvePriceRange(propertyId, checkIn, checkOut, orgId);
+        return quoteStay(ctx, property, checkIn, checkOut, guests, member, priceMap);
+    }
+
+    /**
+     * Devis d'un séjour dont la disponibilité est DÉJÀ vérifiée (restrictions, calendrier) : nuit par
+     * nuit depuis {@code priceMap} (résolution {@link PriceEngine}), ménage, taxe de séjour, remise
+     * directe/membre. Source unique du montant : {@link #checkAvailability} (devis → reserve → Stripe)
+     * et la recherche par dates ({@link StaySearchService}, batch) passent par ici — le total affiché
+     * dans les résultats de recherche est exactement celui facturé.
+     */
+    AvailabilityResponseDto quoteStay(OrgContext ctx, Property property, LocalDate checkIn, LocalDate checkOut,
+                                      int guests, boolean member, Map<LocalDate, BigDecimal> priceMap) {
+        Long orgId = ctx.orgId();
+        Long propertyId = property.getId();
+        BookingEngineConfig config = ctx.config();
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
 
         List<AvailabilityResponseDto.NightBreakdown> breakdown = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
@@ -642,6 +627,44 @@ public class PublicBookingService {
         );
     }
 
+    /**
+     * Contrôles propres au logement et à la config (capacité, dates passées/lointaines dans le fuseau
+     * de la propriété, durée max, délai de réservation min/max). Renvoie la PREMIÈRE violation (liste
+     * vide si le séjour est recevable). Partagé par {@link #checkAvailability} et la recherche par dates.
+     */
+    List<String> stayViolations(BookingEngineConfig config, Property property, LocalDate checkIn,
+                                LocalDate checkOut, int guests) {
+        // Verifier le nombre de guests
+        if (property.getMaxGuests() != null && guests > property.getMaxGuests()) {
+            return List.of("Nombre de voyageurs depasse la capacite maximale (" + property.getMaxGuests() + ")");
+        }
+
+        // Z4A-BUGS-08 : « aujourd'hui » s'evalue dans le fuseau de la PROPRIETE,
+        // pas celui de la JVM (conteneur en UTC) — sinon off-by-one autour de
+        // minuit (same-day refuse, ou date deja passee localement acceptee).
+        LocalDate today = LocalDate.now(resolvePropertyZone(property));
+        if (checkIn.isBefore(today)) {
+            return List.of("checkIn est dans le passe");
+        }
+        if (checkIn.isAfter(today.plusYears(MAX_ADVANCE_YEARS))) {
+            return List.of("Date d'arrivee trop lointaine (maximum " + MAX_ADVANCE_YEARS + " ans)");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > MAX_STAY_NIGHTS) {
+            return List.of("Duree de sejour maximale depassee (" + MAX_STAY_NIGHTS + " nuits)");
+        }
+
+        // Verifier advance days (min/max) — meme reference timezone-aware
+        long daysInAdvance = ChronoUnit.DAYS.between(today, checkIn);
+        if (config.getMinAdvanceDays() != null && daysInAdvance < config.getMinAdvanceDays()) {
+            return List.of("Reservation trop proche (minimum " + config.getMinAdvanceDays() + " jours a l'avance)");
+        }
+        if (config.getMaxAdvanceDays() != null && daysInAdvance > config.getMaxAdvanceDays()) {
+            return List.of("Reservation trop lointaine (maximum " + config.getMaxAdvanceDays() + " jours a l'avance)");
+        }
+
+        return List.of();
+    }
+
     /**
      * Fuseau horaire de la propriete (defaut Europe/Paris si absent ou invalide)
      * pour evaluer « aujourd'hui » cote booking engine (Z4A-BUGS-08).
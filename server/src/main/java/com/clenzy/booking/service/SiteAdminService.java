@@ -49,6 +49,9 @@ import java.util.Locale;
  * Gestion des sites hébergés (P1.1) — CRUD sites / pages / domaines, scopé org (audit #3 : toute
  * ressource est chargée via une requête {@code ...AndOrganizationId} ou rattachée à un site possédé).
  * Service mince côté controller (audit #4) : la logique métier vit ici.
+ *
+ * <p>Toute mutation visible publiquement re-matérialise le site après commit
+ * ({@link SiteRenderCache#refreshSite}) ; les changements de slug/domaine vident le mapping des hôtes.</p>
  */
 @Service
 public class SiteAdminService {
@@ -65,6 +68,7 @@ public class SiteAdminService {
     private final NotificationService notificationService;
     private final UserRepository userRepository;
     private final ObjectProvider<SiteAdminService> self;
+    private final SiteRenderCache renderCache;
 
     public SiteAdminService(SiteRepository siteRepository,
                             SitePageRepository pageRepository,
@@ -74,7 +78,8 @@ public class SiteAdminService {
                             CloudflareCustomHostnameService cloudflareService,
                             NotificationService notificationService,
                             UserRepository userRepository,
-                            ObjectProvider<SiteAdminService> self) {
+                            ObjectProvider<SiteAdminService> self,
+                            SiteRenderCache renderCache) {
         this.siteRepository = siteRepository;
         this.pageRepository = pageRepository;
         this.domainRepository = domainRepository;
@@ -84,6 +89,7 @@ public class SiteAdminService {
         this.notificationService = notificationService;
         this.userRepository = userRepository;
         this.self = self;
+        this.renderCache = renderCache;
     }
 
     // ─── Bootstrap multi-page (Studio) ────────────────────────────────────────
@@ -104,6 +110,8 @@ public class SiteAdminService {
         Site site = siteRepository.findFirstByBookingEngineConfigIdAndOrganizationId(configId, orgId)
             .orElseGet(() -> createSiteForConfig(orgId, config));
         ensureHomePage(site, config);
+        renderCache.invalidateHosts();
+        renderCache.refreshSite(site.getId());
         return SiteDto.from(site);
     }
 
@@ -181,7 +189,10 @@ public class SiteAdminService {
         site.setOrganizationId(orgId);
         site.setSlug(req.slug());
         apply(site, req);
-        return SiteDto.from(siteRepository.save(site));
+        Site saved = siteRepository.save(site);
+        renderCache.invalidateHosts();
+        renderCache.refreshSite(saved.getId());
+        return SiteDto.from(saved);
     }
 
     @Transactional
@@ -190,15 +201,23 @@ public class SiteAdminService {
         if (!site.getSlug().equals(req.slug()) && siteRepository.existsBySlug(req.slug())) {
             throw new IllegalArgumentException("slug déjà utilisé: " + req.slug());
         }
+        boolean slugChanged = !site.getSlug().equals(req.slug());
         site.setSlug(req.slug());
         apply(site, req);
-        return SiteDto.from(siteRepository.save(site));
+        Site saved = siteRepository.save(site);
+        if (slugChanged) {
+            renderCache.invalidateHosts();
+        }
+        renderCache.refreshSite(id);
+        return SiteDto.from(saved);
     }
 
     @Transactional
     public void deleteSite(Long orgId, Long id) {
         Site site = requireOwnedSite(orgId, id);
         siteRepository.delete(site); // FK ON DELETE CASCADE → pages + domaines supprimés
+        renderCache.evictSite(id);
+        renderCache.invalidateHosts();
     }
 
     // ─── Pages ──────────────────────────────────────────────────────────────
@@ -215,7 +234,9 @@ public class SiteAdminService {
         SitePage page = new SitePage();
         page.setSiteId(siteId);
         applyPage(page, req);
-        return SitePageDto.from(pageRepository.save(page));
+        SitePage saved = pageRepository.save(page);
+        renderCache.refreshSite(siteId);
+        return SitePageDto.from(saved);
     }
 
     /**
@@ -235,7 +256,10 @@ public class SiteAdminService {
         applyPage(page, req);
         page.setStatus(SiteStatus.DRAFT);
         page.setAiGenerated(true);
-        return SitePageDto.from(pageRepository.save(page));
+        SitePage saved = pageRepository.save(page);
+        // La page remplacée a pu être publiée : la version en ligne doit disparaître aussi.
+        renderCache.refreshSite(siteId);
+        return SitePageDto.from(saved);
     }
 
     /** Supprime la page existante en collision de chemin (même langue + variante langue nulle legacy). */
@@ -255,7 +279,9 @@ public class SiteAdminService {
         SitePage page = pageRepository.findByIdAndSiteId(pageId, siteId)
             .orElseThrow(() -> new NotFoundException("Page introuvable: " + pageId));
         applyPage(page, req);
-        return SitePageDto.from(pageRepository.save(page));
+        SitePage saved = pageRepository.save(page);
+        renderCache.refreshSite(siteId);
+        return SitePageDto.from(saved);
     }
 
     @Transactional
@@ -264,6 +290,7 @@ public class SiteAdminService {
         SitePage page = pageRepository.findByIdAndSiteId(pageId, siteId)
             .orElseThrow(() -> new NotFoundException("Page introuvable: " + pageId));
         pageRepository.delete(page);
+        renderCache.refreshSite(siteId);
     }
 
     /**
@@ -289,6 +316,7 @@ public class SiteAdminService {
                 s.setStatus(SiteStatus.PUBLISHED);
                 siteRepository.save(s);
             });
+        renderCache.refreshSite(siteId);
         return SitePageDto.from(saved);
     }
 
@@ -314,6 +342,7 @@ public class SiteAdminService {
         domain.setPrimary(req.primary());
         domain.setStatus(SiteDomainStatus.PENDING);
         SiteDomain saved = domainRepository.save(domain);
+        renderCache.invalidateHosts();
 
         // Bridge Cloudflare for SaaS (gated) : provisionne le custom hostname APRÈS commit (audit #2).
         if (cloudflareService.isEnabled()) {
@@ -330,6 +359,7 @@ public class SiteAdminService {
             .orElseThrow(() -> new NotFoundException("Domaine introuvable: " + domainId));
         final String cloudflareHostnameId = domain.getCloudflareHostnameId();
         domainRepository.delete(domain);
+        renderCache.invalidateHosts();
         if (cloudflareHostnameId != null && cloudflareService.isEnabled()) {
             runAfterCommit(() -> cloudflareService.deleteCustomHostname(cloudflareHostnameId));
         }
@@ -345,6 +375,7 @@ public class SiteAdminService {
                 d.setVerified(true);
             }
             domainRepository.save(d);
+            renderCache.invalidateHosts();
         });
     }
 
@@ -368,6 +399,7 @@ public class SiteAdminService {
                 d.setVerified(true);
             }
             domainRepository.save(d);
+            renderCache.invalidateHosts();
         });
     }
 
@@ -400,6 +432,7 @@ public class SiteAdminService {
         post.setOrganizationId(orgId);
         applyPost(post, req);
         BlogPost saved = blogPostRepository.save(post);
+        renderCache.refreshSite(siteId);
         if (saved.getStatus() == SiteStatus.PENDING_REVIEW) {
             notifyReviewers(orgId, saved);
         }
@@ -414,6 +447,7 @@ public class SiteAdminService {
         SiteStatus before = post.getStatus();
         applyPost(post, req);
         BlogPost saved = blogPostRepository.save(post);
+        renderCache.refreshSite(siteId);
         // Alerte une seule fois, à l'ENTRÉE en relecture (pas à chaque sauvegarde du brouillon en review).
         if (saved.getStatus() == SiteStatus.PENDING_REVIEW && before != SiteStatus.PENDING_REVIEW) {
             notifyReviewers(orgId, saved);
@@ -427,6 +461,7 @@ public class SiteAdminService {
         BlogPost post = blogPostRepository.findByIdAndSiteId(postId, siteId)
             .orElseThrow(() -> new NotFoundException("Article introuvable: " + postId));
         blogPostRepository.delete(post);
+        renderCache.refreshSite(siteId);
     }
 
     /**
@@ -444,7 +479,9 @@ public class SiteAdminService {
         }
         post.setReviewedAt(LocalDateTime.now());
         post.setReviewedBy(reviewerKeycloakId);
-        return BlogPostDto.from(blogPostRepository.save(post));
+        BlogPost saved = blogPostRepository.save(post);
+        renderCache.refreshSite(siteId);
+        return BlogPostDto.from(saved);
     }
 
     /** Renvoie un article en brouillon (relecteur : corrections demandées avant nouvelle soumission). */
@@ -454,7 +491,9 @@ public class SiteAdminService {
         BlogPost post = blogPostRepository.findByIdAndSiteId(postId, siteId)
             .orElseThrow(() -> new NotFoundException("Article introuvable: " + postId));
         post.setStatus(SiteStatus.DRAFT);
-        return BlogPostDto.from(blogPostRepository.save(post));
+        BlogPost saved = blogPostRepository.save(post);
+        renderCache.refreshSite(siteId);
+        return BlogPostDto.from(saved);
     }
 
     /** Alerte les relecteurs de l'org (hôtes + superviseurs) qu'un article attend validation (2.13). */
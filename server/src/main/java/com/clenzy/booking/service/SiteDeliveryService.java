@@ -22,14 +22,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Livraison publique des sites hébergés (P1.1) — contrat consommé par le service SSR « Clenzy Sites ».
  * Résout un hostname (sous-domaine {@code {slug}.clenzy.site} ou domaine custom ACTIVE) vers un site
  * PUBLISHED + sa table de pages, puis sert le contenu d'une page. Ne renvoie jamais de brouillon.
+ *
+ * <p>Source de vérité relationnelle : le trafic public est servi par {@link SiteRenderCache}
+ * (contenu matérialisé au publish), qui ne revient ici qu'au premier accès ou après invalidation.</p>
  */
 @Service
 public class SiteDeliveryService {
@@ -66,6 +73,89 @@ public class SiteDeliveryService {
         List<SitePage> pages = pageRepository.findBySiteIdOrderBySortOrderAsc(site.getId()).stream()
             .filter(p -> p.getStatus() == SiteStatus.PUBLISHED)
             .toList();
+        return Optional.of(toPublic(site, pages));
+    }
+
+    /**
+     * Id du site servi par ce hostname, QUEL QUE SOIT son statut (le contenu matérialisé porte
+     * lui-même l'information « publié » — cf. {@link SiteRenderCache}).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> resolveSiteId(String hostname) {
+        return Optional.ofNullable(resolveSite(hostname)).map(Site::getId);
+    }
+
+    /**
+     * Contenu public COMPLET d'un site en une passe (site + pages + articles + sitemap), pour la
+     * matérialisation au publish ({@link SiteRenderCache}). Mêmes règles que les méthodes unitaires :
+     * seules les ressources PUBLISHED sont servies ; une variante de langue non publiée masque le
+     * repli sans langue (clés « cachées »). Site absent ou non publié → {@link SiteContent#unpublished()}.
+     */
+    @Transactional(readOnly = true)
+    public SiteContent loadContent(Long siteId) {
+        Site site = siteRepository.findById(siteId).orElse(null);
+        if (site == null || site.getStatus() != SiteStatus.PUBLISHED) {
+            return SiteContent.unpublished();
+        }
+        List<SitePage> allPages = pageRepository.findBySiteIdOrderBySortOrderAsc(siteId);
+        List<SitePage> publishedPages = allPages.stream()
+            .filter(p -> p.getStatus() == SiteStatus.PUBLISHED)
+            .toList();
+        Map<String, SitePagePublicDto> pages = new HashMap<>();
+        Set<String> hiddenPages = new HashSet<>();
+        for (SitePage page : allPages) {
+            String key = contentKey(page.getPath(), page.getLocale());
+            if (page.getStatus() == SiteStatus.PUBLISHED) {
+                pages.put(key, SitePagePublicDto.from(page));
+            } else {
+                hiddenPages.add(key);
+            }
+        }
+        List<BlogPost> allPosts = blogPostRepository.findBySiteIdOrderByPublishedAtDesc(siteId);
+        List<BlogPost> publishedPosts = allPosts.stream()
+            .filter(p -> p.getStatus() == SiteStatus.PUBLISHED)
+            .toList();
+        Map<String, BlogPostPublicDto> posts = new HashMap<>();
+        Set<String> hiddenPosts = new HashSet<>();
+        for (BlogPost post : allPosts) {
+            String key = contentKey(post.getSlug(), post.getLocale());
+            if (post.getStatus() == SiteStatus.PUBLISHED) {
+                posts.put(key, BlogPostPublicDto.from(post));
+            } else {
+                hiddenPosts.add(key);
+            }
+        }
+        return new SiteContent(true, toPublic(site, publishedPages), pages, hiddenPages,
+            publishedPosts.stream().map(BlogPostSummaryDto::from).toList(), posts, hiddenPosts,
+            sitemapEntries(publishedPages, publishedPosts));
+    }
+
+    /**
+     * Contenu public d'un site prêt à matérialiser. Les maps sont indexées par
+     * {@link #contentKey(String, String)} (chemin/slug + langue).
+     */
+    public record SiteContent(
+        boolean published,
+        SitePublicDto site,
+        Map<String, SitePagePublicDto> pages,
+        Set<String> hiddenPages,
+        List<BlogPostSummaryDto> posts,
+        Map<String, BlogPostPublicDto> postsByKey,
+        Set<String> hiddenPosts,
+        List<SitemapEntryDto> sitemap
+    ) {
+        static SiteContent unpublished() {
+            return new SiteContent(false, null, Map.of(), Set.of(), List.of(), Map.of(), Set.of(), List.of());
+        }
+    }
+
+    /** Clé (chemin ou slug, langue) ; langue nulle = variante par défaut (repli). */
+    public static String contentKey(String pathOrSlug, String locale) {
+        return pathOrSlug + '|' + (locale == null ? "*" : locale);
+    }
+
+    /** Vue publique du site (booking engine lié, CSS/JS custom, popup) + table des pages publiées. */
+    private SitePublicDto toPublic(Site site, List<SitePage> pages) {
         // Booking engine lié : clé publique (X-Booking-Key, montage du widget) + CSS/JS custom du
         // site (injectés dans le layout SSR pour la fidélité du design importé).
         BookingEngineConfig config = site.getBookingEngineConfigId() == null ? null
@@ -79,7 +169,7 @@ public class SiteDeliveryService {
         boolean leadCapturePopupEnabled = config != null
             && organizationRepository.findById(config.getOrganizationId())
                 .map(Organization::isLeadCapturePopupEnabled).orElse(false);
-        return Optional.of(SitePublicDto.from(site, apiKey, customCss, customJs, componentConfig, leadCapturePopupEnabled, pages));
+        return SitePublicDto.from(site, apiKey, customCss, customJs, componentConfig, leadCapturePopupEnabled, pages);
     }
 
     @Transactional(readOnly = true)
@@ -142,14 +232,19 @@ public class SiteDeliveryService {
         if (site == null || site.getStatus() != SiteStatus.PUBLISHED) {
             return List.of();
         }
-        List<SitemapEntryDto> entries = new ArrayList<>();
-        pageRepository.findBySiteIdOrderBySortOrderAsc(siteId).stream()
+        List<SitePage> pages = pageRepository.findBySiteIdOrderBySortOrderAsc(siteId).stream()
             .filter(p -> p.getStatus() == SiteStatus.PUBLISHED)
-            .forEach(p -> entries.add(new SitemapEntryDto(
-                p.getPath(), p.getType() != null ? p.getType().name() : "CUSTOM", p.getLocale(), p.getUpdatedAt())));
-        blogPostRepository.findBySiteIdAndStatusOrderByPublishedAtDesc(siteId, SiteStatus.PUBLISHED)
-            .forEach(post -> entries.add(new SitemapEntryDto(
-                "/blog/" + post.getSlug(), "BLOG_POST", post.getLocale(), post.getUpdatedAt())));
+            .toList();
+        return sitemapEntries(pages,
+            blogPostRepository.findBySiteIdAndStatusOrderByPublishedAtDesc(siteId, SiteStatus.PUBLISHED));
+    }
+
+    private static List<SitemapEntryDto> sitemapEntries(List<SitePage> publishedPages, List<BlogPost> publishedPosts) {
+        List<SitemapEntryDto> entries = new ArrayList<>();
+        publishedPages.forEach(p -> entries.add(new SitemapEntryDto(
+            p.getPath(), p.getType() != null ? p.getType().name() : "CUSTOM", p.getLocale(), p.getUpdatedAt())));
+        publishedPosts.forEach(post -> entries.add(new SitemapEntryDto(
+            "/blog/" + post.getSlug(), "BLOG_POST", post.getLocale(), post.getUpdatedAt())));
         return entries;
     }
 
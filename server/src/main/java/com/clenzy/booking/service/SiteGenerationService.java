@@ -108,6 +108,7 @@ public class SiteGenerationService {
     private final CreditMeteringService creditMeteringService;
     private final ObjectMapper objectMapper;
     private final ObjectProvider<SiteGenerationService> self;
+    private final SiteRenderCache renderCache;
 
     public SiteGenerationService(SiteRepository siteRepository,
                                  BookingEngineConfigRepository configRepository,
@@ -121,7 +122,8 @@ public class SiteGenerationService {
                                  CreditBalanceService creditBalanceService,
                                  CreditMeteringService creditMeteringService,
                                  ObjectMapper objectMapper,
-                                 ObjectProvider<SiteGenerationService> self) {
+                                 ObjectProvider<SiteGenerationService> self,
+                                 SiteRenderCache renderCache) {
         this.siteRepository = siteRepository;
         this.configRepository = configRepository;
         this.designSystemRepository = designSystemRepository;
@@ -135,6 +137,7 @@ public class SiteGenerationService {
         this.creditMeteringService = creditMeteringService;
         this.objectMapper = objectMapper;
         this.self = self;
+        this.renderCache = renderCache;
     }
 
     /**
@@ -275,6 +278,8 @@ public class SiteGenerationService {
             site.setFontFamily(tokens.bodyFontFamily());
         }
         siteRepository.save(site);
+        // Tokens, couleur et police font partie de la vue publique matérialisée.
+        renderCache.refreshSite(siteId);
 
         if (site.getBookingEngineConfigId() != null) {
             configRepository.findByIdAndOrganizationId(site.getBookingEngineConfigId(), orgId)
@@ -73,6 +73,7 @@ public class SiteRefinementService {
     private final NotificationService notificationService;
     private final ObjectMapper objectMapper;
     private final ObjectProvider<SiteRefinementService> self;
+    private final SiteRenderCache renderCache;
 
     public SiteRefinementService(SiteRepository siteRepository,
                                  SitePageRepository pageRepository,
@@ -81,7 +82,8 @@ public class SiteRefinementService {
                                  AiTokenBudgetService tokenBudgetService,
                                  NotificationService notificationService,
                                  ObjectMapper objectMapper,
-                                 ObjectProvider<SiteRefinementService> self) {
+                                 ObjectProvider<SiteRefinementService> self,
+                                 SiteRenderCache renderCache) {
         this.siteRepository = siteRepository;
         this.pageRepository = pageRepository;
         this.designSystemRepository = designSystemRepository;
@@ -90,6 +92,7 @@ public class SiteRefinementService {
         this.notificationService = notificationService;
         this.objectMapper = objectMapper;
         this.self = self;
+        this.renderCache = renderCache;
     }
 
     /**
@@ -150,7 +153,12 @@ public class SiteRefinementService {
         SitePage page = pageRepository.findByIdAndSiteId(pageId, siteId)
             .orElseThrow(() -> new NotFoundException("Page introuvable: " + pageId));
         page.setBlocks(envelope);
-        return SitePageDto.from(pageRepository.save(page));
+        final SitePageDto saved = SitePageDto.from(pageRepository.save(page));
+        // Sans version publiée figée, la livraison sert directement ces blocs.
+        if (page.getPublishedBlocks() == null) {
+            renderCache.refreshSite(siteId);
+        }
+        return saved;
     }
 
     /**
@@ -0,0 +1,336 @@
+package com.clenzy.booking.service;
+
+import com.clenzy.booking.service.SiteDeliveryService.SiteContent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Contenu public MATÉRIALISÉ des sites hébergés : chaque réponse de la livraison publique
+ * ({@code /api/public/sites/**}) est pré-sérialisée en JSON, pré-compressée (gzip) et identifiée
+ * par un ETag, une fois au publish — et non plus recalculée depuis les tables à chaque page vue.
+ * Un pic de trafic sur le domaine d'un client ne touche alors plus la base en régime établi.
+ *
+ * <p><b>Stockage</b> : cache {@value #CACHE_NAME} (Caffeine L1 + Redis L2, cf. {@code CacheConfig}),
+ * UNE entrée par site portant toutes ses réponses (résolution, pages, articles, sitemap). Le
+ * remplacement de cette entrée est donc atomique : un lecteur voit l'ancienne version ou la
+ * nouvelle, jamais un mélange de pages. Le mapping hostname → site vit dans
+ * {@value #HOSTS_CACHE_NAME} (y compris les hôtes inconnus, pour ne pas laisser un scan de
+ * sous-domaines frapper la base).</p>
+ *
+ * <p><b>Invalidation</b> : {@link SiteAdminService} (publication, édition, suppression) et
+ * {@link BookingEngineAdminService} (clé API, CSS/JS du widget) appellent {@link #refreshSite},
+ * exécuté APRÈS commit : reconstruction depuis la base puis éviction (diffusée aux L1 des autres
+ * nœuds) et écriture de la nouvelle version. Les changements de domaine/slug vident le mapping
+ * des hôtes. Le TTL borne le reste (ex. réglage « popup » au niveau organisation).</p>
+ *
+ * <p>Best-effort : une erreur cache (Redis indisponible) dégrade en lecture directe de la base
+ * via {@link SiteDeliveryService}, la livraison n'échoue jamais à cause du cache.</p>
+ */
+@Component
+public class SiteRenderCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SiteRenderCache.class);
+
+    static final String CACHE_NAME = "site-delivery";
+    static final String HOSTS_CACHE_NAME = "site-delivery-hosts";
+    private static final String METRIC = "sites.delivery.cache";
+    /** Valeur du mapping pour un hôte qui ne sert aucun site (cache négatif). */
+    private static final String NO_SITE = "";
+
+    /** Réponse pré-rendue : ETag (faible, commun aux encodages) + corps JSON gzip. */
+    public record RenderedBody(String etag, byte[] gzip) {
+
+        /** Corps décompressé, pour un client qui n'accepte pas gzip (rare : le SSR l'accepte). */
+        public byte[] plain() {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Toutes les réponses publiques d'un site (maps indexées par {@link SiteDeliveryService#contentKey}). */
+    public record RenderedSite(
+        boolean published,
+        RenderedBody resolve,
+        Map<String, RenderedBody> pages,
+        Set<String> hiddenPages,
+        RenderedBody posts,
+        Map<String, RenderedBody> postsByKey,
+        Set<String> hiddenPosts,
+        RenderedBody sitemap
+    ) {}
+
+    private final SiteDeliveryService deliveryService;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RenderedBody emptyList;
+
+    public SiteRenderCache(SiteDeliveryService deliveryService, CacheManager cacheManager,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.deliveryService = deliveryService;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.emptyList = render(List.of());
+    }
+
+    // ─── Lecture (trafic public) ────────────────────────────────────────────
+
+    /** Résolution hostname → site publié + table des pages ; vide si aucun site publié. */
+    public Optional<RenderedBody> resolve(String hostname) {
+        Long siteId = siteIdFor(hostname);
+        if (siteId == null) {
+            return Optional.empty();
+        }
+        RenderedSite site = site(siteId);
+        return site.published() ? Optional.of(site.resolve()) : Optional.empty();
+    }
+
+    /** Page publiée (repli sur la variante sans langue, comme {@link SiteDeliveryService#getPage}). */
+    public Optional<RenderedBody> page(Long siteId, String path, String locale) {
+        RenderedSite site = site(siteId);
+        if (!site.published()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lookup(site.pages(), site.hiddenPages(), path, locale));
+    }
+
+    /** Index des articles publiés (liste vide si le site n'est pas publié). */
+    public RenderedBody posts(Long siteId) {
+        RenderedSite site = site(siteId);
+        return site.published() ? site.posts() : emptyList;
+    }
+
+    /** Article publié (repli sur la variante sans langue, comme {@link SiteDeliveryService#getPost}). */
+    public Optional<RenderedBody> post(Long siteId, String slug, String locale) {
+        RenderedSite site = site(siteId);
+        if (!site.published()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lookup(site.postsByKey(), site.hiddenPosts(), slug, locale));
+    }
+
+    /** Sitemap agrégé (liste vide si le site n'est pas publié). */
+    public RenderedBody sitemap(Long siteId) {
+        RenderedSite site = site(siteId);
+        return site.published() ? site.sitemap() : emptyList;
+    }
+
+    // ─── Invalidation (après commit) ────────────────────────────────────────
+
+    /** Re-matérialise le site après commit et remplace l'entrée en une écriture. */
+    public void refreshSite(Long siteId) {
+        if (siteId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache == null) {
+                return;
+            }
+            try {
+                RenderedSite rendered = render(deliveryService.loadContent(siteId));
+                // evict diffuse l'invalidation L1 aux autres nœuds (put ne diffuse pas), puis
+                // la nouvelle version est écrite : les relectures L2 la trouvent directement.
+                cache.evict(siteKey(siteId));
+                cache.put(siteKey(siteId), rendered);
+            } catch (RuntimeException e) {
+                log.warn("SiteRenderCache : rematerialisation du site {} echouee : {}", siteId, e.getMessage());
+                evictQuietly(cache, siteKey(siteId));
+            }
+        });
+    }
+
+    /** Retire le site (suppression) : le prochain accès relit la base. */
+    public void evictSite(Long siteId) {
+        if (siteId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                evictQuietly(cache, siteKey(siteId));
+            }
+        });
+    }
+
+    /** Vide le mapping hostname → site (domaine ajouté/retiré/activé, slug modifié, site créé/supprimé). */
+    public void invalidateHosts() {
+        afterCommit(() -> {
+            try {
+                Cache cache = cacheManager.getCache(HOSTS_CACHE_NAME);
+                if (cache != null) cache.clear();
+            } catch (RuntimeException e) {
+                log.warn("SiteRenderCache : invalidation des hotes echouee : {}", e.getMessage());
+            }
+        });
+    }
+
+    // ─── Interne ────────────────────────────────────────────────────────────
+
+    static String siteKey(Long siteId) {
+        return "site:" + siteId;
+    }
+
+    /** Même normalisation que la résolution : minuscules, sans port. */
+    static String normalizeHost(String hostname) {
+        if (hostname == null || hostname.isBlank()) {
+            return null;
+        }
+        String host = hostname.trim().toLowerCase(Locale.ROOT);
+        int colon = host.indexOf(':');
+        return colon > 0 ? host.substring(0, colon) : host;
+    }
+
+    private Long siteIdFor(String hostname) {
+        String host = normalizeHost(hostname);
+        if (host == null) {
+            return null;
+        }
+        Cache cache = null;
+        try {
+            cache = cacheManager.getCache(HOSTS_CACHE_NAME);
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(host);
+            if (wrapper != null && wrapper.get() instanceof String mapped) {
+                return mapped.isEmpty() ? null : Long.valueOf(mapped);
+            }
+        } catch (RuntimeException e) {
+            log.debug("SiteRenderCache : lecture hote ignoree : {}", e.getMessage());
+        }
+        Long siteId = deliveryService.resolveSiteId(host).orElse(null);
+        if (cache != null) {
+            try {
+                // Chaîne (et non Long) : un Long serait relu Integer depuis Redis (type final, sans type id).
+                cache.put(host, siteId == null ? NO_SITE : siteId.toString());
+            } catch (RuntimeException e) {
+                log.debug("SiteRenderCache : ecriture hote ignoree : {}", e.getMessage());
+            }
+        }
+        return siteId;
+    }
+
+    RenderedSite site(Long siteId) {
+        Cache cache = null;
+        try {
+            cache = cacheManager.getCache(CACHE_NAME);
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(siteKey(siteId));
+            if (wrapper != null && wrapper.get() instanceof RenderedSite rendered) {
+                meterRegistry.counter(METRIC, "result", "hit").increment();
+                return rendered;
+            }
+        } catch (RuntimeException e) {
+            log.debug("SiteRenderCache : lecture ignoree : {}", e.getMessage());
+        }
+        meterRegistry.counter(METRIC, "result", "miss").increment();
+        RenderedSite rendered = render(deliveryService.loadContent(siteId));
+        // Site absent ou non publié : pas d'entrée, sinon un scan d'identifiants sur
+        // /api/public/sites/{id} remplirait Redis pour 12 h. Un site réel dépublié
+        // est de toute façon écrit par refreshSite.
+        if (cache != null && rendered.published()) {
+            try {
+                // SET NX (TwoLayerCache#putIfAbsent) : ne jamais écraser une version
+                // écrite entre-temps par refreshSite.
+                cache.putIfAbsent(siteKey(siteId), rendered);
+            } catch (RuntimeException e) {
+                log.debug("SiteRenderCache : ecriture ignoree : {}", e.getMessage());
+            }
+        }
+        return rendered;
+    }
+
+    private static RenderedBody lookup(Map<String, RenderedBody> bodies, Set<String> hidden,
+                                       String name, String locale) {
+        if (locale != null && !locale.isBlank()) {
+            String key = SiteDeliveryService.contentKey(name, locale);
+            RenderedBody body = bodies.get(key);
+            if (body != null) {
+                return body;
+            }
+            if (hidden.contains(key)) {
+                return null; // variante de langue existante mais non publiée : pas de repli
+            }
+        }
+        return bodies.get(SiteDeliveryService.contentKey(name, null));
+    }
+
+    RenderedSite render(SiteContent content) {
+        if (!content.published()) {
+            return new RenderedSite(false, null, new HashMap<>(), new HashSet<>(), null,
+                new HashMap<>(), new HashSet<>(), null);
+        }
+        Map<String, RenderedBody> pages = new HashMap<>();
+        content.pages().forEach((key, page) -> pages.put(key, render(page)));
+        Map<String, RenderedBody> posts = new HashMap<>();
+        content.postsByKey().forEach((key, post) -> posts.put(key, render(post)));
+        return new RenderedSite(true, render(content.site()), pages, new HashSet<>(content.hiddenPages()),
+            render(content.posts()), posts, new HashSet<>(content.hiddenPosts()), render(content.sitemap()));
+    }
+
+    /** JSON (même ObjectMapper que Spring MVC → octets identiques à la réponse historique) + gzip + ETag. */
+    RenderedBody render(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 3));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new RenderedBody("W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"", out.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Serialisation du contenu de site impossible", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 est garanti par la JVM
+        }
+    }
+
+    private static void evictQuietly(Cache cache, String key) {
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("SiteRenderCache : eviction {} echouee : {}", key, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.clenzy.booking.service;
+
+import com.clenzy.booking.dto.AvailabilityResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache des résultats de la recherche par dates ({@link StaySearchService}) — cache Spring
+ * {@value #CACHE_NAME} (Caffeine L1 + Redis L2, cf. {@code CacheConfig}).
+ *
+ * <p><b>Invalidation scopée par organisation</b> : chaque clé embarque la GÉNÉRATION courante de
+ * l'org (entrée {@code gen:<orgId>} du même cache). Un changement de prix/dispo d'une org renouvelle
+ * sa génération → toutes ses entrées deviennent inatteignables (elles expirent au TTL), sans toucher
+ * aux recherches des autres orgs. L'éviction de l'entrée génération passe par le canal pub/sub
+ * d'invalidation L1 : les autres nœuds relisent la nouvelle génération depuis Redis.</p>
+ *
+ * <p>Best-effort : une erreur cache (Redis indisponible) dégrade en miss, la recherche n'échoue
+ * jamais à cause du cache.</p>
+ */
+@Component
+public class StaySearchResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StaySearchResultCache.class);
+
+    static final String CACHE_NAME = "booking-engine-stay-search";
+    private static final String METRIC = "booking.stay_search.cache";
+    /** Génération d'une org jamais invalidée depuis le démarrage du cache. */
+    static final String INITIAL_GENERATION = "0";
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public StaySearchResultCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static String generationKey(Long organizationId) {
+        return "gen:" + organizationId;
+    }
+
+    /** Génération courante de l'org (à inclure dans la clé de recherche). */
+    public String generation(Long organizationId) {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(generationKey(organizationId));
+            if (wrapper != null && wrapper.get() instanceof String generation) {
+                return generation;
+            }
+        } catch (RuntimeException e) {
+            log.debug("StaySearchResultCache : lecture generation ignoree : {}", e.getMessage());
+        }
+        return INITIAL_GENERATION;
+    }
+
+    /** Résultats cachés pour cette clé, ou {@code null} (miss, cache indisponible). */
+    @SuppressWarnings("unchecked")
+    public List<AvailabilityResponseDto> get(String key) {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(key);
+            if (wrapper != null && wrapper.get() instanceof List<?> results) {
+                meterRegistry.counter(METRIC, "result", "hit").increment();
+                return (List<AvailabilityResponseDto>) results;
+            }
+        } catch (RuntimeException e) {
+            log.debug("StaySearchResultCache : lecture ignoree : {}", e.getMessage());
+        }
+        meterRegistry.counter(METRIC, "result", "miss").increment();
+        return null;
+    }
+
+    /** Mémorise les résultats (liste mutable : requis pour le type id Jackson en L2). */
+    public void put(String key, List<AvailabilityResponseDto> results) {
+        if (results == null) return;
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) cache.put(key, new ArrayList<>(results));
+        } catch (RuntimeException e) {
+            log.debug("StaySearchResultCache : ecriture ignoree : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rend caduques les recherches de l'org : éviction de la génération (diffusée aux L1 des autres
+     * nœuds) puis écriture d'une nouvelle valeur unique. Si l'écriture échoue, la génération retombe
+     * à {@link #INITIAL_GENERATION} : les entrées déjà calculées sous cette valeur redeviendraient
+     * atteignables → on vide alors tout le cache (sûr).
+     */
+    public void invalidateOrganization(Long organizationId) {
+        if (organizationId == null) {
+            invalidateAll();
+            return;
+        }
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache == null) return;
+            String key = generationKey(organizationId);
+            cache.evict(key);
+            cache.put(key, UUID.randomUUID().toString());
+        } catch (RuntimeException e) {
+            log.warn("StaySearchResultCache : invalidation org {} echouee : {}", organizationId, e.getMessage());
+            invalidateAll();
+        }
+    }
+
+    /** Vide le cache (toutes orgs, générations comprises). */
+    public void invalidateAll() {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) cache.clear();
+        } catch (RuntimeException e) {
+            log.warn("StaySearchResultCache : invalidation echouee : {}", e.getMessage());
+        }
+    }
+}
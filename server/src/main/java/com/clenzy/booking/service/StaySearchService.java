@@ -0,0 +1,191 @@
+package com.clenzy.booking.service;
+
+import com.clenzy.booking.dto.AvailabilityRequestDto;
+import com.clenzy.booking.dto.AvailabilityResponseDto;
+import com.clenzy.booking.dto.PublicPropertyDto;
+import com.clenzy.booking.dto.PropertySearchFilters;
+import com.clenzy.booking.service.PublicBookingService.OrgContext;
+import com.clenzy.model.Property;
+import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.PropertyRepository;
+import com.clenzy.service.PriceEngine;
+import com.clenzy.service.RestrictionEngine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recherche par DATES du booking engine : « quels logements sont libres du X au Y pour N voyageurs,
+ * et à quel prix TOTAL ». Le listing ({@code getProperties}) ne connaît que le prix « à partir de » ;
+ * sans ce service, le widget devait appeler {@code /availability} logement par logement (N devis,
+ * ~5 requêtes chacun) pour afficher un résultat exploitable.
+ *
+ * <p>Pipeline en passes successives, chacune ne portant que sur les survivants de la précédente :</p>
+ * <ol>
+ *   <li>logements visibles (curation featured, filtres du listing, capacité) — en mémoire ;</li>
+ *   <li>contrôles séjour/config ({@link PublicBookingService#stayViolations}) — en mémoire ;</li>
+ *   <li>restrictions (min/max stay, CTA/CTD…) — UNE requête pour l'org ;</li>
+ *   <li>disponibilité calendrier — UNE requête (ids en conflit sur [checkIn, checkOut)) ;</li>
+ *   <li>prix nuit par nuit — DEUX requêtes ({@link PriceEngine#resolvePriceRanges}) ;</li>
+ *   <li>devis ({@link PublicBookingService#quoteStay}) : même calcul que {@code /availability},
+ *       le total affiché est exactement celui facturé au checkout.</li>
+ * </ol>
+ *
+ * <p>Résultats cachés ({@link StaySearchResultCache}) par (org, engine, mode, curation, devise,
+ * filtres, séjour, voyageurs, tarif membre), invalidés par organisation sur changement de prix ou
+ * de disponibilité.</p>
+ */
+@Service
+public class StaySearchService {
+
+    /** Borne de la fenêtre de recherche (nuits) : au-delà, aucune config ne l'autorise de toute façon. */
+    static final int MAX_SEARCH_NIGHTS = 365;
+
+    private final PublicBookingService bookingService;
+    private final PropertyRepository propertyRepository;
+    private final CalendarDayRepository calendarDayRepository;
+    private final RestrictionEngine restrictionEngine;
+    private final PriceEngine priceEngine;
+    private final BookingDisplayCurrencyService displayCurrencyService;
+    private final BookingMockDataProvider mockDataProvider;
+    private final StaySearchResultCache resultCache;
+
+    public StaySearchService(PublicBookingService bookingService,
+                             PropertyRepository propertyRepository,
+                             CalendarDayRepository calendarDayRepository,
+                             RestrictionEngine restrictionEngine,
+                             PriceEngine priceEngine,
+                             BookingDisplayCurrencyService displayCurrencyService,
+                             BookingMockDataProvider mockDataProvider,
+                             StaySearchResultCache resultCache) {
+        this.bookingService = bookingService;
+        this.propertyRepository = propertyRepository;
+        this.calendarDayRepository = calendarDayRepository;
+        this.restrictionEngine = restrictionEngine;
+        this.priceEngine = priceEngine;
+        this.displayCurrencyService = displayCurrencyService;
+        this.mockDataProvider = mockDataProvider;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Logements DISPONIBLES pour le séjour, avec devis complet (ordre du listing conservé).
+     * Les montants sont convertis dans {@code currency} si demandée (indicatif ; le débit reste
+     * dans la devise du logement, comme {@code /availability}).
+     *
+     * @throws IllegalArgumentException si checkOut n'est pas après checkIn, fenêtre > {@value #MAX_SEARCH_NIGHTS} nuits ou guests < 1
+     */
+    @Transactional(readOnly = true)
+    public List<AvailabilityResponseDto> search(OrgContext ctx, LocalDate checkIn, LocalDate checkOut, int guests,
+                                                boolean member, PropertySearchFilters filters, String currency) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("checkOut doit etre apres checkIn");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > MAX_SEARCH_NIGHTS) {
+            throw new IllegalArgumentException("Fenetre de recherche trop longue (maximum " + MAX_SEARCH_NIGHTS + " nuits)");
+        }
+        if (guests < 1) {
+            throw new IllegalArgumentException("guests doit etre >= 1");
+        }
+        PropertySearchFilters effectiveFilters = filters == null ? PropertySearchFilters.NONE : filters;
+
+        String key = cacheKey(ctx, checkIn, checkOut, guests, member, effectiveFilters, currency);
+        List<AvailabilityResponseDto> cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<AvailabilityResponseDto> results = PublicBookingService.isMock(ctx)
+                ? searchMock(ctx, checkIn, checkOut, guests, member, effectiveFilters, currency)
+                : searchReal(ctx, checkIn, checkOut, guests, member, effectiveFilters, currency);
+        resultCache.put(key, results);
+        return results;
+    }
+
+    /**
+     * Clé de cache : la clé du listing ({@link PublicBookingService#searchCacheKey}) + génération de
+     * l'org (invalidation scopée) + paramètres du séjour.
+     */
+    String cacheKey(OrgContext ctx, LocalDate checkIn, LocalDate checkOut, int guests, boolean member,
+                    PropertySearchFilters filters, String currency) {
+        return PublicBookingService.searchCacheKey("stays", ctx, currency, filters)
+            + ':' + resultCache.generation(ctx.orgId())
+            + ':' + checkIn + ':' + checkOut + ':' + guests + ':' + member;
+    }
+
+    private List<AvailabilityResponseDto> searchMock(OrgContext ctx, LocalDate checkIn, LocalDate checkOut, int guests,
+                                                     boolean member, PropertySearchFilters filters, String currency) {
+        List<AvailabilityResponseDto> results = new ArrayList<>();
+        for (PublicPropertyDto property : mockDataProvider.getProperties(filters, currency)) {
+            AvailabilityResponseDto resp = bookingService.checkAvailability(ctx,
+                new AvailabilityRequestDto(property.id(), checkIn, checkOut, guests), member);
+            if (resp.available()) {
+                results.add(displayCurrencyService.convertAvailability(resp, currency, checkIn));
+            }
+        }
+        return results;
+    }
+
+    private List<AvailabilityResponseDto> searchReal(OrgContext ctx, LocalDate checkIn, LocalDate checkOut, int guests,
+                                                     boolean member, PropertySearchFilters filters, String currency) {
+        Long orgId = ctx.orgId();
+        Set<Long> featured = PublicBookingService.parseFeaturedPropertyIds(ctx.config().getFeaturedPropertyIds());
+        boolean convert = currency != null && !currency.isBlank();
+        LocalDate rateDate = LocalDate.now();
+
+        // Passes 1-2 : en mémoire (listing visible, filtres, capacité, contrôles séjour/config).
+        List<Property> candidates = new ArrayList<>();
+        for (Property property : propertyRepository.findBookingEngineVisible(orgId)) {
+            if (!featured.isEmpty() && !featured.contains(property.getId())) {
+                continue;
+            }
+            PublicPropertyDto dto = PublicPropertyDto.from(property);
+            if (convert) {
+                dto = displayCurrencyService.convertProperty(dto, currency, rateDate);
+            }
+            if (!filters.matches(dto)
+                    || !bookingService.stayViolations(ctx.config(), property, checkIn, checkOut, guests).isEmpty()) {
+                continue;
+            }
+            candidates.add(property);
+        }
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Passe 3 : restrictions, une requête.
+        Map<Long, RestrictionEngine.ValidationResult> restrictions = restrictionEngine.validateAll(
+            candidates.stream().map(Property::getId).toList(), checkIn, checkOut, orgId);
+        candidates.removeIf(p -> !restrictions.get(p.getId()).isValid());
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Passe 4 : calendrier, une requête.
+        Set<Long> conflicting = new HashSet<>(calendarDayRepository.findConflictingPropertyIds(
+            candidates.stream().map(Property::getId).toList(), checkIn, checkOut, orgId));
+        candidates.removeIf(p -> conflicting.contains(p.getId()));
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Passes 5-6 : prix (deux requêtes) puis devis par survivant.
+        Map<Long, Map<LocalDate, BigDecimal>> prices = priceEngine.resolvePriceRanges(candidates, checkIn, checkOut, orgId);
+        List<AvailabilityResponseDto> results = new ArrayList<>();
+        for (Property property : candidates) {
+            AvailabilityResponseDto resp = bookingService.quoteStay(ctx, property, checkIn, checkOut, guests, member,
+                prices.getOrDefault(property.getId(), Map.of()));
+            if (resp.available()) {
+                results.add(displayCurrencyService.convertAvailability(resp, currency, checkIn));
+            }
+        }
+        return results;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -21,6 +22,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -82,6 +84,11 @@ public class CacheConfig {
         mapper.addMixIn(com.clenzy.booking.dto.PublicSearchFiltersDto.class, ForceClassTypeInfoMixin.class);
         mapper.addMixIn(com.clenzy.booking.dto.PublicPropertyDetailDto.class, ForceClassTypeInfoMixin.class);
         mapper.addMixIn(com.clenzy.booking.dto.PropertyCalendarDto.class, ForceClassTypeInfoMixin.class);
+        mapper.addMixIn(com.clenzy.booking.dto.AvailabilityResponseDto.class, ForceClassTypeInfoMixin.class);
+        // Contenu public matérialisé des sites hébergés (SiteRenderCache).
+        mapper.addMixIn(com.clenzy.booking.service.SiteRenderCache.RenderedSite.class, ForceClassTypeInfoMixin.class);
+        // Resultats de recherche knowledge base (KbSearchResultCache).
+        mapper.addMixIn(com.clenzy.service.agent.kb.KbSearchService.KbSearchHit.class, ForceClassTypeInfoMixin.class);
 
         return mapper;
     }
@@ -112,18 +119,24 @@ public class CacheConfig {
 
     /**
      * Container pub/sub : abonne CE noeud au canal d'invalidation pour evincer son
-     * L1 local quand un AUTRE noeud evince/vide un cache (C3-AUDITIP-CACHE).
+     * L1 local quand un AUTRE noeud evince/vide un cache (C3-AUDITIP-CACHE), ainsi
+     * que les caches purement locaux ({@link LocalCacheInvalidation}, ex. instantane
+     * des parametres d'organisation).
      */
     @Bean
     public RedisMessageListenerContainer cacheInvalidationListenerContainer(
             RedisConnectionFactory redisConnectionFactory,
             CacheManager cacheManager,
+            ObjectProvider<LocalCacheInvalidation> localCacheProvider,
             @Qualifier("cacheNodeId") String cacheNodeId) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(redisConnectionFactory);
-        if (cacheManager instanceof TwoLayerCacheManager twoLayerCacheManager) {
+        List<LocalCacheInvalidation> localCaches = localCacheProvider.orderedStream().toList();
+        TwoLayerCacheManager twoLayerCacheManager =
+                cacheManager instanceof TwoLayerCacheManager twoLayer ? twoLayer : null;
+        if (twoLayerCacheManager != null || !localCaches.isEmpty()) {
             CacheInvalidationListener listener =
-                    new CacheInvalidationListener(twoLayerCacheManager, cacheNodeId);
+                    new CacheInvalidationListener(twoLayerCacheManager, localCaches, cacheNodeId);
             container.addMessageListener(listener, new ChannelTopic(RedisCacheInvalidationPublisher.CHANNEL));
         }
         return container;
@@ -180,6 +193,20 @@ public class CacheConfig {
                 .entryTtl(Duration.ofMinutes(10))
                 .prefixCacheNameWith("clenzy:site-snapshots:"));
 
+        // Contenu public matérialisé des sites hébergés (SiteRenderCache) : une entrée par site
+        // (JSON pré-compressé gzip + ETag de chaque réponse), remplacée après commit à chaque
+        // publication/édition. TTL long : l'invalidation est explicite, le TTL ne borne que les
+        // réglages hors site (popup organisation).
+        cacheConfigurations.put("site-delivery", defaultConfig
+                .entryTtl(Duration.ofHours(12))
+                .prefixCacheNameWith("clenzy:site-delivery:"));
+
+        // Mapping hostname → site (y compris hôtes inconnus : cache négatif contre les scans de
+        // sous-domaines). Vidé sur changement de domaine/slug ; TTL court en filet de sécurité.
+        cacheConfigurations.put("site-delivery-hosts", defaultConfig
+                .entryTtl(Duration.ofMinutes(30))
+                .prefixCacheNameWith("clenzy:site-delivery-hosts:"));
+
         // Cache booking-engine public property responses (10 minutes).
         // Evicted by BookingEngineChannelAdapter on host-profile change so widgets
         // embedded on conciergerie/proprietaire websites pick up new photos / names
@@ -204,6 +231,14 @@ public class CacheConfig {
                 .entryTtl(Duration.ofMinutes(10))
                 .prefixCacheNameWith("clenzy:booking-engine-search:"));
 
+        // Cache recherche par dates booking-engine (10 minutes) : logements disponibles + devis complet
+        // pour un séjour (StaySearchService). Invalidation scopée par organisation via une entrée
+        // « génération » du même cache (cf. StaySearchResultCache) : un changement de prix/dispo d'une
+        // org ne vide pas les recherches des autres.
+        cacheConfigurations.put("booking-engine-stay-search", defaultConfig
+                .entryTtl(Duration.ofMinutes(10))
+                .prefixCacheNameWith("clenzy:booking-engine-stay-search:"));
+
         // Cache des taux de change (12 heures). Les taux sont journaliers (fetch 07:00 UTC +
         // refresh admin) et les deux chemins d'écriture évincent ce cache (@CacheEvict dans
         // ExchangeRateProviderService) ; le TTL 12h garantit qu'aucune entrée ne survit à un
@@ -212,6 +247,13 @@ public class CacheConfig {
                 .entryTtl(Duration.ofHours(12))
                 .prefixCacheNameWith("clenzy:exchange-rates:"));
 
+        // Cache des resultats de recherche knowledge base (15 minutes). Vide a chaque
+        // (re)ingestion de document par KbSearchResultCache ; le TTL couvre les
+        // changements de config (rerank, seuil) qui ne passent pas par l'ingestion.
+        cacheConfigurations.put("kb-search", defaultConfig
+                .entryTtl(Duration.ofMinutes(15))
+                .prefixCacheNameWith("clenzy:kb-search:"));
+
         RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
@@ -6,12 +6,17 @@ import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Listener Redis pub/sub des invalidations L1 cross-instance (canal
  * {@link RedisCacheInvalidationPublisher#CHANNEL}). A chaque message emis par un
  * AUTRE noeud, evince le L1 local du cache concerne via
- * {@link TwoLayerCacheManager#evictLocal(String)}.
+ * {@link TwoLayerCacheManager#evictLocal(String)}, ou — pour un cache purement
+ * local enregistre ({@link LocalCacheInvalidation}) — evince sa seule entree.
  *
  * <p>Suppression des messages emis par soi-meme : Redis livre la publication a
  * tous les abonnes y compris l'emetteur ; on compare l'{@code originId} du
@@ -25,11 +30,21 @@ public class CacheInvalidationListener implements MessageListener {
 
     private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
 
+    /** {@code null} si le CacheManager n'est pas deux niveaux (seuls les caches locaux sont servis). */
     private final TwoLayerCacheManager cacheManager;
+    private final Map<String, LocalCacheInvalidation> localCaches;
     private final String originId;
 
     public CacheInvalidationListener(TwoLayerCacheManager cacheManager, String originId) {
+        this(cacheManager, List.of(), originId);
+    }
+
+    public CacheInvalidationListener(TwoLayerCacheManager cacheManager,
+                                     List<LocalCacheInvalidation> localCaches,
+                                     String originId) {
         this.cacheManager = cacheManager;
+        this.localCaches = localCaches.stream()
+                .collect(Collectors.toUnmodifiableMap(LocalCacheInvalidation::cacheName, Function.identity()));
         this.originId = originId;
     }
 
@@ -46,9 +61,17 @@ public class CacheInvalidationListener implements MessageListener {
             if (originId.equals(parsed.originId())) {
                 return;
             }
+            LocalCacheInvalidation localCache = localCaches.get(parsed.cacheName());
+            if (localCache != null) {
+                // Cache local : eviction fine de la seule cle (clear si absente).
+                localCache.evictLocal(parsed.isClear() ? null : parsed.key());
+                return;
+            }
             // Eviction L1 locale coarse (le clear et l'evict par cle ont le meme
             // effet local : on vide le L1 du cache nomme). Idempotent.
-            cacheManager.evictLocal(parsed.cacheName());
+            if (cacheManager != null) {
+                cacheManager.evictLocal(parsed.cacheName());
+            }
         } catch (RuntimeException e) {
             log.warn("Echec traitement message d'invalidation cache L1: {}", e.getMessage());
         }
@@ -0,0 +1,302 @@
+package com.clenzy.config;
+
+import com.clenzy.dto.CalendarCommandRecord;
+import com.clenzy.model.CalendarCommandType;
+import com.clenzy.service.storage.archival.ArchivalService;
+import com.clenzy.service.storage.archival.ArchivalService.ArchivalResult;
+import com.clenzy.service.storage.archival.ArchivalSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cycle de vie des partitions mensuelles de {@code calendar_commands} (changeset 0422,
+ * partitionnement RANGE sur {@code executed_at}) — pendant de {@link CalendarPartitionManager}
+ * pour le write-ahead log du calendrier.
+ *
+ * <ol>
+ *   <li><b>Creation</b> : mois courant + {@value #MONTHS_AHEAD} mois a l'avance (boot + cron
+ *       mensuel). Les ecritures portent toujours {@code now()} : la DEFAULT ne sert que de
+ *       filet de securite.</li>
+ *   <li><b>Detachement</b> : les mois plus vieux que {@code clenzy.calendar.commands.retention-months}
+ *       sont detaches (DETACH PARTITION) — ils sortent du log vivant sans DELETE massif.</li>
+ *   <li><b>Archivage</b> : chaque partition detachee est exportee en NDJSON via
+ *       {@link ArchivalService#archiveSegment} (cible {@code clenzy.calendar.commands.archive-target},
+ *       un segment par mois). Inerte tant que l'archivage froid n'est pas active et la cible
+ *       declaree dans {@code clenzy.archival.targets}.</li>
+ *   <li><b>Suppression</b> : une partition detachee n'est supprimee (DROP TABLE) que si
+ *       {@code clenzy.calendar.commands.drop-after-archive=true} (defaut false) ET que l'export a
+ *       reellement tourne avec autant de lignes que la table. Sinon elle reste en base,
+ *       detachee, et sera re-tentee au prochain cycle.</li>
+ * </ol>
+ *
+ * <p>No-op si la table n'est pas partitionnee (dev / tests : table plate Hibernate).
+ * Jauge {@code clenzy.calendar.commands.partition.detached_pending} : partitions detachees
+ * en attente d'archivage.</p>
+ */
+@Component
+public class CalendarCommandPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarCommandPartitionManager.class);
+    private static final DateTimeFormatter PARTITION_FMT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    static final String TABLE = "calendar_commands";
+    /** Nom de partition mensuelle : {@code calendar_commands_YYYY_MM} (la DEFAULT ne matche pas). */
+    static final Pattern PARTITION_NAME = Pattern.compile("^calendar_commands_(\\d{4})_(\\d{2})$");
+    private static final int MONTHS_AHEAD = 3;
+
+    private static final String ATTACHED_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'calendar_commands'
+            ORDER BY c.relname
+            """;
+
+    private static final String DETACHED_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_class c
+            WHERE c.relkind = 'r'
+              AND c.relname ~ '^calendar_commands_[0-9]{4}_[0-9]{2}$'
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivalService archivalService;
+    private final int retentionMonths;
+    private final String archiveTarget;
+    private final boolean dropAfterArchive;
+    private final Counter failureCounter;
+    private final AtomicLong detachedPending = new AtomicLong(0);
+
+    public CalendarCommandPartitionManager(JdbcTemplate jdbcTemplate,
+                                           ArchivalService archivalService,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${clenzy.calendar.commands.retention-months:24}") int retentionMonths,
+                                           @Value("${clenzy.calendar.commands.archive-target:calendar-commands}") String archiveTarget,
+                                           @Value("${clenzy.calendar.commands.drop-after-archive:false}") boolean dropAfterArchive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivalService = archivalService;
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.archiveTarget = archiveTarget;
+        this.dropAfterArchive = dropAfterArchive;
+        this.failureCounter = Counter.builder("clenzy.calendar.commands.partition.failures")
+                .description("Echecs de creation / detachement / archivage des partitions calendar_commands")
+                .register(meterRegistry);
+        Gauge.builder("clenzy.calendar.commands.partition.detached_pending", detachedPending, AtomicLong::get)
+                .description("Partitions calendar_commands detachees en attente d'archivage")
+                .register(meterRegistry);
+    }
+
+    /** Rattrapage au demarrage : seulement la creation (rapide, idempotente). */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnBoot() {
+        if (isPartitioned()) {
+            ensureFuturePartitions(LocalDate.now());
+        }
+    }
+
+    /**
+     * Cycle mensuel complet (1er du mois, 03h30 — apres CalendarPartitionManager) :
+     * creation, detachement des mois expires, archivage puis suppression eventuelle.
+     */
+    @Scheduled(cron = "0 30 3 1 * *")
+    @SchedulerLock(name = "calendar-commands-partitions", lockAtMostFor = "PT2H")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            log.info("calendar_commands non partitionnee — maintenance des partitions ignoree (table plate).");
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        ensureFuturePartitions(today);
+        detachExpiredPartitions(today);
+        archiveDetachedPartitions();
+    }
+
+    void ensureFuturePartitions(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        name, TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+            } catch (Exception e) {
+                // Cause typique : lignes de ce mois deja tombees dans la DEFAULT (creation en retard).
+                log.error("Erreur creation partition {}", name, e);
+                failureCounter.increment();
+            }
+        }
+    }
+
+    void detachExpiredPartitions(LocalDate today) {
+        YearMonth oldestKept = YearMonth.from(today).minusMonths(retentionMonths);
+        for (String name : jdbcTemplate.queryForList(ATTACHED_PARTITIONS_SQL, String.class)) {
+            YearMonth month = monthOf(name);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+                log.info("Partition detachee du log calendrier : {}", name);
+            } catch (Exception e) {
+                log.error("Erreur detachement partition {}", name, e);
+                failureCounter.increment();
+            }
+        }
+    }
+
+    void archiveDetachedPartitions() {
+        List<String> detached = jdbcTemplate.queryForList(DETACHED_PARTITIONS_SQL, String.class);
+        long pending = detached.size();
+        for (String name : detached) {
+            try {
+                if (archiveAndDrop(name)) {
+                    pending--;
+                }
+            } catch (Exception e) {
+                log.error("Erreur archivage partition {}", name, e);
+                failureCounter.increment();
+            }
+        }
+        detachedPending.set(pending);
+    }
+
+    /** @return true si la partition a ete supprimee (archivee et verifiee). */
+    private boolean archiveAndDrop(String name) {
+        YearMonth month = monthOf(name);
+        if (month == null) {
+            return false;
+        }
+        ArchivalResult result = archivalService.archiveSegment(archiveTarget, month.format(PARTITION_FMT),
+                new DetachedPartitionSource(jdbcTemplate, archiveTarget, name));
+        if (!result.executed()) {
+            log.info("Partition {} conservee (detachee) : archivage non execute ({}).", name, result.reason());
+            return false;
+        }
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + name, Long.class);
+        if (rows == null || rows != result.records()) {
+            log.error("Partition {} conservee : {} ligne(s) archivee(s) pour {} en base.", name, result.records(), rows);
+            failureCounter.increment();
+            return false;
+        }
+        if (!dropAfterArchive) {
+            log.info("Partition {} archivee ({} lignes) ; suppression desactivee (drop-after-archive=false).",
+                    name, rows);
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + name);
+        log.info("Partition {} archivee ({} lignes) puis supprimee.", name, rows);
+        return true;
+    }
+
+    private boolean isPartitioned() {
+        try {
+            Boolean partitioned = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt "
+                            + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'calendar_commands')",
+                    Boolean.class);
+            return Boolean.TRUE.equals(partitioned);
+        } catch (Exception e) {
+            log.debug("Verification du partitionnement de calendar_commands impossible — considere non partitionnee", e);
+            return false;
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_FMT);
+    }
+
+    /** Mois d'une partition mensuelle, null si le nom ne suit pas le format (ex : DEFAULT). */
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    /**
+     * Lecture seule, paginee par id, d'une partition detachee. Le nom de table est toujours
+     * issu du catalogue et valide par {@link #PARTITION_NAME} (jamais d'entree utilisateur).
+     */
+    static final class DetachedPartitionSource implements ArchivalSource {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final String targetName;
+        private final String table;
+
+        DetachedPartitionSource(JdbcTemplate jdbcTemplate, String targetName, String table) {
+            if (monthOf(table) == null) {
+                throw new IllegalArgumentException("Partition calendar_commands invalide : " + table);
+            }
+            this.jdbcTemplate = jdbcTemplate;
+            this.targetName = targetName;
+            this.table = table;
+        }
+
+        @Override
+        public String targetName() {
+            return targetName;
+        }
+
+        @Override
+        public List<?> fetchBatch(Pageable pageable) {
+            return jdbcTemplate.query(
+                    "SELECT id, organization_id, property_id, command_type, date_from, date_to, source, "
+                            + "reservation_id, actor_id, price, notes, dates, status, executed_at FROM " + table
+                            + " ORDER BY id LIMIT ? OFFSET ?",
+                    (rs, i) -> toRecord(rs), pageable.getPageSize(), pageable.getOffset());
+        }
+    }
+
+    static CalendarCommandRecord toRecord(ResultSet rs) throws SQLException {
+        Timestamp executedAt = rs.getTimestamp("executed_at");
+        return new CalendarCommandRecord(
+                rs.getLong("id"),
+                rs.getLong("organization_id"),
+                rs.getLong("property_id"),
+                CalendarCommandType.valueOf(rs.getString("command_type")),
+                rs.getObject("date_from", LocalDate.class),
+                rs.getObject("date_to", LocalDate.class),
+                rs.getString("source"),
+                rs.getObject("reservation_id", Long.class),
+                rs.getString("actor_id"),
+                rs.getBigDecimal("price"),
+                rs.getString("notes"),
+                dates(rs.getArray("dates")),
+                rs.getString("status"),
+                executedAt != null ? executedAt.toLocalDateTime() : null);
+    }
+
+    private static List<LocalDate> dates(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        return Arrays.stream((java.sql.Date[]) array.getArray()).map(java.sql.Date::toLocalDate).toList();
+    }
+}
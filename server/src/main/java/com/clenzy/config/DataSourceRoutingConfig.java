@@ -1,19 +1,26 @@
 package com.clenzy.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.unit.DataSize;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration DataSource dual : PRIMARY (ecriture) + REPLICA (lecture).
@@ -32,6 +39,12 @@ import java.util.Map;
  * Le proxy differe l'acquisition de la connexion physique au premier statement,
  * une fois le flag readOnly pose : le routage devient effectif.</p>
  *
+ * <p><b>Routage sensible au retard</b> : {@link ReplicaLagMonitor} echantillonne le retard
+ * de la replica, {@link ReadYourWritesTracker} memorise (Redis) la position de commit de la
+ * derniere ecriture de chaque utilisateur. Une lecture ne part sur la replica que si elle
+ * est a jour ({@code clenzy.datasource.replica.max-lag}, {@code max-lag-bytes}) et a rejoue
+ * cette position.</p>
+ *
  * Niveau 8 — Scalabilite : read replica routing.
  */
 @Configuration
@@ -75,12 +88,57 @@ public class DataSourceRoutingConfig {
                 .build();
     }
 
+    /**
+     * Pool dedie (2 connexions, timeout court) aux lectures de position WAL du primaire :
+     * echantillonnage du retard et position de commit read-your-writes. Ces lectures ont
+     * lieu pendant {@code afterCommit}, quand la transaction tient encore sa connexion —
+     * sur le pool applicatif, une rafale d'ecritures l'epuiserait.
+     */
+    @Bean(name = "walPositionDataSource", destroyMethod = "close")
+    public HikariDataSource walPositionDataSource() {
+        HikariDataSource dataSource = primaryDataSourceProperties()
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("clenzy-wal-position");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(500);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("walPositionDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${clenzy.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${clenzy.datasource.replica.max-lag-bytes:64MB}") DataSize maxLagBytes,
+            @Value("${clenzy.datasource.replica.lag-poll-interval:1000}") long pollIntervalMillis,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, maxLagBytes,
+                Duration.ofMillis(pollIntervalMillis), meterRegistry, clock);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            StringRedisTemplate redisTemplate,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${clenzy.datasource.replica.read-your-writes-ttl:60s}") Duration ttl) {
+        return new ReadYourWritesTracker(redisTemplate, replicaLagMonitor::currentPrimaryLsn, ttl,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
     @Bean("routingDataSource")
     public DataSource routingDataSource(
             @Qualifier("primaryDataSource") DataSource primaryDataSource,
-            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
 
-        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(replicaLagMonitor, readYourWritesTracker, meterRegistry);
 
         Map<Object, Object> dataSourceMap = new HashMap<>();
         dataSourceMap.put(DataSourceType.PRIMARY, primaryDataSource);
@@ -9,6 +9,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * JPA AttributeConverter pour le chiffrement AES-256 au repos des colonnes sensibles.
  *
@@ -26,8 +30,21 @@ import org.springframework.stereotype.Component;
  * {@link FieldDecryptionException} (la valeur brute n'est jamais renvoyee ni
  * loggee). Detecte les rotations de cle ratees et les donnees alterees.
  *
+ * Formats en base :
+ *   - "FEv{n}:..." : enveloppe AES-256-GCM a cle pre-derivee ({@link FieldEnvelopeCipher}) ;
+ *   - sinon : Jasypt AES256TextEncryptor (legacy), toujours lu de facon transparente.
+ *
+ * Deploiement en deux temps ({@code clenzy.security.field-encryption.write-format}) :
+ *   1. release N : {@code jasypt} par defaut — toutes les instances savent LIRE l'enveloppe,
+ *      aucune ne l'ecrit encore (un pod N-1 en cours de rolling deploy lirait "FEv1:" comme
+ *      du Jasypt et leverait {@link FieldDecryptionException} en mode strict) ;
+ *   2. release suivante (ou une fois N deploye partout) : {@code envelope}. Les valeurs
+ *      legacy sont alors migrees en arriere-plan par {@code FieldReencryptionScheduler}.
+ *
  * IMPORTANT : Le mot de passe de chiffrement (JASYPT_ENCRYPTOR_PASSWORD) doit etre
  * identique entre les deployments pour pouvoir lire les donnees existantes.
+ * En cas de rotation : incrementer {@code clenzy.security.field-encryption.key-version}
+ * et declarer l'ancien mot de passe dans {@code previous-passwords}.
  */
 @Component
 @Converter
@@ -37,6 +54,12 @@ public class EncryptedFieldConverter implements AttributeConverter<String, Strin
 
     private static AES256TextEncryptor encryptor;
 
+    private static volatile FieldEnvelopeCipher envelope;
+    private static String encryptorPassword;
+    private static int keyVersion = 1;
+    private static String previousPasswords = "";
+    private static volatile boolean writeEnvelope = false;
+
     /**
      * Mode strict (defaut) : un echec de dechiffrement leve une
      * {@link FieldDecryptionException}. Le mode tolerant
@@ -55,9 +78,30 @@ public class EncryptedFieldConverter implements AttributeConverter<String, Strin
     public void setEncryptorPassword(String password) {
         encryptor = new AES256TextEncryptor();
         encryptor.setPassword(password);
+        encryptorPassword = password;
+        rebuildEnvelope();
         log.debug("EncryptedFieldConverter initialise avec succes");
     }
 
+    @Value("${clenzy.security.field-encryption.key-version:1}")
+    public void setKeyVersion(int version) {
+        keyVersion = version;
+        rebuildEnvelope();
+    }
+
+    /** Mots de passe precedents (versions N-1, N-2...), separes par virgule — dechiffrement seul. */
+    @Value("${clenzy.security.field-encryption.previous-passwords:}")
+    public void setPreviousPasswords(String passwords) {
+        previousPasswords = passwords != null ? passwords : "";
+        rebuildEnvelope();
+    }
+
+    /** {@code jasypt} (defaut, phase 1 du deploiement) ou {@code envelope} ; les deux formats sont toujours lus. */
+    @Value("${clenzy.security.field-encryption.write-format:jasypt}")
+    public void setWriteFormat(String format) {
+        writeEnvelope = !"jasypt".equalsIgnoreCase(format != null ? format.trim() : "");
+    }
+
     @Value("${clenzy.security.field-encryption.fail-on-decrypt-error:true}")
     public void setFailOnDecryptError(boolean value) {
         failOnDecryptError = value;
@@ -73,6 +117,10 @@ public class EncryptedFieldConverter implements AttributeConverter<String, Strin
             return attribute;
         }
         try {
+            FieldEnvelopeCipher cipher = envelope;
+            if (writeEnvelope && cipher != null) {
+                return cipher.encrypt(attribute);
+            }
             return encryptor.encrypt(attribute);
         } catch (Exception e) {
             log.error("Erreur de chiffrement pour la colonne: {}", e.getMessage());
@@ -90,7 +138,7 @@ public class EncryptedFieldConverter implements AttributeConverter<String, Strin
             return dbData;
         }
         try {
-            return encryptor.decrypt(dbData);
+            return decrypt(dbData);
         } catch (Exception e) {
             // Z1-SEC-08 : ne plus renvoyer silencieusement la valeur brute (le
             // ciphertext ou une donnee alteree serait servie comme valeur metier
@@ -110,4 +158,88 @@ public class EncryptedFieldConverter implements AttributeConverter<String, Strin
             return dbData;
         }
     }
+
+    /**
+     * Vrai si la valeur brute en base doit etre re-chiffree dans le format courant
+     * (Jasypt legacy ou enveloppe d'une version de cle precedente). Faux si l'ecriture
+     * enveloppe est desactivee : rien a migrer.
+     */
+    public static boolean needsReencryption(String dbData) {
+        FieldEnvelopeCipher cipher = envelope;
+        if (!writeEnvelope || cipher == null || dbData == null || dbData.isEmpty()) {
+            return false;
+        }
+        if ("ANONYMIZED".equals(dbData) || dbData.startsWith("anon_")) {
+            return false;
+        }
+        return !dbData.startsWith(cipher.currentPrefix());
+    }
+
+    /**
+     * Re-chiffre une valeur brute en base dans l'enveloppe courante. Toujours strict
+     * (independamment du mode tolerant) : une valeur indechiffrable n'est jamais
+     * re-ecrite, elle leve une {@link FieldDecryptionException}.
+     */
+    public static String reencrypt(String dbData) {
+        FieldEnvelopeCipher cipher = envelope;
+        if (cipher == null) {
+            throw new IllegalStateException("EncryptedFieldConverter non initialise");
+        }
+        final String plain;
+        try {
+            plain = decrypt(dbData);
+        } catch (Exception e) {
+            throw new FieldDecryptionException("Echec de dechiffrement d'un champ chiffre au repos", e);
+        }
+        try {
+            return cipher.encrypt(plain);
+        } catch (Exception e) {
+            throw new IllegalStateException("Erreur de chiffrement RGPD", e);
+        }
+    }
+
+    /**
+     * Prefixe des valeurs au format d'ecriture courant ("FEv{n}:"), {@code null} si
+     * l'ecriture enveloppe est desactivee ou le converter non initialise.
+     */
+    public static String currentEnvelopePrefix() {
+        FieldEnvelopeCipher cipher = envelope;
+        return writeEnvelope && cipher != null ? cipher.currentPrefix() : null;
+    }
+
+    /** Vrai si la valeur brute en base est au format enveloppe AES-GCM. */
+    public static boolean isEnvelope(String dbData) {
+        return FieldEnvelopeCipher.isEnvelope(dbData);
+    }
+
+    private static String decrypt(String dbData) throws Exception {
+        if (FieldEnvelopeCipher.isEnvelope(dbData)) {
+            FieldEnvelopeCipher cipher = envelope;
+            if (cipher == null) {
+                throw new IllegalStateException("Enveloppe AES-GCM non initialisee");
+            }
+            return cipher.decrypt(dbData);
+        }
+        return encryptor.decrypt(dbData);
+    }
+
+    /** Reconstruit le key ring de l'enveloppe (les setters Spring arrivent dans un ordre quelconque). */
+    private static synchronized void rebuildEnvelope() {
+        if (encryptorPassword == null || encryptorPassword.isEmpty()) {
+            return;
+        }
+        Map<Integer, SecretKey> keyRing = new HashMap<>();
+        keyRing.put(keyVersion, FieldEnvelopeCipher.deriveKey(encryptorPassword));
+        if (!previousPasswords.isBlank()) {
+            String[] parts = previousPasswords.split(",");
+            for (int i = 0; i < parts.length; i++) {
+                String prevPwd = parts[i].trim();
+                int version = keyVersion - (i + 1);
+                if (!prevPwd.isEmpty() && version > 0) {
+                    keyRing.put(version, FieldEnvelopeCipher.deriveKey(prevPwd));
+                }
+            }
+        }
+        envelope = new FieldEnvelopeCipher(keyVersion, keyRing);
+    }
 }
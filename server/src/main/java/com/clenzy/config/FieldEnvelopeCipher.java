@@ -0,0 +1,140 @@
+package com.clenzy.config;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Enveloppe AES-256-GCM des colonnes chiffrees par {@link EncryptedFieldConverter}.
+ *
+ * Format : "FEv{version}:{base64(iv + ciphertext + tag)}" — meme schema versionne que
+ * {@code TokenEncryptionService} ("GCMv{n}:"). Le ':' n'apparait jamais dans un
+ * ciphertext Jasypt (Base64 pur) : le prefixe suffit a distinguer les formats.
+ *
+ * Pourquoi : Jasypt {@code AES256TextEncryptor} derive la cle par PBKDF2 (1000 iterations)
+ * A CHAQUE appel, avec un sel aleatoire — c'est ce qui domine le cout d'un chargement de
+ * liste de guests/users. Ici la cle de donnees est derivee UNE fois au demarrage
+ * (HMAC-SHA256 du mot de passe Jasypt avec un contexte dedie : separation des usages
+ * avec les tokens OAuth et les index aveugles), puis chaque champ ne coute qu'un AES-GCM.
+ *
+ * Le prefixe est authentifie (AAD) : on ne peut pas faire passer un ciphertext pour une
+ * autre version de cle. Thread-safe (un {@link Cipher} par appel, cles immuables).
+ */
+final class FieldEnvelopeCipher {
+
+    static final String PREFIX = "FEv";
+
+    private static final String AES_GCM_ALGO = "AES/GCM/NoPadding";
+    private static final int GCM_IV_LENGTH = 12;    // 96 bits (NIST recommended)
+    private static final int GCM_TAG_LENGTH = 128;   // 128 bits tag
+    private static final String KEY_CONTEXT = "clenzy-field-encryption-v1";
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final int currentVersion;
+    private final String currentPrefix;
+    private final Map<Integer, SecretKey> keyRing;
+
+    /**
+     * @param currentVersion version de cle utilisee pour chiffrer
+     * @param keyRing        cles par version (courante + precedentes, pour la rotation)
+     */
+    FieldEnvelopeCipher(int currentVersion, Map<Integer, SecretKey> keyRing) {
+        if (!keyRing.containsKey(currentVersion)) {
+            throw new IllegalArgumentException("Cle absente pour la version courante " + currentVersion);
+        }
+        this.currentVersion = currentVersion;
+        this.currentPrefix = PREFIX + currentVersion + ":";
+        this.keyRing = Map.copyOf(keyRing);
+    }
+
+    /** Vrai si la valeur en base est au format enveloppe (quelle que soit la version). */
+    static boolean isEnvelope(String value) {
+        if (value == null || !value.startsWith(PREFIX)) {
+            return false;
+        }
+        int colon = value.indexOf(':');
+        if (colon <= PREFIX.length()) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < colon; i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Derive la cle de donnees AES-256 a partir d'un mot de passe (une fois par cle). */
+    static SecretKey deriveKey(String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal(KEY_CONTEXT.getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Impossible de deriver la cle de chiffrement des champs", e);
+        }
+    }
+
+    /** Prefixe des valeurs chiffrees avec la cle courante ("FEv{n}:"). */
+    String currentPrefix() {
+        return currentPrefix;
+    }
+
+    int currentVersion() {
+        return currentVersion;
+    }
+
+    String encrypt(String plain) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        SECURE_RANDOM.nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance(AES_GCM_ALGO);
+        cipher.init(Cipher.ENCRYPT_MODE, keyRing.get(currentVersion), new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+        cipher.updateAAD(currentPrefix.getBytes(StandardCharsets.US_ASCII));
+        byte[] plainBytes = plain.getBytes(StandardCharsets.UTF_8);
+        byte[] combined = new byte[GCM_IV_LENGTH + cipher.getOutputSize(plainBytes.length)];
+        System.arraycopy(iv, 0, combined, 0, GCM_IV_LENGTH);
+        cipher.doFinal(plainBytes, 0, plainBytes.length, combined, GCM_IV_LENGTH);
+
+        return currentPrefix + Base64.getEncoder().encodeToString(combined);
+    }
+
+    /**
+     * Dechiffre une valeur enveloppe. Leve {@link GeneralSecurityException} si la cle de
+     * la version est inconnue, si le tag GCM ne verifie pas (cle incorrecte, donnee
+     * alteree) ou si la valeur est malformee.
+     */
+    String decrypt(String envelope) throws GeneralSecurityException {
+        int colon = envelope.indexOf(':');
+        final int version;
+        final byte[] combined;
+        try {
+            version = Integer.parseInt(envelope.substring(PREFIX.length(), colon));
+            combined = Base64.getDecoder().decode(envelope.substring(colon + 1));
+        } catch (RuntimeException e) {
+            throw new GeneralSecurityException("Enveloppe de champ chiffre malformee", e);
+        }
+        SecretKey key = keyRing.get(version);
+        if (key == null) {
+            throw new GeneralSecurityException("Cle non trouvee pour la version " + version
+                    + ". Configurez clenzy.security.field-encryption.previous-passwords.");
+        }
+        if (combined.length < GCM_IV_LENGTH + GCM_TAG_LENGTH / 8) {
+            throw new GeneralSecurityException("Enveloppe de champ chiffre trop courte");
+        }
+
+        Cipher cipher = Cipher.getInstance(AES_GCM_ALGO);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, combined, 0, GCM_IV_LENGTH));
+        cipher.updateAAD(envelope.substring(0, colon + 1).getBytes(StandardCharsets.US_ASCII));
+        byte[] plaintext = cipher.doFinal(combined, GCM_IV_LENGTH, combined.length - GCM_IV_LENGTH);
+        return new String(plaintext, StandardCharsets.UTF_8);
+    }
+}
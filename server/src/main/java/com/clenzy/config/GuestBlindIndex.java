@@ -0,0 +1,180 @@
+package com.clenzy.config;
+
+import com.clenzy.model.Guest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Index aveugles (HMAC-SHA256 a cle) des PII chiffrees d'un {@link Guest}.
+ *
+ * <p>Les colonnes email/prenom/nom sont chiffrees par {@link EncryptedFieldConverter}
+ * (chiffre non deterministe : aucune recherche SQL possible). On stocke a cote :</p>
+ * <ul>
+ *   <li>{@code email_bidx} : HMAC de l'email normalise (trim, minuscules) → dedup par
+ *       egalite sur index ;</li>
+ *   <li>{@code search_tokens} : HMAC des 2-grammes et 3-grammes de "prenom nom" et de
+ *       l'email → un terme de recherche est transforme en ses n-grammes
+ *       ({@link #queryTokens}) et les lignes candidates sont celles qui les contiennent
+ *       TOUS ({@code @>} sur index GIN). Sur-ensemble exact du filtre "contient" : les
+ *       candidates sont dechiffrees et refiltrees en memoire (collisions, n-grammes
+ *       non contigus).</li>
+ * </ul>
+ *
+ * <p>Meme schema d'initialisation statique que {@link EncryptedFieldConverter} : la cle
+ * est posee par Spring via un setter {@code @Value}, et le calcul est declenche par le
+ * cycle de vie JPA du guest ({@code @PrePersist}/{@code @PreUpdate}) — tous les
+ * chemins d'ecriture sont couverts (import OTA, formulaire, anonymisation RGPD).
+ * Sans cle (tests unitaires sans contexte), les index restent nuls : les appelants
+ * retombent sur le filtrage en memoire et le backfill les calcule plus tard.</p>
+ *
+ * <p>Cle : {@code clenzy.security.blind-index.key}, a defaut derivee du mot de passe
+ * Jasypt. Toujours sous-cle HMAC dediee (separation des usages avec le chiffrement).</p>
+ */
+@Component
+public class GuestBlindIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestBlindIndex.class);
+
+    /** Version du schema d'indexation ; une ligne a {@code NULL} est a (re)indexer. */
+    public static final short VERSION = 1;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String KEY_CONTEXT = "clenzy-guest-blind-index-v1";
+
+    /** Octets de HMAC conserves par jeton de recherche (64 bits, en hexa). */
+    private static final int TOKEN_BYTES = 8;
+    /** Octets de HMAC conserves pour l'index email (128 bits, en hexa). */
+    private static final int EMAIL_BYTES = 16;
+    /** Jetons de requete max : un sous-ensemble des n-grammes suffit a filtrer. */
+    static final int MAX_QUERY_TOKENS = 8;
+
+    private static volatile SecretKeySpec key;
+
+    @Value("${clenzy.security.blind-index.key:${jasypt.encryptor.password:}}")
+    public void setSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            key = null;
+            return;
+        }
+        try {
+            Mac kdf = Mac.getInstance(HMAC_ALGORITHM);
+            kdf.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            key = new SecretKeySpec(kdf.doFinal(KEY_CONTEXT.getBytes(StandardCharsets.UTF_8)), HMAC_ALGORITHM);
+            log.debug("GuestBlindIndex initialise");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    /** Vrai si la cle est posee (sinon : index non calcules, repli memoire). */
+    public static boolean isEnabled() {
+        return key != null;
+    }
+
+    /** Recalcule les index aveugles du guest a partir de ses valeurs en clair. Sans cle : no-op. */
+    public static void refresh(Guest guest) {
+        if (key == null) {
+            return;
+        }
+        guest.setEmailIndex(emailIndex(guest.getEmail()));
+        guest.setSearchTokens(new ArrayList<>(searchTokens(guest.getFirstName(), guest.getLastName(), guest.getEmail())));
+        guest.setBlindIndexVersion(VERSION);
+    }
+
+    /** Index d'egalite de l'email ; {@code null} si email vide ou cle absente. */
+    public static String emailIndex(String email) {
+        if (key == null || email == null || email.isBlank()) {
+            return null;
+        }
+        return hmac("e:" + normalize(email), EMAIL_BYTES);
+    }
+
+    /**
+     * Jetons stockes : n-grammes de "prenom nom" et de l'email, en minuscules SANS trim
+     * — exactement le texte sur lequel le filtre memoire de {@code GuestService} teste
+     * "contient" (sinon un terme pourrait matcher en memoire sans etre candidat).
+     */
+    static Set<String> searchTokens(String firstName, String lastName, String email) {
+        final Set<String> grams = new LinkedHashSet<>();
+        final String full = lower(firstName) + " " + lower(lastName);
+        addGrams(grams, full, 2);
+        addGrams(grams, full, 3);
+        final String mail = lower(email);
+        addGrams(grams, mail, 2);
+        addGrams(grams, mail, 3);
+        final Set<String> tokens = new LinkedHashSet<>(grams.size());
+        for (String gram : grams) {
+            tokens.add(hmac("g:" + gram, TOKEN_BYTES));
+        }
+        return tokens;
+    }
+
+    /**
+     * Jetons d'un terme de recherche : ses 3-grammes (2-gramme si le terme fait 2
+     * caracteres), au plus {@value #MAX_QUERY_TOKENS}. Vide si cle absente ou terme
+     * trop court : l'appelant filtre alors en memoire.
+     */
+    public static List<String> queryTokens(String search) {
+        if (key == null || search == null) {
+            return List.of();
+        }
+        final String term = normalize(search);
+        if (term.length() < 2) {
+            return List.of();
+        }
+        final Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, term, term.length() == 2 ? 2 : 3);
+        final List<String> tokens = new ArrayList<>(Math.min(grams.size(), MAX_QUERY_TOKENS));
+        for (String gram : grams) {
+            if (tokens.size() == MAX_QUERY_TOKENS) {
+                break;
+            }
+            tokens.add(hmac("g:" + gram, TOKEN_BYTES));
+        }
+        return tokens;
+    }
+
+    /** Litteral tableau PostgreSQL ({@code {a,b}}) ; jetons hexadecimaux → sans echappement. */
+    public static String toArrayLiteral(Collection<String> tokens) {
+        return "{" + String.join(",", tokens) + "}";
+    }
+
+    private static void addGrams(Set<String> grams, String text, int n) {
+        for (int i = 0; i + n <= text.length(); i++) {
+            grams.add(text.substring(i, i + n));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String hmac(String value, int bytes) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, bytes);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+}
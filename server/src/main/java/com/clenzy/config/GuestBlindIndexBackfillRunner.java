@@ -0,0 +1,71 @@
+package com.clenzy.config;
+
+import com.clenzy.model.Guest;
+import com.clenzy.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfill idempotent des index aveugles ({@code email_bidx}, {@code search_tokens})
+ * des guests existants, au démarrage.
+ *
+ * <p>Comme pour {@link GuestPhoneHashBackfillRunner} : les PII sont chiffrées (AES),
+ * le calcul ne peut pas se faire en SQL. On charge les guests sans index
+ * ({@code blind_index_version IS NULL}) par lots, on les déchiffre via les getters,
+ * {@link GuestBlindIndex#refresh} calcule les HMAC, on sauve.</p>
+ *
+ * <p>Tant qu'un guest n'est pas indexé, il reste candidat à toute recherche et à
+ * toute dédup par email ({@code GuestRepository#findEmailCandidates}) : le résultat
+ * est juste, seul le gain de performance attend le backfill. Idempotent (les guests
+ * traités sortent du prédicat) ; échec non bloquant pour ne pas empêcher le démarrage.</p>
+ */
+@Component
+public class GuestBlindIndexBackfillRunner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GuestBlindIndexBackfillRunner.class);
+
+    static final int BATCH_SIZE = 500;
+
+    private final GuestRepository guestRepository;
+
+    public GuestBlindIndexBackfillRunner(GuestRepository guestRepository) {
+        this.guestRepository = guestRepository;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!GuestBlindIndex.isEnabled()) {
+            log.warn("Backfill index aveugles guests ignore : cle d'index non configuree");
+            return;
+        }
+        int updated = 0;
+        try {
+            while (true) {
+                List<Guest> batch = guestRepository.findBlindIndexPending(PageRequest.of(0, BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Guest g : batch) {
+                    GuestBlindIndex.refresh(g);
+                }
+                guestRepository.saveAll(batch);
+                updated += batch.size();
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Backfill index aveugles guests echoue apres {} guest(s) (non bloquant): {}",
+                    updated, e.getMessage());
+            return;
+        }
+        if (updated > 0) {
+            log.info("Backfill index aveugles : {} guest(s) indexe(s)", updated);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.clenzy.config;
+
+import java.util.List;
+
+/**
+ * Regions du cache de second niveau Hibernate (JCache/Caffeine, configurees dans
+ * {@code hibernate-l2-cache.conf} : taille et expiration par region).
+ *
+ * <p>Deux familles d'entites, deux politiques :</p>
+ * <ul>
+ *   <li>{@link #REFERENCE} : referentiels globaux (pays, regles fiscales, modeles IA) —
+ *       entites ET requetes en cache ({@link #QUERY_REFERENCE}).</li>
+ *   <li>{@link #TENANT_REFERENCE} : donnees de configuration par organisation (plans
+ *       tarifaires, restrictions, mappings channel) — entites seulement, chargees par id.
+ *       <b>Jamais de cache de requete</b> sur une entite portant {@code organizationFilter} :
+ *       la cle de cache de requete Hibernate 6 contient le NOM des filtres actifs mais pas
+ *       la valeur de leurs parametres — un resultat filtre pour une organisation serait
+ *       resservi a une autre (regle ArchUnit {@code ArchitectureRulesTest}).</li>
+ * </ul>
+ */
+public final class HibernateCacheRegions {
+
+    /** Referentiels globaux (sans organisation). */
+    public static final String REFERENCE = "reference";
+
+    /** Configuration par organisation, chargee par id (jamais via le cache de requetes). */
+    public static final String TENANT_REFERENCE = "tenant-reference";
+
+    /** Resultats des requetes sur les referentiels globaux. */
+    public static final String QUERY_REFERENCE = "query-reference";
+
+    /** Region d'horodatage Hibernate : invalide les requetes en cache apres ecriture (sans expiration). */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /** Region de requetes par defaut (requete cacheable sans region explicite). */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+
+    /** Regions d'entites, exportees dans Micrometer ({@link HibernateL2CacheMetrics}). */
+    public static final List<String> ENTITY_REGIONS = List.of(REFERENCE, TENANT_REFERENCE);
+
+    /** Regions de requetes, exportees dans Micrometer ({@link HibernateL2CacheMetrics}). */
+    public static final List<String> QUERY_REGIONS = List.of(QUERY_REFERENCE, DEFAULT_QUERY_RESULTS);
+
+    private HibernateCacheRegions() {
+    }
+}
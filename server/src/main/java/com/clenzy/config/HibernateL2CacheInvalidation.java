@@ -0,0 +1,150 @@
+package com.clenzy.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation cross-instance du cache de second niveau Hibernate.
+ *
+ * <p>Les regions Caffeine ({@link HibernateCacheRegions}) sont locales au noeud : Hibernate
+ * met a jour celle du noeud qui ecrit, pas celles des autres. Apres chaque commit touchant
+ * une entite en cache, ce listener diffuse {@code NomEntite#id} sur le canal Redis partage
+ * ({@link CacheInvalidationPublisher}) ; les autres noeuds evincent l'entite et, pour un
+ * referentiel global, la region {@link HibernateCacheRegions#QUERY_REFERENCE} (une
+ * insertion ou un changement de code pays modifie le resultat des requetes en cache).</p>
+ *
+ * <p>Evenements post-commit : un rollback ne diffuse rien. Un message perdu est borne par
+ * l'expiration de la region ({@code hibernate-l2-cache.conf}). Identifiants {@code Long}
+ * (toutes les entites en cache).</p>
+ */
+@Component
+public class HibernateL2CacheInvalidation implements LocalCacheInvalidation,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(HibernateL2CacheInvalidation.class);
+
+    /** Nom diffuse sur le canal d'invalidation. */
+    public static final String CACHE_NAME = "hibernate-l2";
+
+    static final char ID_SEPARATOR = '#';
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Counter published;
+    private final Counter received;
+
+    public HibernateL2CacheInvalidation(EntityManagerFactory entityManagerFactory,
+                                        CacheInvalidationPublisher invalidationPublisher,
+                                        MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationPublisher = invalidationPublisher;
+        this.published = invalidations(meterRegistry, "published");
+        this.received = invalidations(meterRegistry, "received");
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rien n'a ete ecrit : les caches des autres noeuds restent valides.
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Idem.
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Idem.
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        invalidationPublisher.publishEviction(CACHE_NAME, persister.getEntityName() + ID_SEPARATOR + id);
+        published.increment();
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        received.increment();
+        try {
+            Cache cache = sessionFactory().getCache();
+            if (key == null) {
+                cache.evictAllRegions();
+                return;
+            }
+            int separator = key.lastIndexOf(ID_SEPARATOR);
+            String entityName = key.substring(0, separator);
+            Long id = Long.valueOf(key.substring(separator + 1));
+            cache.evictEntityData(entityName, id);
+            EntityPersister persister = sessionFactory().getMappingMetamodel().getEntityDescriptor(entityName);
+            if (HibernateCacheRegions.REFERENCE.equals(persister.getCacheAccessStrategy().getRegion().getName())) {
+                cache.evictQueryRegion(HibernateCacheRegions.QUERY_REFERENCE);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache L2 : invalidation '{}' ignoree : {}", key, e.getMessage());
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("clenzy.hibernate.l2.invalidations")
+                .description("Invalidations du cache de second niveau diffusees / recues via Redis")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
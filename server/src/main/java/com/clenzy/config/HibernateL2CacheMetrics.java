@@ -0,0 +1,77 @@
+package com.clenzy.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metriques par region du cache de second niveau Hibernate ({@link HibernateCacheRegions}),
+ * lues dans les statistiques Hibernate ({@code hibernate.generate_statistics}).
+ *
+ * <ul>
+ *   <li>{@code clenzy.hibernate.l2.requests} : tags {@code region} et {@code result}
+ *       (hit|miss) — le taux de hit par region se lit directement.</li>
+ *   <li>{@code clenzy.hibernate.l2.puts} : entrees ecrites (un put sans hit = region inutile
+ *       ou trop petite).</li>
+ *   <li>{@code clenzy.hibernate.l2.size} : entrees en memoire sur ce noeud.</li>
+ * </ul>
+ *
+ * <p>Les regions de requetes sont creees a la premiere requete cacheable : avant, leurs
+ * compteurs valent 0.</p>
+ */
+@Component
+public class HibernateL2CacheMetrics {
+
+    public HibernateL2CacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : HibernateCacheRegions.ENTITY_REGIONS) {
+            bindRegion(registry, statistics, region, s -> s.getCacheRegionStatistics(region));
+        }
+        for (String region : HibernateCacheRegions.QUERY_REGIONS) {
+            bindRegion(registry, statistics, region, s -> s.getQueryRegionStatistics(region));
+        }
+    }
+
+    private static void bindRegion(MeterRegistry registry, Statistics statistics, String region,
+                                   Function<Statistics, CacheRegionStatistics> lookup) {
+        FunctionCounter.builder("clenzy.hibernate.l2.requests", statistics,
+                        s -> read(s, lookup, CacheRegionStatistics::getHitCount))
+                .description("Lectures du cache de second niveau Hibernate")
+                .tags("region", region, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("clenzy.hibernate.l2.requests", statistics,
+                        s -> read(s, lookup, CacheRegionStatistics::getMissCount))
+                .description("Lectures du cache de second niveau Hibernate")
+                .tags("region", region, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("clenzy.hibernate.l2.puts", statistics,
+                        s -> read(s, lookup, CacheRegionStatistics::getPutCount))
+                .description("Entrees ecrites dans le cache de second niveau Hibernate")
+                .tag("region", region)
+                .register(registry);
+        Gauge.builder("clenzy.hibernate.l2.size", statistics,
+                        s -> read(s, lookup, CacheRegionStatistics::getElementCountInMemory))
+                .description("Entrees en memoire dans la region (noeud courant)")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    static double read(Statistics statistics, Function<Statistics, CacheRegionStatistics> lookup,
+                       ToDoubleFunction<CacheRegionStatistics> value) {
+        try {
+            CacheRegionStatistics regionStatistics = lookup.apply(statistics);
+            return regionStatistics != null ? value.applyAsDouble(regionStatistics) : 0;
+        } catch (IllegalArgumentException e) {
+            // Region pas encore creee (cache de requetes jamais sollicite).
+            return 0;
+        }
+    }
+}
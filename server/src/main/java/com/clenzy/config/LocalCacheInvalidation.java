@@ -0,0 +1,23 @@
+package com.clenzy.config;
+
+/**
+ * Cache purement local (memoire du noeud, hors {@link TwoLayerCacheManager}) qui
+ * souhaite etre invalide par le canal Redis pub/sub partage
+ * ({@link RedisCacheInvalidationPublisher#CHANNEL}).
+ *
+ * <p>L'emetteur evince son propre cache puis publie via
+ * {@link CacheInvalidationPublisher#publishEviction(String, Object)} avec
+ * {@link #cacheName()} ; le {@link CacheInvalidationListener} des autres noeuds
+ * route alors le message vers {@link #evictLocal(String)}.</p>
+ */
+public interface LocalCacheInvalidation {
+
+    /** Nom publie sur le canal (unique, sans {@code '|'}). */
+    String cacheName();
+
+    /**
+     * Evince l'entree {@code key} du cache local ({@code null} = tout vider).
+     * Ne doit jamais lancer : appele depuis le thread du listener Redis.
+     */
+    void evictLocal(String key);
+}
@@ -1,5 +1,7 @@
 package com.clenzy.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
@@ -9,19 +11,82 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
  * DataSource routing : dirige les @Transactional(readOnly = true) vers la REPLICA,
  * et toutes les autres transactions vers PRIMARY.
  *
+ * <p>Avec un {@link ReplicaLagMonitor} et un {@link ReadYourWritesTracker} (prod), une
+ * lecture ne part sur la replica que si celle-ci est a jour a {@code max-lag} pres ET a
+ * rejoue la derniere ecriture de l'utilisateur courant ; sinon PRIMARY. Les transactions
+ * d'ecriture enregistrent leur position de commit pour les lectures suivantes.</p>
+ *
+ * <p>Metrique {@code clenzy.datasource.routing} : tags {@code target} (primary/replica) et
+ * {@code reason} (write, read, lagging, read_your_writes).</p>
+ *
  * Niveau 8 — Scalabilite : separation read/write.
  */
 public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
 
     private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
 
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter toPrimaryWrite;
+    private final Counter toReplica;
+    private final Counter toPrimaryLagging;
+    private final Counter toPrimaryReadYourWrites;
+
+    /** Routage sur le seul flag readOnly (sans suivi du retard). */
+    public ReadWriteRoutingDataSource() {
+        this.lagMonitor = null;
+        this.readYourWrites = null;
+        this.toPrimaryWrite = null;
+        this.toReplica = null;
+        this.toPrimaryLagging = null;
+        this.toPrimaryReadYourWrites = null;
+    }
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.toPrimaryWrite = decisions(meterRegistry, DataSourceType.PRIMARY, "write");
+        this.toReplica = decisions(meterRegistry, DataSourceType.REPLICA, "read");
+        this.toPrimaryLagging = decisions(meterRegistry, DataSourceType.PRIMARY, "lagging");
+        this.toPrimaryReadYourWrites = decisions(meterRegistry, DataSourceType.PRIMARY, "read_your_writes");
+    }
+
     @Override
     protected Object determineCurrentLookupKey() {
         boolean isReadOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
-        DataSourceType type = isReadOnly ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+        DataSourceType type = lagMonitor == null
+                ? (isReadOnly ? DataSourceType.REPLICA : DataSourceType.PRIMARY)
+                : route(isReadOnly);
         if (log.isTraceEnabled()) {
             log.trace("Routing to {} datasource (readOnly={})", type, isReadOnly);
         }
         return type;
     }
+
+    private DataSourceType route(boolean isReadOnly) {
+        if (!isReadOnly) {
+            readYourWrites.onWriteTransaction();
+            toPrimaryWrite.increment();
+            return DataSourceType.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            toPrimaryLagging.increment();
+            return DataSourceType.PRIMARY;
+        }
+        if (!lagMonitor.hasReplayed(readYourWrites.requiredLsn())) {
+            toPrimaryReadYourWrites.increment();
+            return DataSourceType.PRIMARY;
+        }
+        toReplica.increment();
+        return DataSourceType.REPLICA;
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, DataSourceType target, String reason) {
+        return Counter.builder("clenzy.datasource.routing")
+                .description("Decisions de routage des transactions (primaire / replica)")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
 }
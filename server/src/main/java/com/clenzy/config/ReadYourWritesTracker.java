@@ -0,0 +1,163 @@
+package com.clenzy.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Lecture de ses propres ecritures (read-your-writes) malgre la replica.
+ *
+ * <p>Apres le commit d'une transaction d'ecriture d'un utilisateur authentifie, la position
+ * WAL du primaire (qui couvre ce commit) est memorisee dans Redis
+ * ({@code clenzy:ryw:<sujet JWT>}, TTL {@code clenzy.datasource.replica.read-your-writes-ttl}) :
+ * partagee par tous les noeuds, elle suit l'utilisateur d'une requete a l'autre. Ses lectures
+ * ne partent sur la replica qu'une fois cette position rejouee ({@link ReplicaLagMonitor}).</p>
+ *
+ * <p>Une lecture Redis au plus par requete HTTP (memorisee dans les attributs de requete,
+ * mise a jour par les ecritures de la requete). Redis indisponible : aucune exigence
+ * connue — le garde-fou global {@code max-lag} reste applique.</p>
+ *
+ * <p>{@code afterCommit} s'execute AVANT la liberation de la connexion de la transaction :
+ * la position est lue sur un pool dedie de petite taille (jamais sur le pool applicatif,
+ * qui s'epuiserait sous charge d'ecriture) et l'ecriture Redis part sur
+ * {@code redisWriter}, hors du chemin qui tient la connexion. La requete courante voit
+ * sa position immediatement (attribut de requete).</p>
+ */
+public class ReadYourWritesTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadYourWritesTracker.class);
+
+    static final String KEY_PREFIX = "clenzy:ryw:";
+    static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".lsn";
+
+    /** Exigence inconnue (echec d'enregistrement) : primaire jusqu'a la fin de la requete. */
+    static final long ALWAYS_PRIMARY = Long.MAX_VALUE;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LongSupplier primaryLsn;
+    private final Duration ttl;
+    private final Executor redisWriter;
+
+    public ReadYourWritesTracker(StringRedisTemplate redisTemplate, LongSupplier primaryLsn, Duration ttl,
+                                 Executor redisWriter) {
+        this.redisTemplate = redisTemplate;
+        this.primaryLsn = primaryLsn;
+        this.ttl = ttl;
+        this.redisWriter = redisWriter;
+    }
+
+    /**
+     * Position WAL que la replica doit avoir rejouee pour servir l'utilisateur courant
+     * (0 = aucune ecriture recente, ou pas d'utilisateur).
+     */
+    public long requiredLsn() {
+        String subject = currentSubject();
+        if (subject == null) {
+            return 0;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long memo) {
+            return memo;
+        }
+        long lsn = 0;
+        try {
+            String stored = redisTemplate.opsForValue().get(KEY_PREFIX + subject);
+            lsn = stored != null ? Long.parseLong(stored) : 0;
+        } catch (Exception e) {
+            log.debug("Read-your-writes : position non lue pour {} : {}", subject, e.getMessage());
+        }
+        remember(request, lsn);
+        return lsn;
+    }
+
+    /**
+     * Appele au routage d'une transaction d'ecriture : enregistre, une fois par transaction,
+     * la position du primaire apres son commit.
+     */
+    public void onWriteTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String subject = currentSubject();
+        if (subject == null) {
+            return;
+        }
+        for (TransactionSynchronization existing : TransactionSynchronizationManager.getSynchronizations()) {
+            if (existing instanceof RecordAfterCommit) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new RecordAfterCommit(subject, RequestContextHolder.getRequestAttributes()));
+    }
+
+    void recordWrite(String subject, RequestAttributes request) {
+        long lsn;
+        try {
+            lsn = primaryLsn.getAsLong();
+        } catch (Exception e) {
+            log.warn("Read-your-writes : position du primaire non lue ({}), primaire pour la requete : {}",
+                    subject, e.getMessage());
+            remember(request, ALWAYS_PRIMARY);
+            return;
+        }
+        remember(request, lsn);
+        try {
+            redisWriter.execute(() -> store(subject, lsn));
+        } catch (RejectedExecutionException e) {
+            log.debug("Read-your-writes : position non enregistree pour {} : {}", subject, e.getMessage());
+        }
+    }
+
+    private void store(String subject, long lsn) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + subject, Long.toString(lsn), ttl);
+        } catch (Exception e) {
+            log.debug("Read-your-writes : position non enregistree pour {} : {}", subject, e.getMessage());
+        }
+    }
+
+    private static void remember(RequestAttributes request, long lsn) {
+        if (request == null) {
+            return;
+        }
+        try {
+            request.setAttribute(REQUEST_ATTRIBUTE, lsn, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // Requete deja terminee (ecriture asynchrone) : seule la position Redis compte.
+        }
+    }
+
+    static String currentSubject() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : null;
+    }
+
+    private final class RecordAfterCommit implements TransactionSynchronization {
+
+        private final String subject;
+        private final RequestAttributes request;
+
+        private RecordAfterCommit(String subject, RequestAttributes request) {
+            this.subject = subject;
+            this.request = request;
+        }
+
+        @Override
+        public void afterCommit() {
+            recordWrite(subject, request);
+        }
+    }
+}
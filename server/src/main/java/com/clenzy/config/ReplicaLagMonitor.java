@@ -0,0 +1,150 @@
+package com.clenzy.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Suivi du retard de la replica : position WAL du primaire ({@code pg_current_wal_lsn()})
+ * et position rejouee par la replica ({@code pg_last_wal_replay_lsn()}), echantillonnees
+ * toutes les {@code clenzy.datasource.replica.lag-poll-interval} ms.
+ *
+ * <p>La replica n'est utilisable que si le dernier echantillon est frais (moins de trois
+ * intervalles), son recepteur WAL en streaming ({@code pg_stat_wal_receiver}) et son retard
+ * sous {@code clenzy.datasource.replica.max-lag} ET {@code max-lag-bytes} ; replica
+ * injoignable = inutilisable (les lectures repartent sur le primaire). Une replica qui
+ * n'est pas en recovery (URL de repli sur le primaire) est consideree a jour.</p>
+ *
+ * <p>Le retard en secondes seul ne suffit pas : il vaut 0 des que la replica a rejoue tout
+ * ce qu'elle a RECU. Un recepteur arrete ou deconnecte laisse donc une replica figee
+ * « a jour » ; l'ecart en octets (position du primaire moins position rejouee, meme
+ * echantillon) et l'etat du recepteur l'ecartent.</p>
+ *
+ * <p>Etat local au noeud : chaque instance echantillonne pour elle-meme (pas de
+ * {@code @SchedulerLock}, cf. {@code SchedulerLockCoverageTest}).</p>
+ *
+ * <p>Metriques : {@code clenzy.datasource.replica.lag_bytes},
+ * {@code clenzy.datasource.replica.lag_seconds}, {@code clenzy.datasource.replica.usable}.</p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /** Position rejouee d'une replica qui n'est pas en recovery : tout est visible. */
+    static final long CAUGHT_UP = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final long maxLagBytes;
+    private final Duration staleAfter;
+    private final Clock clock;
+
+    private volatile Sample sample;
+
+    /** Echantillon : positions WAL (octets), retard de rejeu et etat du recepteur WAL. */
+    record Sample(long primaryLsn, long replayLsn, double lagSeconds, boolean receiving, long sampledAtMillis) {
+
+        Sample(long primaryLsn, long replayLsn, double lagSeconds, long sampledAtMillis) {
+            this(primaryLsn, replayLsn, lagSeconds, true, sampledAtMillis);
+        }
+
+        long lagBytes() {
+            return replayLsn == CAUGHT_UP ? 0 : Math.max(0, primaryLsn - replayLsn);
+        }
+    }
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource,
+                             Duration maxLag, DataSize maxLagBytes, Duration pollInterval,
+                             MeterRegistry meterRegistry, Clock clock) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        this.maxLagBytes = maxLagBytes.toBytes();
+        this.staleAfter = pollInterval.multipliedBy(3);
+        this.clock = clock;
+
+        Gauge.builder("clenzy.datasource.replica.lag_bytes", this,
+                        m -> m.sample == null ? Double.NaN : m.sample.lagBytes())
+                .description("Retard de la replica en octets de WAL")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("clenzy.datasource.replica.lag_seconds", this,
+                        m -> m.sample == null ? Double.NaN : m.sample.lagSeconds())
+                .description("Retard de rejeu de la replica")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("clenzy.datasource.replica.usable", this, m -> m.isReplicaUsable() ? 1 : 0)
+                .description("1 si les lectures peuvent partir sur la replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${clenzy.datasource.replica.lag-poll-interval:1000}")
+    public void refresh() {
+        try {
+            // Primaire d'abord : la replica ne peut qu'etre au moins aussi avancee a l'echantillon suivant.
+            long primaryLsn = parseLsn(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+            sample = replica.queryForObject("""
+                            SELECT pg_last_wal_replay_lsn()::text,
+                                   CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                                   END,
+                                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')
+                            """,
+                    (rs, i) -> {
+                        String replay = rs.getString(1);
+                        return replay == null
+                                ? new Sample(primaryLsn, CAUGHT_UP, 0, clock.millis())
+                                : new Sample(primaryLsn, parseLsn(replay), rs.getDouble(2), rs.getBoolean(3),
+                                        clock.millis());
+                    });
+        } catch (Exception e) {
+            // Echantillon non rafraichi : il deviendra perime, la replica sera ecartee.
+            log.warn("Retard replica non mesure : {}", e.getMessage());
+        }
+    }
+
+    /** Replica alimentee et a jour a moins de {@code max-lag} / {@code max-lag-bytes} pres, mesure recente. */
+    public boolean isReplicaUsable() {
+        Sample current = sample;
+        if (current == null || clock.millis() - current.sampledAtMillis() > staleAfter.toMillis()) {
+            return false;
+        }
+        if (current.replayLsn() == CAUGHT_UP) {
+            return true;
+        }
+        return current.receiving()
+                && current.lagBytes() <= maxLagBytes
+                && current.lagSeconds() * 1000 <= maxLag.toMillis();
+    }
+
+    /** La replica a rejoue au moins jusqu'a {@code lsn} (0 = aucune exigence). */
+    public boolean hasReplayed(long lsn) {
+        Sample current = sample;
+        return lsn <= 0 || (current != null && current.replayLsn() >= lsn);
+    }
+
+    /** Position WAL courante du primaire (apres un commit : couvre ce commit). */
+    public long currentPrimaryLsn() {
+        return parseLsn(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+    }
+
+    void accept(Sample sample) {
+        this.sample = sample;
+    }
+
+    /** {@code "16/B374D848"} (format pg_lsn) -> position en octets. */
+    static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("LSN invalide : " + lsn);
+        }
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+}
@@ -1,5 +1,6 @@
 package com.clenzy.config;
 
+import com.clenzy.config.http.OutboundHttpPlatform;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,23 +8,36 @@ import org.springframework.web.client.RestTemplate;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * RestTemplate partage des integrations : convertisseurs et customizers Spring Boot, transport
+     * par la plateforme sortante (client pool, garde et metriques par hote). Les timeouts
+     * (10s / 30s par defaut) viennent de {@code clenzy.http.outbound}.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(30))
-                .build();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, OutboundHttpPlatform outboundHttpPlatform) {
+        RestTemplate restTemplate = builder.build();
+        restTemplate.setRequestFactory(outboundHttpPlatform.requestFactory());
+        return restTemplate;
     }
 
-    /** Client HTTP dedie a la livraison des webhooks sortants (timeout court, hors transaction DB). */
+    /**
+     * Client HTTP dedie a la livraison des webhooks sortants (timeout court, hors transaction DB).
+     * Partage par toutes les livraisons : le pool de connexions keep-alive du client est reutilise
+     * d'un appel a l'autre, et HTTP/2 (negocie via ALPN, repli HTTP/1.1 sinon) multiplexe les
+     * livraisons concurrentes vers un meme abonne sur une seule connexion. Threads virtuels pour
+     * les callbacks asynchrones.
+     */
     @Bean
     public HttpClient webhookHttpClient() {
         return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
                 .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
                 .build();
     }
 }
@@ -146,8 +146,13 @@ public class SecretColumnEncryptionBackfill implements ApplicationRunner {
      * Une valeur déjà chiffrée (Jasypt AES-256) se déchiffre sans erreur. Une
      * valeur en clair (code, mot de passe, JSON, clé API) lève à la tentative de
      * déchiffrement. On ne re-chiffre que ce qui n'est pas déjà chiffré.
+     * Les colonnes {@code @Convert} peuvent aussi contenir l'enveloppe AES-GCM
+     * ("FEv{n}:...") écrite par {@link EncryptedFieldConverter} : déjà chiffrée.
      */
     private boolean isAlreadyEncrypted(String value) {
+        if (EncryptedFieldConverter.isEnvelope(value)) {
+            return true;
+        }
         try {
             encryption.decrypt(value);
             return true;
@@ -1,8 +1,8 @@
 package com.clenzy.config;
 
-import com.clenzy.repository.FiscalProfileRepository;
 import com.clenzy.repository.OrganizationRepository;
 import com.clenzy.repository.UserRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
 import com.clenzy.tenant.TenantContext;
 import com.clenzy.tenant.TenantFilter;
 import jakarta.persistence.EntityManager;
@@ -60,11 +60,11 @@ public class SecurityConfig {
     @Bean
     public TenantFilter tenantFilter(UserRepository userRepository,
                                       OrganizationRepository organizationRepository,
-                                      FiscalProfileRepository fiscalProfileRepository,
+                                      OrganizationSettingsProvider settingsProvider,
                                       EntityManager entityManager,
                                       RedisTemplate<String, Object> redisTemplate,
                                       TenantContext tenantContext) {
-        return new TenantFilter(userRepository, organizationRepository, fiscalProfileRepository, entityManager, redisTemplate, tenantContext);
+        return new TenantFilter(userRepository, organizationRepository, settingsProvider, entityManager, redisTemplate, tenantContext);
     }
 
     /**
@@ -19,9 +19,9 @@ import org.springframework.security.web.access.expression.WebExpressionAuthoriza
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.filter.CorsFilter;
-import com.clenzy.repository.FiscalProfileRepository;
 import com.clenzy.repository.OrganizationRepository;
 import com.clenzy.repository.UserRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
 import com.clenzy.tenant.TenantContext;
 import com.clenzy.tenant.TenantFilter;
 import jakarta.persistence.EntityManager;
@@ -52,11 +52,11 @@ public class SecurityConfigProd {
     @Bean
     public TenantFilter tenantFilter(UserRepository userRepository,
                                       OrganizationRepository organizationRepository,
-                                      FiscalProfileRepository fiscalProfileRepository,
+                                      OrganizationSettingsProvider settingsProvider,
                                       EntityManager entityManager,
                                       RedisTemplate<String, Object> redisTemplate,
                                       TenantContext tenantContext) {
-        return new TenantFilter(userRepository, organizationRepository, fiscalProfileRepository, entityManager, redisTemplate, tenantContext);
+        return new TenantFilter(userRepository, organizationRepository, settingsProvider, entityManager, redisTemplate, tenantContext);
     }
 
     /**
@@ -124,6 +124,24 @@ public class TwoLayerCache extends AbstractValueAdaptingCache {
         }
     }
 
+    /**
+     * Ecriture conditionnelle ATOMIQUE : {@code SET NX} Redis ({@link RedisCache#putIfAbsent}),
+     * puis L1 aligne sur la valeur gagnante. L'implementation par defaut de {@code Cache}
+     * (get puis put) laisserait un chargement lent ecraser une version ecrite entre-temps.
+     * Un null reste local (L1), comme pour {@link #put}.
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (value == null) {
+            Object existing = caffeineCache.asMap().putIfAbsent(key, toStoreValue(null));
+            return toValueWrapper(existing);
+        }
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        Object winner = existing != null ? existing.get() : null;
+        caffeineCache.put(key, winner != null ? winner : value);
+        return existing;
+    }
+
     /**
      * Evince L2 avant L1 : si L1 etait evince en premier, un lookup concurrent
      * pouvait repeupler L1 depuis le Redis pas encore evince (Z1-BUGS-09).
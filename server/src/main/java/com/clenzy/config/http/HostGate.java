@@ -0,0 +1,310 @@
+package com.clenzy.config.http;
+
+import com.clenzy.config.http.OutboundHttpProperties.HostPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Garde d'un hote distant : token bucket (debit), bulkhead a limite adaptative (requetes en
+ * vol) et metriques. Une instance par hote, partagee par tous les clients qui l'appellent :
+ * un fournisseur lent ne sature que sa propre garde, pas les threads ni les connexions des autres.
+ *
+ * <p><b>Limite adaptative (AIMD)</b> : demarre au plafond {@code maxConcurrency}. Chaque reponse
+ * rapide (sous {@code latencyTarget}) alors que la garde est reellement sollicitee (en vol &ge;
+ * limite / 2) ajoute {@code 1/limite} (≈ +1 par fenetre pleine) ; un 429/503 divise la limite par
+ * deux, une reponse lente ou une erreur d'E/S la reduit de 10 %. Bornee par
+ * [{@code minConcurrency}, {@code maxConcurrency}].</p>
+ *
+ * <p>Une seule reduction par evenement de congestion : une reponse envoyee AVANT la derniere
+ * reduction a ete emise sous l'ancienne limite et ne reduit plus rien. Sans cela, une rafale
+ * de N reponses 429 ou lentes simultanees ramenait la limite au plancher d'un coup
+ * (20 × 0,9^20 ≈ 2), puis il fallait des centaines de reponses pour remonter.</p>
+ *
+ * <p>Metriques (tag {@code host}) : {@code clenzy.http.outbound.in_flight},
+ * {@code clenzy.http.outbound.concurrency_limit}, {@code clenzy.http.outbound.queue_wait},
+ * {@code clenzy.http.outbound.latency} (histogramme, tag {@code outcome}),
+ * {@code clenzy.http.outbound.rejected} (tag {@code reason}) et
+ * {@code clenzy.http.outbound.hedges} (tag {@code result}).</p>
+ */
+public class HostGate {
+
+    static final double BACKOFF_RATIO = 0.5;
+    static final double SLOW_RATIO = 0.9;
+
+    private final String host;
+    private final HostPolicy policy;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private int inFlight;
+    private double limit;
+    /** Instant (nanoClock) de la derniere reduction : les reponses envoyees avant ne reduisent plus. */
+    private long lastDecreaseAt = Long.MIN_VALUE;
+
+    // Token bucket (protege par lock)
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    private final Timer queueWait;
+    /** Histogrammes de latence par issue ({@link #outcome}), enregistres une fois. */
+    private final Map<String, Timer> latencyByOutcome = new ConcurrentHashMap<>();
+    private final Counter rejectedRate;
+    private final Counter rejectedConcurrency;
+    private final Counter hedgesWon;
+    private final Counter hedgesLost;
+
+    HostGate(String host, HostPolicy policy, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.host = host;
+        this.policy = policy;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.limit = policy.maxConcurrency();
+        this.capacity = policy.effectiveBurst();
+        this.tokensPerNano = policy.rateLimited() ? policy.ratePerSecond() / 1_000_000_000d : 0d;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+
+        Gauge.builder("clenzy.http.outbound.in_flight", this, HostGate::inFlight)
+                .description("Requetes HTTP sortantes en vol")
+                .tag("host", host).register(meterRegistry);
+        Gauge.builder("clenzy.http.outbound.concurrency_limit", this, HostGate::concurrencyLimit)
+                .description("Limite de concurrence adaptative courante")
+                .tag("host", host).register(meterRegistry);
+        this.queueWait = Timer.builder("clenzy.http.outbound.queue_wait")
+                .description("Attente d'un jeton et d'une place avant envoi")
+                .tag("host", host).register(meterRegistry);
+        this.rejectedRate = rejected("rate");
+        this.rejectedConcurrency = rejected("concurrency");
+        this.hedgesWon = hedges("won");
+        this.hedgesLost = hedges("lost");
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public HostPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Attend un jeton puis une place (au total au plus {@code queueTimeout}).
+     *
+     * @throws HostSaturatedException si l'attente expire (debit ou concurrence)
+     */
+    public Permit acquire() throws IOException {
+        long start = nanoClock.getAsLong();
+        long deadline = start + policy.queueTimeout().toNanos();
+        lock.lock();
+        try {
+            while (!takeToken()) {
+                long wait = Math.min(nanosUntilToken(), deadline - nanoClock.getAsLong());
+                if (wait <= 0) {
+                    rejectedRate.increment();
+                    throw new HostSaturatedException(host, "rate");
+                }
+                slotFreed.awaitNanos(wait);
+            }
+            while (inFlight >= currentLimit()) {
+                long wait = deadline - nanoClock.getAsLong();
+                if (wait <= 0) {
+                    tokens = Math.min(capacity, tokens + 1);
+                    rejectedConcurrency.increment();
+                    throw new HostSaturatedException(host, "concurrency");
+                }
+                slotFreed.awaitNanos(wait);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Attente interrompue pour " + host);
+        } finally {
+            lock.unlock();
+        }
+        queueWait.record(nanoClock.getAsLong() - start, TimeUnit.NANOSECONDS);
+        return new Permit();
+    }
+
+    /** Variante sans attente (requete de couverture) : null si pas de jeton ou de place immediats. */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= currentLimit() || !takeToken()) {
+                return null;
+            }
+            inFlight++;
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Enregistre l'issue d'une tentative (latence jusqu'aux en-tetes) et ajuste la limite.
+     *
+     * @param status code HTTP, ou -1 pour une erreur d'E/S
+     */
+    public void record(long latencyNanos, int status) {
+        latencyByOutcome.computeIfAbsent(outcome(status), this::latencyTimer)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        lock.lock();
+        try {
+            if (status == 429 || status == 503) {
+                decrease(latencyNanos, BACKOFF_RATIO);
+            } else if (status < 0 || latencyNanos > policy.latencyTarget().toNanos()) {
+                decrease(latencyNanos, SLOW_RATIO);
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(policy.maxConcurrency(), limit + 1.0 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reduction multiplicative, au plus une par evenement de congestion (appele sous lock). */
+    private void decrease(long latencyNanos, double ratio) {
+        long now = nanoClock.getAsLong();
+        if (now - latencyNanos < lastDecreaseAt) {
+            return; // envoyee sous l'ancienne limite : cette congestion est deja comptee
+        }
+        limit = Math.max(policy.minConcurrency(), limit * ratio);
+        lastDecreaseAt = now;
+    }
+
+    void hedged(boolean won) {
+        (won ? hedgesWon : hedgesLost).increment();
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double concurrencyLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return Math.max(policy.minConcurrency(), (int) Math.floor(limit));
+    }
+
+    private boolean takeToken() {
+        if (tokensPerNano == 0d) {
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return true;
+        }
+        return false;
+    }
+
+    private long nanosUntilToken() {
+        return (long) Math.ceil((1d - tokens) / tokensPerNano);
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String outcome(int status) {
+        if (status < 0) {
+            return "io_error";
+        }
+        if (status == 429) {
+            return "429";
+        }
+        return (status / 100) + "xx";
+    }
+
+    private Timer latencyTimer(String outcome) {
+        return Timer.builder("clenzy.http.outbound.latency")
+                .description("Latence des appels HTTP sortants (jusqu'aux en-tetes de reponse)")
+                .tag("host", host)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter rejected(String reason) {
+        return Counter.builder("clenzy.http.outbound.rejected")
+                .description("Requetes sortantes rejetees avant envoi (garde saturee)")
+                .tag("host", host).tag("reason", reason).register(meterRegistry);
+    }
+
+    private Counter hedges(String result) {
+        return Counter.builder("clenzy.http.outbound.hedges")
+                .description("Requetes de couverture lancees (won = la couverture a repondu en premier)")
+                .tag("host", host).tag("result", result).register(meterRegistry);
+    }
+
+    /** Place occupee dans la garde ; {@link #release()} est idempotent. */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                HostGate.this.release();
+            }
+        }
+    }
+
+    /** Garde saturee : aucun envoi. Sous-classe d'IOException → ResourceAccessException cote RestTemplate. */
+    public static class HostSaturatedException extends IOException {
+
+        private final String host;
+        private final String reason;
+
+        public HostSaturatedException(String host, String reason) {
+            super("Hote " + host + " sature (" + reason + ") : requete non envoyee");
+            this.host = host;
+            this.reason = reason;
+        }
+
+        public String host() {
+            return host;
+        }
+
+        public String reason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.clenzy.config.http;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enregistre {@link OutboundHttpProperties} ({@code clenzy.http.outbound.*}) pour
+ * {@link OutboundHttpPlatform} (constructor binding).
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+}
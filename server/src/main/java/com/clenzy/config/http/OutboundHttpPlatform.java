@@ -0,0 +1,129 @@
+package com.clenzy.config.http;
+
+import com.clenzy.config.http.OutboundHttpProperties.HostPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plateforme HTTP sortante partagee par les integrations (OTA, comptabilite, domotique…).
+ *
+ * <ul>
+ *   <li><b>Un client pool par hote</b> : {@link HttpClient} JDK (keep-alive, HTTP/2 negocie,
+ *       redirections suivies) avec le connect-timeout de la politique de l'hote. Les pools sont
+ *       disjoints : un fournisseur lent n'occupe pas les connexions des autres.</li>
+ *   <li><b>Une {@link HostGate} par hote</b> : token bucket + bulkhead a limite adaptative +
+ *       metriques, declares dans {@code clenzy.http.outbound.hosts} ({@link OutboundHttpProperties}).</li>
+ *   <li><b>Hedging</b> des GET/HEAD pour les hotes qui declarent un {@code hedge-delay}.</li>
+ * </ul>
+ *
+ * <p>Les circuit breakers Resilience4j ({@code @CircuitBreaker} sur les clients) restent en place :
+ * une garde saturee leve une {@link HostGate.HostSaturatedException} (IOException), vue comme
+ * {@code ResourceAccessException} et donc comptee comme echec par les breakers.</p>
+ *
+ * <p>Au-dela de {@code max-hosts} hotes distincts non declares (URLs fournies par les
+ * utilisateurs), les suivants partagent une garde commune {@value #OVERFLOW_HOST} : nombre de
+ * series Micrometer borne. Cette garde est un bulkhead FIXE (politique {@code defaults}, limite
+ * non adaptative) : avec une limite AIMD, un seul hote lent ou en 429 ferait reculer la limite
+ * de tous les hotes regroupes jusqu'a {@code min-concurrency}.</p>
+ *
+ * <p>{@code enabled=false} : fabrique JDK simple (politique {@code defaults}), sans garde ni metrique.</p>
+ */
+@Component
+public class OutboundHttpPlatform {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpPlatform.class);
+
+    static final String OVERFLOW_HOST = "_other";
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostGate> gates = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ClientHttpRequestFactory> delegates = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OutboundHttpPlatform(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Fabrique gardee, timeouts de lecture de la politique de chaque hote. */
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory(null);
+    }
+
+    /**
+     * Fabrique gardee avec un timeout de lecture impose par l'appelant (ex : {@code clenzy.channex.timeout}),
+     * prioritaire sur celui de la politique d'hote.
+     */
+    public ClientHttpRequestFactory requestFactory(Duration readTimeout) {
+        if (!Boolean.TRUE.equals(properties.enabled())) {
+            return delegate(properties.defaults(), OVERFLOW_HOST, readTimeout);
+        }
+        return new OutboundHttpRequestFactory(this::gate,
+                (gate, uri) -> delegate(gate.policy(), gate.host(), readTimeout),
+                executor, System::nanoTime);
+    }
+
+    /** RestTemplate sur la fabrique gardee (convertisseurs par defaut). */
+    public RestTemplate restTemplate() {
+        return new RestTemplate(requestFactory());
+    }
+
+    /** Garde d'un hote (creee a la premiere requete). Les ports d'un meme hote partagent la garde. */
+    public HostGate gate(String host) {
+        String key = OutboundHttpProperties.normalize(host);
+        if (key.isEmpty()) {
+            key = OVERFLOW_HOST;
+        }
+        HostGate existing = gates.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (!properties.isDeclared(key) && gates.size() >= properties.maxHosts()) {
+            key = OVERFLOW_HOST;
+        }
+        return gates.computeIfAbsent(key, h -> {
+            HostPolicy policy = OVERFLOW_HOST.equals(h)
+                    ? properties.defaults().withFixedConcurrency()
+                    : properties.policyFor(h);
+            log.debug("Garde HTTP sortante creee pour {} : {}", h, policy);
+            return new HostGate(h, policy, meterRegistry, System::nanoTime);
+        });
+    }
+
+    private ClientHttpRequestFactory delegate(HostPolicy policy, String host, Duration readTimeoutOverride) {
+        Duration readTimeout = readTimeoutOverride != null ? readTimeoutOverride : policy.readTimeout();
+        return delegates.computeIfAbsent(host + "|" + readTimeout, k -> {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client(policy, host), executor);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        });
+    }
+
+    private HttpClient client(HostPolicy policy, String host) {
+        return clients.computeIfAbsent(host, h -> HttpClient.newBuilder()
+                .connectTimeout(policy.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
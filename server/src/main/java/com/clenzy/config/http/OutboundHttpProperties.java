@@ -0,0 +1,135 @@
+package com.clenzy.config.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Contrat de configuration de la plateforme HTTP sortante ({@code clenzy.http.outbound.*}).
+ *
+ * <p>Une politique par hote distant : les champs absents d'une entree {@link #hosts()} heritent
+ * de {@link #defaults()}, eux-memes completes par les valeurs codees ci-dessous. Un hote non
+ * declare recoit la politique par defaut (bulkhead propre, pas de rate limit).</p>
+ *
+ * <pre>
+ * clenzy:
+ *   http:
+ *     outbound:
+ *       enabled: true
+ *       max-hosts: 256
+ *       defaults:
+ *         connect-timeout: 10s
+ *         read-timeout: 30s
+ *         max-concurrency: 32
+ *         queue-timeout: 2s
+ *         latency-target: 2s
+ *       hosts:
+ *         "[app.pennylane.com]":
+ *           rate-per-second: 2
+ *           burst: 5
+ *         "[staging.channex.io]":
+ *           max-concurrency: 8
+ *           hedge-delay: 800ms     # GET/HEAD uniquement
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "clenzy.http.outbound")
+public record OutboundHttpProperties(
+        Boolean enabled,
+        Integer maxHosts,
+        HostPolicy defaults,
+        Map<String, HostPolicy> hosts) {
+
+    static final HostPolicy BUILT_IN = new HostPolicy(
+            Duration.ofSeconds(10), Duration.ofSeconds(30), 32, 2, Duration.ofSeconds(2),
+            null, null, Duration.ofSeconds(2), null);
+
+    public OutboundHttpProperties {
+        enabled = enabled == null || enabled;
+        maxHosts = maxHosts == null || maxHosts <= 0 ? 256 : maxHosts;
+        defaults = defaults == null ? BUILT_IN : defaults.orElse(BUILT_IN);
+        hosts = hosts == null ? Map.of() : hosts.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(e -> normalize(e.getKey()), Map.Entry::getValue));
+    }
+
+    /** Proprietes par defaut (binding absent : tests, outils). */
+    public static OutboundHttpProperties defaultProperties() {
+        return new OutboundHttpProperties(true, null, null, null);
+    }
+
+    /** Politique effective d'un hote (entree declaree completee par les defauts). */
+    public HostPolicy policyFor(String host) {
+        HostPolicy declared = hosts.get(normalize(host));
+        return declared == null ? defaults : declared.orElse(defaults);
+    }
+
+    public boolean isDeclared(String host) {
+        return hosts.containsKey(normalize(host));
+    }
+
+    static String normalize(String host) {
+        return host == null ? "" : host.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Politique d'un hote.
+     *
+     * @param maxConcurrency plafond du bulkhead (requetes en vol) et de la limite adaptative
+     * @param minConcurrency plancher de la limite adaptative (AIMD)
+     * @param queueTimeout   attente maximale d'un jeton + d'une place avant rejet
+     * @param ratePerSecond  debit du token bucket ; null ou &lt;= 0 = pas de rate limit
+     * @param burst          capacite du token bucket (defaut : max(1, ratePerSecond))
+     * @param latencyTarget  au-dela, la limite adaptative recule (decroissance douce)
+     * @param hedgeDelay     requete de couverture pour GET/HEAD si pas de reponse apres ce delai ; null = off
+     */
+    public record HostPolicy(
+            Duration connectTimeout,
+            Duration readTimeout,
+            Integer maxConcurrency,
+            Integer minConcurrency,
+            Duration queueTimeout,
+            Double ratePerSecond,
+            Integer burst,
+            Duration latencyTarget,
+            Duration hedgeDelay) {
+
+        /** Complete les champs absents par ceux de {@code fallback} (rate limit et hedging ne s'heritent que des defauts). */
+        HostPolicy orElse(HostPolicy fallback) {
+            int max = maxConcurrency != null ? maxConcurrency : fallback.maxConcurrency();
+            int min = minConcurrency != null ? minConcurrency : fallback.minConcurrency();
+            return new HostPolicy(
+                    connectTimeout != null ? connectTimeout : fallback.connectTimeout(),
+                    readTimeout != null ? readTimeout : fallback.readTimeout(),
+                    Math.max(1, max),
+                    Math.max(1, Math.min(min, max)),
+                    queueTimeout != null ? queueTimeout : fallback.queueTimeout(),
+                    ratePerSecond != null ? ratePerSecond : fallback.ratePerSecond(),
+                    burst != null ? burst : fallback.burst(),
+                    latencyTarget != null ? latencyTarget : fallback.latencyTarget(),
+                    hedgeDelay != null ? hedgeDelay : fallback.hedgeDelay());
+        }
+
+        /**
+         * Meme politique a limite de concurrence FIXE (plancher = plafond) : la limite adaptative
+         * ne peut plus reculer. Garde partagee par des hotes sans lien ({@code _other}) : un hote
+         * lent ou en 429 ne doit pas affamer les autres.
+         */
+        HostPolicy withFixedConcurrency() {
+            return new HostPolicy(connectTimeout, readTimeout, maxConcurrency, maxConcurrency, queueTimeout,
+                    ratePerSecond, burst, latencyTarget, hedgeDelay);
+        }
+
+        boolean rateLimited() {
+            return ratePerSecond != null && ratePerSecond > 0;
+        }
+
+        int effectiveBurst() {
+            if (burst != null && burst > 0) {
+                return burst;
+            }
+            return rateLimited() ? Math.max(1, (int) Math.floor(ratePerSecond)) : 1;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.clenzy.config.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ClientHttpRequestFactory} de la plateforme sortante : chaque requete passe par la
+ * {@link HostGate} de son hote (jeton + place, attente bornee), puis par le client pool de
+ * l'hote. La place est rendue a la fermeture de la reponse (corps lu), pas a la reception des
+ * en-tetes : {@code in_flight} compte bien les connexions occupees.
+ *
+ * <p><b>Hedging</b> (GET/HEAD, si {@code hedge-delay} est configure pour l'hote) : sans reponse
+ * apres le delai, une seconde tentative identique part si la garde a immediatement un jeton et
+ * une place ; la premiere reponse l'emporte, l'autre est fermee a son arrivee. Jamais de hedging
+ * sur une methode non idempotente.</p>
+ */
+public class OutboundHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpRequestFactory.class);
+
+    private final Function<String, HostGate> gates;
+    private final BiFunction<HostGate, URI, ClientHttpRequestFactory> delegates;
+    private final ExecutorService hedgeExecutor;
+    private final LongSupplier nanoClock;
+
+    OutboundHttpRequestFactory(Function<String, HostGate> gates,
+                               BiFunction<HostGate, URI, ClientHttpRequestFactory> delegates,
+                               ExecutorService hedgeExecutor,
+                               LongSupplier nanoClock) {
+        this.gates = gates;
+        this.delegates = delegates;
+        this.hedgeExecutor = hedgeExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new GatedRequest(uri, httpMethod);
+    }
+
+    static boolean hedgeable(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    private final class GatedRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        private GatedRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HostGate gate = gates.apply(uri.getHost());
+            byte[] bytes = body.toByteArray();
+            if (hedgeable(method) && gate.policy().hedgeDelay() != null) {
+                return executeHedged(gate, headers, bytes);
+            }
+            return attempt(gate, gate.acquire(), headers, bytes);
+        }
+
+        private ClientHttpResponse attempt(HostGate gate, HostGate.Permit permit, HttpHeaders headers, byte[] bytes)
+                throws IOException {
+            long start = nanoClock.getAsLong();
+            try {
+                ClientHttpRequest request = delegates.apply(gate, uri).createRequest(uri, method);
+                request.getHeaders().putAll(headers);
+                if (bytes.length > 0) {
+                    request.getBody().write(bytes);
+                }
+                ClientHttpResponse response = request.execute();
+                gate.record(nanoClock.getAsLong() - start, response.getStatusCode().value());
+                return new GatedResponse(response, permit);
+            } catch (IOException | RuntimeException e) {
+                gate.record(nanoClock.getAsLong() - start, -1);
+                permit.release();
+                throw e;
+            }
+        }
+
+        private ClientHttpResponse executeHedged(HostGate gate, HttpHeaders headers, byte[] bytes) throws IOException {
+            HostGate.Permit first = gate.acquire();
+            CompletionService<ClientHttpResponse> completion = new ExecutorCompletionService<>(hedgeExecutor);
+            List<Future<ClientHttpResponse>> attempts = new ArrayList<>(2);
+            attempts.add(completion.submit(() -> attempt(gate, first, headers, bytes)));
+            try {
+                Future<ClientHttpResponse> done = completion.poll(gate.policy().hedgeDelay().toNanos(),
+                        TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    HostGate.Permit second = gate.tryAcquire();
+                    if (second != null) {
+                        attempts.add(completion.submit(() -> attempt(gate, second, headers, bytes)));
+                    }
+                }
+                Throwable failure = null;
+                for (int remaining = attempts.size(); remaining > 0; remaining--) {
+                    Future<ClientHttpResponse> next = done != null ? done : completion.take();
+                    done = null;
+                    try {
+                        ClientHttpResponse winner = next.get();
+                        if (attempts.size() > 1) {
+                            gate.hedged(next == attempts.get(1));
+                        }
+                        closeLosers(attempts, next);
+                        return winner;
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause();
+                        } else {
+                            failure.addSuppressed(e.getCause());
+                        }
+                    }
+                }
+                throw asIOException(failure);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closeLosers(attempts, null);
+                throw new InterruptedIOException("Requete interrompue vers " + uri.getHost());
+            }
+        }
+
+        /** Ferme en tache de fond les tentatives perdantes a leur arrivee (rend place et connexion). */
+        private void closeLosers(List<Future<ClientHttpResponse>> attempts, Future<ClientHttpResponse> winner) {
+            for (Future<ClientHttpResponse> loser : attempts) {
+                if (loser == winner) {
+                    continue;
+                }
+                hedgeExecutor.execute(() -> {
+                    try {
+                        loser.get().close();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        log.debug("Tentative perdante en echec vers {} : {}", uri.getHost(), e.getCause().getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /** Echec de toutes les tentatives : meme type d'exception que le chemin sans hedging. */
+    private static IOException asIOException(Throwable cause) {
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    /** Reponse dont la fermeture rend la place a la garde (idempotent). */
+    private static final class GatedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HostGate.Permit permit;
+
+        private GatedResponse(ClientHttpResponse delegate, HostGate.Permit permit) {
+            this.delegate = delegate;
+            this.permit = permit;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                permit.release();
+            }
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.clenzy.service.agent.PendingActionDto;
 import com.clenzy.service.agent.PendingToolStore;
 import com.clenzy.service.agent.agui.AgUiEvent;
 import com.clenzy.service.agent.agui.AgentSseEventToAgUi;
+import com.clenzy.service.agent.stream.AgentEventStream;
+import com.clenzy.service.agent.stream.AgentStreamFactory;
 import com.clenzy.tenant.TenantContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -32,9 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 /**
@@ -71,29 +71,25 @@ public class AgUiController {
     private final PendingToolStore pendingToolStore;
     private final com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService;
 
-    /** Pool SSE borné, même politique que {@code AssistantController}. */
-    private final Executor sseExecutor = new ThreadPoolExecutor(
-            10, 100, 60L, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(200),
-            r -> {
-                Thread t = new Thread(r, "agui-sse");
-                t.setDaemon(true);
-                return t;
-            },
-            new ThreadPoolExecutor.CallerRunsPolicy());
+    /** Streams SSE sur threads virtuels, deltas coalescés (cf. {@code AssistantController}). */
+    private final AgentStreamFactory agentStreams;
+    private final Executor sseExecutor;
 
     public AgUiController(AgentOrchestrator orchestrator,
                           TenantContext tenantContext,
                           ObjectMapper objectMapper,
                           PendingToolStore pendingToolStore,
                           com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService,
-                          com.clenzy.service.agent.AgentRunQueryService agentRunQueryService) {
+                          com.clenzy.service.agent.AgentRunQueryService agentRunQueryService,
+                          AgentStreamFactory agentStreams) {
         this.orchestrator = orchestrator;
         this.tenantContext = tenantContext;
         this.objectMapper = objectMapper;
         this.pendingToolStore = pendingToolStore;
         this.supervisionActivityService = supervisionActivityService;
         this.agentRunQueryService = agentRunQueryService;
+        this.agentStreams = agentStreams;
+        this.sseExecutor = agentStreams.executor("agui");
     }
 
     private final com.clenzy.service.agent.AgentRunQueryService agentRunQueryService;
@@ -185,8 +181,14 @@ public class AgUiController {
         final SecurityContext capturedSecurity = SecurityContextHolder.getContext();
 
         final AgentSseEventToAgUi translator = new AgentSseEventToAgUi(threadId, objectMapper);
+        // Le traducteur (à état) n'est appelé que par l'écrivain du stream, après onStart.
+        final AgentEventStream stream = agentStreams.open("agui", emitter, e -> {
+            for (AgUiEvent ev : translator.translate(e)) {
+                write(emitter, ev);
+            }
+        });
 
-        sseExecutor.execute(() -> {
+        final Runnable turn = () -> {
             tenantContext.setOrganizationId(orgId);
             tenantContext.setSuperAdmin(superAdmin);
             tenantContext.setSystemOrg(systemOrg);
@@ -206,7 +208,7 @@ public class AgUiController {
                         supervisionActivityService.recordAct(orgId, selectedPropertyId,
                                 e.toolName(), e.displayHint(), e.toolResult());
                     }
-                    translator.translate(e).forEach(ev -> send(emitter, ev));
+                    stream.accept(e);
                 };
 
                 if (resumeEntry != null && !resumeEntry.isNull()) {
@@ -228,19 +230,30 @@ public class AgUiController {
                     orchestrator.handleMessage(
                             conversationId, lastUserMessage, List.<AttachmentRef>of(), context, consumer);
                 }
+                stream.close();
                 emitter.complete();
             } catch (IllegalArgumentException e) {
+                stream.close();
                 send(emitter, AgUiEvent.runError(e.getMessage()));
                 emitter.complete();
             } catch (Exception e) {
                 log.error("AgUiController.run failed", e);
+                stream.close();
                 send(emitter, AgUiEvent.runError("Erreur interne : " + e.getMessage()));
                 emitter.complete();
             } finally {
                 tenantContext.clear();
                 SecurityContextHolder.clearContext();
             }
-        });
+        };
+        try {
+            sseExecutor.execute(turn);
+        } catch (RejectedExecutionException e) {
+            // Plafond de tours simultanes atteint (AgentStreamFactory) : refus immediat.
+            stream.close();
+            send(emitter, AgUiEvent.runError(AgentStreamFactory.SATURATED_MESSAGE));
+            emitter.complete();
+        }
 
         return emitter;
     }
@@ -282,11 +295,21 @@ public class AgUiController {
     /** Frame AG-UI : {@code data: {json}} (le client lit le champ {@code type} dans le JSON). */
     private void send(SseEmitter emitter, AgUiEvent event) {
         try {
-            emitter.send(SseEmitter.event().data(objectMapper.writeValueAsString(event.payload())));
+            write(emitter, event);
         } catch (IOException e) {
             log.debug("AG-UI SSE send failed (client disconnected?) : {}", e.getMessage());
+        }
+    }
+
+    /** Comme {@link #send} mais propage l'IOException (client parti → stream abandonné). */
+    private void write(SseEmitter emitter, AgUiEvent event) throws IOException {
+        final String json;
+        try {
+            json = objectMapper.writeValueAsString(event.payload());
         } catch (Exception e) {
             log.warn("AG-UI event serialization failed: {}", e.getMessage());
+            return;
         }
+        emitter.send(SseEmitter.event().data(json));
     }
 }
@@ -34,4 +34,11 @@ public class AnomalyController {
         Long orgId = tenantContext.getRequiredOrganizationId();
         return ResponseEntity.ok(service.detectForProperty(orgId, propertyId));
     }
+
+    /** Scan de tout le portefeuille de l'org (séjours non terminés, recoupement calendrier). */
+    @GetMapping("/portfolio")
+    public ResponseEntity<List<AnomalyDto>> detectPortfolio() {
+        Long orgId = tenantContext.getRequiredOrganizationId();
+        return ResponseEntity.ok(service.detectForOrganization(orgId));
+    }
 }
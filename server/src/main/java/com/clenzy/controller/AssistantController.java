@@ -11,6 +11,8 @@ import com.clenzy.service.agent.AttachmentRef;
 import com.clenzy.service.agent.briefing.AssistantBriefingPrefService;
 import com.clenzy.service.agent.briefing.BriefingComposer;
 import com.clenzy.service.agent.briefing.BriefingDelivery;
+import com.clenzy.service.agent.stream.AgentEventStream;
+import com.clenzy.service.agent.stream.AgentStreamFactory;
 import com.clenzy.service.assistant.AssistantConversationService;
 import com.clenzy.tenant.TenantContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,9 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Endpoints de l'assistant conversationnel.
@@ -69,31 +69,9 @@ public class AssistantController {
     private final BriefingComposer briefingComposer;
     private final BriefingDelivery briefingDelivery;
 
-    /**
-     * Pool dedie pour les streams SSE — evite de bloquer les threads Tomcat.
-     *
-     * <p>Pool <b>borne</b> a {@value #SSE_POOL_MAX_THREADS} threads avec queue
-     * limitee : sous pic de charge, les nouvelles connexions SSE attendent en
-     * queue plutot que d'ouvrir un thread par requete (ce qui pouvait creer
-     * des milliers de threads). Si la queue sature aussi, la connexion est
-     * rejetee (CallerRunsPolicy : execute sur le thread Tomcat — fail-fast
-     * visible cote frontend plutot qu'OOM silencieux).</p>
-     */
-    private static final int SSE_POOL_CORE_THREADS = 10;
-    private static final int SSE_POOL_MAX_THREADS = 100;
-    private static final int SSE_POOL_QUEUE_CAPACITY = 200;
-    private static final long SSE_POOL_KEEP_ALIVE_SECS = 60L;
-
-    private final Executor sseExecutor = new ThreadPoolExecutor(
-            SSE_POOL_CORE_THREADS, SSE_POOL_MAX_THREADS,
-            SSE_POOL_KEEP_ALIVE_SECS, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(SSE_POOL_QUEUE_CAPACITY),
-            r -> {
-                Thread t = new Thread(r, "assistant-sse");
-                t.setDaemon(true);
-                return t;
-            },
-            new ThreadPoolExecutor.CallerRunsPolicy());
+    /** Streams SSE : tour d'agent et ecrivain sur threads virtuels, deltas coalesces. */
+    private final AgentStreamFactory agentStreams;
+    private final Executor sseExecutor;
 
     public AssistantController(AgentOrchestrator orchestrator,
                                 AssistantConversationService conversationService,
@@ -102,7 +80,8 @@ public class AssistantController {
                                 PhotoStorageService photoStorageService,
                                 AssistantBriefingPrefService briefingPrefService,
                                 BriefingComposer briefingComposer,
-                                BriefingDelivery briefingDelivery) {
+                                BriefingDelivery briefingDelivery,
+                                AgentStreamFactory agentStreams) {
         this.orchestrator = orchestrator;
         this.conversationService = conversationService;
         this.tenantContext = tenantContext;
@@ -111,6 +90,8 @@ public class AssistantController {
         this.briefingPrefService = briefingPrefService;
         this.briefingComposer = briefingComposer;
         this.briefingDelivery = briefingDelivery;
+        this.agentStreams = agentStreams;
+        this.sseExecutor = agentStreams.executor("assistant");
     }
 
     // ─── Chat SSE ──────────────────────────────────────────────────────────
@@ -164,8 +145,9 @@ public class AssistantController {
         final boolean vatRegistered = tenantContext.isVatRegistered();
         final org.springframework.security.core.context.SecurityContext capturedSecurity =
                 org.springframework.security.core.context.SecurityContextHolder.getContext();
+        final AgentEventStream stream = openStream(emitter);
 
-        sseExecutor.execute(() -> {
+        final Runnable turn = () -> {
             // Propage TenantContext + SecurityContext sur le thread du pool.
             tenantContext.setOrganizationId(orgId);
             tenantContext.setSuperAdmin(superAdmin);
@@ -183,38 +165,48 @@ public class AssistantController {
                         userMessage,
                         attachments,
                         context,
-                        event -> sendSseEvent(emitter, event)
+                        stream
                 );
+                stream.close();
                 emitter.complete();
             } catch (IllegalArgumentException e) {
                 // Owner mismatch / conversation introuvable — message clair pour le frontend
-                sendSseEvent(emitter, AgentSseEvent.error(e.getMessage()));
+                stream.accept(AgentSseEvent.error(e.getMessage()));
+                stream.close();
                 emitter.complete();
             } catch (Exception e) {
                 log.error("AssistantController.chat failed", e);
-                sendSseEvent(emitter, AgentSseEvent.error("Erreur interne : " + e.getMessage()));
+                stream.accept(AgentSseEvent.error("Erreur interne : " + e.getMessage()));
+                stream.close();
                 emitter.completeWithError(e);
             } finally {
-                // CRITIQUE securite : nettoyer les ThreadLocal avant que le thread
-                // du pool soit reattribue a une autre requete. Sinon fuite de
-                // contexte (un user pourrait recevoir le orgId du precedent).
+                // CRITIQUE securite : nettoyer les ThreadLocal en sortie. Le thread
+                // virtuel n'est pas reutilise, mais l'executeur peut redevenir un
+                // pool : ne jamais laisser fuir le orgId d'un user vers le suivant.
                 tenantContext.clear();
                 org.springframework.security.core.context.SecurityContextHolder.clearContext();
             }
-        });
+        };
+        try {
+            sseExecutor.execute(turn);
+        } catch (RejectedExecutionException e) {
+            // Plafond de tours simultanes atteint (AgentStreamFactory) : refus immediat.
+            stream.accept(AgentSseEvent.error(AgentStreamFactory.SATURATED_MESSAGE));
+            stream.close();
+            emitter.complete();
+        }
 
         return emitter;
     }
 
-    private void sendSseEvent(SseEmitter emitter, AgentSseEvent event) {
-        try {
-            emitter.send(SseEmitter.event()
-                    .name(event.type())
-                    .data(event, MediaType.APPLICATION_JSON));
-        } catch (IOException e) {
-            // Le client a probablement coupe la connexion — silencieux
-            log.debug("SSE send failed (client disconnected?) : {}", e.getMessage());
-        }
+    /**
+     * Stream coalescent vers {@code emitter}. Une IOException (client parti) abandonne
+     * le stream : les evenements suivants ne sont plus ecrits.
+     */
+    private AgentEventStream openStream(SseEmitter emitter) {
+        return agentStreams.open("assistant", emitter, event -> emitter.send(SseEmitter.event()
+                .name(event.type())
+                .data(event, MediaType.APPLICATION_JSON)));
     }
 
     // ─── Tool confirmation (reprise apres pause) ──────────────────────────
@@ -243,6 +235,7 @@ public class AssistantController {
                 null,
                 null
         );
+        final AgentEventStream stream = openStream(emitter);
 
         sseExecutor.execute(() -> {
             try {
@@ -250,15 +243,18 @@ public class AssistantController {
                         body.toolCallId(),
                         body.confirmed(),
                         context,
-                        event -> sendSseEvent(emitter, event)
+                        stream
                 );
+                stream.close();
                 emitter.complete();
             } catch (IllegalArgumentException e) {
-                sendSseEvent(emitter, AgentSseEvent.error(e.getMessage()));
+                stream.accept(AgentSseEvent.error(e.getMessage()));
+                stream.close();
                 emitter.complete();
             } catch (Exception e) {
                 log.error("AssistantController.confirmTool failed", e);
-                sendSseEvent(emitter, AgentSseEvent.error("Erreur interne : " + e.getMessage()));
+                stream.accept(AgentSseEvent.error("Erreur interne : " + e.getMessage()));
+                stream.close();
                 emitter.completeWithError(e);
             }
         });
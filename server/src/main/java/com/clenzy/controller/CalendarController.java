@@ -3,6 +3,7 @@ package com.clenzy.controller;
 import com.clenzy.integration.channel.AirbnbChannelAdapter;
 import com.clenzy.integration.channel.SyncResult;
 import com.clenzy.model.CalendarDay;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.service.CalendarEngine;
 import com.clenzy.service.PriceEngine;
 import com.clenzy.service.ReservationService;
@@ -51,6 +52,9 @@ public class CalendarController {
      */
     static final int PUSH_PRICING_HORIZON_DAYS = 90;
 
+    /** Borne du lot de {@code /grid} (taille d'un portefeuille de conciergerie). */
+    static final int MAX_GRID_PROPERTIES = 2000;
+
     private final CalendarEngine calendarEngine;
     private final ReservationService reservationService;
     private final TenantContext tenantContext;
@@ -166,10 +170,9 @@ public class CalendarController {
 
         Long orgId = tenantContext.getRequiredOrganizationId();
 
-        // Ownership : valider chaque propriete du lot (anti-IDOR, regle audit #3).
-        for (Long propertyId : propertyIds) {
-            validatePropertyAccess(propertyId, jwt.getSubject(), orgId);
-        }
+        // Ownership : valider chaque propriete du lot (anti-IDOR, regle audit #3),
+        // en une lecture des proprietes et une de l'utilisateur.
+        reservationService.validatePropertiesAccess(propertyIds, jwt.getSubject());
 
         List<CalendarDay> days = calendarEngine.getBlockedOrMaintenanceDays(propertyIds, from, to, orgId);
 
@@ -186,6 +189,46 @@ public class CalendarController {
         return ResponseEntity.ok(result);
     }
 
+    // ----------------------------------------------------------------
+    // GET : grilles compactes multi-proprietes (planning, vues channel)
+    // ----------------------------------------------------------------
+
+    @GetMapping("/grid")
+    @Operation(summary = "Grilles calendrier compactes",
+            description = "Retourne, pour chaque propriete, des tableaux alignes jour par jour sur [from, to) : "
+                    + "statut, prix nuitee stocke et reservation liee (index i = from + i jours). "
+                    + "Une seule requete pour tout le lot.")
+    public ResponseEntity<List<Map<String, Object>>> getGrids(
+            @RequestParam List<Long> propertyIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long orgId = tenantContext.getRequiredOrganizationId();
+        if (propertyIds.size() > MAX_GRID_PROPERTIES) {
+            throw new IllegalArgumentException("Trop de proprietes (maximum " + MAX_GRID_PROPERTIES + ")");
+        }
+
+        // Ownership : valider chaque propriete du lot (anti-IDOR, regle audit #3),
+        // en une lecture des proprietes et une de l'utilisateur.
+        reservationService.validatePropertiesAccess(propertyIds, jwt.getSubject());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (CalendarGrid grid : calendarEngine.getGrids(propertyIds, from, to, orgId).values()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("propertyId", grid.propertyId());
+            map.put("from", grid.from().toString());
+            map.put("to", grid.to().toString());
+            map.put("statuses", Arrays.stream(grid.statuses()).map(Enum::name).toList());
+            map.put("nightlyPrices", Arrays.stream(grid.nightlyPrices())
+                    .map(p -> p != null ? p.doubleValue() : null).toList());
+            map.put("reservationIds", Arrays.stream(grid.reservationIds())
+                    .mapToObj(id -> id != 0L ? id : null).toList());
+            result.add(map);
+        }
+        return ResponseEntity.ok(result);
+    }
+
     // ----------------------------------------------------------------
     // PUT : mettre a jour les prix
     // ----------------------------------------------------------------
@@ -17,15 +17,19 @@ import com.clenzy.dto.syncadmin.SyncAdminDtos.ReconciliationTriggerRequestDto;
 import com.clenzy.dto.syncadmin.SyncAdminDtos.SyncEventStatsDto;
 import com.clenzy.dto.syncadmin.SyncAdminDtos.SyncLogDto;
 import com.clenzy.integration.channel.ChannelName;
+import com.clenzy.service.CalendarCommandReplayService;
+import com.clenzy.service.CalendarCommandReplayService.CalendarReplay;
 import com.clenzy.service.SyncAdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -38,9 +42,12 @@ import java.util.Optional;
 public class SyncAdminController {
 
     private final SyncAdminService syncAdminService;
+    private final CalendarCommandReplayService calendarCommandReplayService;
 
-    public SyncAdminController(SyncAdminService syncAdminService) {
+    public SyncAdminController(SyncAdminService syncAdminService,
+                               CalendarCommandReplayService calendarCommandReplayService) {
         this.syncAdminService = syncAdminService;
+        this.calendarCommandReplayService = calendarCommandReplayService;
     }
 
     // ── Connections ──────────────────────────────────────────────────────────
@@ -187,6 +194,28 @@ public class SyncAdminController {
         }
     }
 
+    @GetMapping("/calendar/replay")
+    @Operation(summary = "Rejoue le log de commandes d'une propriete et le compare au calendrier",
+            description = "Reconstruit l'etat jour par jour sur [from, to) a partir de calendar_commands "
+                    + "(et des mois archives demandes, ex: 2024_01) et liste les divergences avec calendar_days.")
+    public ResponseEntity<?> replayCalendar(
+            @RequestParam Long propertyId,
+            @RequestParam Long organizationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> archivedSegments) {
+        try {
+            CalendarReplay replay = calendarCommandReplayService.replay(propertyId, organizationId, from, to,
+                    archivedSegments != null ? archivedSegments : List.of());
+            return ResponseEntity.ok(replay);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Erreur lors du rejeu du calendrier: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/calendar/conflicts")
     @Operation(summary = "Jours BOOKED orphelins (sans reservation liee)")
     public ResponseEntity<?> getCalendarConflicts() {
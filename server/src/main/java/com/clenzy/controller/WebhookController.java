@@ -1,6 +1,7 @@
 package com.clenzy.controller;
 
 import com.clenzy.dto.CreateWebhookRequest;
+import com.clenzy.dto.UpdateWebhookBatchingRequest;
 import com.clenzy.dto.WebhookConfigDto;
 import com.clenzy.dto.WebhookDeliveryDto;
 import com.clenzy.service.WebhookDeliveryService;
@@ -80,6 +81,14 @@ public class WebhookController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/{id}/batching")
+    @Operation(summary = "Regler l'envoi par lots (N evenements par POST, 1 = desactive)")
+    public ResponseEntity<WebhookConfigDto> updateBatching(@PathVariable Long id,
+                                                           @Valid @RequestBody UpdateWebhookBatchingRequest request) {
+        return ResponseEntity.ok(webhookService.updateBatchSize(
+            id, tenantContext.getRequiredOrganizationId(), request.batchSize()));
+    }
+
     @PostMapping("/{id}/test")
     @Operation(summary = "Envoyer une livraison de test signee a ce webhook")
     public ResponseEntity<WebhookDeliveryDto> test(@PathVariable Long id) {
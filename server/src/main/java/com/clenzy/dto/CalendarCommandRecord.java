@@ -0,0 +1,39 @@
+package com.clenzy.dto;
+
+import com.clenzy.model.CalendarCommand;
+import com.clenzy.model.CalendarCommandType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ligne du log {@code calendar_commands} sous forme immuable : format des archives NDJSON
+ * (partitions détachées, cf. {@code CalendarCommandPartitionManager}) et entrée du rejeu
+ * ({@code CalendarCommandReplayService}) — log vivant et archives se rejouent à l'identique.
+ */
+public record CalendarCommandRecord(
+    Long id,
+    Long organizationId,
+    Long propertyId,
+    CalendarCommandType commandType,
+    LocalDate dateFrom,
+    LocalDate dateTo,
+    String source,
+    Long reservationId,
+    String actorId,
+    BigDecimal price,
+    String notes,
+    List<LocalDate> dates,
+    String status,
+    LocalDateTime executedAt
+) {
+
+    public static CalendarCommandRecord from(CalendarCommand command) {
+        return new CalendarCommandRecord(command.getId(), command.getOrganizationId(), command.getPropertyId(),
+            command.getCommandType(), command.getDateFrom(), command.getDateTo(), command.getSource(),
+            command.getReservationId(), command.getActorId(), command.getPrice(), command.getNotes(),
+            command.getDates(), command.getStatus(), command.getExecutedAt());
+    }
+}
@@ -0,0 +1,79 @@
+package com.clenzy.dto;
+
+import com.clenzy.model.CalendarDayStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Grille calendrier compacte d'une propriété sur [from, to) (lue par
+ * {@code CalendarGridJdbcRepository}) : tableaux denses indexés par {@code jour - from}.
+ * Jours sans ligne {@code calendar_days} = disponibles (convention Clenzy), sans prix stocké
+ * ni réservation ({@code 0} dans {@code reservationIds}).
+ */
+public record CalendarGrid(
+    Long propertyId,
+    LocalDate from,
+    CalendarDayStatus[] statuses,
+    BigDecimal[] nightlyPrices,
+    long[] reservationIds
+) {
+
+    /** Grille sans aucune ligne : tous les jours disponibles, sans prix ni réservation. */
+    public static CalendarGrid empty(Long propertyId, LocalDate from, int days) {
+        CalendarDayStatus[] statuses = new CalendarDayStatus[days];
+        Arrays.fill(statuses, CalendarDayStatus.AVAILABLE);
+        return new CalendarGrid(propertyId, from, statuses, new BigDecimal[days], new long[days]);
+    }
+
+    public int length() {
+        return statuses.length;
+    }
+
+    /** Dernier jour EXCLU de la grille. */
+    public LocalDate to() {
+        return from.plusDays(statuses.length);
+    }
+
+    public CalendarDayStatus status(LocalDate date) {
+        return statuses[offset(date)];
+    }
+
+    public boolean isAvailable(LocalDate date) {
+        return status(date) == CalendarDayStatus.AVAILABLE;
+    }
+
+    /** Prix nuitée stocké sur la ligne calendrier (null si aucun : résolution via PriceEngine). */
+    public BigDecimal nightlyPrice(LocalDate date) {
+        return nightlyPrices[offset(date)];
+    }
+
+    /** Réservation liée au jour, ou null. */
+    public Long reservationId(LocalDate date) {
+        long id = reservationIds[offset(date)];
+        return id == 0L ? null : id;
+    }
+
+    /** Jours ≠ AVAILABLE (BOOKED, BLOCKED, MAINTENANCE). */
+    public Set<LocalDate> unavailableDates() {
+        Set<LocalDate> dates = new HashSet<>();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] != CalendarDayStatus.AVAILABLE) {
+                dates.add(from.plusDays(i));
+            }
+        }
+        return dates;
+    }
+
+    private int offset(LocalDate date) {
+        long offset = ChronoUnit.DAYS.between(from, date);
+        if (offset < 0 || offset >= statuses.length) {
+            throw new IndexOutOfBoundsException("Date hors de la grille [" + from + ", " + to() + ") : " + date);
+        }
+        return (int) offset;
+    }
+}
@@ -0,0 +1,9 @@
+package com.clenzy.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/** Opt-in des enveloppes de lot : nombre max d'evenements par POST (1 = desactive). */
+public record UpdateWebhookBatchingRequest(
+    @Min(1) @Max(100) int batchSize
+) {}
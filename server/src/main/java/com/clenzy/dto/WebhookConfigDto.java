@@ -13,7 +13,8 @@ public record WebhookConfigDto(
     WebhookStatus status,
     Integer failureCount,
     Instant lastTriggeredAt,
-    Instant createdAt
+    Instant createdAt,
+    int batchSize
 ) {
     public static WebhookConfigDto from(WebhookConfig w) {
         List<String> eventList = w.getEvents() != null ?
@@ -21,7 +22,7 @@ public record WebhookConfigDto(
         return new WebhookConfigDto(
             w.getId(), w.getUrl(), eventList,
             w.getStatus(), w.getFailureCount(),
-            w.getLastTriggeredAt(), w.getCreatedAt()
+            w.getLastTriggeredAt(), w.getCreatedAt(), w.getBatchSize()
         );
     }
 }
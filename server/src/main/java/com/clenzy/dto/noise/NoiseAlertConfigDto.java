@@ -16,7 +16,8 @@ public record NoiseAlertConfigDto(
     boolean notifySms,
     int cooldownMinutes,
     String emailRecipients,
-    List<TimeWindowDto> timeWindows
+    List<TimeWindowDto> timeWindows,
+    int sustainedMinutes
 ) {
     public record TimeWindowDto(
         Long id,
@@ -55,7 +56,8 @@ public record NoiseAlertConfigDto(
             config.isNotifySms(),
             config.getCooldownMinutes(),
             config.getEmailRecipients(),
-            windows
+            windows,
+            config.getSustainedMinutes()
         );
     }
 }
@@ -20,7 +20,11 @@ public record SaveNoiseAlertConfigDto(
 
     @NotEmpty(message = "Au moins un créneau horaire est requis")
     @Valid
-    List<TimeWindowInput> timeWindows
+    List<TimeWindowInput> timeWindows,
+
+    /** Duree de depassement soutenu avant alerte ; null = inchangee (0 a la creation). */
+    @Min(0) @Max(60)
+    Integer sustainedMinutes
 ) {
     public record TimeWindowInput(
         @NotBlank(message = "Le label du créneau est requis")
@@ -1,6 +1,8 @@
 package com.clenzy.integration.channel.model;
 
+import com.clenzy.config.HibernateCacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -22,6 +24,8 @@ import java.time.LocalDateTime;
     name = "organizationFilter",
     condition = "organization_id = :orgId"
 )
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.TENANT_REFERENCE)
 public class ChannelMapping {
 
     @Id
@@ -9,6 +9,9 @@ import com.clenzy.service.NoiseAlertService;
 import com.clenzy.service.automation.AutomationEngine;
 import com.clenzy.service.automation.AutomationSubject;
 import com.clenzy.service.automation.NotifyStaffExecutor;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -17,8 +20,10 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,17 +48,20 @@ public class MinutWebhookConsumer {
     private final NoiseAlertService noiseAlertService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final AutomationEngine automationEngine;
+    private final SensorTimeSeriesStore timeSeriesStore;
 
     public MinutWebhookConsumer(ObjectMapper objectMapper,
                                  NoiseDeviceRepository deviceRepository,
                                  NoiseAlertService noiseAlertService,
                                  KafkaTemplate<String, Object> kafkaTemplate,
-                                 AutomationEngine automationEngine) {
+                                 AutomationEngine automationEngine,
+                                 SensorTimeSeriesStore timeSeriesStore) {
         this.objectMapper = objectMapper;
         this.deviceRepository = deviceRepository;
         this.noiseAlertService = noiseAlertService;
         this.kafkaTemplate = kafkaTemplate;
         this.automationEngine = automationEngine;
+        this.timeSeriesStore = timeSeriesStore;
     }
 
     @KafkaListener(topics = KafkaConfig.TOPIC_MINUT_WEBHOOKS, groupId = "clenzy-minut-noise")
@@ -100,6 +108,15 @@ public class MinutWebhookConsumer {
             AlertSource.WEBHOOK
         );
 
+        // Historisation locale (fenetres du NoiseAlertScheduler) — best-effort. Mesure ponctuelle :
+        // ne declare pas la periode couverte et n'avance pas le curseur de polling.
+        try {
+            timeSeriesStore.append(SeriesKey.noise(device.getOrganizationId(), device.getId()),
+                List.of(new Sample(Instant.now().getEpochSecond(), soundLevel)));
+        } catch (Exception e) {
+            log.warn("Disturbance Minut non historisee (device={}): {}", device.getId(), e.getMessage());
+        }
+
         // Republier l'evenement traite sur le topic noise events (pour analytics)
         try {
             Map<String, Object> processedEvent = Map.of(
@@ -34,10 +34,11 @@ public class PennylaneAccountingClient {
     private final RestTemplate restTemplate;
 
     public PennylaneAccountingClient(PennylaneConfig config,
-                                      PennylaneOAuthService oauthService) {
+                                      PennylaneOAuthService oauthService,
+                                      RestTemplate restTemplate) {
         this.config = config;
         this.oauthService = oauthService;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
     }
 
     // ─── Customer Invoices ───────────────────────────────────────────────────
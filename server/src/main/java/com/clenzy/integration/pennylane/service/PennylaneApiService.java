@@ -34,9 +34,9 @@ public class PennylaneApiService {
     private final PennylaneConfig config;
     private final RestTemplate restTemplate;
 
-    public PennylaneApiService(PennylaneConfig config) {
+    public PennylaneApiService(PennylaneConfig config, RestTemplate restTemplate) {
         this.config = config;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
     }
 
     /**
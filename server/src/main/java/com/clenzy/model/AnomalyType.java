@@ -6,5 +6,10 @@ package com.clenzy.model;
  */
 public enum AnomalyType {
     /** Deux réservations confirmées qui se chevauchent sur le même bien (sur-réservation). */
-    DOUBLE_BOOKING
+    DOUBLE_BOOKING,
+    /**
+     * Nuit d'une réservation confirmée que le calendrier ne porte pas pour elle : restée
+     * disponible (revendable), bloquée (canal, maintenance) ou attribuée à une autre réservation.
+     */
+    CALENDAR_MISMATCH
 }
@@ -1,6 +1,8 @@
 package com.clenzy.model;
 
+import com.clenzy.config.HibernateCacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -27,6 +29,8 @@ import java.util.Arrays;
     name = "organizationFilter",
     condition = "organization_id = :orgId"
 )
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.TENANT_REFERENCE)
 public class BookingRestriction {
 
     @Id
@@ -4,8 +4,10 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Write-ahead log (audit trail) des mutations calendrier.
@@ -14,6 +16,11 @@ import java.time.LocalDateTime;
  *
  * PAS de @Filter("organizationFilter") : l'audit doit etre
  * consultable cross-org par SUPER_ADMIN.
+ *
+ * Table partitionnee par mois d'execution (changeset 0422, cf.
+ * CalendarCommandPartitionManager) ; le payload est encode en colonnes
+ * typees (price / notes / dates) pour rester compact et rejouable
+ * (CalendarCommandReplayService).
  */
 @Entity
 @Table(name = "calendar_commands")
@@ -48,9 +55,21 @@ public class CalendarCommand {
     @Column(name = "actor_id", length = 255)
     private String actorId;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "payload", columnDefinition = "JSONB")
-    private String payload;
+    /** Prix par nuit applique (UPDATE_PRICE uniquement). */
+    @Column(name = "price", precision = 10, scale = 2)
+    private BigDecimal price;
+
+    /** Raison du blocage (BLOCK uniquement). */
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    /**
+     * Jours effectivement touches quand ce n'est pas toute la plage [dateFrom, dateTo)
+     * (ex : reconciliation iCal). null = toute la plage.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "dates", columnDefinition = "date[]")
+    private List<LocalDate> dates;
 
     @Column(name = "status", nullable = false, length = 20)
     private String status = "EXECUTED";
@@ -102,8 +121,14 @@ public class CalendarCommand {
     public String getActorId() { return actorId; }
     public void setActorId(String actorId) { this.actorId = actorId; }
 
-    public String getPayload() { return payload; }
-    public void setPayload(String payload) { this.payload = payload; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public List<LocalDate> getDates() { return dates; }
+    public void setDates(List<LocalDate> dates) { this.dates = dates; }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -1,8 +1,10 @@
 package com.clenzy.model;
 
+import com.clenzy.config.HibernateCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -24,6 +26,8 @@ import java.time.LocalDateTime;
 @Table(name = "countries", indexes = {
     @Index(name = "idx_country_code", columnList = "country_code", unique = true)
 })
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE)
 public class Country {
 
     @Id
@@ -1,12 +1,16 @@
 package com.clenzy.model;
 
 import com.clenzy.config.EncryptedFieldConverter;
+import com.clenzy.config.GuestBlindIndex;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Entite representant un voyageur (guest).
@@ -16,7 +20,8 @@ import java.time.LocalDateTime;
  *
  * La deduplication se fait au niveau applicatif :
  * - Par (channel, channelGuestId, organizationId) en SQL
- * - Par email en memoire (car chiffre en base)
+ * - Par email via son index aveugle (email_bidx, cf. GuestBlindIndex), puis
+ *   verification sur la valeur dechiffree
  *
  * Chaque guest est scope a une organization (multi-tenant).
  */
@@ -51,6 +56,19 @@ public class Guest {
     @Column(name = "phone_hash", length = 64)
     private String phoneHash;
 
+    /** HMAC de l'email normalise (index d'egalite, cf. GuestBlindIndex). */
+    @Column(name = "email_bidx", length = 64)
+    private String emailIndex;
+
+    /** HMAC des n-grammes du nom et de l'email (recherche sur index GIN, cf. GuestBlindIndex). */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "search_tokens", columnDefinition = "text[]")
+    private List<String> searchTokens;
+
+    /** Version des index aveugles ; null = a calculer (GuestBlindIndexBackfillRunner). */
+    @Column(name = "blind_index_version")
+    private Short blindIndexVersion;
+
     @Convert(converter = EncryptedFieldConverter.class)
     @Column(name = "first_name", length = 500, nullable = false)
     private String firstName;
@@ -99,6 +117,13 @@ public class Guest {
         this.organizationId = organizationId;
     }
 
+    /** Index aveugles recalcules a chaque ecriture, depuis les valeurs en clair. */
+    @PrePersist
+    @PreUpdate
+    void refreshBlindIndexes() {
+        GuestBlindIndex.refresh(this);
+    }
+
     // Getters et Setters
 
     public Long getId() { return id; }
@@ -116,6 +141,15 @@ public class Guest {
     public String getPhoneHash() { return phoneHash; }
     public void setPhoneHash(String phoneHash) { this.phoneHash = phoneHash; }
 
+    public String getEmailIndex() { return emailIndex; }
+    public void setEmailIndex(String emailIndex) { this.emailIndex = emailIndex; }
+
+    public List<String> getSearchTokens() { return searchTokens; }
+    public void setSearchTokens(List<String> searchTokens) { this.searchTokens = searchTokens; }
+
+    public Short getBlindIndexVersion() { return blindIndexVersion; }
+    public void setBlindIndexVersion(Short blindIndexVersion) { this.blindIndexVersion = blindIndexVersion; }
+
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
 
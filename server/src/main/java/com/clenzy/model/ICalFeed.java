@@ -54,6 +54,10 @@ public class ICalFeed {
     @Column(name = "last_sync_error", columnDefinition = "TEXT")
     private String lastSyncError;
 
+    /** Dernier passage complet (hors application differentielle), cf. ICalFeedEventIndex. */
+    @Column(name = "last_full_sync_at")
+    private LocalDateTime lastFullSyncAt;
+
     @Column(name = "events_imported", nullable = false)
     private int eventsImported = 0;
 
@@ -119,6 +123,9 @@ public class ICalFeed {
     public String getLastSyncError() { return lastSyncError; }
     public void setLastSyncError(String lastSyncError) { this.lastSyncError = lastSyncError; }
 
+    public LocalDateTime getLastFullSyncAt() { return lastFullSyncAt; }
+    public void setLastFullSyncAt(LocalDateTime lastFullSyncAt) { this.lastFullSyncAt = lastFullSyncAt; }
+
     public int getEventsImported() { return eventsImported; }
     public void setEventsImported(int eventsImported) { this.eventsImported = eventsImported; }
 
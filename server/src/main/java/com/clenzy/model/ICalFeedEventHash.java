@@ -0,0 +1,53 @@
+package com.clenzy.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entree de l'index UID -> hash de contenu d'un feed iCal : derniere version
+ * appliquee avec succes de l'evenement {@code uid}. Sert a n'appliquer que les
+ * evenements ajoutes, modifies ou retires depuis la synchronisation precedente.
+ */
+@Entity
+@Table(name = "ical_feed_event_hashes")
+public class ICalFeedEventHash {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "feed_id", nullable = false)
+    private Long feedId;
+
+    @Column(nullable = false, length = 512)
+    private String uid;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public ICalFeedEventHash() {}
+
+    public ICalFeedEventHash(Long feedId, String uid, String contentHash) {
+        this.feedId = feedId;
+        this.uid = uid;
+        this.contentHash = contentHash;
+    }
+
+    public Long getId() { return id; }
+
+    public Long getFeedId() { return feedId; }
+    public void setFeedId(Long feedId) { this.feedId = feedId; }
+
+    public String getUid() { return uid; }
+    public void setUid(String uid) { this.uid = uid; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
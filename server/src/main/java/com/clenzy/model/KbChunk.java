@@ -79,6 +79,14 @@ public class KbChunk {
     @Column(name = "token_count")
     private Integer tokenCount;
 
+    /**
+     * SHA-256 (hex) du contenu — identite stable du chunk entre deux ingestions :
+     * un chunk dont le hash n'a pas change reprend son embedding existant
+     * (migration 0412).
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -105,6 +113,8 @@ public class KbChunk {
     public void setEmbedding(String embedding) { this.embedding = embedding; }
     public Integer getTokenCount() { return tokenCount; }
     public void setTokenCount(Integer tokenCount) { this.tokenCount = tokenCount; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
     public String getLang() { return lang; }
     public void setLang(String lang) { this.lang = lang == null || lang.isBlank() ? "fr" : lang; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -44,6 +44,13 @@ public class NoiseAlertConfig {
     @Column(name = "cooldown_minutes", nullable = false)
     private int cooldownMinutes = 30;
 
+    /**
+     * Duree (minutes) pendant laquelle le niveau doit rester au-dessus du seuil avant
+     * d'alerter. 0 = evaluation sur la derniere mesure (comportement historique).
+     */
+    @Column(name = "sustained_minutes", nullable = false)
+    private int sustainedMinutes = 0;
+
     @Column(name = "email_recipients", length = 1000)
     private String emailRecipients;
 
@@ -102,6 +109,9 @@ public class NoiseAlertConfig {
     public int getCooldownMinutes() { return cooldownMinutes; }
     public void setCooldownMinutes(int cooldownMinutes) { this.cooldownMinutes = cooldownMinutes; }
 
+    public int getSustainedMinutes() { return sustainedMinutes; }
+    public void setSustainedMinutes(int sustainedMinutes) { this.sustainedMinutes = sustainedMinutes; }
+
     public String getEmailRecipients() { return emailRecipients; }
     public void setEmailRecipients(String emailRecipients) { this.emailRecipients = emailRecipients; }
 
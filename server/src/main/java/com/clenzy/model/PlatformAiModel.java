@@ -1,7 +1,9 @@
 package com.clenzy.model;
 
 import com.clenzy.config.EncryptedFieldConverter;
+import com.clenzy.config.HibernateCacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,6 +20,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "platform_ai_model")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE)
 public class PlatformAiModel {
 
     @Id
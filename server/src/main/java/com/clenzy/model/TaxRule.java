@@ -1,9 +1,11 @@
 package com.clenzy.model;
 
+import com.clenzy.config.HibernateCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
 @Table(name = "tax_rules", indexes = {
     @Index(name = "idx_tax_rule_lookup", columnList = "country_code, tax_category")
 })
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheRegions.REFERENCE)
 public class TaxRule {
 
     @Id
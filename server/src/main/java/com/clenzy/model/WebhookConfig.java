@@ -46,6 +46,13 @@ public class WebhookConfig {
     @Column(name = "last_failure_reason", columnDefinition = "TEXT")
     private String lastFailureReason;
 
+    /**
+     * Nombre max d'evenements par POST (enveloppe de lot). 1 = un evenement par appel ;
+     * au-dela, opt-in de l'abonne (migration 0413).
+     */
+    @Column(name = "batch_size", nullable = false)
+    private int batchSize = 1;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
@@ -84,6 +91,8 @@ public class WebhookConfig {
     public void setLastFailureAt(Instant lastFailureAt) { this.lastFailureAt = lastFailureAt; }
     public String getLastFailureReason() { return lastFailureReason; }
     public void setLastFailureReason(String lastFailureReason) { this.lastFailureReason = lastFailureReason; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 }
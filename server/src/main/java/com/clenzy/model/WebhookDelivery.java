@@ -63,6 +63,10 @@ public class WebhookDelivery {
     @Column(name = "delivered_at")
     private Instant deliveredAt;
 
+    /** Bail de tentative pose par le noeud qui envoie (null = libre). */
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Long getOrganizationId() { return organizationId; }
@@ -87,4 +91,6 @@ public class WebhookDelivery {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getDeliveredAt() { return deliveredAt; }
     public void setDeliveredAt(Instant deliveredAt) { this.deliveredAt = deliveredAt; }
+    public Instant getClaimedUntil() { return claimedUntil; }
+    public void setClaimedUntil(Instant claimedUntil) { this.claimedUntil = claimedUntil; }
 }
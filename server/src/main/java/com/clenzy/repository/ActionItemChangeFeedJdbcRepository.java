@@ -0,0 +1,119 @@
+package com.clenzy.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fil des changements métier pour la file d'actions : les lignes de
+ * {@code outbox_events} postérieures au curseur {@code action_item_change_cursor}.
+ *
+ * <p>L'outbox est déjà écrite dans la transaction de chaque mutation : la relire
+ * évite un second mécanisme de signalement, et le curseur (identifiant d'outbox,
+ * une seule ligne) survit aux redémarrages et aux changements de noeud.</p>
+ *
+ * <p>{@code outbox_events.created_at} est un {@code TIMESTAMP} sans fuseau écrit par
+ * Hibernate dans le fuseau {@code hibernate.jdbc.time_zone} (Europe/Paris en prod) :
+ * la borne de stabilisation est convertie dans ce même fuseau avant d'être liée,
+ * sans quoi elle serait décalée de l'offset.</p>
+ */
+@Repository
+public class ActionItemChangeFeedJdbcRepository {
+
+    private static final String CURSOR_SQL =
+            "SELECT last_outbox_id FROM action_item_change_cursor WHERE id = 1";
+
+    private static final String ADVANCE_SQL = """
+            UPDATE action_item_change_cursor
+               SET last_outbox_id = ?, updated_at = now()
+             WHERE id = 1 AND last_outbox_id < ?
+            """;
+
+    private static final String CHANGES_SQL = """
+            SELECT id, organization_id, aggregate_type, aggregate_id
+            FROM outbox_events
+            WHERE id > ?
+              AND created_at < ?
+              AND organization_id IS NOT NULL
+              AND aggregate_type IN (%s)
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String LAST_SETTLED_ID_SQL = """
+            SELECT COALESCE(MAX(id), ?) FROM outbox_events
+            WHERE id > ? AND created_at < ?
+            """;
+
+    /** Un changement publié : agrégat {@code aggregateType}/{@code aggregateId} d'une organisation. */
+    public record Change(long id, Long organizationId, String aggregateType, String aggregateId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    /** Fuseau dans lequel Hibernate écrit les {@code TIMESTAMP} de l'outbox. */
+    private final ZoneId writerZone;
+
+    public ActionItemChangeFeedJdbcRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}") String writerZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Sans hibernate.jdbc.time_zone, Hibernate écrit dans le fuseau de la JVM.
+        this.writerZone = writerZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(writerZone);
+    }
+
+    /** Dernier identifiant d'outbox déjà pris en compte. */
+    public long cursor() {
+        final Long cursor = jdbcTemplate.queryForObject(CURSOR_SQL, Long.class);
+        return cursor != null ? cursor : 0L;
+    }
+
+    /** Avance le curseur (jamais de recul, même si deux passes se chevauchent). */
+    public void advanceCursor(long lastOutboxId) {
+        jdbcTemplate.update(ADVANCE_SQL, lastOutboxId, lastOutboxId);
+    }
+
+    /**
+     * Changements des types demandés après {@code afterId}, créés avant
+     * {@code settledBefore}, par identifiant croissant.
+     */
+    public List<Change> changesAfter(long afterId, Collection<String> aggregateTypes,
+                                     Instant settledBefore, int limit) {
+        if (aggregateTypes.isEmpty()) {
+            return List.of();
+        }
+        final String sql = CHANGES_SQL.formatted(String.join(", ", Collections.nCopies(aggregateTypes.size(), "?")));
+        final List<Object> args = new ArrayList<>();
+        args.add(afterId);
+        args.add(writerTimestamp(settledBefore, writerZone));
+        args.addAll(aggregateTypes);
+        args.add(limit);
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Change(rs.getLong("id"), rs.getLong("organization_id"),
+                        rs.getString("aggregate_type"), rs.getString("aggregate_id")),
+                args.toArray());
+    }
+
+    /**
+     * Plus grand identifiant créé avant {@code settledBefore} après {@code afterId}
+     * ({@code afterId} si aucun) : le curseur saute les types sans dépendant.
+     */
+    public long lastSettledId(long afterId, Instant settledBefore) {
+        final Long id = jdbcTemplate.queryForObject(LAST_SETTLED_ID_SQL, Long.class,
+                afterId, afterId, writerTimestamp(settledBefore, writerZone));
+        return id != null ? id : afterId;
+    }
+
+    /** L'instant tel qu'Hibernate l'aurait écrit dans {@code created_at} : heure murale du fuseau d'écriture. */
+    static Timestamp writerTimestamp(Instant instant, ZoneId writerZone) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(instant, writerZone));
+    }
+}
@@ -78,6 +78,44 @@ public interface ActionItemRepository extends JpaRepository<ActionItem, Long> {
                     @Param("kinds") Collection<String> kinds,
                     @Param("sweptAt") Instant sweptAt);
 
+    /**
+     * Les lignes dérivées, ouvertes comme closes, d'un périmètre de sujets :
+     * cibles ou logements modifiés (passe incrémentale). Les collections ne
+     * doivent pas être vides.
+     */
+    @Query("""
+            SELECT a FROM ActionItem a
+            WHERE a.organizationId = :orgId
+              AND a.source = 'DERIVED'
+              AND a.kind IN :kinds
+              AND (a.targetId IN :targetIds OR a.propertyId IN :propertyIds)
+            """)
+    List<ActionItem> findDerivedForSubjects(@Param("orgId") Long orgId,
+                                            @Param("kinds") Collection<String> kinds,
+                                            @Param("targetIds") Collection<Long> targetIds,
+                                            @Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * {@link #closeUnseen} restreint aux sujets réévalués : une passe
+     * incrémentale ne referme jamais ce qu'elle n'a pas regardé.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ActionItem a
+               SET a.status = 'RESOLVED', a.resolvedAt = :sweptAt, a.resolvedBy = 'sweep'
+             WHERE a.organizationId = :orgId
+               AND a.source = 'DERIVED'
+               AND a.status = 'OPEN'
+               AND a.kind IN :kinds
+               AND (a.targetId IN :targetIds OR a.propertyId IN :propertyIds)
+               AND a.lastSeenAt < :sweptAt
+            """)
+    int closeUnseenForSubjects(@Param("orgId") Long orgId,
+                               @Param("kinds") Collection<String> kinds,
+                               @Param("targetIds") Collection<Long> targetIds,
+                               @Param("propertyIds") Collection<Long> propertyIds,
+                               @Param("sweptAt") Instant sweptAt);
+
     /** Organisations ayant au moins une action ouverte — pour cibler les balayages. */
     @Query("SELECT DISTINCT a.organizationId FROM ActionItem a WHERE a.status = 'OPEN'")
     List<Long> findOrganizationIdsWithOpenItems();
@@ -0,0 +1,110 @@
+package com.clenzy.repository;
+
+import com.clenzy.model.AiFeature;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Acces JDBC a l'agregat journalier {@code ai_token_usage_daily}.
+ *
+ * <p>JDBC volontairement : les flushs write-behind sont des upserts additifs en batch
+ * ({@code ON CONFLICT DO UPDATE SET x = x + EXCLUDED.x}) — plusieurs instances peuvent
+ * flusher la meme ligne, l'increment reste exact sous le verrou de ligne.</p>
+ */
+@Repository
+public class AiTokenUsageDailyJdbcRepository {
+
+    private static final String COLUMNS = "organization_id, usage_day, feature, provider, model, "
+            + "prompt_tokens, completion_tokens, total_tokens, call_count";
+
+    private static final String CONFLICT_TARGET = "(organization_id, usage_day, feature, provider, model)";
+
+    private static final String ADD_SQL = """
+            INSERT INTO ai_token_usage_daily (%s, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT %s DO UPDATE
+              SET prompt_tokens = ai_token_usage_daily.prompt_tokens + EXCLUDED.prompt_tokens,
+                  completion_tokens = ai_token_usage_daily.completion_tokens + EXCLUDED.completion_tokens,
+                  total_tokens = ai_token_usage_daily.total_tokens + EXCLUDED.total_tokens,
+                  call_count = ai_token_usage_daily.call_count + EXCLUDED.call_count,
+                  updated_at = now()
+            """.formatted(COLUMNS, CONFLICT_TARGET);
+
+    /** Recalcul depuis le detail par appel : les valeurs sont REMPLACEES (idempotent). */
+    private static final String REBUILD_SQL = """
+            INSERT INTO ai_token_usage_daily (%s, updated_at)
+            SELECT organization_id, CAST(created_at AS date), feature,
+                   COALESCE(provider, 'unknown'), COALESCE(model, 'unknown'),
+                   SUM(prompt_tokens), SUM(completion_tokens), SUM(total_tokens), COUNT(*), now()
+            FROM ai_token_usage
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY organization_id, CAST(created_at AS date), feature,
+                     COALESCE(provider, 'unknown'), COALESCE(model, 'unknown')
+            ON CONFLICT %s DO UPDATE
+              SET prompt_tokens = EXCLUDED.prompt_tokens,
+                  completion_tokens = EXCLUDED.completion_tokens,
+                  total_tokens = EXCLUDED.total_tokens,
+                  call_count = EXCLUDED.call_count,
+                  updated_at = now()
+            """.formatted(COLUMNS, CONFLICT_TARGET);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AiTokenUsageDailyJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Consommation d'une org pour un jour, une feature et un couple (provider, model). */
+    public record DailyRow(Long organizationId, LocalDate day, AiFeature feature, String provider,
+                           String model, long promptTokens, long completionTokens, long totalTokens,
+                           long callCount) {
+    }
+
+    /**
+     * Ajoute des increments aux lignes existantes (ou les cree). Les lignes doivent etre
+     * triees par cle : deux flushs concurrents verrouillent alors dans le meme ordre.
+     */
+    public void addAll(List<DailyRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_SQL, rows, rows.size(),
+                (PreparedStatement ps, DailyRow r) -> {
+                    ps.setLong(1, r.organizationId());
+                    ps.setDate(2, Date.valueOf(r.day()));
+                    ps.setString(3, r.feature().name());
+                    ps.setString(4, r.provider());
+                    ps.setString(5, r.model());
+                    ps.setLong(6, r.promptTokens());
+                    ps.setLong(7, r.completionTokens());
+                    ps.setLong(8, r.totalTokens());
+                    ps.setLong(9, r.callCount());
+                });
+    }
+
+    /** Lignes d'une org sur [from, to] (jours inclus), par jour croissant. */
+    public List<DailyRow> findByOrganizationBetween(Long organizationId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM ai_token_usage_daily "
+                        + "WHERE organization_id = ? AND usage_day BETWEEN ? AND ? ORDER BY usage_day",
+                (rs, i) -> new DailyRow(rs.getLong(1), rs.getDate(2).toLocalDate(),
+                        AiFeature.valueOf(rs.getString(3)), rs.getString(4), rs.getString(5),
+                        rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getLong(9)),
+                organizationId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Reconstruit les lignes d'un jour depuis {@code ai_token_usage}.
+     * @return nombre de lignes ecrites
+     */
+    public int rebuildDay(LocalDate day) {
+        return jdbcTemplate.update(REBUILD_SQL,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+}
@@ -25,6 +25,20 @@ public interface BookingRestrictionRepository extends JpaRepository<BookingRestr
             @Param("checkOut") LocalDate checkOut,
             @Param("orgId") Long orgId);
 
+    /**
+     * Variante batch de {@link #findApplicable} sur plusieurs proprietes (recherche par dates du
+     * booking engine : une requete pour toute l'org au lieu d'une par logement).
+     */
+    @Query("SELECT br FROM BookingRestriction br WHERE br.property.id IN :propertyIds " +
+           "AND br.startDate <= :checkOut AND br.endDate >= :checkIn " +
+           "AND br.organizationId = :orgId " +
+           "ORDER BY br.priority DESC")
+    List<BookingRestriction> findApplicableForProperties(
+            @Param("propertyIds") List<Long> propertyIds,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("orgId") Long orgId);
+
     /**
      * Toutes les restrictions d'une propriete.
      */
@@ -27,6 +27,15 @@ public interface CalendarCommandRepository extends JpaRepository<CalendarCommand
     List<CalendarCommand> findByReservationId(
             @Param("reservationId") Long reservationId);
 
+    /**
+     * Commandes executees d'une propriete dans l'ordre d'application (rejeu du log).
+     */
+    @Query("SELECT cc FROM CalendarCommand cc WHERE cc.propertyId = :propertyId " +
+           "AND cc.organizationId = :orgId AND cc.status = 'EXECUTED' " +
+           "ORDER BY cc.executedAt ASC, cc.id ASC")
+    List<CalendarCommand> findForReplay(@Param("propertyId") Long propertyId,
+                                        @Param("orgId") Long orgId);
+
     // ── Admin queries (cross-org, SUPER_ADMIN only) ─────────────────────────
 
     /**
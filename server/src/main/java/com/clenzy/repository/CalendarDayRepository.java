@@ -136,6 +136,34 @@ public interface CalendarDayRepository extends JpaRepository<CalendarDay, Long>
             @Param("to") LocalDate to,
             @Param("orgId") Long orgId);
 
+    /**
+     * Jours non disponibles d'une org sur [from, to) : lignes
+     * {@code [propertyId, date, status, reservationId, source]} (reservationId null pour
+     * un blocage). Sert au recoupement reservations / calendrier du scan d'anomalies.
+     */
+    @Query("SELECT cd.property.id, cd.date, cd.status, res.id, cd.source FROM CalendarDay cd " +
+           "LEFT JOIN cd.reservation res WHERE cd.organizationId = :orgId " +
+           "AND cd.date >= :from AND cd.date < :to " +
+           "AND cd.status <> com.clenzy.model.CalendarDayStatus.AVAILABLE")
+    List<Object[]> findUnavailableDaysForScan(
+            @Param("orgId") Long orgId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Nuits BOOKED de plusieurs proprietes sur [from, to), en une requete : lignes
+     * {@code [propertyId, date]}. Utilise par le yield pour precharger l'occupation
+     * de tout le portefeuille d'une org (au lieu d'une requete par bien et par regle).
+     */
+    @Query("SELECT cd.property.id, cd.date FROM CalendarDay cd WHERE cd.property.id IN :propertyIds " +
+           "AND cd.date >= :from AND cd.date < :to AND cd.status = com.clenzy.model.CalendarDayStatus.BOOKED " +
+           "AND cd.organizationId = :orgId")
+    List<Object[]> findBookedDatesByPropertyIds(
+            @Param("propertyIds") List<Long> propertyIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("orgId") Long orgId);
+
     /**
      * Dates INDISPONIBLES (≠ AVAILABLE : BOOKED <b>ou</b> BLOCKED) d'une plage [from, to) pour une
      * propriété. Couvre à la fois les nuits réservées/synchronisées (BOOKED) et les blocages manuels
@@ -151,6 +179,19 @@ public interface CalendarDayRepository extends JpaRepository<CalendarDay, Long>
             @Param("to") LocalDate to,
             @Param("orgId") Long orgId);
 
+    /**
+     * Variante batch de {@link #countConflicts} : propriétés ayant au moins un jour ≠ AVAILABLE
+     * sur [from, to) (to EXCLUSIF). Recherche par dates du booking engine.
+     */
+    @Query("SELECT DISTINCT cd.property.id FROM CalendarDay cd WHERE cd.property.id IN :propertyIds " +
+           "AND cd.date >= :from AND cd.date < :to AND cd.status <> com.clenzy.model.CalendarDayStatus.AVAILABLE " +
+           "AND cd.organizationId = :orgId")
+    List<Long> findConflictingPropertyIds(
+            @Param("propertyIds") List<Long> propertyIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("orgId") Long orgId);
+
     /**
      * Jours INDISPONIBLES (≠ AVAILABLE) par propriété sur [from, to) (batch, urgence honnête 2.9).
      * Convention Clenzy : absence de ligne = disponible → dispo = (jours fenêtre) − (count retourné).
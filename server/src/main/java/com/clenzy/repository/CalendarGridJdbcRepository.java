@@ -0,0 +1,131 @@
+package com.clenzy.repository;
+
+import com.clenzy.dto.CalendarGrid;
+import com.clenzy.model.CalendarDayStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chemin de LECTURE des grilles calendrier ({@code calendar_days}) : planning, widget de
+ * réservation, recherche agrégée. Là où {@link CalendarDayRepository} charge des entités
+ * {@code CalendarDay} complètes (toutes colonnes + proxys Property/Reservation, contexte de
+ * persistance), une grille ne lit que {@code (date, status, nightly_price, reservation_id)}.
+ *
+ * <p><b>Index couvrant</b> (changeset 0421) : {@code (property_id, date) INCLUDE (status,
+ * nightly_price, reservation_id, organization_id)} → index-only scan, sans visite du heap.</p>
+ *
+ * <p><b>Élagage des partitions</b> : le filtre porte toujours sur la colonne de partition brute
+ * ({@code date >= ? AND date < ?}, jamais d'expression dessus) et la fenêtre est bornée
+ * ({@link #MAX_WINDOW_DAYS}) : seules les partitions mensuelles de la fenêtre sont lues, y compris
+ * en plan générique (élagage à l'initialisation de l'exécuteur). Une fenêtre non bornée ne
+ * peut pas être exprimée.</p>
+ *
+ * <p><b>Résultat compacté</b> : UNE ligne par propriété (agrégats tableaux côté PostgreSQL), puis
+ * des tableaux denses indexés par décalage de jour ({@link CalendarGrid}). Convention Clenzy :
+ * absence de ligne = jour disponible.</p>
+ */
+@Repository
+public class CalendarGridJdbcRepository {
+
+    /** Fenêtre maximale d'une grille (~3 ans) : au-delà, plus aucun élagage utile. */
+    public static final int MAX_WINDOW_DAYS = 1100;
+
+    // Les agrégats d'un même groupe consomment les lignes dans le même ordre : les quatre
+    // tableaux sont alignés élément par élément (pas besoin d'ORDER BY, le rangement se fait
+    // par décalage côté Java).
+    private static final String GRID_SQL = """
+            SELECT property_id,
+                   array_agg(date - ?::date) AS offsets,
+                   array_agg(status)         AS statuses,
+                   array_agg(nightly_price)  AS prices,
+                   array_agg(reservation_id) AS reservations
+            FROM calendar_days
+            WHERE property_id = ANY(?)
+              AND date >= ? AND date < ?
+              AND organization_id = ?
+            GROUP BY property_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CalendarGridJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Grille d'une seule propriété sur [from, to). */
+    public CalendarGrid findGrid(Long propertyId, LocalDate from, LocalDate to, Long orgId) {
+        return findGrids(Set.of(propertyId), from, to, orgId).get(propertyId);
+    }
+
+    /**
+     * Grilles de plusieurs propriétés sur [from, to) (to EXCLU), en UNE requête. Chaque propriété
+     * demandée a sa grille (vide si aucune ligne) ; ordre d'itération = ordre de la collection.
+     *
+     * @throws IllegalArgumentException si to n'est pas après from ou fenêtre > {@value #MAX_WINDOW_DAYS} jours
+     */
+    public Map<Long, CalendarGrid> findGrids(Collection<Long> propertyIds, LocalDate from, LocalDate to, Long orgId) {
+        int days = windowDays(from, to);
+        Map<Long, CalendarGrid> grids = new LinkedHashMap<>();
+        for (Long propertyId : propertyIds) {
+            grids.put(propertyId, CalendarGrid.empty(propertyId, from, days));
+        }
+        if (grids.isEmpty()) {
+            return grids;
+        }
+        Long[] ids = grids.keySet().toArray(Long[]::new);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(GRID_SQL);
+            ps.setDate(1, Date.valueOf(from));
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            ps.setDate(3, Date.valueOf(from));
+            ps.setDate(4, Date.valueOf(to));
+            ps.setLong(5, orgId);
+            return ps;
+        }, rs -> {
+            CalendarGrid grid = grids.get(rs.getLong("property_id"));
+            if (grid != null) {
+                fill(grid, (Integer[]) arrayOf(rs.getArray("offsets")), (String[]) arrayOf(rs.getArray("statuses")),
+                        (BigDecimal[]) arrayOf(rs.getArray("prices")), (Long[]) arrayOf(rs.getArray("reservations")));
+            }
+        });
+        return grids;
+    }
+
+    /** Nombre de jours de [from, to), borné. */
+    static int windowDays(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Fenetre calendrier invalide : [" + from + ", " + to + ")");
+        }
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Fenetre calendrier trop longue (maximum " + MAX_WINDOW_DAYS + " jours)");
+        }
+        return (int) days;
+    }
+
+    /** Range les lignes agrégées d'une propriété dans sa grille dense (tableaux alignés). */
+    static void fill(CalendarGrid grid, Integer[] offsets, String[] statuses, BigDecimal[] prices, Long[] reservations) {
+        for (int i = 0; i < offsets.length; i++) {
+            int offset = offsets[i];
+            grid.statuses()[offset] = CalendarDayStatus.valueOf(statuses[i]);
+            grid.nightlyPrices()[offset] = prices[i];
+            grid.reservationIds()[offset] = reservations[i] == null ? 0L : reservations[i];
+        }
+    }
+
+    private static Object arrayOf(Array array) throws SQLException {
+        return array.getArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Empreintes mensuelles du calendrier PMS ({@code calendar_days}) pour la reconciliation
+ * channel : une empreinte par mois au lieu de charger chaque jour en entite.
+ *
+ * <p>Forme canonique (partagee avec {@code ReconciliationService.channelMonthDigests}) :
+ * {@code md5("AAAA-MM-JJ:STATUT,AAAA-MM-JJ:STATUT,...")}, jours croissants, un jour
+ * par date de la fenetre ; jour absent de {@code calendar_days} = {@code AVAILABLE}.</p>
+ *
+ * <p>Calculees a la lecture (agregat sur l'index unique {@code (property_id, date)}) :
+ * toujours coherentes avec le calendrier, sans cout d'ecriture sur la table la plus
+ * sollicitee du PMS.</p>
+ */
+@Repository
+public class CalendarMonthDigestJdbcRepository {
+
+    private static final String STATUS_DIGESTS_SQL = """
+            WITH days AS (
+                SELECT gs::date AS day
+                FROM generate_series(?::date, ?::date, interval '1 day') AS gs
+            )
+            SELECT to_char(d.day, 'YYYY-MM') AS month,
+                   md5(string_agg(to_char(d.day, 'YYYY-MM-DD') || ':' || COALESCE(cd.status, 'AVAILABLE'),
+                                  ',' ORDER BY d.day)) AS digest
+            FROM days d
+            LEFT JOIN calendar_days cd
+                   ON cd.property_id = ? AND cd.organization_id = ? AND cd.date = d.day
+            GROUP BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CalendarMonthDigestJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Empreinte du statut par mois sur [from, to] (bornes incluses, mois tronques a la fenetre). */
+    public Map<YearMonth, String> statusDigestsByMonth(Long propertyId, Long orgId, LocalDate from, LocalDate to) {
+        Map<YearMonth, String> digests = new HashMap<>();
+        jdbcTemplate.query(STATUS_DIGESTS_SQL,
+                rs -> {
+                    digests.put(YearMonth.parse(rs.getString("month")), rs.getString("digest"));
+                },
+                Date.valueOf(from), Date.valueOf(to), propertyId, orgId);
+        return digests;
+    }
+}
@@ -1,7 +1,10 @@
 package com.clenzy.repository;
 
+import com.clenzy.config.HibernateCacheRegions;
 import com.clenzy.model.Country;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,12 +12,21 @@ import java.util.Optional;
 
 /**
  * Acces au referentiel des pays supportes (config globale multi-pays).
+ * Lectures en cache de requetes ({@link HibernateCacheRegions#QUERY_REFERENCE}).
  */
 @Repository
 public interface CountryRepository extends JpaRepository<Country, Long> {
 
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = HibernateCacheRegions.QUERY_REFERENCE)
+    })
     Optional<Country> findByCountryCode(String countryCode);
 
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = HibernateCacheRegions.QUERY_REFERENCE)
+    })
     List<Country> findByEnabledTrue();
 
     boolean existsByCountryCode(String countryCode);
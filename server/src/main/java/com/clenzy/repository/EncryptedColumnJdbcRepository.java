@@ -0,0 +1,67 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Acces JDBC brut aux colonnes chiffrees par {@code EncryptedFieldConverter}, pour la
+ * re-ecriture en tache de fond ({@code FieldReencryptionScheduler}).
+ *
+ * <p>JDBC volontairement (pas JPA) : le converter ne doit pas etre declenche — on lit
+ * et on ecrit les valeurs chiffrees telles quelles, sans charger les entites (ni leurs
+ * listeners, ni l'audit {@code updated_at}).</p>
+ *
+ * <p>Les noms de table/colonne viennent d'une liste statique du code ; ils sont
+ * neanmoins valides ({@code [a-z_]+}) avant concatenation.</p>
+ */
+@Repository
+public class EncryptedColumnJdbcRepository {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EncryptedColumnJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Valeur brute (chiffree) d'une ligne. */
+    public record StoredValue(long id, String value) {
+    }
+
+    /**
+     * Lignes d'id strictement superieur a {@code afterId} dont la valeur n'est pas deja au
+     * format {@code currentPrefix}, par id croissant (pagination keyset : pas d'OFFSET,
+     * chaque lot part de la PK).
+     */
+    public List<StoredValue> findPending(String table, String column, String currentPrefix,
+                                         long afterId, int limit) {
+        final String sql = "SELECT id, " + identifier(column) + " FROM " + identifier(table)
+                + " WHERE id > ? AND " + column + " IS NOT NULL AND " + column + " <> ''"
+                + " AND " + column + " NOT LIKE ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, i) -> new StoredValue(rs.getLong(1), rs.getString(2)),
+                afterId, currentPrefix + "%", limit);
+    }
+
+    /**
+     * Remplace la valeur SI elle n'a pas change depuis la lecture (compare-and-set) :
+     * une ecriture applicative concurrente gagne toujours, jamais de mise a jour perdue.
+     *
+     * @return vrai si la ligne a ete re-ecrite
+     */
+    public boolean compareAndSet(String table, String column, long id, String expected, String replacement) {
+        final String sql = "UPDATE " + identifier(table) + " SET " + identifier(column) + " = ?"
+                + " WHERE id = ? AND " + column + " = ?";
+        return jdbcTemplate.update(sql, replacement, id, expected) == 1;
+    }
+
+    private static String identifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Identifiant SQL invalide : " + name);
+        }
+        return name;
+    }
+}
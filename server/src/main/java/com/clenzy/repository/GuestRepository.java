@@ -101,6 +101,42 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
     @Query("SELECT g FROM Guest g WHERE g.phoneHash = :phoneHash")
     List<Guest> findByPhoneHash(@Param("phoneHash") String phoneHash);
 
+    /**
+     * Candidats a la dedup par email d'une org : index aveugle egal, plus les guests
+     * pas encore indexes (avant backfill). L'appelant compare ensuite l'email dechiffre.
+     */
+    @Query(value = "SELECT * FROM guests g WHERE g.organization_id = :orgId " +
+                   "AND (g.email_bidx = :emailIndex OR g.blind_index_version IS NULL)",
+           nativeQuery = true)
+    List<Guest> findEmailCandidates(@Param("orgId") Long orgId, @Param("emailIndex") String emailIndex);
+
+    /**
+     * Candidats a une recherche texte d'une org : guests portant TOUS les jetons du
+     * terme ({@code @>} sur l'index GIN de search_tokens), plus les guests pas encore
+     * indexes. Sur-ensemble du filtre "contient" : refiltre en memoire apres dechiffrement.
+     *
+     * @param tokens litteral tableau PostgreSQL (cf. GuestBlindIndex#toArrayLiteral)
+     */
+    @Query(value = "SELECT * FROM guests g WHERE g.organization_id = :orgId " +
+                   "AND (g.search_tokens @> CAST(:tokens AS text[]) OR g.blind_index_version IS NULL) " +
+                   "ORDER BY g.last_name, g.first_name",
+           nativeQuery = true)
+    List<Guest> findSearchCandidates(@Param("orgId") Long orgId, @Param("tokens") String tokens);
+
+    /** Variante cross-org de {@link #findSearchCandidates} (platform staff). */
+    @Query(value = "SELECT * FROM guests g " +
+                   "WHERE g.search_tokens @> CAST(:tokens AS text[]) OR g.blind_index_version IS NULL " +
+                   "ORDER BY g.last_name, g.first_name",
+           nativeQuery = true)
+    List<Guest> findSearchCandidatesAllOrgs(@Param("tokens") String tokens);
+
+    /**
+     * Lot de guests sans index aveugles (backfill au boot). Les guests traites sortent
+     * du predicat : l'appelant relit toujours la premiere page.
+     */
+    @Query("SELECT g FROM Guest g WHERE g.blindIndexVersion IS NULL ORDER BY g.id")
+    List<Guest> findBlindIndexPending(Pageable pageable);
+
     /**
      * Guests dont le phone_hash n'est pas encore calcule (backfill au boot).
      */
@@ -0,0 +1,11 @@
+package com.clenzy.repository;
+
+import com.clenzy.model.ICalFeedEventHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ICalFeedEventHashRepository extends JpaRepository<ICalFeedEventHash, Long> {
+
+    List<ICalFeedEventHash> findByFeedId(Long feedId);
+}
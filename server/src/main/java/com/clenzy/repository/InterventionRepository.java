@@ -4,7 +4,6 @@ import com.clenzy.model.Intervention;
 import com.clenzy.model.InterventionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
@@ -12,7 +11,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import com.clenzy.model.PaymentStatus;
-import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -40,9 +38,6 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
     List<Intervention> findOverdueForOrg(@Param("orgId") Long orgId, @Param("now") LocalDateTime now);
 
     @Query("SELECT i FROM Intervention i LEFT JOIN FETCH i.property p LEFT JOIN FETCH p.owner LEFT JOIN FETCH i.assignedUser LEFT JOIN FETCH i.requestor WHERE i.property.id = :propertyId AND i.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Intervention> findByPropertyId(@Param("propertyId") Long propertyId, @Param("orgId") Long orgId);
 
     /**
@@ -204,9 +199,6 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT i FROM Intervention i LEFT JOIN FETCH i.property p LEFT JOIN FETCH p.owner LEFT JOIN FETCH i.assignedUser LEFT JOIN FETCH i.requestor WHERE i.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Intervention> findAllWithRelations(Pageable pageable, @Param("orgId") Long orgId);
 
     // Utiliser EntityGraph pour charger les relations nécessaires avec pagination
@@ -219,9 +211,6 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
            "(CAST(:startDate AS timestamp) IS NULL OR i.scheduledDate >= :startDate) AND " +
            "(CAST(:endDate AS timestamp) IS NULL OR i.scheduledDate < :endDate) AND " +
            "i.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Intervention> findByFiltersWithRelations(@Param("propertyId") Long propertyId,
                                                 @Param("type") String type,
                                                 @Param("status") InterventionStatus status,
@@ -245,9 +234,6 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
            "(CAST(:startDate AS timestamp) IS NULL OR i.scheduledDate >= :startDate) AND " +
            "(CAST(:endDate AS timestamp) IS NULL OR i.scheduledDate < :endDate) AND " +
            "(:orgId IS NULL OR i.organizationId = :orgId)")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Intervention> findByAssignedUserOrTeamWithFilters(@Param("userId") Long userId,
                                                           @Param("propertyId") Long propertyId,
                                                           @Param("type") String type,
@@ -517,9 +503,6 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
            "(:status IS NULL OR i.status = :status) AND " +
            "(:priority IS NULL OR i.priority = :priority) AND " +
            "i.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Intervention> findByFilters(@Param("propertyId") Long propertyId,
                                    @Param("type") String type,
                                    @Param("status") String status,
@@ -573,6 +556,19 @@ public interface InterventionRepository extends JpaRepository<Intervention, Long
             @Param("from") java.time.LocalDateTime from,
             @Param("to") java.time.LocalDateTime to);
 
+    /**
+     * Variante de {@link #findByPropertyAndCreatedBetween} avec l'intervenant assigné
+     * chargé : instantané partagé des scanners de supervision, lu hors Session par
+     * plusieurs threads (aucun lazy-loading possible).
+     */
+    @Query("SELECT i FROM Intervention i LEFT JOIN FETCH i.assignedUser WHERE i.property.id = :propertyId " +
+           "AND i.organizationId = :orgId AND i.createdAt >= :from AND i.createdAt < :to")
+    List<Intervention> findWithAssigneeByPropertyAndCreatedBetween(
+            @Param("propertyId") Long propertyId,
+            @Param("orgId") Long orgId,
+            @Param("from") java.time.LocalDateTime from,
+            @Param("to") java.time.LocalDateTime to);
+
     /**
      * Dernière maintenance TERMINÉE du logement (scanner entretien préventif de la
      * constellation) — {@code updatedAt} de la complétion la plus récente, null si aucune.
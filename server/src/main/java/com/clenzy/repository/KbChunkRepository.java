@@ -16,6 +16,9 @@ public interface KbChunkRepository extends JpaRepository<KbChunk, Long> {
     /** Batch de chunks orphelins pour le job de re-embedding. */
     List<KbChunk> findByEmbeddingIsNull(org.springframework.data.domain.Pageable pageable);
 
+    /** Chunks actuels d'un doc, dans l'ordre — base du diff de re-ingestion incrementale. */
+    List<KbChunk> findByDocumentIdOrderByChunkIdxAsc(Long documentId);
+
     /** Supprime tous les chunks d'un doc — utilise au reindex/upsert. */
     @Modifying
     @Query("DELETE FROM KbChunk c WHERE c.documentId = :documentId")
@@ -47,6 +50,55 @@ public interface KbChunkRepository extends JpaRepository<KbChunk, Long> {
                                               @Param("lang") String lang,
                                               @Param("topK") int topK);
 
+    /**
+     * Variante de {@link #searchByCosineSimilarity} limitee aux documents PROPRES de
+     * l'org : le corpus global est alors servi par l'index en memoire
+     * ({@code GlobalKbVectorIndex}). Meme shape de retour.
+     */
+    @Query(value = """
+            SELECT c.id, c.content, d.source_path, d.title, d.id AS document_id,
+                   (c.embedding <=> CAST(:queryEmbedding AS vector)) AS distance
+            FROM kb_chunk c
+            JOIN kb_document d ON d.id = c.document_id
+            WHERE c.embedding IS NOT NULL
+              AND d.organization_id = :orgId
+            ORDER BY c.embedding <=> CAST(:queryEmbedding AS vector)
+            LIMIT :topK
+            """, nativeQuery = true)
+    List<Object[]> searchOrgByCosineSimilarity(@Param("queryEmbedding") String queryEmbedding,
+                                                 @Param("orgId") Long orgId,
+                                                 @Param("topK") int topK);
+
+    /**
+     * Chunks embeddes du corpus global d'une langue, pour l'index en memoire :
+     * {@code [chunkId, content, sourcePath, title, documentId, embeddingText]}.
+     */
+    @Query(value = """
+            SELECT c.id, c.content, d.source_path, d.title, d.id AS document_id,
+                   CAST(c.embedding AS text) AS embedding
+            FROM kb_chunk c
+            JOIN kb_document d ON d.id = c.document_id
+            WHERE c.embedding IS NOT NULL
+              AND d.organization_id IS NULL
+              AND d.lang = :lang
+            ORDER BY c.id
+            """, nativeQuery = true)
+    List<Object[]> findGlobalEmbeddedChunks(@Param("lang") String lang);
+
+    /**
+     * Signature du corpus global embedde par langue : {@code [lang, count, maxChunkId]}.
+     * Une re-ingestion recree les chunks (nouveaux ids) : la signature change.
+     */
+    @Query(value = """
+            SELECT d.lang, COUNT(c.id), COALESCE(MAX(c.id), 0)
+            FROM kb_chunk c
+            JOIN kb_document d ON d.id = c.document_id
+            WHERE c.embedding IS NOT NULL
+              AND d.organization_id IS NULL
+            GROUP BY d.lang
+            """, nativeQuery = true)
+    List<Object[]> globalEmbeddedSignatureByLang();
+
     /**
      * Volet lexical de la recherche hybride : full-text Postgres sur la colonne
      * generee {@code content_tsv}, classee par {@code ts_rank_cd}. Rattrape les
@@ -3,13 +3,11 @@ package com.clenzy.repository;
 import com.clenzy.model.ManagerProperty;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -19,36 +17,21 @@ public interface ManagerPropertyRepository extends JpaRepository<ManagerProperty
      * Requêtes optimisées avec cache
      */
     @Query("SELECT mp FROM ManagerProperty mp WHERE mp.managerId = :managerId AND mp.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerProperty> findByManagerId(@Param("managerId") Long managerId, @Param("orgId") Long orgId);
 
     @Query("SELECT mp FROM ManagerProperty mp WHERE mp.propertyId = :propertyId AND mp.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerProperty> findByPropertyId(@Param("propertyId") Long propertyId, @Param("orgId") Long orgId);
 
     @Query("SELECT mp FROM ManagerProperty mp WHERE mp.managerId = :managerId AND mp.propertyId = :propertyId AND mp.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     ManagerProperty findByManagerIdAndPropertyId(@Param("managerId") Long managerId, @Param("propertyId") Long propertyId, @Param("orgId") Long orgId);
 
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT mp FROM ManagerProperty mp WHERE mp.managerId = :managerId AND mp.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerProperty> findByManagerIdWithPagination(@Param("managerId") Long managerId, Pageable pageable, @Param("orgId") Long orgId);
 
     @Query("SELECT mp FROM ManagerProperty mp WHERE mp.propertyId = :propertyId AND mp.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerProperty> findByPropertyIdWithPagination(@Param("propertyId") Long propertyId, Pageable pageable, @Param("orgId") Long orgId);
 
     /**
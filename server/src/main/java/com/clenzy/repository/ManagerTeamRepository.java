@@ -3,13 +3,11 @@ package com.clenzy.repository;
 import com.clenzy.model.ManagerTeam;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -19,42 +17,24 @@ public interface ManagerTeamRepository extends JpaRepository<ManagerTeam, Long>
      * Requêtes optimisées avec cache
      */
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.managerId = :managerId AND mt.isActive = true AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerTeam> findByManagerIdAndIsActiveTrue(@Param("managerId") Long managerId, @Param("orgId") Long orgId);
 
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.teamId = :teamId AND mt.isActive = true AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerTeam> findByTeamIdAndIsActiveTrue(@Param("teamId") Long teamId, @Param("orgId") Long orgId);
 
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.managerId = :managerId AND mt.teamId = :teamId AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     ManagerTeam findByManagerIdAndTeamId(@Param("managerId") Long managerId, @Param("teamId") Long teamId, @Param("orgId") Long orgId);
 
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.managerId = :managerId AND mt.teamId = :teamId AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerTeam> findAllByManagerIdAndTeamId(@Param("managerId") Long managerId, @Param("teamId") Long teamId, @Param("orgId") Long orgId);
 
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.managerId = :managerId AND mt.isActive = true AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerTeam> findByManagerIdAndIsActiveTrueWithPagination(@Param("managerId") Long managerId, Pageable pageable, @Param("orgId") Long orgId);
 
     @Query("SELECT mt FROM ManagerTeam mt WHERE mt.teamId = :teamId AND mt.isActive = true AND mt.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerTeam> findByTeamIdAndIsActiveTrueWithPagination(@Param("teamId") Long teamId, Pageable pageable, @Param("orgId") Long orgId);
 
     /**
@@ -3,13 +3,11 @@ package com.clenzy.repository;
 import com.clenzy.model.ManagerUser;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -19,42 +17,24 @@ public interface ManagerUserRepository extends JpaRepository<ManagerUser, Long>
      * Requêtes optimisées avec cache
      */
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.managerId = :managerId AND mu.isActive = true AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerUser> findByManagerIdAndIsActiveTrue(@Param("managerId") Long managerId, @Param("orgId") Long orgId);
 
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.userId = :userId AND mu.isActive = true AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerUser> findByUserIdAndIsActiveTrue(@Param("userId") Long userId, @Param("orgId") Long orgId);
 
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.managerId = :managerId AND mu.userId = :userId AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     ManagerUser findByManagerIdAndUserId(@Param("managerId") Long managerId, @Param("userId") Long userId, @Param("orgId") Long orgId);
 
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.managerId = :managerId AND mu.userId = :userId AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<ManagerUser> findAllByManagerIdAndUserId(@Param("managerId") Long managerId, @Param("userId") Long userId, @Param("orgId") Long orgId);
 
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.managerId = :managerId AND mu.isActive = true AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerUser> findByManagerIdAndIsActiveTrueWithPagination(@Param("managerId") Long managerId, Pageable pageable, @Param("orgId") Long orgId);
 
     @Query("SELECT mu FROM ManagerUser mu WHERE mu.userId = :userId AND mu.isActive = true AND mu.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<ManagerUser> findByUserIdAndIsActiveTrueWithPagination(@Param("userId") Long userId, Pageable pageable, @Param("orgId") Long orgId);
 
     /**
@@ -0,0 +1,76 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecture de l'agregat {@code owner_statement_months} : totaux des reversements PAID
+ * d'un proprietaire par mois civil, maintenus par trigger sur {@code owner_payouts}
+ * (migration 0423) — le releve mensuel ne rescanne plus l'historique du proprietaire.
+ *
+ * <p>Lecture dans sa propre transaction lecture seule : routee vers la replica
+ * ({@code ReadWriteRoutingDataSource}) meme quand l'appelant (executeur d'automatisation)
+ * tient une transaction d'ecriture sur le primaire.</p>
+ */
+@Repository
+public class OwnerStatementMonthJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OwnerStatementMonthJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Agregat d'un (proprietaire, mois).
+     *
+     * @param payoutIds reversements PAID du mois, period_end decroissant (ordre du releve)
+     */
+    public record MonthAggregate(Long organizationId, Long ownerId, int payoutsCount,
+                                 BigDecimal totalNet, BigDecimal totalGross,
+                                 BigDecimal totalCommission, BigDecimal totalExpenses,
+                                 List<Long> payoutIds) {
+    }
+
+    /**
+     * Agregat du mois commencant a {@code monthStart} ; vide si le proprietaire n'a
+     * aucun reversement PAID sur ce mois.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Optional<MonthAggregate> findMonth(Long orgId, Long ownerId, LocalDate monthStart) {
+        return jdbcTemplate.query("""
+                        SELECT organization_id, owner_id, payouts_count, total_net, total_gross,
+                               total_commission, total_expenses, payout_ids
+                        FROM owner_statement_months
+                        WHERE organization_id = ? AND owner_id = ? AND month_start = ?
+                        """,
+                (rs, i) -> new MonthAggregate(rs.getLong(1), rs.getLong(2), rs.getInt(3),
+                        rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getBigDecimal(7),
+                        ids(rs)),
+                orgId, ownerId, Date.valueOf(monthStart)).stream().findFirst();
+    }
+
+    private static List<Long> ids(ResultSet rs) throws SQLException {
+        Array array = rs.getArray(8);
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream((Long[]) array.getArray()).toList();
+        } finally {
+            array.free();
+        }
+    }
+}
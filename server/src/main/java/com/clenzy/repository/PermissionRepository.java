@@ -3,13 +3,11 @@ package com.clenzy.repository;
 import com.clenzy.model.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,36 +18,21 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
      * Requêtes optimisées avec cache
      */
     @Query("SELECT p FROM Permission p WHERE p.name = :name")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Optional<Permission> findByName(@Param("name") String name);
     
     @Query("SELECT p FROM Permission p WHERE p.module = :module")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Permission> findByModule(@Param("module") String module);
     
     @Query("SELECT p FROM Permission p WHERE p.name IN :names")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Permission> findByNameIn(@Param("names") List<String> names);
     
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT p FROM Permission p WHERE p.module = :module")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Permission> findByModuleWithPagination(@Param("module") String module, Pageable pageable);
     
     @Query("SELECT p FROM Permission p")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Permission> findAllWithPagination(Pageable pageable);
     
     /**
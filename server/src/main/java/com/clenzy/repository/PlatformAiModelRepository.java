@@ -1,9 +1,25 @@
 package com.clenzy.repository;
 
+import com.clenzy.config.HibernateCacheRegions;
 import com.clenzy.model.PlatformAiModel;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PlatformAiModelRepository extends JpaRepository<PlatformAiModel, Long> {
+
+    /**
+     * Catalogue complet, relu a chaque resolution de cible IA : en cache de requetes
+     * ({@link HibernateCacheRegions#QUERY_REFERENCE}), invalide a chaque ecriture.
+     */
+    @Override
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = HibernateCacheRegions.QUERY_REFERENCE)
+    })
+    List<PlatformAiModel> findAll();
 }
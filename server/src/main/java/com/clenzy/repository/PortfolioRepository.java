@@ -3,13 +3,11 @@ package com.clenzy.repository;
 import com.clenzy.model.Portfolio;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -19,42 +17,24 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
      * Requêtes optimisées avec cache
      */
     @Query("SELECT p FROM Portfolio p WHERE p.manager.id = :managerId AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Portfolio> findByManagerId(@Param("managerId") Long managerId, @Param("orgId") Long orgId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.isActive = true AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Portfolio> findByIsActiveTrue(@Param("orgId") Long orgId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.manager.id = :managerId AND p.isActive = true AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Portfolio> findByManagerIdAndIsActiveTrue(@Param("managerId") Long managerId, @Param("orgId") Long orgId);
 
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT p FROM Portfolio p WHERE p.manager.id = :managerId AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Portfolio> findByManagerIdWithPagination(@Param("managerId") Long managerId, Pageable pageable, @Param("orgId") Long orgId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.isActive = true AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Portfolio> findByIsActiveTrueWithPagination(Pageable pageable, @Param("orgId") Long orgId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.manager.id = :managerId AND p.isActive = true AND p.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<Portfolio> findByManagerIdAndIsActiveTrueWithPagination(@Param("managerId") Long managerId, Pageable pageable, @Param("orgId") Long orgId);
 
     /**
@@ -86,7 +86,6 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
         AND p.organizationId = :orgId
         """)
     @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
         @QueryHint(name = "org.hibernate.readOnly", value = "true")
     })
     List<Property> findByOwnerKeycloakIdWithRelations(@Param("ownerKeycloakId") String ownerKeycloakId, @Param("orgId") Long orgId);
@@ -100,9 +99,6 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
         WHERE p.owner.keycloakId = :ownerKeycloakId
         AND p.organizationId = :orgId
         """)
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Property> findWithManagersByOwnerKeycloakId(@Param("ownerKeycloakId") String ownerKeycloakId, @Param("orgId") Long orgId);
     
     /**
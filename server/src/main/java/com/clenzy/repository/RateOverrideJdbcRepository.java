@@ -0,0 +1,75 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Écritures batch de {@code rate_overrides} pour les moteurs automatiques (yield).
+ *
+ * <p>JDBC volontairement (pas JPA) : l'id IDENTITY empêche Hibernate de grouper les
+ * INSERT, et un run yield écrit jusqu'à une fenêtre complète par bien. Un seul
+ * {@code INSERT ... ON CONFLICT (property_id, date) DO UPDATE} batché par bien.</p>
+ *
+ * <p>Garde-fou en base : la mise à jour ne s'applique QUE si l'override existant
+ * porte la même source — un override MANUAL / OTA posé entre la lecture et
+ * l'écriture n'est jamais écrasé (la ligne est alors simplement ignorée).</p>
+ */
+@Repository
+public class RateOverrideJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO rate_overrides
+              (organization_id, property_id, date, nightly_price, source, currency, created_by, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (property_id, date) DO UPDATE
+              SET nightly_price = EXCLUDED.nightly_price,
+                  currency = EXCLUDED.currency,
+                  created_by = EXCLUDED.created_by
+              WHERE rate_overrides.source = EXCLUDED.source
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RateOverrideJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Override à poser — construit par le moteur yield. */
+    public record OverrideRow(
+            Long organizationId,
+            Long propertyId,
+            LocalDate date,
+            BigDecimal nightlyPrice,
+            String source,
+            String currency,
+            String createdBy) {
+    }
+
+    /**
+     * Insère ou met à jour en batch. Retourne le nombre de lignes réellement écrites
+     * (hors conflits ignorés car portant une autre source).
+     */
+    public int upsertSameSource(List<OverrideRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(),
+                (PreparedStatement ps, OverrideRow r) -> {
+                    ps.setLong(1, r.organizationId());
+                    ps.setLong(2, r.propertyId());
+                    ps.setDate(3, Date.valueOf(r.date()));
+                    ps.setBigDecimal(4, r.nightlyPrice());
+                    ps.setString(5, r.source());
+                    ps.setString(6, r.currency());
+                    ps.setString(7, r.createdBy());
+                });
+        return Arrays.stream(results).flatMapToInt(Arrays::stream).map(c -> Math.max(c, 0)).sum();
+    }
+}
@@ -35,4 +35,17 @@ public interface RateOverrideRepository extends JpaRepository<RateOverride, Long
             @Param("from") LocalDate from,
             @Param("to") LocalDate to,
             @Param("orgId") Long orgId);
+
+    /**
+     * Overrides de plusieurs proprietes sur une plage de dates, en une requete
+     * (yield : prechargement des biens declenches d'une org).
+     * Filtre par orgId pour l'isolation multi-tenant.
+     */
+    @Query("SELECT ro FROM RateOverride ro WHERE ro.property.id IN :propertyIds " +
+           "AND ro.date >= :from AND ro.date < :to AND ro.organizationId = :orgId")
+    List<RateOverride> findByPropertyIdsAndDateRange(
+            @Param("propertyIds") List<Long> propertyIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("orgId") Long orgId);
 }
@@ -21,6 +21,17 @@ public interface RatePlanRepository extends JpaRepository<RatePlan, Long> {
             @Param("propertyId") Long propertyId,
             @Param("orgId") Long orgId);
 
+    /**
+     * Plans actifs de plusieurs proprietes en une requete (resolution de prix batch),
+     * tries par priorite DESC.
+     */
+    @Query("SELECT rp FROM RatePlan rp WHERE rp.property.id IN :propertyIds " +
+           "AND rp.isActive = true AND rp.organizationId = :orgId " +
+           "ORDER BY rp.priority DESC")
+    List<RatePlan> findActiveByPropertyIds(
+            @Param("propertyIds") List<Long> propertyIds,
+            @Param("orgId") Long orgId);
+
     /**
      * Plans par property et type.
      */
@@ -100,6 +100,17 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("ownerKc") String ownerKc,
             @Param("pendingStatus") PaymentStatus pendingStatus);
 
+    /**
+     * Séjours confirmés d'une org non encore terminés au {@code from}, en projection légère
+     * {@code [id, propertyId, checkIn, checkOut]} triée par (logement, arrivée) : un seul
+     * passage pour le scan d'anomalies du portefeuille (AnomalyDetectionService), sans
+     * hydrater d'entités.
+     */
+    @Query("SELECT r.id, r.property.id, r.checkIn, r.checkOut FROM Reservation r " +
+           "WHERE r.organizationId = :orgId AND UPPER(r.status) = 'CONFIRMED' " +
+           "AND r.checkIn IS NOT NULL AND r.checkOut > :from ORDER BY r.property.id, r.checkIn")
+    List<Object[]> findConfirmedStaysForScan(@Param("orgId") Long orgId, @Param("from") LocalDate from);
+
     /**
      * Réservations d'un LOT de logements chevauchant la fenêtre — agrégats de
      * performance (PropertyPerformanceService). Volontairement SANS join fetch
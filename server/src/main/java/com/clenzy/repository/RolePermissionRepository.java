@@ -5,13 +5,11 @@ import com.clenzy.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -21,39 +19,24 @@ public interface RolePermissionRepository extends JpaRepository<RolePermission,
      * Requêtes optimisées avec cache
      */
     @Query("SELECT rp FROM RolePermission rp WHERE rp.role = :role")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<RolePermission> findByRole(@Param("role") Role role);
     
     @Query("SELECT rp.permission.name FROM RolePermission rp WHERE rp.role.name = :roleName AND rp.isActive = true")
     List<String> findActivePermissionsByRoleName(@Param("roleName") String roleName);
     
     @Query("SELECT rp FROM RolePermission rp WHERE rp.role.name IN :roleNames AND rp.isActive = true")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<RolePermission> findByRoleNames(@Param("roleNames") List<String> roleNames);
     
     /**
      * Requêtes avec pagination optimisée
      */
     @Query("SELECT rp FROM RolePermission rp WHERE rp.role = :role")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<RolePermission> findByRoleWithPagination(@Param("role") Role role, Pageable pageable);
     
     @Query("SELECT rp FROM RolePermission rp WHERE rp.role.name = :roleName AND rp.isActive = true")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<RolePermission> findByRoleNameAndIsActiveTrueWithPagination(@Param("roleName") String roleName, Pageable pageable);
     
     @Query("SELECT rp FROM RolePermission rp WHERE rp.role.name IN :roleNames AND rp.isActive = true")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     Page<RolePermission> findByRoleNamesWithPagination(@Param("roleNames") List<String> roleNames, Pageable pageable);
     
     /**
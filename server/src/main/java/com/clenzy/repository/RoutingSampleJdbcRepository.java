@@ -0,0 +1,68 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Acces JDBC aux echantillons de routage {@code assistant_routing_samples}
+ * (decision du routeur LLM + empreinte hashee du message).
+ *
+ * <p>JDBC volontairement : colonne {@code INTEGER[]} lue/ecrite telle quelle, et le
+ * chargement du corpus d'entrainement est une simple lecture bornee.</p>
+ */
+@Repository
+public class RoutingSampleJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoutingSampleJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Decision du routeur LLM pour un message, vu a travers ses n-grammes hashes. */
+    public record RoutingSample(String route, int[] features) {
+    }
+
+    /** Insertion en un seul batch JDBC (flush du tampon de {@code LocalIntentClassifier}). */
+    public void insertAll(int featureVersion, List<RoutingSample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO assistant_routing_samples (feature_version, route, features) VALUES (?, ?, ?)",
+                samples, samples.size(),
+                (PreparedStatement ps, RoutingSample sample) -> {
+                    ps.setInt(1, featureVersion);
+                    ps.setString(2, sample.route());
+                    ps.setArray(3, ps.getConnection().createArrayOf("integer",
+                            Arrays.stream(sample.features()).boxed().toArray(Integer[]::new)));
+                });
+    }
+
+    /** Les {@code limit} echantillons les plus recents d'une version du featurizer, du plus ancien au plus recent. */
+    public List<RoutingSample> findLatest(int featureVersion, int limit) {
+        List<RoutingSample> samples = jdbcTemplate.query(
+                "SELECT route, features FROM assistant_routing_samples WHERE feature_version = ? "
+                        + "ORDER BY id DESC LIMIT ?",
+                (rs, i) -> {
+                    Array array = rs.getArray(2);
+                    Integer[] values = (Integer[]) array.getArray();
+                    return new RoutingSample(rs.getString(1),
+                            Arrays.stream(values).mapToInt(Integer::intValue).toArray());
+                },
+                featureVersion, limit);
+        return samples.reversed();
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM assistant_routing_samples WHERE created_at < ?",
+                Timestamp.from(cutoff));
+    }
+}
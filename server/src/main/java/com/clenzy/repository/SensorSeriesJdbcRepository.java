@@ -0,0 +1,173 @@
+package com.clenzy.repository;
+
+import com.clenzy.service.timeseries.SeriesKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acces JDBC aux series capteurs ({@code sensor_series_blocks} / {@code sensor_series_rollups})
+ * et a la couverture du polling ({@code sensor_series_poll_coverage}).
+ *
+ * <p>JDBC volontairement (pas JPA) : blocs binaires reecrits en place et agregats en
+ * upsert batch ({@code ON CONFLICT DO UPDATE}) — le volume (un point par capteur et par
+ * minute) n'a rien a faire dans le contexte de persistance Hibernate.</p>
+ */
+@Repository
+public class SensorSeriesJdbcRepository {
+
+    private static final String SERIES_PREDICATE = "source_type = ? AND source_id = ? AND metric = ?";
+
+    private static final String UPSERT_BLOCK_SQL = """
+            INSERT INTO sensor_series_blocks
+              (organization_id, source_type, source_id, metric, block_start,
+               sample_count, first_ts, last_ts, min_value, max_value, payload, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (source_type, source_id, metric, block_start) DO UPDATE
+              SET sample_count = EXCLUDED.sample_count,
+                  first_ts = EXCLUDED.first_ts,
+                  last_ts = EXCLUDED.last_ts,
+                  min_value = EXCLUDED.min_value,
+                  max_value = EXCLUDED.max_value,
+                  payload = EXCLUDED.payload,
+                  updated_at = now()
+            """;
+
+    private static final String UPSERT_ROLLUP_SQL = """
+            INSERT INTO sensor_series_rollups
+              (organization_id, source_type, source_id, metric, resolution, bucket_start,
+               sample_count, min_value, max_value, sum_value, last_value)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (source_type, source_id, metric, resolution, bucket_start) DO UPDATE
+              SET sample_count = EXCLUDED.sample_count,
+                  min_value = EXCLUDED.min_value,
+                  max_value = EXCLUDED.max_value,
+                  sum_value = EXCLUDED.sum_value,
+                  last_value = EXCLUDED.last_value
+            """;
+
+    /** Contigu : un poll qui demarre au plus 1 s apres la fin couverte prolonge l'intervalle. */
+    private static final String RECORD_POLL_SQL = """
+            INSERT INTO sensor_series_poll_coverage
+              (organization_id, source_type, source_id, metric, covered_from, covered_until, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (source_type, source_id, metric) DO UPDATE
+              SET covered_from = CASE
+                      WHEN EXCLUDED.covered_from > sensor_series_poll_coverage.covered_until + 1
+                        OR EXCLUDED.covered_until < sensor_series_poll_coverage.covered_from
+                      THEN EXCLUDED.covered_from
+                      ELSE LEAST(sensor_series_poll_coverage.covered_from, EXCLUDED.covered_from)
+                  END,
+                  covered_until = GREATEST(sensor_series_poll_coverage.covered_until, EXCLUDED.covered_until),
+                  updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SensorSeriesJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Bloc brut (une heure) : statistiques + mesures compressees. */
+    public record BlockRow(long blockStart, int sampleCount, long firstTs, long lastTs,
+                           double minValue, double maxValue, byte[] payload) {
+    }
+
+    /** Intervalle polle sans trou [coveredFrom, coveredUntil] (epoch secondes). */
+    public record PollCoverageRow(long coveredFrom, long coveredUntil) {
+    }
+
+    /** Agregat d'un bucket (1 min / 15 min / 1 h). */
+    public record RollupRow(long bucketStart, int sampleCount, double minValue, double maxValue,
+                            double sumValue, double lastValue) {
+    }
+
+    public Optional<BlockRow> findBlock(SeriesKey key, long blockStart) {
+        List<BlockRow> rows = jdbcTemplate.query(
+                "SELECT block_start, sample_count, first_ts, last_ts, min_value, max_value, payload "
+                        + "FROM sensor_series_blocks WHERE " + SERIES_PREDICATE + " AND block_start = ? FOR UPDATE",
+                (rs, i) -> new BlockRow(rs.getLong(1), rs.getInt(2), rs.getLong(3), rs.getLong(4),
+                        rs.getDouble(5), rs.getDouble(6), rs.getBytes(7)),
+                key.sourceType(), key.sourceId(), key.metric(), blockStart);
+        return rows.stream().findFirst();
+    }
+
+    /** Blocs dont la plage [first_ts, last_ts] recoupe [fromTs, toTs), par ordre chronologique. */
+    public List<BlockRow> findBlocks(SeriesKey key, long fromTs, long toTs) {
+        return jdbcTemplate.query(
+                "SELECT block_start, sample_count, first_ts, last_ts, min_value, max_value, payload "
+                        + "FROM sensor_series_blocks WHERE " + SERIES_PREDICATE
+                        + " AND last_ts >= ? AND first_ts < ? ORDER BY block_start",
+                (rs, i) -> new BlockRow(rs.getLong(1), rs.getInt(2), rs.getLong(3), rs.getLong(4),
+                        rs.getDouble(5), rs.getDouble(6), rs.getBytes(7)),
+                key.sourceType(), key.sourceId(), key.metric(), fromTs, toTs);
+    }
+
+    public void upsertBlock(SeriesKey key, BlockRow block) {
+        jdbcTemplate.update(UPSERT_BLOCK_SQL,
+                key.organizationId(), key.sourceType(), key.sourceId(), key.metric(), block.blockStart(),
+                block.sampleCount(), block.firstTs(), block.lastTs(), block.minValue(), block.maxValue(),
+                block.payload());
+    }
+
+    public void upsertRollups(SeriesKey key, String resolution, List<RollupRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rows, rows.size(),
+                (PreparedStatement ps, RollupRow r) -> {
+                    ps.setLong(1, key.organizationId());
+                    ps.setString(2, key.sourceType());
+                    ps.setLong(3, key.sourceId());
+                    ps.setString(4, key.metric());
+                    ps.setString(5, resolution);
+                    ps.setLong(6, r.bucketStart());
+                    ps.setInt(7, r.sampleCount());
+                    ps.setDouble(8, r.minValue());
+                    ps.setDouble(9, r.maxValue());
+                    ps.setDouble(10, r.sumValue());
+                    ps.setDouble(11, r.lastValue());
+                });
+    }
+
+    public List<RollupRow> findRollups(SeriesKey key, String resolution, long fromTs, long toTs) {
+        return jdbcTemplate.query(
+                "SELECT bucket_start, sample_count, min_value, max_value, sum_value, last_value "
+                        + "FROM sensor_series_rollups WHERE " + SERIES_PREDICATE
+                        + " AND resolution = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                (rs, i) -> new RollupRow(rs.getLong(1), rs.getInt(2), rs.getDouble(3), rs.getDouble(4),
+                        rs.getDouble(5), rs.getDouble(6)),
+                key.sourceType(), key.sourceId(), key.metric(), resolution, fromTs, toTs);
+    }
+
+    public Optional<PollCoverageRow> findPollCoverage(SeriesKey key) {
+        List<PollCoverageRow> rows = jdbcTemplate.query(
+                "SELECT covered_from, covered_until FROM sensor_series_poll_coverage WHERE " + SERIES_PREDICATE,
+                (rs, i) -> new PollCoverageRow(rs.getLong(1), rs.getLong(2)),
+                key.sourceType(), key.sourceId(), key.metric());
+        return rows.stream().findFirst();
+    }
+
+    /** Enregistre un poll reussi de [fromTs, untilTs] (prolonge ou remplace l'intervalle couvert). */
+    public void recordPoll(SeriesKey key, long fromTs, long untilTs) {
+        jdbcTemplate.update(RECORD_POLL_SQL,
+                key.organizationId(), key.sourceType(), key.sourceId(), key.metric(), fromTs, untilTs);
+    }
+
+    public int deletePollCoverageBefore(long coveredUntil) {
+        return jdbcTemplate.update("DELETE FROM sensor_series_poll_coverage WHERE covered_until < ?", coveredUntil);
+    }
+
+    public int deleteBlocksBefore(long blockStart) {
+        return jdbcTemplate.update("DELETE FROM sensor_series_blocks WHERE block_start < ?", blockStart);
+    }
+
+    public int deleteRollupsBefore(String resolution, long bucketStart) {
+        return jdbcTemplate.update(
+                "DELETE FROM sensor_series_rollups WHERE resolution = ? AND bucket_start < ?",
+                resolution, bucketStart);
+    }
+}
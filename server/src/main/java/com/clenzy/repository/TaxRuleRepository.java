@@ -1,8 +1,11 @@
 package com.clenzy.repository;
 
+import com.clenzy.config.HibernateCacheRegions;
 import com.clenzy.model.TaxRule;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +16,10 @@ import java.util.Optional;
 @Repository
 public interface TaxRuleRepository extends JpaRepository<TaxRule, Long> {
 
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = HibernateCacheRegions.QUERY_REFERENCE)
+    })
     List<TaxRule> findByCountryCode(String countryCode);
 
     /**
@@ -24,6 +31,10 @@ public interface TaxRuleRepository extends JpaRepository<TaxRule, Long> {
            "AND t.effectiveFrom <= :date " +
            "AND (t.effectiveTo IS NULL OR t.effectiveTo >= :date) " +
            "ORDER BY t.effectiveFrom DESC")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = HibernateCacheRegions.QUERY_REFERENCE)
+    })
     List<TaxRule> findApplicableRules(
         @Param("countryCode") String countryCode,
         @Param("taxCategory") String taxCategory,
@@ -6,10 +6,8 @@ import com.clenzy.model.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -44,24 +42,15 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<User> findByStatusAndRoleInAndKeycloakIdIsNotNullOrderByFirstNameAscLastNameAsc(UserStatus status, List<UserRole> roles);
     
     @Query("SELECT u FROM User u WHERE u.role IN :roles AND u.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<User> findByRoleIn(@Param("roles") List<UserRole> roles, @Param("orgId") Long orgId);
     
     @Query("SELECT u.id, u.firstName, u.lastName, u.email, u.role FROM User u WHERE u.role IN :roles AND u.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<Object[]> findManagersAndAdminsData(@Param("roles") List<UserRole> roles, @Param("orgId") Long orgId);
     
     /**
      * Requête optimisée pour récupérer les utilisateurs avec leurs équipes
      */
     @Query("SELECT u FROM User u WHERE u.role IN :roles AND u.organizationId = :orgId")
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
     List<User> findByRoleInWithTeams(@Param("roles") List<UserRole> roles, @Param("orgId") Long orgId);
 
     List<User> findByOrganizationId(Long organizationId);
@@ -0,0 +1,141 @@
+package com.clenzy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code wallet_balances} (running balance per wallet) and
+ * {@code wallet_balance_checkpoints} (immutable "balance as of entry N" snapshots).
+ *
+ * <p>Plain JDBC on purpose: the head row is read {@code FOR UPDATE} and bumped in the
+ * same transaction as the ledger insert, and the signed sums run as single
+ * aggregate statements over the {@code (wallet_id, id)} index.</p>
+ */
+@Repository
+public class WalletBalanceJdbcRepository {
+
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN entry_type = 'CREDIT' THEN amount ELSE -amount END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WalletBalanceJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Running balance of a wallet, as of {@code lastEntryId}. */
+    public record BalanceHead(Long walletId, BigDecimal balance, long lastEntryId, long entryCount) {
+    }
+
+    /** Immutable checkpoint: balance of the wallet including every entry up to {@code lastEntryId}. */
+    public record Checkpoint(Long id, Long walletId, long lastEntryId, BigDecimal balance, long entryCount) {
+    }
+
+    /**
+     * Locks the head row of a wallet for the current transaction, creating it from the
+     * ledger first if the wallet has none yet (wallet created after the backfill).
+     */
+    public BalanceHead lockHead(Long walletId) {
+        jdbcTemplate.update("""
+                INSERT INTO wallet_balances (wallet_id, balance, last_entry_id, entry_count)
+                SELECT ?, COALESCE(SUM(%s), 0), COALESCE(MAX(id), 0), COUNT(id)
+                FROM ledger_entries WHERE wallet_id = ?
+                ON CONFLICT (wallet_id) DO NOTHING
+                """.formatted(SIGNED_AMOUNT), walletId, walletId);
+        return jdbcTemplate.queryForObject(
+                "SELECT wallet_id, balance, last_entry_id, entry_count FROM wallet_balances "
+                        + "WHERE wallet_id = ? FOR UPDATE",
+                (rs, i) -> new BalanceHead(rs.getLong(1), rs.getBigDecimal(2), rs.getLong(3), rs.getLong(4)),
+                walletId);
+    }
+
+    /** Advances a head previously locked with {@link #lockHead} by one entry. */
+    public void advanceHead(Long walletId, BigDecimal balance, long lastEntryId) {
+        jdbcTemplate.update(
+                "UPDATE wallet_balances SET balance = ?, last_entry_id = ?, entry_count = entry_count + 1, "
+                        + "updated_at = now() WHERE wallet_id = ?",
+                balance, lastEntryId, walletId);
+    }
+
+    public Optional<BalanceHead> findHead(Long walletId) {
+        return jdbcTemplate.query(
+                "SELECT wallet_id, balance, last_entry_id, entry_count FROM wallet_balances WHERE wallet_id = ?",
+                (rs, i) -> new BalanceHead(rs.getLong(1), rs.getBigDecimal(2), rs.getLong(3), rs.getLong(4)),
+                walletId).stream().findFirst();
+    }
+
+    /** Latest checkpoint at or before {@code entryId}. */
+    public Optional<Checkpoint> findCheckpointAtOrBefore(Long walletId, long entryId) {
+        return jdbcTemplate.query(
+                "SELECT id, wallet_id, last_entry_id, balance, entry_count FROM wallet_balance_checkpoints "
+                        + "WHERE wallet_id = ? AND last_entry_id <= ? ORDER BY last_entry_id DESC LIMIT 1",
+                (rs, i) -> new Checkpoint(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4),
+                        rs.getLong(5)),
+                walletId, entryId).stream().findFirst();
+    }
+
+    /** Signed sum (credits - debits) of the entries with {@code afterEntryId < id <= upToEntryId}. */
+    public BigDecimal sumBetween(Long walletId, long afterEntryId, long upToEntryId) {
+        BigDecimal sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM ledger_entries "
+                        + "WHERE wallet_id = ? AND id > ? AND id <= ?",
+                BigDecimal.class, walletId, afterEntryId, upToEntryId);
+        return sum != null ? sum : BigDecimal.ZERO;
+    }
+
+    public void insertCheckpoint(BalanceHead head) {
+        jdbcTemplate.update(
+                "INSERT INTO wallet_balance_checkpoints (wallet_id, last_entry_id, balance, entry_count) "
+                        + "VALUES (?, ?, ?, ?) ON CONFLICT (wallet_id, last_entry_id) DO NOTHING",
+                head.walletId(), head.lastEntryId(), head.balance(), head.entryCount());
+    }
+
+    /**
+     * Heads with at least {@code minEntries} entries past their latest checkpoint
+     * (or no checkpoint at all).
+     */
+    public List<BalanceHead> findHeadsDueForCheckpoint(long minEntries) {
+        return jdbcTemplate.query("""
+                SELECT b.wallet_id, b.balance, b.last_entry_id, b.entry_count
+                FROM wallet_balances b
+                LEFT JOIN LATERAL (
+                    SELECT c.entry_count FROM wallet_balance_checkpoints c
+                    WHERE c.wallet_id = b.wallet_id ORDER BY c.last_entry_id DESC LIMIT 1
+                ) last ON true
+                WHERE b.entry_count - COALESCE(last.entry_count, 0) >= ?
+                """,
+                (rs, i) -> new BalanceHead(rs.getLong(1), rs.getBigDecimal(2), rs.getLong(3), rs.getLong(4)),
+                minEntries);
+    }
+
+    /** Checkpoints not verified yet, oldest first. */
+    public List<Checkpoint> findUnverifiedCheckpoints(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, wallet_id, last_entry_id, balance, entry_count FROM wallet_balance_checkpoints "
+                        + "WHERE verified_at IS NULL ORDER BY id LIMIT ?",
+                (rs, i) -> new Checkpoint(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4),
+                        rs.getLong(5)),
+                limit);
+    }
+
+    /** Result of a full recount of the ledger. */
+    public record Recount(BigDecimal balance, long entryCount) {
+    }
+
+    /** Full recount of a wallet, every entry up to {@code upToEntryId}. */
+    public Recount recount(Long walletId, long upToEntryId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0), COUNT(id) FROM ledger_entries "
+                        + "WHERE wallet_id = ? AND id <= ?",
+                (rs, i) -> new Recount(rs.getBigDecimal(1), rs.getLong(2)),
+                walletId, upToEntryId);
+    }
+
+    public void markVerified(Long checkpointId) {
+        jdbcTemplate.update("UPDATE wallet_balance_checkpoints SET verified_at = now() WHERE id = ?", checkpointId);
+    }
+}
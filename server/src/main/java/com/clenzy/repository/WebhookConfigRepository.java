@@ -3,9 +3,12 @@ package com.clenzy.repository;
 import com.clenzy.model.WebhookConfig;
 import com.clenzy.model.WebhookConfig.WebhookStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,26 @@ public interface WebhookConfigRepository extends JpaRepository<WebhookConfig, Lo
 
     @Query("SELECT w FROM WebhookConfig w WHERE w.status = :status AND w.organizationId = :orgId")
     List<WebhookConfig> findByStatus(@Param("status") WebhookStatus status, @Param("orgId") Long orgId);
+
+    // ── Resultat de livraison (WebhookDeliveryService) ──────────────────────
+    // UPDATE cibles : un save() de l'entite lue avant l'appel HTTP ecrasait les echecs
+    // comptes en parallele et les modifications admin faites pendant l'appel.
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookConfig w SET w.failureCount = 0, w.lastTriggeredAt = :at WHERE w.id = :id")
+    int recordDeliverySuccess(@Param("id") Long id, @Param("at") Instant at);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookConfig w SET w.failureCount = COALESCE(w.failureCount, 0) + 1, "
+         + "w.lastFailureAt = :at, w.lastFailureReason = :reason WHERE w.id = :id")
+    int recordDeliveryFailure(@Param("id") Long id, @Param("at") Instant at, @Param("reason") String reason);
+
+    /** Desactive l'abonne s'il est encore ACTIF ; 1 = cet appel l'a desactive (a notifier une seule fois). */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookConfig w SET w.status = com.clenzy.model.WebhookConfig$WebhookStatus.FAILED "
+         + "WHERE w.id = :id AND w.status = com.clenzy.model.WebhookConfig$WebhookStatus.ACTIVE")
+    int disableIfActive(@Param("id") Long id);
 }
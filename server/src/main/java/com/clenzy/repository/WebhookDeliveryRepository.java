@@ -6,20 +6,47 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
 
-    /** Livraisons dues pour (re)tentative — cross-org, utilisee par le scheduler. */
+    /** Livraisons dues pour (re)tentative, hors bail en cours — cross-org, utilisee par le scheduler. */
     @Query("SELECT d FROM WebhookDelivery d WHERE d.status IN (com.clenzy.model.WebhookDelivery$DeliveryStatus.PENDING, "
-         + "com.clenzy.model.WebhookDelivery$DeliveryStatus.RETRYING) AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt ASC")
+         + "com.clenzy.model.WebhookDelivery$DeliveryStatus.RETRYING) AND d.nextAttemptAt <= :now "
+         + "AND (d.claimedUntil IS NULL OR d.claimedUntil < :now) ORDER BY d.nextAttemptAt ASC")
     List<WebhookDelivery> findDue(@Param("now") Instant now, Pageable pageable);
 
+    /**
+     * Reserve pour ce noeud (bail jusqu'a {@code until}) celles des livraisons {@code ids} encore
+     * a livrer et sans bail en cours. SKIP LOCKED : deux noeuds visant la meme ligne ne
+     * s'attendent pas, un seul l'obtient. Transaction courte autonome, AVANT l'appel HTTP.
+     *
+     * @return ids reserves (seuls ceux-la peuvent etre envoyes)
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE webhook_deliveries SET claimed_until = :until
+            WHERE id IN (SELECT id FROM webhook_deliveries
+                         WHERE id IN (:ids)
+                           AND status IN ('PENDING', 'RETRYING')
+                           AND (claimed_until IS NULL OR claimed_until < :now)
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claim(@Param("ids") Collection<Long> ids, @Param("now") Instant now, @Param("until") Instant until);
+
     /** Journal d'un abonne (org-scope explicite), pour l'UI. */
     @Query("SELECT d FROM WebhookDelivery d WHERE d.webhookId = :webhookId AND d.organizationId = :orgId ORDER BY d.createdAt DESC")
     List<WebhookDelivery> findByWebhookId(@Param("webhookId") Long webhookId, @Param("orgId") Long orgId, Pageable pageable);
 
+    /** Backlog de retry par abonne, cross-org : {@code [webhookId, count]} (metrique du moteur). */
+    @Query("SELECT d.webhookId, COUNT(d) FROM WebhookDelivery d WHERE d.status = "
+         + "com.clenzy.model.WebhookDelivery$DeliveryStatus.RETRYING GROUP BY d.webhookId")
+    List<Object[]> countRetryBacklogByWebhook();
+
     long countByOrganizationIdAndStatus(Long organizationId, DeliveryStatus status);
 }
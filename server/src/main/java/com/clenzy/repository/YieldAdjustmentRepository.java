@@ -4,8 +4,12 @@ import com.clenzy.model.YieldAdjustment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface YieldAdjustmentRepository extends JpaRepository<YieldAdjustment, Long> {
 
@@ -16,6 +20,15 @@ public interface YieldAdjustmentRepository extends JpaRepository<YieldAdjustment
      */
     boolean existsByPropertyIdAndAdjustmentDayAndSkipReasonIsNull(Long propertyId, LocalDate adjustmentDay);
 
+    /**
+     * Variante batch du cap journalier : biens de {@code propertyIds} ayant déjà
+     * des lignes EFFECTIVES ce jour calendaire (une requête pour toute l'org).
+     */
+    @Query("SELECT DISTINCT a.propertyId FROM YieldAdjustment a WHERE a.propertyId IN :propertyIds "
+            + "AND a.adjustmentDay = :day AND a.skipReason IS NULL")
+    List<Long> findPropertyIdsEvaluatedOn(@Param("propertyIds") Collection<Long> propertyIds,
+                                          @Param("day") LocalDate day);
+
     /**
      * Cap journalier à l'apply HITL : vrai si un ajustement a déjà été APPLIQUÉ
      * sur ce bien ce jour calendaire (les lignes SUGGESTED du scan du jour ne
@@ -1,6 +1,7 @@
 package com.clenzy.scheduler;
 
 import com.clenzy.repository.OrganizationRepository;
+import com.clenzy.service.dashboard.ActionItemChangeTracker;
 import com.clenzy.service.dashboard.ActionItemReconciler;
 import com.clenzy.tenant.TenantScopedExecutor;
 import org.slf4j.Logger;
@@ -17,8 +18,15 @@ import java.util.List;
  *
  * <p>C'est ce balayage qui porte tout le coût de découverte — les vingt-cinq
  * requêtes qui partaient auparavant à <b>chaque affichage</b> du tableau de
- * bord. Elles partent désormais une fois toutes les cinq minutes, hors du
- * chemin de l'utilisateur, et l'écran ne fait plus qu'une lecture indexée.</p>
+ * bord. Elles partent désormais hors du chemin de l'utilisateur, et l'écran ne
+ * fait plus qu'une lecture indexée.</p>
+ *
+ * <p><b>Deux cadences.</b> Chaque minute, une passe incrémentale ne réévalue
+ * que les sujets signalés par l'outbox ({@link ActionItemChangeTracker}). Le
+ * balayage complet, lui, devient un filet de basse fréquence : il rattrape ce
+ * qu'aucun événement ne signale — une date qui passe, une source sans
+ * dépendance déclarée. Les deux partagent le même verrou : jamais deux
+ * écritures concurrentes sur la file d'une organisation.</p>
  *
  * <p><b>Contexte tenant explicite</b> : hors requête HTTP, {@code TenantFilter}
  * ne s'exécute pas et le filtre Hibernate d'isolation reste inactif. Sans
@@ -33,25 +41,28 @@ public class ActionItemSweepScheduler {
 
     private final OrganizationRepository organizationRepository;
     private final ActionItemReconciler reconciler;
+    private final ActionItemChangeTracker changeTracker;
     private final TenantScopedExecutor tenantScopedExecutor;
 
     public ActionItemSweepScheduler(OrganizationRepository organizationRepository,
                                     ActionItemReconciler reconciler,
+                                    ActionItemChangeTracker changeTracker,
                                     TenantScopedExecutor tenantScopedExecutor) {
         this.organizationRepository = organizationRepository;
         this.reconciler = reconciler;
+        this.changeTracker = changeTracker;
         this.tenantScopedExecutor = tenantScopedExecutor;
     }
 
     /**
-     * Toutes les cinq minutes.
+     * Balayage complet, toutes les trente minutes par défaut
+     * ({@code clenzy.action-items.full-sweep-interval-seconds}).
      *
-     * <p>Le délai borne la fraîcheur : une anomalie née d'un changement de
-     * données met au plus cinq minutes à apparaître. Les actions apprises par
-     * webhook, elles, sont écrites immédiatement — elles ne dépendent pas de ce
-     * balayage.</p>
+     * <p>Le délai borne la fraîcheur de ce que l'outbox ne signale pas. Les
+     * actions apprises par webhook, elles, sont écrites immédiatement — elles ne
+     * dépendent pas de ce balayage.</p>
      */
-    @Scheduled(fixedDelay = 300_000)
+    @Scheduled(fixedDelayString = "#{${clenzy.action-items.full-sweep-interval-seconds:1800} * 1000}")
     @SchedulerLock(name = "action-item-sweep", lockAtMostFor = "PT15M")
     public void sweep() {
         final List<Long> orgIds = organizationRepository.findAllIds();
@@ -70,4 +81,39 @@ public class ActionItemSweepScheduler {
         }
         log.debug("Balayage des actions termine : {}/{} organisation(s)", swept, orgIds.size());
     }
+
+    /**
+     * Passe incrémentale, chaque minute par défaut
+     * ({@code clenzy.action-items.incremental-interval-seconds}).
+     *
+     * <p>Le curseur avance même si une organisation échoue : ses sujets seront
+     * repris par le balayage complet, et une organisation en panne ne doit pas
+     * bloquer la fraîcheur de toutes les autres.</p>
+     *
+     * <p>Verrou distinct du balayage complet : une passe de trente minutes ne
+     * doit pas suspendre la fraîcheur minute par minute. Si les deux créent la
+     * même action en même temps, l'une échoue sur la contrainte d'unicité :
+     * l'autre l'a écrite, rien n'est perdu.</p>
+     */
+    @Scheduled(fixedDelayString = "#{${clenzy.action-items.incremental-interval-seconds:60} * 1000}")
+    @SchedulerLock(name = "action-item-sweep-changes", lockAtMostFor = "PT15M")
+    public void sweepChanges() {
+        final ActionItemChangeTracker.Batch batch = changeTracker.poll();
+        int reconciled = 0;
+        for (var entry : batch.dirtyByOrg().entrySet()) {
+            final Long orgId = entry.getKey();
+            try {
+                tenantScopedExecutor.runAsOrganization(orgId,
+                        () -> reconciler.reconcileDirty(orgId, entry.getValue()));
+                reconciled++;
+            } catch (RuntimeException e) {
+                log.error("Passe incrementale des actions en echec pour org={}", orgId, e);
+            }
+        }
+        changeTracker.advance(batch);
+        if (!batch.dirtyByOrg().isEmpty()) {
+            log.debug("Passe incrementale des actions : {}/{} organisation(s)",
+                    reconciled, batch.dirtyByOrg().size());
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Rattrapage nocturne de l'agregat {@code ai_token_usage_daily} : la veille est
+ * reconstruite depuis le detail {@code ai_token_usage}, ce qui efface la derive
+ * d'un flush write-behind perdu (crash d'instance) — voir
+ * {@link com.clenzy.service.ai.AiTokenUsageDailyBuffer}.
+ */
+@Service
+public class AiTokenUsageRollupScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTokenUsageRollupScheduler.class);
+
+    private final AiTokenUsageDailyJdbcRepository dailyRepository;
+
+    public AiTokenUsageRollupScheduler(AiTokenUsageDailyJdbcRepository dailyRepository) {
+        this.dailyRepository = dailyRepository;
+    }
+
+    /** Tous les jours a 3h50 — bien apres le dernier flush de la veille. */
+    @Scheduled(cron = "0 50 3 * * *")
+    @SchedulerLock(name = "ai-token-usage-rollup", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void rebuildYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        try {
+            int rows = dailyRepository.rebuildDay(yesterday);
+            log.info("AiTokenUsageRollupScheduler: agregat du {} reconstruit ({} lignes)", yesterday, rows);
+        } catch (Exception e) {
+            log.error("Erreur reconstruction de l'agregat tokens IA du {}: {}", yesterday, e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.clenzy.scheduler;
 
 import com.clenzy.model.ServiceRequest;
-import com.clenzy.model.WorkflowSettings;
 import com.clenzy.repository.ServiceRequestRepository;
-import com.clenzy.repository.WorkflowSettingsRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
 import com.clenzy.service.ServiceRequestService;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
 import org.slf4j.Logger;
@@ -29,16 +28,16 @@ public class AutoAssignScheduler {
     private static final Logger log = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
     private final ServiceRequestRepository serviceRequestRepository;
-    private final WorkflowSettingsRepository workflowSettingsRepository;
+    private final OrganizationSettingsProvider settingsProvider;
     private final ServiceRequestService serviceRequestService;
     private final SupervisionActivityService supervisionActivityService;
 
     public AutoAssignScheduler(ServiceRequestRepository serviceRequestRepository,
-                               WorkflowSettingsRepository workflowSettingsRepository,
+                               OrganizationSettingsProvider settingsProvider,
                                ServiceRequestService serviceRequestService,
                                SupervisionActivityService supervisionActivityService) {
         this.serviceRequestRepository = serviceRequestRepository;
-        this.workflowSettingsRepository = workflowSettingsRepository;
+        this.settingsProvider = settingsProvider;
         this.serviceRequestService = serviceRequestService;
         this.supervisionActivityService = supervisionActivityService;
     }
@@ -62,8 +61,7 @@ public class AutoAssignScheduler {
         for (Long orgId : orgIds) {
             try {
                 // Verifier si l'auto-assignation est activee pour cette org
-                WorkflowSettings ws = workflowSettingsRepository.findByOrganizationId(orgId).orElse(null);
-                if (ws != null && !ws.isAutoAssignInterventions()) {
+                if (!settingsProvider.workflow(orgId).autoAssignInterventions()) {
                     log.debug("AutoAssignScheduler: auto-assignation desactivee pour org={}", orgId);
                     continue;
                 }
@@ -0,0 +1,43 @@
+package com.clenzy.scheduler;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Exécute un traitement par org en parallèle, au plus {@code parallelism} orgs à la fois
+ * (threads virtuels), et rend la main quand TOUTES sont terminées — le verrou ShedLock du
+ * scheduler appelant couvre donc bien tout le run.
+ *
+ * <p>Chaque org tourne sur son propre thread : le contexte tenant posé par
+ * {@code TenantScopedExecutor} (ThreadLocal + Session liée) reste isolé par org. La borne
+ * protège le pool de connexions JDBC (une transaction ouverte par org en vol). Le
+ * traitement d'une org gère ses propres erreurs ; une exception qui s'en échapperait
+ * n'interrompt pas les autres.</p>
+ *
+ * <p>Sert aussi au polling fournisseur des capteurs ({@link NoiseAlertScheduler}) : une
+ * entrée par capteur, la borne limitant alors les appels sortants en vol.</p>
+ */
+final class BoundedOrganizationRunner {
+
+    private BoundedOrganizationRunner() {}
+
+    /** @param organizations une entrée par org (id, config...) */
+    static <T> void runAll(List<T> organizations, int parallelism, Consumer<T> perOrganization) {
+        final Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T organization : organizations) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        perOrganization.accept(organization);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } // close() attend la fin de toutes les orgs soumises
+    }
+}
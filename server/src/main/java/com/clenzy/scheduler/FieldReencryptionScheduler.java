@@ -0,0 +1,197 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.config.EncryptedFieldConverter;
+import com.clenzy.exception.FieldDecryptionException;
+import com.clenzy.repository.EncryptedColumnJdbcRepository;
+import com.clenzy.repository.EncryptedColumnJdbcRepository.StoredValue;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Migration en tache de fond des colonnes {@code @Convert(EncryptedFieldConverter)} vers
+ * l'enveloppe AES-GCM courante ("FEv{n}:") : valeurs Jasypt legacy et enveloppes d'une
+ * version de cle precedente (rotation).
+ *
+ * <p>Meme principe que {@code SecretColumnEncryptionBackfill} (SQL natif via JDBC, le
+ * converter n'est jamais declenche), mais en continu et borne au lieu d'un passage
+ * unique au boot : les tables PII (guests, users, online_checkins...) sont trop grosses
+ * pour retarder le demarrage.</p>
+ * <ul>
+ *   <li>lots de {@value #BATCH_SIZE} en pagination keyset sur la PK, curseur par colonne
+ *       conserve entre deux executions ;</li>
+ *   <li>au plus {@code max-rows-per-run} lignes examinees par execution ;</li>
+ *   <li>re-ecriture en compare-and-set : une ecriture applicative concurrente gagne ;</li>
+ *   <li>une valeur indechiffrable n'est jamais re-ecrite (comptee, loggee sans la valeur).</li>
+ * </ul>
+ *
+ * <p>Une colonne parcourue jusqu'au bout est marquee terminee pour le prefixe courant :
+ * les executions suivantes ne la relisent plus (toutes les nouvelles ecritures sont deja
+ * au format courant). Un changement de {@code key-version} relance naturellement la
+ * migration. Etat en memoire : apres un redemarrage, un passage de verification a vide
+ * (index PK, filtre {@code NOT LIKE}) refait le constat.</p>
+ */
+@Component
+public class FieldReencryptionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FieldReencryptionScheduler.class);
+
+    static final int BATCH_SIZE = 500;
+
+    /** (table, colonne) portant {@code @Convert(converter = EncryptedFieldConverter.class)}. */
+    record EncryptedColumn(String table, String column) {}
+
+    static final List<EncryptedColumn> COLUMNS = List.of(
+            new EncryptedColumn("guests", "email"),
+            new EncryptedColumn("guests", "phone"),
+            new EncryptedColumn("guests", "first_name"),
+            new EncryptedColumn("guests", "last_name"),
+            new EncryptedColumn("users", "first_name"),
+            new EncryptedColumn("users", "last_name"),
+            new EncryptedColumn("users", "email"),
+            new EncryptedColumn("users", "phone_number"),
+            new EncryptedColumn("online_checkins", "first_name"),
+            new EncryptedColumn("online_checkins", "last_name"),
+            new EncryptedColumn("online_checkins", "email"),
+            new EncryptedColumn("online_checkins", "phone"),
+            new EncryptedColumn("online_checkins", "id_document_number"),
+            new EncryptedColumn("online_checkins", "maiden_name"),
+            new EncryptedColumn("online_checkins", "birth_date"),
+            new EncryptedColumn("online_checkins", "birth_place"),
+            new EncryptedColumn("online_checkins", "nationality"),
+            new EncryptedColumn("online_checkins", "residence_address"),
+            new EncryptedColumn("online_checkins", "residence_country"),
+            new EncryptedColumn("guest_declarations", "first_name"),
+            new EncryptedColumn("guest_declarations", "last_name"),
+            new EncryptedColumn("guest_declarations", "maiden_name"),
+            new EncryptedColumn("guest_declarations", "birth_date"),
+            new EncryptedColumn("guest_declarations", "birth_place"),
+            new EncryptedColumn("guest_declarations", "nationality"),
+            new EncryptedColumn("guest_declarations", "residence_address"),
+            new EncryptedColumn("guest_declarations", "residence_country"),
+            new EncryptedColumn("guest_declarations", "id_document_type"),
+            new EncryptedColumn("guest_declarations", "id_document_number"),
+            new EncryptedColumn("gdpr_consents", "ip_address"),
+            new EncryptedColumn("smart_lock_access_code", "code"),
+            new EncryptedColumn("check_in_instructions", "access_code"),
+            new EncryptedColumn("check_in_instructions", "wifi_password"),
+            new EncryptedColumn("check_in_instructions", "extra_access_codes"),
+            new EncryptedColumn("owner_payout_config", "iban"),
+            new EncryptedColumn("organizations", "sepa_debtor_iban"),
+            new EncryptedColumn("activity_affiliate_configs", "api_key"),
+            new EncryptedColumn("platform_ai_model", "api_key"),
+            new EncryptedColumn("org_ai_api_keys", "api_key"),
+            new EncryptedColumn("whatsapp_configs", "api_token"),
+            new EncryptedColumn("whatsapp_configs", "openwa_api_key"),
+            new EncryptedColumn("whatsapp_configs", "openwa_webhook_secret"),
+            new EncryptedColumn("marketing_integration", "api_key_encrypted"),
+            new EncryptedColumn("nuki_connections", "webhook_secret_encrypted")
+    );
+
+    private final EncryptedColumnJdbcRepository repository;
+    private final boolean enabled;
+    private final int maxRowsPerRun;
+
+    /** Dernier id traite par colonne (reprise au lot suivant). */
+    private final Map<EncryptedColumn, Long> cursors = new ConcurrentHashMap<>();
+    /** Colonnes entierement parcourues, avec le prefixe courant au moment du constat. */
+    private final Map<EncryptedColumn, String> completed = new ConcurrentHashMap<>();
+
+    public FieldReencryptionScheduler(
+            EncryptedColumnJdbcRepository repository,
+            @Value("${clenzy.security.field-encryption.reencrypt.enabled:true}") boolean enabled,
+            @Value("${clenzy.security.field-encryption.reencrypt.max-rows-per-run:20000}") int maxRowsPerRun) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxRowsPerRun = Math.max(BATCH_SIZE, maxRowsPerRun);
+    }
+
+    /** Resultat d'une execution (journalise, expose pour les tests). */
+    record RunStats(int scanned, int reencrypted, int conflicts, int failures) {}
+
+    @Scheduled(fixedDelayString = "#{${clenzy.security.field-encryption.reencrypt.interval-seconds:300} * 1000}",
+            initialDelayString = "#{${clenzy.security.field-encryption.reencrypt.interval-seconds:300} * 1000}")
+    @SchedulerLock(name = "field-reencryption", lockAtMostFor = "PT15M")
+    public void reencryptPending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RunStats stats = runOnce();
+            if (stats.reencrypted() > 0 || stats.failures() > 0) {
+                log.info("FieldReencryptionScheduler: {} valeur(s) re-chiffree(s), {} conflit(s), "
+                                + "{} echec(s) de dechiffrement sur {} ligne(s) examinee(s)",
+                        stats.reencrypted(), stats.conflicts(), stats.failures(), stats.scanned());
+            }
+        } catch (Exception e) {
+            log.error("Erreur migration du format de chiffrement des champs: {}", e.getMessage());
+        }
+    }
+
+    RunStats runOnce() {
+        final String prefix = EncryptedFieldConverter.currentEnvelopePrefix();
+        if (prefix == null) {
+            // Ecriture Jasypt (deploiement progressif) ou converter non initialise : rien a migrer.
+            return new RunStats(0, 0, 0, 0);
+        }
+        int budget = maxRowsPerRun;
+        int scanned = 0;
+        int reencrypted = 0;
+        int conflicts = 0;
+        int failures = 0;
+        for (EncryptedColumn col : COLUMNS) {
+            if (budget <= 0) {
+                break;
+            }
+            if (prefix.equals(completed.get(col))) {
+                continue;
+            }
+            try {
+                long afterId = cursors.getOrDefault(col, 0L);
+                while (budget > 0) {
+                    int limit = Math.min(BATCH_SIZE, budget);
+                    List<StoredValue> rows = repository.findPending(col.table(), col.column(), prefix, afterId, limit);
+                    for (StoredValue row : rows) {
+                        afterId = row.id();
+                        budget--;
+                        scanned++;
+                        if (!EncryptedFieldConverter.needsReencryption(row.value())) {
+                            continue;
+                        }
+                        try {
+                            String replacement = EncryptedFieldConverter.reencrypt(row.value());
+                            if (repository.compareAndSet(col.table(), col.column(), row.id(), row.value(), replacement)) {
+                                reencrypted++;
+                            } else {
+                                conflicts++;
+                            }
+                        } catch (FieldDecryptionException e) {
+                            failures++;
+                            log.error("Valeur indechiffrable laissee en place {}.{} id={}",
+                                    col.table(), col.column(), row.id());
+                        }
+                    }
+                    cursors.put(col, afterId);
+                    if (rows.size() < limit) {
+                        completed.put(col, prefix);
+                        cursors.remove(col);
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                // Non bloquant : table absente (env partiel) ou erreur transitoire ; les
+                // autres colonnes avancent, celle-ci reprend a son curseur au prochain passage.
+                log.warn("Re-chiffrement {}.{} interrompu (non bloquant): {}",
+                        col.table(), col.column(), e.getMessage());
+            }
+        }
+        return new RunStats(scanned, reencrypted, conflicts, failures);
+    }
+}
@@ -0,0 +1,47 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.service.LedgerCheckpointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler for wallet balance checkpoints: snapshots busy wallets every hour and
+ * verifies new checkpoints against a full ledger recount every night.
+ */
+@Component
+public class LedgerCheckpointScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerCheckpointScheduler.class);
+
+    private final LedgerCheckpointService checkpointService;
+
+    public LedgerCheckpointScheduler(LedgerCheckpointService checkpointService) {
+        this.checkpointService = checkpointService;
+    }
+
+    @Scheduled(cron = "0 40 * * * *")  // Every hour
+    @SchedulerLock(name = "ledger-checkpoint", lockAtMostFor = "PT15M")
+    public void checkpoint() {
+        try {
+            checkpointService.checkpointDueWallets();
+        } catch (Exception e) {
+            log.error("Ledger checkpoint run failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 20 3 * * *")  // Every night
+    @SchedulerLock(name = "ledger-checkpoint-verify", lockAtMostFor = "PT30M")
+    public void verify() {
+        try {
+            int mismatches = checkpointService.verifyCheckpoints();
+            if (mismatches > 0) {
+                log.error("Ledger verification: {} checkpoint(s) disagree with the ledger", mismatches);
+            }
+        } catch (Exception e) {
+            log.error("Ledger checkpoint verification failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.clenzy.scheduler;
 
-import com.clenzy.dto.noise.NoiseDataPointDto;
 import com.clenzy.model.NoiseAlert.AlertSource;
 import com.clenzy.model.NoiseAlertConfig;
 import com.clenzy.model.NoiseDevice;
@@ -11,14 +10,25 @@ import com.clenzy.service.NoiseAlertService;
 import com.clenzy.service.NoiseDeviceService;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
 import com.clenzy.service.agent.supervision.SupervisionSuggestionService;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tache planifiee qui verifie periodiquement les niveaux de bruit
@@ -26,31 +36,62 @@ import java.util.List;
  *
  * Les capteurs Minut sont geres en temps reel via webhook → Kafka.
  * Ce scheduler couvre les capteurs sans webhooks (polling).
+ *
+ * <p>Deux temps par run :</p>
+ * <ol>
+ *   <li><b>Polling</b> concurrent et borne ({@code clenzy.iot.poll-concurrency} appels
+ *       fournisseur en vol) : chaque capteur est interroge depuis la fin de son dernier poll
+ *       (au plus 1 h en arriere), les mesures sont versees au {@link SensorTimeSeriesStore} et
+ *       l'intervalle polle y est enregistre. Les mesures du webhook Minut n'avancent pas ce
+ *       curseur : elles ne prouvent pas que la periode precedente a ete recuperee.</li>
+ *   <li><b>Evaluation</b> sequentielle des capteurs ayant remonte des mesures : derniere
+ *       mesure, ou niveau tenu sur {@code sustainedMinutes} lu dans le store local — aucun
+ *       appel fournisseur supplementaire.</li>
+ * </ol>
  */
 @Service
 public class NoiseAlertScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(NoiseAlertScheduler.class);
 
+    /** Profondeur max de rattrapage au premier poll (ou apres une longue coupure). */
+    private static final Duration MAX_LOOKBACK = Duration.ofHours(1);
+
     private final NoiseAlertConfigRepository configRepository;
     private final NoiseDeviceRepository deviceRepository;
     private final NoiseDeviceService deviceService;
     private final NoiseAlertService alertService;
     private final SupervisionActivityService supervisionActivityService;
     private final SupervisionSuggestionService supervisionSuggestionService;
+    private final SensorTimeSeriesStore timeSeriesStore;
+    private final Clock clock;
+    private final int pollConcurrency;
 
     public NoiseAlertScheduler(NoiseAlertConfigRepository configRepository,
                                 NoiseDeviceRepository deviceRepository,
                                 NoiseDeviceService deviceService,
                                 NoiseAlertService alertService,
                                 SupervisionActivityService supervisionActivityService,
-                                SupervisionSuggestionService supervisionSuggestionService) {
+                                SupervisionSuggestionService supervisionSuggestionService,
+                                SensorTimeSeriesStore timeSeriesStore,
+                                Clock clock,
+                                @Value("${clenzy.iot.poll-concurrency:8}") int pollConcurrency) {
         this.configRepository = configRepository;
         this.deviceRepository = deviceRepository;
         this.deviceService = deviceService;
         this.alertService = alertService;
         this.supervisionActivityService = supervisionActivityService;
         this.supervisionSuggestionService = supervisionSuggestionService;
+        this.timeSeriesStore = timeSeriesStore;
+        this.clock = clock;
+        this.pollConcurrency = pollConcurrency;
+    }
+
+    /** Un capteur a poller, rattache a la config (org, logement, seuils) qui le couvre. */
+    private record Target(NoiseAlertConfig config, NoiseDevice device) {
+        SeriesKey key() {
+            return SeriesKey.noise(config.getOrganizationId(), device.getId());
+        }
     }
 
     /**
@@ -62,63 +103,92 @@ public class NoiseAlertScheduler {
         List<NoiseAlertConfig> configs = configRepository.findAllEnabledWithTimeWindows();
         if (configs.isEmpty()) return;
 
-        int checked = 0;
-        int alerts = 0;
         int errors = 0;
-
+        List<Target> targets = new ArrayList<>();
         for (NoiseAlertConfig config : configs) {
             try {
-                int result = processConfig(config);
-                checked++;
-                if (result > 0) alerts += result;
+                deviceRepository.findByPropertyIdAndStatus(config.getPropertyId(), DeviceStatus.ACTIVE)
+                    .forEach(device -> targets.add(new Target(config, device)));
             } catch (Exception e) {
                 errors++;
                 log.error("Erreur verification bruit pour property={} org={}: {}",
                     config.getPropertyId(), config.getOrganizationId(), e.getMessage());
             }
         }
+        if (targets.isEmpty()) return;
+
+        Instant now = clock.instant();
+        Map<Target, List<Sample>> polled = new ConcurrentHashMap<>();
+        BoundedOrganizationRunner.runAll(targets, pollConcurrency, target -> {
+            List<Sample> samples = poll(target, now);
+            if (!samples.isEmpty()) {
+                polled.put(target, samples);
+            }
+        });
 
-        if (checked > 0) {
-            log.debug("NoiseAlertScheduler: {} configs verifiees, {} alertes, {} erreurs",
-                checked, alerts, errors);
+        int alerts = 0;
+        for (Target target : targets) {
+            List<Sample> samples = polled.get(target);
+            if (samples == null) continue;
+            try {
+                if (evaluate(target, samples, now)) alerts++;
+            } catch (Exception e) {
+                errors++;
+                log.warn("Erreur evaluation bruit device={}: {}", target.device().getId(), e.getMessage());
+            }
         }
-    }
 
-    private int processConfig(NoiseAlertConfig config) {
-        List<NoiseDevice> devices = deviceRepository
-            .findByPropertyIdAndStatus(config.getPropertyId(), DeviceStatus.ACTIVE);
-
-        if (devices.isEmpty()) return 0;
-
-        int alertCount = 0;
-        String endAt = Instant.now().toString();
-        String startAt = Instant.now().minusSeconds(300).toString(); // Derniere 5 min
+        log.debug("NoiseAlertScheduler: {} capteurs polles ({} avec mesures), {} alertes, {} erreurs",
+            targets.size(), polled.size(), alerts, errors);
+    }
 
-        for (NoiseDevice device : devices) {
-            try {
-                List<NoiseDataPointDto> dataPoints = deviceService.getNoiseData(
-                    device.getUserId(), device.getId(), startAt, endAt);
-
-                if (dataPoints.isEmpty()) continue;
-
-                // Evaluer le dernier point
-                NoiseDataPointDto latest = dataPoints.get(dataPoints.size() - 1);
-                var alert = alertService.evaluateNoiseLevel(
-                    config.getOrganizationId(),
-                    config.getPropertyId(),
-                    device.getId(),
-                    latest.getDecibels(),
-                    AlertSource.SCHEDULER
-                );
-                if (alert != null) {
-                    alertCount++;
-                    recordConstellationActivity(config, alert.getId());
-                }
-            } catch (Exception e) {
-                log.warn("Erreur lecture capteur device={}: {}", device.getId(), e.getMessage());
+    /**
+     * Interroge le fournisseur depuis la fin du dernier poll et verse le resultat au store.
+     * Best-effort : un capteur en erreur est ignore pour ce run (les autres continuent).
+     */
+    private List<Sample> poll(Target target, Instant now) {
+        NoiseDevice device = target.device();
+        try {
+            Instant floor = now.minus(MAX_LOOKBACK);
+            Instant since = timeSeriesStore.polledUntil(target.key())
+                .map(last -> last.plusSeconds(1))
+                .filter(s -> s.isAfter(floor))
+                .orElse(floor);
+            List<Sample> samples = deviceService.pollSamples(device, since, now);
+            if (!samples.isEmpty()) {
+                timeSeriesStore.append(target.key(), samples);
             }
+            timeSeriesStore.recordPolled(target.key(), since, now);
+            return samples;
+        } catch (Exception e) {
+            log.warn("Erreur lecture capteur device={}: {}", device.getId(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    /** @return true si une alerte a ete creee */
+    private boolean evaluate(Target target, List<Sample> samples, Instant now) {
+        NoiseAlertConfig config = target.config();
+        double level;
+        if (config.getSustainedMinutes() > 0) {
+            OptionalDouble sustained = timeSeriesStore.sustainedLevel(
+                target.key(), Duration.ofMinutes(config.getSustainedMinutes()), now);
+            if (sustained.isEmpty()) return false; // historique local encore insuffisant
+            level = sustained.getAsDouble();
+        } else {
+            level = samples.stream().max(Comparator.comparingLong(Sample::epochSecond)).orElseThrow().value();
         }
-        return alertCount;
+
+        var alert = alertService.evaluateNoiseLevel(
+            config.getOrganizationId(),
+            config.getPropertyId(),
+            target.device().getId(),
+            level,
+            AlertSource.SCHEDULER
+        );
+        if (alert == null) return false;
+        recordConstellationActivity(config, alert.getId());
+        return true;
     }
 
     /**
@@ -7,8 +7,13 @@ import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.automation.AutomationEngine;
 import com.clenzy.service.automation.AutomationSubject;
 import com.clenzy.service.automation.SendOwnerStatementExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Service;
@@ -17,6 +22,10 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Capteur temporel du releve proprietaire mensuel automatique
@@ -33,6 +42,14 @@ import java.util.Map;
  * <p>Le sujet porte la periode (mois civil precedent, calcule en Europe/Paris
  * comme le cron) pour que l'executeur envoie le bon mois meme en cas
  * d'execution differee.</p>
+ *
+ * <p>Les declenchements (un par proprietaire, chacun dans sa transaction, envoi
+ * d'email compris) partent en parallele sur des threads virtuels, bornes par
+ * {@code clenzy.owner-statements.parallelism} : le pool de connexions et le SMTP
+ * ne sont pas satures par une conciergerie de plusieurs centaines de proprietaires.
+ * Progression et debit : {@code clenzy.owner_statements.pending} (jauge),
+ * {@code clenzy.owner_statements.fired} (tag {@code outcome}) et
+ * {@code clenzy.owner_statements.run} (duree du passage).</p>
  */
 @Service
 public class OwnerStatementScheduler {
@@ -46,17 +63,41 @@ public class OwnerStatementScheduler {
     private final AutomationEngine automationEngine;
     private final com.clenzy.repository.OrganizationRepository organizationRepository;
     private final com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService;
+    private final int parallelism;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter firedSuccess;
+    private final Counter firedFailure;
+    private final Timer runTimer;
 
     public OwnerStatementScheduler(AutomationRuleRepository automationRuleRepository,
                                    PropertyRepository propertyRepository,
                                    AutomationEngine automationEngine,
                                    com.clenzy.repository.OrganizationRepository organizationRepository,
-                                   com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService) {
+                                   com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${clenzy.owner-statements.parallelism:4}") int parallelism) {
         this.automationRuleRepository = automationRuleRepository;
         this.propertyRepository = propertyRepository;
         this.automationEngine = automationEngine;
         this.organizationRepository = organizationRepository;
         this.supervisionSuggestionService = supervisionSuggestionService;
+        this.parallelism = Math.max(1, parallelism);
+        Gauge.builder("clenzy.owner_statements.pending", pending, AtomicInteger::get)
+                .description("Releves proprietaires restant a declencher dans le passage en cours")
+                .register(meterRegistry);
+        this.firedSuccess = fired(meterRegistry, "success");
+        this.firedFailure = fired(meterRegistry, "failure");
+        this.runTimer = Timer.builder("clenzy.owner_statements.run")
+                .description("Duree d'un passage mensuel de releves proprietaires")
+                .register(meterRegistry);
+    }
+
+    private static Counter fired(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("clenzy.owner_statements.fired")
+                .description("Declenchements de releve proprietaire traites")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /** Le 1er du mois a 05:30 (Europe/Paris) : releve du mois ecoule. */
@@ -76,14 +117,7 @@ public class OwnerStatementScheduler {
         log.info("OwnerStatementScheduler: {} org(s) avec regle active, periode {} -> {}",
                 orgIds.size(), from, to);
 
-        for (Long orgId : orgIds) {
-            try {
-                fireForOrganization(orgId, from, to);
-            } catch (Exception e) {
-                // Isolation par org : erreur logguee (stacktrace), les autres orgs continuent.
-                log.error("OwnerStatementScheduler: echec pour org={}", orgId, e);
-            }
-        }
+        runTimer.record(() -> fireForOrganizations(orgIds, from, to));
 
         // Constellation métiers Phase 2 : les orgs SANS automatisation reçoivent une
         // carte HITL par propriétaire (« Envoyer », OWNER_STATEMENT_SEND) — l'agent
@@ -124,23 +158,69 @@ public class OwnerStatementScheduler {
         }
     }
 
-    private void fireForOrganization(Long orgId, LocalDate from, LocalDate to) {
-        List<Long> ownerIds = propertyRepository.findDistinctOwnerIdsByOrgId(orgId);
-        for (Long ownerId : ownerIds) {
-            // Declencheur recurrent (dedupePerSubject=false) : l'idempotence par mois
-            // est portee par l'executeur (claim owner_statement_dispatch).
-            automationEngine.fireTrigger(
-                    AutomationTrigger.OWNER_MONTHLY_STATEMENT,
-                    orgId,
-                    new AutomationSubject(
-                            SendOwnerStatementExecutor.SUBJECT_OWNER,
-                            ownerId,
-                            Map.of(
-                                    SendOwnerStatementExecutor.DATA_PERIOD_START, from.toString(),
-                                    SendOwnerStatementExecutor.DATA_PERIOD_END, to.toString())));
-        }
-        if (!ownerIds.isEmpty()) {
-            log.info("OwnerStatementScheduler: {} declenchement(s) pour org={}", ownerIds.size(), orgId);
-        }
+    /**
+     * Un declenchement par proprietaire des orgs, au plus {@code parallelism} en cours.
+     * Rend la main quand tous sont termines.
+     */
+    private void fireForOrganizations(List<Long> orgIds, LocalDate from, LocalDate to) {
+        AtomicInteger fired = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long orgId : orgIds) {
+                List<Long> ownerIds;
+                try {
+                    ownerIds = propertyRepository.findDistinctOwnerIdsByOrgId(orgId);
+                } catch (Exception e) {
+                    // Isolation par org : erreur logguee (stacktrace), les autres orgs continuent.
+                    log.error("OwnerStatementScheduler: echec pour org={}", orgId, e);
+                    continue;
+                }
+                pending.addAndGet(ownerIds.size());
+                for (Long ownerId : ownerIds) {
+                    executor.submit(() -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            pending.decrementAndGet();
+                            return;
+                        }
+                        try {
+                            fireForOwner(orgId, ownerId, from, to);
+                            fired.incrementAndGet();
+                            firedSuccess.increment();
+                        } catch (Exception e) {
+                            // Isolation par proprietaire : le claim n'est pas pose, un re-declenchement renverra.
+                            failed.incrementAndGet();
+                            firedFailure.increment();
+                            log.error("OwnerStatementScheduler: echec pour org={} owner={}", orgId, ownerId, e);
+                        } finally {
+                            pending.decrementAndGet();
+                            permits.release();
+                        }
+                    });
+                }
+                if (!ownerIds.isEmpty()) {
+                    log.info("OwnerStatementScheduler: {} declenchement(s) pour org={}", ownerIds.size(), orgId);
+                }
+            }
+        } // close() attend la fin de tous les declenchements
+        log.info("OwnerStatementScheduler: passage termine — {} releve(s) declenche(s), {} echec(s)",
+                fired.get(), failed.get());
+    }
+
+    private void fireForOwner(Long orgId, Long ownerId, LocalDate from, LocalDate to) {
+        // Declencheur recurrent (dedupePerSubject=false) : l'idempotence par mois
+        // est portee par l'executeur (claim owner_statement_dispatch).
+        automationEngine.fireTrigger(
+                AutomationTrigger.OWNER_MONTHLY_STATEMENT,
+                orgId,
+                new AutomationSubject(
+                        SendOwnerStatementExecutor.SUBJECT_OWNER,
+                        ownerId,
+                        Map.of(
+                                SendOwnerStatementExecutor.DATA_PERIOD_START, from.toString(),
+                                SendOwnerStatementExecutor.DATA_PERIOD_END, to.toString())));
     }
 }
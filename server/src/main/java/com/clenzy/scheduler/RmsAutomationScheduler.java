@@ -7,6 +7,7 @@ import com.clenzy.service.yield.OrphanGapEngine;
 import com.clenzy.tenant.TenantScopedExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Component;
@@ -22,7 +23,8 @@ import java.util.List;
  *
  * <p>Ordre par org : orphan gap d'abord (pose ses min-stay spécifiques aux creux),
  * puis min-stay auto (qui ne touche jamais aux écritures d'une autre source).
- * Une org en échec ne bloque pas les suivantes.</p>
+ * Une org en échec ne bloque pas les suivantes. Les orgs tournent en parallèle,
+ * bornées par {@code clenzy.yield.org-parallelism} comme le yield v1.</p>
  */
 @Component
 public class RmsAutomationScheduler {
@@ -34,17 +36,20 @@ public class RmsAutomationScheduler {
     private final MinStayAutoEngine minStayAutoEngine;
     private final TenantScopedExecutor tenantScopedExecutor;
     private final Clock clock;
+    private final int orgParallelism;
 
     public RmsAutomationScheduler(YieldOrgConfigRepository configRepository,
                                   OrphanGapEngine orphanGapEngine,
                                   MinStayAutoEngine minStayAutoEngine,
                                   TenantScopedExecutor tenantScopedExecutor,
-                                  Clock clock) {
+                                  Clock clock,
+                                  @Value("${clenzy.yield.org-parallelism:4}") int orgParallelism) {
         this.configRepository = configRepository;
         this.orphanGapEngine = orphanGapEngine;
         this.minStayAutoEngine = minStayAutoEngine;
         this.tenantScopedExecutor = tenantScopedExecutor;
         this.clock = clock;
+        this.orgParallelism = orgParallelism;
     }
 
     @Scheduled(cron = "${clenzy.rms.automation.cron:0 50 4 * * *}")
@@ -57,7 +62,7 @@ public class RmsAutomationScheduler {
         }
         final LocalDate today = LocalDate.now(clock);
         log.info("Automatisations RMS : run du {} — {} org(s)", today, configs.size());
-        for (YieldOrgConfig config : configs) {
+        BoundedOrganizationRunner.runAll(configs, orgParallelism, config -> {
             final Long orgId = config.getOrganizationId();
             try {
                 tenantScopedExecutor.runAsOrganization(orgId, () -> {
@@ -71,6 +76,6 @@ public class RmsAutomationScheduler {
             } catch (Exception e) {
                 log.error("Automatisations RMS : échec org={} : {}", orgId, e.getMessage());
             }
-        }
+        });
     }
 }
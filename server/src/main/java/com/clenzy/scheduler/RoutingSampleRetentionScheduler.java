@@ -0,0 +1,46 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.repository.RoutingSampleJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Purge quotidienne du corpus de routage {@code assistant_routing_samples} au-dela de
+ * 180 jours. Independante de {@code clenzy.assistant.routing.local.enabled} : un
+ * classifieur desactive apres avoir journalise ne laisse pas la table croitre.
+ */
+@Service
+public class RoutingSampleRetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingSampleRetentionScheduler.class);
+
+    static final Duration RETENTION = Duration.ofDays(180);
+
+    private final RoutingSampleJdbcRepository sampleRepository;
+    private final Clock clock;
+
+    public RoutingSampleRetentionScheduler(RoutingSampleJdbcRepository sampleRepository, Clock clock) {
+        this.sampleRepository = sampleRepository;
+        this.clock = clock;
+    }
+
+    /** Tous les jours a 4h30. */
+    @Scheduled(cron = "0 30 4 * * *")
+    @SchedulerLock(name = "assistant-routing-samples-retention", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void purge() {
+        try {
+            int deleted = sampleRepository.deleteOlderThan(clock.instant().minus(RETENTION));
+            if (deleted > 0) {
+                log.info("RoutingSampleRetentionScheduler: {} echantillons de routage expires supprimes", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Erreur purge des echantillons de routage: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.stereotype.Service;
+
+/**
+ * Purge quotidienne des series capteurs selon les paliers de retention
+ * ({@link com.clenzy.service.timeseries.Resolution}) : brut 3 j, 1 min 7 j,
+ * 15 min 90 j, 1 h 400 j.
+ */
+@Service
+public class SensorSeriesRetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorSeriesRetentionScheduler.class);
+
+    private final SensorTimeSeriesStore timeSeriesStore;
+
+    public SensorSeriesRetentionScheduler(SensorTimeSeriesStore timeSeriesStore) {
+        this.timeSeriesStore = timeSeriesStore;
+    }
+
+    /** Tous les jours a 4h15. */
+    @Scheduled(cron = "0 15 4 * * *")
+    @SchedulerLock(name = "sensor-series-retention", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void purge() {
+        try {
+            int deleted = timeSeriesStore.purgeExpired();
+            if (deleted > 0) {
+                log.info("SensorSeriesRetentionScheduler: {} blocs/agregats expires supprimes", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Erreur purge des series capteurs: {}", e.getMessage());
+        }
+    }
+}
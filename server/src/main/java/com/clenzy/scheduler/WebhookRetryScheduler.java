@@ -1,8 +1,11 @@
 package com.clenzy.scheduler;
 
+import com.clenzy.model.WebhookConfig;
 import com.clenzy.model.WebhookDelivery;
+import com.clenzy.repository.WebhookConfigRepository;
 import com.clenzy.repository.WebhookDeliveryRepository;
-import com.clenzy.service.WebhookDeliveryService;
+import com.clenzy.service.WebhookDeliveryEngine;
+import com.clenzy.service.WebhookDeliveryService.PendingDelivery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
@@ -11,28 +14,39 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Reessaie les livraisons de webhooks dues (PENDING/RETRYING avec {@code next_attempt_at} echu),
- * cross-org (CLZ Domaine 10). La tentative effectue l'appel HTTP hors transaction et gere le
- * backoff/desactivation cote {@link WebhookDeliveryService}.
+ * cross-org (CLZ Domaine 10). Les livraisons sont confiees au {@link WebhookDeliveryEngine}
+ * (files par abonne, concurrence adaptative, lots) et le run attend leur tentative, borne sous le
+ * {@code lockAtMostFor} : un abonne lent ne retarde plus les autres. Le backoff/desactivation
+ * reste gere par {@code WebhookDeliveryService}. Publie aussi le backlog de retry par abonne.
  */
 @Component
 public class WebhookRetryScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(WebhookRetryScheduler.class);
     private static final int BATCH = 100;
+    /** Attente max des tentatives d'un run, sous le lockAtMostFor (PT5M). */
+    private static final Duration RUN_TIMEOUT = Duration.ofMinutes(4);
 
     private final WebhookDeliveryRepository deliveryRepository;
-    private final WebhookDeliveryService deliveryService;
+    private final WebhookConfigRepository webhookRepository;
+    private final WebhookDeliveryEngine deliveryEngine;
     private final Clock clock;
 
     public WebhookRetryScheduler(WebhookDeliveryRepository deliveryRepository,
-                                 WebhookDeliveryService deliveryService,
+                                 WebhookConfigRepository webhookRepository,
+                                 WebhookDeliveryEngine deliveryEngine,
                                  Clock clock) {
         this.deliveryRepository = deliveryRepository;
-        this.deliveryService = deliveryService;
+        this.webhookRepository = webhookRepository;
+        this.deliveryEngine = deliveryEngine;
         this.clock = clock;
     }
 
@@ -40,16 +54,29 @@ public class WebhookRetryScheduler {
     @SchedulerLock(name = "webhook-retry", lockAtMostFor = "PT5M", lockAtLeastFor = "PT30S")
     public void retryDueDeliveries() {
         List<WebhookDelivery> due = deliveryRepository.findDue(clock.instant(), PageRequest.of(0, BATCH));
-        if (due.isEmpty()) {
-            return;
+        if (!due.isEmpty()) {
+            log.debug("Retry de {} livraison(s) webhook due(s)", due.size());
+            Map<Long, Integer> batchSizes = webhookRepository.findAllById(
+                    due.stream().map(WebhookDelivery::getWebhookId).distinct().toList()).stream()
+                .collect(Collectors.toMap(WebhookConfig::getId, WebhookConfig::getBatchSize));
+            List<PendingDelivery> pending = due.stream()
+                .map(d -> new PendingDelivery(d.getId(), d.getWebhookId(),
+                    batchSizes.getOrDefault(d.getWebhookId(), 1)))
+                .toList();
+            deliveryEngine.submitAndAwait(pending, RUN_TIMEOUT);
         }
-        log.debug("Retry de {} livraison(s) webhook due(s)", due.size());
-        for (WebhookDelivery d : due) {
-            try {
-                deliveryService.attempt(d.getId());
-            } catch (Exception e) {
-                log.warn("Retry de la livraison webhook {} echoue: {}", d.getId(), e.getMessage());
+        publishRetryBacklog();
+    }
+
+    private void publishRetryBacklog() {
+        try {
+            Map<Long, Long> backlog = new HashMap<>();
+            for (Object[] row : deliveryRepository.countRetryBacklogByWebhook()) {
+                backlog.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
             }
+            deliveryEngine.updateRetryBacklog(backlog);
+        } catch (Exception e) {
+            log.debug("Backlog de retry webhook non publie : {}", e.getMessage());
         }
     }
 }
@@ -6,6 +6,7 @@ import com.clenzy.service.yield.YieldRuleEngine;
 import com.clenzy.tenant.TenantScopedExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Component;
@@ -21,6 +22,10 @@ import java.util.List;
  * (filtre Hibernate actif — jamais de traitement batch hors isolation tenant).
  * Le moteur re-vérifie le kill-switch et l'existence de règles actives ;
  * un échec sur une org n'interrompt pas les suivantes.</p>
+ *
+ * <p>Les orgs sont indépendantes : jusqu'à {@code clenzy.yield.org-parallelism}
+ * (4 par défaut) sont évaluées en parallèle, chacune sur son propre thread et
+ * dans son propre contexte tenant ({@link BoundedOrganizationRunner}).</p>
  */
 @Component
 public class YieldRuleEngineScheduler {
@@ -30,13 +35,16 @@ public class YieldRuleEngineScheduler {
     private final YieldOrgConfigRepository configRepository;
     private final YieldRuleEngine yieldRuleEngine;
     private final TenantScopedExecutor tenantScopedExecutor;
+    private final int orgParallelism;
 
     public YieldRuleEngineScheduler(YieldOrgConfigRepository configRepository,
                                     YieldRuleEngine yieldRuleEngine,
-                                    TenantScopedExecutor tenantScopedExecutor) {
+                                    TenantScopedExecutor tenantScopedExecutor,
+                                    @Value("${clenzy.yield.org-parallelism:4}") int orgParallelism) {
         this.configRepository = configRepository;
         this.yieldRuleEngine = yieldRuleEngine;
         this.tenantScopedExecutor = tenantScopedExecutor;
+        this.orgParallelism = orgParallelism;
     }
 
     @Scheduled(cron = "${clenzy.yield.v1.cron:0 40 4 * * *}")
@@ -47,7 +55,7 @@ public class YieldRuleEngineScheduler {
             return;
         }
         log.info("Yield v1 : évaluation quotidienne — {} org(s) activée(s)", enabledConfigs.size());
-        for (YieldOrgConfig config : enabledConfigs) {
+        BoundedOrganizationRunner.runAll(enabledConfigs, orgParallelism, config -> {
             final Long orgId = config.getOrganizationId();
             try {
                 tenantScopedExecutor.runAsOrganization(orgId,
@@ -57,6 +65,6 @@ public class YieldRuleEngineScheduler {
                 // seulement les orgs entre elles (une org en erreur ne bloque pas les autres).
                 log.error("Yield v1 : échec évaluation org={} : {}", orgId, e.getMessage());
             }
-        }
+        });
     }
 }
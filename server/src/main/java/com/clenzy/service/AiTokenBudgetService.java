@@ -11,16 +11,21 @@ import com.clenzy.model.AiFeature;
 import com.clenzy.model.AiTokenBudget;
 import com.clenzy.model.AiTokenUsage;
 import com.clenzy.repository.AiTokenBudgetRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository.DailyRow;
 import com.clenzy.repository.AiTokenUsageRepository;
+import com.clenzy.service.ai.AiTokenUsageCounters;
+import com.clenzy.service.ai.AiTokenUsageDailyBuffer;
 import com.clenzy.service.ai.LlmPricingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -37,6 +42,11 @@ import java.util.stream.Collectors;
  * - Verifier si une org/feature a du budget restant
  * - Enregistrer la consommation apres chaque appel LLM
  * - Fournir les statistiques d'utilisation pour le dashboard
+ *
+ * Chemin chaud : le pre-vol budget lit un compteur Redis par (org, feature, mois)
+ * ({@link AiTokenUsageCounters}) au lieu de re-sommer le mois ; breakdown et serie
+ * journaliere lisent l'agregat {@code ai_token_usage_daily}, alimente en write-behind
+ * ({@link AiTokenUsageDailyBuffer}). Le detail par appel reste ecrit a chaque appel.
  */
 @Service
 public class AiTokenBudgetService {
@@ -48,17 +58,26 @@ public class AiTokenBudgetService {
     private final AiTokenUsageRepository usageRepository;
     private final LlmPricingService pricingService;
     private final com.clenzy.tenant.TenantContext tenantContext;
+    private final AiTokenUsageCounters usageCounters;
+    private final AiTokenUsageDailyBuffer dailyBuffer;
+    private final AiTokenUsageDailyJdbcRepository dailyRepository;
 
     public AiTokenBudgetService(AiProperties aiProperties,
                                 AiTokenBudgetRepository budgetRepository,
                                 AiTokenUsageRepository usageRepository,
                                 LlmPricingService pricingService,
-                                com.clenzy.tenant.TenantContext tenantContext) {
+                                com.clenzy.tenant.TenantContext tenantContext,
+                                AiTokenUsageCounters usageCounters,
+                                AiTokenUsageDailyBuffer dailyBuffer,
+                                AiTokenUsageDailyJdbcRepository dailyRepository) {
         this.aiProperties = aiProperties;
         this.budgetRepository = budgetRepository;
         this.usageRepository = usageRepository;
         this.pricingService = pricingService;
         this.tenantContext = tenantContext;
+        this.usageCounters = usageCounters;
+        this.dailyBuffer = dailyBuffer;
+        this.dailyRepository = dailyRepository;
     }
 
     // ─── Feature toggles ─────────────────────────────────────────────────
@@ -131,9 +150,8 @@ public class AiTokenBudgetService {
             return true;
         }
 
-        String currentMonth = getCurrentMonthYear();
         long limit = getMonthlyLimit(organizationId, feature);
-        long used = usageRepository.sumTokensByOrgAndFeatureAndMonth(organizationId, feature, currentMonth);
+        long used = monthlyUsage(organizationId, feature, getCurrentMonthYear());
 
         return used < limit;
     }
@@ -145,9 +163,8 @@ public class AiTokenBudgetService {
      */
     public void requireBudget(Long organizationId, AiFeature feature) {
         if (!hasBudget(organizationId, feature)) {
-            String currentMonth = getCurrentMonthYear();
             long limit = getMonthlyLimit(organizationId, feature);
-            long used = usageRepository.sumTokensByOrgAndFeatureAndMonth(organizationId, feature, currentMonth);
+            long used = monthlyUsage(organizationId, feature, getCurrentMonthYear());
             throw new AiBudgetExceededException(feature.name(), used, limit);
         }
     }
@@ -182,6 +199,9 @@ public class AiTokenBudgetService {
      * écriture, car il est souvent appelé depuis un contexte read-only (ex. un tool
      * analytics {@code @Transactional(readOnly = true)} comme {@code get_business_insights})
      * — sinon « cannot execute INSERT in a read-only transaction » et l'usage n'est pas compté.</p>
+     *
+     * <p>Compteur chaud et agregat journalier ne sont alimentes qu'apres le commit de la
+     * ligne : un rollback ne laisse aucune consommation fantome.</p>
      */
     @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
     public void recordUsage(Long organizationId, AiFeature feature,
@@ -198,6 +218,14 @@ public class AiTokenBudgetService {
         );
         usageRepository.save(usage);
 
+        String monthYear = usage.getMonthYear();
+        LocalDate day = LocalDate.now();
+        runAfterCommit(() -> {
+            usageCounters.add(organizationId, feature, monthYear, response.totalTokens());
+            dailyBuffer.record(organizationId, day, feature, providerName, response.model(),
+                    response.promptTokens(), response.completionTokens(), response.totalTokens());
+        });
+
         log.debug("Recorded AI token usage: org={}, feature={}, provider={}, tokens={}",
                 organizationId, feature, providerName, response.totalTokens());
     }
@@ -217,8 +245,7 @@ public class AiTokenBudgetService {
         long totalBudget = 0;
 
         for (AiFeature feature : AiFeature.values()) {
-            long used = usageRepository.sumTokensByOrgAndFeatureAndMonth(
-                    organizationId, feature, currentMonth);
+            long used = monthlyUsage(organizationId, feature, currentMonth);
             long limit = getMonthlyLimit(organizationId, feature);
 
             usageByFeature.put(feature.name(), used);
@@ -233,6 +260,25 @@ public class AiTokenBudgetService {
 
     // ─── Helpers ────────────────────────────────────────────────────────
 
+    /** Consommation du mois : compteur chaud, somme Postgres au cache-miss. */
+    private long monthlyUsage(Long organizationId, AiFeature feature, String monthYear) {
+        return usageCounters.used(organizationId, feature, monthYear,
+                () -> usageRepository.sumTokensByOrgAndFeatureAndMonth(organizationId, feature, monthYear));
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private long getMonthlyLimit(Long organizationId, AiFeature feature) {
         return budgetRepository.findByOrganizationIdAndFeature(organizationId, feature)
                 .filter(AiTokenBudget::isEnabled)
@@ -259,21 +305,23 @@ public class AiTokenBudgetService {
      *
      * <p>Utilise pour le tooltip "breakdown par modele" affiche au hover sur
      * le compteur d'une feature dans Settings &gt; IA.</p>
+     *
+     * <p>Lu depuis l'agregat journalier (une ligne par jour et par modele, pas par
+     * appel) ; les appels des dernieres secondes arrivent au flush suivant.</p>
      */
     @Transactional(readOnly = true)
     public AiFeatureUsageBreakdownDto getUsageBreakdown(Long organizationId) {
         String currentMonth = getCurrentMonthYear();
-        List<AiTokenUsage> allRecords = usageRepository.findByOrganizationIdAndMonthYear(
-                organizationId, currentMonth);
+        YearMonth month = YearMonth.parse(currentMonth);
+        List<DailyRow> rows = dailyRepository.findByOrganizationBetween(
+                organizationId, month.atDay(1), month.atEndOfMonth());
 
         // Group by (feature, provider, model) -> [tokensIn, tokensOut, callCount]
         record GroupKey(AiFeature feature, String provider, String model) {}
         Map<GroupKey, long[]> grouped = new LinkedHashMap<>();
-        for (AiTokenUsage r : allRecords) {
-            String provider = r.getProvider() != null ? r.getProvider() : "unknown";
-            String model = r.getModel() != null ? r.getModel() : "unknown";
-            GroupKey key = new GroupKey(r.getFeature(), provider, model);
-            grouped.merge(key, new long[]{r.getPromptTokens(), r.getCompletionTokens(), 1L},
+        for (DailyRow r : rows) {
+            GroupKey key = new GroupKey(r.feature(), r.provider(), r.model());
+            grouped.merge(key, new long[]{r.promptTokens(), r.completionTokens(), r.callCount()},
                     (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
         }
 
@@ -301,23 +349,26 @@ public class AiTokenBudgetService {
 
     /**
      * Série temporelle de consommation (vue « Consommation ») : par (jour, provider, model),
-     * avec coût USD. {@code days} borné 1..90. Read-only.
+     * avec coût USD. {@code days} borné 1..90. Read-only, servie par l'agregat journalier
+     * (sommé ici sur les features).
      */
     @Transactional(readOnly = true)
     public List<DailyUsageDto> getDailyUsage(Long orgId, int days) {
         int d = Math.max(1, Math.min(days, 90));
-        LocalDateTime since = LocalDate.now().minusDays(d - 1L).atStartOfDay();
-        List<DailyUsageDto> out = new ArrayList<>();
-        for (Object[] r : usageRepository.aggregateDailyByProviderModel(orgId, since)) {
-            Object rawDate = r[0];
-            LocalDate day = (rawDate instanceof java.sql.Date sd) ? sd.toLocalDate() : (LocalDate) rawDate;
-            String provider = (String) r[1];
-            String model = (String) r[2];
-            long in = ((Number) r[3]).longValue();
-            long outTokens = ((Number) r[4]).longValue();
-            long calls = ((Number) r[5]).longValue();
-            out.add(new DailyUsageDto(day.toString(), provider, model, in, outTokens, calls,
-                    pricingService.computeCost(model, in, outTokens)));
+        LocalDate today = LocalDate.now();
+        record DayModel(LocalDate day, String provider, String model) {}
+        Map<DayModel, long[]> grouped = new LinkedHashMap<>();
+        for (DailyRow r : dailyRepository.findByOrganizationBetween(orgId, today.minusDays(d - 1L), today)) {
+            grouped.merge(new DayModel(r.day(), r.provider(), r.model()),
+                    new long[]{r.promptTokens(), r.completionTokens(), r.callCount()},
+                    (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+        }
+        List<DailyUsageDto> out = new ArrayList<>(grouped.size());
+        for (Map.Entry<DayModel, long[]> entry : grouped.entrySet()) {
+            DayModel k = entry.getKey();
+            long[] sums = entry.getValue();
+            out.add(new DailyUsageDto(k.day().toString(), k.provider(), k.model(), sums[0], sums[1], sums[2],
+                    pricingService.computeCost(k.model(), sums[0], sums[1])));
         }
         return out;
     }
@@ -3,14 +3,22 @@ package com.clenzy.service;
 import com.clenzy.dto.AnomalyDto;
 import com.clenzy.model.AnomalySeverity;
 import com.clenzy.model.AnomalyType;
+import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.Reservation;
+import com.clenzy.repository.CalendarDayRepository;
 import com.clenzy.repository.ReservationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 
 /**
  * Moteur de détection d'anomalies (Phase 4 différenciation). Filet de sécurité de surveillance :
@@ -22,6 +30,13 @@ import java.util.List;
  * testable sans base. L'orchestration s'appuie sur une requête repository <b>org-scopée</b>
  * ({@link ReservationRepository#findByPropertyId}) : un {@code propertyId} d'une autre org renvoie
  * une liste vide (pas de fuite, défense en profondeur — cf. HP-01).</p>
+ *
+ * <p>Chevauchements par <b>balayage</b> (sweep line) sur les séjours triés par (logement, arrivée) :
+ * O(n log n + k) au lieu de la comparaison deux à deux. Le scan du portefeuille
+ * ({@link #detectForOrganization}) fait un seul passage sur toute l'org — deux requêtes en
+ * projection, quel que soit le nombre de biens — et recoupe chaque nuit réservée avec
+ * {@code calendar_days} (blocages canal / maintenance, nuit restée disponible, nuit portée par
+ * une autre réservation).</p>
  */
 @Service
 public class AnomalyDetectionService {
@@ -29,12 +44,33 @@ public class AnomalyDetectionService {
     private static final String STATUS_CONFIRMED = "CONFIRMED";
     private static final String ENTITY_RESERVATION = "reservation";
 
+    /** Horizon du recoupement calendrier pour le scan du portefeuille. */
+    private static final int CALENDAR_HORIZON_DAYS = 365;
+
     private final ReservationRepository reservationRepository;
+    private final CalendarDayRepository calendarDayRepository;
+    private final Clock clock;
 
-    public AnomalyDetectionService(ReservationRepository reservationRepository) {
+    public AnomalyDetectionService(ReservationRepository reservationRepository,
+                                   CalendarDayRepository calendarDayRepository,
+                                   Clock clock) {
         this.reservationRepository = reservationRepository;
+        this.calendarDayRepository = calendarDayRepository;
+        this.clock = clock;
     }
 
+    /** Séjour réduit à ce que la détection lit. */
+    record Stay(Long reservationId, Long propertyId, LocalDate checkIn, LocalDate checkOut) {}
+
+    /** État d'une nuit non disponible au calendrier. */
+    record CalendarMark(CalendarDayStatus status, Long reservationId, String source) {}
+
+    record Night(Long propertyId, LocalDate date) {}
+
+    private static final Comparator<Stay> BY_PROPERTY_THEN_CHECK_IN = Comparator
+        .comparing(Stay::propertyId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Stay::checkIn);
+
     /**
      * Détecte les anomalies d'un bien (org-scopé).
      */
@@ -43,38 +79,143 @@ public class AnomalyDetectionService {
         return detectDoubleBookings(reservationRepository.findByPropertyId(propertyId, orgId));
     }
 
+    /**
+     * Scan de tout le portefeuille d'une org, séjours non terminés : double-bookings et
+     * incohérences réservation / calendrier, en un passage.
+     */
+    @Transactional(readOnly = true)
+    public List<AnomalyDto> detectForOrganization(Long orgId) {
+        LocalDate today = LocalDate.now(clock);
+        List<Stay> stays = new ArrayList<>();
+        for (Object[] row : reservationRepository.findConfirmedStaysForScan(orgId, today)) {
+            stays.add(new Stay((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalDate) row[3]));
+        }
+        if (stays.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Night, CalendarMark> marks = new HashMap<>();
+        for (Object[] row : calendarDayRepository.findUnavailableDaysForScan(
+                orgId, today, today.plusDays(CALENDAR_HORIZON_DAYS))) {
+            marks.put(new Night((Long) row[0], (LocalDate) row[1]),
+                new CalendarMark((CalendarDayStatus) row[2], (Long) row[3], (String) row[4]));
+        }
+
+        List<AnomalyDto> anomalies = new ArrayList<>(detectOverlaps(stays));
+        anomalies.addAll(detectCalendarMismatches(stays, marks, today, today.plusDays(CALENDAR_HORIZON_DAYS)));
+        return anomalies;
+    }
+
     /**
      * Détecte les chevauchements entre réservations <b>confirmées</b> (fonction pure). Deux
      * réservations se chevauchent si {@code a.checkIn < b.checkOut && b.checkIn < a.checkOut}
      * (intervalles semi-ouverts [checkIn, checkOut), le jour de départ étant libre).
      */
     List<AnomalyDto> detectDoubleBookings(List<Reservation> reservations) {
-        List<Reservation> confirmed = reservations.stream()
+        List<Stay> confirmed = reservations.stream()
             .filter(r -> STATUS_CONFIRMED.equalsIgnoreCase(r.getStatus()))
             .filter(r -> r.getCheckIn() != null && r.getCheckOut() != null)
+            .map(r -> new Stay(r.getId(), r.getProperty() != null ? r.getProperty().getId() : null,
+                r.getCheckIn(), r.getCheckOut()))
+            .toList();
+        return detectOverlaps(confirmed);
+    }
+
+    /**
+     * Balayage : séjours triés par (logement, arrivée) ; le tas {@code active} garde les séjours
+     * du logement courant encore « ouverts », ordonnés par départ. À chaque arrivée, on retire
+     * ceux partis au plus tard ce jour-là — tous les restants chevauchent le nouveau séjour.
+     * L'anomalie est portée par le séjour arrivé le premier (comme la comparaison deux à deux).
+     */
+    static List<AnomalyDto> detectOverlaps(List<Stay> stays) {
+        List<Stay> sorted = stays.stream()
+            .filter(s -> s.checkIn().isBefore(s.checkOut()))
+            .sorted(BY_PROPERTY_THEN_CHECK_IN)
             .toList();
 
         List<AnomalyDto> anomalies = new ArrayList<>();
-        for (int i = 0; i < confirmed.size(); i++) {
-            for (int j = i + 1; j < confirmed.size(); j++) {
-                Reservation a = confirmed.get(i);
-                Reservation b = confirmed.get(j);
-                if (overlaps(a.getCheckIn(), a.getCheckOut(), b.getCheckIn(), b.getCheckOut())) {
-                    anomalies.add(new AnomalyDto(
-                        AnomalyType.DOUBLE_BOOKING,
-                        AnomalySeverity.HIGH,
-                        ENTITY_RESERVATION,
-                        a.getId(),
-                        "Chevauchement avec la réservation " + b.getId()
-                            + " (" + a.getCheckIn() + "→" + a.getCheckOut()
-                            + " vs " + b.getCheckIn() + "→" + b.getCheckOut() + ")"));
+        PriorityQueue<Stay> active = new PriorityQueue<>(Comparator.comparing(Stay::checkOut));
+        Long currentProperty = null;
+        for (Stay b : sorted) {
+            if (!Objects.equals(b.propertyId(), currentProperty)) {
+                active.clear();
+                currentProperty = b.propertyId();
+            }
+            while (!active.isEmpty() && !active.peek().checkOut().isAfter(b.checkIn())) {
+                active.poll();
+            }
+            if (!active.isEmpty()) {
+                active.stream()
+                    .sorted(Comparator.comparing(Stay::checkIn))
+                    .forEach(a -> anomalies.add(doubleBooking(a, b)));
+            }
+            active.add(b);
+        }
+        return anomalies;
+    }
+
+    /**
+     * Recoupe chaque nuit de [from, to) des séjours avec le calendrier (fonction pure). Une
+     * anomalie par séjour incohérent : nombre de nuits, première nuit et sa cause. Un jour
+     * BOOKED sans réservation liée n'est pas signalé (ancien import, rien à opposer).
+     */
+    static List<AnomalyDto> detectCalendarMismatches(List<Stay> stays, Map<Night, CalendarMark> marks,
+                                                     LocalDate from, LocalDate to) {
+        List<AnomalyDto> anomalies = new ArrayList<>();
+        for (Stay stay : stays) {
+            LocalDate night = stay.checkIn().isAfter(from) ? stay.checkIn() : from;
+            LocalDate end = stay.checkOut().isBefore(to) ? stay.checkOut() : to;
+            int mismatched = 0;
+            LocalDate firstNight = null;
+            String firstCause = null;
+            boolean conflicting = false;
+            for (; night.isBefore(end); night = night.plusDays(1)) {
+                CalendarMark mark = marks.get(new Night(stay.propertyId(), night));
+                String cause = mismatchCause(stay, mark);
+                if (cause == null) {
+                    continue;
                 }
+                mismatched++;
+                conflicting |= mark != null;
+                if (firstNight == null) {
+                    firstNight = night;
+                    firstCause = cause;
+                }
+            }
+            if (mismatched > 0) {
+                anomalies.add(new AnomalyDto(
+                    AnomalyType.CALENDAR_MISMATCH,
+                    conflicting ? AnomalySeverity.HIGH : AnomalySeverity.MEDIUM,
+                    ENTITY_RESERVATION,
+                    stay.reservationId(),
+                    mismatched + " nuit(s) incohérente(s) au calendrier à partir du " + firstNight
+                        + " : " + firstCause));
             }
         }
         return anomalies;
     }
 
-    private static boolean overlaps(LocalDate aIn, LocalDate aOut, LocalDate bIn, LocalDate bOut) {
-        return aIn.isBefore(bOut) && bIn.isBefore(aOut);
+    /** @return la cause lisible, ou null si le calendrier porte bien la nuit pour ce séjour */
+    private static String mismatchCause(Stay stay, CalendarMark mark) {
+        if (mark == null) {
+            return "nuit disponible à la vente";
+        }
+        if (mark.status() == CalendarDayStatus.BOOKED) {
+            return mark.reservationId() == null || mark.reservationId().equals(stay.reservationId())
+                ? null
+                : "nuit attribuée à la réservation " + mark.reservationId();
+        }
+        return "nuit " + mark.status() + (mark.source() != null ? " (" + mark.source() + ")" : "");
+    }
+
+    private static AnomalyDto doubleBooking(Stay a, Stay b) {
+        return new AnomalyDto(
+            AnomalyType.DOUBLE_BOOKING,
+            AnomalySeverity.HIGH,
+            ENTITY_RESERVATION,
+            a.reservationId(),
+            "Chevauchement avec la réservation " + b.reservationId()
+                + " (" + a.checkIn() + "→" + a.checkOut()
+                + " vs " + b.checkIn() + "→" + b.checkOut() + ")");
     }
 }
@@ -11,6 +11,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Map;
@@ -30,15 +32,18 @@ public class BookingRestrictionService {
     private final PropertyRepository propertyRepository;
     private final OutboxPublisher outboxPublisher;
     private final ObjectMapper objectMapper;
+    private final SearchCacheInvalidator searchCacheInvalidator;
 
     public BookingRestrictionService(BookingRestrictionRepository restrictionRepository,
                                       PropertyRepository propertyRepository,
                                       OutboxPublisher outboxPublisher,
-                                      ObjectMapper objectMapper) {
+                                      ObjectMapper objectMapper,
+                                      SearchCacheInvalidator searchCacheInvalidator) {
         this.restrictionRepository = restrictionRepository;
         this.propertyRepository = propertyRepository;
         this.outboxPublisher = outboxPublisher;
         this.objectMapper = objectMapper;
+        this.searchCacheInvalidator = searchCacheInvalidator;
     }
 
     public List<BookingRestriction> getByProperty(Long propertyId, Long orgId) {
@@ -61,6 +66,7 @@ public class BookingRestrictionService {
 
         BookingRestriction saved = restrictionRepository.save(restriction);
         publishRestrictionEvent("RESTRICTION_CREATED", saved);
+        invalidateSearchCacheAfterCommit(orgId);
         log.info("Restriction {} created for property {}", saved.getId(), request.propertyId());
         return saved;
     }
@@ -74,6 +80,7 @@ public class BookingRestrictionService {
 
         BookingRestriction saved = restrictionRepository.save(restriction);
         publishRestrictionEvent("RESTRICTION_UPDATED", saved);
+        invalidateSearchCacheAfterCommit(orgId);
         log.info("Restriction {} updated for property {}", saved.getId(), request.propertyId());
         return saved;
     }
@@ -85,6 +92,7 @@ public class BookingRestrictionService {
         restrictionRepository.delete(restriction);
         // Publish event so channels clear their restrictions for this range
         publishRestrictionEvent("RESTRICTION_DELETED", restriction);
+        invalidateSearchCacheAfterCommit(orgId);
         log.info("Restriction {} deleted for property {}", id, propertyId);
     }
 
@@ -101,6 +109,24 @@ public class BookingRestrictionService {
         r.setPriority(req.priority() != null ? req.priority() : 0);
     }
 
+    /**
+     * Invalide la recherche par sejour (prix totaux, min-stay / closed-to-arrival) de l'org
+     * APRES commit : une eviction avant commit laisserait une recherche concurrente
+     * re-remplir le cache avec l'etat precedent.
+     */
+    private void invalidateSearchCacheAfterCommit(Long orgId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
+                }
+            });
+        } else {
+            searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
+        }
+    }
+
     private void publishRestrictionEvent(String eventType, BookingRestriction restriction) {
         try {
             String payload = objectMapper.writeValueAsString(Map.of(
@@ -0,0 +1,240 @@
+package com.clenzy.service;
+
+import com.clenzy.dto.CalendarCommandRecord;
+import com.clenzy.dto.CalendarGrid;
+import com.clenzy.model.CalendarDayStatus;
+import com.clenzy.repository.CalendarCommandRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
+import com.clenzy.service.storage.ObjectStorageClient;
+import com.clenzy.service.storage.archival.ArchivalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Rejeu du write-ahead log {@code calendar_commands} pour les audits : reconstruit l'etat
+ * jour par jour d'une propriete (statut, reservation liee, prix pose par UPDATE_PRICE) a partir
+ * des seules commandes, puis le compare au calendrier reel ({@code calendar_days}).
+ *
+ * <p>Sources : le log vivant (partitions attachees) et, a la demande, les segments mensuels
+ * archives en NDJSON par {@code CalendarCommandPartitionManager} (memes lignes
+ * {@link CalendarCommandRecord}). Les commandes sont appliquees dans l'ordre
+ * ({@code executedAt}, {@code id}) ; un id present dans les deux sources n'est rejoue qu'une fois.</p>
+ *
+ * <p>Limites : les ecritures de calendar_days qui ne passent pas par CalendarEngine ne sont
+ * pas journalisees et apparaissent comme divergences — c'est precisement ce que l'audit
+ * doit reveler. Le prix pose par BOOK (prix par defaut de la propriete) n'est pas journalise :
+ * seuls statut et reservation sont compares.</p>
+ */
+@Service
+public class CalendarCommandReplayService {
+
+    private static final int MAX_ARCHIVE_PAGES = 10_000;
+
+    private final CalendarCommandRepository calendarCommandRepository;
+    private final CalendarGridJdbcRepository calendarGridRepository;
+    private final ObjectStorageClient objectStorageClient;
+    private final ObjectMapper objectMapper;
+    private final String archiveTarget;
+
+    public CalendarCommandReplayService(CalendarCommandRepository calendarCommandRepository,
+                                        CalendarGridJdbcRepository calendarGridRepository,
+                                        ObjectStorageClient objectStorageClient,
+                                        ObjectMapper objectMapper,
+                                        @Value("${clenzy.calendar.commands.archive-target:calendar-commands}") String archiveTarget) {
+        this.calendarCommandRepository = calendarCommandRepository;
+        this.calendarGridRepository = calendarGridRepository;
+        this.objectStorageClient = objectStorageClient;
+        this.objectMapper = objectMapper;
+        this.archiveTarget = archiveTarget;
+    }
+
+    /** Etat d'un jour reconstruit par le rejeu. */
+    public record ReplayedDay(CalendarDayStatus status, Long reservationId, BigDecimal price) {
+        static final ReplayedDay AVAILABLE = new ReplayedDay(CalendarDayStatus.AVAILABLE, null, null);
+    }
+
+    /** Jour ou le rejeu et calendar_days ne concordent pas (statut ou reservation). */
+    public record Divergence(LocalDate date,
+                             CalendarDayStatus replayedStatus, CalendarDayStatus actualStatus,
+                             Long replayedReservationId, Long actualReservationId) {}
+
+    /**
+     * Resultat d'un rejeu sur la fenetre [from, to).
+     *
+     * @param commandsReplayed nombre de commandes appliquees (toutes dates confondues)
+     * @param firstCommandAt   premiere commande disponible (null si aucune) : l'etat anterieur
+     *                         n'est pas reconstructible (mois archives non fournis)
+     * @param days             etat rejoue des jours de la fenetre (jours sans commande omis = AVAILABLE)
+     */
+    public record CalendarReplay(Long propertyId, Long organizationId, LocalDate from, LocalDate to,
+                                 int commandsReplayed, LocalDateTime firstCommandAt,
+                                 Map<LocalDate, ReplayedDay> days, List<Divergence> divergences) {}
+
+    /**
+     * Rejoue le log d'une propriete et le compare a calendar_days sur [from, to).
+     *
+     * @param archivedSegments mois archives a relire avant le log vivant (ex : {@code 2024_01}),
+     *                         vide = log vivant seul
+     */
+    @Transactional(readOnly = true)
+    public CalendarReplay replay(Long propertyId, Long orgId, LocalDate from, LocalDate to,
+                                 List<String> archivedSegments) {
+        List<CalendarCommandRecord> commands = new ArrayList<>();
+        for (String segment : archivedSegments) {
+            commands.addAll(readArchivedSegment(segment, propertyId, orgId));
+        }
+        calendarCommandRepository.findForReplay(propertyId, orgId).stream()
+                .map(CalendarCommandRecord::from)
+                .forEach(commands::add);
+        List<CalendarCommandRecord> ordered = order(commands);
+
+        CalendarGrid actual = calendarGridRepository.findGrid(propertyId, from, to, orgId);
+        SortedMap<LocalDate, ReplayedDay> state = fold(ordered);
+
+        Map<LocalDate, ReplayedDay> window = new LinkedHashMap<>(state.subMap(from, to));
+        List<Divergence> divergences = new ArrayList<>();
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            ReplayedDay replayed = state.getOrDefault(date, ReplayedDay.AVAILABLE);
+            if (replayed.status() != actual.status(date)
+                    || !Objects.equals(replayed.reservationId(), actual.reservationId(date))) {
+                divergences.add(new Divergence(date, replayed.status(), actual.status(date),
+                        replayed.reservationId(), actual.reservationId(date)));
+            }
+        }
+        return new CalendarReplay(propertyId, orgId, from, to, ordered.size(),
+                ordered.isEmpty() ? null : ordered.get(0).executedAt(), window, divergences);
+    }
+
+    /** Ordre d'application, une seule occurrence par id (archive et log vivant peuvent se recouvrir). */
+    static List<CalendarCommandRecord> order(List<CalendarCommandRecord> commands) {
+        Map<Long, CalendarCommandRecord> byId = new LinkedHashMap<>();
+        for (CalendarCommandRecord command : commands) {
+            byId.putIfAbsent(command.id(), command);
+        }
+        return byId.values().stream()
+                .filter(c -> "EXECUTED".equals(c.status()))
+                .sorted(Comparator.comparing(CalendarCommandRecord::executedAt,
+                                Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(CalendarCommandRecord::id))
+                .toList();
+    }
+
+    /**
+     * Applique les commandes (deja ordonnees) avec la semantique de CalendarEngine :
+     * BOOK reserve la plage, CANCEL libere les jours de la reservation, BLOCK bloque,
+     * UNBLOCK ne libere que les jours BLOCKED, UPDATE_PRICE pose le prix sans toucher au statut.
+     */
+    static SortedMap<LocalDate, ReplayedDay> fold(List<CalendarCommandRecord> commands) {
+        SortedMap<LocalDate, ReplayedDay> state = new TreeMap<>();
+        for (CalendarCommandRecord command : commands) {
+            switch (command.commandType()) {
+                case BOOK -> {
+                    for (LocalDate date : targetDates(command)) {
+                        state.put(date, new ReplayedDay(CalendarDayStatus.BOOKED, command.reservationId(),
+                                priceOf(state, date)));
+                    }
+                }
+                case CANCEL -> {
+                    if (command.reservationId() != null) {
+                        state.replaceAll((date, day) -> command.reservationId().equals(day.reservationId())
+                                ? new ReplayedDay(CalendarDayStatus.AVAILABLE, null, day.price()) : day);
+                    } else {
+                        for (LocalDate date : targetDates(command)) {
+                            ReplayedDay day = state.get(date);
+                            if (day != null && day.status() == CalendarDayStatus.BOOKED && day.reservationId() == null) {
+                                state.put(date, new ReplayedDay(CalendarDayStatus.AVAILABLE, null, day.price()));
+                            }
+                        }
+                    }
+                }
+                case BLOCK -> {
+                    for (LocalDate date : targetDates(command)) {
+                        state.put(date, new ReplayedDay(CalendarDayStatus.BLOCKED, null, priceOf(state, date)));
+                    }
+                }
+                case UNBLOCK -> {
+                    for (LocalDate date : targetDates(command)) {
+                        ReplayedDay day = state.get(date);
+                        if (day != null && day.status() == CalendarDayStatus.BLOCKED) {
+                            state.put(date, new ReplayedDay(CalendarDayStatus.AVAILABLE, null, day.price()));
+                        }
+                    }
+                }
+                case UPDATE_PRICE -> {
+                    for (LocalDate date : targetDates(command)) {
+                        ReplayedDay day = state.getOrDefault(date, ReplayedDay.AVAILABLE);
+                        state.put(date, new ReplayedDay(day.status(), day.reservationId(), command.price()));
+                    }
+                }
+            }
+        }
+        return state;
+    }
+
+    /** Jours touches : la liste explicite si journalisee, sinon toute la plage [dateFrom, dateTo). */
+    private static List<LocalDate> targetDates(CalendarCommandRecord command) {
+        if (command.dates() != null) {
+            return command.dates();
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = command.dateFrom(); date.isBefore(command.dateTo()); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private static BigDecimal priceOf(Map<LocalDate, ReplayedDay> state, LocalDate date) {
+        ReplayedDay day = state.get(date);
+        return day != null ? day.price() : null;
+    }
+
+    /** Relit un segment archive (pages NDJSON successives) et garde les lignes de la propriete. */
+    private List<CalendarCommandRecord> readArchivedSegment(String segment, Long propertyId, Long orgId) {
+        if (!objectStorageClient.isArchiveConfigured()) {
+            throw new IllegalStateException("Bucket d'archive non configure : segments archives illisibles");
+        }
+        String bucket = objectStorageClient.archiveBucket();
+        List<CalendarCommandRecord> records = new ArrayList<>();
+        for (int page = 0; page < MAX_ARCHIVE_PAGES; page++) {
+            String key = ArchivalService.archiveKey(archiveTarget, segment, page);
+            if (!objectStorageClient.exists(bucket, key)) {
+                break;
+            }
+            String ndjson = new String(objectStorageClient.get(bucket, key), StandardCharsets.UTF_8);
+            for (String line : ndjson.split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CalendarCommandRecord record = parse(line, key);
+                if (propertyId.equals(record.propertyId()) && orgId.equals(record.organizationId())) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private CalendarCommandRecord parse(String line, String key) {
+        try {
+            return objectMapper.readValue(line, CalendarCommandRecord.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Ligne d'archive illisible dans " + key, e);
+        }
+    }
+}
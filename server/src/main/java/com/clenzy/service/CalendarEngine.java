@@ -1,12 +1,14 @@
 package com.clenzy.service;
 
 import com.clenzy.config.SyncMetrics;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.exception.CalendarConflictException;
 import com.clenzy.exception.CalendarLockException;
 import com.clenzy.exception.RestrictionViolationException;
 import com.clenzy.model.*;
 import com.clenzy.repository.CalendarCommandRepository;
 import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.repository.RateOverrideRepository;
 import com.clenzy.repository.ReservationRepository;
@@ -69,6 +71,8 @@ public class CalendarEngine {
     private final SearchCacheInvalidator searchCacheInvalidator;
     /** Feed « En direct » de la constellation (best-effort) : trace le double-booking évité. */
     private final SupervisionActivityService supervisionActivityService;
+    /** Lectures de grilles (index couvrant, sans chargement d'entités). */
+    private final CalendarGridJdbcRepository calendarGridRepository;
 
     public CalendarEngine(CalendarDayRepository calendarDayRepository,
                           CalendarCommandRepository calendarCommandRepository,
@@ -81,7 +85,8 @@ public class CalendarEngine {
                           SyncMetrics syncMetrics,
                           OrganizationAccessGuard organizationAccessGuard,
                           SearchCacheInvalidator searchCacheInvalidator,
-                          SupervisionActivityService supervisionActivityService) {
+                          SupervisionActivityService supervisionActivityService,
+                          CalendarGridJdbcRepository calendarGridRepository) {
         this.calendarDayRepository = calendarDayRepository;
         this.calendarCommandRepository = calendarCommandRepository;
         this.propertyRepository = propertyRepository;
@@ -94,6 +99,7 @@ public class CalendarEngine {
         this.organizationAccessGuard = organizationAccessGuard;
         this.searchCacheInvalidator = searchCacheInvalidator;
         this.supervisionActivityService = supervisionActivityService;
+        this.calendarGridRepository = calendarGridRepository;
     }
 
     // ----------------------------------------------------------------
@@ -119,6 +125,17 @@ public class CalendarEngine {
         return calendarDayRepository.findBlockedOrMaintenanceForProperties(propertyIds, from, to, orgId);
     }
 
+    /**
+     * Grilles compactes (statut, prix, reservation par jour) de plusieurs proprietes sur [from, to),
+     * en une requete sur l'index couvrant — vue planning / channel, sans chargement d'entites.
+     *
+     * @throws IllegalArgumentException fenetre vide ou > {@value CalendarGridJdbcRepository#MAX_WINDOW_DAYS} jours
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CalendarGrid> getGrids(List<Long> propertyIds, LocalDate from, LocalDate to, Long orgId) {
+        return calendarGridRepository.findGrids(propertyIds, from, to, orgId);
+    }
+
     // ----------------------------------------------------------------
     // BOOK : reserver des dates [checkIn, checkOut)
     // ----------------------------------------------------------------
@@ -192,7 +209,7 @@ public class CalendarEngine {
 
             // 7. Log la commande
             logCommand(orgId, propertyId, CalendarCommandType.BOOK, checkIn, checkOut,
-                    source, reservationId, actorId, null);
+                    source, reservationId, actorId, null, null, null);
 
             // 8. Publier l'event dans l'outbox (meme transaction)
             outboxPublisher.publishCalendarEvent("CALENDAR_BOOKED", propertyId, orgId,
@@ -243,7 +260,7 @@ public class CalendarEngine {
 
             logCommand(orgId, propertyId, CalendarCommandType.CANCEL,
                     reservation.getCheckIn(), reservation.getCheckOut(),
-                    "CANCEL", reservationId, actorId, null);
+                    "CANCEL", reservationId, actorId, null, null, null);
 
             outboxPublisher.publishCalendarEvent("CALENDAR_CANCELLED", propertyId, orgId,
                     buildPayload("CANCELLED", propertyId, orgId, reservation.getCheckIn(), reservation.getCheckOut(), "CANCEL", reservationId));
@@ -298,7 +315,8 @@ public class CalendarEngine {
 
             int released = calendarDayRepository.releaseByReservation(move.reservationId(), move.orgId());
             logCommand(move.orgId(), move.oldPropertyId(), CalendarCommandType.CANCEL,
-                    move.oldCheckIn(), move.oldCheckOut(), "CANCEL", move.reservationId(), move.actorId(), null);
+                    move.oldCheckIn(), move.oldCheckOut(), "CANCEL", move.reservationId(), move.actorId(),
+                    null, null, null);
             outboxPublisher.publishCalendarEvent("CALENDAR_CANCELLED", move.oldPropertyId(), move.orgId(),
                     buildPayload("CANCELLED", move.oldPropertyId(), move.orgId(),
                             move.oldCheckIn(), move.oldCheckOut(), "CANCEL", move.reservationId()));
@@ -388,7 +406,7 @@ public class CalendarEngine {
             calendarDayRepository.saveAll(days);
 
             logCommand(orgId, propertyId, CalendarCommandType.BLOCK, from, to,
-                    source, null, actorId, notes != null ? "{\"notes\":\"" + notes.replace("\"", "\\\"") + "\"}" : null);
+                    source, null, actorId, null, notes, null);
 
             outboxPublisher.publishCalendarEvent("CALENDAR_BLOCKED", propertyId, orgId,
                     buildPayload("BLOCKED", propertyId, orgId, from, to, source, null));
@@ -438,7 +456,7 @@ public class CalendarEngine {
             calendarDayRepository.saveAll(blockedDays);
 
             logCommand(orgId, propertyId, CalendarCommandType.UNBLOCK, from, to,
-                    "MANUAL", null, actorId, null);
+                    "MANUAL", null, actorId, null, null, null);
 
             outboxPublisher.publishCalendarEvent("CALENDAR_UNBLOCKED", propertyId, orgId,
                     buildPayload("UNBLOCKED", propertyId, orgId, from, to, "MANUAL", null));
@@ -509,7 +527,10 @@ public class CalendarEngine {
             List<CalendarDay> changed = new ArrayList<>();
 
             // 1. Bloquer les jours declares indisponibles par le feed et actuellement libres.
+            // Les jours effectivement touches sont journalises (colonne dates) : le log reste
+            // rejouable jour par jour alors que la commande couvre toute la fenetre.
             int blocked = 0;
+            List<LocalDate> blockedOn = new ArrayList<>();
             for (LocalDate date : blockedDates) {
                 if (date.isBefore(from) || !date.isBefore(to)) {
                     continue; // hors fenetre de reconciliation
@@ -520,11 +541,13 @@ public class CalendarEngine {
                     day.setSource(source);
                     byDate.put(date, day);
                     changed.add(day);
+                    blockedOn.add(date);
                     blocked++;
                 } else if (day.getStatus() == CalendarDayStatus.AVAILABLE) {
                     day.setStatus(CalendarDayStatus.BLOCKED);
                     day.setSource(source);
                     changed.add(day);
+                    blockedOn.add(date);
                     blocked++;
                 }
                 // BOOKED / MAINTENANCE / deja BLOCKED : non modifie.
@@ -532,6 +555,7 @@ public class CalendarEngine {
 
             // 2. Liberer les jours que CE feed avait bloques et qui ont disparu du feed.
             int released = 0;
+            List<LocalDate> releasedOn = new ArrayList<>();
             for (CalendarDay day : byDate.values()) {
                 if (day.getStatus() == CalendarDayStatus.BLOCKED
                         && source.equals(day.getSource())
@@ -540,6 +564,7 @@ public class CalendarEngine {
                     day.setSource(MANUAL_OVERRIDE_SOURCE);
                     day.setNotes(null);
                     changed.add(day);
+                    releasedOn.add(day.getDate());
                     released++;
                 }
             }
@@ -550,12 +575,14 @@ public class CalendarEngine {
             calendarDayRepository.saveAll(changed);
 
             if (blocked > 0) {
-                logCommand(orgId, propertyId, CalendarCommandType.BLOCK, from, to, source, null, actorId, null);
+                logCommand(orgId, propertyId, CalendarCommandType.BLOCK, from, to, source, null, actorId,
+                        null, null, blockedOn);
                 outboxPublisher.publishCalendarEvent("CALENDAR_BLOCKED", propertyId, orgId,
                         buildPayload("BLOCKED", propertyId, orgId, from, to, source, null));
             }
             if (released > 0) {
-                logCommand(orgId, propertyId, CalendarCommandType.UNBLOCK, from, to, source, null, actorId, null);
+                logCommand(orgId, propertyId, CalendarCommandType.UNBLOCK, from, to, source, null, actorId,
+                        null, null, releasedOn);
                 outboxPublisher.publishCalendarEvent("CALENDAR_UNBLOCKED", propertyId, orgId,
                         buildPayload("UNBLOCKED", propertyId, orgId, from, to, source, null));
             }
@@ -617,9 +644,8 @@ public class CalendarEngine {
             }
             calendarDayRepository.saveAll(days);
 
-            String payload = price != null ? "{\"price\":" + price.toPlainString() + "}" : null;
             logCommand(orgId, propertyId, CalendarCommandType.UPDATE_PRICE, from, to,
-                    "MANUAL", null, actorId, payload);
+                    "MANUAL", null, actorId, price, null, null);
 
             outboxPublisher.publishCalendarEvent("CALENDAR_PRICE_UPDATED", propertyId, orgId,
                     buildPayload("PRICE_UPDATED", propertyId, orgId, from, to, "MANUAL", null));
@@ -901,20 +927,25 @@ public class CalendarEngine {
 
     /**
      * Log une commande dans la table calendar_commands.
+     * price / notes / dates : payload compact (colonnes typees), null si sans objet ;
+     * dates = jours effectivement touches quand ce n'est pas toute la plage [from, to).
      */
     private void logCommand(Long orgId, Long propertyId, CalendarCommandType type,
                             LocalDate from, LocalDate to, String source,
-                            Long reservationId, String actorId, String payload) {
+                            Long reservationId, String actorId,
+                            BigDecimal price, String notes, List<LocalDate> dates) {
         CalendarCommand command = new CalendarCommand(orgId, propertyId, type, from, to,
                 source != null ? source : "MANUAL");
         command.setReservationId(reservationId);
         command.setActorId(actorId);
-        command.setPayload(payload);
+        command.setPrice(price);
+        command.setNotes(notes);
+        command.setDates(dates);
         command.setStatus("EXECUTED");
         calendarCommandRepository.save(command);
         // Point d'ancrage unique des mutations book/cancel/move/block/unblock/updatePrice : invalide les
         // caches de recherche booking (calendrier agrégé des prix) → le widget reflète la dispo/prix sans
         // attendre le TTL. Éviction idempotente ; un éventuel rollback ne fait que provoquer un recalcul.
-        searchCacheInvalidator.onAvailabilityOrPriceChanged();
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
     }
 }
@@ -14,17 +14,26 @@ import com.clenzy.model.Property;
 import com.clenzy.repository.EnvironmentSensorRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import com.clenzy.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
@@ -55,6 +64,8 @@ public class EnvironmentSensorService {
     private final NotificationService notificationService;
     private final NetatmoApiService netatmoApiService;
     private final SupervisionActivityService supervisionActivityService;
+    private final SensorTimeSeriesStore timeSeriesStore;
+    private final int pollConcurrency;
 
     public EnvironmentSensorService(EnvironmentSensorRepository sensorRepository,
                                     PropertyRepository propertyRepository,
@@ -64,7 +75,9 @@ public class EnvironmentSensorService {
                                     NotificationService notificationService,
                                     NetatmoApiService netatmoApiService,
                                     SupervisionActivityService supervisionActivityService,
-                                    OrganizationAccessGuard organizationAccessGuard) {
+                                    OrganizationAccessGuard organizationAccessGuard,
+                                    SensorTimeSeriesStore timeSeriesStore,
+                                    @Value("${clenzy.iot.poll-concurrency:8}") int pollConcurrency) {
         this.sensorRepository = sensorRepository;
         this.propertyRepository = propertyRepository;
         this.tuyaApiService = tuyaApiService;
@@ -74,6 +87,8 @@ public class EnvironmentSensorService {
         this.netatmoApiService = netatmoApiService;
         this.supervisionActivityService = supervisionActivityService;
         this.organizationAccessGuard = organizationAccessGuard;
+        this.timeSeriesStore = timeSeriesStore;
+        this.pollConcurrency = pollConcurrency;
     }
 
     // ─── CRUD ───────────────────────────────────────────────────
@@ -145,16 +160,29 @@ public class EnvironmentSensorService {
     /**
      * Scheduler : poll les capteurs SMOKE/MOTION de toutes les orgs (filtre Hibernate
      * inactif hors requete) et declenche les alertes. @return nombre de capteurs traites.
+     *
+     * <p>Les lectures Tuya (statut + online) sont lancees en parallele, au plus
+     * {@code clenzy.iot.poll-concurrency} en vol (threads virtuels, aucun acces base) ;
+     * l'application des DP, les alertes et les sauvegardes restent sequentielles sur le
+     * thread de la transaction. Un capteur dont la lecture echoue est ignore pour ce run.</p>
      */
     @Transactional
     public int pollAndAlert() {
         List<EnvironmentSensor> sensors = sensorRepository.findByStatusAndSensorTypeIn(
-                SensorStatus.ACTIVE, List.of(SensorType.SMOKE, SensorType.MOTION));
+                SensorStatus.ACTIVE, List.of(SensorType.SMOKE, SensorType.MOTION)).stream()
+                .filter(s -> s.getExternalDeviceId() != null && !s.getExternalDeviceId().isBlank())
+                .toList();
+        Map<Long, TuyaReading> readings = prefetchTuya(sensors);
         int processed = 0;
         for (EnvironmentSensor sensor : sensors) {
-            if (sensor.getExternalDeviceId() == null || sensor.getExternalDeviceId().isBlank()) continue;
             try {
-                refresh(sensor);
+                if (isNetatmo(sensor)) {
+                    refresh(sensor);
+                } else {
+                    TuyaReading reading = readings.get(sensor.getId());
+                    if (reading == null) continue; // lecture en echec, deja journalisee
+                    applyTuyaReading(sensor, reading);
+                }
                 processed++;
             } catch (Exception e) {
                 log.warn("Erreur poll capteur {} (device Tuya {}): {}",
@@ -164,58 +192,114 @@ public class EnvironmentSensorService {
         return processed;
     }
 
-    @SuppressWarnings("unchecked")
+    /** Lecture brute d'un capteur Tuya : liste de DP + connectivite. */
+    private record TuyaReading(Object statusList, boolean online) {}
+
+    private TuyaReading readTuya(String externalDeviceId) {
+        Map<String, Object> status = tuyaApiService.getDeviceStatus(externalDeviceId);
+        return new TuyaReading(status.getOrDefault("result", status), fetchOnline(externalDeviceId));
+    }
+
+    private Map<Long, TuyaReading> prefetchTuya(List<EnvironmentSensor> sensors) {
+        Map<Long, TuyaReading> readings = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, pollConcurrency));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (EnvironmentSensor sensor : sensors) {
+                if (isNetatmo(sensor)) continue;
+                Long id = sensor.getId();
+                String ext = sensor.getExternalDeviceId();
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        readings.put(id, readTuya(ext));
+                    } catch (Exception e) {
+                        log.warn("Erreur poll capteur {} (device Tuya {}): {}", id, ext, e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return readings;
+    }
+
+    private static boolean isNetatmo(EnvironmentSensor sensor) {
+        return "NETATMO".equalsIgnoreCase(sensor.getBrand());
+    }
+
     private EnvironmentSensorDto refresh(EnvironmentSensor sensor) {
         if (sensor.getExternalDeviceId() == null || sensor.getExternalDeviceId().isBlank()) {
             return toDto(sensor);
         }
 
         // Marque Netatmo : lecture via l'API Connect (station meteo), pas Tuya.
-        if ("NETATMO".equalsIgnoreCase(sensor.getBrand())) {
+        if (isNetatmo(sensor)) {
             return refreshFromNetatmo(sensor);
         }
 
         try {
-            // Etat precedent (pour detecter une transition → alerte).
-            boolean prevSmoke = Boolean.TRUE.equals(sensor.getSmokeDetected());
-            boolean prevMotion = Boolean.TRUE.equals(sensor.getMotionDetected());
-            Boolean prevContact = sensor.getContactOpen();
-
-            Map<String, Object> status = tuyaApiService.getDeviceStatus(sensor.getExternalDeviceId());
-            Object statusList = status.getOrDefault("result", status);
-            if (statusList instanceof List) {
-                for (Object dp : (List<?>) statusList) {
-                    if (!(dp instanceof Map)) continue;
-                    Map<String, Object> dpMap = (Map<String, Object>) dp;
-                    applyDp(sensor, String.valueOf(dpMap.get("code")), dpMap.get("value"));
-                }
+            applyTuyaReading(sensor, readTuya(sensor.getExternalDeviceId()));
+        } catch (Exception e) {
+            log.error("Erreur recuperation statut capteur {} (device Tuya {}): {}",
+                    sensor.getId(), sensor.getExternalDeviceId(), e.getMessage());
+        }
+        return toDto(sensor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyTuyaReading(EnvironmentSensor sensor, TuyaReading reading) {
+        // Etat precedent (pour detecter une transition → alerte).
+        boolean prevSmoke = Boolean.TRUE.equals(sensor.getSmokeDetected());
+        boolean prevMotion = Boolean.TRUE.equals(sensor.getMotionDetected());
+        Boolean prevContact = sensor.getContactOpen();
+
+        if (reading.statusList() instanceof List) {
+            for (Object dp : (List<?>) reading.statusList()) {
+                if (!(dp instanceof Map)) continue;
+                Map<String, Object> dpMap = (Map<String, Object>) dp;
+                applyDp(sensor, String.valueOf(dpMap.get("code")), dpMap.get("value"));
             }
+        }
 
-            sensor.setOnline(fetchOnline(sensor.getExternalDeviceId()));
-            sensor.setLastSeenAt(LocalDateTime.now());
+        sensor.setOnline(reading.online());
+        sensor.setLastSeenAt(LocalDateTime.now());
 
-            // Detection de transition + alertes.
-            boolean nowSmoke = Boolean.TRUE.equals(sensor.getSmokeDetected());
-            boolean nowMotion = Boolean.TRUE.equals(sensor.getMotionDetected());
-            boolean contactChanged = prevContact != null
-                    && !prevContact.equals(sensor.getContactOpen());
+        // Detection de transition + alertes.
+        boolean nowSmoke = Boolean.TRUE.equals(sensor.getSmokeDetected());
+        boolean nowMotion = Boolean.TRUE.equals(sensor.getMotionDetected());
+        boolean contactChanged = prevContact != null
+                && !prevContact.equals(sensor.getContactOpen());
 
-            if ((nowSmoke && !prevSmoke) || (nowMotion && !prevMotion) || contactChanged) {
-                sensor.setLastEventAt(LocalDateTime.now());
-            }
-            if (sensor.getSensorType() == SensorType.SMOKE && nowSmoke && !prevSmoke) {
-                maybeAlert(sensor, SensorType.SMOKE);
-            }
-            if (sensor.getSensorType() == SensorType.MOTION && nowMotion && !prevMotion) {
-                maybeAlert(sensor, SensorType.MOTION);
-            }
+        if ((nowSmoke && !prevSmoke) || (nowMotion && !prevMotion) || contactChanged) {
+            sensor.setLastEventAt(LocalDateTime.now());
+        }
+        if (sensor.getSensorType() == SensorType.SMOKE && nowSmoke && !prevSmoke) {
+            maybeAlert(sensor, SensorType.SMOKE);
+        }
+        if (sensor.getSensorType() == SensorType.MOTION && nowMotion && !prevMotion) {
+            maybeAlert(sensor, SensorType.MOTION);
+        }
 
-            sensorRepository.save(sensor);
-        } catch (Exception e) {
-            log.error("Erreur recuperation statut capteur {} (device Tuya {}): {}",
-                    sensor.getId(), sensor.getExternalDeviceId(), e.getMessage());
+        sensorRepository.save(sensor);
+        recordSample(sensor, nowSmoke, nowMotion);
+    }
+
+    /** Historise l'etat detecte (0/1) dans le store local, pour les graphes et les fenetres. */
+    private void recordSample(EnvironmentSensor sensor, boolean smoke, boolean motion) {
+        if (sensor.getSensorType() == null) {
+            return;
         }
-        return toDto(sensor);
+        String metric = switch (sensor.getSensorType()) {
+            case SMOKE -> SeriesKey.METRIC_SMOKE;
+            case MOTION -> SeriesKey.METRIC_MOTION;
+            default -> null;
+        };
+        if (metric == null || sensor.getId() == null) {
+            return;
+        }
+        boolean detected = sensor.getSensorType() == SensorType.SMOKE ? smoke : motion;
+        timeSeriesStore.append(SeriesKey.environment(sensor.getOrganizationId(), sensor.getId(), metric),
+                List.of(new Sample(Instant.now().getEpochSecond(), detected ? 1 : 0)));
     }
 
     /**
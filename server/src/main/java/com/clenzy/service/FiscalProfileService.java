@@ -26,11 +26,14 @@ public class FiscalProfileService {
 
     private final FiscalProfileRepository fiscalProfileRepository;
     private final TenantContext tenantContext;
+    private final OrganizationSettingsProvider settingsProvider;
 
     public FiscalProfileService(FiscalProfileRepository fiscalProfileRepository,
-                                 TenantContext tenantContext) {
+                                 TenantContext tenantContext,
+                                 OrganizationSettingsProvider settingsProvider) {
         this.fiscalProfileRepository = fiscalProfileRepository;
         this.tenantContext = tenantContext;
+        this.settingsProvider = settingsProvider;
     }
 
     /**
@@ -55,7 +58,9 @@ public class FiscalProfileService {
                 newProfile.setVatRegistered(true);
                 newProfile.setInvoiceLanguage("fr");
                 newProfile.setInvoicePrefix("FA");
-                return fiscalProfileRepository.save(newProfile);
+                FiscalProfile created = fiscalProfileRepository.save(newProfile);
+                settingsProvider.invalidate(orgId);
+                return created;
             });
         return FiscalProfileDto.from(fp);
     }
@@ -74,8 +79,9 @@ public class FiscalProfileService {
         logger.info("Profil fiscal mis a jour pour organisation {}: country={}, currency={}",
             orgId, fp.getCountryCode(), fp.getDefaultCurrency());
 
-        // Invalider le cache Redis du tenant pour forcer le rechargement
-        // (sera fait automatiquement au prochain request via TenantFilter)
+        // Le contexte fiscal par requete (TenantFilter) est servi par l'instantane
+        // des parametres d'org : evince apres commit, sur tous les noeuds.
+        settingsProvider.invalidate(orgId);
 
         return FiscalProfileDto.from(fp);
     }
@@ -95,6 +101,8 @@ public class FiscalProfileService {
         fp.setVatRegistered(true);
         fp.setInvoiceLanguage("fr");
         fp.setInvoicePrefix("FA");
-        return fiscalProfileRepository.save(fp);
+        FiscalProfile saved = fiscalProfileRepository.save(fp);
+        settingsProvider.invalidate(organizationId);
+        return saved;
     }
 }
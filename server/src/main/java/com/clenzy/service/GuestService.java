@@ -1,5 +1,6 @@
 package com.clenzy.service;
 
+import com.clenzy.config.GuestBlindIndex;
 import com.clenzy.dto.GuestDto;
 import com.clenzy.dto.GuestListDto;
 import com.clenzy.dto.GuestPageDto;
@@ -34,7 +35,11 @@ import java.util.stream.Collectors;
  *
  * La deduplication fonctionne en 2 etapes :
  * 1. Par (channel, channelGuestId) en SQL (non chiffre)
- * 2. Par email en memoire (chiffre en base → impossible en SQL)
+ * 2. Par email : index aveugle (HMAC, cf. {@link GuestBlindIndex}) en SQL, puis
+ *    comparaison sur les seules lignes candidates dechiffrees
+ *
+ * Les recherches texte (nom, email) suivent le meme principe : jetons n-grammes
+ * HMAC sur index GIN, dechiffrement des seules candidates.
  */
 @Service
 @Transactional(readOnly = true)
@@ -59,7 +64,7 @@ public class GuestService {
      *
      * Strategie de deduplication :
      * 1. Si channel + channelGuestId fournis → recherche SQL directe
-     * 2. Si email fourni → charge tous les guests de l'org et compare en memoire
+     * 2. Si email fourni → candidats par index aveugle, compares en memoire
      * 3. Sinon → creation d'un nouveau guest
      *
      * @param firstName     prenom (obligatoire)
@@ -85,24 +90,11 @@ public class GuestService {
             }
         }
 
-        // 2. Dedup par email (en memoire car chiffre en base)
-        // Note: les emails sont chiffres en base → impossible de filtrer en SQL.
-        // On utilise une pagination pour eviter de charger tous les guests en memoire d'un coup.
+        // 2. Dedup par email (chiffre en base → index aveugle, puis valeur dechiffree)
         if (email != null && !email.isBlank()) {
-            int pageSize = 500;
-            int page = 0;
-            while (true) {
-                org.springframework.data.domain.Page<Guest> guestPage = guestRepository.findByOrganizationId(
-                        orgId, org.springframework.data.domain.PageRequest.of(page, pageSize));
-                Optional<Guest> byEmail = guestPage.getContent().stream()
-                        .filter(g -> email.equalsIgnoreCase(g.getEmail()))
-                        .findFirst();
-                if (byEmail.isPresent()) {
-                    log.debug("Guest deduplique par email pour org {} (page {})", orgId, page);
-                    return updateIfNeeded(byEmail.get(), firstName, lastName, null, phone);
-                }
-                if (!guestPage.hasNext()) break;
-                page++;
+            Optional<Guest> byEmail = findByEmail(email, orgId);
+            if (byEmail.isPresent()) {
+                return updateIfNeeded(byEmail.get(), firstName, lastName, null, phone);
             }
         }
 
@@ -210,9 +202,9 @@ public class GuestService {
      *
      * <p>Filtres : {@code channel} et {@code organizationId} ne sont PAS chiffres
      * → filtres en SQL. Le filtre {@code search} porte sur firstName/lastName/email,
-     * chiffres AES-256 en base → impossible en SQL, il reste applique en memoire.
-     * C'est la limite structurelle de ce listing (assumee, audit perf 2026-07-21) :
-     * la reduction se fait en amont via les filtres SQL.</p>
+     * chiffres AES-256 en base : le scope est reduit en SQL par les jetons aveugles
+     * du terme ({@link GuestBlindIndex}), puis le filtre exact est applique en
+     * memoire sur les seules candidates dechiffrees.</p>
      *
      * @param organizationId org du requester ; {@code null} = platform staff
      *                       (SUPER_ADMIN/SUPER_MANAGER), lecture cross-org avec
@@ -230,9 +222,11 @@ public class GuestService {
             return List.of();
         }
 
-        List<Guest> guests = fetchScope(crossTenant, organizationId, channelFilter);
-        Map<Long, String> orgNames = crossTenant ? organizationNamesById() : Map.of();
         String lowerSearch = normalizeSearch(search);
+        List<Guest> guests = lowerSearch != null
+                ? searchScope(crossTenant, organizationId, channelFilter, lowerSearch)
+                : fetchScope(crossTenant, organizationId, channelFilter);
+        Map<Long, String> orgNames = crossTenant ? organizationNamesById() : Map.of();
 
         return guests.stream()
                 // Filtre search (en memoire — champs chiffres, cf. javadoc)
@@ -249,11 +243,10 @@ public class GuestService {
      * (AES) : ordre stable et deterministe mais non alphabetique — strictement le
      * meme tri que le mode non pagine ({@code findAllOrderByLastName} & co).</p>
      *
-     * <p>Avec {@code search} (&ge; 2 caracteres) : le scope org/channel est charge
-     * (filtres SQL), le filtre search est applique en memoire apres dechiffrement
-     * (champs chiffres — limite structurelle assumee, cf. {@link #listGuests}),
-     * PUIS la page est decoupee cote serveur : le payload reseau reste borne a la
-     * page demandee, c'est le gain principal.</p>
+     * <p>Avec {@code search} (&ge; 2 caracteres) : les candidates sont chargees par
+     * jetons aveugles (cf. {@link #listGuests}), le filtre search est applique en
+     * memoire apres dechiffrement, PUIS la page est decoupee cote serveur (le total
+     * exige le filtre complet : pas de pagination SQL sur un critere chiffre).</p>
      *
      * @param organizationId org du requester ; {@code null} = platform staff (cross-org)
      */
@@ -289,9 +282,9 @@ public class GuestService {
             return new GuestPageDto(content, page, size, guestPage.getTotalElements());
         }
 
-        // Search : scope reduit en SQL (org + channel), filtre dechiffre en memoire,
+        // Search : candidates par jetons aveugles, filtre dechiffre en memoire,
         // puis decoupage serveur de la page.
-        List<Guest> filtered = fetchScope(crossTenant, organizationId, channelFilter).stream()
+        List<Guest> filtered = searchScope(crossTenant, organizationId, channelFilter, lowerSearch).stream()
                 .filter(g -> matchesSearch(g, lowerSearch))
                 .toList();
         int from = Math.min(page * size, filtered.size());
@@ -303,14 +296,14 @@ public class GuestService {
     }
 
     /**
-     * Recherche par nom dans l'organisation (en memoire car firstName/lastName
-     * sont chiffres en base). Limite a 20 resultats. L'appelant garantit un
-     * terme d'au moins 2 caracteres.
+     * Recherche par nom dans l'organisation : candidats par jetons aveugles (index
+     * GIN), puis filtre sur les noms dechiffres. Limite a 20 resultats. L'appelant
+     * garantit un terme d'au moins 2 caracteres.
      */
     public List<GuestDto> searchByName(Long organizationId, String search) {
         String lowerSearch = search.toLowerCase().trim();
 
-        return guestRepository.findByOrganizationId(organizationId).stream()
+        return searchScope(false, organizationId, null, lowerSearch).stream()
                 .filter(g -> {
                     String fn = g.getFirstName() != null ? g.getFirstName().toLowerCase() : "";
                     String ln = g.getLastName() != null ? g.getLastName().toLowerCase() : "";
@@ -489,6 +482,58 @@ public class GuestService {
                 : guestRepository.findByOrganizationId(organizationId);
     }
 
+    /**
+     * Scope d'une recherche texte : candidates par jetons aveugles (+ guests pas encore
+     * indexes), canal filtre sur les candidates. Sans jeton (cle absente, terme trop
+     * court) : scope SQL complet, comme avant les index aveugles.
+     */
+    private List<Guest> searchScope(boolean crossTenant, Long organizationId,
+                                    GuestChannel channelFilter, String lowerSearch) {
+        List<String> tokens = GuestBlindIndex.queryTokens(lowerSearch);
+        if (tokens.isEmpty()) {
+            return fetchScope(crossTenant, organizationId, channelFilter);
+        }
+        String literal = GuestBlindIndex.toArrayLiteral(tokens);
+        List<Guest> candidates = crossTenant
+                ? guestRepository.findSearchCandidatesAllOrgs(literal)
+                : guestRepository.findSearchCandidates(organizationId, literal);
+        if (channelFilter == null) {
+            return candidates;
+        }
+        return candidates.stream().filter(g -> g.getChannel() == channelFilter).toList();
+    }
+
+    /**
+     * Guest de l'org ayant cet email (insensible a la casse). Index aveugle si la cle
+     * est configuree ; sinon parcours pagine de l'org (dechiffrement de chaque guest).
+     */
+    private Optional<Guest> findByEmail(String email, Long orgId) {
+        String emailIndex = GuestBlindIndex.emailIndex(email);
+        if (emailIndex != null) {
+            Optional<Guest> match = guestRepository.findEmailCandidates(orgId, emailIndex).stream()
+                    .filter(g -> email.equalsIgnoreCase(g.getEmail()))
+                    .findFirst();
+            match.ifPresent(g -> log.debug("Guest deduplique par email (index aveugle) pour org {}", orgId));
+            return match;
+        }
+        int pageSize = 500;
+        int page = 0;
+        while (true) {
+            Page<Guest> guestPage = guestRepository.findByOrganizationId(orgId, PageRequest.of(page, pageSize));
+            Optional<Guest> byEmail = guestPage.getContent().stream()
+                    .filter(g -> email.equalsIgnoreCase(g.getEmail()))
+                    .findFirst();
+            if (byEmail.isPresent()) {
+                log.debug("Guest deduplique par email pour org {} (page {})", orgId, page);
+                return byEmail;
+            }
+            if (!guestPage.hasNext()) {
+                return Optional.empty();
+            }
+            page++;
+        }
+    }
+
     /** Lookup des noms d'organisation (vue cross-tenant platform staff). */
     private Map<Long, String> organizationNamesById() {
         return organizationService.findAll().stream()
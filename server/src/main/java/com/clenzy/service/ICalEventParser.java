@@ -1,19 +1,10 @@
 package com.clenzy.service;
 
 import com.clenzy.dto.ICalImportDto.ICalEventPreview;
-import net.fortuna.ical4j.data.CalendarBuilder;
-import net.fortuna.ical4j.data.ParserException;
-import net.fortuna.ical4j.model.Calendar;
-import net.fortuna.ical4j.model.Component;
-import net.fortuna.ical4j.model.Parameter;
-import net.fortuna.ical4j.model.Property;
-import net.fortuna.ical4j.model.component.VEvent;
-import net.fortuna.ical4j.model.property.Description;
-import net.fortuna.ical4j.model.property.DtEnd;
-import net.fortuna.ical4j.model.property.DtStart;
-import net.fortuna.ical4j.model.property.Status;
-import net.fortuna.ical4j.model.property.Summary;
-import net.fortuna.ical4j.model.property.Uid;
+import com.clenzy.service.ical.ICalVEventTokenizer;
+import com.clenzy.service.ical.ICalVEventTokenizer.MalformedICalException;
+import com.clenzy.service.ical.ICalVEventTokenizer.RawProperty;
+import com.clenzy.service.ical.ICalVEventTokenizer.RawVEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +23,7 @@ import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,6 +37,12 @@ import java.util.regex.Pattern;
  * fournir la timezone du logement : les DATE-TIME UTC ('Z') ou TZID y sont alors
  * convertis avant extraction de la date (Z6-SECBUGS-04, anti-overbooking). Sans
  * zone fournie, repli trace sur la timezone systeme.</p>
+ *
+ * <p>Lecture en flux ({@link ICalVEventTokenizer}) : aucun modele objet du calendrier
+ * complet n'est construit. Avec une fenetre ({@link #parse(InputStream, ZoneId, LocalDate)}),
+ * les evenements termines avant son debut sont comptes puis ecartes sans etre
+ * materialises — les feeds a plusieurs annees d'historique ne coutent plus que les
+ * evenements utiles a la synchronisation.</p>
  */
 public final class ICalEventParser {
 
@@ -66,7 +64,10 @@ public final class ICalEventParser {
             "not available", "unavailable", "blocked", "closed", "airbnb (not available)"
     );
 
-    /** Maximum number of VEVENTs to parse from a single feed (DoS protection). */
+    /**
+     * Maximum number of VEVENTs materialized from a single feed (DoS protection).
+     * Les evenements hors fenetre ne comptent pas : seuls ceux retenus occupent la memoire.
+     */
     private static final int MAX_EVENTS_PER_FEED = 5000;
 
     /** Partie heure d'un DATE-TIME iCal (RFC 5545 : HHMMSS). */
@@ -77,18 +78,27 @@ public final class ICalEventParser {
     /**
      * Resultat detaille du parsing d'un feed iCal.
      *
-     * @param events           evenements valides, tries par date de debut croissante
-     * @param unparsableEvents nombre d'evenements ecartes (DTSTART manquant ou non parsable) —
-     *                         remonte dans le resultat de sync pour eviter toute perte silencieuse
-     * @param unparsableUids   UID des evenements ecartes (quand present) : a exclure de la
-     *                         detection d'orphelins pour ne pas annuler une reservation legitime
-     * @param recurringEvents  nombre d'evenements porteurs d'une RRULE/RDATE — non expanses,
-     *                         seule l'occurrence maitre est traitee (limite documentee)
+     * @param events            evenements valides, tries par date de debut croissante
+     * @param unparsableEvents  nombre d'evenements ecartes (DTSTART manquant ou non parsable) —
+     *                          remonte dans le resultat de sync pour eviter toute perte silencieuse
+     * @param unparsableUids    UID des evenements ecartes (quand present) : a exclure de la
+     *                          detection d'orphelins pour ne pas annuler une reservation legitime
+     * @param recurringEvents   nombre d'evenements porteurs d'une RRULE/RDATE — non expanses,
+     *                          seule l'occurrence maitre est traitee (limite documentee)
+     * @param outOfWindowEvents nombre d'evenements termines avant le debut de la fenetre,
+     *                          ecartes sans etre materialises (0 sans fenetre)
      */
     public record ParseResult(List<ICalEventPreview> events,
                               int unparsableEvents,
                               Set<String> unparsableUids,
-                              int recurringEvents) {}
+                              int recurringEvents,
+                              int outOfWindowEvents) {
+
+        public ParseResult(List<ICalEventPreview> events, int unparsableEvents,
+                           Set<String> unparsableUids, int recurringEvents) {
+            this(events, unparsableEvents, unparsableUids, recurringEvents, 0);
+        }
+    }
 
     /**
      * Parses an iCal input stream into a sorted list of event previews.
@@ -98,7 +108,7 @@ public final class ICalEventParser {
      *
      * @param inputStream the iCal content stream (caller is responsible for size-limiting)
      * @return sorted list of parsed events; events without DTSTART are excluded
-     * @throws RuntimeException wrapping {@link ParserException} or {@link IOException}
+     * @throws RuntimeException if the content is not valid iCal or cannot be read
      */
     public static List<ICalEventPreview> parseEvents(InputStream inputStream) {
         return parse(inputStream).events();
@@ -119,7 +129,7 @@ public final class ICalEventParser {
      * (repli trace) : prefer {@link #parse(InputStream, ZoneId)} avec la timezone
      * du logement quand elle est connue de l'appelant.
      *
-     * @throws RuntimeException wrapping {@link ParserException} or {@link IOException}
+     * @throws RuntimeException if the content is not valid iCal or cannot be read
      */
     public static ParseResult parse(InputStream inputStream) {
         return parse(inputStream, null);
@@ -132,21 +142,35 @@ public final class ICalEventParser {
      *
      * @param propertyZone timezone du logement ; si {@code null}, repli trace
      *                     sur la timezone systeme
-     * @throws RuntimeException wrapping {@link ParserException} or {@link IOException}
+     * @throws RuntimeException if the content is not valid iCal or cannot be read
      */
     public static ParseResult parse(InputStream inputStream, ZoneId propertyZone) {
+        return parse(inputStream, propertyZone, null);
+    }
+
+    /**
+     * Variante fenetree : les evenements dont la fin (DTEND, sinon DTSTART) ne depasse
+     * pas {@code windowStart} sont comptes dans {@link ParseResult#outOfWindowEvents()}
+     * sans etre materialises. Restent toujours retenus : les evenements recurrents (leur
+     * occurrence maitre peut etre ancienne) et ceux dont la date est illisible (comptes
+     * comme non parsables, leur UID protege de la detection d'orphelins).
+     *
+     * @param windowStart debut de la fenetre utile ; {@code null} = tout le feed
+     * @throws RuntimeException if the content is not valid iCal or cannot be read
+     */
+    public static ParseResult parse(InputStream inputStream, ZoneId propertyZone, LocalDate windowStart) {
         ZoneId targetZone = resolveTargetZone(propertyZone);
+        EventCollector collector = new EventCollector(targetZone, windowStart);
         try {
-            CalendarBuilder builder = new CalendarBuilder();
-            Calendar calendar = builder.build(inputStream);
-            return extractEvents(calendar, targetZone);
-        } catch (ParserException e) {
+            ICalVEventTokenizer.read(inputStream, collector);
+        } catch (MalformedICalException e) {
             log.error("Erreur parsing iCal: {}", e.getMessage());
             throw new RuntimeException("Format de calendrier iCal invalide : " + e.getMessage());
         } catch (IOException e) {
             log.error("Erreur lecture iCal: {}", e.getMessage());
             throw new RuntimeException("Impossible de lire le calendrier iCal : " + e.getMessage());
         }
+        return collector.result();
     }
 
     /** Zone cible des conversions DATE-TIME : celle du logement, sinon repli systeme trace. */
@@ -161,86 +185,106 @@ public final class ICalEventParser {
     }
 
     /**
-     * Extracts VEVENT components from a parsed Calendar, enforcing the event limit.
-     * Les evenements sans DTSTART exploitable sont comptes (et leur UID collecte)
-     * au lieu d'etre perdus silencieusement ; les RRULE/RDATE sont detectees et
-     * comptees — ical4j n'est pas utilise pour les expanser car les reservations
-     * OTA ne sont jamais recurrentes et une expansion partagerait le meme UID
-     * entre occurrences (cassant dedup et detection d'orphelins).
+     * Recoit les VEVENT au fil de la lecture et n'en materialise que ceux de la fenetre,
+     * en appliquant la limite d'evenements. Les evenements sans DTSTART exploitable sont
+     * comptes (et leur UID collecte) au lieu d'etre perdus silencieusement ; les
+     * RRULE/RDATE sont detectees et comptees — elles ne sont pas expansees car les
+     * reservations OTA ne sont jamais recurrentes et une expansion partagerait le meme
+     * UID entre occurrences (cassant dedup et detection d'orphelins).
      */
-    private static ParseResult extractEvents(Calendar calendar, ZoneId targetZone) {
-        var allVEvents = calendar.getComponents(Component.VEVENT);
-        if (allVEvents.size() > MAX_EVENTS_PER_FEED) {
-            throw new IllegalArgumentException(
-                    "Le fichier iCal contient trop d'evenements (" + allVEvents.size()
-                            + "). Maximum autorise : " + MAX_EVENTS_PER_FEED + ".");
+    private static final class EventCollector implements Consumer<RawVEvent> {
+        private final ZoneId targetZone;
+        private final LocalDate windowStart;
+        private final List<ICalEventPreview> events = new ArrayList<>();
+        private final Set<String> unparsableUids = new LinkedHashSet<>();
+        private int unparsableEvents;
+        private int recurringEvents;
+        private int outOfWindowEvents;
+
+        EventCollector(ZoneId targetZone, LocalDate windowStart) {
+            this.targetZone = targetZone;
+            this.windowStart = windowStart;
         }
 
-        List<ICalEventPreview> events = new ArrayList<>();
-        int unparsableEvents = 0;
-        Set<String> unparsableUids = new LinkedHashSet<>();
-        int recurringEvents = 0;
-
-        for (Object component : allVEvents) {
-            VEvent vevent = (VEvent) component;
-            if (hasRecurrence(vevent)) {
+        @Override
+        public void accept(RawVEvent vevent) {
+            boolean recurring = vevent.isRecurring();
+            if (recurring) {
                 recurringEvents++;
                 log.warn("Evenement iCal recurrent (RRULE/RDATE) non expanse (uid={}) : seule l'occurrence maitre est traitee",
-                        uidOf(vevent));
+                        vevent.value("UID"));
             }
-            ICalEventPreview preview = parseVEvent(vevent, targetZone);
-            if (preview == null) {
-                continue; // blocage calendrier ("Not available", "Blocked"...) : ignore volontairement
+            if (!recurring && endsBeforeWindow(vevent)) {
+                outOfWindowEvents++;
+                return;
             }
+            ICalEventPreview preview = parseVEvent(vevent, targetZone);
             if (preview.getDtStart() == null) {
                 unparsableEvents++;
                 if (preview.getUid() != null) {
                     unparsableUids.add(preview.getUid());
                 }
                 log.warn("Evenement iCal ignore (DTSTART manquant ou non parsable), uid={}", preview.getUid());
-                continue;
+                return;
+            }
+            if (events.size() >= MAX_EVENTS_PER_FEED) {
+                throw new IllegalArgumentException(
+                        "Le fichier iCal contient trop d'evenements (plus de " + MAX_EVENTS_PER_FEED
+                                + "). Maximum autorise : " + MAX_EVENTS_PER_FEED + ".");
             }
             events.add(preview);
         }
 
-        // Sort by start date ascending
-        events.sort(Comparator.comparing(
-                ICalEventPreview::getDtStart, Comparator.nullsLast(Comparator.naturalOrder())));
-
-        return new ParseResult(events, unparsableEvents, unparsableUids, recurringEvents);
-    }
-
-    /** Detecte une regle de recurrence (RRULE ou RDATE) sur un VEVENT. */
-    private static boolean hasRecurrence(VEvent vevent) {
-        return vevent.getProperty(Property.RRULE) != null
-                || vevent.getProperty(Property.RDATE) != null;
-    }
+        /**
+         * Fin de l'evenement (DTEND exclusif, sinon lendemain de DTSTART) au plus tard au
+         * debut de la fenetre. Date illisible = dans la fenetre (le parsing complet la
+         * comptera comme non parsable).
+         */
+        private boolean endsBeforeWindow(RawVEvent vevent) {
+            if (windowStart == null) {
+                return false;
+            }
+            try {
+                RawProperty dtEnd = vevent.property("DTEND");
+                LocalDate end;
+                if (dtEnd != null) {
+                    end = parseICalDate(dtEnd.value(), dtEnd.parameter("TZID"), targetZone);
+                } else {
+                    RawProperty dtStart = vevent.property("DTSTART");
+                    if (dtStart == null) {
+                        return false;
+                    }
+                    end = parseICalDate(dtStart.value(), dtStart.parameter("TZID"), targetZone).plusDays(1);
+                }
+                return !end.isAfter(windowStart);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
 
-    /** UID d'un VEVENT pour les logs (jamais l'URL du feed — elle contient un token). */
-    private static String uidOf(VEvent vevent) {
-        Uid uid = vevent.getUid();
-        return uid != null ? uid.getValue() : null;
+        ParseResult result() {
+            // Sort by start date ascending
+            events.sort(Comparator.comparing(
+                    ICalEventPreview::getDtStart, Comparator.nullsLast(Comparator.naturalOrder())));
+            return new ParseResult(events, unparsableEvents, unparsableUids, recurringEvents, outOfWindowEvents);
+        }
     }
 
     /**
      * Parses a single VEVENT into an {@link ICalEventPreview}.
      * Un preview avec {@code dtStart == null} (DTSTART manquant ou non parsable)
-     * est ecarte et compte par {@link #extractEvents(Calendar)}.
-     *
-     * @return the parsed preview, or {@code null} if the event is a calendar block
+     * est ecarte et compte par {@link EventCollector}. Un blocage de calendrier est
+     * emis avec {@code type = "blocked"}.
      */
-    private static ICalEventPreview parseVEvent(VEvent vevent, ZoneId targetZone) {
+    private static ICalEventPreview parseVEvent(RawVEvent vevent, ZoneId targetZone) {
         ICalEventPreview preview = new ICalEventPreview();
 
         // UID
-        Uid uid = vevent.getUid();
-        if (uid != null) {
-            preview.setUid(uid.getValue());
-        }
+        preview.setUid(vevent.value("UID"));
 
         // SUMMARY
-        Summary summary = vevent.getSummary();
-        String summaryText = summary != null ? summary.getValue() : "";
+        String summary = vevent.value("SUMMARY");
+        String summaryText = summary != null ? summary : "";
         preview.setSummary(summaryText);
 
         // Blocage de calendrier (ex: "Airbnb (Not available)", "Blocked", SUMMARY vide) :
@@ -287,40 +331,34 @@ public final class ICalEventParser {
         return preview;
     }
 
-    private static void parseDtStart(VEvent vevent, ICalEventPreview preview, ZoneId targetZone) {
-        DtStart dtStart = vevent.getStartDate();
+    private static void parseDtStart(RawVEvent vevent, ICalEventPreview preview, ZoneId targetZone) {
+        RawProperty dtStart = vevent.property("DTSTART");
         if (dtStart == null) return;
         try {
-            preview.setDtStart(parseICalDate(dtStart.getValue(), tzidOf(dtStart), targetZone));
+            preview.setDtStart(parseICalDate(dtStart.value(), dtStart.parameter("TZID"), targetZone));
         } catch (Exception e) {
             log.warn("Impossible de parser DTSTART (uid={}): {}", preview.getUid(), e.getMessage());
         }
     }
 
-    private static void parseDtEnd(VEvent vevent, ICalEventPreview preview, ZoneId targetZone) {
-        DtEnd dtEnd = vevent.getEndDate();
+    private static void parseDtEnd(RawVEvent vevent, ICalEventPreview preview, ZoneId targetZone) {
+        RawProperty dtEnd = vevent.property("DTEND");
         if (dtEnd == null) return;
         try {
-            preview.setDtEnd(parseICalDate(dtEnd.getValue(), tzidOf(dtEnd), targetZone));
+            preview.setDtEnd(parseICalDate(dtEnd.value(), dtEnd.parameter("TZID"), targetZone));
         } catch (Exception e) {
             log.warn("Impossible de parser DTEND (uid={}): {}", preview.getUid(), e.getMessage());
         }
     }
 
-    /** Valeur du parametre TZID d'une propriete iCal, ou {@code null} si absent. */
-    private static String tzidOf(Property property) {
-        Parameter tzid = property.getParameter(Parameter.TZID);
-        return tzid != null ? tzid.getValue() : null;
-    }
-
-    private static void parseDescription(VEvent vevent, ICalEventPreview preview) {
-        Description description = vevent.getDescription();
+    private static void parseDescription(RawVEvent vevent, ICalEventPreview preview) {
+        String description = vevent.value("DESCRIPTION");
         if (description == null) return;
 
-        preview.setDescription(description.getValue());
+        preview.setDescription(description);
 
         // Parse nights count from description
-        Matcher nightsMatcher = DESCRIPTION_NIGHTS_PATTERN.matcher(description.getValue());
+        Matcher nightsMatcher = DESCRIPTION_NIGHTS_PATTERN.matcher(description);
         if (nightsMatcher.find()) {
             preview.setNights(Integer.parseInt(nightsMatcher.group(1)));
         }
@@ -331,12 +369,10 @@ public final class ICalEventParser {
      * RFC 5545 VEVENT STATUS: TENTATIVE, CONFIRMED, CANCELLED.
      * If absent, status remains null (caller decides default).
      */
-    private static void parseStatus(VEvent vevent, ICalEventPreview preview) {
-        Status status = (Status) vevent.getProperty("STATUS");
-        if (status == null) return;
-        String value = status.getValue();
+    private static void parseStatus(RawVEvent vevent, ICalEventPreview preview) {
+        String value = vevent.value("STATUS");
         if (value == null) return;
-        switch (value.toUpperCase()) {
+        switch (value.trim().toUpperCase()) {
             case "CONFIRMED":
                 preview.setStatus("confirmed");
                 break;
@@ -11,6 +11,7 @@ import com.clenzy.service.ical.FeedUrlMasker;
 import com.clenzy.service.ical.ICalBlockImporter;
 import com.clenzy.service.ical.ICalCleaningScheduler;
 import com.clenzy.service.ical.ICalFeedDownloader;
+import com.clenzy.service.ical.ICalFeedEventIndex;
 import com.clenzy.service.ical.ICalImportSession;
 import com.clenzy.service.ical.ICalOrphanDetector;
 import com.clenzy.service.ical.ICalReservationImporter;
@@ -27,6 +28,7 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
@@ -70,6 +72,7 @@ public class ICalImportService {
     private final ICalBlockImporter blockImporter;
     private final ICalOrphanDetector orphanDetector;
     private final ICalCleaningScheduler cleaningScheduler;
+    private final ICalFeedEventIndex eventIndex;
     private final SupervisionActivityService supervisionActivityService;
     private final com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService;
     /** Proxy Spring de ce bean : permet a importICalFeed (non transactionnel, fetch HTTP
@@ -92,6 +95,7 @@ public class ICalImportService {
                              ICalBlockImporter blockImporter,
                              ICalOrphanDetector orphanDetector,
                              ICalCleaningScheduler cleaningScheduler,
+                             ICalFeedEventIndex eventIndex,
                              SupervisionActivityService supervisionActivityService,
                              com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService,
                              ObjectProvider<ICalImportService> self) {
@@ -110,6 +114,7 @@ public class ICalImportService {
         this.blockImporter = blockImporter;
         this.orphanDetector = orphanDetector;
         this.cleaningScheduler = cleaningScheduler;
+        this.eventIndex = eventIndex;
         this.supervisionActivityService = supervisionActivityService;
         this.supervisionSuggestionService = supervisionSuggestionService;
         this.self = self;
@@ -178,8 +183,12 @@ public class ICalImportService {
         assertFeedNotLinkedToAnotherProperty(request, property, orgId);
 
         // Telechargement + parsing AVANT d'ouvrir la transaction (lectures seules ci-dessus,
-        // chaque repository ouvre sa courte transaction propre).
-        ICalEventParser.ParseResult parseResult = fetchAndParseICalFeedDetailed(request.getUrl(), resolvePropertyZone(property));
+        // chaque repository ouvre sa courte transaction propre). Feed deja synchronise en
+        // complet : l'historique ancien n'est plus materialise (cf. ICalFeedEventIndex).
+        ICalFeed existingFeed = icalFeedRepository.findByPropertyIdAndUrl(property.getId(), request.getUrl(), orgId);
+        LocalDate windowStart = eventIndex.parseWindowStart(existingFeed, LocalDate.now());
+        ICalEventParser.ParseResult parseResult = fetchAndParseICalFeedDetailed(
+                request.getUrl(), resolvePropertyZone(property), windowStart);
 
         return self.getObject().applyParsedICalFeed(request, keycloakId, parseResult);
     }
@@ -189,6 +198,11 @@ public class ICalImportService {
      * evenement par evenement -> detection orphelins -> persistance des resultats ->
      * notifications -> hooks afterCommit. C'est ICI que vit la transaction de
      * l'import ; toujours invoquer via le proxy {@code self} depuis cette classe.
+     * <p>
+     * Application differentielle ({@link ICalFeedEventIndex}) : hors passage complet, un
+     * evenement au hash inchange dont la reservation est connue n'est pas rejoue, et les
+     * blocages ne sont reconcilies que si un blocage a change. La detection d'orphelins
+     * reste calculee sur tout le feed (une requete, pas d'ecriture sans retrait).
      */
     @Transactional
     public ImportResponse applyParsedICalFeed(ImportRequest request, String keycloakId,
@@ -207,13 +221,36 @@ public class ICalImportService {
         recordParseAnomalies(session, parseResult);
         reservationImporter.preloadKnownFeedReservations(session);
 
+        LocalDateTime now = LocalDateTime.now();
+        ICalFeedEventIndex.FeedDiff diff = eventIndex.diff(feed, parseResult.events(), now);
+        Set<String> failedUids = new HashSet<>();
         for (ICalEventPreview event : reservationEvents) {
-            importEvent(session, event);
+            if (diff.isUnchanged(event) && session.knownUidToReservationId.containsKey(event.getUid())) {
+                session.skipped++; // deja applique a l'identique : aucune lecture ni ecriture
+                continue;
+            }
+            if (!importEvent(session, event) && event.getUid() != null) {
+                failedUids.add(event.getUid());
+            }
         }
 
         orphanDetector.detectAndCancelOrphans(session, reservationEvents);
         // Blocages OTA ("Not available", "Blocked") -> CalendarDay BLOCKED (planning + booking engine).
-        blockImporter.importBlocks(session, blockedEvents);
+        if (diff.blocksChanged()) {
+            int errorsBefore = session.errors.size();
+            blockImporter.importBlocks(session, blockedEvents);
+            if (session.errors.size() > errorsBefore) {
+                // Reconciliation en echec : les blocages seront rejoues au prochain passage.
+                blockedEvents.stream().map(ICalEventPreview::getUid).filter(Objects::nonNull).forEach(failedUids::add);
+            }
+        }
+        eventIndex.record(feed, diff, failedUids, parseResult.unparsableUids());
+        if (diff.fullPass()) {
+            feed.setLastFullSyncAt(now);
+        }
+        log.debug("iCal import feed #{} : passage {}, {} ajoute(s), {} modifie(s), {} inchange(s), {} retire(s), {} hors fenetre",
+                feed.getId(), diff.fullPass() ? "complet" : "differentiel", diff.added(), diff.changed(),
+                diff.unchangedUids().size(), diff.removedUids().size(), parseResult.outOfWindowEvents());
         persistFeedSyncResult(session);
         auditAndLogResult(session);
 
@@ -316,16 +353,18 @@ public class ICalImportService {
      * Importe un evenement : creation ou annulation de la reservation
      * ({@link ICalReservationImporter}), puis creation/relance de la demande de
      * menage ({@link ICalCleaningScheduler}). Une erreur sur un evenement n'arrete
-     * pas les suivants.
+     * pas les suivants (retourne {@code false} : l'evenement ne sera pas indexe).
      */
-    private void importEvent(ICalImportSession session, ICalEventPreview event) {
+    private boolean importEvent(ICalImportSession session, ICalEventPreview event) {
         try {
             Long reservationId = reservationImporter.importEvent(session, event);
             cleaningScheduler.maybeCreateOrRetryCleaningRequest(session, event, reservationId);
+            return true;
         } catch (Exception e) {
             // Pas un swallow : l'erreur est comptee dans le resultat de sync (statut PARTIAL).
             log.warn("Erreur import evenement {}: {}", event.getUid(), e.getMessage());
             session.errors.add("Evenement " + event.getSummary() + " : " + e.getMessage());
+            return false;
         }
     }
 
@@ -526,13 +565,21 @@ public class ICalImportService {
      */
     @CircuitBreaker(name = "ical-import")
     public ICalEventParser.ParseResult fetchAndParseICalFeedDetailed(String url, ZoneId targetZone) {
-        // try-with-resources : ical4j ne ferme pas l'InputStream, et le close() est le seul
+        return fetchAndParseICalFeedDetailed(url, targetZone, null);
+    }
+
+    /**
+     * Variante fenetree : les evenements termines avant {@code windowStart} sont ecartes
+     * en cours de lecture, sans etre materialises ({@code null} = tout le feed).
+     */
+    @CircuitBreaker(name = "ical-import")
+    public ICalEventParser.ParseResult fetchAndParseICalFeedDetailed(String url, ZoneId targetZone,
+                                                                     LocalDate windowStart) {
+        // try-with-resources : le parser ne ferme pas l'InputStream, et le close() est le seul
         // mecanisme qui libere la socket TLS ouverte par ICalFeedDownloader (sinon fuite de FD
         // en CLOSE_WAIT a chaque telechargement, y compris quand le parsing leve).
         try (InputStream limitedStream = feedDownloader.download(url)) {
-            return targetZone != null
-                    ? ICalEventParser.parse(limitedStream, targetZone)
-                    : ICalEventParser.parse(limitedStream);
+            return ICalEventParser.parse(limitedStream, targetZone, windowStart);
         } catch (IOException e) {
             log.error("Erreur telechargement iCal depuis {}: {}", FeedUrlMasker.mask(url), e.getMessage());
             throw new RuntimeException("Impossible de telecharger le calendrier iCal : " + e.getMessage());
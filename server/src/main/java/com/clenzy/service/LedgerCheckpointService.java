@@ -0,0 +1,102 @@
+package com.clenzy.service;
+
+import com.clenzy.repository.WalletBalanceJdbcRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository.BalanceHead;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Checkpoint;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Recount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes and verifies the immutable wallet balance checkpoints used by {@link LedgerService}.
+ *
+ * <ul>
+ *   <li>{@link #checkpointDueWallets()} snapshots the running balance of every wallet with
+ *       at least {@code clenzy.ledger.checkpoint-every} entries since its last checkpoint,
+ *       which bounds the point-in-time lookups to that many rows.</li>
+ *   <li>{@link #verifyCheckpoints()} recounts the ledger up to each new checkpoint (balance
+ *       and entry count) and checks that the running balance still equals checkpoint plus
+ *       the entries since. A mismatch is logged and counted
+ *       ({@code clenzy.ledger.checkpoint.mismatch}) and the checkpoint stays unverified, so
+ *       it is reported again until someone looks at it.</li>
+ * </ul>
+ */
+@Service
+public class LedgerCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerCheckpointService.class);
+
+    private static final int VERIFY_BATCH = 500;
+
+    private final WalletBalanceJdbcRepository balanceRepository;
+    private final long checkpointEvery;
+    private final Counter mismatches;
+
+    public LedgerCheckpointService(WalletBalanceJdbcRepository balanceRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${clenzy.ledger.checkpoint-every:500}") long checkpointEvery) {
+        this.balanceRepository = balanceRepository;
+        this.checkpointEvery = checkpointEvery;
+        this.mismatches = Counter.builder("clenzy.ledger.checkpoint.mismatch")
+            .description("Wallet checkpoints or running balances that disagree with a full ledger recount")
+            .register(meterRegistry);
+    }
+
+    /** @return number of checkpoints written */
+    @Transactional
+    public int checkpointDueWallets() {
+        List<BalanceHead> due = balanceRepository.findHeadsDueForCheckpoint(checkpointEvery);
+        due.forEach(balanceRepository::insertCheckpoint);
+        if (!due.isEmpty()) {
+            log.info("Ledger checkpoints written for {} wallet(s)", due.size());
+        }
+        return due.size();
+    }
+
+    /** @return number of mismatches found */
+    @Transactional
+    public int verifyCheckpoints() {
+        int failures = 0;
+        for (Checkpoint checkpoint : balanceRepository.findUnverifiedCheckpoints(VERIFY_BATCH)) {
+            if (verify(checkpoint)) {
+                balanceRepository.markVerified(checkpoint.id());
+            } else {
+                failures++;
+                mismatches.increment();
+            }
+        }
+        return failures;
+    }
+
+    private boolean verify(Checkpoint checkpoint) {
+        Long walletId = checkpoint.walletId();
+        Recount recount = balanceRepository.recount(walletId, checkpoint.lastEntryId());
+        if (recount.balance().compareTo(checkpoint.balance()) != 0
+                || recount.entryCount() != checkpoint.entryCount()) {
+            log.error("Ledger checkpoint {} of wallet {} disagrees with the ledger: checkpoint {} ({} entries), "
+                    + "recount {} ({} entries)", checkpoint.id(), walletId, checkpoint.balance(),
+                checkpoint.entryCount(), recount.balance(), recount.entryCount());
+            return false;
+        }
+        BalanceHead head = balanceRepository.findHead(walletId).orElse(null);
+        if (head == null || head.lastEntryId() < checkpoint.lastEntryId()) {
+            return true;
+        }
+        BigDecimal expected = checkpoint.balance()
+            .add(balanceRepository.sumBetween(walletId, checkpoint.lastEntryId(), head.lastEntryId()));
+        if (expected.compareTo(head.balance()) != 0) {
+            log.error("Running balance of wallet {} drifted: {} stored, {} from checkpoint {} + entries since",
+                walletId, head.balance(), expected, checkpoint.id());
+            return false;
+        }
+        return true;
+    }
+}
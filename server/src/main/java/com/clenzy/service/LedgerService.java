@@ -2,6 +2,9 @@ package com.clenzy.service;
 
 import com.clenzy.model.*;
 import com.clenzy.repository.LedgerEntryRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository.BalanceHead;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Checkpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -11,11 +14,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Immutable double-entry ledger service.
  * Every transfer creates exactly 2 entries (debit + credit) atomically.
  * Entries are never updated or deleted.
+ *
+ * <p>Balances are not re-summed on every read: each wallet has a running balance
+ * ({@code wallet_balances}) bumped under a row lock in the same transaction as the
+ * entries, and immutable checkpoints ({@code wallet_balance_checkpoints}) written by
+ * {@link LedgerCheckpointService}. Current balance is O(1); the balance as of a given
+ * entry is the nearest checkpoint plus the entries since.</p>
  */
 @Service
 @Transactional
@@ -24,9 +34,12 @@ public class LedgerService {
     private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
 
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletBalanceJdbcRepository balanceRepository;
 
-    public LedgerService(LedgerEntryRepository ledgerEntryRepository) {
+    public LedgerService(LedgerEntryRepository ledgerEntryRepository,
+                         WalletBalanceJdbcRepository balanceRepository) {
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.balanceRepository = balanceRepository;
     }
 
     /**
@@ -48,8 +61,20 @@ public class LedgerService {
             throw new IllegalArgumentException("Transfer amount must be positive: " + amount);
         }
 
-        BigDecimal fromBalance = calculateBalance(from.getId());
-        BigDecimal toBalance = calculateBalance(to.getId());
+        // Lock both running balances in wallet id order: concurrent A->B / B->A transfers
+        // serialize instead of deadlocking, and balance_after is exact.
+        BalanceHead fromHead;
+        BalanceHead toHead;
+        if (from.getId() <= to.getId()) {
+            fromHead = balanceRepository.lockHead(from.getId());
+            toHead = balanceRepository.lockHead(to.getId());
+        } else {
+            toHead = balanceRepository.lockHead(to.getId());
+            fromHead = balanceRepository.lockHead(from.getId());
+        }
+        BigDecimal fromBalance = fromHead.balance();
+        BigDecimal toBalance = from.getId().equals(to.getId())
+            ? fromBalance.subtract(amount) : toHead.balance();
 
         // Create DEBIT entry (source wallet)
         LedgerEntry debit = new LedgerEntry();
@@ -85,6 +110,9 @@ public class LedgerService {
         ledgerEntryRepository.save(debit);
         ledgerEntryRepository.save(credit);
 
+        balanceRepository.advanceHead(from.getId(), debit.getBalanceAfter(), debit.getId());
+        balanceRepository.advanceHead(to.getId(), credit.getBalanceAfter(), credit.getId());
+
         log.info("Ledger transfer: {} {} from wallet {} to wallet {} [ref: {} {}]",
             amount, from.getCurrency(), from.getId(), to.getId(), refType, refId);
 
@@ -92,13 +120,30 @@ public class LedgerService {
     }
 
     /**
-     * Calculate wallet balance from ledger entries.
-     * Balance = SUM(credits) - SUM(debits)
+     * Current wallet balance (SUM(credits) - SUM(debits)), read from the running balance.
+     * Wallets without one yet (never written since the checkpoint migration) fall back
+     * to the full sum.
      */
     @Transactional(readOnly = true)
     public BigDecimal calculateBalance(Long walletId) {
-        BigDecimal balance = ledgerEntryRepository.calculateBalance(walletId);
-        return balance != null ? balance : BigDecimal.ZERO;
+        return balanceRepository.findHead(walletId)
+            .map(BalanceHead::balance)
+            .orElseGet(() -> {
+                BigDecimal balance = ledgerEntryRepository.calculateBalance(walletId);
+                return balance != null ? balance : BigDecimal.ZERO;
+            });
+    }
+
+    /**
+     * Wallet balance including every entry up to {@code entryId} (point-in-time):
+     * nearest checkpoint at or before it, plus the entries since.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal calculateBalanceAsOf(Long walletId, long entryId) {
+        Optional<Checkpoint> checkpoint = balanceRepository.findCheckpointAtOrBefore(walletId, entryId);
+        long after = checkpoint.map(Checkpoint::lastEntryId).orElse(0L);
+        BigDecimal base = checkpoint.map(Checkpoint::balance).orElse(BigDecimal.ZERO);
+        return base.add(balanceRepository.sumBetween(walletId, after, entryId));
     }
 
     /**
@@ -64,6 +64,9 @@ public class NoiseAlertConfigService {
         config.setNotifySms(dto.notifySms());
         config.setCooldownMinutes(dto.cooldownMinutes());
         config.setEmailRecipients(dto.emailRecipients());
+        if (dto.sustainedMinutes() != null) {
+            config.setSustainedMinutes(dto.sustainedMinutes());
+        }
 
         // Remplacer les time windows
         config.getTimeWindows().clear();
@@ -15,12 +15,20 @@ import com.clenzy.model.NoiseDevice.DeviceType;
 import com.clenzy.model.Property;
 import com.clenzy.repository.NoiseDeviceRepository;
 import com.clenzy.repository.PropertyRepository;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,6 +41,11 @@ public class NoiseDeviceService {
 
     private static final Logger log = LoggerFactory.getLogger(NoiseDeviceService.class);
 
+    private static final DateTimeFormatter POINT_TIME = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneOffset.UTC);
+
+    /** Resolution demandee a Minut pour l'alimentation du store (1 point / minute). */
+    private static final int MINUT_POLL_RESOLUTION_SECONDS = 60;
+
     private final NoiseDeviceRepository noiseDeviceRepository;
     private final OrganizationAccessGuard organizationAccessGuard;
     private final PropertyRepository propertyRepository;
@@ -40,6 +53,7 @@ public class NoiseDeviceService {
     private final TuyaApiService tuyaApiService;
     private final TenantContext tenantContext;
     private final TuyaDeviceClaimService claimService;
+    private final SensorTimeSeriesStore timeSeriesStore;
 
     public NoiseDeviceService(NoiseDeviceRepository noiseDeviceRepository,
                               PropertyRepository propertyRepository,
@@ -47,7 +61,8 @@ public class NoiseDeviceService {
                               TuyaApiService tuyaApiService,
                               TenantContext tenantContext,
                               TuyaDeviceClaimService claimService,
-                                    OrganizationAccessGuard organizationAccessGuard) {
+                                    OrganizationAccessGuard organizationAccessGuard,
+                              SensorTimeSeriesStore timeSeriesStore) {
         this.noiseDeviceRepository = noiseDeviceRepository;
         this.propertyRepository = propertyRepository;
         this.minutApiService = minutApiService;
@@ -55,6 +70,7 @@ public class NoiseDeviceService {
         this.tenantContext = tenantContext;
         this.claimService = claimService;
         this.organizationAccessGuard = organizationAccessGuard;
+        this.timeSeriesStore = timeSeriesStore;
     }
 
     // ─── CRUD ───────────────────────────────────────────────────
@@ -126,6 +142,11 @@ public class NoiseDeviceService {
     /**
      * Recupere les donnees bruit d'un capteur specifique.
      * Le filtre Hibernate organizationFilter assure l'isolation multi-tenant.
+     *
+     * <p>Servi depuis le store local ({@link SensorTimeSeriesStore}, alimente par le polling)
+     * quand le polling couvre toute la periode demandee ; sinon (capteur non polle — mesures
+     * webhook seules —, periode anterieure au polling ou trop recente, bornes non ISO-8601)
+     * repli sur l'API fournisseur.</p>
      */
     public List<NoiseDataPointDto> getNoiseData(String userId, Long deviceId,
                                                   String startAt, String endAt) {
@@ -139,6 +160,11 @@ public class NoiseDeviceService {
             return Collections.emptyList();
         }
 
+        List<NoiseDataPointDto> local = readLocalHistory(device, startAt, endAt);
+        if (local != null) {
+            return local;
+        }
+
         try {
             switch (device.getDeviceType()) {
                 case MINUT:
@@ -154,6 +180,53 @@ public class NoiseDeviceService {
         }
     }
 
+    /**
+     * Mesures brutes d'un capteur sur [since, until], pour l'alimentation du store par le
+     * scheduler (contexte systeme : pas de controle d'acces, le device vient du repository).
+     * Les erreurs fournisseur remontent a l'appelant.
+     */
+    public List<Sample> pollSamples(NoiseDevice device, Instant since, Instant until) {
+        String ext = device.getExternalDeviceId();
+        if (ext == null || ext.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return switch (device.getDeviceType()) {
+            case MINUT -> minutSamples(minutApiService.getSoundLevels(device.getUserId(), ext,
+                    since.toString(), until.toString(), MINUT_POLL_RESOLUTION_SECONDS));
+            case TUYA -> tuyaSamples(tuyaApiService.getDeviceLogs(ext, since.toEpochMilli(), until.toEpochMilli()));
+            default -> Collections.emptyList();
+        };
+    }
+
+    /** Historique local, ou null si la periode n'est pas entierement couverte par le polling. */
+    private List<NoiseDataPointDto> readLocalHistory(NoiseDevice device, String startAt, String endAt) {
+        Instant start = parseInstant(startAt);
+        Instant end = parseInstant(endAt);
+        if (start == null || end == null || !start.isBefore(end)) {
+            return null;
+        }
+        SeriesKey key = SeriesKey.noise(device.getOrganizationId(), device.getId());
+        if (!timeSeriesStore.isPolledRange(key, start, end)) {
+            return null;
+        }
+        String label = getDeviceLabel(device);
+        return timeSeriesStore.history(key, start, end).stream()
+                .map(s -> new NoiseDataPointDto(POINT_TIME.format(Instant.ofEpochSecond(s.epochSecond())),
+                        s.value(), label))
+                .collect(Collectors.toList());
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     /**
      * Statut live d'un capteur : connectivite reelle (flag Tuya/Minut), persistee
      * pour le read-model GET /api/devices. Mirror de SmartLockService.getLockStatus.
@@ -334,6 +407,42 @@ public class NoiseDeviceService {
         return points;
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<Sample> minutSamples(Map<String, Object> response) {
+        if (response == null || !(response.get("values") instanceof List<?> values)) {
+            return Collections.emptyList();
+        }
+        List<Sample> samples = new ArrayList<>(values.size());
+        for (Object entry : values) {
+            if (entry instanceof Map && ((Map<String, Object>) entry).get("value") instanceof Number value) {
+                Instant at = parseInstant(String.valueOf(((Map<String, Object>) entry).get("datetime")));
+                if (at != null) {
+                    samples.add(new Sample(at.getEpochSecond(), value.doubleValue()));
+                }
+            }
+        }
+        return samples;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Sample> tuyaSamples(Map<String, Object> response) {
+        if (response == null || !(response.get("logs") instanceof List<?> logs)) {
+            return Collections.emptyList();
+        }
+        List<Sample> samples = new ArrayList<>(logs.size());
+        for (Object entry : logs) {
+            if (entry instanceof Map) {
+                Map<String, Object> logEntry = (Map<String, Object>) entry;
+                if ("noise_value".equals(String.valueOf(logEntry.get("code")))
+                        && logEntry.get("event_time") instanceof Number eventTime
+                        && logEntry.get("value") instanceof Number value) {
+                    samples.add(new Sample(eventTime.longValue() / 1000, value.doubleValue() / 1000.0)); // scale 3
+                }
+            }
+        }
+        return samples;
+    }
+
     private String getDeviceLabel(NoiseDevice device) {
         Property property = propertyRepository.findById(device.getPropertyId()).orElse(null);
         String base = property != null ? property.getName() : "Propriete #" + device.getPropertyId();
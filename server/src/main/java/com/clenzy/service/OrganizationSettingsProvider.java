@@ -0,0 +1,186 @@
+package com.clenzy.service;
+
+import com.clenzy.config.CacheInvalidationPublisher;
+import com.clenzy.config.LocalCacheInvalidation;
+import com.clenzy.model.FiscalProfile;
+import com.clenzy.model.WorkflowSettings;
+import com.clenzy.repository.FiscalProfileRepository;
+import com.clenzy.repository.WorkflowSettingsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Point d'acces unique aux parametres d'organisation lus sur les chemins chauds :
+ * un {@link OrganizationSettingsSnapshot} par org, assemble une fois puis servi depuis
+ * la memoire du noeud.
+ *
+ * <p>Avant : chaque requete authentifiee relisait {@code fiscal_profiles} (TenantFilter)
+ * et chaque tentative d'auto-assignation {@code workflow_settings}, soit des milliers de
+ * petites requetes identiques pour des valeurs modifiees quelques fois par an.</p>
+ *
+ * <p>Invalidation : les services d'ecriture appellent {@link #invalidate(Long)} ; apres
+ * commit, l'instantane local est evince puis l'eviction est diffusee sur le canal Redis
+ * partage ({@link CacheInvalidationPublisher}, nom {@value #CACHE_NAME}) — les autres
+ * noeuds l'evincent via {@link LocalCacheInvalidation}. Filet de securite si un message
+ * pub/sub est perdu : un instantane plus vieux que
+ * {@code clenzy.settings.snapshot.max-age-seconds} est reassemble.</p>
+ *
+ * <p>Metrique {@value #ACCESS_COUNTER} : tags {@code type} (workflow|fiscal|snapshot) et
+ * {@code result} (hit|miss).</p>
+ */
+@Service
+public class OrganizationSettingsProvider implements LocalCacheInvalidation {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationSettingsProvider.class);
+
+    /** Nom diffuse sur le canal d'invalidation. */
+    public static final String CACHE_NAME = "org-settings-snapshot";
+
+    /** Acces a l'instantane. Tags {@code type}, {@code result} : hit|miss. */
+    public static final String ACCESS_COUNTER = "org.settings.snapshot.access";
+
+    private final WorkflowSettingsRepository workflowSettingsRepository;
+    private final FiscalProfileRepository fiscalProfileRepository;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Duration maxAge;
+
+    private final ConcurrentMap<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    /**
+     * Incremente a chaque eviction : un assemblage concurrent d'une invalidation n'est
+     * pas mis en cache (il a pu lire l'etat d'avant le commit).
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OrganizationSettingsProvider(WorkflowSettingsRepository workflowSettingsRepository,
+                                        FiscalProfileRepository fiscalProfileRepository,
+                                        CacheInvalidationPublisher invalidationPublisher,
+                                        MeterRegistry meterRegistry,
+                                        Clock clock,
+                                        @Value("${clenzy.settings.snapshot.max-age-seconds:600}") long maxAgeSeconds) {
+        this.workflowSettingsRepository = workflowSettingsRepository;
+        this.fiscalProfileRepository = fiscalProfileRepository;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    /** Instantane complet de l'org (tous types de parametres, avec sa version). */
+    public OrganizationSettingsSnapshot snapshot(Long organizationId) {
+        return snapshot(organizationId, "snapshot");
+    }
+
+    /** Parametres workflow de l'org (valeurs par defaut si absents en base). */
+    public OrganizationSettingsSnapshot.Workflow workflow(Long organizationId) {
+        return snapshot(organizationId, "workflow").workflow();
+    }
+
+    /** Profil fiscal de l'org, vide si elle n'en a pas encore. */
+    public Optional<OrganizationSettingsSnapshot.Fiscal> fiscal(Long organizationId) {
+        return snapshot(organizationId, "fiscal").fiscalProfile();
+    }
+
+    /**
+     * Evince l'instantane de l'org sur tous les noeuds. Differe apres commit quand une
+     * transaction est active : evincer avant rendrait possible le re-cache de l'ancien etat.
+     */
+    public void invalidate(Long organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        Runnable eviction = () -> {
+            evictLocal(String.valueOf(organizationId));
+            invalidationPublisher.publishEviction(CACHE_NAME, organizationId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        evictions.incrementAndGet();
+        if (key == null) {
+            snapshots.clear();
+            return;
+        }
+        try {
+            snapshots.remove(Long.valueOf(key));
+        } catch (NumberFormatException e) {
+            log.warn("Invalidation parametres org ignoree (cle invalide): {}", key);
+        }
+    }
+
+    private OrganizationSettingsSnapshot snapshot(Long organizationId, String type) {
+        final Instant now = clock.instant();
+        final Entry cached = snapshots.get(organizationId);
+        if (cached != null && cached.loadedAt().plus(maxAge).isAfter(now)) {
+            counter(type, "hit").increment();
+            return cached.snapshot();
+        }
+        counter(type, "miss").increment();
+        final long generation = evictions.get();
+        final OrganizationSettingsSnapshot snapshot = assemble(organizationId);
+        if (evictions.get() == generation) {
+            snapshots.put(organizationId, new Entry(snapshot, now));
+        }
+        return snapshot;
+    }
+
+    private OrganizationSettingsSnapshot assemble(Long organizationId) {
+        final WorkflowSettings ws = workflowSettingsRepository.findByOrganizationId(organizationId).orElse(null);
+        final FiscalProfile fp = fiscalProfileRepository.findByOrganizationId(organizationId).orElse(null);
+        final long version = Stream.of(
+                        ws != null ? ws.getUpdatedAt() : null,
+                        fp != null ? fp.getUpdatedAt() : null)
+                .filter(Objects::nonNull)
+                .map(t -> t.toInstant(ZoneOffset.UTC).toEpochMilli())
+                .max(Long::compare)
+                .orElse(0L);
+        return new OrganizationSettingsSnapshot(organizationId, version,
+                ws != null ? OrganizationSettingsSnapshot.Workflow.of(ws) : OrganizationSettingsSnapshot.Workflow.DEFAULTS,
+                fp != null ? OrganizationSettingsSnapshot.Fiscal.of(fp) : null);
+    }
+
+    private Counter counter(String type, String result) {
+        return Counter.builder(ACCESS_COUNTER)
+                .description("Acces a l'instantane des parametres d'organisation")
+                .tag("type", type)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(OrganizationSettingsSnapshot snapshot, Instant loadedAt) {
+    }
+}
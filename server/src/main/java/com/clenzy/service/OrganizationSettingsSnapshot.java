@@ -0,0 +1,51 @@
+package com.clenzy.service;
+
+import com.clenzy.model.FiscalProfile;
+import com.clenzy.model.WorkflowSettings;
+
+import java.util.Optional;
+
+/**
+ * Instantane IMMUABLE des parametres d'une organisation lus sur les chemins chauds
+ * (auto-assignation, resolution du contexte fiscal par requete). Assemble une fois par
+ * {@link OrganizationSettingsProvider} puis partage entre threads.
+ *
+ * <p>Valeurs copiees (jamais d'entite JPA) : aucune session Hibernate n'est retenue et
+ * un appelant ne peut pas modifier le cache par inadvertance.</p>
+ *
+ * @param version derniere mise a jour (epoch ms) parmi les tables sources, 0 si aucune
+ *                ligne : permet de comparer deux instantanes d'une meme org
+ * @param workflow parametres workflow ({@link Workflow#DEFAULTS} si absents en base)
+ * @param fiscal   profil fiscal, {@code null} si l'org n'en a pas encore
+ */
+public record OrganizationSettingsSnapshot(Long organizationId,
+                                           long version,
+                                           Workflow workflow,
+                                           Fiscal fiscal) {
+
+    /** Parametres workflow ({@code workflow_settings}). */
+    public record Workflow(boolean autoAssignInterventions,
+                           int cancellationDeadlineHours,
+                           boolean requireApprovalForChanges) {
+
+        /** Valeurs par defaut de l'entite, appliquees quand l'org n'a pas de ligne. */
+        public static final Workflow DEFAULTS = of(new WorkflowSettings());
+
+        static Workflow of(WorkflowSettings ws) {
+            return new Workflow(ws.isAutoAssignInterventions(), ws.getCancellationDeadlineHours(),
+                    ws.isRequireApprovalForChanges());
+        }
+    }
+
+    /** Sous-ensemble du profil fiscal ({@code fiscal_profiles}) porte par le TenantContext. */
+    public record Fiscal(String countryCode, String defaultCurrency, boolean vatRegistered) {
+
+        static Fiscal of(FiscalProfile fp) {
+            return new Fiscal(fp.getCountryCode(), fp.getDefaultCurrency(), fp.isVatRegistered());
+        }
+    }
+
+    public Optional<Fiscal> fiscalProfile() {
+        return Optional.ofNullable(fiscal);
+    }
+}
@@ -6,11 +6,14 @@ import com.clenzy.model.OwnerPayout.PayoutStatus;
 import com.clenzy.model.ProviderExpense;
 import com.clenzy.model.User;
 import com.clenzy.repository.OwnerPayoutRepository;
+import com.clenzy.repository.OwnerStatementMonthJdbcRepository;
+import com.clenzy.repository.OwnerStatementMonthJdbcRepository.MonthAggregate;
 import com.clenzy.repository.ProviderExpenseRepository;
 import com.clenzy.repository.UserRepository;
 import com.clenzy.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -58,19 +64,22 @@ public class OwnerStatementService {
     private final ProviderExpenseRepository providerExpenseRepository;
     private final com.clenzy.repository.PropertyRepository propertyRepository;
     private final com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService;
+    private final OwnerStatementMonthJdbcRepository statementMonthRepository;
 
     public OwnerStatementService(OwnerPayoutRepository payoutRepository,
                                   UserRepository userRepository,
                                   EmailService emailService,
                                   ProviderExpenseRepository providerExpenseRepository,
                                   com.clenzy.repository.PropertyRepository propertyRepository,
-                                  com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService) {
+                                  com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService,
+                                  OwnerStatementMonthJdbcRepository statementMonthRepository) {
         this.payoutRepository = payoutRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
         this.providerExpenseRepository = providerExpenseRepository;
         this.propertyRepository = propertyRepository;
         this.supervisionActivityService = supervisionActivityService;
+        this.statementMonthRepository = statementMonthRepository;
     }
 
     /**
@@ -94,33 +103,12 @@ public class OwnerStatementService {
             throw new IllegalStateException("Le proprietaire " + ownerId + " n'a pas d'email renseigne");
         }
 
-        // On envoie un releve uniquement sur les reversements VERSES (PAID).
-        // Inclure PENDING/APPROVED creerait de la confusion ("je n'ai pas recu ce montant").
-        List<OwnerPayout> payouts = payoutRepository.findByOwnerId(ownerId, orgId).stream()
-            .filter(p -> p.getStatus() == PayoutStatus.PAID)
-            .filter(p -> !p.getPeriodEnd().isBefore(from) && !p.getPeriodStart().isAfter(to))
-            .sorted((a, b) -> b.getPeriodEnd().compareTo(a.getPeriodEnd()))
-            .toList();
-
-        BigDecimal totalPaid = payouts.stream()
-            .map(OwnerPayout::getNetAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add)
-            .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalGross = payouts.stream()
-            .map(OwnerPayout::getGrossRevenue)
-            .reduce(BigDecimal.ZERO, BigDecimal::add)
-            .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalCommission = payouts.stream()
-            .map(OwnerPayout::getCommissionAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add)
-            .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal totalExpenses = payouts.stream()
-            .map(OwnerPayout::getExpenses)
-            .reduce(BigDecimal.ZERO, BigDecimal::add)
-            .setScale(2, RoundingMode.HALF_UP);
+        PaidPayouts paid = loadPaidPayouts(ownerId, orgId, from, to);
+        List<OwnerPayout> payouts = paid.payouts();
+        BigDecimal totalPaid = paid.totalPaid();
+        BigDecimal totalGross = paid.totalGross();
+        BigDecimal totalCommission = paid.totalCommission();
+        BigDecimal totalExpenses = paid.totalExpenses();
 
         String ownerName = StringUtils.escapeHtml(
             (owner.getFirstName() != null ? owner.getFirstName() : "") + " "
@@ -152,6 +140,84 @@ public class OwnerStatementService {
         );
     }
 
+    /**
+     * Reversements VERSES (PAID) du releve et leurs totaux.
+     *
+     * <p>Mois civil complet (cas du releve mensuel) : lu dans l'agregat
+     * {@code owner_statement_months} (replica), puis chargement des seuls reversements
+     * listes. Autre periode, agregat indisponible ou en desaccord avec le primaire :
+     * calcul sur l'historique du proprietaire.</p>
+     */
+    private PaidPayouts loadPaidPayouts(Long ownerId, Long orgId, LocalDate from, LocalDate to) {
+        if (isCalendarMonth(from, to)) {
+            try {
+                Optional<MonthAggregate> month = statementMonthRepository.findMonth(orgId, ownerId, from);
+                if (month.isEmpty()) {
+                    return summarize(List.of());
+                }
+                Optional<PaidPayouts> listed = fromAggregate(month.get());
+                if (listed.isPresent()) {
+                    return listed.get();
+                }
+                log.info("Owner statement: agregat mensuel en retard sur les reversements (owner {}, org {}), calcul direct",
+                    ownerId, orgId);
+            } catch (DataAccessException e) {
+                log.warn("Owner statement: agregat mensuel indisponible (owner {}, org {}), calcul direct : {}",
+                    ownerId, orgId, e.getMessage());
+            }
+        }
+        // On envoie un releve uniquement sur les reversements VERSES (PAID).
+        // Inclure PENDING/APPROVED creerait de la confusion ("je n'ai pas recu ce montant").
+        return summarize(payoutRepository.findByOwnerId(ownerId, orgId).stream()
+            .filter(p -> p.getStatus() == PayoutStatus.PAID)
+            .filter(p -> !p.getPeriodEnd().isBefore(from) && !p.getPeriodStart().isAfter(to))
+            .sorted((a, b) -> b.getPeriodEnd().compareTo(a.getPeriodEnd()))
+            .toList());
+    }
+
+    static boolean isCalendarMonth(LocalDate from, LocalDate to) {
+        return from.getDayOfMonth() == 1 && to.equals(from.withDayOfMonth(from.lengthOfMonth()));
+    }
+
+    /**
+     * Reversements listes par l'agregat, relus sur le primaire. Les totaux sont recalcules
+     * sur ces reversements : l'email n'affiche jamais des montants qui ne s'additionnent pas.
+     * Vide si l'agregat (replica) ne correspond plus — reversement absent ou plus PAID.
+     */
+    private Optional<PaidPayouts> fromAggregate(MonthAggregate month) {
+        Map<Long, OwnerPayout> byId = payoutRepository.findAllById(month.payoutIds()).stream()
+            .filter(p -> p.getStatus() == PayoutStatus.PAID)
+            .collect(Collectors.toMap(OwnerPayout::getId, p -> p));
+        List<OwnerPayout> payouts = month.payoutIds().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+        if (payouts.size() != month.payoutsCount()) {
+            return Optional.empty();
+        }
+        return Optional.of(summarize(payouts));
+    }
+
+    private static PaidPayouts summarize(List<OwnerPayout> payouts) {
+        return new PaidPayouts(payouts,
+            sum(payouts, OwnerPayout::getNetAmount),
+            sum(payouts, OwnerPayout::getGrossRevenue),
+            sum(payouts, OwnerPayout::getCommissionAmount),
+            sum(payouts, OwnerPayout::getExpenses));
+    }
+
+    private static BigDecimal sum(List<OwnerPayout> payouts, Function<OwnerPayout, BigDecimal> amount) {
+        return payouts.stream()
+            .map(amount)
+            .filter(Objects::nonNull)
+            .reduce(BigDecimal.ZERO, BigDecimal::add)
+            .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record PaidPayouts(List<OwnerPayout> payouts, BigDecimal totalPaid, BigDecimal totalGross,
+                               BigDecimal totalCommission, BigDecimal totalExpenses) {
+    }
+
     /**
      * Fait remonter l'envoi du relevé dans le feed « En direct » des constellations
      * des logements du propriétaire (agent Finance « fin ») — audit 2026-07 : le
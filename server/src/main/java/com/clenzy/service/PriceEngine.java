@@ -1,5 +1,6 @@
 package com.clenzy.service;
 
+import com.clenzy.model.Property;
 import com.clenzy.model.RateOverride;
 import com.clenzy.model.RatePlan;
 import com.clenzy.model.RatePlanType;
@@ -235,9 +236,53 @@ public class PriceEngine {
                 .map(p -> p.getNightlyPrice())
                 .orElse(null);
 
+        return resolveInMemory(overrideMap, plans, propertyPrice, from, to, LocalDate.now());
+    }
+
+    /**
+     * Variante multi-proprietes de {@link #resolvePriceRange(Long, LocalDate, LocalDate, Long)} :
+     * overrides et plans de TOUTES les proprietes en 2 queries (au lieu de 3 par propriete),
+     * meme cascade en memoire. Le fallback est le {@code nightlyPrice} des entites fournies.
+     * Utilise par la recherche par dates du booking engine (une org entiere par requete).
+     *
+     * @return propertyId → (date → prix par nuit, null si aucun tarif)
+     */
+    public Map<Long, Map<LocalDate, BigDecimal>> resolvePriceRanges(Collection<Property> properties,
+                                                                   LocalDate from, LocalDate to, Long orgId) {
+        Map<Long, Map<LocalDate, BigDecimal>> result = new HashMap<>();
+        if (properties.isEmpty()) {
+            return result;
+        }
+        List<Long> ids = properties.stream().map(Property::getId).toList();
+        Map<Long, Map<LocalDate, BigDecimal>> overridesByProperty = new HashMap<>();
+        for (RateOverride o : rateOverrideRepository.findByPropertyIdsAndDateRange(ids, from, to, orgId)) {
+            overridesByProperty.computeIfAbsent(o.getProperty().getId(), id -> new HashMap<>())
+                    .put(o.getDate(), o.getNightlyPrice());
+        }
+        Map<Long, List<RatePlan>> plansByProperty = new HashMap<>();
+        for (RatePlan plan : ratePlanRepository.findActiveByPropertyIds(ids, orgId)) {
+            plansByProperty.computeIfAbsent(plan.getProperty().getId(), id -> new ArrayList<>()).add(plan);
+        }
+
         LocalDate resolutionDate = LocalDate.now();
+        for (Property property : properties) {
+            Map<LocalDate, BigDecimal> prices = new LinkedHashMap<>();
+            resolveInMemory(overridesByProperty.getOrDefault(property.getId(), Map.of()),
+                    plansByProperty.getOrDefault(property.getId(), List.of()),
+                    property.getNightlyPrice(), from, to, resolutionDate)
+                    .forEach((date, resolved) -> prices.put(date, resolved.price()));
+            result.put(property.getId(), prices);
+        }
+        return result;
+    }
 
-        // Resolution en memoire pour chaque date
+    // ── Methodes privees ────────────────────────────────────────────────────
+
+    /** Cascade override → plans (par type de priorite) → fallback propriete, pour chaque date de [from, to). */
+    private Map<LocalDate, ResolvedPrice> resolveInMemory(Map<LocalDate, BigDecimal> overrideMap,
+                                                          List<RatePlan> plans, BigDecimal propertyPrice,
+                                                          LocalDate from, LocalDate to,
+                                                          LocalDate resolutionDate) {
         Map<LocalDate, ResolvedPrice> result = new LinkedHashMap<>();
         for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
             // 1. Override
@@ -260,8 +305,6 @@ public class PriceEngine {
         return result;
     }
 
-    // ── Methodes privees ────────────────────────────────────────────────────
-
     /**
      * Resout le prix depuis les plans actifs pour une date, dans l'ordre
      * {@link #TYPE_PRIORITY}, en appliquant le filtre de lead time.
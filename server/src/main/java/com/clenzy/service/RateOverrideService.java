@@ -121,7 +121,7 @@ public class RateOverrideService {
         override.setCreatedBy(keycloakId);
 
         RateOverrideDto saved = toDto(rateOverrideRepository.save(override));
-        searchCacheInvalidator.onAvailabilityOrPriceChanged(); // prix changé → invalide le calendrier agrégé
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId); // prix changé → invalide le calendrier agrégé
         publishRateEvent(property.getId(), orgId, date, date); // propage le prix aux OTAs (Channex)
         return saved;
     }
@@ -171,7 +171,7 @@ public class RateOverrideService {
             created.add(override);
         }
         rateOverrideRepository.saveAll(created);
-        searchCacheInvalidator.onAvailabilityOrPriceChanged(); // prix changés → invalide le calendrier agrégé
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId); // prix changés → invalide le calendrier agrégé
         if (!created.isEmpty()) {
             // Plage source [from, to) exclusive → event inclusif [from, to-1].
             publishRateEvent(propertyId, orgId, from, to.minusDays(1));
@@ -202,7 +202,7 @@ public class RateOverrideService {
         LocalDate date = existing.getDate();
 
         rateOverrideRepository.delete(existing);
-        searchCacheInvalidator.onAvailabilityOrPriceChanged(); // prix changé → invalide le calendrier agrégé
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId); // prix changé → invalide le calendrier agrégé
         publishRateEvent(propertyId, orgId, date, date); // suppression = prix redevient base → propager aux OTAs
     }
 
@@ -13,6 +13,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.Clock;
@@ -43,6 +45,7 @@ public class RatePlanService {
     private final PropertyRepository propertyRepository;
     private final ReservationService reservationService;
     private final TenantContext tenantContext;
+    private final SearchCacheInvalidator searchCacheInvalidator;
     private final OutboxPublisher outboxPublisher;
     private final ObjectMapper objectMapper;
     private final Clock clock;
@@ -51,6 +54,7 @@ public class RatePlanService {
                            PropertyRepository propertyRepository,
                            ReservationService reservationService,
                            TenantContext tenantContext,
+                           SearchCacheInvalidator searchCacheInvalidator,
                            OutboxPublisher outboxPublisher,
                            ObjectMapper objectMapper,
                            Clock clock) {
@@ -58,6 +62,7 @@ public class RatePlanService {
         this.propertyRepository = propertyRepository;
         this.reservationService = reservationService;
         this.tenantContext = tenantContext;
+        this.searchCacheInvalidator = searchCacheInvalidator;
         this.outboxPublisher = outboxPublisher;
         this.objectMapper = objectMapper;
         this.clock = clock;
@@ -126,6 +131,7 @@ public class RatePlanService {
         plan.setIsActive(dto.isActive() != null ? dto.isActive() : true);
 
         RatePlan saved = ratePlanRepository.save(plan);
+        invalidateSearchCacheAfterCommit(orgId);
         publishRatePlanEvent(saved); // propage les prix aux OTAs (Channex)
         return toDto(saved);
     }
@@ -151,6 +157,7 @@ public class RatePlanService {
         if (dto.isActive() != null) existing.setIsActive(dto.isActive());
 
         RatePlan saved = ratePlanRepository.save(existing);
+        invalidateSearchCacheAfterCommit(saved.getOrganizationId());
         publishRatePlanEvent(saved); // propage les prix aux OTAs (Channex)
         return toDto(saved);
     }
@@ -164,10 +171,29 @@ public class RatePlanService {
         reservationService.validatePropertyAccess(existing.getProperty().getId(), keycloakId);
 
         ratePlanRepository.delete(existing);
+        invalidateSearchCacheAfterCommit(existing.getOrganizationId());
         // Suppression = les prix de la plage redeviennent base/défaut → propager.
         publishRatePlanEvent(existing);
     }
 
+    /**
+     * Invalide la recherche par sejour (prix totaux, min-stay / closed-to-arrival) de l'org
+     * APRES commit : une eviction avant commit laisserait une recherche concurrente
+     * re-remplir le cache avec l'etat precedent.
+     */
+    private void invalidateSearchCacheAfterCommit(Long orgId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
+                }
+            });
+        } else {
+            searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
+        }
+    }
+
     private RatePlanDto toDto(RatePlan entity) {
         return new RatePlanDto(
             entity.getId(),
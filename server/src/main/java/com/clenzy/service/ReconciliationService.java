@@ -12,12 +12,15 @@ import com.clenzy.model.AuditSource;
 import com.clenzy.model.CalendarDay;
 import com.clenzy.model.NotificationKey;
 import com.clenzy.model.ReconciliationRun;
+import com.clenzy.integration.channel.ChannelName;
 import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarMonthDigestJdbcRepository;
 import com.clenzy.repository.ReconciliationRunRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
@@ -26,13 +29,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +59,15 @@ import java.util.stream.Collectors;
  *
  * Planification : toutes les heures via @Scheduled(cron).
  * Peut aussi etre declenche manuellement pour une propriete via reconcileProperty().
+ *
+ * Comparaison en deux niveaux (arbre d'empreintes) : une empreinte par mois du
+ * statut PMS (calculee en base, {@link CalendarMonthDigestJdbcRepository}) contre
+ * la meme empreinte calculee sur le calendrier channel. Seuls les mois dont les
+ * empreintes different sont charges et compares jour par jour.
+ *
+ * Le passage horaire cross-org est concurrent (threads virtuels), borne par
+ * channel ({@code clenzy.reconciliation.per-channel-parallelism}) pour respecter
+ * les quotas d'API de chaque channel.
  */
 @Service
 public class ReconciliationService {
@@ -57,37 +80,47 @@ public class ReconciliationService {
     /** Seuil de divergence (%) au-dessus duquel on alerte */
     private static final double DIVERGENCE_ALERT_THRESHOLD = 5.0;
 
+    /** Statut d'un jour absent du calendrier channel : ne correspond a aucun statut PMS. */
+    private static final String MISSING_CHANNEL_DAY = "?";
+
     private final ChannelMappingRepository mappingRepository;
     private final CalendarDayRepository calendarDayRepository;
+    private final CalendarMonthDigestJdbcRepository monthDigestRepository;
     private final ChannelConnectorRegistry connectorRegistry;
     private final ReconciliationRunRepository reconciliationRunRepository;
     private final SyncMetrics syncMetrics;
     private final NotificationService notificationService;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final int perChannelParallelism;
 
     public ReconciliationService(ChannelMappingRepository mappingRepository,
                                   CalendarDayRepository calendarDayRepository,
+                                  CalendarMonthDigestJdbcRepository monthDigestRepository,
                                   ChannelConnectorRegistry connectorRegistry,
                                   ReconciliationRunRepository reconciliationRunRepository,
                                   SyncMetrics syncMetrics,
                                   NotificationService notificationService,
                                   AuditLogService auditLogService,
-                                  ObjectMapper objectMapper) {
+                                  ObjectMapper objectMapper,
+                                  @Value("${clenzy.reconciliation.per-channel-parallelism:4}") int perChannelParallelism) {
         this.mappingRepository = mappingRepository;
         this.calendarDayRepository = calendarDayRepository;
+        this.monthDigestRepository = monthDigestRepository;
         this.connectorRegistry = connectorRegistry;
         this.reconciliationRunRepository = reconciliationRunRepository;
         this.syncMetrics = syncMetrics;
         this.notificationService = notificationService;
         this.auditLogService = auditLogService;
         this.objectMapper = objectMapper;
+        this.perChannelParallelism = Math.max(1, perChannelParallelism);
     }
 
     // ── Scheduled reconciliation (toutes les heures) ─────────────────────────
 
     /**
-     * Reconciliation automatique horaire de tous les mappings actifs.
+     * Reconciliation automatique horaire de tous les mappings actifs, en parallele :
+     * au plus {@code perChannelParallelism} mappings en cours par channel.
      */
     @Scheduled(cron = "0 0 * * * *")
     @SchedulerLock(name = "channel-reconciliation-hourly", lockAtMostFor = "PT30M")
@@ -98,26 +131,45 @@ public class ReconciliationService {
         List<ChannelMapping> activeMappings = mappingRepository.findAllActiveCrossOrg();
         log.info("[Reconciliation] {} mappings actifs a reconcilier", activeMappings.size());
 
-        int totalRuns = 0;
-        int totalDiscrepancies = 0;
-        int totalFixes = 0;
-
-        for (ChannelMapping mapping : activeMappings) {
-            try {
-                ReconciliationRun run = reconcileMapping(mapping);
-                totalRuns++;
-                totalDiscrepancies += run.getDiscrepanciesFound();
-                totalFixes += run.getDiscrepanciesFixed();
-            } catch (Exception e) {
-                log.error("[Reconciliation] Erreur pour mapping {} (property={}, channel={}): {}",
-                        mapping.getId(), mapping.getInternalId(),
-                        mapping.getConnection().getChannel().name(), e.getMessage(), e);
+        AtomicInteger totalRuns = new AtomicInteger();
+        AtomicInteger totalDiscrepancies = new AtomicInteger();
+        AtomicInteger totalFixes = new AtomicInteger();
+
+        Map<ChannelName, List<ChannelMapping>> byChannel = activeMappings.stream()
+                .collect(Collectors.groupingBy(m -> m.getConnection().getChannel(),
+                        LinkedHashMap::new, Collectors.toList()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<ChannelMapping> channelMappings : byChannel.values()) {
+                // Un semaphore par channel : un channel lent ou limite ne bride pas les autres.
+                Semaphore permits = new Semaphore(perChannelParallelism);
+                for (ChannelMapping mapping : channelMappings) {
+                    executor.submit(() -> {
+                        try {
+                            permits.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        try {
+                            ReconciliationRun run = reconcileMapping(mapping);
+                            totalRuns.incrementAndGet();
+                            totalDiscrepancies.addAndGet(run.getDiscrepanciesFound());
+                            totalFixes.addAndGet(run.getDiscrepanciesFixed());
+                        } catch (Exception e) {
+                            log.error("[Reconciliation] Erreur pour mapping {} (property={}, channel={}): {}",
+                                    mapping.getId(), mapping.getInternalId(),
+                                    mapping.getConnection().getChannel().name(), e.getMessage(), e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
             }
-        }
+        } // close() attend la fin de tous les mappings
 
         long duration = System.currentTimeMillis() - start;
         log.info("[Reconciliation] Termine en {}ms — runs={}, divergences={}, fixes={}",
-                duration, totalRuns, totalDiscrepancies, totalFixes);
+                duration, totalRuns.get(), totalDiscrepancies.get(), totalFixes.get());
     }
 
     // ── Manual trigger ───────────────────────────────────────────────────────
@@ -196,13 +248,29 @@ public class ReconciliationService {
 
             run.setChannelDaysChecked(channelDays.size());
 
-            // 3. Lire le calendrier PMS
-            List<CalendarDay> pmsDays = calendarDayRepository.findByPropertyAndDateRange(
-                    propertyId, from, to, orgId);
+            // 3. Empreintes mensuelles : seuls les mois qui different sont descendus
+            Map<YearMonth, String> pmsDigests = monthDigestRepository.statusDigestsByMonth(
+                    propertyId, orgId, from, to);
+            Map<YearMonth, String> channelDigests = channelMonthDigests(channelDays, from, to);
+            TreeSet<YearMonth> divergentMonths = new TreeSet<>();
+            channelDigests.forEach((month, digest) -> {
+                if (!digest.equals(pmsDigests.get(month))) {
+                    divergentMonths.add(month);
+                }
+            });
+
+            // 4. Lire le calendrier PMS des seuls mois divergents (aucun : rien a charger)
+            List<CalendarDay> pmsDays = List.of();
+            if (!divergentMonths.isEmpty()) {
+                LocalDate drillFrom = max(from, divergentMonths.first().atDay(1));
+                LocalDate drillTo = min(to, divergentMonths.last().atEndOfMonth());
+                pmsDays = calendarDayRepository.findByPropertyAndDateRange(
+                        propertyId, drillFrom, drillTo, orgId);
+            }
 
             run.setPmsDaysChecked(pmsDays.size());
 
-            // 4. Comparer jour par jour
+            // 5. Comparer jour par jour (mois divergents)
             Map<LocalDate, String> pmsStatusByDate = pmsDays.stream()
                     .collect(Collectors.toMap(
                             CalendarDay::getDate,
@@ -218,6 +286,9 @@ public class ReconciliationService {
             LocalDate fixTo = null;
 
             for (ChannelCalendarDay channelDay : channelDays) {
+                if (!divergentMonths.contains(YearMonth.from(channelDay.date()))) {
+                    continue; // empreinte identique : tous les jours du mois concordent
+                }
                 String pmsStatus = pmsStatusByDate.getOrDefault(channelDay.date(), "AVAILABLE");
                 String channelStatus = normalizeStatus(channelDay.status());
 
@@ -242,7 +313,7 @@ public class ReconciliationService {
 
             run.setDiscrepanciesFound(discrepanciesFound);
 
-            // 5. Auto-fix : PMS est master, pousser vers channel
+            // 6. Auto-fix : PMS est master, pousser vers channel
             if (discrepanciesFound > 0 && fixFrom != null && fixTo != null) {
                 try {
                     SyncResult fixResult = connector.pushCalendarUpdate(
@@ -264,13 +335,13 @@ public class ReconciliationService {
 
             run.setDiscrepanciesFixed(discrepanciesFixed);
 
-            // 6. Calculer le pourcentage de divergence
+            // 7. Calculer le pourcentage de divergence
             int totalDaysChecked = Math.max(channelDays.size(), 1);
             BigDecimal divergencePct = BigDecimal.valueOf(discrepanciesFound * 100.0 / totalDaysChecked)
                     .setScale(2, RoundingMode.HALF_UP);
             run.setDivergencePct(divergencePct);
 
-            // 7. Persister les details JSON
+            // 8. Persister les details JSON
             if (!discrepancyDetails.isEmpty()) {
                 try {
                     run.setDetails(objectMapper.writeValueAsString(discrepancyDetails));
@@ -279,7 +350,7 @@ public class ReconciliationService {
                 }
             }
 
-            // 8. Metriques
+            // 9. Metriques
             if (discrepanciesFound > 0) {
                 syncMetrics.incrementReconciliationDiscrepancies(discrepanciesFound);
             }
@@ -287,7 +358,7 @@ public class ReconciliationService {
                 syncMetrics.incrementReconciliationFixes(discrepanciesFixed);
             }
 
-            // 9. Determiner le statut final
+            // 10. Determiner le statut final
             String status;
             if (discrepanciesFound == 0) {
                 status = "SUCCESS";
@@ -299,12 +370,12 @@ public class ReconciliationService {
 
             completeRun(run, status, null);
 
-            // 10. Alerte si divergence elevee
+            // 11. Alerte si divergence elevee
             if ("DIVERGENCE".equals(status)) {
                 alertHighDivergence(run);
             }
 
-            // 11. Audit trail
+            // 12. Audit trail
             auditLogService.logAction(
                     AuditAction.RECONCILIATION,
                     "PROPERTY",
@@ -367,11 +438,53 @@ public class ReconciliationService {
         }
     }
 
+    /**
+     * Empreinte mensuelle du calendrier channel, forme canonique identique a
+     * {@link CalendarMonthDigestJdbcRepository} : chaque date de [from, to], statut
+     * normalise ; une date absente cote channel ne correspond a aucun statut PMS et
+     * force donc la comparaison jour par jour de son mois.
+     */
+    static Map<YearMonth, String> channelMonthDigests(List<ChannelCalendarDay> channelDays,
+                                                      LocalDate from, LocalDate to) {
+        Map<LocalDate, String> statusByDate = new HashMap<>();
+        for (ChannelCalendarDay day : channelDays) {
+            statusByDate.putIfAbsent(day.date(), normalizeStatus(day.status()));
+        }
+        Map<YearMonth, StringBuilder> canonical = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            StringBuilder sb = canonical.computeIfAbsent(YearMonth.from(date), m -> new StringBuilder());
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(date).append(':').append(statusByDate.getOrDefault(date, MISSING_CHANNEL_DAY));
+        }
+        Map<YearMonth, String> digests = new LinkedHashMap<>();
+        canonical.forEach((month, sb) -> digests.put(month, md5Hex(sb.toString())));
+        return digests;
+    }
+
+    private static String md5Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponible", e);
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
     /**
      * Normalise le statut channel vers les statuts PMS.
      * Les channels peuvent utiliser des noms differents.
      */
-    private String normalizeStatus(String channelStatus) {
+    private static String normalizeStatus(String channelStatus) {
         if (channelStatus == null) return "AVAILABLE";
         return switch (channelStatus.toUpperCase()) {
             case "AVAILABLE", "FREE", "OPEN" -> "AVAILABLE";
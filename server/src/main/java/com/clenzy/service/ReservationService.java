@@ -33,8 +33,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -251,8 +255,36 @@ public class ReservationService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new NotFoundException("Propriete introuvable: " + propertyId));
 
-        if (property.getOrganizationId() != null && !property.getOrganizationId().equals(orgId)) {
-            throw new AccessDeniedException("Acces refuse : propriete hors de votre organisation");
+        checkPropertyAccess(List.of(property), keycloakId, orgId);
+    }
+
+    /**
+     * Meme regle que {@link #validatePropertyAccess(Long, String)} pour un lot :
+     * une lecture des proprietes et une de l'utilisateur, quel que soit le nombre d'ids.
+     *
+     * @throws NotFoundException     si une propriete n'existe pas
+     * @throws AccessDeniedException si l'utilisateur n'a pas acces a l'une d'elles
+     */
+    public void validatePropertiesAccess(Collection<Long> propertyIds, String keycloakId) {
+        Long orgId = tenantContext.getRequiredOrganizationId();
+        Set<Long> ids = new LinkedHashSet<>(propertyIds);
+        if (ids.isEmpty()) return;
+
+        List<Property> properties = propertyRepository.findAllById(ids);
+        if (properties.size() < ids.size()) {
+            Set<Long> found = properties.stream().map(Property::getId).collect(Collectors.toSet());
+            Long missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new NotFoundException("Propriete introuvable: " + missing);
+        }
+
+        checkPropertyAccess(properties, keycloakId, orgId);
+    }
+
+    private void checkPropertyAccess(List<Property> properties, String keycloakId, Long orgId) {
+        for (Property property : properties) {
+            if (property.getOrganizationId() != null && !property.getOrganizationId().equals(orgId)) {
+                throw new AccessDeniedException("Acces refuse : propriete hors de votre organisation");
+            }
         }
 
         if (tenantContext.isSuperAdmin()) return;
@@ -260,11 +292,13 @@ public class ReservationService {
         User user = userRepository.findByKeycloakId(keycloakId).orElse(null);
         if (user != null && user.getRole() != null && user.getRole().isPlatformStaff()) return;
 
-        // Comparaison par ID (PK) pour eviter LazyInitializationException sur le proxy User
-        if (user != null && property.getOwner() != null
-                && property.getOwner().getId().equals(user.getId())) return;
-
-        throw new AccessDeniedException("Acces refuse : vous n'etes pas proprietaire de cette propriete");
+        for (Property property : properties) {
+            // Comparaison par ID (PK) pour eviter LazyInitializationException sur le proxy User
+            if (user == null || property.getOwner() == null
+                    || !property.getOwner().getId().equals(user.getId())) {
+                throw new AccessDeniedException("Acces refuse : vous n'etes pas proprietaire de cette propriete");
+            }
+        }
     }
 
     /**
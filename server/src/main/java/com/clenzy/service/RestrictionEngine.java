@@ -10,8 +10,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Moteur de validation des restrictions de reservation.
@@ -48,12 +51,39 @@ public class RestrictionEngine {
      * @return resultat de validation avec eventuelles violations
      */
     public ValidationResult validate(Long propertyId, LocalDate checkIn, LocalDate checkOut, Long orgId) {
-        List<String> violations = new ArrayList<>();
-        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
-
         // Charger les restrictions applicables (overlap avec la plage de reservation)
         List<BookingRestriction> restrictions = restrictionRepository.findApplicable(
                 propertyId, checkIn, checkOut, orgId);
+        return evaluate(propertyId, restrictions, checkIn, checkOut);
+    }
+
+    /**
+     * Variante batch de {@link #validate} : une seule requete pour toutes les proprietes
+     * (recherche par dates du booking engine), meme evaluation par propriete.
+     *
+     * @return resultat par propriete (toutes les proprietes demandees sont presentes)
+     */
+    public Map<Long, ValidationResult> validateAll(Collection<Long> propertyIds, LocalDate checkIn,
+                                                   LocalDate checkOut, Long orgId) {
+        Map<Long, List<BookingRestriction>> byProperty = new HashMap<>();
+        if (!propertyIds.isEmpty()) {
+            for (BookingRestriction r : restrictionRepository.findApplicableForProperties(
+                    List.copyOf(propertyIds), checkIn, checkOut, orgId)) {
+                byProperty.computeIfAbsent(r.getProperty().getId(), id -> new ArrayList<>()).add(r);
+            }
+        }
+        Map<Long, ValidationResult> results = new HashMap<>();
+        for (Long propertyId : propertyIds) {
+            results.put(propertyId, evaluate(propertyId,
+                    byProperty.getOrDefault(propertyId, new ArrayList<>()), checkIn, checkOut));
+        }
+        return results;
+    }
+
+    private ValidationResult evaluate(Long propertyId, List<BookingRestriction> restrictions,
+                                      LocalDate checkIn, LocalDate checkOut) {
+        List<String> violations = new ArrayList<>();
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
 
         // Tri par priorite DESC (la plus prioritaire en premier)
         restrictions.sort(Comparator.comparingInt(BookingRestriction::getPriority).reversed());
@@ -12,4 +12,13 @@ package com.clenzy.service;
 public interface SearchCacheInvalidator {
     /** À appeler après un changement de disponibilité (réservation, blocage…) ou de prix (override, tarif/jour). */
     void onAvailabilityOrPriceChanged();
+
+    /**
+     * Variante scopée : le changement ne concerne que l'organisation {@code organizationId}. Les caches
+     * indexés par org (recherche par dates) n'invalident que ses entrées ; les autres restent servis.
+     * Par défaut : invalidation globale (toujours sûre).
+     */
+    default void onAvailabilityOrPriceChanged(Long organizationId) {
+        onAvailabilityOrPriceChanged();
+    }
 }
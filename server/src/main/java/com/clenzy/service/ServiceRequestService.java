@@ -17,9 +17,7 @@ import com.clenzy.model.RequestStatus;
 import com.clenzy.model.UserRole;
 import com.clenzy.model.Reservation;
 import com.clenzy.model.AssignmentEvent;
-import com.clenzy.model.WorkflowSettings;
 import com.clenzy.repository.AssignmentEventRepository;
-import com.clenzy.repository.WorkflowSettingsRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.repository.ReservationRepository;
 import com.clenzy.util.JwtRoleExtractor;
@@ -78,7 +76,7 @@ public class ServiceRequestService {
     private final TenantContext tenantContext;
     private final ServiceRequestMapper serviceRequestMapper;
     private final AssignmentEventRepository assignmentEventRepository;
-    private final WorkflowSettingsRepository workflowSettingsRepository;
+    private final OrganizationSettingsProvider settingsProvider;
     private final CleaningPricingEngine cleaningPricingEngine;
     private final com.clenzy.service.pricing.HousekeeperScoreService housekeeperScoreService;
     // @Lazy : la chaîne supervision dépend (transitivement, via SuggestionActionExecutor)
@@ -100,7 +98,7 @@ public class ServiceRequestService {
                                   TenantContext tenantContext,
                                   ServiceRequestMapper serviceRequestMapper,
                                   AssignmentEventRepository assignmentEventRepository,
-                                  WorkflowSettingsRepository workflowSettingsRepository,
+                                  OrganizationSettingsProvider settingsProvider,
                                   CleaningPricingEngine cleaningPricingEngine,
                                   com.clenzy.service.pricing.HousekeeperScoreService housekeeperScoreService,
                                   @org.springframework.context.annotation.Lazy
@@ -121,7 +119,7 @@ public class ServiceRequestService {
         this.tenantContext = tenantContext;
         this.serviceRequestMapper = serviceRequestMapper;
         this.assignmentEventRepository = assignmentEventRepository;
-        this.workflowSettingsRepository = workflowSettingsRepository;
+        this.settingsProvider = settingsProvider;
         this.cleaningPricingEngine = cleaningPricingEngine;
         this.housekeeperScoreService = housekeeperScoreService;
         this.supervisionSuggestionService = supervisionSuggestionService;
@@ -975,8 +973,7 @@ public class ServiceRequestService {
 
             // Verifier workflow settings de l'org
             Long orgId = sr.getOrganizationId();
-            WorkflowSettings ws = workflowSettingsRepository.findByOrganizationId(orgId).orElse(null);
-            if (ws != null && !ws.isAutoAssignInterventions()) {
+            if (!settingsProvider.workflow(orgId).autoAssignInterventions()) {
                 log.debug("Auto-assignation desactivee pour org={}", orgId);
                 return false;
             }
@@ -1295,8 +1292,7 @@ public class ServiceRequestService {
         }
 
         // Auto-assignation : meme garde-fou d'org que le flux web (workflow settings).
-        WorkflowSettings ws = workflowSettingsRepository.findByOrganizationId(orgId).orElse(null);
-        if (ws == null || ws.isAutoAssignInterventions()) {
+        if (settingsProvider.workflow(orgId).autoAssignInterventions()) {
             attemptAutoAssignByOrgId(sr, orgId);
         }
 
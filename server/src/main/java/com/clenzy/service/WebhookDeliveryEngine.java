@@ -0,0 +1,261 @@
+package com.clenzy.service;
+
+import com.clenzy.service.WebhookDeliveryService.AttemptOutcome;
+import com.clenzy.service.WebhookDeliveryService.PendingDelivery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moteur de livraison des webhooks sortants (CLZ Domaine 10) : une <b>file bornee par abonne</b>
+ * (endpoint), drainee sur des threads virtuels avec une <b>concurrence adaptative</b> par abonne.
+ *
+ * <ul>
+ *   <li><b>Isolation</b> : un endpoint lent ou en panne n'occupe que ses propres slots ; les
+ *       autres abonnes continuent d'etre livres. File pleine → la livraison reste en base et le
+ *       {@code WebhookRetryScheduler} la reprend (aucune perte, aucun buffer non borne).</li>
+ *   <li><b>Concurrence AIMD</b> : limite initiale {@code initial-concurrency}, +1 apres une
+ *       « fenetre » de succes rapides (latence sous {@code target-latency}), divisee par 2 sur
+ *       echec, 429/5xx ou latence excessive. Bornee a {@code [1, max-concurrency]}.</li>
+ *   <li><b>Lots</b> : pour un abonne avec {@code batchSize > 1}, un slot emporte jusqu'a N
+ *       livraisons de la file dans une seule enveloppe ({@link WebhookDeliveryService#attemptBatch}).</li>
+ *   <li><b>Connexions</b> : toutes les tentatives partagent le {@code webhookHttpClient}
+ *       (keep-alive + HTTP/2), d'ou la reutilisation des connexions par abonne.</li>
+ * </ul>
+ *
+ * <p>Etat en memoire, par noeud : la source de verite reste {@code webhook_deliveries}. Une
+ * livraison deja en file ou en vol sur ce noeud n'est pas dupliquee par un second {@code submit} ;
+ * entre noeuds, c'est le bail pose en base avant l'appel HTTP
+ * ({@link WebhookDeliveryService#attempt}) qui garantit un seul envoi.</p>
+ *
+ * <p>Metriques (tag {@code subscription} = id de l'abonne) : {@code clenzy.webhooks.queue.depth},
+ * {@code clenzy.webhooks.concurrency.limit}, {@code clenzy.webhooks.delivery.latency}
+ * (tag {@code outcome}), {@code clenzy.webhooks.queue.rejected}, et
+ * {@code clenzy.webhooks.retry.backlog} alimentee par le scheduler de retry.</p>
+ */
+@Component
+public class WebhookDeliveryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryEngine.class);
+
+    private final WebhookDeliveryService deliveryService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final int queueCapacity;
+    private final int initialConcurrency;
+    private final int maxConcurrency;
+    private final long targetLatencyNanos;
+    private final Map<Long, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Set<Long> queuedOrInFlight = ConcurrentHashMap.newKeySet();
+    private final MultiGauge retryBacklog;
+
+    @Autowired
+    public WebhookDeliveryEngine(WebhookDeliveryService deliveryService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${clenzy.webhooks.engine.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${clenzy.webhooks.engine.initial-concurrency:2}") int initialConcurrency,
+                                 @Value("${clenzy.webhooks.engine.max-concurrency:8}") int maxConcurrency,
+                                 @Value("${clenzy.webhooks.engine.target-latency-ms:2000}") long targetLatencyMs) {
+        this(deliveryService, meterRegistry, Executors.newVirtualThreadPerTaskExecutor(),
+            queueCapacity, initialConcurrency, maxConcurrency, Duration.ofMillis(targetLatencyMs));
+    }
+
+    /** Constructeur de test : executor injectable. */
+    WebhookDeliveryEngine(WebhookDeliveryService deliveryService, MeterRegistry meterRegistry,
+                          ExecutorService workers, int queueCapacity, int initialConcurrency,
+                          int maxConcurrency, Duration targetLatency) {
+        this.deliveryService = deliveryService;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.initialConcurrency = Math.max(1, Math.min(this.maxConcurrency, initialConcurrency));
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.retryBacklog = MultiGauge.builder("clenzy.webhooks.retry.backlog")
+            .description("Livraisons webhook en attente de retry, par abonne")
+            .register(meterRegistry);
+    }
+
+    /** Une tache de la file : la livraison et la promesse resolue apres tentative. */
+    private record Job(Long deliveryId, CompletableFuture<Void> done) {}
+
+    /** File + limiteur de concurrence d'un abonne. */
+    private final class Endpoint {
+        final Long webhookId;
+        final ArrayBlockingQueue<Job> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final Counter rejected;
+        volatile int batchSize = 1;
+        volatile int limit = initialConcurrency;
+        int inFlight;
+        int fastSuccesses;
+
+        Endpoint(Long webhookId) {
+            this.webhookId = webhookId;
+            Tags tags = Tags.of("subscription", String.valueOf(webhookId));
+            Gauge.builder("clenzy.webhooks.queue.depth", queue, ArrayBlockingQueue::size)
+                .tags(tags).register(meterRegistry);
+            Gauge.builder("clenzy.webhooks.concurrency.limit", this, e -> e.limit)
+                .tags(tags).register(meterRegistry);
+            this.rejected = Counter.builder("clenzy.webhooks.queue.rejected").tags(tags).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Place une livraison dans la file de son abonne et declenche le drainage. Non bloquant.
+     *
+     * @return promesse resolue apres la tentative ; deja resolue si la livraison etait deja en
+     *         file/en vol, ou si la file est pleine (la livraison reste due en base)
+     */
+    public CompletableFuture<Void> submit(PendingDelivery delivery) {
+        if (!queuedOrInFlight.add(delivery.deliveryId())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(delivery.webhookId(), Endpoint::new);
+        endpoint.batchSize = Math.max(1, delivery.batchSize());
+        Job job = new Job(delivery.deliveryId(), new CompletableFuture<>());
+        if (!endpoint.queue.offer(job)) {
+            queuedOrInFlight.remove(delivery.deliveryId());
+            endpoint.rejected.increment();
+            log.debug("File webhook de l'abonne {} pleine : livraison {} laissee au retry",
+                endpoint.webhookId, delivery.deliveryId());
+            return CompletableFuture.completedFuture(null);
+        }
+        drain(endpoint);
+        return job.done();
+    }
+
+    /** Soumet un lot de livraisons et attend leur tentative (scheduler de retry), borne par {@code timeout}. */
+    public void submitAndAwait(List<PendingDelivery> deliveries, Duration timeout) {
+        CompletableFuture<?>[] futures = deliveries.stream().map(this::submit).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Livraisons webhook non terminees dans le delai ({}) : {}", timeout, e.getMessage());
+        }
+    }
+
+    /** Publie le backlog de retry par abonne (comptage fait en base par le scheduler). */
+    public void updateRetryBacklog(Map<Long, Long> backlogByWebhook) {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(backlogByWebhook.size());
+        backlogByWebhook.forEach((webhookId, count) ->
+            rows.add(MultiGauge.Row.of(Tags.of("subscription", String.valueOf(webhookId)), count)));
+        retryBacklog.register(rows, true);
+    }
+
+    /** Lance autant de slots que la limite courante le permet. */
+    private void drain(Endpoint endpoint) {
+        while (true) {
+            List<Job> jobs;
+            synchronized (endpoint) {
+                if (endpoint.inFlight >= endpoint.limit || endpoint.queue.isEmpty()) {
+                    return;
+                }
+                jobs = new ArrayList<>(endpoint.batchSize);
+                endpoint.queue.drainTo(jobs, endpoint.batchSize);
+                if (jobs.isEmpty()) {
+                    return;
+                }
+                endpoint.inFlight++;
+            }
+            try {
+                workers.execute(() -> run(endpoint, jobs));
+            } catch (RuntimeException e) {
+                // Executor arrete (shutdown) : les livraisons restent dues en base.
+                release(endpoint, jobs);
+                return;
+            }
+        }
+    }
+
+    private void run(Endpoint endpoint, List<Job> jobs) {
+        long start = System.nanoTime();
+        AttemptOutcome outcome = null;
+        try {
+            List<Long> ids = jobs.stream().map(Job::deliveryId).toList();
+            outcome = ids.size() == 1 ? deliveryService.attempt(ids.get(0)) : deliveryService.attemptBatch(ids);
+        } catch (Exception e) {
+            log.warn("Tentative webhook (abonne {}) echouee : {}", endpoint.webhookId, e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (outcome == null || outcome.attempted()) {
+                Timer.builder("clenzy.webhooks.delivery.latency")
+                    .tags("subscription", String.valueOf(endpoint.webhookId),
+                        "outcome", outcome != null && outcome.ok() ? "delivered" : "failed")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+                adapt(endpoint, outcome, elapsed);
+            }
+            release(endpoint, jobs);
+            drain(endpoint);
+        }
+    }
+
+    private void release(Endpoint endpoint, List<Job> jobs) {
+        synchronized (endpoint) {
+            endpoint.inFlight = Math.max(0, endpoint.inFlight - 1);
+        }
+        for (Job job : jobs) {
+            queuedOrInFlight.remove(job.deliveryId());
+            job.done().complete(null);
+        }
+    }
+
+    /**
+     * AIMD : augmentation additive apres {@code limit} succes rapides consecutifs, diminution
+     * multiplicative sur echec, 429/5xx ou latence au-dessus de la cible.
+     */
+    private void adapt(Endpoint endpoint, AttemptOutcome outcome, long elapsedNanos) {
+        synchronized (endpoint) {
+            boolean overloaded = outcome == null || !outcome.ok() || elapsedNanos > targetLatencyNanos;
+            if (overloaded) {
+                endpoint.limit = Math.max(1, endpoint.limit / 2);
+                endpoint.fastSuccesses = 0;
+            } else if (++endpoint.fastSuccesses >= endpoint.limit) {
+                endpoint.limit = Math.min(maxConcurrency, endpoint.limit + 1);
+                endpoint.fastSuccesses = 0;
+            }
+        }
+    }
+
+    /** Limite de concurrence courante d'un abonne (tests / diagnostic). */
+    int concurrencyLimit(Long webhookId) {
+        Endpoint endpoint = endpoints.get(webhookId);
+        return endpoint == null ? initialConcurrency : endpoint.limit;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+}
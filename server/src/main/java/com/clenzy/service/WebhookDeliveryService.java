@@ -38,6 +38,17 @@ import java.util.Map;
  * dans la transaction metier, puis effectue l'appel HTTP <b>hors transaction</b> (#2) avec
  * signature HMAC-SHA256, retry a backoff exponentiel et desactivation + notification admin apres
  * epuisement des tentatives.
+ *
+ * <p>L'ordonnancement des tentatives (files par abonne, concurrence adaptative) est porte par
+ * {@link WebhookDeliveryEngine} ; ce service realise une tentative unitaire ({@link #attempt})
+ * ou une enveloppe de lot ({@link #attemptBatch}) pour les abonnes qui l'ont activee.</p>
+ *
+ * <p><b>Multi-noeuds</b> : les files du moteur sont locales au noeud. Avant tout appel HTTP,
+ * les livraisons sont reservees en base ({@link WebhookDeliveryRepository#claim}, bail
+ * {@link #CLAIM_LEASE}, {@code FOR UPDATE SKIP LOCKED}) : une livraison presente dans les files
+ * de deux noeuds n'est envoyee qu'une fois. Le resultat est applique a l'abonne par des UPDATE
+ * cibles (compteur d'echecs incremente en SQL, desactivation conditionnelle), jamais par un
+ * {@code save} de l'entite lue avant l'appel.</p>
  */
 @Service
 public class WebhookDeliveryService {
@@ -47,6 +58,25 @@ public class WebhookDeliveryService {
     private static final Duration BACKOFF_CAP = Duration.ofMinutes(60);
     private static final Duration PAUSED_RECHECK = Duration.ofMinutes(30);
     private static final int HTTP_TIMEOUT_S = 15;
+    /**
+     * Delai avant que le scheduler de retry ne reprenne une livraison neuve : la tentative
+     * immediate passe par la file du {@link WebhookDeliveryEngine} ; le scheduler ne la rattrape
+     * que si elle n'a pas abouti d'ici la (noeud arrete, file pleine).
+     */
+    static final Duration IMMEDIATE_ATTEMPT_GRACE = Duration.ofMinutes(2);
+    /** Bail d'une tentative : largement au-dela du timeout HTTP ; expire, la livraison redevient due. */
+    static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+
+    /** Livraison enfilee, avec ce qu'il faut au moteur pour la router vers la file de son abonne. */
+    public record PendingDelivery(Long deliveryId, Long webhookId, int batchSize) {}
+
+    /**
+     * Resultat d'une tentative pour le controle de concurrence du moteur. {@code attempted=false}
+     * quand aucun appel HTTP n'a eu lieu (deja livree, abonne en pause ou supprime).
+     */
+    public record AttemptOutcome(boolean attempted, boolean ok, Integer responseStatus) {
+        static final AttemptOutcome SKIPPED = new AttemptOutcome(false, false, null);
+    }
 
     private final WebhookConfigRepository webhookRepository;
     private final WebhookDeliveryRepository deliveryRepository;
@@ -74,13 +104,23 @@ public class WebhookDeliveryService {
      * la transaction metier ambiante (atomique avec la mutation). Retourne les ids a tenter apres commit.
      */
     public List<Long> enqueue(WebhookEventType eventType, Long orgId, Object payload) {
+        return enqueueForDispatch(eventType, orgId, payload).stream()
+            .map(PendingDelivery::deliveryId)
+            .toList();
+    }
+
+    /**
+     * Variante de {@link #enqueue} qui renvoie aussi l'abonne et sa taille de lot, pour que
+     * {@link WebhookDeliveryEngine} route chaque livraison vers la file de son endpoint.
+     */
+    public List<PendingDelivery> enqueueForDispatch(WebhookEventType eventType, Long orgId, Object payload) {
         List<WebhookConfig> active = webhookRepository.findActiveByOrgId(orgId);
         if (active.isEmpty()) {
             return List.of();
         }
         String body = serialize(eventType.wireName(), payload);
         Instant now = clock.instant();
-        List<Long> ids = new ArrayList<>();
+        List<PendingDelivery> pending = new ArrayList<>();
         for (WebhookConfig w : active) {
             if (!isSubscribed(w, eventType.wireName())) {
                 continue;
@@ -92,52 +132,135 @@ public class WebhookDeliveryService {
             d.setPayload(body);
             d.setStatus(DeliveryStatus.PENDING);
             d.setAttempts(0);
-            d.setNextAttemptAt(now);
+            d.setNextAttemptAt(now.plus(IMMEDIATE_ATTEMPT_GRACE));
             d.setCreatedAt(now);
-            ids.add(deliveryRepository.save(d).getId());
+            pending.add(new PendingDelivery(deliveryRepository.save(d).getId(), w.getId(), w.getBatchSize()));
         }
-        return ids;
+        return pending;
     }
 
     /**
      * Tente la livraison d'une entree de file. L'appel HTTP est realise <b>hors transaction</b> ;
      * la mise a jour du statut se fait via des saves de repository (chacun transactionnel).
      */
-    public void attempt(Long deliveryId) {
+    public AttemptOutcome attempt(Long deliveryId) {
+        if (claim(List.of(deliveryId)).isEmpty()) {
+            return AttemptOutcome.SKIPPED; // livree, ou en cours sur un autre noeud
+        }
+        return attemptClaimed(deliveryId);
+    }
+
+    /** Tentative d'une livraison dont ce noeud detient deja le bail. */
+    private AttemptOutcome attemptClaimed(Long deliveryId) {
         WebhookDelivery d = deliveryRepository.findById(deliveryId).orElse(null);
-        if (d == null || d.getStatus() == DeliveryStatus.DELIVERED || d.getStatus() == DeliveryStatus.FAILED) {
-            return;
+        if (d == null || !isDeliverable(d)) {
+            return AttemptOutcome.SKIPPED;
         }
-        WebhookConfig w = webhookRepository.findByIdAndOrgId(d.getWebhookId(), d.getOrganizationId()).orElse(null);
+        WebhookConfig w = resolveActiveWebhook(List.of(d));
         if (w == null) {
-            d.setStatus(DeliveryStatus.FAILED);
-            d.setLastError("abonne supprime");
-            deliveryRepository.save(d);
-            return;
+            return AttemptOutcome.SKIPPED;
+        }
+        return post(w, List.of(d), d.getPayload(), d.getEventType(), String.valueOf(d.getId()));
+    }
+
+    /**
+     * Livre plusieurs entrees d'un MEME abonne dans une enveloppe de lot
+     * ({@code {"event":"batch","count":N,"events":[...]}}, chaque element etant l'enveloppe
+     * unitaire habituelle). Une seule signature HMAC couvre le corps ; le statut HTTP s'applique
+     * a toutes les livraisons du lot. Un lot reduit a une entree retombe sur {@link #attempt}.
+     */
+    public AttemptOutcome attemptBatch(List<Long> deliveryIds) {
+        if (deliveryIds.size() == 1) {
+            return attempt(deliveryIds.get(0));
+        }
+        List<Long> claimed = claim(deliveryIds);
+        if (claimed.isEmpty()) {
+            return AttemptOutcome.SKIPPED;
+        }
+        if (claimed.size() == 1) {
+            return attemptClaimed(claimed.get(0));
+        }
+        List<WebhookDelivery> batch = deliveryRepository.findAllById(claimed).stream()
+            .filter(this::isDeliverable)
+            .sorted(java.util.Comparator.comparing(WebhookDelivery::getId))
+            .toList();
+        if (batch.isEmpty()) {
+            return AttemptOutcome.SKIPPED;
+        }
+        if (batch.size() == 1) {
+            return attemptClaimed(batch.get(0).getId());
+        }
+        WebhookConfig w = resolveActiveWebhook(batch);
+        if (w == null) {
+            return AttemptOutcome.SKIPPED;
+        }
+        StringBuilder body = new StringBuilder("{\"event\":\"batch\",\"timestamp\":\"")
+            .append(clock.instant()).append("\",\"count\":").append(batch.size()).append(",\"events\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(batch.get(i).getPayload());
+        }
+        body.append("]}");
+        String ids = String.join(",", batch.stream().map(d -> String.valueOf(d.getId())).toList());
+        return post(w, batch, body.toString(), "batch", ids);
+    }
+
+    private List<Long> claim(List<Long> deliveryIds) {
+        Instant now = clock.instant();
+        return deliveryRepository.claim(deliveryIds, now, now.plus(CLAIM_LEASE));
+    }
+
+    private boolean isDeliverable(WebhookDelivery d) {
+        return d.getStatus() != DeliveryStatus.DELIVERED && d.getStatus() != DeliveryStatus.FAILED;
+    }
+
+    /**
+     * Abonne ACTIF des livraisons (toutes du meme abonne), ou {@code null} apres avoir traite le
+     * cas : abonne supprime → FAILED ; en pause/desactive → repousse sans consommer de tentative.
+     */
+    private WebhookConfig resolveActiveWebhook(List<WebhookDelivery> deliveries) {
+        WebhookDelivery first = deliveries.get(0);
+        WebhookConfig w = webhookRepository.findByIdAndOrgId(first.getWebhookId(), first.getOrganizationId()).orElse(null);
+        if (w == null) {
+            for (WebhookDelivery d : deliveries) {
+                d.setStatus(DeliveryStatus.FAILED);
+                d.setLastError("abonne supprime");
+                d.setClaimedUntil(null);
+                deliveryRepository.save(d);
+            }
+            return null;
         }
         if (w.getStatus() != WebhookStatus.ACTIVE) {
             // Abonne en pause/desactive : on repousse sans consommer de tentative.
-            d.setNextAttemptAt(clock.instant().plus(PAUSED_RECHECK));
-            d.setStatus(DeliveryStatus.RETRYING);
-            deliveryRepository.save(d);
-            return;
+            for (WebhookDelivery d : deliveries) {
+                d.setNextAttemptAt(clock.instant().plus(PAUSED_RECHECK));
+                d.setStatus(DeliveryStatus.RETRYING);
+                d.setClaimedUntil(null);
+                deliveryRepository.save(d);
+            }
+            return null;
         }
+        return w;
+    }
 
-        int attemptNo = d.getAttempts() + 1;
+    private AttemptOutcome post(WebhookConfig w, List<WebhookDelivery> deliveries, String body,
+                                String eventHeader, String deliveryHeader) {
         Integer responseStatus = null;
         String error = null;
         boolean ok = false;
         try {
             ICalUrlValidator.validateAndResolve(w.getUrl()); // garde SSRF (defense en profondeur)
-            String signature = computeHmac(d.getPayload(), w.getSecretHash());
+            String signature = computeHmac(body, w.getSecretHash());
             HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(w.getUrl()))
                 .header("Content-Type", "application/json")
                 .header("X-Clenzy-Signature", signature)
-                .header("X-Clenzy-Event", d.getEventType())
-                .header("X-Clenzy-Delivery", String.valueOf(d.getId()))
+                .header("X-Clenzy-Event", eventHeader)
+                .header("X-Clenzy-Delivery", deliveryHeader)
                 .timeout(Duration.ofSeconds(HTTP_TIMEOUT_S))
-                .POST(HttpRequest.BodyPublishers.ofString(d.getPayload(), StandardCharsets.UTF_8))
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
                 .build();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
             responseStatus = response.statusCode();
@@ -145,48 +268,65 @@ public class WebhookDeliveryService {
             if (!ok) {
                 error = "HTTP " + responseStatus;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrompu";
         } catch (Exception e) {
             error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
         }
-        recordOutcome(d, w, attemptNo, ok, responseStatus, error);
+        recordOutcome(deliveries, w, ok, responseStatus, error);
+        return new AttemptOutcome(true, ok, responseStatus);
     }
 
-    private void recordOutcome(WebhookDelivery d, WebhookConfig w, int attemptNo,
+    /**
+     * Applique le resultat d'un appel a ses livraisons (une, ou toutes celles d'un lot, dont ce
+     * noeud detient le bail) puis a l'abonne par UPDATE cibles : un appel en echec compte pour UN
+     * echec de l'abonne, quel que soit le lot.
+     */
+    private void recordOutcome(List<WebhookDelivery> deliveries, WebhookConfig w,
                                boolean ok, Integer responseStatus, String error) {
         Instant now = clock.instant();
-        d.setAttempts(attemptNo);
-        d.setResponseStatus(responseStatus);
+        int maxAttemptNo = 0;
+        for (WebhookDelivery d : deliveries) {
+            int attemptNo = d.getAttempts() + 1;
+            maxAttemptNo = Math.max(maxAttemptNo, attemptNo);
+            d.setAttempts(attemptNo);
+            d.setResponseStatus(responseStatus);
+            d.setClaimedUntil(null);
+            if (ok) {
+                d.setStatus(DeliveryStatus.DELIVERED);
+                d.setDeliveredAt(now);
+                d.setLastError(null);
+            } else {
+                d.setLastError(truncate(error));
+                if (attemptNo >= MAX_ATTEMPTS) {
+                    d.setStatus(DeliveryStatus.FAILED);
+                } else {
+                    d.setStatus(DeliveryStatus.RETRYING);
+                    d.setNextAttemptAt(now.plus(backoff(attemptNo)));
+                }
+            }
+        }
+        for (WebhookDelivery d : deliveries) {
+            deliveryRepository.save(d);
+        }
         if (ok) {
-            d.setStatus(DeliveryStatus.DELIVERED);
-            d.setDeliveredAt(now);
-            d.setLastError(null);
-            w.setLastTriggeredAt(now);
-            w.setFailureCount(0);
+            webhookRepository.recordDeliverySuccess(w.getId(), now);
         } else {
-            d.setLastError(truncate(error));
-            if (attemptNo >= MAX_ATTEMPTS) {
-                d.setStatus(DeliveryStatus.FAILED);
-                disableAndNotify(w, attemptNo);
-            } else {
-                d.setStatus(DeliveryStatus.RETRYING);
-                d.setNextAttemptAt(now.plus(backoff(attemptNo)));
+            webhookRepository.recordDeliveryFailure(w.getId(), now, truncate(error));
+            if (maxAttemptNo >= MAX_ATTEMPTS) {
+                disableAndNotify(w, maxAttemptNo);
             }
-            int failures = (w.getFailureCount() != null ? w.getFailureCount() : 0) + 1;
-            w.setFailureCount(failures);
-            w.setLastFailureAt(now);
-            w.setLastFailureReason(truncate(error));
             log.warn("Webhook delivery {} (abonne {}) en echec [{}] tentative {}/{}",
-                d.getId(), w.getId(), error, attemptNo, MAX_ATTEMPTS);
+                deliveries.size() == 1 ? deliveries.get(0).getId() : deliveries.size() + " livraisons",
+                w.getId(), error, maxAttemptNo, MAX_ATTEMPTS);
         }
-        deliveryRepository.save(d);
-        webhookRepository.save(w);
     }
 
     private void disableAndNotify(WebhookConfig w, int attempts) {
-        if (w.getStatus() == WebhookStatus.FAILED) {
-            return; // deja desactive : pas de double notification
+        if (webhookRepository.disableIfActive(w.getId()) == 0) {
+            return; // deja desactive (ou mis en pause entre-temps) : pas de double notification
         }
-        w.setStatus(WebhookStatus.FAILED);
         notificationService.notifyAdminsAndManagersByOrgId(
             w.getOrganizationId(),
             NotificationKey.WEBHOOK_DELIVERY_FAILED,
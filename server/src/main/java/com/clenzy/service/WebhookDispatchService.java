@@ -25,6 +25,7 @@ public class WebhookDispatchService {
 
     private static final Logger log = LoggerFactory.getLogger(WebhookDispatchService.class);
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    static final int MAX_BATCH_SIZE = 100;
 
     private final WebhookConfigRepository webhookRepository;
 
@@ -89,6 +90,21 @@ public class WebhookDispatchService {
         webhookRepository.save(config);
     }
 
+    /**
+     * Opt-in des enveloppes de lot : jusqu'a {@code batchSize} evenements par POST
+     * (1 = un evenement par appel). Borne a {@value #MAX_BATCH_SIZE}.
+     */
+    @Transactional
+    public WebhookConfigDto updateBatchSize(Long id, Long orgId, int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize doit etre entre 1 et " + MAX_BATCH_SIZE);
+        }
+        WebhookConfig config = webhookRepository.findByIdAndOrgId(id, orgId)
+            .orElseThrow(() -> new IllegalArgumentException("Webhook not found: " + id));
+        config.setBatchSize(batchSize);
+        return WebhookConfigDto.from(webhookRepository.save(config));
+    }
+
     private String generateSecret() {
         byte[] bytes = new byte[32];
         SECURE_RANDOM.nextBytes(bytes);
@@ -1,6 +1,7 @@
 package com.clenzy.service;
 
 import com.clenzy.model.WebhookEventType;
+import com.clenzy.service.WebhookDeliveryService.PendingDelivery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -11,8 +12,9 @@ import java.util.List;
 
 /**
  * Point d'entree metier pour emettre un evenement vers les webhooks sortants (CLZ Domaine 10).
- * Enfile la livraison dans la transaction courante, puis declenche la tentative HTTP <b>apres
- * commit</b> (#2). En cas d'echec immediat, le scheduler de retry prend le relais. L'emission est
+ * Enfile la livraison dans la transaction courante, puis la confie <b>apres commit</b> (#2) au
+ * {@link WebhookDeliveryEngine} (file par abonne, non bloquant : le thread metier n'attend plus
+ * l'appel HTTP). En cas d'echec immediat, le scheduler de retry prend le relais. L'emission est
  * best-effort : elle ne doit jamais faire echouer la transaction metier.
  */
 @Service
@@ -21,43 +23,47 @@ public class WebhookEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(WebhookEventPublisher.class);
 
     private final WebhookDeliveryService deliveryService;
+    private final WebhookDeliveryEngine deliveryEngine;
 
-    public WebhookEventPublisher(WebhookDeliveryService deliveryService) {
+    public WebhookEventPublisher(WebhookDeliveryService deliveryService,
+                                 WebhookDeliveryEngine deliveryEngine) {
         this.deliveryService = deliveryService;
+        this.deliveryEngine = deliveryEngine;
     }
 
     public void publish(WebhookEventType eventType, Long orgId, Object payload) {
         if (orgId == null) {
             return;
         }
-        final List<Long> deliveryIds;
+        final List<PendingDelivery> deliveries;
         try {
-            deliveryIds = deliveryService.enqueue(eventType, orgId, payload);
+            deliveries = deliveryService.enqueueForDispatch(eventType, orgId, payload);
         } catch (Exception e) {
             log.warn("Enfilage webhook {} (org {}) impossible: {}", eventType, orgId, e.getMessage());
             return;
         }
-        if (deliveryIds.isEmpty()) {
+        if (deliveries.isEmpty()) {
             return;
         }
         if (TransactionSynchronizationManager.isSynchronizationActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    deliveryIds.forEach(WebhookEventPublisher.this::safeAttempt);
+                    deliveries.forEach(WebhookEventPublisher.this::safeSubmit);
                 }
             });
         } else {
-            deliveryIds.forEach(this::safeAttempt);
+            deliveries.forEach(this::safeSubmit);
         }
     }
 
-    private void safeAttempt(Long deliveryId) {
+    private void safeSubmit(PendingDelivery delivery) {
         try {
-            deliveryService.attempt(deliveryId);
+            deliveryEngine.submit(delivery);
         } catch (Exception e) {
             // La livraison reste en file : le scheduler de retry reessaiera.
-            log.warn("Tentative immediate du webhook {} echouee (retry programme): {}", deliveryId, e.getMessage());
+            log.warn("Tentative immediate du webhook {} echouee (retry programme): {}",
+                delivery.deliveryId(), e.getMessage());
         }
     }
 }
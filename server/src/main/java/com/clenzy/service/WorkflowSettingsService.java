@@ -20,11 +20,14 @@ public class WorkflowSettingsService {
 
     private final WorkflowSettingsRepository repository;
     private final TenantContext tenantContext;
+    private final OrganizationSettingsProvider settingsProvider;
 
     public WorkflowSettingsService(WorkflowSettingsRepository repository,
-                                   TenantContext tenantContext) {
+                                   TenantContext tenantContext,
+                                   OrganizationSettingsProvider settingsProvider) {
         this.repository = repository;
         this.tenantContext = tenantContext;
+        this.settingsProvider = settingsProvider;
     }
 
     /** Parametres de l'organisation courante, ou valeurs par defaut si absents. */
@@ -52,7 +55,9 @@ public class WorkflowSettingsService {
         entity.setCancellationDeadlineHours(dto.getCancellationDeadlineHours());
         entity.setRequireApprovalForChanges(dto.isRequireApprovalForChanges());
 
-        return toDto(repository.save(entity));
+        WorkflowSettingsDto saved = toDto(repository.save(entity));
+        settingsProvider.invalidate(orgId);
+        return saved;
     }
 
     private WorkflowSettingsDto toDto(WorkflowSettings entity) {
@@ -0,0 +1,65 @@
+package com.clenzy.service.agent;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Featurizer du classifieur d'intention local : n-grammes hashes (hashing trick).
+ *
+ * <p>Message normalise (minuscules, sans accents) → mots, bigrammes de mots et
+ * trigrammes de caracteres (robustes aux fautes et flexions : « reservation »,
+ * « reservations », « resa »), chacun hashe dans {@value #DIMENSION} buckets.
+ * Presence binaire, pas de frequence : un message de routage est court.</p>
+ *
+ * <p>Le hash repose sur {@link String#hashCode()} (specifie par le JLS, donc stable
+ * entre JVM) melange par le finaliseur murmur3 : les empreintes stockees restent
+ * valides d'un deploiement a l'autre. Toute modification de la normalisation, des
+ * n-grammes ou de la dimension impose d'incrementer {@link #VERSION}.</p>
+ */
+final class IntentFeaturizer {
+
+    static final int VERSION = 1;
+
+    static final int DIMENSION = 1 << 16;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private IntentFeaturizer() {
+    }
+
+    /** Indices de buckets actifs, tries et sans doublon. */
+    static int[] features(String text) {
+        String normalized = DIACRITICS.matcher(
+                Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+        String[] words = Arrays.stream(SEPARATORS.split(normalized))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+
+        int[] buckets = new int[words.length * 2 + normalized.length() + 2];
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            buckets[n++] = bucket("w:" + words[i]);
+            if (i > 0) {
+                buckets[n++] = bucket("b:" + words[i - 1] + ' ' + words[i]);
+            }
+        }
+        String padded = ' ' + String.join(" ", words) + ' ';
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            buckets[n++] = bucket("c:" + padded.substring(i, i + 3));
+        }
+        return Arrays.stream(buckets, 0, n).sorted().distinct().toArray();
+    }
+
+    static int bucket(String feature) {
+        int h = feature.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (DIMENSION - 1);
+    }
+}
@@ -6,6 +6,7 @@ import com.clenzy.config.ai.ChatMessage;
 import com.clenzy.config.ai.ChatRequest;
 import com.clenzy.service.ResolvedTarget;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Routeur d'intention pre-orchestration (campagne multi-agent, ticket T-02 —
@@ -35,9 +38,16 @@ import java.util.Locale;
  * actuel, zero regression possible). Le court-circuit ne s'applique que sur une
  * classification explicite.</p>
  *
+ * <p><b>Premier etage local</b> : {@link LocalIntentClassifier} (modele appris sur
+ * les decisions passees de ce routeur) repond d'abord ; l'appel LLM n'a lieu que
+ * si sa confiance est insuffisante (ou pour l'audit echantillonne). Chaque decision
+ * LLM explicite alimente son corpus.</p>
+ *
  * <p>Observabilite : compteur {@code assistant.routing.decision{route}} — le
  * taux de court-circuit (simple+direct vs multi) se lit dans Grafana, croise
- * avec {@code assistant.tokens{agent}} (T-01) pour mesurer le gain reel.</p>
+ * avec {@code assistant.tokens{agent}} (T-01) pour mesurer le gain reel.
+ * Latence de decision : {@code assistant.routing.latency{stage,route}}, stage
+ * {@code local|llm}.</p>
  */
 @Component
 public class IntentRouter {
@@ -47,6 +57,9 @@ public class IntentRouter {
     /** Compteur Micrometer des decisions de routage. Tag {@code route} : direct|simple|multi|error_fallback. */
     public static final String ROUTING_DECISIONS = "assistant.routing.decision";
 
+    /** Timer de la decision de routage. Tags {@code stage} : local|llm, {@code route}. */
+    public static final String ROUTING_LATENCY = "assistant.routing.latency";
+
     /** Le message user est tronque avant classification : au-dela, la nature de la demande est deja claire. */
     private static final int MAX_CLASSIFIED_CHARS = 400;
 
@@ -76,17 +89,20 @@ public class IntentRouter {
     private final ChatLLMProvider chatProvider;
     private final MeterRegistry meterRegistry;
     private final TierModelResolver tierModelResolver;
+    private final LocalIntentClassifier localClassifier;
     private final boolean enabled;
     private final String modelOverride;
 
     public IntentRouter(ChatLLMProvider chatProvider,
                         MeterRegistry meterRegistry,
                         TierModelResolver tierModelResolver,
+                        LocalIntentClassifier localClassifier,
                         @Value("${clenzy.assistant.routing.enabled:false}") boolean enabled,
                         @Value("${clenzy.assistant.routing.model:}") String modelOverride) {
         this.chatProvider = chatProvider;
         this.meterRegistry = meterRegistry;
         this.tierModelResolver = tierModelResolver;
+        this.localClassifier = localClassifier;
         this.enabled = enabled;
         this.modelOverride = modelOverride;
     }
@@ -113,6 +129,18 @@ public class IntentRouter {
         String truncated = userMessage.length() > MAX_CLASSIFIED_CHARS
                 ? userMessage.substring(0, MAX_CLASSIFIED_CHARS)
                 : userMessage;
+        long start = System.nanoTime();
+
+        Optional<LocalIntentClassifier.Prediction> local = localClassifier != null
+                ? localClassifier.predict(truncated)
+                : Optional.empty();
+        boolean audit = local.isPresent() && localClassifier.shouldAudit();
+        if (local.isPresent() && !audit) {
+            Route route = local.get().route();
+            recordLatency("local", route, start);
+            return countAndBuild(route.name().toLowerCase(Locale.ROOT), route, 0, 0, null);
+        }
+
         // Priorite du modele de classification : override explicite
         // (clenzy.assistant.routing.model) > tier SMALL (T-03, si tiering actif)
         // > modele resolu du contexte.
@@ -156,6 +184,13 @@ public class IntentRouter {
                 log.warn("[ROUTING] Reponse de classification inattendue '{}' → fallback MULTI", text[0]);
                 return countAndBuild("error_fallback", Route.MULTI, tokens[0], tokens[1], model);
             }
+            if (localClassifier != null) {
+                localClassifier.recordLabel(truncated, route);
+                if (audit) {
+                    localClassifier.recordAudit(local.get().route(), route);
+                }
+            }
+            recordLatency("llm", route, start);
             return countAndBuild(route.name().toLowerCase(Locale.ROOT), route, tokens[0], tokens[1], model);
         } catch (Exception e) {
             log.warn("[ROUTING] Classification en echec ({}) → fallback MULTI", e.getMessage());
@@ -174,6 +209,16 @@ public class IntentRouter {
         return null;
     }
 
+    private void recordLatency(String stage, Route route, long startNanos) {
+        if (meterRegistry != null) {
+            Timer.builder(ROUTING_LATENCY)
+                    .tag("stage", stage)
+                    .tag("route", route.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
     private RouteDecision fallback(String reason) {
         return countAndBuild(reason, Route.MULTI, 0, 0, null);
     }
@@ -0,0 +1,237 @@
+package com.clenzy.service.agent;
+
+import com.clenzy.repository.RoutingSampleJdbcRepository;
+import com.clenzy.repository.RoutingSampleJdbcRepository.RoutingSample;
+import com.clenzy.service.agent.IntentRouter.Route;
+import com.clenzy.service.agent.LocalIntentModel.Evaluation;
+import com.clenzy.service.agent.LocalIntentModel.LabeledSample;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Premier etage du routage d'intention : classifieur local (CPU, sans appel reseau)
+ * appris sur les decisions deja prises par le routeur LLM ({@link IntentRouter}).
+ *
+ * <ul>
+ *   <li><b>Corpus</b> : quand le classifieur est active, chaque classification LLM
+ *       explicite est journalisee ({@code assistant_routing_samples}, empreinte hashee
+ *       uniquement) via un tampon borne en memoire, vide par lot toutes les
+ *       {@code flush-ms} ms : aucune ecriture sur le chemin de la requete. Les decisions
+ *       du modele local ne sont jamais reinjectees (pas d'auto-renforcement). Retention :
+ *       {@code RoutingSampleRetentionScheduler}, actif meme classifieur desactive.</li>
+ *   <li><b>Entrainement</b> : au demarrage puis toutes les 6 h, sur les
+ *       {@code max-samples} echantillons les plus recents. Un cinquieme du corpus
+ *       (partition par empreinte du message) est reserve a l'evaluation hors ligne.</li>
+ *   <li><b>Activation</b> : le modele n'est publie que si le corpus est suffisant ET
+ *       si, sur le jeu de validation, l'accord avec le LLM sur les predictions
+ *       confiantes atteint {@code min-accuracy}. Sinon le modele precedent est retire :
+ *       tout passe par le LLM, comme avant.</li>
+ *   <li><b>Service</b> : prediction retenue seulement si sa probabilite depasse
+ *       {@code threshold} ; en-dessous, le LLM tranche. Une fraction
+ *       {@code audit-rate} des predictions confiantes passe quand meme par le LLM
+ *       (decision LLM servie, accord mesure) : le corpus continue de croitre et la
+ *       derive se lit dans {@value #AUDIT}.</li>
+ * </ul>
+ *
+ * <p>PAS de @SchedulerLock sur {@link #retrain()} ni {@link #flushLabels()} : le modele
+ * et le tampon sont des etats <b>in-memory par instance</b>, chaque instance entraine
+ * le sien (de l'ordre de la seconde pour 20 000 echantillons) et vide le sien.</p>
+ */
+@Component
+public class LocalIntentClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalIntentClassifier.class);
+
+    /** Compteur des audits LLM des predictions locales confiantes. Tag {@code agree} : true|false. */
+    public static final String AUDIT = "assistant.routing.local.audit";
+
+    private static final int EPOCHS = 8;
+    private static final double LEARNING_RATE = 0.5;
+    private static final long SEED = 42L;
+    private static final int HOLDOUT_EVERY = 5;
+    /** Tampon de journalisation : au-dela, les echantillons sont ecartes (corpus best-effort). */
+    static final int MAX_PENDING_LABELS = 1_000;
+
+    /** Prediction locale retenue (probabilite au-dessus du seuil). */
+    public record Prediction(Route route, double confidence) {}
+
+    private final RoutingSampleJdbcRepository sampleRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double threshold;
+    private final int minSamples;
+    private final int maxSamples;
+    private final double minAccuracy;
+    private final double auditRate;
+
+    private final ArrayBlockingQueue<RoutingSample> pendingLabels = new ArrayBlockingQueue<>(MAX_PENDING_LABELS);
+    private final AtomicReference<LocalIntentModel> model = new AtomicReference<>();
+    private volatile Evaluation lastEvaluation;
+
+    public LocalIntentClassifier(RoutingSampleJdbcRepository sampleRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${clenzy.assistant.routing.local.enabled:false}") boolean enabled,
+                                 @Value("${clenzy.assistant.routing.local.threshold:0.9}") double threshold,
+                                 @Value("${clenzy.assistant.routing.local.min-samples:500}") int minSamples,
+                                 @Value("${clenzy.assistant.routing.local.max-samples:20000}") int maxSamples,
+                                 @Value("${clenzy.assistant.routing.local.min-accuracy:0.95}") double minAccuracy,
+                                 @Value("${clenzy.assistant.routing.local.audit-rate:0.05}") double auditRate) {
+        this.sampleRepository = sampleRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.minSamples = minSamples;
+        this.maxSamples = maxSamples;
+        this.minAccuracy = minAccuracy;
+        this.auditRate = auditRate;
+        Gauge.builder("assistant.routing.local.holdout_accuracy", this,
+                        c -> c.lastEvaluation != null ? c.lastEvaluation.confidentAccuracy() : Double.NaN)
+                .description("Accord avec le routeur LLM des predictions locales confiantes (jeu de validation)")
+                .register(meterRegistry);
+        Gauge.builder("assistant.routing.local.holdout_coverage", this,
+                        c -> c.lastEvaluation != null ? c.lastEvaluation.coverage() : Double.NaN)
+                .description("Part des messages tranches localement (jeu de validation)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Route predite localement si le modele est actif et confiant ; vide sinon (le LLM
+     * tranche). Ne lance jamais d'exception.
+     */
+    public Optional<Prediction> predict(String message) {
+        LocalIntentModel current = model.get();
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        try {
+            LocalIntentModel.Scored scored = current.predict(IntentFeaturizer.features(message));
+            return scored.probability() >= threshold
+                    ? Optional.of(new Prediction(scored.route(), scored.probability()))
+                    : Optional.empty();
+        } catch (Exception e) {
+            log.warn("[ROUTING] Classification locale en echec ({}) → LLM", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Tirage de l'audit : la prediction confiante doit-elle quand meme passer par le LLM ? */
+    public boolean shouldAudit() {
+        return auditRate > 0 && ThreadLocalRandom.current().nextDouble() < auditRate;
+    }
+
+    /**
+     * Met en tampon une decision explicite du routeur LLM (classifieur active seulement).
+     * Sans I/O, ne lance jamais : tampon plein, l'echantillon est ecarte.
+     */
+    public void recordLabel(String message, Route route) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!pendingLabels.offer(new RoutingSample(route.name(), IntentFeaturizer.features(message)))) {
+                log.debug("[ROUTING] Tampon d'echantillons plein : echantillon ecarte");
+            }
+        } catch (Exception e) {
+            log.debug("[ROUTING] Echantillon de routage non journalise : {}", e.getMessage());
+        }
+    }
+
+    /** Ecrit le tampon d'echantillons en un seul batch. Echec : le lot est perdu (corpus best-effort). */
+    @Scheduled(fixedDelayString = "${clenzy.assistant.routing.local.flush-ms:10000}")
+    public void flushLabels() {
+        if (pendingLabels.isEmpty()) {
+            return;
+        }
+        List<RoutingSample> batch = new ArrayList<>(pendingLabels.size());
+        pendingLabels.drainTo(batch);
+        try {
+            sampleRepository.insertAll(IntentFeaturizer.VERSION, batch);
+        } catch (Exception e) {
+            log.warn("[ROUTING] {} echantillons de routage non journalises : {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushLabels();
+    }
+
+    /** Nombre d'echantillons en attente de flush (tests). */
+    int pendingLabelCount() {
+        return pendingLabels.size();
+    }
+
+    /** Accord entre la prediction locale auditee et la decision du LLM. */
+    public void recordAudit(Route local, Route llm) {
+        meterRegistry.counter(AUDIT, "agree", String.valueOf(local == llm)).increment();
+        if (local != llm) {
+            log.debug("[ROUTING] Audit : local={} llm={}", local, llm);
+        }
+    }
+
+    /** Derniere evaluation hors ligne (vide tant qu'aucun entrainement n'a abouti). */
+    public Optional<Evaluation> lastEvaluation() {
+        return Optional.ofNullable(lastEvaluation);
+    }
+
+    /**
+     * (Re)entraine le modele sur le corpus recent et ne le publie que s'il passe
+     * l'evaluation hors ligne.
+     */
+    @Scheduled(initialDelay = 2 * 60 * 1000L, fixedDelay = 6 * 60 * 60 * 1000L)
+    public void retrain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<RoutingSample> rows = sampleRepository.findLatest(IntentFeaturizer.VERSION, maxSamples);
+            if (rows.size() < minSamples) {
+                log.info("[ROUTING] Classifieur local inactif : {} echantillons (< {})", rows.size(), minSamples);
+                model.set(null);
+                return;
+            }
+            List<LabeledSample> train = new ArrayList<>(rows.size());
+            List<LabeledSample> holdout = new ArrayList<>(rows.size() / HOLDOUT_EVERY + 1);
+            for (RoutingSample row : rows) {
+                LabeledSample sample = new LabeledSample(row.features(), Route.valueOf(row.route()));
+                // Partition par empreinte, pas par rang : un meme message (doublons frequents :
+                // « bonjour », « merci ») tombe toujours du meme cote, l'evaluation ne mesure
+                // donc pas du par-coeur.
+                (Math.floorMod(Arrays.hashCode(row.features()), HOLDOUT_EVERY) == 0 ? holdout : train).add(sample);
+            }
+            LocalIntentModel candidate = LocalIntentModel.train(train, EPOCHS, LEARNING_RATE, SEED);
+            Evaluation evaluation = candidate.evaluate(train.size(), holdout, threshold);
+            lastEvaluation = evaluation;
+
+            boolean accepted = evaluation.confidentAccuracy() >= minAccuracy;
+            model.set(accepted ? candidate : null);
+            log.info("[ROUTING] Classifieur local {} : train={} holdout={} accord={} couverture={} "
+                            + "accord_confiant={} confusion[llm][local]={}",
+                    accepted ? "publie" : "rejete", evaluation.trainSize(), evaluation.holdoutSize(),
+                    percent(evaluation.accuracy()), percent(evaluation.coverage()),
+                    percent(evaluation.confidentAccuracy()), Arrays.deepToString(evaluation.confusion()));
+        } catch (Exception e) {
+            // Modele precedent conserve : il a passe sa propre evaluation.
+            log.error("[ROUTING] Entrainement du classifieur local en echec : {}", e.getMessage());
+        }
+    }
+
+    private static String percent(double ratio) {
+        return String.format(Locale.ROOT, "%.1f%%", ratio * 100);
+    }
+}
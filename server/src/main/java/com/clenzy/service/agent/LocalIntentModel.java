@@ -0,0 +1,144 @@
+package com.clenzy.service.agent;
+
+import com.clenzy.service.agent.IntentRouter.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Regression logistique multinomiale sur features binaires hashees
+ * ({@link IntentFeaturizer}) — un vecteur de poids par {@link Route}.
+ *
+ * <p>Inference : somme de quelques dizaines de poids par route puis softmax, quelques
+ * microsecondes sur CPU. Entrainement : SGD sur le corpus des decisions du routeur LLM,
+ * graine fixe (entrainement reproductible a corpus egal). Immuable une fois entraine :
+ * le classifieur publie un nouveau modele par reference atomique.</p>
+ */
+final class LocalIntentModel {
+
+    private static final Route[] ROUTES = Route.values();
+
+    private final float[][] weights;
+    private final float[] bias;
+
+    private LocalIntentModel(float[][] weights, float[] bias) {
+        this.weights = weights;
+        this.bias = bias;
+    }
+
+    /** Echantillon etiquete : empreinte d'un message + route decidee par le LLM. */
+    record LabeledSample(int[] features, Route route) {
+    }
+
+    /** Route la plus probable et sa probabilite. */
+    record Scored(Route route, double probability) {
+    }
+
+    /**
+     * Resultat de l'evaluation hors ligne sur un jeu de validation.
+     *
+     * @param accuracy          taux d'accord avec le LLM, toutes predictions confondues
+     * @param coverage          part des messages que le modele tranche seul (confiance >= seuil)
+     * @param confidentAccuracy taux d'accord sur cette part — la qualite reellement servie
+     * @param confusion         {@code confusion[llm][local]}, indexe par {@code Route.ordinal()}
+     */
+    record Evaluation(int trainSize, int holdoutSize, double accuracy, double coverage,
+                      double confidentAccuracy, int[][] confusion) {
+    }
+
+    static LocalIntentModel train(List<LabeledSample> samples, int epochs, double learningRate, long seed) {
+        float[][] weights = new float[ROUTES.length][IntentFeaturizer.DIMENSION];
+        float[] bias = new float[ROUTES.length];
+        LocalIntentModel model = new LocalIntentModel(weights, bias);
+
+        List<LabeledSample> order = new ArrayList<>(samples);
+        Random random = new Random(seed);
+        double[] probabilities = new double[ROUTES.length];
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            Collections.shuffle(order, random);
+            // Pas decroissant : convergence sans osciller en fin d'entrainement.
+            double rate = learningRate / (1 + epoch);
+            for (LabeledSample sample : order) {
+                int[] features = sample.features();
+                if (features.length == 0) {
+                    continue;
+                }
+                model.probabilities(features, probabilities);
+                // Features normalisees en 1/sqrt(n) : messages longs et courts au meme pas.
+                double scale = 1.0 / Math.sqrt(features.length);
+                for (int k = 0; k < ROUTES.length; k++) {
+                    double gradient = probabilities[k] - (sample.route().ordinal() == k ? 1.0 : 0.0);
+                    float step = (float) (rate * gradient);
+                    float featureStep = (float) (rate * gradient * scale);
+                    bias[k] -= step;
+                    for (int f : features) {
+                        weights[k][f] -= featureStep;
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    Scored predict(int[] features) {
+        double[] probabilities = new double[ROUTES.length];
+        probabilities(features, probabilities);
+        int best = 0;
+        for (int k = 1; k < ROUTES.length; k++) {
+            if (probabilities[k] > probabilities[best]) {
+                best = k;
+            }
+        }
+        return new Scored(ROUTES[best], probabilities[best]);
+    }
+
+    Evaluation evaluate(int trainSize, List<LabeledSample> holdout, double threshold) {
+        int[][] confusion = new int[ROUTES.length][ROUTES.length];
+        int correct = 0;
+        int confident = 0;
+        int confidentCorrect = 0;
+        for (LabeledSample sample : holdout) {
+            Scored scored = predict(sample.features());
+            boolean agrees = scored.route() == sample.route();
+            confusion[sample.route().ordinal()][scored.route().ordinal()]++;
+            if (agrees) {
+                correct++;
+            }
+            if (scored.probability() >= threshold) {
+                confident++;
+                if (agrees) {
+                    confidentCorrect++;
+                }
+            }
+        }
+        int size = holdout.size();
+        return new Evaluation(trainSize, size,
+                size == 0 ? 0 : (double) correct / size,
+                size == 0 ? 0 : (double) confident / size,
+                confident == 0 ? 0 : (double) confidentCorrect / confident,
+                confusion);
+    }
+
+    private void probabilities(int[] features, double[] out) {
+        double scale = features.length == 0 ? 0 : 1.0 / Math.sqrt(features.length);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < ROUTES.length; k++) {
+            double z = 0;
+            for (int f : features) {
+                z += weights[k][f];
+            }
+            out[k] = bias[k] + z * scale;
+            max = Math.max(max, out[k]);
+        }
+        double sum = 0;
+        for (int k = 0; k < ROUTES.length; k++) {
+            out[k] = Math.exp(out[k] - max);
+            sum += out[k];
+        }
+        for (int k = 0; k < ROUTES.length; k++) {
+            out[k] /= sum;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.clenzy.service.agent.kb;
+
+import com.clenzy.repository.KbChunkRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Index vectoriel EN MEMOIRE du corpus KB global (documents seedes, {@code organization_id
+ * NULL}), par langue. Le corpus global est partage par toutes les orgs et ne change qu'au
+ * seed/deploiement : le garder en RAM evite que chaque recherche assistant re-parcoure
+ * l'index ivfflat Postgres pour des chunks identiques d'une org a l'autre.
+ *
+ * <p><b>Structure</b> : vecteurs normalises (cosine = produit scalaire). Sous
+ * {@code ivf-min-size} chunks, scan exact (quelques milliers de vecteurs 1024d = ~1 ms).
+ * Au-dela, IVF : k-means a {@code sqrt(n)} centroides, la recherche ne visite que les
+ * {@code nprobe} listes les plus proches — meme principe que l'index ivfflat pgvector.</p>
+ *
+ * <p><b>Fraicheur</b> : un document global (re)ingere sur ce noeud ({@link KbDocumentChangedEvent})
+ * rend la langue concernee « perimee » → {@link #isReady(String)} renvoie false et
+ * {@link KbSearchService} retombe sur Postgres jusqu'a la reconstruction. Le rafraichissement
+ * periodique compare une signature legere (nombre de chunks, id max) par langue : un seed
+ * fait sur un AUTRE noeud est detecte au passage suivant.</p>
+ *
+ * <p>Qualite : le recall de l'IVF contre le scan exact est mesure sur le golden set par
+ * {@link KbRetrievalEvalService} ({@code EvalReport.indexRecall}).</p>
+ */
+@Component
+public class GlobalKbVectorIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalKbVectorIndex.class);
+    private static final int KMEANS_ITERATIONS = 10;
+
+    /** Chunk indexe : metadonnees restituees telles quelles par la recherche. */
+    record Entry(Long chunkId, Long documentId, String title, String sourcePath, String content) {}
+
+    /** Signature legere du corpus global d'une langue (detection de changement). */
+    record Signature(long count, long maxChunkId) {}
+
+    /** Index immuable d'une langue — remplace atomiquement a chaque reconstruction. */
+    record Snapshot(Signature signature, List<Entry> entries, float[][] vectors,
+                    float[][] centroids, int[][] lists) {
+        int size() { return entries.size(); }
+    }
+
+    /** Hit avec distance cosine pgvector ({@code 1 - cos}, dans [0, 2]). */
+    record ScoredEntry(Entry entry, double distance) {}
+
+    private final KbChunkRepository chunkRepository;
+    private final boolean enabled;
+    private final int ivfMinSize;
+    private final int nprobe;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicBoolean> stale = new ConcurrentHashMap<>();
+
+    public GlobalKbVectorIndex(KbChunkRepository chunkRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${clenzy.assistant.kb.global-index.enabled:true}") boolean enabled,
+                               @Value("${clenzy.assistant.kb.global-index.ivf-min-size:5000}") int ivfMinSize,
+                               @Value("${clenzy.assistant.kb.global-index.nprobe:8}") int nprobe) {
+        this.chunkRepository = chunkRepository;
+        this.enabled = enabled;
+        this.ivfMinSize = Math.max(1, ivfMinSize);
+        this.nprobe = Math.max(1, nprobe);
+        Gauge.builder("assistant.kb.global_index.chunks", snapshots,
+                        s -> s.values().stream().mapToInt(Snapshot::size).sum())
+                .register(meterRegistry);
+    }
+
+    /** True si l'index de cette langue est construit et a jour (sinon : passer par Postgres). */
+    public boolean isReady(String lang) {
+        if (!enabled || !snapshots.containsKey(lang)) return false;
+        AtomicBoolean flag = stale.get(lang);
+        return flag == null || !flag.get();
+    }
+
+    /** Un document global a change sur ce noeud : toutes les langues sont a reverifier. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentChanged(KbDocumentChangedEvent event) {
+        if (event.organizationId() != null) return;
+        snapshots.keySet().forEach(lang -> stale.computeIfAbsent(lang, l -> new AtomicBoolean()).set(true));
+    }
+
+    /**
+     * Reconstruit les langues dont la signature a change (ou marquees perimees).
+     * Chaque noeud maintient son propre index : pas de ShedLock.
+     */
+    @Scheduled(initialDelayString = "${clenzy.assistant.kb.global-index.initial-delay-ms:60000}",
+            fixedDelayString = "${clenzy.assistant.kb.global-index.refresh-ms:300000}")
+    public void refresh() {
+        if (!enabled) return;
+        try {
+            for (Object[] row : chunkRepository.globalEmbeddedSignatureByLang()) {
+                String lang = (String) row[0];
+                Signature signature = new Signature(((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue());
+                Snapshot current = snapshots.get(lang);
+                AtomicBoolean flag = stale.computeIfAbsent(lang, l -> new AtomicBoolean());
+                if (current != null && current.signature().equals(signature) && !flag.get()) {
+                    continue;
+                }
+                rebuild(lang, signature);
+                flag.set(false);
+            }
+        } catch (Exception e) {
+            log.warn("GlobalKbVectorIndex : rafraichissement echoue : {}", e.getMessage());
+        }
+    }
+
+    private void rebuild(String lang, Signature signature) {
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = chunkRepository.findGlobalEmbeddedChunks(lang);
+        List<Entry> entries = new ArrayList<>(rows.size());
+        List<float[]> vectors = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            float[] vector = normalize(parseVector((String) row[5]));
+            if (vector == null) continue;
+            entries.add(new Entry(((Number) row[0]).longValue(), ((Number) row[4]).longValue(),
+                    (String) row[3], (String) row[2], (String) row[1]));
+            vectors.add(vector);
+        }
+        snapshots.put(lang, build(signature, entries, vectors.toArray(new float[0][]), ivfMinSize));
+        log.info("GlobalKbVectorIndex : langue '{}' indexee ({} chunks, {} ms)",
+                lang, entries.size(), System.currentTimeMillis() - start);
+    }
+
+    /** Construit un snapshot : scan exact sous {@code ivfMinSize}, IVF au-dela. Package-private pour les tests. */
+    static Snapshot build(Signature signature, List<Entry> entries, float[][] vectors, int ivfMinSize) {
+        if (vectors.length < ivfMinSize) {
+            return new Snapshot(signature, List.copyOf(entries), vectors, null, null);
+        }
+        int k = Math.max(1, (int) Math.sqrt(vectors.length));
+        float[][] centroids = new float[k][];
+        // Init deterministe : points regulierement espaces (reproductible d'un noeud a l'autre)
+        for (int c = 0; c < k; c++) {
+            centroids[c] = vectors[(int) ((long) c * vectors.length / k)].clone();
+        }
+        int[] assignment = new int[vectors.length];
+        for (int iter = 0; iter < KMEANS_ITERATIONS; iter++) {
+            for (int i = 0; i < vectors.length; i++) {
+                assignment[i] = nearest(centroids, vectors[i]);
+            }
+            int dim = vectors[0].length;
+            float[][] sums = new float[k][dim];
+            for (int i = 0; i < vectors.length; i++) {
+                float[] sum = sums[assignment[i]];
+                float[] v = vectors[i];
+                for (int d = 0; d < dim; d++) sum[d] += v[d];
+            }
+            for (int c = 0; c < k; c++) {
+                float[] normalized = normalize(sums[c]);
+                if (normalized != null) centroids[c] = normalized; // liste vide : centroide conserve
+            }
+        }
+        List<List<Integer>> buckets = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) buckets.add(new ArrayList<>());
+        for (int i = 0; i < vectors.length; i++) {
+            buckets.get(nearest(centroids, vectors[i])).add(i);
+        }
+        int[][] lists = new int[k][];
+        for (int c = 0; c < k; c++) {
+            lists[c] = buckets.get(c).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new Snapshot(signature, List.copyOf(entries), vectors, centroids, lists);
+    }
+
+    /**
+     * Top-K approche (IVF) ou exact (petit corpus) pour une requete deja normalisee.
+     * Liste vide si la langue n'est pas indexee.
+     */
+    public List<KbSearchService.KbSearchHit> search(float[] normalizedQuery, String lang, int topK) {
+        Snapshot snapshot = snapshots.get(lang);
+        if (snapshot == null || normalizedQuery == null) return List.of();
+        return search(snapshot, normalizedQuery, topK, nprobe).stream()
+                .map(GlobalKbVectorIndex::toHit)
+                .toList();
+    }
+
+    /** Top-K exact (scan complet) — reference du calcul de recall. */
+    public List<KbSearchService.KbSearchHit> exactSearch(float[] normalizedQuery, String lang, int topK) {
+        Snapshot snapshot = snapshots.get(lang);
+        if (snapshot == null || normalizedQuery == null) return List.of();
+        return search(snapshot, normalizedQuery, topK, Integer.MAX_VALUE).stream()
+                .map(GlobalKbVectorIndex::toHit)
+                .toList();
+    }
+
+    static List<ScoredEntry> search(Snapshot snapshot, float[] query, int topK, int nprobe) {
+        if (snapshot.size() == 0 || topK <= 0) return List.of();
+        PriorityQueue<ScoredEntry> heap = new PriorityQueue<>(
+                Comparator.comparingDouble(ScoredEntry::distance).reversed());
+        if (snapshot.centroids() == null || nprobe >= snapshot.centroids().length) {
+            for (int i = 0; i < snapshot.size(); i++) offer(heap, snapshot, i, query, topK);
+        } else {
+            Integer[] order = new Integer[snapshot.centroids().length];
+            double[] scores = new double[order.length];
+            for (int c = 0; c < order.length; c++) {
+                order[c] = c;
+                scores[c] = dot(snapshot.centroids()[c], query);
+            }
+            java.util.Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            for (int p = 0; p < nprobe; p++) {
+                for (int i : snapshot.lists()[order[p]]) offer(heap, snapshot, i, query, topK);
+            }
+        }
+        List<ScoredEntry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(ScoredEntry::distance));
+        return result;
+    }
+
+    private static void offer(PriorityQueue<ScoredEntry> heap, Snapshot snapshot, int i,
+                              float[] query, int topK) {
+        double distance = 1.0 - dot(snapshot.vectors()[i], query);
+        if (heap.size() < topK) {
+            heap.add(new ScoredEntry(snapshot.entries().get(i), distance));
+        } else if (distance < heap.peek().distance()) {
+            heap.poll();
+            heap.add(new ScoredEntry(snapshot.entries().get(i), distance));
+        }
+    }
+
+    /** Meme conversion distance → relevance que les native queries ({@code 1 - d/2}). */
+    private static KbSearchService.KbSearchHit toHit(ScoredEntry scored) {
+        double relevance = Math.max(0.0, Math.min(1.0, 1.0 - scored.distance() / 2.0));
+        Entry e = scored.entry();
+        return new KbSearchService.KbSearchHit(e.chunkId(), e.documentId(), e.title(), e.sourcePath(),
+                e.content(), BigDecimal.valueOf(relevance).setScale(3, RoundingMode.HALF_UP).doubleValue());
+    }
+
+    private static int nearest(float[][] centroids, float[] v) {
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < centroids.length; c++) {
+            double score = dot(centroids[c], v);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    static double dot(float[] a, float[] b) {
+        int n = Math.min(a.length, b.length);
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += a[i] * b[i];
+        return sum;
+    }
+
+    /** Copie normalisee (norme L2 = 1) ; {@code null} si vecteur nul/vide. */
+    static float[] normalize(float[] v) {
+        if (v == null || v.length == 0) return null;
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        if (norm == 0) return null;
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        float[] out = new float[v.length];
+        for (int i = 0; i < v.length; i++) out[i] = v[i] * inv;
+        return out;
+    }
+
+    /** Parse la representation texte pgvector {@code "[0.1,0.2,...]"} ; {@code null} si illisible. */
+    static float[] parseVector(String text) {
+        if (text == null) return null;
+        String body = text.trim();
+        if (body.startsWith("[")) body = body.substring(1);
+        if (body.endsWith("]")) body = body.substring(0, body.length() - 1);
+        if (body.isBlank()) return null;
+        String[] parts = body.split(",");
+        float[] v = new float[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) v[i] = Float.parseFloat(parts[i].trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return v;
+    }
+
+    /** Nombre de chunks indexes par langue (ecran admin / tests). */
+    public Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new HashMap<>();
+        snapshots.forEach((lang, s) -> sizes.put(lang, s.size()));
+        return sizes;
+    }
+}
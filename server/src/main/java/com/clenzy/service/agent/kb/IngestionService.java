@@ -4,8 +4,10 @@ import com.clenzy.model.KbChunk;
 import com.clenzy.model.KbDocument;
 import com.clenzy.repository.KbChunkRepository;
 import com.clenzy.repository.KbDocumentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -15,8 +17,14 @@ import org.springframework.transaction.support.TransactionTemplate;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,7 +47,10 @@ import java.util.regex.Pattern;
  * mais rattrape par le job de re-embedding.</p>
  *
  * <p>Idempotence : si un document existe deja pour ce {@code (sourcePath, orgId)},
- * on supprime tous ses chunks et on les recree. {@link #CHUNKER_VERSION} est stampee
+ * son jeu de chunks est remplace dans une seule transaction. <b>Incremental</b> :
+ * chaque chunk est identifie par le SHA-256 de son contenu ; les chunks inchanges
+ * reprennent leur embedding existant et seuls les nouveaux/modifies partent en
+ * batch au provider (metrique {@value #EMBEDDINGS_METRIC}, tag {@code outcome}). {@link #CHUNKER_VERSION} est stampee
  * sur le doc : les documents decoupes avec un ancien algorithme sont re-ingeres par
  * {@link #reingestOutdatedDocuments(int)} meme a contenu identique.</p>
  */
@@ -59,19 +70,27 @@ public class IngestionService {
     public static final int CHUNKER_VERSION = 2;
     private static final Pattern H1_PATTERN = Pattern.compile("(?m)^#\\s+(.+)$");
     private static final Pattern H2_SPLIT = Pattern.compile("(?m)^##\\s+");
+    /** Embeddings de chunks a l'ingestion, par {@code outcome} : computed / reused / failed. */
+    static final String EMBEDDINGS_METRIC = "assistant.kb.ingestion.embeddings";
 
     private final KbDocumentRepository documentRepository;
     private final KbChunkRepository chunkRepository;
     private final EmbeddingService embeddingService;
     private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public IngestionService(KbDocumentRepository documentRepository,
                               KbChunkRepository chunkRepository,
                               EmbeddingService embeddingService,
-                              PlatformTransactionManager transactionManager) {
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher) {
         this.documentRepository = documentRepository;
         this.chunkRepository = chunkRepository;
         this.embeddingService = embeddingService;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
@@ -110,21 +129,61 @@ public class IngestionService {
 
         String title = extractTitle(content, sourcePath);
         List<String> sections = splitIntoChunks(content, title);
-        log.info("Ingestion '{}' : {} chunks a indexer", sourcePath, sections.size());
+        List<String> hashes = sections.stream().map(IngestionService::contentHash).toList();
+
+        // Diff par hash de contenu contre les chunks actuels du document : un chunk
+        // inchange reprend son embedding, seuls les nouveaux/modifies sont embeddes.
+        KbDocument existingDoc = documentRepository.findBySourcePathAndOrg(sourcePath, organizationId)
+                .orElse(null);
+        List<KbChunk> existingChunks = existingDoc == null || existingDoc.getId() == null
+                ? List.of()
+                : chunkRepository.findByDocumentIdOrderByChunkIdxAsc(existingDoc.getId());
+        Map<String, String> reusableVectors = new HashMap<>();
+        for (KbChunk c : existingChunks) {
+            if (c.getEmbedding() != null) {
+                reusableVectors.putIfAbsent(hashOf(c), c.getEmbedding());
+            }
+        }
+
+        // Textes a embedder : un seul exemplaire par hash absent de l'existant.
+        Map<String, String> toEmbed = new LinkedHashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            if (!reusableVectors.containsKey(hashes.get(i))) {
+                toEmbed.putIfAbsent(hashes.get(i), sections.get(i));
+            }
+        }
+        log.info("Ingestion '{}' : {} chunks ({} a embedder, {} repris)",
+                sourcePath, sections.size(), toEmbed.size(), sections.size() - toEmbed.size());
 
         // Embeddings en batch, HORS transaction (appel HTTP potentiellement long).
-        List<String> vectorStrings;
-        try {
-            vectorStrings = embeddingService.embedBatchAsVectorStrings(sections);
-        } catch (Exception e) {
-            log.warn("Embedding batch failed for '{}' : {}. Chunks persistes sans embedding.",
-                    sourcePath, e.getMessage());
-            vectorStrings = null;
+        Map<String, String> vectorsByHash = new HashMap<>(reusableVectors);
+        if (!toEmbed.isEmpty()) {
+            try {
+                List<String> computed = embeddingService.embedBatchAsVectorStrings(
+                        new ArrayList<>(toEmbed.values()));
+                List<String> pending = new ArrayList<>(toEmbed.keySet());
+                for (int i = 0; i < pending.size() && i < computed.size(); i++) {
+                    vectorsByHash.put(pending.get(i), computed.get(i));
+                }
+                meterRegistry.counter(EMBEDDINGS_METRIC, "outcome", "computed").increment(computed.size());
+            } catch (Exception e) {
+                log.warn("Embedding batch failed for '{}' : {}. Chunks persistes sans embedding.",
+                        sourcePath, e.getMessage());
+                meterRegistry.counter(EMBEDDINGS_METRIC, "outcome", "failed").increment(toEmbed.size());
+            }
+        }
+        int reused = 0;
+        for (String hash : hashes) {
+            if (reusableVectors.containsKey(hash)) reused++;
         }
-        final List<String> vectors = vectorStrings;
+        meterRegistry.counter(EMBEDDINGS_METRIC, "outcome", "reused").increment(reused);
 
-        // Persistance doc + chunks dans une transaction courte.
-        return transactionTemplate.execute(status -> {
+        boolean chunksUnchanged = existingDoc != null
+                && isSameChunkSet(existingChunks, hashes, existingDoc.getLang(), lang);
+
+        // Persistance doc + chunks dans une transaction courte : le remplacement du
+        // jeu de chunks est atomique, la recherche voit l'ancien jeu jusqu'au commit.
+        KbDocument saved = transactionTemplate.execute(status -> {
             KbDocument doc = documentRepository.findBySourcePathAndOrg(sourcePath, organizationId)
                     .orElseGet(() -> new KbDocument(sourcePath, title, content, lang, organizationId));
             doc.setTitle(title);
@@ -134,20 +193,66 @@ public class IngestionService {
             doc.setChunkerVersion(CHUNKER_VERSION);
             doc = documentRepository.save(doc);
 
+            // Meme sequence de chunks, tous embeddes : rien a reecrire.
+            if (chunksUnchanged) {
+                return doc;
+            }
+
             // Re-ingest : on supprime les chunks existants et on les regenere
             chunkRepository.deleteByDocumentId(doc.getId());
 
             for (int i = 0; i < sections.size(); i++) {
                 String text = sections.get(i);
-                String vec = vectors != null && i < vectors.size() ? vectors.get(i) : null;
+                String vec = vectorsByHash.get(hashes.get(i));
                 int estimatedTokens = Math.max(1, text.length() / 4);
                 KbChunk chunk = new KbChunk(doc.getId(), i, text, vec, estimatedTokens);
+                chunk.setContentHash(hashes.get(i));
                 // La langue pilote la config full-text de la tsvector generee.
                 chunk.setLang(doc.getLang());
                 chunkRepository.save(chunk);
             }
             return doc;
         });
+        // Apres commit : invalide le cache de recherche (et l'index global si doc global).
+        if (!chunksUnchanged) {
+            eventPublisher.publishEvent(new KbDocumentChangedEvent(organizationId));
+        }
+        return saved;
+    }
+
+    /**
+     * True si les chunks actuels sont exactement la nouvelle sequence (memes hashes,
+     * meme ordre), tous embeddes et dans la bonne langue — cas typique d'un bump de
+     * {@link #CHUNKER_VERSION} sans effet sur ce document.
+     */
+    private static boolean isSameChunkSet(List<KbChunk> existing, List<String> hashes,
+                                          String currentLang, String newLang) {
+        if (existing.size() != hashes.size()) return false;
+        if (newLang != null && !newLang.equals(currentLang)) return false;
+        for (int i = 0; i < existing.size(); i++) {
+            KbChunk c = existing.get(i);
+            if (c.getEmbedding() == null || c.getChunkIdx() != i || !hashes.get(i).equals(hashOf(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Hash stocke, ou recalcule pour les chunks anterieurs a la colonne. */
+    private static String hashOf(KbChunk chunk) {
+        return chunk.getContentHash() != null ? chunk.getContentHash() : contentHash(chunk.getContent());
+    }
+
+    /** SHA-256 hex du contenu d'un chunk (meme calcul que le backfill SQL 0412). */
+    static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(
+                    digest.digest(text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 est garanti par la JVM
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
     }
 
     /**
@@ -355,5 +460,6 @@ public class IngestionService {
             throw new SecurityException("Ce document appartient a une autre organisation");
         }
         documentRepository.delete(doc);
+        eventPublisher.publishEvent(new KbDocumentChangedEvent(doc.getOrganizationId()));
     }
 }
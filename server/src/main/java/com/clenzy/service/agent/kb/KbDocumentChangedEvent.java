@@ -0,0 +1,10 @@
+package com.clenzy.service.agent.kb;
+
+/**
+ * Événement applicatif émis par {@link IngestionService} après (re)ingestion ou
+ * suppression d'un document de la knowledge base, une fois la transaction committée.
+ * {@code organizationId == null} = document global (corpus seedé partagé par toutes
+ * les orgs). Consommé par {@link KbSearchResultCache} (invalidation des résultats)
+ * et {@link GlobalKbVectorIndex} (reconstruction de l'index en mémoire).
+ */
+public record KbDocumentChangedEvent(Long organizationId) {}
@@ -25,6 +25,11 @@ import java.util.concurrent.atomic.AtomicReference;
  *
  * <p>Le golden set cible les documents globaux fr ({@code baitly/fr/...}) :
  * l'evaluation tourne en scope global ({@code orgId = null}), langue fr.</p>
+ *
+ * <p>Mesure aussi le recall de l'index global en memoire ({@link GlobalKbVectorIndex}) :
+ * pour chaque question, part des chunks du top-{@value #TOP_K} exact (scan complet)
+ * retrouves par la recherche approchee. Aucun appel supplementaire : l'embedding de la
+ * question sort du cache Redis rempli par la recherche.</p>
  */
 @Service
 public class KbRetrievalEvalService {
@@ -37,6 +42,7 @@ public class KbRetrievalEvalService {
     private final EmbeddingService embeddingService;
     private final VoyageRateThrottle rateThrottle;
     private final ObjectMapper objectMapper;
+    private final GlobalKbVectorIndex globalIndex;
 
     /** Un seul run a la fois : l'eval consomme de l'API, pas de runs paralleles. */
     private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
@@ -50,19 +56,25 @@ public class KbRetrievalEvalService {
     public KbRetrievalEvalService(KbSearchService kbSearchService,
                                     EmbeddingService embeddingService,
                                     VoyageRateThrottle rateThrottle,
-                                    ObjectMapper objectMapper) {
+                                    ObjectMapper objectMapper,
+                                    GlobalKbVectorIndex globalIndex) {
         this.kbSearchService = kbSearchService;
         this.embeddingService = embeddingService;
         this.rateThrottle = rateThrottle;
         this.objectMapper = objectMapper;
+        this.globalIndex = globalIndex;
     }
 
     /** Question du golden set : rang du doc attendu dans le topK (-1 = absent). */
     public record EvalEntry(String question, String expected, int rank, List<String> retrieved) {}
 
-    /** Rapport d'evaluation : recall@{@value #TOP_K}, MRR et detail par question. */
+    /**
+     * Rapport d'evaluation : recall@{@value #TOP_K}, MRR et detail par question.
+     * {@code indexRecall} = recall de l'index global en memoire contre le scan exact
+     * (-1 si l'index fr n'est pas construit).
+     */
     public record EvalReport(double recallAtK, double mrr, int total, int hits,
-                               List<EvalEntry> entries) {}
+                               List<EvalEntry> entries, double indexRecall) {}
 
     /** Etat du run asynchrone, polle par l'ecran admin. */
     public record EvalStatus(State state, int done, int total, EvalReport report, String error) {
@@ -130,8 +142,13 @@ public class KbRetrievalEvalService {
 
     private EvalReport runEval(List<GoldenEntry> golden) {
         List<EvalEntry> entries = new ArrayList<>(golden.size());
+        int indexExpected = 0;
+        int indexFound = 0;
         for (GoldenEntry entry : golden) {
             entries.add(evaluateQuestion(entry));
+            int[] overlap = indexOverlap(entry.question());
+            indexFound += overlap[0];
+            indexExpected += overlap[1];
             currentStatus.getAndUpdate(s -> s.state() == EvalStatus.State.RUNNING
                     ? EvalStatus.running(entries.size(), golden.size()) : s);
         }
@@ -142,11 +159,37 @@ public class KbRetrievalEvalService {
                 .mapToDouble(e -> e.rank() >= 0 ? 1.0 / (e.rank() + 1) : 0.0)
                 .average().orElse(0.0);
 
-        log.info("KbRetrievalEval : recall@{}={} ({} sur {}), MRR={}",
+        double indexRecall = indexExpected == 0 ? -1.0 : (double) indexFound / indexExpected;
+
+        log.info("KbRetrievalEval : recall@{}={} ({} sur {}), MRR={}, recall index global={}",
                 TOP_K, String.format(java.util.Locale.ROOT, "%.2f", recall),
                 hits, entries.size(),
-                String.format(java.util.Locale.ROOT, "%.3f", mrr));
-        return new EvalReport(recall, mrr, entries.size(), hits, entries);
+                String.format(java.util.Locale.ROOT, "%.3f", mrr),
+                String.format(java.util.Locale.ROOT, "%.2f", indexRecall));
+        return new EvalReport(recall, mrr, entries.size(), hits, entries, indexRecall);
+    }
+
+    /**
+     * {@code [trouves, attendus]} : chunks du top-K exact de l'index global fr
+     * retrouves par la recherche approchee. {@code [0, 0]} si l'index n'est pas pret
+     * ou si l'embedding de la question echoue.
+     */
+    private int[] indexOverlap(String question) {
+        if (!globalIndex.isReady("fr")) return new int[] {0, 0};
+        try {
+            float[] query = GlobalKbVectorIndex.normalize(GlobalKbVectorIndex.parseVector(
+                    embeddingService.embedQueryAsVectorString(question)));
+            if (query == null) return new int[] {0, 0};
+            java.util.Set<Long> exact = new java.util.HashSet<>();
+            globalIndex.exactSearch(query, "fr", TOP_K).forEach(h -> exact.add(h.chunkId()));
+            long found = globalIndex.search(query, "fr", TOP_K).stream()
+                    .filter(h -> exact.contains(h.chunkId()))
+                    .count();
+            return new int[] {(int) found, exact.size()};
+        } catch (Exception e) {
+            log.debug("KbRetrievalEval : recall index ignore pour une question : {}", e.getMessage());
+            return new int[] {0, 0};
+        }
     }
 
     /**
@@ -0,0 +1,122 @@
+package com.clenzy.service.agent.kb;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cache des resultats de {@link KbSearchService#search} — cache Spring
+ * {@value #CACHE_NAME} (Caffeine L1 + Redis L2, invalidation cross-instance par
+ * le canal pub/sub existant, cf. {@code CacheConfig}).
+ *
+ * <p><b>Cle</b> : {@code (org, lang, topK, bucket)} ou le bucket est le SHA-256 de
+ * l'embedding de la requete <b>normalise puis quantifie</b> au centieme. Deux
+ * formulations quasi identiques (casse, espaces, ponctuation) produisent le meme
+ * vecteur arrondi et partagent l'entree ; l'embedding lui-meme vient deja du cache
+ * Redis d'{@link EmbeddingService}, un hit ne coute donc aucun appel provider ni
+ * aucune requete Postgres.</p>
+ *
+ * <p><b>Invalidation</b> : toute (re)ingestion ou suppression de document
+ * ({@link KbDocumentChangedEvent}) vide le cache — un doc global concerne toutes
+ * les orgs, et l'ingestion reste rare au regard du volume de recherches. Le TTL
+ * borne le reste (changement de config rerank, de seuil).</p>
+ *
+ * <p>Best-effort : une erreur cache (Redis indisponible) degrade en miss, la
+ * recherche n'echoue jamais a cause du cache.</p>
+ */
+@Component
+public class KbSearchResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(KbSearchResultCache.class);
+
+    static final String CACHE_NAME = "kb-search";
+    private static final String METRIC = "assistant.kb.search.cache";
+    /** Pas de quantification des composantes du vecteur normalise. */
+    private static final float QUANTUM = 100f;
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public KbSearchResultCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Cle de cache ; {@code null} si le vecteur n'est pas exploitable (pas de cache). */
+    static String key(Long organizationId, String lang, int topK, float[] normalizedQuery) {
+        if (normalizedQuery == null || normalizedQuery.length == 0) return null;
+        return (organizationId == null ? "global" : organizationId) + ":" + lang + ":" + topK
+                + ":" + bucket(normalizedQuery);
+    }
+
+    /** Hash du vecteur quantifie : identite « approximative » de la requete. */
+    static String bucket(float[] normalizedQuery) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[normalizedQuery.length * 2];
+            for (int i = 0; i < normalizedQuery.length; i++) {
+                short q = (short) Math.round(normalizedQuery[i] * QUANTUM);
+                buf[2 * i] = (byte) (q >> 8);
+                buf[2 * i + 1] = (byte) q;
+            }
+            return HexFormat.of().formatHex(digest.digest(buf));
+        } catch (Exception e) {
+            // SHA-256 est garanti par la JVM ; repli defensif quand meme
+            return Integer.toHexString(java.util.Arrays.hashCode(normalizedQuery));
+        }
+    }
+
+    /** Resultats caches pour cette cle, ou {@code null} (miss, cle nulle, cache indisponible). */
+    @SuppressWarnings("unchecked")
+    public List<KbSearchService.KbSearchHit> get(String key) {
+        if (key == null) return null;
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            Cache.ValueWrapper wrapper = cache == null ? null : cache.get(key);
+            if (wrapper != null && wrapper.get() instanceof List<?> hits) {
+                meterRegistry.counter(METRIC, "result", "hit").increment();
+                return (List<KbSearchService.KbSearchHit>) hits;
+            }
+        } catch (RuntimeException e) {
+            log.debug("KbSearchResultCache : lecture ignoree : {}", e.getMessage());
+        }
+        meterRegistry.counter(METRIC, "result", "miss").increment();
+        return null;
+    }
+
+    /** Memorise les resultats (liste mutable : requis pour le type id Jackson en L2). */
+    public void put(String key, List<KbSearchService.KbSearchHit> hits) {
+        if (key == null || hits == null) return;
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) cache.put(key, new ArrayList<>(hits));
+        } catch (RuntimeException e) {
+            log.debug("KbSearchResultCache : ecriture ignoree : {}", e.getMessage());
+        }
+    }
+
+    /** Vide le cache (L2 + L1 local + diffusion aux autres noeuds). */
+    public void invalidateAll() {
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) cache.clear();
+        } catch (RuntimeException e) {
+            log.warn("KbSearchResultCache : invalidation echouee : {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentChanged(KbDocumentChangedEvent event) {
+        invalidateAll();
+    }
+}
@@ -32,6 +32,11 @@ import java.util.Map;
  * resultats plus intuitifs (1 = identique, 0 = oppose). Les hits lexicaux
  * portent aussi cette relevance cosine (calculee en SQL) — la semantique du
  * score est homogene quel que soit le volet qui a trouve le chunk.</p>
+ *
+ * <p>Deux raccourcis evitent Postgres sur le chemin chaud : les resultats sont
+ * caches par {@link KbSearchResultCache} (invalide a chaque ingestion), et le volet
+ * vectoriel du corpus global est servi par {@link GlobalKbVectorIndex} quand il est
+ * a jour — seuls les documents propres de l'org restent interroges en pgvector.</p>
  */
 @Service
 public class KbSearchService {
@@ -61,6 +66,8 @@ public class KbSearchService {
     private final io.micrometer.core.instrument.MeterRegistry meterRegistry;
     private final TransactionTemplate readOnlyTransaction;
     private final int ivfflatProbes;
+    private final KbSearchResultCache resultCache;
+    private final GlobalKbVectorIndex globalIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -71,7 +78,9 @@ public class KbSearchService {
                             EmbeddingOrgQuota embeddingOrgQuota,
                             io.micrometer.core.instrument.MeterRegistry meterRegistry,
                             PlatformTransactionManager transactionManager,
-                            @Value("${clenzy.assistant.kb.ivfflat-probes:10}") int ivfflatProbes) {
+                            @Value("${clenzy.assistant.kb.ivfflat-probes:10}") int ivfflatProbes,
+                            KbSearchResultCache resultCache,
+                            GlobalKbVectorIndex globalIndex) {
         this.embeddingService = embeddingService;
         this.chunkRepository = chunkRepository;
         this.rerankService = rerankService;
@@ -80,6 +89,8 @@ public class KbSearchService {
         this.readOnlyTransaction = new TransactionTemplate(transactionManager);
         this.readOnlyTransaction.setReadOnly(true);
         this.ivfflatProbes = Math.max(1, Math.min(100, ivfflatProbes));
+        this.resultCache = resultCache;
+        this.globalIndex = globalIndex;
     }
 
     /** Seuil de relevance configure ({@code clenzy.ai.embeddings.relevance-threshold}). */
@@ -166,18 +177,22 @@ public class KbSearchService {
             return List.of();
         }
 
+        // Cache des resultats (cle = org/langue/topK + embedding quantifie) : une
+        // question deja posee ne touche ni Postgres ni le reranker.
+        final String qv = queryVector;
+        final float[] normalizedQuery = GlobalKbVectorIndex.normalize(GlobalKbVectorIndex.parseVector(qv));
+        final String cacheKey = KbSearchResultCache.key(organizationId, safeLang, safeTopK, normalizedQuery);
+        List<KbSearchHit> cached = resultCache.get(cacheKey);
+        if (cached != null) return cached;
+
         // Requetes SQL dans des transactions read-only courtes et INDEPENDANTES
         // (l'embed HTTP est deja fait ; une erreur SQL du volet lexical avorterait
         // sinon toute la transaction Postgres, resultats vectoriels compris).
-        final String qv = queryVector;
         List<KbSearchHit> vectorHits;
         try {
-            List<Object[]> rows = readOnlyTransaction.execute(status -> {
-                applyIvfflatProbes();
-                return chunkRepository.searchByCosineSimilarity(
-                        qv, organizationId, safeLang, fetchK);
-            });
-            vectorHits = parseRows(rows == null ? List.of() : rows);
+            vectorHits = globalIndex.isReady(safeLang) && normalizedQuery != null
+                    ? vectorSearchWithGlobalIndex(qv, normalizedQuery, organizationId, safeLang, fetchK)
+                    : vectorSearchInPostgres(qv, organizationId, safeLang, fetchK);
         } catch (Exception e) {
             log.warn("KbSearchService : recherche cosine echouee : {}", e.getMessage());
             return List.of();
@@ -211,10 +226,41 @@ public class KbSearchService {
 
         // Appliquer l'excerpt en derniere etape (pas avant le rerank pour ne pas
         // perdre du contexte).
-        return finalHits.stream()
+        List<KbSearchHit> result = finalHits.stream()
                 .map(h -> new KbSearchHit(h.chunkId(), h.documentId(), h.title(),
                         h.sourcePath(), excerpt(h.snippet()), h.relevance()))
                 .toList();
+        resultCache.put(cacheKey, result);
+        return result;
+    }
+
+    /** Volet vectoriel historique : globaux + org en une requete pgvector. */
+    private List<KbSearchHit> vectorSearchInPostgres(String qv, Long organizationId,
+                                                     String lang, int fetchK) {
+        List<Object[]> rows = readOnlyTransaction.execute(status -> {
+            applyIvfflatProbes();
+            return chunkRepository.searchByCosineSimilarity(qv, organizationId, lang, fetchK);
+        });
+        return parseRows(rows == null ? List.of() : rows);
+    }
+
+    /**
+     * Volet vectoriel avec le corpus global servi par {@link GlobalKbVectorIndex} :
+     * seuls les documents propres de l'org partent en Postgres (aucun en scope
+     * global), puis fusion par relevance cosine — meme ordre que la requete unique.
+     */
+    private List<KbSearchHit> vectorSearchWithGlobalIndex(String qv, float[] normalizedQuery,
+                                                          Long organizationId, String lang, int fetchK) {
+        List<KbSearchHit> globalHits = globalIndex.search(normalizedQuery, lang, fetchK);
+        if (organizationId == null) return globalHits;
+        List<Object[]> rows = readOnlyTransaction.execute(status -> {
+            applyIvfflatProbes();
+            return chunkRepository.searchOrgByCosineSimilarity(qv, organizationId, fetchK);
+        });
+        List<KbSearchHit> merged = new ArrayList<>(globalHits);
+        merged.addAll(parseRows(rows == null ? List.of() : rows));
+        merged.sort(java.util.Comparator.comparingDouble(KbSearchHit::relevance).reversed());
+        return merged.size() > fetchK ? merged.subList(0, fetchK) : merged;
     }
 
     /**
@@ -0,0 +1,267 @@
+package com.clenzy.service.agent.stream;
+
+import com.clenzy.service.agent.AgentSseEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Flux SSE d'un tour d'assistant : decouple le producteur (orchestrateur qui lit le
+ * stream amont du LLM) de l'ecrivain (socket du client), sur deux threads virtuels.
+ *
+ * <ul>
+ *   <li><b>Coalescence</b> : les {@code text_delta} (un par token amont) sont fusionnes
+ *       en frames sur un budget temps/taille ({@link Settings#maxDelay()},
+ *       {@link Settings#maxChars()}). La premiere frame texte part sans attendre
+ *       (time-to-first-token intact) ; les autres evenements (tools, done, error)
+ *       vident le texte en attente puis partent tels quels, ordre preserve.</li>
+ *   <li><b>Backpressure</b> : file bornee ({@link Settings#queueCapacity()}). Client
+ *       lent → l'ecrivain fusionne davantage par frame ; file pleine → le producteur
+ *       attend (et ralentit la lecture amont) au plus {@link Settings#stallTimeout()},
+ *       puis le client est abandonne (compte {@code slow}) au lieu de bufferiser sans
+ *       borne. Client deconnecte (IOException) → abandonne, evenements suivants ignores.</li>
+ *   <li><b>Metriques</b> par stream, tag {@code endpoint} : {@value #TTFT_TIMER},
+ *       {@value #TOKEN_RATE}, {@value #DELTAS_PER_FRAME}, {@value #CLIENTS_COUNTER}.</li>
+ * </ul>
+ *
+ * <p>Utilise comme {@code Consumer<AgentSseEvent>} de l'orchestrateur ; {@link #close()}
+ * vide la file et arrete l'ecrivain AVANT que l'appelant ne complete l'emetteur.
+ * Cree via {@link AgentStreamFactory#open}.</p>
+ */
+public final class AgentEventStream implements Consumer<AgentSseEvent>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentEventStream.class);
+
+    /** Delai ouverture du stream → premiere frame texte ecrite. Tag {@code endpoint}. */
+    public static final String TTFT_TIMER = "assistant.stream.ttft";
+    /** Deltas texte amont par seconde (≈ tokens/s), par stream. Tag {@code endpoint}. */
+    public static final String TOKEN_RATE = "assistant.stream.tokens.rate";
+    /** Deltas amont fusionnes par frame texte ecrite. Tag {@code endpoint}. */
+    public static final String DELTAS_PER_FRAME = "assistant.stream.deltas.per.frame";
+    /** Fin de stream. Tags {@code endpoint}, {@code outcome} : completed|slow|disconnected. */
+    public static final String CLIENTS_COUNTER = "assistant.stream.clients";
+
+    /** Ecriture d'une frame vers le client ; IOException = client parti. */
+    @FunctionalInterface
+    public interface FrameWriter {
+        void write(AgentSseEvent frame) throws IOException;
+    }
+
+    /**
+     * @param maxDelay      attente max d'une frame texte pour fusionner les deltas suivants
+     * @param maxChars      taille a partir de laquelle la frame texte part sans attendre
+     * @param queueCapacity evenements en attente d'ecriture au-dela desquels le producteur attend
+     * @param stallTimeout  attente max du producteur sur file pleine avant abandon du client
+     */
+    public record Settings(Duration maxDelay, int maxChars, int queueCapacity, Duration stallTimeout) {
+    }
+
+    private enum State { OPEN, CLOSED, ABANDONED }
+
+    private static final String TEXT_DELTA = "text_delta";
+
+    /** Marqueur de fin dans la file (compare par identite). */
+    private static final AgentSseEvent END = AgentSseEvent.done(null);
+
+    private final String endpoint;
+    private final FrameWriter writer;
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<AgentSseEvent> queue;
+    private final AtomicReference<State> state = new AtomicReference<>(State.OPEN);
+    private final long openedAt = System.nanoTime();
+    private final Thread writerThread;
+
+    // Cote producteur (lus apres join de l'ecrivain ou par le seul producteur).
+    private long textDeltas;
+    private long firstDeltaAt = -1;
+    private long lastDeltaAt = -1;
+
+    // Cote ecrivain.
+    private boolean firstTextWritten;
+
+    AgentEventStream(String endpoint, FrameWriter writer, Settings settings,
+                     MeterRegistry meterRegistry, Thread.Builder threadBuilder) {
+        this.endpoint = endpoint;
+        this.writer = writer;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity()));
+        this.writerThread = threadBuilder.start(this::drain);
+    }
+
+    /** Producteur : met l'evenement en file (bloque au plus {@code stallTimeout} si le client traine). */
+    @Override
+    public void accept(AgentSseEvent event) {
+        if (event == null || state.get() != State.OPEN) {
+            return;
+        }
+        if (isText(event)) {
+            if (event.delta() == null || event.delta().isEmpty()) {
+                return;
+            }
+            final long now = System.nanoTime();
+            if (firstDeltaAt < 0) {
+                firstDeltaAt = now;
+            }
+            lastDeltaAt = now;
+            textDeltas++;
+        }
+        enqueue(event);
+    }
+
+    /** Le client n'est plus joignable (timeout / erreur de l'emetteur). */
+    public void clientGone() {
+        abandon("disconnected");
+    }
+
+    /** Vrai tant que le client recoit les evenements. */
+    public boolean isOpen() {
+        return state.get() == State.OPEN;
+    }
+
+    /**
+     * Ecrit ce qui reste en file puis arrete l'ecrivain (attente bornee par
+     * {@code stallTimeout}). Idempotent ; publie les metriques du stream.
+     */
+    @Override
+    public void close() {
+        if (state.get() == State.OPEN) {
+            enqueue(END);
+        }
+        try {
+            writerThread.join(settings.stallTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            // Ecriture toujours bloquee sur la socket : le client ne lit plus.
+            abandon("slow");
+            writerThread.interrupt();
+        }
+        if (state.compareAndSet(State.OPEN, State.CLOSED)) {
+            count("completed");
+            recordTokenRate();
+        }
+    }
+
+    private void enqueue(AgentSseEvent event) {
+        try {
+            if (!queue.offer(event, settings.stallTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                abandon("slow");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon("disconnected");
+        }
+    }
+
+    private void abandon(String reason) {
+        if (state.compareAndSet(State.OPEN, State.ABANDONED)) {
+            queue.clear();
+            writerThread.interrupt();
+            count(reason);
+            log.debug("SSE {} : client abandonne ({}) apres {} delta(s)", endpoint, reason, textDeltas);
+        }
+    }
+
+    // ─── Ecrivain ─────────────────────────────────────────────────────────
+
+    private void drain() {
+        try {
+            AgentSseEvent next = queue.take();
+            while (next != END && state.get() == State.OPEN) {
+                if (isText(next)) {
+                    next = writeText(next);
+                } else {
+                    writer.write(next);
+                    next = queue.take();
+                }
+            }
+        } catch (IOException e) {
+            abandon("disconnected");
+        } catch (InterruptedException e) {
+            // close()/abandon() : fin de l'ecrivain.
+        } catch (RuntimeException e) {
+            // Emetteur deja complete (IllegalStateException) ou ecriture en echec.
+            log.debug("SSE {} : ecriture interrompue : {}", endpoint, e.getMessage());
+            abandon("disconnected");
+        }
+    }
+
+    /**
+     * Ecrit une frame texte fusionnant {@code first} et les deltas qui suivent dans le
+     * budget ; retourne le prochain evenement a traiter.
+     */
+    private AgentSseEvent writeText(AgentSseEvent first) throws IOException, InterruptedException {
+        final StringBuilder text = new StringBuilder(first.delta());
+        int merged = 1;
+        AgentSseEvent next = null;
+        if (firstTextWritten) {
+            final long deadline = System.nanoTime() + settings.maxDelay().toNanos();
+            while (text.length() < settings.maxChars()) {
+                final long remaining = deadline - System.nanoTime();
+                // Budget epuise : on prend encore ce qui est deja en file (client lent).
+                next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next == null || !isText(next)) {
+                    break;
+                }
+                text.append(next.delta());
+                merged++;
+                next = null;
+            }
+        }
+        writer.write(AgentSseEvent.textDelta(text.toString()));
+        if (!firstTextWritten) {
+            firstTextWritten = true;
+            Timer.builder(TTFT_TIMER)
+                    .description("Delai ouverture du stream assistant -> premiere frame texte")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - openedAt));
+        }
+        DistributionSummary.builder(DELTAS_PER_FRAME)
+                .description("Deltas texte amont fusionnes par frame SSE")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(merged);
+        return next != null ? next : queue.take();
+    }
+
+    private void recordTokenRate() {
+        if (textDeltas < 2 || lastDeltaAt <= firstDeltaAt) {
+            return;
+        }
+        final double seconds = (lastDeltaAt - firstDeltaAt) / 1_000_000_000d;
+        DistributionSummary.builder(TOKEN_RATE)
+                .description("Deltas texte amont par seconde (≈ tokens/s) d'un stream assistant")
+                .baseUnit("tokens/s")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(textDeltas / seconds);
+    }
+
+    private void count(String outcome) {
+        Counter.builder(CLIENTS_COUNTER)
+                .description("Fin des streams SSE assistant par issue (completed, slow, disconnected)")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static boolean isText(AgentSseEvent event) {
+        return event != END && TEXT_DELTA.equals(event.type());
+    }
+}
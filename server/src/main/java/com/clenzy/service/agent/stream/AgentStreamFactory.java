@@ -0,0 +1,106 @@
+package com.clenzy.service.agent.stream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Point d'entree des streams SSE de l'assistant ({@code /api/assistant}, {@code /api/agui}).
+ *
+ * <p>Tout tourne sur des threads virtuels : le tour d'agent ({@link #executor}) et
+ * l'ecrivain de chaque stream ({@link #open}). Un stream passe l'essentiel de son temps
+ * a attendre le LLM ou la socket du client, ce qui ne coute plus de thread OS.</p>
+ *
+ * <p><b>Admission</b> : le thread n'est plus la borne, mais chaque tour ouvre des appels
+ * LLM et du travail en base. Les tours en cours sont donc plafonnes, tous endpoints
+ * confondus ({@code clenzy.assistant.stream.max-concurrent}, 100 comme l'ancien pool).
+ * Au-dela, l'executeur rejette ({@link RejectedExecutionException}) : le controleur
+ * repond par une erreur SSE immediate plutot que d'empiler les tours, et
+ * {@value #REJECTED_COUNTER} compte les refus.</p>
+ */
+@Component
+public class AgentStreamFactory {
+
+    /** Tours refuses faute de place. Tag {@code endpoint}. */
+    public static final String REJECTED_COUNTER = "assistant.stream.rejected";
+    /** Tours d'agent en cours sur ce noeud. */
+    public static final String ACTIVE_GAUGE = "assistant.stream.active";
+    /** Message renvoye au client quand le plafond est atteint. */
+    public static final String SATURATED_MESSAGE =
+            "L'assistant est tres sollicite, reessayez dans quelques secondes.";
+
+    private final MeterRegistry meterRegistry;
+    private final AgentEventStream.Settings settings;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public AgentStreamFactory(MeterRegistry meterRegistry,
+                              @Value("${clenzy.assistant.stream.coalesce-millis:40}") long coalesceMillis,
+                              @Value("${clenzy.assistant.stream.max-frame-chars:1024}") int maxFrameChars,
+                              @Value("${clenzy.assistant.stream.queue-capacity:256}") int queueCapacity,
+                              @Value("${clenzy.assistant.stream.stall-timeout-seconds:30}") long stallTimeoutSeconds,
+                              @Value("${clenzy.assistant.stream.max-concurrent:100}") int maxConcurrent) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        Gauge.builder(ACTIVE_GAUGE, this, AgentStreamFactory::active)
+                .description("Tours d'agent en cours (streams SSE de l'assistant)")
+                .register(meterRegistry);
+        this.settings = new AgentEventStream.Settings(
+                Duration.ofMillis(Math.max(0, coalesceMillis)),
+                Math.max(1, maxFrameChars),
+                Math.max(1, queueCapacity),
+                Duration.ofSeconds(Math.max(1, stallTimeoutSeconds)));
+    }
+
+    /**
+     * Ouvre un stream vers {@code emitter} ; {@code writer} serialise une frame au format
+     * de l'endpoint. Timeout / erreur de l'emetteur → client abandonne.
+     */
+    public AgentEventStream open(String endpoint, SseEmitter emitter, AgentEventStream.FrameWriter writer) {
+        final AgentEventStream stream = new AgentEventStream(endpoint, writer, settings, meterRegistry,
+                Thread.ofVirtual().name(endpoint + "-sse-writer"));
+        emitter.onTimeout(stream::clientGone);
+        emitter.onError(e -> stream.clientGone());
+        return stream;
+    }
+
+    /**
+     * Executeur du tour d'agent : un thread virtuel par stream, dans la limite du
+     * plafond partage. Plafond atteint → {@link RejectedExecutionException}, sans
+     * attente : le thread appelant est un thread Tomcat.
+     */
+    public Executor executor(String endpoint) {
+        return task -> {
+            if (!permits.tryAcquire()) {
+                meterRegistry.counter(REJECTED_COUNTER, "endpoint", endpoint).increment();
+                throw new RejectedExecutionException(
+                        "Plafond de " + maxConcurrent + " tours d'agent simultanes atteint");
+            }
+            try {
+                Thread.ofVirtual().name(endpoint + "-sse").start(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        };
+    }
+
+    /** Tours d'agent en cours. */
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
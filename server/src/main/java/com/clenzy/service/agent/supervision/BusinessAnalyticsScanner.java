@@ -40,7 +40,7 @@ import java.util.Set;
  * scan LLM). Dédupliqué par intitulé → un scan répété ne spamme pas la file.</p>
  */
 @Service
-public class BusinessAnalyticsScanner {
+public class BusinessAnalyticsScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(BusinessAnalyticsScanner.class);
 
@@ -28,7 +28,7 @@ import java.util.Set;
  * <p>Zéro coût token. Dédup par intitulé stable (id de record). Best-effort.</p>
  */
 @Service
-public class CleaningPayoutScanner {
+public class CleaningPayoutScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(CleaningPayoutScanner.class);
     private static final String MODULE_OPS = "ops";
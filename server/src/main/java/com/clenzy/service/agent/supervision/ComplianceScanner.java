@@ -28,7 +28,7 @@ import java.util.Map;
  * <p>Zéro coût token. Dédup par intitulé stable (ids). Best-effort.</p>
  */
 @Service
-public class ComplianceScanner {
+public class ComplianceScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(ComplianceScanner.class);
     private static final String MODULE_CMP = "cmp";
@@ -0,0 +1,23 @@
+package com.clenzy.service.agent.supervision;
+
+/**
+ * Scanner DÉTERMINISTE de la constellation : règles sans LLM, zéro coût token,
+ * best-effort (ne lance jamais), évaluées par logement.
+ *
+ * <p>Les scanners sont exécutés en parallèle par {@link SupervisionScanRunner}
+ * contre un {@link SupervisionScanSnapshot} chargé une seule fois par logement.
+ * Un scanner qui n'exploite pas l'instantané garde son propre chargement
+ * ({@link #scanProperty(Long, Long)}) ; un scanner qui l'exploite surcharge
+ * {@link #scan(SupervisionScanSnapshot)} et ne doit JAMAIS modifier les entités
+ * partagées (lecture seule, partagées entre threads).</p>
+ */
+public interface DeterministicScanner {
+
+    /** Évalue les règles pour un logement, en chargeant lui-même ses données. */
+    void scanProperty(Long orgId, Long propertyId);
+
+    /** Évalue les règles à partir de l'instantané partagé du logement. */
+    default void scan(SupervisionScanSnapshot snapshot) {
+        scanProperty(snapshot.organizationId(), snapshot.propertyId());
+    }
+}
@@ -30,7 +30,7 @@ import java.util.List;
  * <p>Zéro coût token. Dédup par intitulé (ids). Best-effort par règle.</p>
  */
 @Service
-public class EscalationScanner {
+public class EscalationScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(EscalationScanner.class);
 
@@ -14,8 +14,10 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -35,7 +37,7 @@ import java.util.stream.Collectors;
  * (id de réservation). Best-effort par règle.</p>
  */
 @Service
-public class FinanceIncidentScanner {
+public class FinanceIncidentScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(FinanceIncidentScanner.class);
     private static final String MODULE_FIN = "fin";
@@ -77,31 +79,64 @@ public class FinanceIncidentScanner {
             final Map<Long, SecurityDeposit> heldByReservation = securityDepositRepository
                     .findHeldByReservationIds(departed.stream().map(Reservation::getId).toList())
                     .stream().collect(Collectors.toMap(SecurityDeposit::getReservationId, d -> d));
-
-            for (Reservation reservation : departed) {
-                scanStayIncident(orgId, propertyId, reservation);
-                final SecurityDeposit deposit = heldByReservation.get(reservation.getId());
-                if (deposit != null) {
-                    scanDepartureDamage(orgId, propertyId, reservation, deposit);
-                }
-            }
+            scanDepartures(orgId, propertyId, departed, heldByReservation, null);
         } catch (Exception e) {
             log.debug("finance incident scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
         }
     }
 
+    /** Mêmes règles, sur les départs, cautions et interventions de l'instantané partagé. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        try {
+            scanDepartures(snapshot.organizationId(), snapshot.propertyId(),
+                    snapshot.recentCheckouts(), snapshot.heldDeposits(), snapshot);
+        } catch (Exception e) {
+            log.debug("finance incident scan failed org={} property={}: {}",
+                    snapshot.organizationId(), snapshot.propertyId(), e.getMessage());
+        }
+    }
+
+    private void scanDepartures(Long orgId, Long propertyId, List<Reservation> departed,
+                                Map<Long, SecurityDeposit> heldByReservation,
+                                SupervisionScanSnapshot snapshot) {
+        for (Reservation reservation : departed) {
+            scanStayIncident(orgId, propertyId, reservation, snapshot);
+            final SecurityDeposit deposit = heldByReservation.get(reservation.getId());
+            if (deposit != null) {
+                scanDepartureDamage(orgId, propertyId, reservation, deposit, snapshot);
+            }
+        }
+    }
+
+    /**
+     * Interventions créées sur [from, to[ : lues dans l'instantané quand il couvre la
+     * fenêtre, sinon requêtées (scan hors instantané, ou long séjour antérieur à la fenêtre).
+     */
+    private List<Intervention> interventionsBetween(Long orgId, Long propertyId, LocalDateTime from,
+                                                    LocalDateTime to, SupervisionScanSnapshot snapshot) {
+        if (snapshot != null) {
+            final Optional<List<Intervention>> shared = snapshot.interventionsCreatedBetween(from, to);
+            if (shared.isPresent()) {
+                return shared.get();
+            }
+        }
+        return interventionRepository.findByPropertyAndCreatedBetween(propertyId, orgId, from, to);
+    }
+
     /** Incident pendant le séjour → geste commercial proposé (avant l'avis). */
-    private void scanStayIncident(Long orgId, Long propertyId, Reservation reservation) {
+    private void scanStayIncident(Long orgId, Long propertyId, Reservation reservation,
+                                  SupervisionScanSnapshot snapshot) {
         if (reservation.getCheckIn() == null || reservation.getCheckOut() == null
                 || reservation.getTotalPrice() == null
                 || reservation.getTotalPrice().compareTo(BigDecimal.ZERO) <= 0) {
             return;
         }
-        final List<Intervention> duringStay = interventionRepository.findByPropertyAndCreatedBetween(
-                propertyId, orgId,
+        final List<Intervention> duringStay = interventionsBetween(
+                orgId, propertyId,
                 reservation.getCheckIn().atStartOfDay(),
-                reservation.getCheckOut().atStartOfDay());
+                reservation.getCheckOut().atStartOfDay(), snapshot);
         final Intervention incident = duringStay.stream()
                 .filter(i -> i.getType() != null && i.getType().contains("MAINTENANCE"))
                 .findFirst().orElse(null);
@@ -124,15 +159,15 @@ public class FinanceIncidentScanner {
     }
 
     /** Dégât constaté au départ (caution encore HELD) → retenue proposée. */
-    private void scanDepartureDamage(Long orgId, Long propertyId,
-                                     Reservation reservation, SecurityDeposit deposit) {
+    private void scanDepartureDamage(Long orgId, Long propertyId, Reservation reservation,
+                                     SecurityDeposit deposit, SupervisionScanSnapshot snapshot) {
         if (reservation.getCheckOut() == null) {
             return;
         }
-        final List<Intervention> postCheckout = interventionRepository.findByPropertyAndCreatedBetween(
-                propertyId, orgId,
+        final List<Intervention> postCheckout = interventionsBetween(
+                orgId, propertyId,
                 reservation.getCheckOut().atStartOfDay(),
-                reservation.getCheckOut().atStartOfDay().plusHours(DAMAGE_WINDOW_HOURS));
+                reservation.getCheckOut().atStartOfDay().plusHours(DAMAGE_WINDOW_HOURS), snapshot);
         final Intervention damage = postCheckout.stream()
                 .filter(i -> cost(i) != null && cost(i).compareTo(BigDecimal.ZERO) > 0)
                 .findFirst().orElse(null);
@@ -28,7 +28,7 @@ import java.util.stream.Collectors;
  * serait du gaspillage LLM). Dédup par intitulé. Best-effort.</p>
  */
 @Service
-public class GrowthDistributionScanner {
+public class GrowthDistributionScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(GrowthDistributionScanner.class);
     private static final String MODULE_GRO = "gro";
@@ -41,7 +41,7 @@ import java.util.Set;
  * erreur est absorbee (jamais sur le chemin critique d'un scan).</p>
  */
 @Service
-public class GuestEmailMissingScanner {
+public class GuestEmailMissingScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(GuestEmailMissingScanner.class);
 
@@ -81,34 +81,47 @@ public class GuestEmailMissingScanner {
             // Le repository ne renvoie deja QUE des reservations non annulees dont le
             // checkOut >= aujourd'hui (borne large), avec le guest charge (LEFT JOIN FETCH).
             final LocalDate today = LocalDate.now(clock);
-            final List<Reservation> upcoming =
-                    reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId);
-
-            // Reservations qui justifient ENCORE la carte (check-in dans la fenetre + email manquant).
-            final Set<Long> stillMissing = new HashSet<>();
-            for (Reservation reservation : upcoming) {
-                if (withinWindow(reservation) && emailMissing(reservation)) {
-                    stillMissing.add(reservation.getId());
-                }
+            scanUpcoming(orgId, propertyId,
+                    reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId));
+        } catch (Exception e) {
+            log.debug("guest email scan failed org={} property={}: {}",
+                    orgId, propertyId, e.getMessage());
+        }
+    }
+
+    /** Meme regle, sur les reservations a venir de l'instantane partage. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        try {
+            scanUpcoming(snapshot.organizationId(), snapshot.propertyId(), snapshot.upcoming());
+        } catch (Exception e) {
+            log.debug("guest email scan failed org={} property={}: {}",
+                    snapshot.organizationId(), snapshot.propertyId(), e.getMessage());
+        }
+    }
+
+    private void scanUpcoming(Long orgId, Long propertyId, List<Reservation> upcoming) {
+        // Reservations qui justifient ENCORE la carte (check-in dans la fenetre + email manquant).
+        final Set<Long> stillMissing = new HashSet<>();
+        for (Reservation reservation : upcoming) {
+            if (withinWindow(reservation) && emailMissing(reservation)) {
+                stillMissing.add(reservation.getId());
             }
+        }
 
-            // Auto-resolution : ferme toute carte PENDING dont la reservation ne remplit
-            // plus la condition (email complete, annulee, ou check-in passe → hors fenetre).
-            for (SupervisionSuggestion card : suggestionService.findPendingByTool(orgId, propertyId, TOOL_NAME)) {
-                if (card.getReservationId() == null || !stillMissing.contains(card.getReservationId())) {
-                    suggestionService.dismiss(orgId, card.getId());
-                }
+        // Auto-resolution : ferme toute carte PENDING dont la reservation ne remplit
+        // plus la condition (email complete, annulee, ou check-in passe → hors fenetre).
+        for (SupervisionSuggestion card : suggestionService.findPendingByTool(orgId, propertyId, TOOL_NAME)) {
+            if (card.getReservationId() == null || !stillMissing.contains(card.getReservationId())) {
+                suggestionService.dismiss(orgId, card.getId());
             }
+        }
 
-            // Emission (dedup PENDING par intitule stable dans le service).
-            for (Reservation reservation : upcoming) {
-                if (stillMissing.contains(reservation.getId())) {
-                    emitMissingEmail(orgId, propertyId, reservation);
-                }
+        // Emission (dedup PENDING par intitule stable dans le service).
+        for (Reservation reservation : upcoming) {
+            if (stillMissing.contains(reservation.getId())) {
+                emitMissingEmail(orgId, propertyId, reservation);
             }
-        } catch (Exception e) {
-            log.debug("guest email scan failed org={} property={}: {}",
-                    orgId, propertyId, e.getMessage());
         }
     }
 
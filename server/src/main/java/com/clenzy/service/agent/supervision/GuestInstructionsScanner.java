@@ -33,7 +33,7 @@ import java.util.Locale;
  * Best-effort : toute erreur est absorbee (jamais sur le chemin critique d'un scan).</p>
  */
 @Service
-public class GuestInstructionsScanner {
+public class GuestInstructionsScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(GuestInstructionsScanner.class);
 
@@ -74,33 +74,46 @@ public class GuestInstructionsScanner {
             // triees checkIn ASC) : on isole ensuite celles dont le check-in tombe DEMAIN
             // dans la timezone de LA propriete (chaque reservation partage le meme logement).
             final LocalDate today = LocalDate.now(clock); // borne large pour le repository
-            final List<Reservation> upcoming =
-                    reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId);
-
-            for (Reservation reservation : upcoming) {
-                final ZoneId zone = resolveZone(reservation.getProperty());
-                final LocalDate tomorrow = LocalDate.now(clock.withZone(zone)).plusDays(1);
-                if (!tomorrow.equals(reservation.getCheckIn())) {
-                    continue; // check-in pas demain (dans la zone du logement)
-                }
-                if (hasInstructions(reservation.getId())) {
-                    continue; // livret / instructions deja transmis
-                }
-                // Constellation métiers Phase 2 : si un livret PUBLIÉ existe, la carte
-                // devient ACTIONNABLE (« Envoyer » = GUIDE_SEND, agent Voyageur) ; sans
-                // livret, on garde l'info « instructions manquantes » (agent Communication).
-                if (welcomeGuideService.hasPublishedGuideFor(reservation)) {
-                    emitGuideSend(orgId, propertyId, reservation, tomorrow);
-                } else {
-                    emitMissingInstructions(orgId, propertyId, reservation, tomorrow);
-                }
-            }
+            scanUpcoming(orgId, propertyId,
+                    reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId));
         } catch (Exception e) {
             log.debug("guest instructions scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
         }
     }
 
+    /** Meme regle, sur les reservations a venir de l'instantane partage. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        try {
+            scanUpcoming(snapshot.organizationId(), snapshot.propertyId(), snapshot.upcoming());
+        } catch (Exception e) {
+            log.debug("guest instructions scan failed org={} property={}: {}",
+                    snapshot.organizationId(), snapshot.propertyId(), e.getMessage());
+        }
+    }
+
+    private void scanUpcoming(Long orgId, Long propertyId, List<Reservation> upcoming) {
+        for (Reservation reservation : upcoming) {
+            final ZoneId zone = resolveZone(reservation.getProperty());
+            final LocalDate tomorrow = LocalDate.now(clock.withZone(zone)).plusDays(1);
+            if (!tomorrow.equals(reservation.getCheckIn())) {
+                continue; // check-in pas demain (dans la zone du logement)
+            }
+            if (hasInstructions(reservation.getId())) {
+                continue; // livret / instructions deja transmis
+            }
+            // Constellation métiers Phase 2 : si un livret PUBLIÉ existe, la carte
+            // devient ACTIONNABLE (« Envoyer » = GUIDE_SEND, agent Voyageur) ; sans
+            // livret, on garde l'info « instructions manquantes » (agent Communication).
+            if (welcomeGuideService.hasPublishedGuideFor(reservation)) {
+                emitGuideSend(orgId, propertyId, reservation, tomorrow);
+            } else {
+                emitMissingInstructions(orgId, propertyId, reservation, tomorrow);
+            }
+        }
+    }
+
     /**
      * {@code true} si un livret d'accueil a ete transmis au voyageur : au moins un
      * {@link com.clenzy.model.WelcomeGuideToken} existe pour la reservation (le token
@@ -33,7 +33,7 @@ import java.util.Map;
  * Best-effort : toute erreur est absorbee (jamais sur le chemin critique d'un scan).</p>
  */
 @Service
-public class GuestMessageFailedScanner {
+public class GuestMessageFailedScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(GuestMessageFailedScanner.class);
 
@@ -15,6 +15,7 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Règle de scan DÉTERMINISTE (agent Voyageur « gst », vague B) : fenêtres d'upsell
@@ -29,7 +30,7 @@ import java.util.List;
  * Dédup par intitulé (id de réservation). Best-effort.</p>
  */
 @Service
-public class GuestUpsellScanner {
+public class GuestUpsellScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(GuestUpsellScanner.class);
 
@@ -60,40 +61,55 @@ public class GuestUpsellScanner {
             return;
         }
         try {
-            final UpsellOffer earlyOffer = applicableOffer(orgId, propertyId, UpsellType.EARLY_CHECKIN);
-            final UpsellOffer lateOffer = applicableOffer(orgId, propertyId, UpsellType.LATE_CHECKOUT);
-            if (earlyOffer == null && lateOffer == null) {
-                return; // aucune offre active du bon type — rien à proposer
-            }
-            final LocalDate today = LocalDate.now(clock);
-            final List<Reservation> upcoming =
-                    reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId);
-
-            for (Reservation reservation : upcoming) {
-                if (PostStayReviewScanner.resolveGuestEmail(reservation) == null
-                        || !welcomeGuideService.hasPublishedGuideFor(reservation)) {
-                    continue; // pas de canal d'offre (email + livret requis)
-                }
-                final ZoneId zone = resolveZone(reservation.getProperty());
-                final LocalDate tomorrow = LocalDate.now(clock.withZone(zone)).plusDays(1);
-                if (earlyOffer != null && tomorrow.equals(reservation.getCheckIn())
-                        && !hasCheckoutOn(upcoming, reservation.getCheckIn())) {
-                    emit(orgId, propertyId, reservation, earlyOffer,
-                            "Early check-in proposable (réservation #" + reservation.getId() + ")",
-                            "arrive demain et le logement est libre la veille — l'arrivée anticipée");
-                }
-                if (lateOffer != null && tomorrow.equals(reservation.getCheckOut())
-                        && !hasCheckinOn(upcoming, reservation.getCheckOut())) {
-                    emit(orgId, propertyId, reservation, lateOffer,
-                            "Late checkout proposable (réservation #" + reservation.getId() + ")",
-                            "part demain et aucune arrivée n'est prévue ce jour-là — le départ tardif");
-                }
-            }
+            scanUpcoming(orgId, propertyId, () -> reservationRepository
+                    .findCurrentOrNextByPropertyId(propertyId, LocalDate.now(clock), orgId));
         } catch (Exception e) {
             log.debug("upsell scan failed org={} property={}: {}", orgId, propertyId, e.getMessage());
         }
     }
 
+    /** Même règle, sur les réservations à venir de l'instantané partagé. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        try {
+            scanUpcoming(snapshot.organizationId(), snapshot.propertyId(), snapshot::upcoming);
+        } catch (Exception e) {
+            log.debug("upsell scan failed org={} property={}: {}",
+                    snapshot.organizationId(), snapshot.propertyId(), e.getMessage());
+        }
+    }
+
+    /** Réservations chargées seulement si une offre applicable existe. */
+    private void scanUpcoming(Long orgId, Long propertyId, Supplier<List<Reservation>> reservations) {
+        final UpsellOffer earlyOffer = applicableOffer(orgId, propertyId, UpsellType.EARLY_CHECKIN);
+        final UpsellOffer lateOffer = applicableOffer(orgId, propertyId, UpsellType.LATE_CHECKOUT);
+        if (earlyOffer == null && lateOffer == null) {
+            return; // aucune offre active du bon type — rien à proposer
+        }
+        final List<Reservation> upcoming = reservations.get();
+
+        for (Reservation reservation : upcoming) {
+            if (PostStayReviewScanner.resolveGuestEmail(reservation) == null
+                    || !welcomeGuideService.hasPublishedGuideFor(reservation)) {
+                continue; // pas de canal d'offre (email + livret requis)
+            }
+            final ZoneId zone = resolveZone(reservation.getProperty());
+            final LocalDate tomorrow = LocalDate.now(clock.withZone(zone)).plusDays(1);
+            if (earlyOffer != null && tomorrow.equals(reservation.getCheckIn())
+                    && !hasCheckoutOn(upcoming, reservation.getCheckIn())) {
+                emit(orgId, propertyId, reservation, earlyOffer,
+                        "Early check-in proposable (réservation #" + reservation.getId() + ")",
+                        "arrive demain et le logement est libre la veille — l'arrivée anticipée");
+            }
+            if (lateOffer != null && tomorrow.equals(reservation.getCheckOut())
+                    && !hasCheckinOn(upcoming, reservation.getCheckOut())) {
+                emit(orgId, propertyId, reservation, lateOffer,
+                        "Late checkout proposable (réservation #" + reservation.getId() + ")",
+                        "part demain et aucune arrivée n'est prévue ce jour-là — le départ tardif");
+            }
+        }
+    }
+
     /** Première offre ACTIVE du type, applicable au logement (org-wide ou dédiée). */
     private UpsellOffer applicableOffer(Long orgId, Long propertyId, UpsellType type) {
         return upsellOfferRepository
@@ -28,7 +28,7 @@ import java.util.List;
  * est vérifiée ICI puis RE-vérifiée à l'apply.
  */
 @Component
-public class MessageIntentScanner {
+public class MessageIntentScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(MessageIntentScanner.class);
 
@@ -1,5 +1,6 @@
 package com.clenzy.service.agent.supervision;
 
+import com.clenzy.model.Intervention;
 import com.clenzy.model.Property;
 import com.clenzy.model.SmartLockDevice;
 import com.clenzy.repository.InterventionRepository;
@@ -14,6 +15,7 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Règles de scan DÉTERMINISTES maintenance (agent Opérations « ops », vague B) :
@@ -31,13 +33,15 @@ import java.util.Set;
  * <p>Zéro coût token. Dédup par intitulé + marqueurs d'épisode. Best-effort.</p>
  */
 @Service
-public class OpsMaintenanceScanner {
+public class OpsMaintenanceScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(OpsMaintenanceScanner.class);
     private static final String MODULE_OPS = "ops";
 
     static final int BATTERY_THRESHOLD = 20;
     static final int PREVENTIVE_MONTHS = 11;
+    /** Fenêtre des interventions examinées par les règles devis / mission / acompte. */
+    static final int RECENT_INTERVENTION_DAYS = 60;
     private static final Set<String> MAINTENANCE_TYPES = Set.of("MAINTENANCE", "PREVENTIVE_MAINTENANCE");
 
     private final SmartLockDeviceRepository smartLockDeviceRepository;
@@ -69,6 +73,24 @@ public class OpsMaintenanceScanner {
         if (orgId == null || propertyId == null) {
             return;
         }
+        final LocalDateTime now = LocalDateTime.now(clock);
+        scanAll(orgId, propertyId,
+                () -> propertyRepository.findById(propertyId).orElse(null),
+                once(() -> interventionRepository.findByPropertyAndCreatedBetween(
+                        propertyId, orgId, now.minusDays(RECENT_INTERVENTION_DAYS), now)));
+    }
+
+    /** Mêmes règles, sur le logement et les interventions récentes de l'instantané partagé. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        final LocalDateTime now = snapshot.loadedAt();
+        scanAll(snapshot.organizationId(), snapshot.propertyId(), snapshot::property,
+                () -> snapshot.interventionsCreatedBetween(now.minusDays(RECENT_INTERVENTION_DAYS), now)
+                        .orElseThrow());
+    }
+
+    private void scanAll(Long orgId, Long propertyId, Supplier<Property> property,
+                         Supplier<List<Intervention>> recentInterventions) {
         try {
             scanLockBatteries(orgId, propertyId);
         } catch (Exception e) {
@@ -76,13 +98,13 @@ public class OpsMaintenanceScanner {
                     orgId, propertyId, e.getMessage());
         }
         try {
-            scanPreventiveMaintenance(orgId, propertyId);
+            scanPreventiveMaintenance(orgId, propertyId, property.get());
         } catch (Exception e) {
             log.debug("preventive scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
         }
         try {
-            scanQuotesAwaitingApproval(orgId, propertyId);
+            scanQuotesAwaitingApproval(orgId, propertyId, recentInterventions.get());
         } catch (Exception e) {
             log.debug("quote scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
@@ -94,13 +116,13 @@ public class OpsMaintenanceScanner {
                     orgId, propertyId, e.getMessage());
         }
         try {
-            scanMissionsToConfirm(orgId, propertyId);
+            scanMissionsToConfirm(orgId, propertyId, recentInterventions.get());
         } catch (Exception e) {
             log.debug("mission confirmation scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
         }
         try {
-            scanDepositsToCollect(orgId, propertyId);
+            scanDepositsToCollect(orgId, propertyId, recentInterventions.get());
         } catch (Exception e) {
             log.debug("deposit scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
@@ -115,10 +137,8 @@ public class OpsMaintenanceScanner {
      * ressemble a une mission planifiee — jusqu'au jour ou personne ne vient.
      * La carte la remonte tant qu'elle reste sans reponse.</p>
      */
-    private void scanMissionsToConfirm(Long orgId, Long propertyId) {
-        final java.time.LocalDateTime now = java.time.LocalDateTime.now(clock);
-        for (com.clenzy.model.Intervention intervention : interventionRepository
-                .findByPropertyAndCreatedBetween(propertyId, orgId, now.minusDays(60), now)) {
+    private void scanMissionsToConfirm(Long orgId, Long propertyId, List<Intervention> recent) {
+        for (Intervention intervention : recent) {
             if (!com.clenzy.service.automation.CreateMaintenanceInterventionExecutor
                     .openStatuses().contains(intervention.getStatus())) {
                 continue;
@@ -146,10 +166,8 @@ public class OpsMaintenanceScanner {
      * <p>L'intervenant bloque sa date des l'acompte regle : tant qu'il ne l'est
      * pas, le chantier n'avance pas et rien ne le signalait cote gestion.</p>
      */
-    private void scanDepositsToCollect(Long orgId, Long propertyId) {
-        final java.time.LocalDateTime now = java.time.LocalDateTime.now(clock);
-        for (com.clenzy.model.Intervention intervention : interventionRepository
-                .findByPropertyAndCreatedBetween(propertyId, orgId, now.minusDays(60), now)) {
+    private void scanDepositsToCollect(Long orgId, Long propertyId, List<Intervention> recent) {
+        for (Intervention intervention : recent) {
             if (!com.clenzy.service.automation.CreateMaintenanceInterventionExecutor
                     .openStatuses().contains(intervention.getStatus())) {
                 continue;
@@ -214,10 +232,8 @@ public class OpsMaintenanceScanner {
      * devis (montant, dispo) dans le motif et peut passer par la fiche pour choisir
      * autrement. Dédup par intitulé (id d'intervention).
      */
-    private void scanQuotesAwaitingApproval(Long orgId, Long propertyId) {
-        final java.time.LocalDateTime now = java.time.LocalDateTime.now(clock);
-        for (com.clenzy.model.Intervention intervention : interventionRepository
-                .findByPropertyAndCreatedBetween(propertyId, orgId, now.minusDays(60), now)) {
+    private void scanQuotesAwaitingApproval(Long orgId, Long propertyId, List<Intervention> recent) {
+        for (Intervention intervention : recent) {
             if (!com.clenzy.service.automation.CreateMaintenanceInterventionExecutor
                     .openStatuses().contains(intervention.getStatus())) {
                 continue;
@@ -277,8 +293,7 @@ public class OpsMaintenanceScanner {
         }
     }
 
-    private void scanPreventiveMaintenance(Long orgId, Long propertyId) {
-        final Property property = propertyRepository.findById(propertyId).orElse(null);
+    private void scanPreventiveMaintenance(Long orgId, Long propertyId, Property property) {
         if (property == null || property.getOrganizationId() == null
                 || !property.getOrganizationId().equals(orgId)) {
             return;
@@ -309,4 +324,19 @@ public class OpsMaintenanceScanner {
                 SupervisionActionType.PREVENTIVE_MAINTENANCE,
                 "{}", null, "info");
     }
+
+    /** Chargement paresseux mémorisé : une requête pour les trois règles qui la partagent. */
+    private static <T> Supplier<T> once(Supplier<T> loader) {
+        return new Supplier<>() {
+            private T value;
+
+            @Override
+            public T get() {
+                if (value == null) {
+                    value = loader.get();
+                }
+                return value;
+            }
+        };
+    }
 }
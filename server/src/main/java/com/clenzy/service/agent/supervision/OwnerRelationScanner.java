@@ -31,7 +31,7 @@ import java.util.List;
  * <p>Zéro coût token. Dédup par intitulé (ids). Best-effort par règle.</p>
  */
 @Service
-public class OwnerRelationScanner {
+public class OwnerRelationScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(OwnerRelationScanner.class);
     private static final String MODULE_OWN = "own";
@@ -69,6 +69,16 @@ public class OwnerRelationScanner {
         if (orgId == null || propertyId == null) {
             return;
         }
+        scanAll(orgId, propertyId, null);
+    }
+
+    /** Mêmes règles ; l'accord travaux lit les interventions récentes de l'instantané partagé. */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        scanAll(snapshot.organizationId(), snapshot.propertyId(), snapshot);
+    }
+
+    private void scanAll(Long orgId, Long propertyId, SupervisionScanSnapshot snapshot) {
         try {
             scanPendingPayouts(orgId, propertyId);
         } catch (Exception e) {
@@ -76,7 +86,7 @@ public class OwnerRelationScanner {
                     orgId, propertyId, e.getMessage());
         }
         try {
-            scanWorksApproval(orgId, propertyId);
+            scanWorksApproval(orgId, propertyId, snapshot);
         } catch (Exception e) {
             log.debug("owner works scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
@@ -155,10 +165,12 @@ public class OwnerRelationScanner {
         }
     }
 
-    private void scanWorksApproval(Long orgId, Long propertyId) {
-        final LocalDateTime now = LocalDateTime.now(clock);
-        final List<Intervention> recent = interventionRepository.findByPropertyAndCreatedBetween(
-                propertyId, orgId, now.minusDays(WORKS_LOOKBACK_DAYS), now);
+    private void scanWorksApproval(Long orgId, Long propertyId, SupervisionScanSnapshot snapshot) {
+        final LocalDateTime now = snapshot != null ? snapshot.loadedAt() : LocalDateTime.now(clock);
+        final LocalDateTime from = now.minusDays(WORKS_LOOKBACK_DAYS);
+        final List<Intervention> recent = snapshot != null
+                ? snapshot.interventionsCreatedBetween(from, now).orElseThrow()
+                : interventionRepository.findByPropertyAndCreatedBetween(propertyId, orgId, from, now);
         for (Intervention intervention : recent) {
             final BigDecimal cost = intervention.getActualCost() != null
                     ? intervention.getActualCost() : intervention.getEstimatedCost();
@@ -28,7 +28,7 @@ import java.util.List;
  * Best-effort : toute erreur est absorbée (jamais sur le chemin critique d'un scan).</p>
  */
 @Service
-public class PostStayReviewScanner {
+public class PostStayReviewScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(PostStayReviewScanner.class);
 
@@ -59,29 +59,45 @@ public class PostStayReviewScanner {
             // Fenêtre large en zone système pour le repository, filtrage précis « départ
             // hier » dans la timezone de LA propriété ensuite (règle audit n°9).
             final LocalDate today = LocalDate.now(clock);
-            final List<Reservation> recent = reservationRepository
-                    .findRecentCheckoutsByPropertyId(propertyId, today.minusDays(2), today.plusDays(1), orgId);
-
-            for (Reservation reservation : recent) {
-                final ZoneId zone = resolveZone(reservation.getProperty());
-                final LocalDate yesterday = LocalDate.now(clock.withZone(zone)).minusDays(1);
-                if (!yesterday.equals(reservation.getCheckOut())) {
-                    continue; // pas un départ d'hier (dans la zone du logement)
-                }
-                if (resolveGuestEmail(reservation) == null) {
-                    continue; // aucun email résoluble → rien à proposer
-                }
-                if (!welcomeGuideService.hasPublishedGuideFor(reservation)) {
-                    continue; // pas de livret publié → pas de lien d'avis à offrir
-                }
-                emitReviewRequest(orgId, propertyId, reservation);
-            }
+            scanCheckouts(orgId, propertyId, reservationRepository
+                    .findRecentCheckoutsByPropertyId(propertyId, today.minusDays(2), today.plusDays(1), orgId));
         } catch (Exception e) {
             log.debug("post-stay review scan failed org={} property={}: {}",
                     orgId, propertyId, e.getMessage());
         }
     }
 
+    /**
+     * Même règle, sur les départs récents de l'instantané partagé (fenêtre plus large :
+     * le filtre « départ hier » ci-dessous écarte le surplus).
+     */
+    @Override
+    public void scan(SupervisionScanSnapshot snapshot) {
+        try {
+            scanCheckouts(snapshot.organizationId(), snapshot.propertyId(), snapshot.recentCheckouts());
+        } catch (Exception e) {
+            log.debug("post-stay review scan failed org={} property={}: {}",
+                    snapshot.organizationId(), snapshot.propertyId(), e.getMessage());
+        }
+    }
+
+    private void scanCheckouts(Long orgId, Long propertyId, List<Reservation> recent) {
+        for (Reservation reservation : recent) {
+            final ZoneId zone = resolveZone(reservation.getProperty());
+            final LocalDate yesterday = LocalDate.now(clock.withZone(zone)).minusDays(1);
+            if (!yesterday.equals(reservation.getCheckOut())) {
+                continue; // pas un départ d'hier (dans la zone du logement)
+            }
+            if (resolveGuestEmail(reservation) == null) {
+                continue; // aucun email résoluble → rien à proposer
+            }
+            if (!welcomeGuideService.hasPublishedGuideFor(reservation)) {
+                continue; // pas de livret publié → pas de lien d'avis à offrir
+            }
+            emitReviewRequest(orgId, propertyId, reservation);
+        }
+    }
+
     private void emitReviewRequest(Long orgId, Long propertyId, Reservation reservation) {
         final String guestName = reservation.getGuestName() != null
                 && !reservation.getGuestName().isBlank()
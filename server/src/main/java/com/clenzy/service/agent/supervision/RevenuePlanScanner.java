@@ -32,7 +32,7 @@ import java.util.List;
  * <p>Zéro coût token. Dédup par intitulé stable. Best-effort par règle.</p>
  */
 @Service
-public class RevenuePlanScanner {
+public class RevenuePlanScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(RevenuePlanScanner.class);
 
@@ -29,7 +29,7 @@ import java.util.Locale;
  * propriété ({@link Property#getTimezone()}, repli {@code Europe/Paris}).</p>
  */
 @Service
-public class ReviewModerationScanner {
+public class ReviewModerationScanner implements DeterministicScanner {
 
     private static final Logger log = LoggerFactory.getLogger(ReviewModerationScanner.class);
 
@@ -1542,7 +1542,7 @@ public class SuggestionActionExecutor {
             applied += applyAdjustOnRange(property, orgId, propertyId, from, to, percent, raise,
                     currency, auto, bookedNights, floor, ceiling);
         }
-        searchCacheInvalidator.onAvailabilityOrPriceChanged();
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
         log.info("PRICE_{} appliqué org={} property={} : {} segment(s), {} nuit(s){}",
                 raise ? "RAISE" : "DROP", orgId, propertyId, segments.size(), applied,
                 auto ? " [auto]" : "");
@@ -1684,7 +1684,7 @@ public class SuggestionActionExecutor {
             yieldAdjustmentRepository.save(journal);
             applied++;
         }
-        searchCacheInvalidator.onAvailabilityOrPriceChanged();
+        searchCacheInvalidator.onAvailabilityOrPriceChanged(orgId);
         log.info("YIELD_PRICE_ADJUST appliqué org={} property={} {}→{} {}% ({} nuit(s))",
                 orgId, propertyId, from, to, percent, applied);
     }
@@ -0,0 +1,207 @@
+package com.clenzy.service.agent.supervision;
+
+import com.clenzy.model.Reservation;
+import com.clenzy.model.SecurityDeposit;
+import com.clenzy.repository.InterventionRepository;
+import com.clenzy.repository.PropertyRepository;
+import com.clenzy.repository.ReservationRepository;
+import com.clenzy.repository.SecurityDepositRepository;
+import com.clenzy.tenant.TenantScopedExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Exécution scatter-gather des scanners déterministes d'un logement.
+ *
+ * <ol>
+ *   <li><b>Instantané</b> : réservations (à venir + départs récents), logement,
+ *       interventions récentes et cautions retenues chargés UNE fois
+ *       ({@link SupervisionScanSnapshot}) ;</li>
+ *   <li><b>Scatter</b> : chaque scanner tourne sur son propre thread virtuel, dans le
+ *       contexte tenant de l'org ({@link TenantScopedExecutor} : TenantContext + filtre
+ *       Hibernate par thread), au plus {@code clenzy.supervision.scan.parallelism}
+ *       à la fois (pool de connexions partagé avec le trafic HTTP) ;</li>
+ *   <li><b>Gather</b> : attente de tous les scanners, durée par scanner publiée
+ *       ({@value #SCANNER_TIMER}, tag {@code scanner}) et rendue dans le {@link Report}.</li>
+ * </ol>
+ *
+ * <p>Les suggestions restent écrites par chaque scanner via
+ * {@link SupervisionSuggestionService} : la déduplication (org, logement, module,
+ * intitulé, PENDING) y est déjà centralisée, et les intitulés des scanners sont
+ * disjoints — l'exécution concurrente ne crée donc pas de doublon.</p>
+ *
+ * <p>Best-effort comme les scanners : un scanner en échec est journalisé et compté,
+ * il n'interrompt jamais les autres. Si l'instantané ne peut pas être chargé, chaque
+ * scanner retombe sur son propre chargement ({@link DeterministicScanner#scanProperty}).</p>
+ */
+@Component
+public class SupervisionScanRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SupervisionScanRunner.class);
+
+    /** Durée d'un scanner déterministe. Tags {@code scanner}, {@code outcome} : ok|error. */
+    public static final String SCANNER_TIMER = "supervision.scanner.duration";
+
+    /** Durée par scanner d'un run, du plus lent au plus rapide. */
+    public record Report(Duration snapshotLoad, Duration total, Map<String, Duration> byScanner, int failures) {
+    }
+
+    private final List<DeterministicScanner> scanners;
+    private final ReservationRepository reservationRepository;
+    private final InterventionRepository interventionRepository;
+    private final SecurityDepositRepository securityDepositRepository;
+    private final PropertyRepository propertyRepository;
+    private final TenantScopedExecutor tenantScopedExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final int parallelism;
+
+    public SupervisionScanRunner(List<DeterministicScanner> scanners,
+                                 ReservationRepository reservationRepository,
+                                 InterventionRepository interventionRepository,
+                                 SecurityDepositRepository securityDepositRepository,
+                                 PropertyRepository propertyRepository,
+                                 TenantScopedExecutor tenantScopedExecutor,
+                                 MeterRegistry meterRegistry,
+                                 Clock clock,
+                                 @Value("${clenzy.supervision.scan.parallelism:4}") int parallelism) {
+        this.scanners = List.copyOf(scanners);
+        this.reservationRepository = reservationRepository;
+        this.interventionRepository = interventionRepository;
+        this.securityDepositRepository = securityDepositRepository;
+        this.propertyRepository = propertyRepository;
+        this.tenantScopedExecutor = tenantScopedExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Fait tourner tous les scanners déterministes sur un logement. Ne lance jamais. */
+    public Report run(Long orgId, Long propertyId) {
+        final long start = System.nanoTime();
+        final List<Timing> timings = new ArrayList<>(scanners.size());
+        final Semaphore permits = new Semaphore(parallelism);
+        Duration snapshotLoad;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Chargé sur son propre thread (EntityManager dédié, fermé en sortie) : les
+            // entités de l'instantané sont détachées et ne touchent jamais la Session de
+            // l'appelant, qui n'est pas thread-safe.
+            SupervisionScanSnapshot snapshot = null;
+            try {
+                snapshot = executor.submit(() -> tenantScopedExecutor.callAsOrganization(
+                        orgId, () -> loadSnapshot(orgId, propertyId))).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Report(Duration.ZERO, Duration.ofNanos(System.nanoTime() - start), Map.of(), 0);
+            } catch (Exception e) {
+                log.warn("Supervision snapshot failed org={} property={} → chargement par scanner : {}",
+                        orgId, propertyId, e.getMessage());
+            }
+            snapshotLoad = Duration.ofNanos(System.nanoTime() - start);
+
+            final SupervisionScanSnapshot shared = snapshot;
+            for (DeterministicScanner scanner : scanners) {
+                executor.submit(() -> {
+                    Timing timing = runOne(scanner, orgId, propertyId, shared, permits);
+                    synchronized (timings) {
+                        timings.add(timing);
+                    }
+                });
+            }
+        } // close() attend la fin de tous les scanners
+
+        final Duration total = Duration.ofNanos(System.nanoTime() - start);
+        final Map<String, Duration> byScanner = timings.stream()
+                .sorted(Comparator.comparing(Timing::duration).reversed())
+                .collect(Collectors.toMap(Timing::scanner, Timing::duration,
+                        (a, b) -> a, LinkedHashMap::new));
+        final int failures = (int) timings.stream().filter(Timing::failed).count();
+        log.debug("Supervision scanners property={} org={} → {} ms (instantané {} ms, {} échec(s)) {}",
+                propertyId, orgId, total.toMillis(), snapshotLoad.toMillis(), failures, byScanner);
+        return new Report(snapshotLoad, total, byScanner, failures);
+    }
+
+    private Timing runOne(DeterministicScanner scanner, Long orgId, Long propertyId,
+                          SupervisionScanSnapshot snapshot, Semaphore permits) {
+        final String name = ClassUtils.getUserClass(scanner).getSimpleName();
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            permits.acquire();
+            // Chronométré hors attente du permis : la durée est celle du scanner.
+            start = System.nanoTime();
+            try {
+                tenantScopedExecutor.runAsOrganization(orgId, () -> {
+                    if (snapshot != null) {
+                        scanner.scan(snapshot);
+                    } else {
+                        scanner.scanProperty(orgId, propertyId);
+                    }
+                });
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        } catch (Exception e) {
+            failed = true;
+            log.warn("Supervision scanner {} failed org={} property={}: {}",
+                    name, orgId, propertyId, e.getMessage());
+        }
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder(SCANNER_TIMER)
+                .description("Durée d'un scanner déterministe de la supervision (par logement)")
+                .tag("scanner", name)
+                .tag("outcome", failed ? "error" : "ok")
+                .register(meterRegistry)
+                .record(duration);
+        return new Timing(name, duration, failed);
+    }
+
+    /** Chargement unique des données partagées par les scanners (contexte tenant posé). */
+    SupervisionScanSnapshot loadSnapshot(Long orgId, Long propertyId) {
+        final LocalDate today = LocalDate.now(clock);
+        final LocalDateTime now = LocalDateTime.now(clock);
+        final List<Reservation> upcoming =
+                reservationRepository.findCurrentOrNextByPropertyId(propertyId, today, orgId);
+        final List<Reservation> recentCheckouts = reservationRepository.findRecentCheckoutsByPropertyId(
+                propertyId, today.minusDays(SupervisionScanSnapshot.CHECKOUT_LOOKBACK_DAYS),
+                today.plusDays(1), orgId);
+        final LocalDateTime interventionsFrom = now.minusDays(SupervisionScanSnapshot.INTERVENTION_LOOKBACK_DAYS);
+        final Map<Long, SecurityDeposit> heldDeposits = recentCheckouts.isEmpty()
+                ? Map.of()
+                : securityDepositRepository
+                        .findHeldByReservationIds(recentCheckouts.stream().map(Reservation::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(SecurityDeposit::getReservationId, d -> d, (a, b) -> a));
+        return new SupervisionScanSnapshot(orgId, propertyId, today, now,
+                propertyRepository.findById(propertyId).orElse(null),
+                upcoming, recentCheckouts, interventionsFrom,
+                interventionRepository.findWithAssigneeByPropertyAndCreatedBetween(
+                        propertyId, orgId, interventionsFrom, now),
+                heldDeposits);
+    }
+
+    private record Timing(String scanner, Duration duration, boolean failed) {
+    }
+}
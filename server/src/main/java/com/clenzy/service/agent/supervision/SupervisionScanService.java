@@ -47,22 +47,7 @@ public class SupervisionScanService {
     private final SupervisionActivityService activityService;
     private final SupervisionSuggestionService suggestionService;
     private final SupervisionModuleRegistry moduleRegistry;
-    private final BusinessAnalyticsScanner businessAnalyticsScanner;
-    private final ReviewModerationScanner reviewModerationScanner;
-    private final GuestInstructionsScanner guestInstructionsScanner;
-    private final GuestEmailMissingScanner guestEmailMissingScanner;
-    private final GuestMessageFailedScanner guestMessageFailedScanner;
-    private final PostStayReviewScanner postStayReviewScanner;
-    private final CleaningPayoutScanner cleaningPayoutScanner;
-    private final ComplianceScanner complianceScanner;
-    private final RevenuePlanScanner revenuePlanScanner;
-    private final GuestUpsellScanner guestUpsellScanner;
-    private final OpsMaintenanceScanner opsMaintenanceScanner;
-    private final FinanceIncidentScanner financeIncidentScanner;
-    private final OwnerRelationScanner ownerRelationScanner;
-    private final GrowthDistributionScanner growthDistributionScanner;
-    private final EscalationScanner escalationScanner;
-    private final MessageIntentScanner messageIntentScanner;
+    private final SupervisionScanRunner scanRunner;
     private final PropertyRepository propertyRepository;
     private final OrganizationAccessGuard organizationAccessGuard;
     private final TenantContext tenantContext;
@@ -72,22 +57,7 @@ public class SupervisionScanService {
                                   SupervisionActivityService activityService,
                                   SupervisionSuggestionService suggestionService,
                                   SupervisionModuleRegistry moduleRegistry,
-                                  BusinessAnalyticsScanner businessAnalyticsScanner,
-                                  ReviewModerationScanner reviewModerationScanner,
-                                  GuestInstructionsScanner guestInstructionsScanner,
-                                  GuestEmailMissingScanner guestEmailMissingScanner,
-                                  GuestMessageFailedScanner guestMessageFailedScanner,
-                                  PostStayReviewScanner postStayReviewScanner,
-                                  CleaningPayoutScanner cleaningPayoutScanner,
-                                  ComplianceScanner complianceScanner,
-                                  RevenuePlanScanner revenuePlanScanner,
-                                  GuestUpsellScanner guestUpsellScanner,
-                                  OpsMaintenanceScanner opsMaintenanceScanner,
-                                  FinanceIncidentScanner financeIncidentScanner,
-                                  OwnerRelationScanner ownerRelationScanner,
-                                  GrowthDistributionScanner growthDistributionScanner,
-                                  EscalationScanner escalationScanner,
-                                  MessageIntentScanner messageIntentScanner,
+                                  SupervisionScanRunner scanRunner,
                                   PropertyRepository propertyRepository,
                                   OrganizationAccessGuard organizationAccessGuard,
                                   TenantContext tenantContext) {
@@ -96,22 +66,7 @@ public class SupervisionScanService {
         this.activityService = activityService;
         this.suggestionService = suggestionService;
         this.moduleRegistry = moduleRegistry;
-        this.businessAnalyticsScanner = businessAnalyticsScanner;
-        this.reviewModerationScanner = reviewModerationScanner;
-        this.guestInstructionsScanner = guestInstructionsScanner;
-        this.guestEmailMissingScanner = guestEmailMissingScanner;
-        this.guestMessageFailedScanner = guestMessageFailedScanner;
-        this.postStayReviewScanner = postStayReviewScanner;
-        this.cleaningPayoutScanner = cleaningPayoutScanner;
-        this.complianceScanner = complianceScanner;
-        this.revenuePlanScanner = revenuePlanScanner;
-        this.guestUpsellScanner = guestUpsellScanner;
-        this.opsMaintenanceScanner = opsMaintenanceScanner;
-        this.financeIncidentScanner = financeIncidentScanner;
-        this.ownerRelationScanner = ownerRelationScanner;
-        this.growthDistributionScanner = growthDistributionScanner;
-        this.escalationScanner = escalationScanner;
-        this.messageIntentScanner = messageIntentScanner;
+        this.scanRunner = scanRunner;
         this.propertyRepository = propertyRepository;
         this.organizationAccessGuard = organizationAccessGuard;
         this.tenantContext = tenantContext;
@@ -172,22 +127,7 @@ public class SupervisionScanService {
      * suivant (ou un relèvement du plafond).
      */
     public void deterministicScanOnly(Long orgId, Long propertyId) {
-        businessAnalyticsScanner.scanProperty(orgId, propertyId);
-        reviewModerationScanner.scanProperty(orgId, propertyId);
-        guestInstructionsScanner.scanProperty(orgId, propertyId);
-        guestEmailMissingScanner.scanProperty(orgId, propertyId);
-        guestMessageFailedScanner.scanProperty(orgId, propertyId);
-        postStayReviewScanner.scanProperty(orgId, propertyId);
-        cleaningPayoutScanner.scanProperty(orgId, propertyId);
-        complianceScanner.scanProperty(orgId, propertyId);
-        revenuePlanScanner.scanProperty(orgId, propertyId);
-        guestUpsellScanner.scanProperty(orgId, propertyId);
-        opsMaintenanceScanner.scanProperty(orgId, propertyId);
-        financeIncidentScanner.scanProperty(orgId, propertyId);
-        ownerRelationScanner.scanProperty(orgId, propertyId);
-        growthDistributionScanner.scanProperty(orgId, propertyId);
-        escalationScanner.scanProperty(orgId, propertyId);
-        messageIntentScanner.scanProperty(orgId, propertyId);
+        scanRunner.run(orgId, propertyId);
     }
 
     /**
@@ -197,24 +137,10 @@ public class SupervisionScanService {
     private SupervisionScanResultDto runScan(Long orgId, Long propertyId, AgentContext context,
                                              boolean recordSuggestions) {
         // Heuristiques analytics déterministes (Phase A) : émises AVANT le run LLM,
-        // sans coût token, best-effort (n'interrompt jamais le scan).
+        // sans coût token, best-effort (n'interrompt jamais le scan), en parallèle sur un
+        // instantané partagé du logement (SupervisionScanRunner).
         if (recordSuggestions) {
-            businessAnalyticsScanner.scanProperty(orgId, propertyId);
-            reviewModerationScanner.scanProperty(orgId, propertyId);
-            guestInstructionsScanner.scanProperty(orgId, propertyId);
-            guestEmailMissingScanner.scanProperty(orgId, propertyId);
-            guestMessageFailedScanner.scanProperty(orgId, propertyId);
-            postStayReviewScanner.scanProperty(orgId, propertyId);
-            cleaningPayoutScanner.scanProperty(orgId, propertyId);
-            complianceScanner.scanProperty(orgId, propertyId);
-            revenuePlanScanner.scanProperty(orgId, propertyId);
-        guestUpsellScanner.scanProperty(orgId, propertyId);
-        opsMaintenanceScanner.scanProperty(orgId, propertyId);
-        financeIncidentScanner.scanProperty(orgId, propertyId);
-        ownerRelationScanner.scanProperty(orgId, propertyId);
-        growthDistributionScanner.scanProperty(orgId, propertyId);
-        escalationScanner.scanProperty(orgId, propertyId);
-        messageIntentScanner.scanProperty(orgId, propertyId);
+            scanRunner.run(orgId, propertyId);
         }
         AtomicInteger activities = new AtomicInteger();
         AtomicInteger suggestions = new AtomicInteger();
@@ -0,0 +1,73 @@
+package com.clenzy.service.agent.supervision;
+
+import com.clenzy.model.Intervention;
+import com.clenzy.model.Property;
+import com.clenzy.model.Reservation;
+import com.clenzy.model.SecurityDeposit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Instantané LECTURE SEULE d'un logement, chargé une fois par {@link SupervisionScanRunner}
+ * puis partagé par tous les scanners déterministes du run (exécutés en parallèle).
+ *
+ * <p>Avant : chaque scanner rechargeait les mêmes réservations à venir (3 scanners), les
+ * mêmes départs récents (2) et les mêmes interventions des 60 derniers jours (jusqu'à
+ * 5 requêtes identiques). Les entités sont détachées (pas d'open-in-view) et déjà
+ * chargées avec leurs associations utiles ({@code property}, {@code guest}) : les
+ * partager entre threads est sûr tant que personne ne les modifie.</p>
+ *
+ * @param today              date système du chargement (borne large, chaque scanner
+ *                           affine ensuite dans la timezone du logement)
+ * @param loadedAt           instant du chargement ({@code LocalDateTime} système)
+ * @param property           logement (null si introuvable)
+ * @param upcoming           réservations non annulées avec checkOut ≥ {@code today}, checkIn croissant
+ * @param recentCheckouts    départs non annulés sur [today − {@value #CHECKOUT_LOOKBACK_DAYS} j, today + 1 j[,
+ *                           checkOut décroissant
+ * @param interventionsFrom  borne basse de {@code recentInterventions}
+ * @param recentInterventions interventions créées sur [interventionsFrom, loadedAt[
+ * @param heldDeposits       cautions encore HELD des {@code recentCheckouts}, par id de réservation
+ */
+public record SupervisionScanSnapshot(Long organizationId,
+                                      Long propertyId,
+                                      LocalDate today,
+                                      LocalDateTime loadedAt,
+                                      Property property,
+                                      List<Reservation> upcoming,
+                                      List<Reservation> recentCheckouts,
+                                      LocalDateTime interventionsFrom,
+                                      List<Intervention> recentInterventions,
+                                      Map<Long, SecurityDeposit> heldDeposits) {
+
+    /** Fenêtre des départs récents : la plus large des scanners consommateurs. */
+    static final int CHECKOUT_LOOKBACK_DAYS = FinanceIncidentScanner.CHECKOUT_LOOKBACK_DAYS;
+
+    /** Fenêtre des interventions : la plus large des scanners consommateurs (ops). */
+    static final int INTERVENTION_LOOKBACK_DAYS = OpsMaintenanceScanner.RECENT_INTERVENTION_DAYS;
+
+    public SupervisionScanSnapshot {
+        upcoming = List.copyOf(upcoming);
+        recentCheckouts = List.copyOf(recentCheckouts);
+        recentInterventions = List.copyOf(recentInterventions);
+        heldDeposits = Map.copyOf(heldDeposits);
+    }
+
+    /**
+     * Interventions créées sur [from, to[ si la fenêtre est couverte par l'instantané ;
+     * vide sinon (le scanner retombe alors sur sa propre requête — ex. un long séjour
+     * commencé avant la fenêtre).
+     */
+    public Optional<List<Intervention>> interventionsCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(interventionsFrom)) {
+            return Optional.empty();
+        }
+        return Optional.of(recentInterventions.stream()
+                .filter(i -> i.getCreatedAt() != null
+                        && !i.getCreatedAt().isBefore(from) && i.getCreatedAt().isBefore(to))
+                .toList());
+    }
+}
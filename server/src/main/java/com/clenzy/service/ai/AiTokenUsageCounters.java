@@ -0,0 +1,136 @@
+package com.clenzy.service.ai;
+
+import com.clenzy.model.AiFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Compteurs chauds de consommation de tokens par (org, feature, mois).
+ *
+ * <p>Le pre-vol budget ({@code AiTokenBudgetService.hasBudget}) precede chaque appel
+ * LLM — plusieurs par tour en multi-agent. Il lit ici un compteur Redis au lieu de
+ * re-sommer {@code ai_token_usage} du mois. Cache-miss → somme Postgres posee en SET NX
+ * (ne clobber jamais un compteur vivant), increments atomiques ensuite. Le TTL est pose
+ * a la creation seulement : le compteur expire une heure apres son chargement, meme
+ * sous trafic, et toute derive avec Postgres disparait au rechargement suivant.</p>
+ *
+ * <p><b>Rechargement sans perte</b> : avant de sommer Postgres, {@link #used} pose un
+ * marqueur {@code :pending}. Un {@link #add} qui trouve le marqueur sans compteur y
+ * accumule son increment ; le script de chargement pose la somme ET ce reliquat en une
+ * operation. Un enregistrement concurrent d'un rechargement n'est donc jamais oublie ;
+ * il peut etre compte deux fois (deja dans la somme et dans le reliquat) jusqu'a
+ * l'expiration du compteur. Sens conservateur pour un plafond.</p>
+ *
+ * <p>Redis indisponible → lecture Postgres directe, comme avant (fail-open : le budget
+ * tokens n'est pas un solde facturable, contrairement aux credits).</p>
+ */
+@Component
+public class AiTokenUsageCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTokenUsageCounters.class);
+
+    private static final String KEY_PREFIX = "ai:tokens:used:";
+    private static final String PENDING_SUFFIX = ":pending";
+    private static final Duration KEY_TTL = Duration.ofHours(1);
+    /** Duree de vie du marqueur de rechargement : borne un chargement abandonne. */
+    private static final Duration PENDING_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Increment : sur le compteur s'il existe (TTL inchange), sinon sur le reliquat d'un
+     * rechargement en cours. Ni l'un ni l'autre → rien : la prochaine somme Postgres l'inclura.
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('INCRBY', KEYS[1], ARGV[1])
+                return 1
+            end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                redis.call('INCRBY', KEYS[2], ARGV[1])
+                return 2
+            end
+            return 0
+            """, Long.class);
+
+    /** Pose la somme (SET NX + TTL) augmentee du reliquat, et renvoie la valeur qui fait foi. */
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            """
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'EX', ARGV[2]) then
+                local pending = redis.call('GET', KEYS[2])
+                if pending then
+                    redis.call('INCRBY', KEYS[1], pending)
+                end
+            end
+            redis.call('DEL', KEYS[2])
+            return tonumber(redis.call('GET', KEYS[1]))
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public AiTokenUsageCounters(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Tokens consommes sur le mois. {@code loader} (somme Postgres) n'est appele qu'au
+     * cache-miss ou si Redis est indisponible.
+     */
+    public long used(Long orgId, AiFeature feature, String monthYear, LongSupplier loader) {
+        String key = key(orgId, feature, monthYear);
+        Long hot = read(key);
+        if (hot != null) {
+            return hot;
+        }
+        String pendingKey = key + PENDING_SUFFIX;
+        try {
+            // Avant la somme Postgres : les increments qui la suivent iront au reliquat.
+            redisTemplate.opsForValue().setIfAbsent(pendingKey, "0", PENDING_TTL);
+        } catch (Exception e) {
+            log.debug("[AI-TOKENS] Marqueur de rechargement ignore (Redis) : {}", e.getMessage());
+        }
+        long loaded = loader.getAsLong();
+        try {
+            Long current = redisTemplate.execute(SEED_SCRIPT, List.of(key, pendingKey),
+                    String.valueOf(loaded), String.valueOf(KEY_TTL.toSeconds()));
+            return current != null ? current : loaded;
+        } catch (Exception e) {
+            log.debug("[AI-TOKENS] Rechargement du compteur ignore (Redis) : {}", e.getMessage());
+        }
+        return loaded;
+    }
+
+    /** Ajoute une consommation au compteur (ou au reliquat d'un rechargement). Best-effort. */
+    public void add(Long orgId, AiFeature feature, String monthYear, long tokens) {
+        if (orgId == null || tokens <= 0) {
+            return;
+        }
+        try {
+            String key = key(orgId, feature, monthYear);
+            redisTemplate.execute(ADD_SCRIPT, List.of(key, key + PENDING_SUFFIX), String.valueOf(tokens));
+        } catch (Exception e) {
+            log.debug("[AI-TOKENS] Increment ignore (Redis) : {}", e.getMessage());
+        }
+    }
+
+    private Long read(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            return value != null ? Long.parseLong(value) : null;
+        } catch (Exception e) {
+            log.debug("[AI-TOKENS] Lecture du compteur ignoree (Redis) : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(Long orgId, AiFeature feature, String monthYear) {
+        return KEY_PREFIX + orgId + ":" + feature.name() + ":" + monthYear;
+    }
+}
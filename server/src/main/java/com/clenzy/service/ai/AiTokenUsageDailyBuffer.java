@@ -0,0 +1,111 @@
+package com.clenzy.service.ai;
+
+import com.clenzy.model.AiFeature;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository.DailyRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind de l'agregat journalier {@code ai_token_usage_daily}.
+ *
+ * <p>Chaque appel LLM fusionne son increment dans une entree en memoire par
+ * (org, jour, feature, provider, model) ; un flush periodique (defaut 30 s) ecrit
+ * toutes les entrees en un seul batch d'upserts additifs. Fusion et vidage passent
+ * par {@code merge}/{@code remove} de la map, atomiques par cle : un increment arrive
+ * pendant le flush cree une nouvelle entree, aucun n'est perdu ni compte deux fois.</p>
+ *
+ * <p>Echec d'ecriture : les increments sont re-fusionnes et repartent au flush suivant.
+ * Arret : flush final. Crash : au plus une fenetre de flush perdue pour l'agregat — le
+ * detail {@code ai_token_usage} reste complet et le rattrapage nocturne
+ * ({@code AiTokenUsageRollupScheduler}) reconstruit la veille depuis lui.</p>
+ *
+ * <p>PAS de @SchedulerLock sur {@code flush()} (meme choix que {@code ChannexAriBatcher}) :
+ * le buffer est <b>in-memory par instance</b>, chaque instance doit flusher le sien.</p>
+ */
+@Component
+public class AiTokenUsageDailyBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTokenUsageDailyBuffer.class);
+
+    static final String UNKNOWN = "unknown";
+
+    private static final Comparator<DailyRow> KEY_ORDER = Comparator
+            .comparing(DailyRow::organizationId)
+            .thenComparing(DailyRow::day)
+            .thenComparing(DailyRow::feature)
+            .thenComparing(DailyRow::provider)
+            .thenComparing(DailyRow::model);
+
+    private final AiTokenUsageDailyJdbcRepository repository;
+
+    private final ConcurrentHashMap<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    public AiTokenUsageDailyBuffer(AiTokenUsageDailyJdbcRepository repository) {
+        this.repository = repository;
+    }
+
+    /** Accumule la consommation d'un appel. Provider/model absents → {@code "unknown"}. */
+    public void record(Long organizationId, LocalDate day, AiFeature feature, String provider, String model,
+                       long promptTokens, long completionTokens, long totalTokens) {
+        Key key = new Key(organizationId, day, feature,
+                provider != null ? provider : UNKNOWN, model != null ? model : UNKNOWN);
+        pending.merge(key, new Delta(promptTokens, completionTokens, totalTokens, 1L), Delta::plus);
+    }
+
+    /** Nombre d'entrees en attente de flush (observabilite/tests). */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "#{${clenzy.ai.usage-flush-seconds:30} * 1000}",
+               initialDelayString = "#{${clenzy.ai.usage-flush-seconds:30} * 1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<DailyRow> rows = new ArrayList<>(pending.size());
+        for (Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                rows.add(new DailyRow(key.organizationId(), key.day(), key.feature(), key.provider(), key.model(),
+                        delta.promptTokens(), delta.completionTokens(), delta.totalTokens(), delta.calls()));
+            }
+        }
+        rows.sort(KEY_ORDER);
+        try {
+            repository.addAll(rows);
+        } catch (Exception e) {
+            for (DailyRow r : rows) {
+                pending.merge(new Key(r.organizationId(), r.day(), r.feature(), r.provider(), r.model()),
+                        new Delta(r.promptTokens(), r.completionTokens(), r.totalTokens(), r.callCount()),
+                        Delta::plus);
+            }
+            log.warn("[AI-TOKENS] Flush de l'agregat journalier KO ({} lignes re-enfilees) : {}",
+                    rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private record Key(Long organizationId, LocalDate day, AiFeature feature, String provider, String model) {}
+
+    private record Delta(long promptTokens, long completionTokens, long totalTokens, long calls) {
+        Delta plus(Delta other) {
+            return new Delta(promptTokens + other.promptTokens, completionTokens + other.completionTokens,
+                    totalTokens + other.totalTokens, calls + other.calls);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.clenzy.service.dashboard;
+
+import com.clenzy.repository.ActionItemChangeFeedJdbcRepository;
+import com.clenzy.repository.ActionItemChangeFeedJdbcRepository.Change;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Traduit les changements publiés dans l'outbox en sujets à réévaluer.
+ *
+ * <p>Chaque source déclare les agrégats dont elle dépend
+ * ({@link ActionItemSource#dependsOn()}) ; un changement marque alors la clé
+ * (source, sujet) de son organisation, et seules ces clés repassent par le
+ * {@link ActionItemReconciler}. Une organisation sans changement ne coûte plus
+ * rien entre deux balayages complets.</p>
+ *
+ * <p><b>Délai de stabilisation.</b> Les identifiants d'outbox sont attribués à
+ * l'insertion, pas au commit : une transaction longue peut rendre visible un
+ * identifiant inférieur au curseur déjà avancé. Seuls les changements plus
+ * anciens que {@code clenzy.action-items.change-settle-seconds} sont lus, ce qui
+ * couvre les transactions ordinaires ; une transaction plus longue est rattrapée
+ * par le balayage complet.</p>
+ */
+@Service
+public class ActionItemChangeTracker {
+
+    /** Changements lus par passe : au-delà, la passe suivante reprend au curseur. */
+    static final int BATCH_SIZE = 5_000;
+
+    /** Les sujets à réévaluer, par organisation puis par source, et le curseur à valider ensuite. */
+    public record Batch(long cursor, Map<Long, Map<ActionItemSource, ActionItemDirtyKeys>> dirtyByOrg) {
+    }
+
+    private final ActionItemChangeFeedJdbcRepository changeFeed;
+    private final Clock clock;
+    private final Duration settleDelay;
+    /** Type d'agrégat → sources qui en dépendent, avec la clé qu'il désigne. */
+    private final Map<String, List<Dependent>> dependents = new HashMap<>();
+
+    public ActionItemChangeTracker(List<ActionItemSource> sources,
+                                   ActionItemChangeFeedJdbcRepository changeFeed,
+                                   Clock clock,
+                                   @Value("${clenzy.action-items.change-settle-seconds:30}") long settleSeconds) {
+        this.changeFeed = changeFeed;
+        this.clock = clock;
+        this.settleDelay = Duration.ofSeconds(settleSeconds);
+        for (ActionItemSource source : sources) {
+            for (ActionItemDependency dependency : source.dependsOn()) {
+                dependents.computeIfAbsent(dependency.aggregateType(), type -> new ArrayList<>())
+                        .add(new Dependent(source, dependency.key()));
+            }
+        }
+    }
+
+    /**
+     * Lit les changements depuis le curseur et en déduit les sujets à
+     * réévaluer. Ne déplace pas le curseur : {@link #advance} le fait une fois
+     * la réévaluation passée.
+     */
+    public Batch poll() {
+        final long cursor = changeFeed.cursor();
+        final Instant settledBefore = clock.instant().minus(settleDelay);
+        final List<Change> changes =
+                changeFeed.changesAfter(cursor, dependents.keySet(), settledBefore, BATCH_SIZE);
+
+        final Map<Long, Map<ActionItemSource, Subjects>> subjects = new LinkedHashMap<>();
+        for (Change change : changes) {
+            final Long subjectId = parseId(change.aggregateId());
+            if (subjectId == null) continue;
+            for (Dependent dependent : dependents.getOrDefault(change.aggregateType(), List.of())) {
+                subjects.computeIfAbsent(change.organizationId(), org -> new LinkedHashMap<>())
+                        .computeIfAbsent(dependent.source(), source -> new Subjects())
+                        .add(dependent.key(), subjectId);
+            }
+        }
+
+        // Lot incomplet : tout ce qui est stabilisé a été vu, y compris les types
+        // dont personne ne dépend — le curseur les saute pour ne plus les relire.
+        final long next = changes.size() < BATCH_SIZE
+                ? Math.max(cursor, changeFeed.lastSettledId(cursor, settledBefore))
+                : changes.get(changes.size() - 1).id();
+
+        final Map<Long, Map<ActionItemSource, ActionItemDirtyKeys>> dirtyByOrg = new LinkedHashMap<>();
+        subjects.forEach((orgId, bySource) -> {
+            final Map<ActionItemSource, ActionItemDirtyKeys> dirty = new LinkedHashMap<>();
+            bySource.forEach((source, s) -> dirty.put(source, new ActionItemDirtyKeys(s.targetIds, s.propertyIds)));
+            dirtyByOrg.put(orgId, dirty);
+        });
+        return new Batch(next, dirtyByOrg);
+    }
+
+    /** Valide le lot : ses changements ne seront plus relus. */
+    public void advance(Batch batch) {
+        changeFeed.advanceCursor(batch.cursor());
+    }
+
+    /** Les identifiants d'agrégat non numériques (référence de paiement…) ne désignent aucune action. */
+    private static Long parseId(String aggregateId) {
+        try {
+            return Long.valueOf(aggregateId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Dependent(ActionItemSource source, ActionItemDependency.Key key) {
+    }
+
+    private static final class Subjects {
+        private final Set<Long> targetIds = new HashSet<>();
+        private final Set<Long> propertyIds = new HashSet<>();
+
+        void add(ActionItemDependency.Key key, Long id) {
+            (key == ActionItemDependency.Key.TARGET ? targetIds : propertyIds).add(id);
+        }
+    }
+}
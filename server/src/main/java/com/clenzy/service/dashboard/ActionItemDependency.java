@@ -0,0 +1,32 @@
+package com.clenzy.service.dashboard;
+
+/**
+ * Un type d'agrégat dont dépend une source, tel qu'il est publié dans l'outbox
+ * ({@code outbox_events.aggregate_type}).
+ *
+ * <p>La dépendance dit aussi <b>comment</b> l'agrégat désigne les actions
+ * touchées : une réservation modifiée ne concerne que ses propres lignes
+ * ({@link Key#TARGET}), un calendrier modifié concerne toutes celles de son
+ * logement ({@link Key#PROPERTY}). Sans cette précision, il faudrait réévaluer
+ * la source entière — c'est-à-dire revenir au balayage complet.</p>
+ *
+ * @param aggregateType type d'agrégat de l'outbox ({@code "RESERVATION"}, {@code "CALENDAR"}…)
+ * @param key           ce que l'identifiant d'agrégat désigne côté action
+ */
+public record ActionItemDependency(String aggregateType, Key key) {
+
+    public enum Key {
+        /** L'identifiant d'agrégat est le {@code targetId} des actions. */
+        TARGET,
+        /** L'identifiant d'agrégat est le {@code propertyId} des actions. */
+        PROPERTY
+    }
+
+    public static ActionItemDependency onTarget(String aggregateType) {
+        return new ActionItemDependency(aggregateType, Key.TARGET);
+    }
+
+    public static ActionItemDependency onProperty(String aggregateType) {
+        return new ActionItemDependency(aggregateType, Key.PROPERTY);
+    }
+}
@@ -0,0 +1,29 @@
+package com.clenzy.service.dashboard;
+
+import com.clenzy.dto.DashboardOperationsDto.ActionItemDto;
+
+import java.util.Set;
+
+/**
+ * Les sujets d'une source à réévaluer pour une organisation, appris de l'outbox.
+ *
+ * <p>Une action est concernée si sa cible <b>ou</b> son logement a changé. Ce
+ * périmètre borne à la fois ce qui est réécrit et ce qui peut être refermé :
+ * une ligne hors périmètre n'est jamais touchée par une passe incrémentale.</p>
+ *
+ * @param targetIds   cibles modifiées ({@link ActionItemDependency.Key#TARGET})
+ * @param propertyIds logements modifiés ({@link ActionItemDependency.Key#PROPERTY})
+ */
+public record ActionItemDirtyKeys(Set<Long> targetIds, Set<Long> propertyIds) {
+
+    public ActionItemDirtyKeys {
+        targetIds = Set.copyOf(targetIds);
+        propertyIds = Set.copyOf(propertyIds);
+    }
+
+    /** Vrai si l'action relève d'un sujet modifié. */
+    public boolean matches(ActionItemDto dto) {
+        return (dto.targetId() != null && targetIds.contains(dto.targetId()))
+                || (dto.propertyId() != null && propertyIds.contains(dto.propertyId()));
+    }
+}
@@ -40,6 +40,13 @@ import java.util.stream.Collectors;
  *       effectivement collectées entrent dans la clôture. Sans cela, une
  *       requête en erreur effacerait des actions parfaitement valides.</li>
  * </ul>
+ *
+ * <p><b>Deux modes.</b> Le balayage complet ({@link #reconcile}) interroge
+ * toutes les sources. La passe incrémentale ({@link #reconcileDirty}) ne
+ * réévalue que les sujets signalés par l'outbox, source par source ; les mêmes
+ * garde-fous s'y appliquent, bornés à ce périmètre. Le balayage complet reste
+ * le filet : il rattrape ce qu'aucun événement n'a signalé — l'écoulement du
+ * temps, au premier chef.</p>
  */
 @Service
 public class ActionItemReconciler {
@@ -96,7 +103,8 @@ public class ActionItemReconciler {
 
         if (sweptKinds.isEmpty()) return 0;
 
-        upsert(organizationId, found, sweptKinds, sweptAt);
+        upsert(organizationId, found,
+                repository.findDerivedForOrg(organizationId, sweptKinds), sweptAt);
         final int closed = repository.closeUnseen(organizationId, sweptKinds, sweptAt);
 
         log.debug("Balayage org={} : {} action(s) confirmee(s), {} close(s)",
@@ -104,6 +112,60 @@ public class ActionItemReconciler {
         return found.size();
     }
 
+    /**
+     * Réévalue les seuls sujets modifiés, source par source.
+     *
+     * <p>Pour chaque source : collecte limitée aux sujets
+     * ({@link ActionItemSource#collectFor}), écriture, puis clôture de ce qui,
+     * <b>dans ce périmètre</b>, n'a plus été trouvé. Une source en échec ne
+     * referme rien, comme au balayage complet.</p>
+     *
+     * @return le nombre d'actions confirmées sur les sujets réévalués
+     */
+    @Transactional
+    public int reconcileDirty(Long organizationId, Map<ActionItemSource, ActionItemDirtyKeys> dirty) {
+        final Instant sweptAt = clock.instant();
+        final ActionItemContext context = ActionItemContext.of(
+                organizationId, UserRole.SUPER_ADMIN, null, clock);
+
+        int confirmed = 0;
+        int closed = 0;
+        for (Map.Entry<ActionItemSource, ActionItemDirtyKeys> entry : dirty.entrySet()) {
+            final ActionItemSource source = entry.getKey();
+            final ActionItemDirtyKeys keys = entry.getValue();
+            final List<ActionItemDto> items;
+            try {
+                items = source.collectFor(context, keys);
+            } catch (RuntimeException e) {
+                log.error("Passe incrementale : la source {} a echoue pour org={} — rien n'est "
+                        + "clos sur ses sujets", source.getClass().getSimpleName(), organizationId, e);
+                continue;
+            }
+            final Set<String> kinds = source.kinds().stream()
+                    .map(kind -> kind.name())
+                    .collect(Collectors.toSet());
+            if (kinds.isEmpty()) continue;
+            // Une collection vide en IN n'est pas portable : un identifiant
+            // impossible la remplace, sans rien élargir.
+            final Set<Long> targetIds = orNone(keys.targetIds());
+            final Set<Long> propertyIds = orNone(keys.propertyIds());
+
+            upsert(organizationId, items,
+                    repository.findDerivedForSubjects(organizationId, kinds, targetIds, propertyIds), sweptAt);
+            closed += repository.closeUnseenForSubjects(
+                    organizationId, kinds, targetIds, propertyIds, sweptAt);
+            confirmed += items.size();
+        }
+
+        log.debug("Passe incrementale org={} : {} source(s), {} action(s) confirmee(s), {} close(s)",
+                organizationId, dirty.size(), confirmed, closed);
+        return confirmed;
+    }
+
+    private static Set<Long> orNone(Set<Long> ids) {
+        return ids.isEmpty() ? Set.of(-1L) : ids;
+    }
+
     /**
      * Écrit l'état trouvé, en réutilisant les lignes existantes.
      *
@@ -118,9 +180,8 @@ public class ActionItemReconciler {
      * s'arrêterait sur une contrainte d'unicité.</p>
      */
     private void upsert(Long organizationId, List<ActionItemDto> found,
-                        Set<String> sweptKinds, Instant sweptAt) {
-        final Map<String, ActionItem> existing = repository
-                .findDerivedForOrg(organizationId, sweptKinds).stream()
+                        List<ActionItem> candidates, Instant sweptAt) {
+        final Map<String, ActionItem> existing = candidates.stream()
                 .collect(Collectors.toMap(
                         item -> key(item.getKind(), item.getSubjectRef()),
                         Function.identity(),
@@ -50,4 +50,27 @@ public interface ActionItemSource {
     Set<ActionItemKind> kinds();
 
     Scope scope();
+
+    /**
+     * Les agrégats de l'outbox dont un changement peut faire apparaître ou
+     * disparaître une action de cette source.
+     *
+     * <p>Vide par défaut : la source n'est alors réévaluée que par le balayage
+     * complet. Une dépendance oubliée ne rend donc pas la file fausse, seulement
+     * moins fraîche.</p>
+     */
+    default Set<ActionItemDependency> dependsOn() {
+        return Set.of();
+    }
+
+    /**
+     * Les actions en attente limitées aux sujets modifiés.
+     *
+     * <p>Par défaut, la collecte complète filtrée : correcte pour toute source,
+     * et déjà bien moins chère que le balayage de toutes les sources. Une source
+     * volumineuse la redéfinit avec une requête ciblée.</p>
+     */
+    default List<ActionItemDto> collectFor(ActionItemContext context, ActionItemDirtyKeys keys) {
+        return collect(context).stream().filter(keys::matches).toList();
+    }
 }
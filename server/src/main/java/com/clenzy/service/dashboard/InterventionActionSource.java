@@ -58,6 +58,12 @@ public class InterventionActionSource implements ActionItemSource {
         return Scope.BUSINESS;
     }
 
+    /** Les transitions publiées (fin de mission, bon d'intervention) désignent l'intervention. */
+    @Override
+    public Set<ActionItemDependency> dependsOn() {
+        return Set.of(ActionItemDependency.onTarget("INTERVENTION"));
+    }
+
     @Override
     public List<ActionItemDto> collect(ActionItemContext ctx) {
         final List<ActionItemDto> items = new ArrayList<>();
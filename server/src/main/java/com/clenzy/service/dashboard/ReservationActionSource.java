@@ -58,6 +58,16 @@ public class ReservationActionSource implements ActionItemSource {
         return Scope.BUSINESS;
     }
 
+    /**
+     * Une réservation publiée désigne ses propres lignes ; un calendrier modifié
+     * (réservation posée, annulée, déplacée) désigne celles de son logement.
+     */
+    @Override
+    public Set<ActionItemDependency> dependsOn() {
+        return Set.of(ActionItemDependency.onTarget("RESERVATION"),
+                ActionItemDependency.onProperty("CALENDAR"));
+    }
+
     @Override
     public List<ActionItemDto> collect(ActionItemContext ctx) {
         final List<ActionItemDto> items = new ArrayList<>();
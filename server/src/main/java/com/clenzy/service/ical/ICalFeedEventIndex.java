@@ -0,0 +1,199 @@
+package com.clenzy.service.ical;
+
+import com.clenzy.dto.ICalImportDto.ICalEventPreview;
+import com.clenzy.model.ICalFeed;
+import com.clenzy.model.ICalFeedEventHash;
+import com.clenzy.repository.ICalFeedEventHashRepository;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index UID -> hash de contenu des evenements d'un feed iCal : permet a l'import de
+ * n'appliquer que les evenements ajoutes, modifies ou retires depuis la synchronisation
+ * precedente, au lieu de rejouer tout le feed a chaque passage.
+ *
+ * <ul>
+ *   <li><b>Hash</b> : SHA-256 du contenu normalise (type, dates, statut, SUMMARY,
+ *       DESCRIPTION) — les champs dont derive la reservation importee.</li>
+ *   <li><b>Passage complet</b> : au premier import puis au plus tous les
+ *       {@link #FULL_PASS_INTERVAL}, tout le feed est rejoue (relance des menages bloques,
+ *       reservation modifiee cote PMS...). Entre deux, seul le differentiel est applique.</li>
+ *   <li><b>Fenetre de parsing</b> : une fois le feed importe en complet, l'historique
+ *       au-dela de {@link #HISTORY_WINDOW_DAYS} jours n'est plus materialise (deja importe,
+ *       et hors du perimetre des orphelins et des blocages qui ne regardent que le futur).</li>
+ * </ul>
+ *
+ * <p>Seuls les evenements appliques SANS erreur sont indexes : un evenement en echec garde
+ * son ancien hash (ou aucun) et sera rejoue au passage suivant.</p>
+ */
+@Component
+public class ICalFeedEventIndex {
+
+    /** Intervalle maximal entre deux passages complets d'un feed. */
+    static final Duration FULL_PASS_INTERVAL = Duration.ofHours(24);
+
+    /** Historique conserve au parsing d'un feed deja importe en complet. */
+    static final int HISTORY_WINDOW_DAYS = 30;
+
+    /** Longueur de la colonne {@code uid} : au-dela, l'evenement n'est pas indexe (toujours rejoue). */
+    private static final int MAX_UID_LENGTH = 512;
+
+    private final ICalFeedEventHashRepository hashRepository;
+
+    public ICalFeedEventIndex(ICalFeedEventHashRepository hashRepository) {
+        this.hashRepository = hashRepository;
+    }
+
+    /**
+     * Differentiel d'un feed contre son index.
+     *
+     * @param fullPass       passage complet : tout est rejoue, {@link #isUnchanged} toujours faux
+     * @param currentHashes  UID -> hash des evenements du feed (premiere occurrence d'un UID)
+     * @param unchangedUids  UID dont le hash est identique a celui de l'index
+     * @param removedUids    UID indexes absents du feed
+     * @param added          evenements dont l'UID n'etait pas indexe
+     * @param changed        evenements dont le hash a change
+     * @param blocksChanged  blocages a reconcilier (passage complet, blocage ajoute/modifie ou
+     *                       sans UID, ou evenement retire)
+     * @param storedEntries  entrees d'index chargees, reutilisees par {@link #record}
+     */
+    public record FeedDiff(boolean fullPass,
+                           Map<String, String> currentHashes,
+                           Set<String> unchangedUids,
+                           Set<String> removedUids,
+                           int added,
+                           int changed,
+                           boolean blocksChanged,
+                           Map<String, ICalFeedEventHash> storedEntries) {
+
+        /** Evenement deja applique a l'identique lors d'une synchronisation precedente. */
+        public boolean isUnchanged(ICalEventPreview event) {
+            return !fullPass && event.getUid() != null && unchangedUids.contains(event.getUid());
+        }
+    }
+
+    /**
+     * Debut de la fenetre de parsing du feed : {@code null} (tout le feed) tant que le
+     * feed n'a jamais ete synchronise en complet.
+     */
+    public LocalDate parseWindowStart(ICalFeed feed, LocalDate today) {
+        if (feed == null || feed.getLastFullSyncAt() == null) {
+            return null;
+        }
+        return today.minusDays(HISTORY_WINDOW_DAYS);
+    }
+
+    /** Calcule le differentiel des evenements parses contre l'index du feed. */
+    public FeedDiff diff(ICalFeed feed, List<ICalEventPreview> events, LocalDateTime now) {
+        boolean fullPass = feed.getLastFullSyncAt() == null
+                || !feed.getLastFullSyncAt().plus(FULL_PASS_INTERVAL).isAfter(now);
+
+        Map<String, ICalFeedEventHash> stored = new HashMap<>();
+        if (feed.getId() != null) {
+            for (ICalFeedEventHash entry : hashRepository.findByFeedId(feed.getId())) {
+                stored.put(entry.getUid(), entry);
+            }
+        }
+
+        Map<String, String> current = new HashMap<>();
+        Set<String> unchanged = new HashSet<>();
+        int added = 0;
+        int changed = 0;
+        boolean blocksChanged = fullPass;
+        for (ICalEventPreview event : events) {
+            boolean blocked = "blocked".equals(event.getType());
+            String uid = event.getUid();
+            if (uid == null || uid.length() > MAX_UID_LENGTH) {
+                blocksChanged |= blocked; // non indexable : toujours rejoue
+                continue;
+            }
+            String hash = contentHash(event);
+            if (current.putIfAbsent(uid, hash) != null) {
+                continue;
+            }
+            ICalFeedEventHash previous = stored.get(uid);
+            if (previous == null) {
+                added++;
+                blocksChanged |= blocked;
+            } else if (previous.getContentHash().equals(hash)) {
+                unchanged.add(uid);
+            } else {
+                changed++;
+                blocksChanged |= blocked;
+            }
+        }
+
+        Set<String> removed = new HashSet<>(stored.keySet());
+        removed.removeAll(current.keySet());
+        blocksChanged |= !removed.isEmpty();
+
+        return new FeedDiff(fullPass, current, unchanged, removed, added, changed, blocksChanged, stored);
+    }
+
+    /**
+     * Met l'index a jour apres application : hash courant pour chaque evenement applique
+     * sans erreur, suppression des UID retires du feed. Les UID en echec conservent leur
+     * ancienne entree ; ceux du feed mais non parsables (date illisible) ne sont pas purges.
+     */
+    public void record(ICalFeed feed, FeedDiff diff, Set<String> failedUids, Set<String> unparsableUids) {
+        List<ICalFeedEventHash> toSave = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        diff.currentHashes().forEach((uid, hash) -> {
+            if (failedUids.contains(uid)) {
+                return;
+            }
+            ICalFeedEventHash entry = diff.storedEntries().get(uid);
+            if (entry == null) {
+                toSave.add(new ICalFeedEventHash(feed.getId(), uid, hash));
+            } else if (!entry.getContentHash().equals(hash)) {
+                entry.setContentHash(hash);
+                entry.setUpdatedAt(now);
+                toSave.add(entry);
+            }
+        });
+        if (!toSave.isEmpty()) {
+            hashRepository.saveAll(toSave);
+        }
+
+        List<ICalFeedEventHash> toDelete = new ArrayList<>();
+        for (String uid : diff.removedUids()) {
+            if (!unparsableUids.contains(uid)) {
+                toDelete.add(diff.storedEntries().get(uid));
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            hashRepository.deleteAllInBatch(toDelete);
+        }
+    }
+
+    /** SHA-256 hex du contenu normalise d'un evenement (champs separes par U+001F). */
+    static String contentHash(ICalEventPreview event) {
+        String normalized = String.join("\u001f",
+                String.valueOf(event.getType()),
+                String.valueOf(event.getDtStart()),
+                String.valueOf(event.getDtEnd()),
+                String.valueOf(event.getStatus()),
+                String.valueOf(event.getSummary()),
+                String.valueOf(event.getDescription()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 est garanti par la JVM
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.clenzy.service.ical;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lecteur iCal (RFC 5545) en flux : decoupe le contenu en VEVENT sans construire de
+ * modele objet du calendrier complet.
+ *
+ * <p>Le parsing via le modele ical4j ({@code CalendarBuilder}) materialisait TOUT le
+ * feed (composants, proprietes, parametres, VTIMEZONE) avant le premier evenement. Les
+ * feeds de channel managers embarquent parfois des annees d'historique (plusieurs Mo par
+ * logement) : ici, une ligne logique est lue a la fois (depliage des lignes continuees,
+ * §3.1), seules les proprietes de premier niveau d'un VEVENT sont retenues (les
+ * sous-composants type VALARM sont ignores) et chaque evenement est remis a
+ * {@code sink} des son {@code END:VEVENT} — l'appelant decide de le materialiser ou non.</p>
+ *
+ * <p>Structure stricte, comme le CalendarBuilder remplace : premier contenu different de
+ * {@code BEGIN:VCALENDAR}, VEVENT non ferme ou {@code END:VCALENDAR} absent (feed tronque)
+ * levent une {@link MalformedICalException} — un flux tronque ne doit jamais nourrir la
+ * detection d'orphelins.</p>
+ */
+public final class ICalVEventTokenizer {
+
+    private ICalVEventTokenizer() {}
+
+    /** Contenu iCal structurellement invalide (en-tete absent, composant non ferme). */
+    public static final class MalformedICalException extends Exception {
+        public MalformedICalException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Propriete d'un VEVENT. La valeur des proprietes texte (SUMMARY, DESCRIPTION, UID)
+     * est deja de-echappee (§3.3.11).
+     */
+    public record RawProperty(String name, Map<String, String> parameters, String value) {
+        /** Valeur d'un parametre (ex. {@code TZID}), guillemets retires ; {@code null} si absent. */
+        public String parameter(String paramName) {
+            return parameters.get(paramName.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Proprietes de premier niveau d'un VEVENT. Comme {@code Component#getProperty}
+     * d'ical4j, la premiere occurrence d'un nom l'emporte.
+     */
+    public record RawVEvent(Map<String, RawProperty> properties) {
+        public RawProperty property(String name) {
+            return properties.get(name);
+        }
+
+        public String value(String name) {
+            RawProperty property = properties.get(name);
+            return property != null ? property.value() : null;
+        }
+
+        /** Regle de recurrence (RRULE ou RDATE) presente. */
+        public boolean isRecurring() {
+            return properties.containsKey("RRULE") || properties.containsKey("RDATE");
+        }
+    }
+
+    /**
+     * Lit le flux et remet chaque VEVENT a {@code sink}, dans l'ordre du feed.
+     * Le flux n'est pas ferme (responsabilite de l'appelant).
+     */
+    public static void read(InputStream in, Consumer<RawVEvent> sink) throws IOException, MalformedICalException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        State state = new State(sink);
+        StringBuilder logical = null;
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (first) {
+                first = false;
+                if (line.startsWith("\uFEFF")) {
+                    line = line.substring(1); // BOM UTF-8 emis par certains exports
+                }
+            }
+            if (logical != null && !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                logical.append(line, 1, line.length()); // ligne continuee (folding)
+                continue;
+            }
+            if (logical != null) {
+                state.accept(logical.toString());
+            }
+            logical = new StringBuilder(line);
+        }
+        if (logical != null) {
+            state.accept(logical.toString());
+        }
+        state.finish();
+    }
+
+    /** Automate : VCALENDAR -> VEVENT (-> sous-composants ignores). */
+    private static final class State {
+        private final Consumer<RawVEvent> sink;
+        private boolean calendarOpen;
+        private boolean calendarClosed;
+        private Map<String, RawProperty> event;
+        private int nestedDepth;
+
+        State(Consumer<RawVEvent> sink) {
+            this.sink = sink;
+        }
+
+        void accept(String contentLine) throws MalformedICalException {
+            if (contentLine.isBlank() || calendarClosed) {
+                return;
+            }
+            RawProperty property = parseContentLine(contentLine);
+            String name = property.name();
+            String component = "BEGIN".equals(name) || "END".equals(name)
+                    ? property.value().trim().toUpperCase(Locale.ROOT)
+                    : null;
+            if (!calendarOpen) {
+                if (!"BEGIN".equals(name) || !"VCALENDAR".equals(component)) {
+                    throw new MalformedICalException("BEGIN:VCALENDAR attendu en debut de contenu");
+                }
+                calendarOpen = true;
+                return;
+            }
+            if (event == null) {
+                if ("BEGIN".equals(name) && "VEVENT".equals(component)) {
+                    event = new HashMap<>();
+                } else if ("END".equals(name) && "VCALENDAR".equals(component)) {
+                    calendarClosed = true;
+                }
+                return; // proprietes du calendrier, VTIMEZONE... : non utilisees
+            }
+            if ("BEGIN".equals(name)) {
+                nestedDepth++; // VALARM & co : leurs proprietes ne sont pas celles de l'evenement
+                return;
+            }
+            if ("END".equals(name)) {
+                if (nestedDepth > 0) {
+                    nestedDepth--;
+                    return;
+                }
+                if (!"VEVENT".equals(component)) {
+                    throw new MalformedICalException("END:" + component + " inattendu dans un VEVENT");
+                }
+                sink.accept(new RawVEvent(event));
+                event = null;
+                return;
+            }
+            if (nestedDepth == 0) {
+                event.putIfAbsent(name, property);
+            }
+        }
+
+        void finish() throws MalformedICalException {
+            if (!calendarOpen) {
+                throw new MalformedICalException("contenu vide");
+            }
+            if (event != null) {
+                throw new MalformedICalException("VEVENT non termine (feed tronque ?)");
+            }
+            if (!calendarClosed) {
+                throw new MalformedICalException("END:VCALENDAR absent (feed tronque ?)");
+            }
+        }
+    }
+
+    /**
+     * Decoupe une ligne logique {@code NOM;PARAM=val;PARAM2="a:b":valeur}. Le separateur
+     * valeur est le premier ':' hors guillemets (un TZID ou une URL entre guillemets peut
+     * contenir ':').
+     */
+    static RawProperty parseContentLine(String line) throws MalformedICalException {
+        int valueSeparator = -1;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                valueSeparator = i;
+                break;
+            }
+        }
+        if (valueSeparator <= 0) {
+            throw new MalformedICalException("ligne de contenu invalide");
+        }
+        String[] head = splitParameters(line.substring(0, valueSeparator));
+        String name = head[0].trim().toUpperCase(Locale.ROOT);
+        Map<String, String> parameters = new HashMap<>();
+        for (int i = 1; i < head.length; i++) {
+            int eq = head[i].indexOf('=');
+            if (eq > 0) {
+                String value = head[i].substring(eq + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                parameters.put(head[i].substring(0, eq).trim().toUpperCase(Locale.ROOT), value);
+            }
+        }
+        String value = line.substring(valueSeparator + 1);
+        if (isTextProperty(name)) {
+            value = unescapeText(value);
+        }
+        return new RawProperty(name, parameters, value);
+    }
+
+    /** Separe nom et parametres sur les ';' hors guillemets. */
+    private static String[] splitParameters(String head) {
+        List<String> parts = new ArrayList<>(4);
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < head.length(); i++) {
+            char c = head.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                parts.add(head.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(head.substring(start));
+        return parts.toArray(String[]::new);
+    }
+
+    private static boolean isTextProperty(String name) {
+        return "SUMMARY".equals(name) || "DESCRIPTION".equals(name) || "UID".equals(name);
+    }
+
+    /** De-echappement TEXT (RFC 5545 §3.3.11) : \n, \N, \,, \; et \\. */
+    static String unescapeText(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'n', 'N' -> sb.append('\n');
+                    case ',', ';', '\\' -> sb.append(next);
+                    default -> sb.append('\\').append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
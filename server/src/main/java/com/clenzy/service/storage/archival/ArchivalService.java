@@ -13,7 +13,6 @@ import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Moteur d'<b>archivage froid</b> generique, configurable et <b>DESACTIVE PAR DEFAUT</b>.
@@ -106,14 +105,54 @@ public class ArchivalService {
      * @return compteurs agreges + indicateur d'execution
      */
     public ArchivalResult archive(String targetName) {
+        final ArchivalResult blocked = checkEnabled(targetName);
+        if (blocked != null) {
+            return blocked;
+        }
+        final String name = properties.findTarget(targetName).orElseThrow().name();
+
+        final ArchivalSource source = sourcesByTarget.get(name);
+        if (source == null) {
+            log.warn("Archivage : aucune ArchivalSource enregistree pour la cible '{}' : "
+                    + "rien a exporter (fournir une implementation d'ArchivalSource).", targetName);
+            return ArchivalResult.noop(targetName, "no-source-registered");
+        }
+
+        return exportTarget(name, archivePrefix(name), source);
+    }
+
+    /**
+     * Archive un <b>segment</b> d'une cible avec une source fournie par l'appelant (ex : une
+     * partition mensuelle detachee de {@code calendar_commands}). Memes verrous d'inertie que
+     * {@link #archive(String)} (flag, cible configuree, bucket) ; les cles sont prefixees par le
+     * segment ({@code archive/{target}/{segment}/page-NNNNNN.ndjson}) pour que les segments
+     * successifs d'une meme cible ne s'ecrasent pas. <b>Ne supprime rien.</b>
+     *
+     * @param targetName nom de la cible ({@code clenzy.archival.targets[].name})
+     * @param segment    identifiant stable du segment (ex : {@code 2024_01})
+     * @param source     lecture seule, paginee, des lignes du segment
+     */
+    public ArchivalResult archiveSegment(String targetName, String segment, ArchivalSource source) {
+        final ArchivalResult blocked = checkEnabled(targetName);
+        if (blocked != null) {
+            return blocked;
+        }
+        final String name = properties.findTarget(targetName).orElseThrow().name();
+        return exportTarget(name, archivePrefix(name) + segment + "/", source);
+    }
+
+    /**
+     * Verrous d'inertie communs : flag, cible configuree, bucket d'archive. Retourne le resultat
+     * no-op si l'un d'eux bloque, {@code null} si l'export peut tourner.
+     */
+    private ArchivalResult checkEnabled(String targetName) {
         if (!properties.enabled()) {
             log.info("Archivage froid DESACTIVE (clenzy.archival.enabled=false) : no-op pour target='{}'.",
                     targetName);
             return ArchivalResult.noop(targetName, "archival-disabled");
         }
 
-        final Optional<ArchivalProperties.Target> target = properties.findTarget(targetName);
-        if (target.isEmpty()) {
+        if (properties.findTarget(targetName).isEmpty()) {
             log.warn("Archivage : cible '{}' inconnue (absente de clenzy.archival.targets) : no-op.",
                     targetName);
             return ArchivalResult.noop(targetName, "unknown-target");
@@ -124,22 +163,14 @@ public class ArchivalService {
                     + ": no-op pour target='{}'.", targetName);
             return ArchivalResult.noop(targetName, "archive-bucket-missing");
         }
-
-        final ArchivalSource source = sourcesByTarget.get(target.get().name());
-        if (source == null) {
-            log.warn("Archivage : aucune ArchivalSource enregistree pour la cible '{}' : "
-                    + "rien a exporter (fournir une implementation d'ArchivalSource).", targetName);
-            return ArchivalResult.noop(targetName, "no-source-registered");
-        }
-
-        return exportTarget(target.get().name(), source);
+        return null;
     }
 
     /**
      * Boucle d'export paginee. Lit page apres page via la source (lecture seule), serialise en
      * NDJSON et uploade chaque page sous une cle deterministe. HORS transaction (regle #2).
      */
-    private ArchivalResult exportTarget(String targetName, ArchivalSource source) {
+    private ArchivalResult exportTarget(String targetName, String keyPrefix, ArchivalSource source) {
         final int batchSize = properties.effectiveBatchSize();
         log.info("Archivage DEMARRE : target='{}', batchSize={}, bucket='{}'.",
                 targetName, batchSize, objectStorageClient.archiveBucket());
@@ -157,7 +188,7 @@ public class ArchivalService {
             }
 
             final byte[] ndjson = toNdjson(rows);
-            final String key = archiveKey(targetName, pageIndex);
+            final String key = keyPrefix + pageName(pageIndex);
             objectStorageClient.putArchive(key, ndjson, NDJSON_CONTENT_TYPE);
 
             batches++;
@@ -198,7 +229,20 @@ public class ArchivalService {
      * meme cle. Format : {@code archive/{target}/page-NNNNNN.ndjson}.
      */
     static String archiveKey(String targetName, int pageIndex) {
-        return "archive/" + targetName + "/page-" + String.format("%06d", pageIndex) + ".ndjson";
+        return archivePrefix(targetName) + pageName(pageIndex);
+    }
+
+    /** Cle deterministe d'une page d'un segment : {@code archive/{target}/{segment}/page-NNNNNN.ndjson}. */
+    public static String archiveKey(String targetName, String segment, int pageIndex) {
+        return archivePrefix(targetName) + segment + "/" + pageName(pageIndex);
+    }
+
+    private static String archivePrefix(String targetName) {
+        return "archive/" + targetName + "/";
+    }
+
+    private static String pageName(int pageIndex) {
+        return "page-" + String.format("%06d", pageIndex) + ".ndjson";
     }
 
     private static Map<String, ArchivalSource> indexByTarget(List<ArchivalSource> sources) {
@@ -0,0 +1,208 @@
+package com.clenzy.service.timeseries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compression d'un bloc de mesures capteur, facon Gorilla (Facebook, VLDB 2015) :
+ * <ul>
+ *   <li><b>Horodatages</b> (secondes epoch) : delta-de-delta, code sur 1 bit quand le pas
+ *       est regulier (cas nominal du polling), sinon 9 / 12 / 16 / 68 bits selon l'amplitude ;</li>
+ *   <li><b>Valeurs</b> (double) : XOR avec la valeur precedente — 1 bit si inchangee, sinon
+ *       seuls les bits significatifs (fenetre zeros de tete / de queue) sont ecrits.</li>
+ * </ul>
+ *
+ * <p>Un niveau sonore stable sur une heure de polling a la minute tient ainsi en quelques
+ * dizaines d'octets au lieu de 60 lignes. Les mesures doivent etre triees par horodatage
+ * strictement croissant (garanti par {@link SensorTimeSeriesStore}).</p>
+ *
+ * <p>Format : nombre de mesures (32 bits), premier horodatage (64 bits), premiere valeur
+ * (64 bits), puis les mesures suivantes encodees comme ci-dessus.</p>
+ */
+public final class GorillaBlockCodec {
+
+    private GorillaBlockCodec() {}
+
+    public static byte[] encode(List<Sample> samples) {
+        BitWriter out = new BitWriter(16 + samples.size() * 2);
+        out.write(samples.size(), 32);
+        if (samples.isEmpty()) {
+            return out.toByteArray();
+        }
+        Sample first = samples.get(0);
+        out.write(first.epochSecond(), 64);
+        out.write(Double.doubleToRawLongBits(first.value()), 64);
+
+        long previousTs = first.epochSecond();
+        long previousDelta = 0;
+        long previousBits = Double.doubleToRawLongBits(first.value());
+        int previousLeading = Integer.MAX_VALUE;
+        int previousTrailing = 0;
+        for (int i = 1; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            long delta = sample.epochSecond() - previousTs;
+            if (delta <= 0) {
+                throw new IllegalArgumentException("Horodatages non strictement croissants");
+            }
+            writeDeltaOfDelta(out, delta - previousDelta);
+            previousTs = sample.epochSecond();
+            previousDelta = delta;
+
+            long bits = Double.doubleToRawLongBits(sample.value());
+            long xor = bits ^ previousBits;
+            previousBits = bits;
+            if (xor == 0) {
+                out.writeBit(false);
+                continue;
+            }
+            out.writeBit(true);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading != Integer.MAX_VALUE && leading >= previousLeading && trailing >= previousTrailing) {
+                // Les bits significatifs tiennent dans la fenetre precedente.
+                out.writeBit(false);
+                out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                out.writeBit(true);
+                int significant = 64 - leading - trailing;
+                out.write(leading, 5);
+                out.write(significant - 1, 6); // 1..64 code sur 0..63
+                out.write(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Sample> decode(byte[] payload) {
+        BitReader in = new BitReader(payload);
+        int count = (int) in.read(32);
+        List<Sample> samples = new ArrayList<>(count);
+        if (count == 0) {
+            return samples;
+        }
+        long ts = in.read(64);
+        long bits = in.read(64);
+        samples.add(new Sample(ts, Double.longBitsToDouble(bits)));
+
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(in);
+            ts += delta;
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.read(5);
+                    int significant = (int) in.read(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                int significant = 64 - leading - trailing;
+                bits ^= in.read(significant) << trailing;
+            }
+            samples.add(new Sample(ts, Double.longBitsToDouble(bits)));
+        }
+        return samples;
+    }
+
+    /** '0' | '10'+7 bits | '110'+9 bits | '1110'+12 bits | '1111'+64 bits (complement a 2). */
+    private static void writeDeltaOfDelta(BitWriter out, long dod) {
+        if (dod == 0) {
+            out.writeBit(false);
+        } else if (dod >= -64 && dod <= 63) {
+            out.write(0b10, 2);
+            out.write(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            out.write(0b110, 3);
+            out.write(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            out.write(0b1110, 4);
+            out.write(dod, 12);
+        } else {
+            out.write(0b1111, 4);
+            out.write(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(7), 7);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(9), 9);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(12), 12);
+        }
+        return in.read(64);
+    }
+
+    private static long signExtend(long value, int bits) {
+        int shift = 64 - bits;
+        return (value << shift) >> shift;
+    }
+
+    /** Ecriture bit a bit, poids fort d'abord. */
+    private static final class BitWriter {
+        private byte[] buffer;
+        private long bitLength;
+
+        BitWriter(int initialBytes) {
+            this.buffer = new byte[Math.max(16, initialBytes)];
+        }
+
+        void writeBit(boolean bit) {
+            int index = (int) (bitLength >>> 3);
+            if (index >= buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            if (bit) {
+                buffer[index] |= (byte) (0x80 >>> (bitLength & 7));
+            }
+            bitLength++;
+        }
+
+        /** Ecrit les {@code bits} bits de poids faible de {@code value}. */
+        void write(long value, int bits) {
+            for (int i = bits - 1; i >= 0; i--) {
+                writeBit(((value >>> i) & 1L) != 0);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, (int) ((bitLength + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] buffer;
+        private long position;
+
+        BitReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean readBit() {
+            int index = (int) (position >>> 3);
+            if (index >= buffer.length) {
+                throw new IllegalArgumentException("Bloc de mesures tronque");
+            }
+            boolean bit = (buffer[index] & (0x80 >>> (position & 7))) != 0;
+            position++;
+            return bit;
+        }
+
+        long read(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++) {
+                value = (value << 1) | (readBit() ? 1L : 0L);
+            }
+            return value;
+        }
+    }
+}
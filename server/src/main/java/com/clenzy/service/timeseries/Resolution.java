@@ -0,0 +1,37 @@
+package com.clenzy.service.timeseries;
+
+import java.time.Duration;
+
+/**
+ * Paliers de resolution des series capteurs et leur retention : le brut sert
+ * l'evaluation des alertes et les graphes courts, les agregats les historiques longs.
+ */
+public enum Resolution {
+
+    RAW("raw", 0, Duration.ofDays(3)),
+    MINUTE("1m", 60, Duration.ofDays(7)),
+    QUARTER_HOUR("15m", 900, Duration.ofDays(90)),
+    HOUR("1h", 3600, Duration.ofDays(400));
+
+    private final String code;
+    private final long bucketSeconds;
+    private final Duration retention;
+
+    Resolution(String code, long bucketSeconds, Duration retention) {
+        this.code = code;
+        this.bucketSeconds = bucketSeconds;
+        this.retention = retention;
+    }
+
+    /** Valeur de la colonne {@code sensor_series_rollups.resolution}. */
+    public String code() { return code; }
+
+    public long bucketSeconds() { return bucketSeconds; }
+
+    public Duration retention() { return retention; }
+
+    /** Debut du bucket contenant {@code epochSecond} (agregats uniquement). */
+    public long bucketStart(long epochSecond) {
+        return Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds;
+    }
+}
@@ -0,0 +1,5 @@
+package com.clenzy.service.timeseries;
+
+/** Mesure d'une serie : horodatage (secondes epoch, UTC) et valeur. */
+public record Sample(long epochSecond, double value) {
+}
@@ -0,0 +1,267 @@
+package com.clenzy.service.timeseries;
+
+import com.clenzy.repository.SensorSeriesJdbcRepository;
+import com.clenzy.repository.SensorSeriesJdbcRepository.BlockRow;
+import com.clenzy.repository.SensorSeriesJdbcRepository.PollCoverageRow;
+import com.clenzy.repository.SensorSeriesJdbcRepository.RollupRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Stockage local des series de mesures capteurs (bruit, fumee, mouvement).
+ *
+ * <ul>
+ *   <li><b>Brut</b> : un bloc par serie et par heure, compresse par {@link GorillaBlockCodec}.
+ *       Une ecriture relit le bloc de l'heure, fusionne (un horodatage deja connu est
+ *       remplace), reencode et reecrit — le polling recouvre volontairement la fenetre
+ *       precedente, les doublons sont donc absorbes ici.</li>
+ *   <li><b>Agregats</b> : buckets 1 min / 15 min / 1 h recalcules depuis le bloc pour les
+ *       seuls buckets touches. Les buckets sont alignes sur l'heure : un bucket ne
+ *       chevauche jamais deux blocs.</li>
+ *   <li><b>Lecture</b> : {@link #history} choisit la resolution selon l'etendue demandee ;
+ *       {@link #sustainedLevel} sert l'evaluation des alertes sur fenetre, sans appel
+ *       fournisseur.</li>
+ *   <li><b>Couverture</b> : seul le polling prouve qu'une periode est complete
+ *       ({@link #recordPolled}) ; les mesures ponctuelles (webhook) enrichissent la serie
+ *       sans la declarer couverte ni avancer le curseur de polling ({@link #polledUntil}).</li>
+ * </ul>
+ *
+ * <p>Un seul ecrivain par serie en pratique (schedulers sous ShedLock, webhook Minut par
+ * capteur) ; le {@code SELECT ... FOR UPDATE} du bloc couvre le cas residuel.</p>
+ */
+@Service
+public class SensorTimeSeriesStore {
+
+    static final long BLOCK_SECONDS = 3600;
+
+    /** Etendue max servie en brut ; au-dela, agregats (graphes et volume de reponse bornes). */
+    private static final Duration RAW_MAX_SPAN = Duration.ofHours(6);
+    private static final Duration MINUTE_MAX_SPAN = Duration.ofDays(2);
+    private static final Duration QUARTER_HOUR_MAX_SPAN = Duration.ofDays(31);
+
+    /** Retard tolere du dernier poll sur la fin d'une periode demandee (deux cycles de 5 min). */
+    static final Duration POLL_FRESHNESS = Duration.ofMinutes(10);
+
+    private static final List<Resolution> ROLLUPS =
+            List.of(Resolution.MINUTE, Resolution.QUARTER_HOUR, Resolution.HOUR);
+
+    private final SensorSeriesJdbcRepository repository;
+    private final Clock clock;
+
+    public SensorTimeSeriesStore(SensorSeriesJdbcRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * Ajoute des mesures a une serie (ordre quelconque, doublons tolere). Les valeurs non
+     * finies sont ignorees. @return nombre de mesures retenues.
+     */
+    @Transactional
+    public int append(SeriesKey key, Collection<Sample> samples) {
+        Map<Long, List<Sample>> byBlock = new TreeMap<>();
+        int accepted = 0;
+        for (Sample sample : samples) {
+            if (!Double.isFinite(sample.value())) {
+                continue;
+            }
+            byBlock.computeIfAbsent(blockStart(sample.epochSecond()), b -> new ArrayList<>()).add(sample);
+            accepted++;
+        }
+        byBlock.forEach((blockStart, incoming) -> writeBlock(key, blockStart, incoming));
+        return accepted;
+    }
+
+    private void writeBlock(SeriesKey key, long blockStart, List<Sample> incoming) {
+        TreeMap<Long, Double> merged = new TreeMap<>();
+        repository.findBlock(key, blockStart).ifPresent(existing ->
+                GorillaBlockCodec.decode(existing.payload()).forEach(s -> merged.put(s.epochSecond(), s.value())));
+        incoming.forEach(s -> merged.put(s.epochSecond(), s.value()));
+
+        List<Sample> samples = new ArrayList<>(merged.size());
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<Long, Double> entry : merged.entrySet()) {
+            samples.add(new Sample(entry.getKey(), entry.getValue()));
+            min = Math.min(min, entry.getValue());
+            max = Math.max(max, entry.getValue());
+        }
+        repository.upsertBlock(key, new BlockRow(blockStart, samples.size(), merged.firstKey(), merged.lastKey(),
+                min, max, GorillaBlockCodec.encode(samples)));
+
+        for (Resolution resolution : ROLLUPS) {
+            Set<Long> touched = new TreeSet<>();
+            incoming.forEach(s -> touched.add(resolution.bucketStart(s.epochSecond())));
+            repository.upsertRollups(key, resolution.code(), rollup(samples, resolution, touched));
+        }
+    }
+
+    /** Agregats des buckets {@code touched}, calcules sur les mesures (triees) du bloc. */
+    static List<RollupRow> rollup(List<Sample> samples, Resolution resolution, Set<Long> touched) {
+        List<RollupRow> rows = new ArrayList<>(touched.size());
+        int i = 0;
+        for (long bucket : touched) {
+            long end = bucket + resolution.bucketSeconds();
+            while (i < samples.size() && samples.get(i).epochSecond() < bucket) {
+                i++;
+            }
+            int count = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            double last = 0;
+            for (int j = i; j < samples.size() && samples.get(j).epochSecond() < end; j++) {
+                double value = samples.get(j).value();
+                count++;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                last = value;
+            }
+            if (count > 0) {
+                rows.add(new RollupRow(bucket, count, min, max, sum, last));
+            }
+        }
+        return rows;
+    }
+
+    /** Mesures brutes sur [from, to), par ordre chronologique. */
+    public List<Sample> rawRange(SeriesKey key, Instant from, Instant to) {
+        long fromTs = from.getEpochSecond();
+        long toTs = to.getEpochSecond();
+        List<Sample> result = new ArrayList<>();
+        for (BlockRow block : repository.findBlocks(key, fromTs, toTs)) {
+            for (Sample sample : GorillaBlockCodec.decode(block.payload())) {
+                if (sample.epochSecond() >= fromTs && sample.epochSecond() < toTs) {
+                    result.add(sample);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Historique sur [from, to) a la resolution adaptee a l'etendue : brut jusqu'a 6 h
+     * (si encore retenu), puis moyennes 1 min (2 j), 15 min (31 j) et 1 h. Les points
+     * agreges sont horodates au debut de leur bucket.
+     */
+    public List<Sample> history(SeriesKey key, Instant from, Instant to) {
+        Resolution resolution = resolutionFor(from, to);
+        if (resolution == Resolution.RAW) {
+            return rawRange(key, from, to);
+        }
+        List<Sample> points = new ArrayList<>();
+        for (RollupRow row : repository.findRollups(key, resolution.code(),
+                resolution.bucketStart(from.getEpochSecond()), to.getEpochSecond())) {
+            points.add(new Sample(row.bucketStart(), row.sumValue() / row.sampleCount()));
+        }
+        return points;
+    }
+
+    Resolution resolutionFor(Instant from, Instant to) {
+        Duration span = Duration.between(from, to);
+        Instant now = clock.instant();
+        if (span.compareTo(RAW_MAX_SPAN) <= 0 && !from.isBefore(now.minus(Resolution.RAW.retention()))) {
+            return Resolution.RAW;
+        }
+        if (span.compareTo(MINUTE_MAX_SPAN) <= 0 && !from.isBefore(now.minus(Resolution.MINUTE.retention()))) {
+            return Resolution.MINUTE;
+        }
+        if (span.compareTo(QUARTER_HOUR_MAX_SPAN) <= 0
+                && !from.isBefore(now.minus(Resolution.QUARTER_HOUR.retention()))) {
+            return Resolution.QUARTER_HOUR;
+        }
+        return Resolution.HOUR;
+    }
+
+    /**
+     * Niveau tenu sur toute la fenetre [until - window, until] : minimum des mesures de la
+     * fenetre ET de la derniere mesure anterieure (valeur en vigueur a l'ouverture — les
+     * capteurs qui ne remontent qu'au changement restent correctement evalues).
+     * « Au-dessus du seuil pendant 10 min » equivaut a {@code sustainedLevel >= seuil}.
+     *
+     * @return vide si aucune mesure n'est connue a l'ouverture de la fenetre (historique
+     *         insuffisant : on ne conclut pas a un depassement soutenu)
+     */
+    public OptionalDouble sustainedLevel(SeriesKey key, Duration window, Instant until) {
+        Instant windowStart = until.minus(window);
+        // Le bloc precedent porte la valeur en vigueur a l'ouverture de la fenetre.
+        List<Sample> samples = rawRange(key, windowStart.minusSeconds(BLOCK_SECONDS), until.plusSeconds(1));
+        long startTs = windowStart.getEpochSecond();
+        Double atStart = null;
+        double min = Double.POSITIVE_INFINITY;
+        for (Sample sample : samples) {
+            if (sample.epochSecond() <= startTs) {
+                atStart = sample.value();
+            } else {
+                min = Math.min(min, sample.value());
+            }
+        }
+        if (atStart == null) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Math.min(atStart, min));
+    }
+
+    /** Enregistre un poll fournisseur reussi sur [from, until], mesures recues ou non. */
+    public void recordPolled(SeriesKey key, Instant from, Instant until) {
+        repository.recordPoll(key, from.getEpochSecond(), until.getEpochSecond());
+    }
+
+    /** Fin de l'intervalle polle sans trou : curseur du prochain poll. */
+    public Optional<Instant> polledUntil(SeriesKey key) {
+        return repository.findPollCoverage(key).map(c -> Instant.ofEpochSecond(c.coveredUntil()));
+    }
+
+    /**
+     * [from, to) entierement couvert par le polling et encore retenu localement : debut dans
+     * l'intervalle polle (et dans la retention des agregats horaires), fin au plus
+     * {@link #POLL_FRESHNESS} apres le dernier poll (bornee a maintenant).
+     */
+    public boolean isPolledRange(SeriesKey key, Instant from, Instant to) {
+        Optional<PollCoverageRow> coverage = repository.findPollCoverage(key);
+        if (coverage.isEmpty()) {
+            return false;
+        }
+        Instant now = clock.instant();
+        Instant coveredFrom = Instant.ofEpochSecond(coverage.get().coveredFrom());
+        Instant retained = now.minus(Resolution.HOUR.retention());
+        if (from.isBefore(coveredFrom) || from.isBefore(retained)) {
+            return false;
+        }
+        Instant end = to.isAfter(now) ? now : to;
+        return !end.isAfter(Instant.ofEpochSecond(coverage.get().coveredUntil()).plus(POLL_FRESHNESS));
+    }
+
+    /** Purge par palier de retention. @return lignes supprimees. */
+    @Transactional
+    public int purgeExpired() {
+        Instant now = clock.instant();
+        int deleted = repository.deleteBlocksBefore(
+                blockStart(now.minus(Resolution.RAW.retention()).getEpochSecond()));
+        for (Resolution resolution : ROLLUPS) {
+            deleted += repository.deleteRollupsBefore(resolution.code(),
+                    now.minus(resolution.retention()).getEpochSecond());
+        }
+        // Capteurs plus polles depuis toute la retention (supprimes, desactives).
+        deleted += repository.deletePollCoverageBefore(now.minus(Resolution.HOUR.retention()).getEpochSecond());
+        return deleted;
+    }
+
+    static long blockStart(long epochSecond) {
+        return Math.floorDiv(epochSecond, BLOCK_SECONDS) * BLOCK_SECONDS;
+    }
+}
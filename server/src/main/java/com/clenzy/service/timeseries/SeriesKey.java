@@ -0,0 +1,24 @@
+package com.clenzy.service.timeseries;
+
+/**
+ * Identite d'une serie de mesures : source (type + id du capteur) et metrique.
+ * {@code organizationId} n'entre pas dans l'identite (l'id du capteur est global) ;
+ * il est porte pour l'ecriture des lignes, comme sur toute table metier.
+ */
+public record SeriesKey(Long organizationId, String sourceType, Long sourceId, String metric) {
+
+    public static final String NOISE_DEVICE = "NOISE_DEVICE";
+    public static final String ENVIRONMENT_SENSOR = "ENVIRONMENT_SENSOR";
+
+    public static final String METRIC_NOISE_DB = "noise_db";
+    public static final String METRIC_SMOKE = "smoke";
+    public static final String METRIC_MOTION = "motion";
+
+    public static SeriesKey noise(Long organizationId, Long deviceId) {
+        return new SeriesKey(organizationId, NOISE_DEVICE, deviceId, METRIC_NOISE_DB);
+    }
+
+    public static SeriesKey environment(Long organizationId, Long sensorId, String metric) {
+        return new SeriesKey(organizationId, ENVIRONMENT_SENSOR, sensorId, metric);
+    }
+}
@@ -9,6 +9,8 @@ import com.clenzy.model.YieldOrgConfig;
 import com.clenzy.model.YieldRule;
 import com.clenzy.repository.CalendarDayRepository;
 import com.clenzy.repository.PropertyRepository;
+import com.clenzy.repository.RateOverrideJdbcRepository;
+import com.clenzy.repository.RateOverrideJdbcRepository.OverrideRow;
 import com.clenzy.repository.RateOverrideRepository;
 import com.clenzy.repository.YieldAdjustmentRepository;
 import com.clenzy.repository.YieldOrgConfigRepository;
@@ -18,8 +20,11 @@ import com.clenzy.service.SearchCacheInvalidator;
 import com.clenzy.service.agent.supervision.SupervisionActionType;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
 import com.clenzy.service.agent.supervision.SupervisionSuggestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
@@ -34,11 +39,19 @@ import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -55,15 +68,30 @@ import java.util.stream.Collectors;
  *       calendaire (timezone du bien) — vérifié via le journal, la course
  *       étant couverte par l'index unique partiel DB sur les lignes APPLIED ;</li>
  *   <li><b>Overrides protégés</b> : un override MANUAL / OTA / externe n'est
- *       jamais écrasé ; le yield ne re-tarife jamais une nuit BOOKED ;</li>
+ *       jamais écrasé (y compris en base, cf. {@link RateOverrideJdbcRepository}) ;
+ *       le yield ne re-tarife jamais une nuit BOOKED ;</li>
  *   <li><b>Idempotence de sens</b> : le prix courant est le prix EFFECTIF
  *       (override yield précédent inclus) — combiné au cap « un run par jour »,
  *       la dérive composée est bornée à N %/jour.</li>
  * </ul>
  *
+ * <p>Run d'une org par étapes, chacune chronométrée ({@code clenzy.yield.stage},
+ * tag {@code stage}) :</p>
+ * <ol>
+ *   <li><b>load</b> : cap journalier et nuits BOOKED de TOUS les biens de l'org en
+ *       une requête chacun (fenêtre la plus large des règles) ;</li>
+ *   <li><b>evaluate</b> : taux d'occupation et règle déclenchée, en parallèle par
+ *       bien — calcul pur en mémoire, aucun accès base hors du thread de l'org
+ *       (contexte tenant) ;</li>
+ *   <li><b>pricing</b> : overrides des biens déclenchés en une requête, prix
+ *       effectifs par bien ;</li>
+ *   <li><b>plan</b> : lignes de journal et overrides cibles, en parallèle par bien ;</li>
+ *   <li><b>write</b> : overrides en upsert batché et journal en {@code saveAll},
+ *       une transaction (REQUIRES_NEW) par bien ; les skips de l'org en un lot.</li>
+ * </ol>
+ *
  * <p>Un échec sur un bien est journalisé (EVALUATION_ERROR) et n'interrompt pas
- * les autres biens : chaque bien est traité dans sa propre transaction
- * (REQUIRES_NEW).</p>
+ * les autres biens.</p>
  */
 @Service
 public class YieldRuleEngine {
@@ -80,6 +108,7 @@ public class YieldRuleEngine {
      * lignes existantes par la migration 0378).
      */
     static final String REVENUE_MODULE_KEY = "rev";
+    static final String STAGE_TIMER = "clenzy.yield.stage";
 
     private final YieldOrgConfigRepository configRepository;
     private final YieldRuleRepository yieldRuleRepository;
@@ -87,10 +116,12 @@ public class YieldRuleEngine {
     private final PropertyRepository propertyRepository;
     private final CalendarDayRepository calendarDayRepository;
     private final RateOverrideRepository rateOverrideRepository;
+    private final RateOverrideJdbcRepository rateOverrideJdbcRepository;
     private final PriceEngine priceEngine;
     private final SupervisionSuggestionService suggestionService;
     private final SupervisionActivityService activityService;
     private final SearchCacheInvalidator searchCacheInvalidator;
+    private final MeterRegistry meterRegistry;
     private final Clock clock;
     /**
      * Garde-fou d'impact (R1) : en mode AUTO, un ajustement dont l'ampleur dépasse
@@ -99,34 +130,114 @@ public class YieldRuleEngine {
      */
     private final BigDecimal autoHitlImpactPct;
     private final TransactionTemplate requiresNewTx;
+    /** Étapes de calcul pur (evaluate, plan) : fork-join, CPU uniquement. */
+    private final Executor evaluationExecutor;
 
+    @Autowired
     public YieldRuleEngine(YieldOrgConfigRepository configRepository,
                            YieldRuleRepository yieldRuleRepository,
                            YieldAdjustmentRepository journalRepository,
                            PropertyRepository propertyRepository,
                            CalendarDayRepository calendarDayRepository,
                            RateOverrideRepository rateOverrideRepository,
+                           RateOverrideJdbcRepository rateOverrideJdbcRepository,
                            PriceEngine priceEngine,
                            SupervisionSuggestionService suggestionService,
                            SupervisionActivityService activityService,
                            SearchCacheInvalidator searchCacheInvalidator,
+                           MeterRegistry meterRegistry,
                            Clock clock,
                            @Value("${clenzy.yield.v1.auto-hitl-impact-pct:12}") BigDecimal autoHitlImpactPct,
                            PlatformTransactionManager transactionManager) {
+        this(configRepository, yieldRuleRepository, journalRepository, propertyRepository,
+                calendarDayRepository, rateOverrideRepository, rateOverrideJdbcRepository, priceEngine,
+                suggestionService, activityService, searchCacheInvalidator, meterRegistry, clock,
+                autoHitlImpactPct, transactionManager, ForkJoinPool.commonPool());
+    }
+
+    /** Constructeur de test : executor des étapes parallèles injectable. */
+    YieldRuleEngine(YieldOrgConfigRepository configRepository,
+                    YieldRuleRepository yieldRuleRepository,
+                    YieldAdjustmentRepository journalRepository,
+                    PropertyRepository propertyRepository,
+                    CalendarDayRepository calendarDayRepository,
+                    RateOverrideRepository rateOverrideRepository,
+                    RateOverrideJdbcRepository rateOverrideJdbcRepository,
+                    PriceEngine priceEngine,
+                    SupervisionSuggestionService suggestionService,
+                    SupervisionActivityService activityService,
+                    SearchCacheInvalidator searchCacheInvalidator,
+                    MeterRegistry meterRegistry,
+                    Clock clock,
+                    BigDecimal autoHitlImpactPct,
+                    PlatformTransactionManager transactionManager,
+                    Executor evaluationExecutor) {
         this.configRepository = configRepository;
         this.yieldRuleRepository = yieldRuleRepository;
         this.journalRepository = journalRepository;
         this.propertyRepository = propertyRepository;
         this.calendarDayRepository = calendarDayRepository;
         this.rateOverrideRepository = rateOverrideRepository;
+        this.rateOverrideJdbcRepository = rateOverrideJdbcRepository;
         this.priceEngine = priceEngine;
         this.suggestionService = suggestionService;
         this.activityService = activityService;
         this.searchCacheInvalidator = searchCacheInvalidator;
+        this.meterRegistry = meterRegistry;
         this.clock = clock;
         this.autoHitlImpactPct = autoHitlImpactPct;
         this.requiresNewTx = new TransactionTemplate(transactionManager);
         this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.evaluationExecutor = evaluationExecutor;
+    }
+
+    /**
+     * État d'un bien au fil des étapes d'un run. Chaque étape parallèle ne touche
+     * qu'à son propre bien ; la jointure des futures assure la visibilité entre étapes.
+     */
+    private static final class PropertyRun {
+        final Property property;
+        final List<YieldRule> rules;
+        final LocalDate today;
+        Set<LocalDate> bookedInHorizon = Set.of();
+        String skipReason;
+        String skipDetail;
+        YieldRule triggered;
+        BigDecimal occupancy;
+        Set<LocalDate> bookedDates;
+        Map<LocalDate, RateOverride> overridesByDate = Map.of();
+        Map<LocalDate, BigDecimal> effectivePrices = Map.of();
+        Plan plan;
+
+        PropertyRun(Property property, List<YieldRule> rules, LocalDate today) {
+            this.property = property;
+            this.rules = rules;
+            this.today = today;
+        }
+
+        Long propertyId() {
+            return property.getId();
+        }
+
+        boolean isSkipped() {
+            return skipReason != null;
+        }
+
+        void skip(String reason, String detail) {
+            this.skipReason = reason;
+            this.skipDetail = detail;
+        }
+
+        LocalDate horizonEnd() {
+            final int maxWindow = rules.stream().mapToInt(YieldRule::getWindowDaysAhead).max().orElse(0);
+            return today.plusDays(maxWindow);
+        }
+    }
+
+    /** Résultat du calcul d'un bien déclenché, prêt à écrire. */
+    private record Plan(YieldRule rule, BigDecimal signedPct, boolean applyNow, boolean asSuggestion,
+                        boolean overThreshold, String reason, List<YieldAdjustment> lines,
+                        List<OverrideRow> overrides) {
     }
 
     /**
@@ -143,9 +254,36 @@ public class YieldRuleEngine {
         if (rules.isEmpty()) {
             return;
         }
+
+        final List<PropertyRun> runs = timed("load", () -> load(config, rules));
+        if (runs.isEmpty()) {
+            return;
+        }
+        timedStep("evaluate", () -> forEachInParallel(
+                runs.stream().filter(run -> !run.isSkipped()).toList(), this::evaluate));
+        final List<PropertyRun> triggered = runs.stream()
+                .filter(run -> !run.isSkipped() && run.triggered != null).toList();
+        if (!triggered.isEmpty()) {
+            timedStep("pricing", () -> loadPricing(organizationId, triggered));
+            timedStep("plan", () -> forEachInParallel(
+                    triggered.stream().filter(run -> !run.isSkipped()).toList(),
+                    run -> plan(config, run)));
+        }
+        final int evaluated = timed("write", () -> write(config, runs));
+
+        if (evaluated > 0) {
+            log.info("Yield v1 : org={} — {} bien(s) évalué(s) en mode {}",
+                    organizationId, evaluated, config.getMode());
+        }
+    }
+
+    // ── Étape load ──────────────────────────────────────────────────────────
+
+    private List<PropertyRun> load(YieldOrgConfig config, List<YieldRule> rules) {
+        final Long orgId = config.getOrganizationId();
         final List<Property> properties =
-                propertyRepository.findByOrganizationIdAndStatus(organizationId, PropertyStatus.ACTIVE);
-        int evaluated = 0;
+                propertyRepository.findByOrganizationIdAndStatus(orgId, PropertyStatus.ACTIVE);
+        final List<PropertyRun> runs = new ArrayList<>();
         for (Property property : properties) {
             final List<YieldRule> applicable = rules.stream()
                     .filter(r -> r.getProperty() == null
@@ -154,64 +292,101 @@ public class YieldRuleEngine {
             if (applicable.isEmpty()) {
                 continue;
             }
-            try {
-                requiresNewTx.executeWithoutResult(status ->
-                        evaluateProperty(config, property, applicable));
-                evaluated++;
-            } catch (DataIntegrityViolationException e) {
-                // Course sur l'index unique partiel (double APPLIED même jour) :
-                // la transaction du bien est annulée, on journalise le cap.
-                journalSkipInNewTx(config, property, YieldAdjustment.SKIP_DAILY_CAP_REACHED,
-                        "Ajustement concurrent détecté (index unique) — non ré-appliqué");
-            } catch (RuntimeException e) {
-                log.warn("Yield v1 : échec évaluation org={} property={} : {}",
-                        organizationId, property.getId(), e.getMessage());
-                journalSkipInNewTx(config, property, YieldAdjustment.SKIP_EVALUATION_ERROR,
-                        truncate(e.getMessage(), 300));
+            final PropertyRun run = new PropertyRun(property, applicable,
+                    LocalDate.ofInstant(clock.instant(), propertyZone(property)));
+            if (property.getYieldPriceFloor() == null || property.getYieldPriceCeiling() == null) {
+                run.skip(YieldAdjustment.SKIP_NO_BOUNDS,
+                        "Plancher/plafond yield non configurés sur le bien — aucune action");
             }
+            runs.add(run);
         }
-        if (evaluated > 0) {
-            log.info("Yield v1 : org={} — {} bien(s) évalué(s) en mode {}",
-                    organizationId, evaluated, config.getMode());
-        }
-    }
 
-    // ── Évaluation d'un bien ────────────────────────────────────────────────
-
-    private void evaluateProperty(YieldOrgConfig config, Property property, List<YieldRule> rules) {
-        final Long orgId = config.getOrganizationId();
-        final LocalDate today = LocalDate.ofInstant(clock.instant(), propertyZone(property));
+        // Cap journalier : une requête par jour calendaire distinct (1, voire 2
+        // autour de minuit quand le portefeuille couvre plusieurs fuseaux).
+        final Map<LocalDate, List<PropertyRun>> byDay = runs.stream()
+                .filter(run -> !run.isSkipped())
+                .collect(Collectors.groupingBy(run -> run.today));
+        byDay.forEach((day, dayRuns) -> {
+            final Set<Long> alreadyEvaluated = new HashSet<>(journalRepository.findPropertyIdsEvaluatedOn(
+                    dayRuns.stream().map(PropertyRun::propertyId).toList(), day));
+            for (PropertyRun run : dayRuns) {
+                if (alreadyEvaluated.contains(run.propertyId())) {
+                    run.skip(YieldAdjustment.SKIP_DAILY_CAP_REACHED,
+                            "Un ajustement a déjà été évalué aujourd'hui sur ce bien (cap journalier)");
+                }
+            }
+        });
 
-        final BigDecimal floor = property.getYieldPriceFloor();
-        final BigDecimal ceiling = property.getYieldPriceCeiling();
-        if (floor == null || ceiling == null) {
-            journalSkip(config, property, today, YieldAdjustment.SKIP_NO_BOUNDS,
-                    "Plancher/plafond yield non configurés sur le bien — aucune action");
-            return;
-        }
-        if (journalRepository.existsByPropertyIdAndAdjustmentDayAndSkipReasonIsNull(
-                property.getId(), today)) {
-            journalSkip(config, property, today, YieldAdjustment.SKIP_DAILY_CAP_REACHED,
-                    "Un ajustement a déjà été évalué aujourd'hui sur ce bien (cap journalier)");
-            return;
+        // Occupation : toutes les nuits BOOKED de l'org sur l'horizon le plus large.
+        final List<PropertyRun> eligible = runs.stream().filter(run -> !run.isSkipped()).toList();
+        if (!eligible.isEmpty()) {
+            final LocalDate from = eligible.stream().map(run -> run.today)
+                    .min(Comparator.naturalOrder()).orElseThrow();
+            final LocalDate to = eligible.stream().map(PropertyRun::horizonEnd)
+                    .max(Comparator.naturalOrder()).orElseThrow();
+            final Map<Long, Set<LocalDate>> bookedByProperty = new HashMap<>();
+            for (Object[] row : calendarDayRepository.findBookedDatesByPropertyIds(
+                    eligible.stream().map(PropertyRun::propertyId).toList(), from, to, orgId)) {
+                bookedByProperty.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+            }
+            for (PropertyRun run : eligible) {
+                run.bookedInHorizon = bookedByProperty.getOrDefault(run.propertyId(), Set.of());
+            }
         }
+        return runs;
+    }
+
+    // ── Étape evaluate (parallèle, sans accès base) ─────────────────────────
 
+    private void evaluate(PropertyRun run) {
         // Première règle déclenchée (priorité décroissante) : les suivantes
         // sont ignorées — jamais plus d'un ajustement par bien et par jour.
-        for (YieldRule rule : rules) {
+        for (YieldRule rule : run.rules) {
             final int window = rule.getWindowDaysAhead();
-            final List<LocalDate> bookedDates = calendarDayRepository.findBookedDatesInRange(
-                    property.getId(), today, today.plusDays(window), orgId);
+            final LocalDate windowEnd = run.today.plusDays(window);
+            final Set<LocalDate> bookedDates = run.bookedInHorizon.stream()
+                    .filter(date -> !date.isBefore(run.today) && date.isBefore(windowEnd))
+                    .collect(Collectors.toSet());
             final BigDecimal occupancy = BigDecimal.valueOf(bookedDates.size() * 100L)
                     .divide(BigDecimal.valueOf(window), 2, RoundingMode.HALF_UP);
             if (!isTriggered(rule, occupancy)) {
                 continue;
             }
-            act(config, property, rule, today, occupancy, new HashSet<>(bookedDates), floor, ceiling);
+            run.triggered = rule;
+            run.occupancy = occupancy;
+            run.bookedDates = bookedDates;
             return;
         }
     }
 
+    // ── Étape pricing ───────────────────────────────────────────────────────
+
+    private void loadPricing(Long orgId, List<PropertyRun> triggered) {
+        // Batch (audit perf P1-2) : overrides de TOUS les biens déclenchés en une
+        // requête, puis prix EFFECTIFS par bien (la cascade reste celle du PriceEngine).
+        final LocalDate from = triggered.stream().map(run -> run.today)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        final LocalDate to = triggered.stream().map(run -> run.today.plusDays(run.triggered.getWindowDaysAhead()))
+                .max(Comparator.naturalOrder()).orElseThrow();
+        final Map<Long, Map<LocalDate, RateOverride>> overridesByProperty = new HashMap<>();
+        for (RateOverride override : rateOverrideRepository.findByPropertyIdsAndDateRange(
+                triggered.stream().map(PropertyRun::propertyId).toList(), from, to, orgId)) {
+            overridesByProperty.computeIfAbsent(override.getProperty().getId(), id -> new HashMap<>())
+                    .put(override.getDate(), override);
+        }
+        for (PropertyRun run : triggered) {
+            run.overridesByDate = overridesByProperty.getOrDefault(run.propertyId(), Map.of());
+            try {
+                run.effectivePrices = priceEngine.resolvePriceRange(run.propertyId(), run.today,
+                        run.today.plusDays(run.triggered.getWindowDaysAhead()), orgId);
+            } catch (RuntimeException e) {
+                log.warn("Yield v1 : échec résolution des prix org={} property={} : {}",
+                        orgId, run.propertyId(), e.getMessage());
+                run.skip(YieldAdjustment.SKIP_EVALUATION_ERROR, e.getMessage());
+            }
+        }
+    }
+
     private boolean isTriggered(YieldRule rule, BigDecimal occupancy) {
         return switch (rule.getComparison()) {
             case BELOW -> occupancy.compareTo(rule.getOccupancyThresholdPct()) < 0;
@@ -219,10 +394,16 @@ public class YieldRuleEngine {
         };
     }
 
-    private void act(YieldOrgConfig config, Property property, YieldRule rule, LocalDate today,
-                     BigDecimal occupancy, Set<LocalDate> bookedDates,
-                     BigDecimal floor, BigDecimal ceiling) {
+    // ── Étape plan (parallèle, sans accès base) ─────────────────────────────
+
+    private void plan(YieldOrgConfig config, PropertyRun run) {
         final Long orgId = config.getOrganizationId();
+        final Property property = run.property;
+        final YieldRule rule = run.triggered;
+        final LocalDate today = run.today;
+        final BigDecimal occupancy = run.occupancy;
+        final BigDecimal floor = property.getYieldPriceFloor();
+        final BigDecimal ceiling = property.getYieldPriceCeiling();
         final int window = rule.getWindowDaysAhead();
         // Ampleur bornée par le cap journalier de la règle ; sens déduit de la comparaison.
         final BigDecimal magnitude = rule.getAdjustmentPct().abs().min(rule.getMaxDailyChangePct().abs());
@@ -244,27 +425,21 @@ public class YieldRuleEngine {
         final YieldAdjustment.Mode effectiveJournalMode = applyNow ? YieldAdjustment.Mode.APPLIED
                 : asSuggestion ? YieldAdjustment.Mode.SUGGESTED
                 : YieldAdjustment.Mode.SIMULATED;
+        final String currency = property.getDefaultCurrency() != null
+                ? property.getDefaultCurrency() : "EUR";
 
-        // Batch (audit perf P1-2) : overrides + prix EFFECTIFS de toute la
-        // fenêtre préchargés en 3-4 requêtes (au lieu de 2-4 par nuit) ;
-        // la sémantique par nuit ci-dessous est inchangée.
         final LocalDate windowEnd = today.plusDays(window);
-        final Map<LocalDate, RateOverride> overridesByDate = rateOverrideRepository
-                .findByPropertyIdAndDateRange(property.getId(), today, windowEnd, orgId).stream()
-                .collect(Collectors.toMap(RateOverride::getDate, override -> override));
-        final Map<LocalDate, BigDecimal> effectivePrices =
-                priceEngine.resolvePriceRange(property.getId(), today, windowEnd, orgId);
-
         final List<YieldAdjustment> pending = new ArrayList<>();
+        final List<OverrideRow> overrides = new ArrayList<>();
         for (LocalDate date = today; date.isBefore(windowEnd); date = date.plusDays(1)) {
-            if (bookedDates.contains(date)) {
+            if (run.bookedDates.contains(date)) {
                 continue; // nuit réservée : jamais re-tarifée
             }
-            final RateOverride existing = overridesByDate.get(date);
+            final RateOverride existing = run.overridesByDate.get(date);
             if (existing != null && !YIELD_OVERRIDE_SOURCE.equals(existing.getSource())) {
                 continue; // override MANUAL / OTA / externe : jamais écrasé
             }
-            final BigDecimal current = effectivePrices.get(date);
+            final BigDecimal current = run.effectivePrices.get(date);
             if (current == null || current.signum() <= 0) {
                 continue; // pas de prix résolu → rien à ajuster ce jour
             }
@@ -286,21 +461,71 @@ public class YieldRuleEngine {
             pending.add(line);
 
             if (applyNow) {
-                writeOverride(property, date, target, existing, orgId);
+                overrides.add(new OverrideRow(orgId, property.getId(), date, target,
+                        YIELD_OVERRIDE_SOURCE, currency, "system:yield"));
             }
         }
-        if (pending.isEmpty()) {
-            return; // rien n'aurait changé : pas de bruit dans le journal
+        run.plan = new Plan(rule, signedPct, applyNow, asSuggestion, overThreshold, reason, pending, overrides);
+    }
+
+    // ── Étape write ─────────────────────────────────────────────────────────
+
+    /** Écrit les skips en un lot puis chaque bien planifié ; retourne le nombre de biens évalués. */
+    private int write(YieldOrgConfig config, List<PropertyRun> runs) {
+        final List<PropertyRun> skipped = runs.stream().filter(PropertyRun::isSkipped).toList();
+        if (!skipped.isEmpty()) {
+            journalSkipsInNewTx(config, skipped);
         }
+        int evaluated = 0;
+        boolean applied = false;
+        for (PropertyRun run : runs) {
+            if (run.isSkipped()) {
+                continue;
+            }
+            if (run.plan == null || run.plan.lines().isEmpty()) {
+                evaluated++; // aucune règle déclenchée ou rien n'aurait changé : pas de bruit
+                continue;
+            }
+            try {
+                applied |= Boolean.TRUE.equals(requiresNewTx.execute(status -> apply(config, run)));
+                evaluated++;
+            } catch (DataIntegrityViolationException e) {
+                // Course sur l'index unique partiel (double APPLIED même jour) :
+                // la transaction du bien est annulée, on journalise le cap.
+                journalSkipInNewTx(config, run.property, YieldAdjustment.SKIP_DAILY_CAP_REACHED,
+                        "Ajustement concurrent détecté (index unique) — non ré-appliqué");
+            } catch (RuntimeException e) {
+                log.warn("Yield v1 : échec évaluation org={} property={} : {}",
+                        config.getOrganizationId(), run.propertyId(), e.getMessage());
+                journalSkipInNewTx(config, run.property, YieldAdjustment.SKIP_EVALUATION_ERROR,
+                        truncate(e.getMessage(), 300));
+            }
+        }
+        if (applied) {
+            // Une invalidation pour toute l'org (et non une par bien).
+            searchCacheInvalidator.onAvailabilityOrPriceChanged(config.getOrganizationId());
+        }
+        return evaluated;
+    }
 
-        if (asSuggestion) {
+    /** Écrit le plan d'un bien ; vrai si des overrides ont été posés. */
+    private boolean apply(YieldOrgConfig config, PropertyRun run) {
+        final Long orgId = config.getOrganizationId();
+        final Property property = run.property;
+        final Plan plan = run.plan;
+        final YieldRule rule = plan.rule();
+        final List<YieldAdjustment> pending = plan.lines();
+        final BigDecimal signedPct = plan.signedPct();
+
+        if (plan.asSuggestion()) {
             final Optional<Long> suggestionId = recordSuggestion(
-                    property, rule, today, window, signedPct, occupancy, reason, pending);
+                    property, rule, run.today, rule.getWindowDaysAhead(), signedPct,
+                    run.occupancy, plan.reason(), pending);
             if (suggestionId.isEmpty()) {
-                return; // proposition identique déjà en attente : pas de doublon journal
+                return false; // proposition identique déjà en attente : pas de doublon journal
             }
             pending.forEach(line -> line.setSuggestionId(suggestionId.get()));
-            if (config.getMode() == YieldMode.AUTO && overThreshold) {
+            if (config.getMode() == YieldMode.AUTO && plan.overThreshold()) {
                 // Feed « garde-fou » (constellation Phase 5) : le mode AUTO n'a PAS
                 // appliqué — l'ampleur dépasse le seuil d'impact, la décision bascule
                 // en carte HITL. L'exception est nommée, pas colorée (grammaire projection).
@@ -313,9 +538,11 @@ public class YieldRuleEngine {
             }
         }
 
+        if (plan.applyNow()) {
+            rateOverrideJdbcRepository.upsertSameSource(plan.overrides());
+        }
         journalRepository.saveAll(pending);
-        if (applyNow) {
-            searchCacheInvalidator.onAvailabilityOrPriceChanged();
+        if (plan.applyNow()) {
             // Feed « En direct » de la constellation : l'agent Revenue a agi (R1).
             activityService.recordModuleAct(orgId, property.getId(), REVENUE_MODULE_KEY,
                     "yield_price_adjusted",
@@ -325,19 +552,7 @@ public class YieldRuleEngine {
             log.info("Yield v1 AUTO : org={} property={} règle '{}' {} % sur {} nuit(s)",
                     orgId, property.getId(), rule.getName(), signedPct, pending.size());
         }
-    }
-
-    private void writeOverride(Property property, LocalDate date, BigDecimal target,
-                               RateOverride existing, Long orgId) {
-        final String currency = property.getDefaultCurrency() != null
-                ? property.getDefaultCurrency() : "EUR";
-        final RateOverride override = existing != null ? existing
-                : new RateOverride(property, date, target, YIELD_OVERRIDE_SOURCE, orgId);
-        override.setNightlyPrice(target);
-        override.setSource(YIELD_OVERRIDE_SOURCE);
-        override.setCurrency(currency);
-        override.setCreatedBy("system:yield");
-        rateOverrideRepository.save(override);
+        return plan.applyNow();
     }
 
     private Optional<Long> recordSuggestion(Property property, YieldRule rule, LocalDate today,
@@ -362,13 +577,26 @@ public class YieldRuleEngine {
 
     // ── Journal des skips ───────────────────────────────────────────────────
 
-    private void journalSkip(YieldOrgConfig config, Property property, LocalDate day,
-                             String skipReason, String detail) {
+    private YieldAdjustment skipLine(YieldOrgConfig config, Property property, LocalDate day,
+                                     String skipReason, String detail) {
         final YieldAdjustment line = new YieldAdjustment(
                 config.getOrganizationId(), property.getId(), day, journalMode(config.getMode()));
         line.setSkipReason(skipReason);
         line.setReason(truncate(detail, 300));
-        journalRepository.save(line);
+        return line;
+    }
+
+    /** Skips des étapes load / pricing / plan : un seul {@code saveAll} pour l'org. */
+    private void journalSkipsInNewTx(YieldOrgConfig config, List<PropertyRun> skipped) {
+        final List<YieldAdjustment> lines = skipped.stream()
+                .map(run -> skipLine(config, run.property, run.today, run.skipReason, run.skipDetail))
+                .toList();
+        try {
+            requiresNewTx.executeWithoutResult(status -> journalRepository.saveAll(lines));
+        } catch (RuntimeException e) {
+            log.warn("Yield v1 : journalisation de {} skip(s) impossible pour org={} : {}",
+                    lines.size(), config.getOrganizationId(), e.getMessage());
+        }
     }
 
     /** Skip journalisé dans une transaction NEUVE (la transaction du bien a été annulée). */
@@ -377,13 +605,55 @@ public class YieldRuleEngine {
         final LocalDate day = LocalDate.ofInstant(clock.instant(), propertyZone(property));
         try {
             requiresNewTx.executeWithoutResult(status ->
-                    journalSkip(config, property, day, skipReason, detail));
+                    journalRepository.save(skipLine(config, property, day, skipReason, detail)));
         } catch (RuntimeException e) {
             log.warn("Yield v1 : journalisation du skip {} impossible pour property={} : {}",
                     skipReason, property.getId(), e.getMessage());
         }
     }
 
+    // ── Parallélisme et métriques ───────────────────────────────────────────
+
+    /**
+     * Applique {@code step} à chaque bien sur l'executor de calcul et attend la fin.
+     * Un échec est rattaché à son bien (skip EVALUATION_ERROR), jamais propagé.
+     */
+    private void forEachInParallel(List<PropertyRun> runs, Consumer<PropertyRun> step) {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(runs.size());
+        for (PropertyRun run : runs) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    step.accept(run);
+                } catch (RuntimeException e) {
+                    log.warn("Yield v1 : échec évaluation org={} property={} : {}",
+                            run.property.getOrganizationId(), run.propertyId(), e.getMessage());
+                    run.skip(YieldAdjustment.SKIP_EVALUATION_ERROR, e.getMessage());
+                }
+            }, evaluationExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // Défensif : chaque tâche capture déjà ses erreurs.
+            log.warn("Yield v1 : étape parallèle interrompue : {}", e.getMessage());
+        }
+    }
+
+    private void timedStep(String stage, Runnable body) {
+        timed(stage, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T timed(String stage, Supplier<T> body) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Durée des étapes d'un run yield v1 (par org)")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(body);
+    }
+
     private static YieldAdjustment.Mode journalMode(YieldMode mode) {
         return switch (mode) {
             case SIMULATION -> YieldAdjustment.Mode.SIMULATED;
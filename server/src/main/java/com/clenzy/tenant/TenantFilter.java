@@ -1,11 +1,10 @@
 package com.clenzy.tenant;
 
-import com.clenzy.model.FiscalProfile;
 import com.clenzy.model.OrganizationType;
 import com.clenzy.model.UserRole;
-import com.clenzy.repository.FiscalProfileRepository;
 import com.clenzy.repository.OrganizationRepository;
 import com.clenzy.repository.UserRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
 import jakarta.persistence.EntityManager;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -83,20 +82,20 @@ public class TenantFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
-    private final FiscalProfileRepository fiscalProfileRepository;
+    private final OrganizationSettingsProvider settingsProvider;
     private final EntityManager entityManager;
     private final RedisTemplate<String, Object> redisTemplate;
     private final TenantContext tenantContext;
 
     public TenantFilter(UserRepository userRepository,
                         OrganizationRepository organizationRepository,
-                        FiscalProfileRepository fiscalProfileRepository,
+                        OrganizationSettingsProvider settingsProvider,
                         EntityManager entityManager,
                         RedisTemplate<String, Object> redisTemplate,
                         TenantContext tenantContext) {
         this.userRepository = userRepository;
         this.organizationRepository = organizationRepository;
-        this.fiscalProfileRepository = fiscalProfileRepository;
+        this.settingsProvider = settingsProvider;
         this.entityManager = entityManager;
         this.redisTemplate = redisTemplate;
         this.tenantContext = tenantContext;
@@ -259,14 +258,9 @@ public class TenantFilter extends OncePerRequestFilter {
             MDC.put("orgId", String.valueOf(orgId));
             logger.debug("TenantFilter: context SET orgId={}, superAdmin={}, systemOrg={}", orgId, isSuperAdmin, isSystemOrg);
 
-            // 4b. Enrichir le contexte fiscal depuis FiscalProfile (avec cache Redis)
-            if (cached != null && cached.countryCode != null) {
-                tenantContext.setCountryCode(cached.countryCode);
-                tenantContext.setDefaultCurrency(cached.defaultCurrency);
-                tenantContext.setVatRegistered(cached.vatRegistered);
-            } else {
-                resolveFiscalContext(orgId);
-            }
+            // 4b. Enrichir le contexte fiscal depuis l'instantane des parametres d'org
+            // (memoire du noeud, invalide a chaque mise a jour du profil fiscal)
+            resolveFiscalContext(orgId);
 
             // 5. Activer le filtre Hibernate pour les non-ADMIN et non-SYSTEM
             // Les utilisateurs SYSTEM ont besoin d'acceder aux interventions cross-org
@@ -336,18 +330,6 @@ public class TenantFilter extends OncePerRequestFilter {
     private void cacheTenantInfo(String cacheKey, Long orgId, boolean superAdmin, boolean systemOrg) {
         try {
             TenantInfo info = new TenantInfo(orgId, superAdmin, systemOrg);
-
-            // Enrichir avec le profil fiscal
-            try {
-                fiscalProfileRepository.findByOrganizationId(orgId).ifPresent(fp -> {
-                    info.countryCode = fp.getCountryCode();
-                    info.defaultCurrency = fp.getDefaultCurrency();
-                    info.vatRegistered = fp.isVatRegistered();
-                });
-            } catch (Exception e) {
-                logger.debug("TenantFilter: erreur chargement FiscalProfile pour cache: {}", e.getMessage());
-            }
-
             redisTemplate.opsForValue().set(cacheKey, info, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
         } catch (Exception e) {
             logger.debug("TenantFilter: erreur ecriture cache Redis: {}", e.getMessage());
@@ -355,17 +337,17 @@ public class TenantFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Charge le FiscalProfile pour l'organisation et enrichit le TenantContext.
-     * Utilise un cache Redis dedie avec TTL 5 min.
+     * Enrichit le TenantContext avec le profil fiscal de l'organisation, servi par
+     * {@link OrganizationSettingsProvider} (pas de requete par requete HTTP).
      */
     private void resolveFiscalContext(Long orgId) {
         try {
-            fiscalProfileRepository.findByOrganizationId(orgId).ifPresent(fp -> {
-                tenantContext.setCountryCode(fp.getCountryCode());
-                tenantContext.setDefaultCurrency(fp.getDefaultCurrency());
-                tenantContext.setVatRegistered(fp.isVatRegistered());
+            settingsProvider.fiscal(orgId).ifPresent(fp -> {
+                tenantContext.setCountryCode(fp.countryCode());
+                tenantContext.setDefaultCurrency(fp.defaultCurrency());
+                tenantContext.setVatRegistered(fp.vatRegistered());
                 logger.debug("TenantFilter: fiscal context SET country={}, currency={}, vat={}",
-                    fp.getCountryCode(), fp.getDefaultCurrency(), fp.isVatRegistered());
+                    fp.countryCode(), fp.defaultCurrency(), fp.vatRegistered());
             });
         } catch (Exception e) {
             logger.debug("TenantFilter: erreur chargement FiscalProfile: {}", e.getMessage());
@@ -381,7 +363,8 @@ public class TenantFilter extends OncePerRequestFilter {
         public Long organizationId;
         public boolean superAdmin;
         public boolean systemOrg;
-        // Fiscal context
+        // Fiscal context : plus alimente (servi par OrganizationSettingsProvider),
+        // conserve pour relire les entrees deja presentes dans Redis.
         public String countryCode;
         public String defaultCurrency;
         public boolean vatRegistered;
@@ -0,0 +1,16 @@
+-- Re-ingestion incrementale de la knowledge base : chaque chunk porte le hash
+-- SHA-256 de son contenu. A la re-ingestion d'un document, IngestionService
+-- reprend l'embedding des chunks dont le hash n'a pas change et n'embedde que
+-- les chunks nouveaux/modifies (un paragraphe edite dans un long guide ne
+-- re-paie plus l'embedding de tout le document).
+--
+-- Backfill depuis le contenu existant : sha256() est natif depuis Postgres 11,
+-- meme calcul que cote Java (UTF-8, hex minuscule).
+
+ALTER TABLE kb_chunk ADD COLUMN content_hash VARCHAR(64);
+
+UPDATE kb_chunk
+SET content_hash = encode(sha256(convert_to(content, 'UTF8')), 'hex')
+WHERE content_hash IS NULL;
+
+CREATE INDEX idx_kb_chunk_doc_hash ON kb_chunk (document_id, content_hash);
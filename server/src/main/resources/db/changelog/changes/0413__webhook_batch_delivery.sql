@@ -0,0 +1,13 @@
+-- Enveloppes de lot pour les webhooks sortants : un abonne peut recevoir jusqu'a
+-- batch_size evenements par POST (1 = un evenement par appel, comportement
+-- historique et valeur par defaut). Opt-in par abonne : le recepteur doit savoir
+-- lire l'enveloppe {"event":"batch","events":[...]}.
+
+ALTER TABLE webhook_configs ADD COLUMN batch_size INTEGER NOT NULL DEFAULT 1;
+
+ALTER TABLE webhook_configs
+    ADD CONSTRAINT webhook_configs_batch_size_check CHECK (batch_size BETWEEN 1 AND 100);
+
+-- Backlog de retry par abonne (metrique clenzy.webhooks.retry.backlog).
+CREATE INDEX IF NOT EXISTS idx_webhook_deliveries_webhook_status
+    ON webhook_deliveries (webhook_id, status);
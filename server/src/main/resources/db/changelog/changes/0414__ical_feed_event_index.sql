@@ -0,0 +1,24 @@
+-- Application differentielle des feeds iCal : index UID -> hash de contenu par feed.
+--
+-- Chaque synchronisation rejouait TOUS les evenements du feed contre les
+-- reservations (lecture de la reservation, recherche du menage, reconciliation
+-- des blocages), alors que d'un passage a l'autre seuls quelques evenements
+-- changent. On memorise ici, pour chaque UID applique avec succes, le SHA-256
+-- de son contenu normalise (type, dates, statut, SUMMARY, DESCRIPTION) : un
+-- evenement au hash inchange n'est plus rejoue.
+--
+-- last_full_sync_at : date du dernier passage COMPLET. Un passage complet est
+-- refait periodiquement (ICalImportService) — filet de securite pour ce qui
+-- ne se voit pas dans le hash (menage bloque en PENDING, reservation modifiee
+-- cote PMS).
+
+CREATE TABLE ical_feed_event_hashes (
+    id           BIGSERIAL PRIMARY KEY,
+    feed_id      BIGINT       NOT NULL REFERENCES ical_feeds (id) ON DELETE CASCADE,
+    uid          VARCHAR(512) NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_ical_feed_event_hash UNIQUE (feed_id, uid)
+);
+
+ALTER TABLE ical_feeds ADD COLUMN last_full_sync_at TIMESTAMP;
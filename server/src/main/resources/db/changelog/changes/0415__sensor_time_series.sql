@@ -0,0 +1,54 @@
+-- Stockage local des mesures capteurs (bruit, environnement).
+--
+-- Jusqu'ici rien n'etait conserve : chaque graphe d'historique re-interrogeait
+-- Tuya / Minut, et l'evaluation des alertes ne voyait que le dernier point.
+--
+-- sensor_series_blocks : mesures brutes d'une serie (source, id, metrique),
+-- un bloc par heure, compresse facon Gorilla (delta-de-delta des horodatages,
+-- XOR des valeurs — GorillaBlockCodec). Retention courte (quelques jours).
+--
+-- sensor_series_rollups : agregats 1 min / 15 min / 1 h (count, min, max,
+-- somme, derniere valeur) recalcules a chaque ecriture de bloc. Retention
+-- par palier, purgee par SensorSeriesRetentionScheduler.
+--
+-- noise_alert_configs.sustained_minutes : duree pendant laquelle le niveau
+-- doit rester au-dessus du seuil avant alerte (0 = dernier point, historique).
+
+CREATE TABLE sensor_series_blocks (
+    id              BIGSERIAL PRIMARY KEY,
+    organization_id BIGINT      NOT NULL,
+    source_type     VARCHAR(30) NOT NULL,
+    source_id       BIGINT      NOT NULL,
+    metric          VARCHAR(30) NOT NULL,
+    block_start     BIGINT      NOT NULL,
+    sample_count    INT         NOT NULL,
+    first_ts        BIGINT      NOT NULL,
+    last_ts         BIGINT      NOT NULL,
+    min_value       DOUBLE PRECISION NOT NULL,
+    max_value       DOUBLE PRECISION NOT NULL,
+    payload         BYTEA       NOT NULL,
+    updated_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_sensor_series_block UNIQUE (source_type, source_id, metric, block_start)
+);
+
+CREATE INDEX idx_sensor_series_blocks_start ON sensor_series_blocks (block_start);
+
+CREATE TABLE sensor_series_rollups (
+    id              BIGSERIAL PRIMARY KEY,
+    organization_id BIGINT      NOT NULL,
+    source_type     VARCHAR(30) NOT NULL,
+    source_id       BIGINT      NOT NULL,
+    metric          VARCHAR(30) NOT NULL,
+    resolution      VARCHAR(10) NOT NULL,
+    bucket_start    BIGINT      NOT NULL,
+    sample_count    INT         NOT NULL,
+    min_value       DOUBLE PRECISION NOT NULL,
+    max_value       DOUBLE PRECISION NOT NULL,
+    sum_value       DOUBLE PRECISION NOT NULL,
+    last_value      DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uq_sensor_series_rollup UNIQUE (source_type, source_id, metric, resolution, bucket_start)
+);
+
+CREATE INDEX idx_sensor_series_rollups_purge ON sensor_series_rollups (resolution, bucket_start);
+
+ALTER TABLE noise_alert_configs ADD COLUMN sustained_minutes INT NOT NULL DEFAULT 0;
@@ -0,0 +1,49 @@
+-- Soldes de wallet sans re-sommer tout le ledger.
+--
+-- wallet_balances : solde courant par wallet (tete), mis a jour dans la meme
+-- transaction que chaque ecriture de ledger_entries, sous verrou de ligne
+-- (SELECT ... FOR UPDATE) — les transferts concurrents sur un meme wallet sont
+-- serialises, balance_after des nouvelles ecritures devient donc exact.
+--
+-- wallet_balance_checkpoints : photos immuables « solde au ledger_entries.id N ».
+-- Solde a un instant donne = dernier checkpoint <= N + somme des ecritures
+-- depuis. verified_at est pose par le verificateur (recalcul integral).
+
+CREATE TABLE IF NOT EXISTS wallet_balances (
+    wallet_id       BIGINT PRIMARY KEY REFERENCES wallets(id),
+    balance         NUMERIC(14,2) NOT NULL,
+    last_entry_id   BIGINT NOT NULL DEFAULT 0,
+    entry_count     BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS wallet_balance_checkpoints (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    wallet_id       BIGINT NOT NULL REFERENCES wallets(id),
+    last_entry_id   BIGINT NOT NULL,
+    balance         NUMERIC(14,2) NOT NULL,
+    entry_count     BIGINT NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT now(),
+    verified_at     TIMESTAMP,
+    CONSTRAINT uq_wallet_checkpoint UNIQUE (wallet_id, last_entry_id)
+);
+
+-- Somme « depuis le checkpoint » : parcours d'index borne a la queue du wallet.
+CREATE INDEX IF NOT EXISTS idx_ledger_wallet_id ON ledger_entries (wallet_id, id);
+
+-- Amorcage a partir du ledger existant (un seul passage).
+INSERT INTO wallet_balances (wallet_id, balance, last_entry_id, entry_count)
+SELECT w.id,
+       COALESCE(SUM(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount ELSE -e.amount END), 0),
+       COALESCE(MAX(e.id), 0),
+       COUNT(e.id)
+FROM wallets w
+LEFT JOIN ledger_entries e ON e.wallet_id = w.id
+GROUP BY w.id
+ON CONFLICT (wallet_id) DO NOTHING;
+
+INSERT INTO wallet_balance_checkpoints (wallet_id, last_entry_id, balance, entry_count)
+SELECT wallet_id, last_entry_id, balance, entry_count
+FROM wallet_balances
+WHERE entry_count > 0
+ON CONFLICT (wallet_id, last_entry_id) DO NOTHING;
@@ -0,0 +1,35 @@
+-- Agregat journalier de la consommation de tokens IA.
+--
+-- ai_token_usage_daily : une ligne par (org, jour, feature, provider, model),
+-- alimentee en write-behind par AiTokenUsageDailyBuffer (increments fusionnes
+-- en memoire, flush periodique en upsert additif). Sert le breakdown par modele
+-- et la serie « Consommation » sans relire chaque appel du mois.
+--
+-- ai_token_usage reste la verite (detail par appel, reconciliation credits) :
+-- l'agregat se reconstruit depuis elle — backfill ci-dessous, puis rattrapage
+-- nocturne de la veille (AiTokenUsageRollupScheduler).
+
+CREATE TABLE IF NOT EXISTS ai_token_usage_daily (
+    organization_id     BIGINT NOT NULL,
+    usage_day           DATE NOT NULL,
+    feature             VARCHAR(50) NOT NULL,
+    provider            VARCHAR(30) NOT NULL,
+    model               VARCHAR(100) NOT NULL,
+    prompt_tokens       BIGINT NOT NULL DEFAULT 0,
+    completion_tokens   BIGINT NOT NULL DEFAULT 0,
+    total_tokens        BIGINT NOT NULL DEFAULT 0,
+    call_count          BIGINT NOT NULL DEFAULT 0,
+    updated_at          TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (organization_id, usage_day, feature, provider, model)
+);
+
+INSERT INTO ai_token_usage_daily
+    (organization_id, usage_day, feature, provider, model,
+     prompt_tokens, completion_tokens, total_tokens, call_count)
+SELECT organization_id, CAST(created_at AS date), feature,
+       COALESCE(provider, 'unknown'), COALESCE(model, 'unknown'),
+       SUM(prompt_tokens), SUM(completion_tokens), SUM(total_tokens), COUNT(*)
+FROM ai_token_usage
+GROUP BY organization_id, CAST(created_at AS date), feature,
+         COALESCE(provider, 'unknown'), COALESCE(model, 'unknown')
+ON CONFLICT (organization_id, usage_day, feature, provider, model) DO NOTHING;
@@ -0,0 +1,22 @@
+-- Decisions du routeur d'intention LLM (IntentRouter), corpus d'entrainement du
+-- classifieur local (LocalIntentClassifier).
+--
+-- Seules les empreintes du message sont conservees (indices de n-grammes hashes,
+-- version du featurizer) : pas de texte, pas d'org — aucune donnee personnelle
+-- au-dela de la retention de la conversation elle-meme. Changer le featurizer
+-- impose d'incrementer feature_version : les anciens echantillons sont ignores
+-- puis purges par la retention.
+
+CREATE TABLE IF NOT EXISTS assistant_routing_samples (
+    id                  BIGSERIAL PRIMARY KEY,
+    feature_version     SMALLINT NOT NULL,
+    route               VARCHAR(10) NOT NULL,
+    features            INTEGER[] NOT NULL,
+    created_at          TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_assistant_routing_samples_version_id
+    ON assistant_routing_samples (feature_version, id);
+
+CREATE INDEX IF NOT EXISTS idx_assistant_routing_samples_created
+    ON assistant_routing_samples (created_at);
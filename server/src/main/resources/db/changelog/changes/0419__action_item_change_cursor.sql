@@ -0,0 +1,18 @@
+-- Curseur de la passe incrementale de la file d'actions (ActionItemChangeTracker).
+--
+-- Une seule ligne : dernier identifiant d'outbox_events deja pris en compte. Les
+-- changements publies dans l'outbox au-dela marquent les sujets a reevaluer ; le
+-- balayage complet reste le filet de securite.
+--
+-- Initialise au maximum courant : le premier passage ne relit pas l'historique
+-- de l'outbox (deja couvert par le balayage complet).
+
+CREATE TABLE IF NOT EXISTS action_item_change_cursor (
+    id              SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_outbox_id  BIGINT NOT NULL,
+    updated_at      TIMESTAMP NOT NULL DEFAULT now()
+);
+
+INSERT INTO action_item_change_cursor (id, last_outbox_id)
+SELECT 1, COALESCE(MAX(id), 0) FROM outbox_events
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,21 @@
+-- Index aveugles (blind indexes) des PII voyageur : email, prenom et nom sont
+-- chiffres (AES, EncryptedFieldConverter), donc non recherchables en SQL. On stocke
+-- a cote du chiffre des HMAC-SHA256 a cle (cf. GuestBlindIndex) :
+--   email_bidx     = HMAC(email normalise)       -> dedup par egalite indexee
+--   search_tokens  = HMAC des 2-grammes / 3-grammes de "prenom nom" et de l'email
+--                    -> recherche par inclusion (@>) sur index GIN, puis
+--                       dechiffrement des seules lignes candidates
+--   blind_index_version : NULL = pas encore indexe (ligne anterieure a cette
+--                    migration) ; ces lignes restent candidates a toute recherche
+--                    jusqu'au backfill (GuestBlindIndexBackfillRunner, au boot).
+--
+-- Le telephone a deja son index d'egalite (phone_hash, 0193).
+
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS email_bidx VARCHAR(64);
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS search_tokens TEXT[];
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS blind_index_version SMALLINT;
+
+CREATE INDEX IF NOT EXISTS idx_guests_org_email_bidx ON guests (organization_id, email_bidx);
+CREATE INDEX IF NOT EXISTS idx_guests_search_tokens ON guests USING GIN (search_tokens);
+CREATE INDEX IF NOT EXISTS idx_guests_blind_index_pending ON guests (organization_id)
+    WHERE blind_index_version IS NULL;
@@ -0,0 +1,17 @@
+-- Index COUVRANT des lectures de grille calendrier (planning, widget, recherche par dates) :
+--   (property_id, date) INCLUDE (status, nightly_price, reservation_id, organization_id)
+-- Toutes les colonnes lues par CalendarGridJdbcRepository et par les comptages de
+-- CalendarDayRepository (countConflicts, countBookedInRange, findConflictingPropertyIds...)
+-- sont dans l'index : index-only scan, sans visite du heap (visibility map a jour par
+-- l'autovacuum). Cree sur la table parente : PostgreSQL le propage a chaque partition
+-- mensuelle existante ET future (CalendarPartitionManager, 0292), DEFAULT comprise.
+--
+-- idx_calendar_days_property_date_status (0050) devient redondant (meme prefixe, status
+-- disponible dans l'INCLUDE) : supprime pour ne pas payer deux index a chaque ecriture.
+-- L'unicite (property_id, date) reste portee par uq_calendar_days_property_date.
+
+CREATE INDEX IF NOT EXISTS idx_calendar_days_grid
+    ON calendar_days (property_id, date)
+    INCLUDE (status, nightly_price, reservation_id, organization_id);
+
+DROP INDEX IF EXISTS idx_calendar_days_property_date_status;
@@ -0,0 +1,93 @@
+-- ============================================================================
+-- 0422 : calendar_commands partitionnee par mois (executed_at) + payload compact
+-- ============================================================================
+-- calendar_commands (write-ahead log des mutations calendrier) recoit une ligne par
+-- book/cancel/block/unblock/price — imports Channex, yield et editions en masse
+-- compris — et n'etait jamais elague. Cette migration :
+-- - partitionne la table par mois d'execution (RANGE sur executed_at) : les vieux
+--   mois se DETACHENT (archivage NDJSON puis DROP, cf. CalendarCommandPartitionManager)
+--   sans DELETE massif ni VACUUM ;
+-- - remplace le payload JSONB (cles repetees sur chaque ligne) par des colonnes
+--   typees : price NUMERIC (UPDATE_PRICE), notes TEXT (BLOCK), dates DATE[] (jours
+--   effectivement touches quand ce n'est pas toute la plage [date_from, date_to),
+--   ex : reconciliation iCal) — ce qui rend le log rejouable jour par jour.
+--
+-- Meme schema de bascule que 0050 (calendar_days) : renommage, table partitionnee,
+-- copie, reattache de la sequence, recreation des index, suppression de l'ancienne.
+-- ============================================================================
+
+-- 1. Mettre l'ancienne table (et sa sequence) de cote
+ALTER TABLE calendar_commands RENAME TO calendar_commands_old;
+ALTER SEQUENCE IF EXISTS calendar_commands_id_seq RENAME TO calendar_commands_old_id_seq;
+DROP INDEX IF EXISTS idx_calendar_commands_property;
+DROP INDEX IF EXISTS idx_calendar_commands_org;
+
+-- 2. Table partitionnee : la cle de partition (executed_at) fait partie de la PK
+CREATE TABLE calendar_commands (
+    id              BIGSERIAL,
+    organization_id BIGINT NOT NULL REFERENCES organizations(id),
+    property_id     BIGINT NOT NULL REFERENCES properties(id),
+    command_type    VARCHAR(20) NOT NULL,
+    date_from       DATE NOT NULL,
+    date_to         DATE NOT NULL,
+    source          VARCHAR(30) NOT NULL DEFAULT 'MANUAL',
+    reservation_id  BIGINT REFERENCES reservations(id),
+    actor_id        VARCHAR(255),
+    price           NUMERIC(10,2),
+    notes           TEXT,
+    dates           DATE[],
+    status          VARCHAR(20) NOT NULL DEFAULT 'EXECUTED',
+    executed_at     TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, executed_at)
+) PARTITION BY RANGE (executed_at);
+
+-- 3. Partitions : du plus ancien mois present jusqu'a +3 mois, + DEFAULT (filet de securite)
+DO $$
+DECLARE
+    start_month DATE;
+    end_month   DATE;
+    m           DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(executed_at), CURRENT_DATE))::date
+        INTO start_month FROM calendar_commands_old;
+    end_month := date_trunc('month', CURRENT_DATE + INTERVAL '4 months')::date;
+
+    m := start_month;
+    WHILE m < end_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF calendar_commands FOR VALUES FROM (%L) TO (%L)',
+            'calendar_commands_' || to_char(m, 'YYYY_MM'), m, m + INTERVAL '1 month'
+        );
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE calendar_commands_default PARTITION OF calendar_commands DEFAULT;
+
+-- 4. Copie : payload JSONB -> colonnes typees ({"price": n} / {"notes": "..."})
+INSERT INTO calendar_commands (id, organization_id, property_id, command_type, date_from, date_to,
+    source, reservation_id, actor_id, price, notes, status, executed_at)
+SELECT id, organization_id, property_id, command_type, date_from, date_to,
+    source, reservation_id, actor_id,
+    CASE WHEN jsonb_typeof(payload -> 'price') = 'number' THEN (payload ->> 'price')::numeric(10,2) END,
+    payload ->> 'notes',
+    status, executed_at
+FROM calendar_commands_old;
+
+-- 5. Sequence (DO/PERFORM : pas de portal ouvert pendant les CREATE INDEX, cf. 0050)
+DO $$
+BEGIN
+    PERFORM setval('calendar_commands_id_seq',
+        COALESCE((SELECT MAX(id) FROM calendar_commands), 0) + 1);
+END $$;
+
+-- 6. Index (propages a chaque partition)
+CREATE INDEX idx_calendar_commands_property
+    ON calendar_commands (property_id, executed_at DESC);
+CREATE INDEX idx_calendar_commands_org
+    ON calendar_commands (organization_id);
+CREATE INDEX idx_calendar_commands_reservation
+    ON calendar_commands (reservation_id) WHERE reservation_id IS NOT NULL;
+
+-- 7. Supprimer l'ancienne table (et l'ancienne sequence qui lui appartient)
+DROP TABLE calendar_commands_old;
@@ -0,0 +1,105 @@
+-- ============================================================================
+-- 0423 : owner_statement_months — agregat (org x proprietaire x mois) des releves
+-- ============================================================================
+-- Le releve proprietaire mensuel (OwnerStatementService.sendStatement) chargeait
+-- tous les reversements du proprietaire puis filtrait / sommait en Java, pour
+-- chaque proprietaire, le 1er du mois — en meme temps que la generation des
+-- reversements, sur le primaire.
+--
+-- Cette table porte, par (organisation, proprietaire, mois civil), les totaux des
+-- reversements VERSES (PAID) dont la periode chevauche le mois — exactement le
+-- filtre du releve — et la liste ordonnee (period_end decroissant) de leurs ids.
+--
+-- Maintenue par trigger sur owner_payouts : chaque ecriture recalcule les mois
+-- couverts par l'ancienne et la nouvelle periode (recalcul, pas d'increment :
+-- aucune derive possible, quel que soit l'ecrivain — AccountingService, executeurs
+-- de virement, webhooks). Les ecritures qui ne touchent aucun reversement PAID
+-- (PENDING -> APPROVED, relances...) sortent immediatement du trigger.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS owner_statement_months (
+    organization_id  BIGINT        NOT NULL,
+    owner_id         BIGINT        NOT NULL,
+    month_start      DATE          NOT NULL,
+    payouts_count    INT           NOT NULL,
+    total_net        NUMERIC(12,2) NOT NULL,
+    total_gross      NUMERIC(12,2) NOT NULL,
+    total_commission NUMERIC(12,2) NOT NULL,
+    total_expenses   NUMERIC(12,2) NOT NULL,
+    -- Reversements PAID du mois, period_end decroissant (ordre du releve)
+    payout_ids       BIGINT[]      NOT NULL,
+    refreshed_at     TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    PRIMARY KEY (organization_id, owner_id, month_start)
+);
+
+-- Recalcule les mois [p_from, p_to] (tronques au mois) d'un proprietaire.
+-- Verrou consultatif par (org, proprietaire) : deux ecritures concurrentes sur le
+-- meme proprietaire recalculent l'une apres l'autre, la seconde voit la premiere.
+CREATE OR REPLACE FUNCTION owner_statement_months_refresh(
+    p_org BIGINT, p_owner BIGINT, p_from DATE, p_to DATE) RETURNS void AS $$
+DECLARE
+    m DATE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('owner_statement_months:' || p_org || ':' || p_owner));
+    FOR m IN SELECT generate_series(date_trunc('month', p_from), date_trunc('month', p_to),
+                                    interval '1 month')::date
+    LOOP
+        DELETE FROM owner_statement_months
+         WHERE organization_id = p_org AND owner_id = p_owner AND month_start = m;
+        INSERT INTO owner_statement_months (organization_id, owner_id, month_start, payouts_count,
+                                            total_net, total_gross, total_commission, total_expenses,
+                                            payout_ids, refreshed_at)
+        SELECT p_org, p_owner, m, COUNT(*),
+               COALESCE(SUM(p.net_amount), 0),
+               COALESCE(SUM(p.gross_revenue), 0),
+               COALESCE(SUM(p.commission_amount), 0),
+               COALESCE(SUM(COALESCE(p.expenses, 0)), 0),
+               array_agg(p.id ORDER BY p.period_end DESC, p.id DESC),
+               now()
+          FROM owner_payouts p
+         WHERE p.organization_id = p_org
+           AND p.owner_id = p_owner
+           AND p.status = 'PAID'
+           AND p.period_start <= (m + interval '1 month' - interval '1 day')::date
+           AND p.period_end >= m
+        HAVING COUNT(*) > 0;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_statement_months_sync() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.status = 'PAID' THEN
+        PERFORM owner_statement_months_refresh(OLD.organization_id, OLD.owner_id,
+                                               OLD.period_start, OLD.period_end);
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.status = 'PAID' THEN
+        PERFORM owner_statement_months_refresh(NEW.organization_id, NEW.owner_id,
+                                               NEW.period_start, NEW.period_end);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_owner_statement_months ON owner_payouts;
+CREATE TRIGGER trg_owner_statement_months
+    AFTER INSERT OR UPDATE OR DELETE ON owner_payouts
+    FOR EACH ROW EXECUTE FUNCTION owner_statement_months_sync();
+
+-- Backfill : tous les mois couverts par un reversement PAID existant
+INSERT INTO owner_statement_months (organization_id, owner_id, month_start, payouts_count,
+                                    total_net, total_gross, total_commission, total_expenses,
+                                    payout_ids)
+SELECT p.organization_id, p.owner_id, m.month_start, COUNT(*),
+       SUM(p.net_amount), SUM(p.gross_revenue), SUM(p.commission_amount),
+       SUM(COALESCE(p.expenses, 0)),
+       array_agg(p.id ORDER BY p.period_end DESC, p.id DESC)
+  FROM owner_payouts p
+ CROSS JOIN LATERAL (
+       SELECT gs::date AS month_start
+         FROM generate_series(date_trunc('month', p.period_start), date_trunc('month', p.period_end),
+                              interval '1 month') AS gs
+       ) m
+ WHERE p.status = 'PAID'
+ GROUP BY p.organization_id, p.owner_id, m.month_start
+ON CONFLICT (organization_id, owner_id, month_start) DO NOTHING;
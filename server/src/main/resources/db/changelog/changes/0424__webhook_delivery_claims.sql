@@ -0,0 +1,7 @@
+-- Reservation des livraisons webhook en base : avant l'appel HTTP, un noeud pose un bail
+-- (claimed_until) via SELECT ... FOR UPDATE SKIP LOCKED. Les files du moteur etant en
+-- memoire par noeud, une meme livraison pouvait etre tentee par deux noeuds (tentative
+-- immediate + scheduler de retry) : seul le detenteur du bail l'envoie. Un bail expire
+-- (noeud arrete en vol) libere la livraison pour le retry.
+
+ALTER TABLE webhook_deliveries ADD COLUMN claimed_until TIMESTAMPTZ;
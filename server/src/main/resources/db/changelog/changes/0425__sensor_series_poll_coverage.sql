@@ -0,0 +1,21 @@
+-- Couverture reelle du polling par serie capteur.
+--
+-- Le debut de l'historique local (min des agregats) ne dit pas si la periode est
+-- complete : le webhook Minut verse des mesures ponctuelles (disturbances) pour des
+-- capteurs jamais polles, et ses mesures faisaient avancer le curseur de polling
+-- (derniere mesure connue), sautant les mesures anterieures du fournisseur.
+--
+-- Une ligne par serie : intervalle [covered_from, covered_until] (epoch secondes)
+-- polle sans trou. Seul le NoiseAlertScheduler l'ecrit ; un poll non contigu
+-- (coupure plus longue que le rattrapage) repart de zero.
+
+CREATE TABLE sensor_series_poll_coverage (
+    source_type     VARCHAR(30) NOT NULL,
+    source_id       BIGINT      NOT NULL,
+    metric          VARCHAR(30) NOT NULL,
+    organization_id BIGINT      NOT NULL,
+    covered_from    BIGINT      NOT NULL,
+    covered_until   BIGINT      NOT NULL,
+    updated_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_sensor_series_poll_coverage PRIMARY KEY (source_type, source_id, metric)
+);
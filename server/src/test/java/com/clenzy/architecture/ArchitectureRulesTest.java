@@ -1,6 +1,9 @@
 package com.clenzy.architecture;
 
 import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaParameterizedType;
+import com.tngtech.archunit.core.domain.JavaType;
 import com.tngtech.archunit.core.importer.ImportOption;
 import com.tngtech.archunit.junit.AnalyzeClasses;
 import com.tngtech.archunit.junit.ArchTest;
@@ -9,6 +12,10 @@ import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.SimpleConditionEvent;
 import com.tngtech.archunit.library.freeze.FreezingArchRule;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.util.Arrays;
 
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
@@ -65,4 +72,46 @@ class ArchitectureRulesTest {
                 }
             })
             .because("boot du 2026-07-02 : AgentRunRecorder et 7 autres beans plantaient ou bootaient degrades");
+
+    /**
+     * Cache de second niveau (HibernateCacheRegions) : la cle du cache de requetes Hibernate
+     * contient le NOM des filtres actifs, pas la valeur de {@code :orgId}. Une requete cacheable
+     * sur une entite {@code organizationFilter} resservirait le resultat d'une organisation a
+     * une autre : seules les entites globales (pays, regles fiscales, modeles IA) y ont droit.
+     */
+    @ArchTest
+    static final ArchRule pasDeCacheDeRequeteSurEntiteOrgScopee = classes()
+            .that().areInterfaces().and().areAssignableTo(Repository.class)
+            .should(new ArchCondition<>("ne pas declarer de requete cacheable sur une entite filtree par organisation") {
+                @Override
+                public void check(JavaClass javaClass, ConditionEvents events) {
+                    if (!gereEntiteFiltree(javaClass)) {
+                        return;
+                    }
+                    for (JavaMethod method : javaClass.getMethods()) {
+                        boolean cacheable = method.tryGetAnnotationOfType(QueryHints.class)
+                                .map(hints -> Arrays.stream(hints.value()).anyMatch(
+                                        hint -> "org.hibernate.cacheable".equals(hint.name())
+                                                && Boolean.parseBoolean(hint.value())))
+                                .orElse(false);
+                        if (cacheable) {
+                            events.add(SimpleConditionEvent.violated(method, method.getFullName()
+                                    + " : requete cacheable sur une entite org-scopee (fuite inter-organisations)"));
+                        }
+                    }
+                }
+            })
+            .because("la cle du cache de requetes Hibernate ignore la valeur des parametres de filtre");
+
+    private static boolean gereEntiteFiltree(JavaClass repository) {
+        for (JavaType type : repository.getInterfaces()) {
+            if (type instanceof JavaParameterizedType parameterized
+                    && !parameterized.getActualTypeArguments().isEmpty()
+                    && parameterized.getActualTypeArguments().get(0).toErasure()
+                            .isAnnotatedWith(org.hibernate.annotations.Filter.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -46,6 +46,11 @@ class SchedulerLockCoverageTest {
             "ContactFileStorageService#updateStorageMetrics",
             "TokenCleanupService#scheduledTokenCleanup",
             "ChannexAriBatcher#flush",
+            "AiTokenUsageDailyBuffer#flush",
+            "LocalIntentClassifier#retrain",
+            "LocalIntentClassifier#flushLabels",
+            "ReplicaLagMonitor#refresh",
+            "GlobalKbVectorIndex#refresh", // index vectoriel en memoire, reconstruit par chaque noeud
 
             // B — at-least-once par design (voir OutboxRelay, javadoc de classe)
             "OutboxRelay#relayPendingEvents",
@@ -0,0 +1,122 @@
+package com.clenzy.booking.controller;
+
+import com.clenzy.booking.service.SiteRenderCache;
+import com.clenzy.booking.service.SiteRenderCache.RenderedBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SiteDeliveryController}: conditional requests (ETag / 304) and content
+ * negotiation between the precompressed gzip body and the plain JSON fallback.
+ */
+@ExtendWith(MockitoExtension.class)
+class SiteDeliveryControllerTest {
+
+    @Mock private SiteRenderCache renderCache;
+    private SiteDeliveryController controller;
+    private RenderedBody body;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        controller = new SiteDeliveryController(renderCache);
+        body = new RenderedBody("W/\"0123456789abcdef\"", gzip("[\"a\",\"b\"]"));
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    @Test
+    @DisplayName("gzip accepted: precompressed body with Content-Encoding, ETag and Vary")
+    void servesGzipWhenAccepted() {
+        when(renderCache.page(7L, "/", null)).thenReturn(Optional.of(body));
+
+        ResponseEntity<byte[]> response = controller.getPage(7L, "/", null,
+            headers(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(body.gzip());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).isEqualTo(body.etag());
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    @DisplayName("no gzip (absent or q=0): plain JSON body, no Content-Encoding")
+    void servesPlainWhenGzipNotAccepted() {
+        when(renderCache.sitemap(7L)).thenReturn(body);
+
+        ResponseEntity<byte[]> plain = controller.sitemap(7L, new HttpHeaders());
+        ResponseEntity<byte[]> refused = controller.sitemap(7L, headers(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+
+        assertThat(new String(plain.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\"]");
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(refused.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("malformed q-value: ignored (treated as q=1), never a 500")
+    void malformedQValueIsLenient() {
+        assertThat(SiteDeliveryController.acceptsGzip("gzip;q=abc")).isTrue();
+        assertThat(SiteDeliveryController.acceptsGzip("gzip;q=")).isTrue();
+        assertThat(SiteDeliveryController.acceptsGzip("br;q=x, gzip;q=0.0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("matching If-None-Match (weak or strong form, or in a list): 304 without body")
+    void notModifiedWhenEtagMatches() {
+        when(renderCache.resolve("villa.clenzy.site")).thenReturn(Optional.of(body));
+        String strong = body.etag().substring(2);
+
+        ResponseEntity<byte[]> weak = controller.resolve("villa.clenzy.site",
+            headers(HttpHeaders.IF_NONE_MATCH, body.etag()));
+        ResponseEntity<byte[]> listed = controller.resolve("villa.clenzy.site",
+            headers(HttpHeaders.IF_NONE_MATCH, "\"other\", " + strong));
+        ResponseEntity<byte[]> stale = controller.resolve("villa.clenzy.site",
+            headers(HttpHeaders.IF_NONE_MATCH, "W/\"other\""));
+
+        assertThat(weak.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(weak.getBody()).isNull();
+        assertThat(weak.getHeaders().getETag()).isEqualTo(body.etag());
+        assertThat(listed.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("unknown host / page: 404")
+    void notFoundWhenAbsent() {
+        when(renderCache.resolve("nope.example.com")).thenReturn(Optional.empty());
+        when(renderCache.post(7L, "missing", "fr")).thenReturn(Optional.empty());
+
+        assertThat(controller.resolve("nope.example.com", new HttpHeaders()).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(controller.getPost(7L, "missing", "fr", new HttpHeaders()).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -41,12 +41,13 @@ class BookingEngineAdminServiceTest {
     @Mock private OrganizationRepository organizationRepository;
     @Mock private com.clenzy.booking.repository.SiteRepository siteRepository;
     @Mock private TenantContext tenantContext;
+    @Mock private SiteRenderCache renderCache;
 
     private BookingEngineAdminService service;
 
     @BeforeEach
     void setUp() {
-        service = new BookingEngineAdminService(configRepository, organizationRepository, siteRepository, tenantContext);
+        service = new BookingEngineAdminService(configRepository, organizationRepository, siteRepository, tenantContext, renderCache);
     }
 
     // ─── helpers ─────────────────────────────────────────────────────────
@@ -403,6 +404,25 @@ class BookingEngineAdminServiceTest {
             verify(configRepository).delete(existing);
         }
 
+        @Test
+        @DisplayName("deletes the linked site and drops its rendered content and host mapping")
+        void deletesLinkedSite() {
+            when(tenantContext.getRequiredOrganizationId()).thenReturn(ORG_ID);
+            BookingEngineConfig existing = cfg(7L, ORG_ID, "X");
+            when(configRepository.findByIdAndOrganizationId(7L, ORG_ID))
+                    .thenReturn(Optional.of(existing));
+            com.clenzy.booking.model.Site site = new com.clenzy.booking.model.Site();
+            site.setId(70L);
+            when(siteRepository.findFirstByBookingEngineConfigIdAndOrganizationId(7L, ORG_ID))
+                    .thenReturn(Optional.of(site));
+
+            service.deleteConfig(7L);
+
+            verify(siteRepository).delete(site);
+            verify(renderCache).evictSite(70L);
+            verify(renderCache).invalidateHosts();
+        }
+
         @Test
         void throwsWhenMissing() {
             when(tenantContext.getRequiredOrganizationId()).thenReturn(ORG_ID);
@@ -482,6 +502,24 @@ class BookingEngineAdminServiceTest {
             assertThat(result.apiKey()).isEqualTo(existing.getApiKey());
         }
 
+        @Test
+        @DisplayName("re-renders the linked site so the public payload carries the new key")
+        void refreshesLinkedSite() {
+            when(tenantContext.getRequiredOrganizationId()).thenReturn(ORG_ID);
+            BookingEngineConfig existing = cfg(7L, ORG_ID, "X");
+            when(configRepository.findByIdAndOrganizationId(7L, ORG_ID))
+                    .thenReturn(Optional.of(existing));
+            when(configRepository.save(existing)).thenReturn(existing);
+            com.clenzy.booking.model.Site site = new com.clenzy.booking.model.Site();
+            site.setId(70L);
+            when(siteRepository.findFirstByBookingEngineConfigIdAndOrganizationId(7L, ORG_ID))
+                    .thenReturn(Optional.of(site));
+
+            service.regenerateApiKey(7L);
+
+            verify(renderCache).refreshSite(70L);
+        }
+
         @Test
         void throwsWhenMissing() {
             when(tenantContext.getRequiredOrganizationId()).thenReturn(ORG_ID);
@@ -3,11 +3,11 @@ package com.clenzy.booking.service;
 import com.clenzy.booking.dto.AvailabilityDayDto;
 import com.clenzy.booking.dto.CalendarAvailabilityResponseDto;
 import com.clenzy.booking.dto.PropertyTypeInfoDto;
-import com.clenzy.model.CalendarDay;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.Property;
 import com.clenzy.model.PropertyType;
-import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.PriceEngine;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +20,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,7 +38,7 @@ import static org.mockito.Mockito.when;
 class BookingEngineCalendarServiceTest {
 
     @Mock private PropertyRepository propertyRepository;
-    @Mock private CalendarDayRepository calendarDayRepository;
+    @Mock private CalendarGridJdbcRepository calendarGridRepository;
     @Mock private PriceEngine priceEngine;
 
     private BookingEngineCalendarService service;
@@ -47,7 +49,7 @@ class BookingEngineCalendarServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new BookingEngineCalendarService(propertyRepository, calendarDayRepository, priceEngine);
+        service = new BookingEngineCalendarService(propertyRepository, calendarGridRepository, priceEngine);
     }
 
     private Property buildProperty(Long id, PropertyType type, int maxGuests, BigDecimal nightly, BigDecimal cleaning) {
@@ -61,13 +63,22 @@ class BookingEngineCalendarServiceTest {
         return p;
     }
 
-    private CalendarDay blockedDay(Property property, LocalDate date) {
-        CalendarDay d = new CalendarDay();
-        d.setProperty(property);
-        d.setDate(date);
-        d.setStatus(CalendarDayStatus.BLOCKED);
-        d.setOrganizationId(ORG_ID);
-        return d;
+    /** Grille [FROM, to] (inclus) de la propriété, jours {@code blocked} en BLOCKED. */
+    private CalendarGrid grid(Property property, LocalDate to, LocalDate... blocked) {
+        CalendarGrid grid = CalendarGrid.empty(property.getId(), FROM, (int) ChronoUnit.DAYS.between(FROM, to) + 1);
+        for (LocalDate date : blocked) {
+            grid.statuses()[(int) ChronoUnit.DAYS.between(FROM, date)] = CalendarDayStatus.BLOCKED;
+        }
+        return grid;
+    }
+
+    private void stubGrids(LocalDate to, CalendarGrid... grids) {
+        Map<Long, CalendarGrid> byProperty = new LinkedHashMap<>();
+        for (CalendarGrid grid : grids) {
+            byProperty.put(grid.propertyId(), grid);
+        }
+        when(calendarGridRepository.findGrids(anySet(), eq(FROM), eq(to.plusDays(1)), eq(ORG_ID)))
+                .thenReturn(byProperty);
     }
 
     @Nested
@@ -121,10 +132,9 @@ class BookingEngineCalendarServiceTest {
             Property apt = buildProperty(1L, PropertyType.APARTMENT, 2, new BigDecimal("100"), new BigDecimal("50"));
             apt.setMaxGuests(null); // null means "no limit"
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(apt));
-            when(calendarDayRepository.findByPropertiesAndDateRange(anySet(), eq(FROM), eq(TO), eq(ORG_ID)))
-                    .thenReturn(List.of());
-            when(priceEngine.resolvePriceRange(eq(1L), eq(FROM), eq(TO.plusDays(1)), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("100")));
+            stubGrids(TO, grid(apt, TO));
+            when(priceEngine.resolvePriceRanges(any(), eq(FROM), eq(TO.plusDays(1)), eq(ORG_ID)))
+                    .thenReturn(Map.of(1L, Map.of(FROM, new BigDecimal("100"))));
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
                     ORG_ID, FROM, TO, null, 100);
@@ -143,14 +153,11 @@ class BookingEngineCalendarServiceTest {
             Property apt = buildProperty(1L, PropertyType.APARTMENT, 4, new BigDecimal("100"), new BigDecimal("30"));
             Property villa = buildProperty(2L, PropertyType.VILLA, 6, new BigDecimal("200"), new BigDecimal("70"));
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(apt, villa));
-            when(calendarDayRepository.findByPropertiesAndDateRange(anySet(), eq(FROM), eq(TO), eq(ORG_ID)))
-                    .thenReturn(List.of());
-            when(priceEngine.resolvePriceRange(eq(1L), eq(FROM), eq(TO.plusDays(1)), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("90"),
-                            FROM.plusDays(1), new BigDecimal("95")));
-            when(priceEngine.resolvePriceRange(eq(2L), eq(FROM), eq(TO.plusDays(1)), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("150"),
-                            FROM.plusDays(1), new BigDecimal("80")));
+            stubGrids(TO, grid(apt, TO), grid(villa, TO));
+            when(priceEngine.resolvePriceRanges(any(), eq(FROM), eq(TO.plusDays(1)), eq(ORG_ID)))
+                    .thenReturn(Map.of(
+                            1L, Map.of(FROM, new BigDecimal("90"), FROM.plusDays(1), new BigDecimal("95")),
+                            2L, Map.of(FROM, new BigDecimal("150"), FROM.plusDays(1), new BigDecimal("80"))));
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
                     ORG_ID, FROM, TO, null, null);
@@ -176,13 +183,8 @@ class BookingEngineCalendarServiceTest {
             Property apt = buildProperty(1L, PropertyType.APARTMENT, 4, new BigDecimal("100"), new BigDecimal("30"));
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(apt));
             // Block all 3 days for the only property
-            when(calendarDayRepository.findByPropertiesAndDateRange(anySet(), eq(FROM), eq(TO), eq(ORG_ID)))
-                    .thenReturn(List.of(
-                            blockedDay(apt, FROM),
-                            blockedDay(apt, FROM.plusDays(1)),
-                            blockedDay(apt, TO)
-                    ));
-            when(priceEngine.resolvePriceRange(eq(1L), any(), any(), eq(ORG_ID)))
+            stubGrids(TO, grid(apt, TO, FROM, FROM.plusDays(1), TO));
+            when(priceEngine.resolvePriceRanges(any(), any(), any(), eq(ORG_ID)))
                     .thenReturn(Map.of());
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
@@ -200,16 +202,13 @@ class BookingEngineCalendarServiceTest {
             Property b = buildProperty(2L, PropertyType.STUDIO, 2, new BigDecimal("80"), new BigDecimal("20"));
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(a, b));
             // Block property A on day 0 only
-            when(calendarDayRepository.findByPropertiesAndDateRange(anySet(), eq(FROM), eq(TO), eq(ORG_ID)))
-                    .thenReturn(List.of(blockedDay(a, FROM)));
-            when(priceEngine.resolvePriceRange(eq(1L), any(), any(), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("100"),
-                            FROM.plusDays(1), new BigDecimal("100"),
-                            TO, new BigDecimal("100")));
-            when(priceEngine.resolvePriceRange(eq(2L), any(), any(), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("80"),
-                            FROM.plusDays(1), new BigDecimal("80"),
-                            TO, new BigDecimal("80")));
+            stubGrids(TO, grid(a, TO, FROM), grid(b, TO));
+            when(priceEngine.resolvePriceRanges(any(), any(), any(), eq(ORG_ID)))
+                    .thenReturn(Map.of(
+                            1L, Map.of(FROM, new BigDecimal("100"), FROM.plusDays(1), new BigDecimal("100"),
+                                    TO, new BigDecimal("100")),
+                            2L, Map.of(FROM, new BigDecimal("80"), FROM.plusDays(1), new BigDecimal("80"),
+                                    TO, new BigDecimal("80"))));
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
                     ORG_ID, FROM, TO, null, null);
@@ -228,16 +227,12 @@ class BookingEngineCalendarServiceTest {
         void whenCalendarDayStatusIsAvailable_thenNotConsideredBlocked() {
             Property a = buildProperty(1L, PropertyType.APARTMENT, 2, new BigDecimal("100"), new BigDecimal("30"));
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(a));
-            // Returned with status AVAILABLE: this should NOT mark the day as blocked
-            CalendarDay cd = new CalendarDay();
-            cd.setProperty(a);
-            cd.setDate(FROM);
-            cd.setStatus(CalendarDayStatus.AVAILABLE);
-            cd.setOrganizationId(ORG_ID);
-            when(calendarDayRepository.findByPropertiesAndDateRange(anySet(), eq(FROM), eq(TO), eq(ORG_ID)))
-                    .thenReturn(List.of(cd));
-            when(priceEngine.resolvePriceRange(eq(1L), any(), any(), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("100")));
+            // Row present with status AVAILABLE (priced day): this should NOT mark the day as blocked
+            CalendarGrid grid = grid(a, TO);
+            grid.nightlyPrices()[0] = new BigDecimal("100");
+            stubGrids(TO, grid);
+            when(priceEngine.resolvePriceRanges(any(), any(), any(), eq(ORG_ID)))
+                    .thenReturn(Map.of(1L, Map.of(FROM, new BigDecimal("100"))));
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
                     ORG_ID, FROM, TO, null, null);
@@ -303,11 +298,9 @@ class BookingEngineCalendarServiceTest {
         void whenFromEqualsTo_thenOneDayReturned() {
             Property apt = buildProperty(1L, PropertyType.APARTMENT, 2, new BigDecimal("100"), new BigDecimal("30"));
             when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(apt));
-            when(calendarDayRepository.findByPropertiesAndDateRange(
-                    anySet(), eq(FROM), eq(FROM), eq(ORG_ID)))
-                    .thenReturn(List.of());
-            when(priceEngine.resolvePriceRange(eq(1L), eq(FROM), eq(FROM.plusDays(1)), eq(ORG_ID)))
-                    .thenReturn(Map.of(FROM, new BigDecimal("100")));
+            stubGrids(FROM, grid(apt, FROM));
+            when(priceEngine.resolvePriceRanges(any(), eq(FROM), eq(FROM.plusDays(1)), eq(ORG_ID)))
+                    .thenReturn(Map.of(1L, Map.of(FROM, new BigDecimal("100"))));
 
             CalendarAvailabilityResponseDto result = service.getCalendarAvailability(
                     ORG_ID, FROM, FROM, null, null);
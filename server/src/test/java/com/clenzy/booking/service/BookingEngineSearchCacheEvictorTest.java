@@ -10,6 +10,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Garde-fou du câblage d'invalidation : un changement de prix/dispo doit vider TOUS les caches
@@ -39,4 +41,26 @@ class BookingEngineSearchCacheEvictorTest {
             .as("éviction grossière mais sûre : allEntries sur chaque cache")
             .isTrue();
     }
+
+    @Test
+    @DisplayName("variante par org : mêmes évictions annotées + invalidation scopée de la recherche par dates")
+    void orgScopedVariant_evictsSameCachesAndScopesStaySearch() throws NoSuchMethodException {
+        Method m = BookingEngineSearchCacheEvictor.class.getMethod("onAvailabilityOrPriceChanged", Long.class);
+        Caching caching = m.getAnnotation(Caching.class);
+        assertThat(caching).isNotNull();
+        assertThat(Arrays.stream(caching.evict()).flatMap(evict -> Arrays.stream(evict.value())).toList())
+            .containsExactlyInAnyOrder(
+                "booking-engine-price-calendar",
+                "booking-engine-properties",
+                "booking-engine-search");
+
+        StaySearchResultCache staySearchCache = mock(StaySearchResultCache.class);
+        BookingEngineSearchCacheEvictor evictor = new BookingEngineSearchCacheEvictor(staySearchCache);
+
+        evictor.onAvailabilityOrPriceChanged(7L);
+        verify(staySearchCache).invalidateOrganization(7L);
+
+        evictor.onAvailabilityOrPriceChanged();
+        verify(staySearchCache).invalidateAll();
+    }
 }
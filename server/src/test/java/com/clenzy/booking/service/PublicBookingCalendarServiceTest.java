@@ -3,11 +3,11 @@ package com.clenzy.booking.service;
 import com.clenzy.booking.dto.PropertyCalendarDto;
 import com.clenzy.booking.dto.PropertyCalendarDto.CalendarDayDto;
 import com.clenzy.booking.service.PublicBookingService.OrgContext;
-import com.clenzy.model.CalendarDay;
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.Organization;
 import com.clenzy.model.Property;
-import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.PriceEngine;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +19,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -33,13 +33,13 @@ import static org.mockito.Mockito.when;
 
 /**
  * Grille de calendrier publique par propriété (CLZ Domaine 2) : disponibilité (convention
- * CalendarDay), prix nuitée (PriceEngine), min-nights, jours passés/non tarifés non réservables.
+ * CalendarDay, lue via la grille compacte), prix nuitée (PriceEngine), min-nights, jours passés/non tarifés non réservables.
  */
 @ExtendWith(MockitoExtension.class)
 class PublicBookingCalendarServiceTest {
 
     @Mock private PropertyRepository propertyRepository;
-    @Mock private CalendarDayRepository calendarDayRepository;
+    @Mock private CalendarGridJdbcRepository calendarGridRepository;
     @Mock private PriceEngine priceEngine;
     @Mock private com.clenzy.service.CurrencyConverterService currencyConverter;
 
@@ -51,7 +51,7 @@ class PublicBookingCalendarServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new PublicBookingCalendarService(propertyRepository, calendarDayRepository, priceEngine, currencyConverter, new BookingMockDataProvider());
+        service = new PublicBookingCalendarService(propertyRepository, calendarGridRepository, priceEngine, currencyConverter, new BookingMockDataProvider());
     }
 
     private OrgContext ctx() {
@@ -80,12 +80,18 @@ class PublicBookingCalendarServiceTest {
         return prices;
     }
 
+    private static CalendarGrid emptyGrid(LocalDate from, LocalDate to) {
+        return CalendarGrid.empty(PID, from, (int) ChronoUnit.DAYS.between(from, to));
+    }
+
     @Test
     void calendar_marksAvailability_price_andMinNights() {
         when(propertyRepository.findBookingEngineProperty(PID, ORG)).thenReturn(Optional.of(property()));
-        CalendarDay blocked = new CalendarDay(property(), LocalDate.of(2090, 1, 5), CalendarDayStatus.BOOKED, ORG);
-        when(calendarDayRepository.findByPropertyAndDateRange(eq(PID), any(), any(), eq(ORG)))
-            .thenReturn(List.of(blocked));
+        when(calendarGridRepository.findGrid(eq(PID), any(), any(), eq(ORG))).thenAnswer(inv -> {
+            CalendarGrid grid = emptyGrid(inv.getArgument(1), inv.getArgument(2));
+            grid.statuses()[4] = CalendarDayStatus.BOOKED; // 2090-01-05
+            return grid;
+        });
         when(priceEngine.resolvePriceRange(eq(PID), any(), any(), eq(ORG)))
             .thenReturn(pricesExcept(FUTURE, LocalDate.of(2090, 1, 10)));
 
@@ -119,7 +125,8 @@ class PublicBookingCalendarServiceTest {
     @Test
     void pastMonth_allDaysUnavailable() {
         when(propertyRepository.findBookingEngineProperty(PID, ORG)).thenReturn(Optional.of(property()));
-        when(calendarDayRepository.findByPropertyAndDateRange(any(), any(), any(), any())).thenReturn(List.of());
+        when(calendarGridRepository.findGrid(any(), any(), any(), any()))
+            .thenAnswer(inv -> emptyGrid(inv.getArgument(1), inv.getArgument(2)));
         YearMonth past = YearMonth.of(2000, 1);
         when(priceEngine.resolvePriceRange(any(), any(), any(), any())).thenReturn(pricesExcept(past, null));
 
@@ -132,7 +139,8 @@ class PublicBookingCalendarServiceTest {
     @Test
     void multiMonth_spansRequestedMonths() {
         when(propertyRepository.findBookingEngineProperty(PID, ORG)).thenReturn(Optional.of(property()));
-        when(calendarDayRepository.findByPropertyAndDateRange(any(), any(), any(), any())).thenReturn(List.of());
+        when(calendarGridRepository.findGrid(any(), any(), any(), any()))
+            .thenAnswer(inv -> emptyGrid(inv.getArgument(1), inv.getArgument(2)));
         when(priceEngine.resolvePriceRange(any(), any(), any(), any())).thenReturn(Map.of());
 
         PropertyCalendarDto cal = service.getCalendar(ctx(), PID, FUTURE, 2);
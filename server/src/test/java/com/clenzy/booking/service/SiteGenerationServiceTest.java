@@ -68,6 +68,7 @@ class SiteGenerationServiceTest {
     @Mock private com.clenzy.service.ai.CreditBalanceService creditBalanceService;
     @Mock private com.clenzy.service.ai.CreditMeteringService creditMeteringService;
     @Mock private ObjectProvider<SiteGenerationService> self;
+    @Mock private SiteRenderCache renderCache;
 
     private ObjectMapper objectMapper;
     private SiteGenerationService service;
@@ -78,7 +79,7 @@ class SiteGenerationServiceTest {
         service = new SiteGenerationService(
             siteRepository, configRepository, designSystemRepository, propertyRepository, aiProviderRouter,
             tokenBudgetService, siteAdminService, notificationService, aiProperties, creditBalanceService,
-            creditMeteringService, objectMapper, self);
+            creditMeteringService, objectMapper, self, renderCache);
         // self.getObject() → l'instance réelle (applyTheme / loadOrgImageUrls / meterGenerationCredits = no-op en test).
         lenient().when(self.getObject()).thenReturn(service);
         // Pas de photos réelles en test unitaire → repli placeholders (liste vide).
@@ -223,6 +224,8 @@ class SiteGenerationServiceTest {
         assertThat(saved.getDesignTokens()).isNotBlank();
         // Couleur primaire issue du brief (#c2674a).
         assertThat(saved.getPrimaryColor()).isEqualTo("#c2674a");
+        // Le thème fait partie de la vue publique en cache : re-matérialisée après commit.
+        verify(renderCache).refreshSite(SITE_ID);
     }
 
     @Test
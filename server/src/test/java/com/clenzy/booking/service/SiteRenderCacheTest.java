@@ -0,0 +1,174 @@
+package com.clenzy.booking.service;
+
+import com.clenzy.booking.dto.SitePagePublicDto;
+import com.clenzy.booking.dto.SitePublicDto;
+import com.clenzy.booking.service.SiteDeliveryService.SiteContent;
+import com.clenzy.booking.service.SiteRenderCache.RenderedBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SiteRenderCacheTest {
+
+    private static final Long SITE_ID = 7L;
+
+    @Mock private SiteDeliveryService deliveryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SimpleMeterRegistry meterRegistry;
+    private SiteRenderCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SiteRenderCache(deliveryService, new ConcurrentMapCacheManager(), objectMapper, meterRegistry);
+    }
+
+    // ─── helpers ─────────────────────────────────────────────────────────
+
+    private static SitePublicDto site(String name) {
+        return new SitePublicDto(SITE_ID, "villa", name, "fr", "fr,en", null, null, null, null,
+            null, null, null, 3L, "key", null, null, null, false, List.of());
+    }
+
+    private static SitePagePublicDto page(String path, String locale, String title) {
+        return new SitePagePublicDto(path, "HOME", title, "[]", locale, null, null, null);
+    }
+
+    private static SiteContent content(String name, Map<String, SitePagePublicDto> pages, Set<String> hiddenPages) {
+        return new SiteContent(true, site(name), pages, hiddenPages, List.of(), Map.of(), Set.of(), List.of());
+    }
+
+    private static String json(RenderedBody body) {
+        return new String(body.plain(), StandardCharsets.UTF_8);
+    }
+
+    // ─── tests ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("corps gzip = JSON de l'ObjectMapper ; ETag faible stable pour un contenu identique")
+    void render_gzipRoundTripAndStableEtag() throws Exception {
+        SitePagePublicDto dto = page("/", null, "Accueil");
+
+        RenderedBody first = cache.render(dto);
+        RenderedBody second = cache.render(dto);
+        RenderedBody other = cache.render(page("/", null, "Home"));
+
+        assertThat(first.plain()).isEqualTo(objectMapper.writeValueAsBytes(dto));
+        assertThat(first.gzip()).isNotEqualTo(first.plain());
+        assertThat(first.etag()).startsWith("W/\"").isEqualTo(second.etag());
+        assertThat(other.etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    @DisplayName("les lectures suivantes sont servies sans relire la base")
+    void page_servedFromCacheAfterFirstRender() {
+        when(deliveryService.loadContent(SITE_ID)).thenReturn(
+            content("Villa", Map.of(SiteDeliveryService.contentKey("/", null), page("/", null, "Accueil")), Set.of()));
+
+        Optional<RenderedBody> first = cache.page(SITE_ID, "/", null);
+        Optional<RenderedBody> second = cache.page(SITE_ID, "/", null);
+
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        verify(deliveryService, times(1)).loadContent(SITE_ID);
+        assertThat(meterRegistry.counter("sites.delivery.cache", "result", "hit").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("sites.delivery.cache", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("refreshSite remplace la version servie (nouvel ETag)")
+    void refreshSite_swapsContent() {
+        String home = SiteDeliveryService.contentKey("/", null);
+        when(deliveryService.loadContent(SITE_ID))
+            .thenReturn(content("Villa", Map.of(home, page("/", null, "Avant")), Set.of()))
+            .thenReturn(content("Villa", Map.of(home, page("/", null, "Apres")), Set.of()));
+
+        RenderedBody before = cache.page(SITE_ID, "/", null).orElseThrow();
+        cache.refreshSite(SITE_ID); // hors transaction : exécuté immédiatement
+        RenderedBody after = cache.page(SITE_ID, "/", null).orElseThrow();
+
+        assertThat(json(before)).contains("Avant");
+        assertThat(json(after)).contains("Apres");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        verify(deliveryService, times(2)).loadContent(SITE_ID);
+    }
+
+    @Test
+    @DisplayName("langue : variante publiée, sinon repli sans langue — sauf si la variante existe en brouillon")
+    void page_localeFallbackMatchesDelivery() {
+        when(deliveryService.loadContent(SITE_ID)).thenReturn(content("Villa", Map.of(
+                SiteDeliveryService.contentKey("/", null), page("/", null, "Accueil"),
+                SiteDeliveryService.contentKey("/", "en"), page("/", "en", "Home")),
+            Set.of(SiteDeliveryService.contentKey("/", "de"))));
+
+        assertThat(cache.page(SITE_ID, "/", "en").map(SiteRenderCacheTest::json).orElseThrow()).contains("Home");
+        assertThat(cache.page(SITE_ID, "/", "es").map(SiteRenderCacheTest::json).orElseThrow()).contains("Accueil");
+        assertThat(cache.page(SITE_ID, "/", "de")).isEmpty();
+        assertThat(cache.page(SITE_ID, "/missing", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("site non publié : 404 sur resolve/page, listes vides")
+    void unpublishedSite_servesNothing() {
+        when(deliveryService.resolveSiteId("villa.clenzy.site")).thenReturn(Optional.of(SITE_ID));
+        when(deliveryService.loadContent(SITE_ID)).thenReturn(SiteContent.unpublished());
+
+        assertThat(cache.resolve("villa.clenzy.site")).isEmpty();
+        assertThat(cache.page(SITE_ID, "/", null)).isEmpty();
+        assertThat(json(cache.posts(SITE_ID))).isEqualTo("[]");
+        assertThat(json(cache.sitemap(SITE_ID))).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("identifiant inconnu : rien n'est écrit dans le cache (scan d'identifiants)")
+    void unknownSite_isNotCached() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        cache = new SiteRenderCache(deliveryService, cacheManager, objectMapper, meterRegistry);
+        when(deliveryService.loadContent(404L)).thenReturn(SiteContent.unpublished());
+
+        assertThat(cache.page(404L, "/", null)).isEmpty();
+        assertThat(cache.page(404L, "/", null)).isEmpty();
+
+        assertThat(cacheManager.getCache("site-delivery").get(SiteRenderCache.siteKey(404L))).isNull();
+        verify(deliveryService, times(2)).loadContent(404L);
+    }
+
+    @Test
+    @DisplayName("hostname : normalisé, mapping caché y compris pour un hôte inconnu (cache négatif)")
+    void resolve_cachesHostMappingIncludingUnknownHosts() {
+        when(deliveryService.resolveSiteId("villa.clenzy.site")).thenReturn(Optional.of(SITE_ID));
+        when(deliveryService.resolveSiteId("unknown.example.com")).thenReturn(Optional.empty());
+        when(deliveryService.loadContent(SITE_ID)).thenReturn(content("Villa", Map.of(), Set.of()));
+
+        assertThat(cache.resolve("Villa.Clenzy.Site:443")).isPresent();
+        assertThat(cache.resolve("villa.clenzy.site")).isPresent();
+        assertThat(cache.resolve("unknown.example.com")).isEmpty();
+        assertThat(cache.resolve("unknown.example.com")).isEmpty();
+
+        verify(deliveryService, times(1)).resolveSiteId("villa.clenzy.site");
+        verify(deliveryService, times(1)).resolveSiteId("unknown.example.com");
+
+        cache.invalidateHosts();
+        cache.resolve("unknown.example.com");
+        verify(deliveryService, times(2)).resolveSiteId("unknown.example.com");
+    }
+}
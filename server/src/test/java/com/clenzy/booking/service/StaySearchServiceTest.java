@@ -0,0 +1,221 @@
+package com.clenzy.booking.service;
+
+import com.clenzy.booking.dto.AvailabilityRequestDto;
+import com.clenzy.booking.dto.AvailabilityResponseDto;
+import com.clenzy.booking.dto.PropertySearchFilters;
+import com.clenzy.booking.model.BookingEngineConfig;
+import com.clenzy.booking.repository.BookingEngineConfigRepository;
+import com.clenzy.dto.TouristTaxCalculationDto;
+import com.clenzy.model.Organization;
+import com.clenzy.model.Property;
+import com.clenzy.model.PropertyType;
+import com.clenzy.repository.*;
+import com.clenzy.service.*;
+import com.clenzy.service.voucher.VoucherEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StaySearchServiceTest {
+
+    @Mock private BookingEngineConfigRepository configRepository;
+    @Mock private OrganizationRepository organizationRepository;
+    @Mock private PropertyRepository propertyRepository;
+    @Mock private ReservationRepository reservationRepository;
+    @Mock private CalendarDayRepository calendarDayRepository;
+    @Mock private PriceEngine priceEngine;
+    @Mock private RestrictionEngine restrictionEngine;
+    @Mock private CalendarEngine calendarEngine;
+    @Mock private GuestService guestService;
+    @Mock private TouristTaxService touristTaxService;
+    @Mock private StripeService stripeService;
+    @Mock private GuestReviewRepository guestReviewRepository;
+    @Mock private VoucherEngine voucherEngine;
+    @Mock private NotificationService notificationService;
+    @Mock private BookingServiceOptionsService serviceOptionsService;
+    @Mock private com.clenzy.booking.security.BookingFraudScoringService fraudScoringService;
+    @Mock private com.clenzy.service.PaymentOrchestrationService orchestrationService;
+    @Mock private org.springframework.transaction.PlatformTransactionManager transactionManager;
+
+    private PublicBookingService bookingService;
+    private StaySearchResultCache resultCache;
+    private StaySearchService service;
+
+    private static final Long ORG_ID = 10L;
+
+    private LocalDate in;
+    private LocalDate out;
+
+    @BeforeEach
+    void setUp() {
+        BookingDisplayCurrencyService displayCurrencyService =
+                new BookingDisplayCurrencyService(mock(CurrencyConverterService.class));
+        BookingMockDataProvider mockDataProvider = new BookingMockDataProvider();
+        bookingService = new PublicBookingService(
+                configRepository, organizationRepository, propertyRepository,
+                reservationRepository, calendarDayRepository, priceEngine,
+                restrictionEngine, calendarEngine, guestService, touristTaxService,
+                stripeService, guestReviewRepository, voucherEngine, notificationService,
+                serviceOptionsService,
+                mock(com.clenzy.service.email.BookingConfirmationEmailService.class),
+                mock(BookingEngineDepositService.class),
+                mock(GuestCreditService.class),
+                mock(com.clenzy.booking.repository.SiteRepository.class),
+                mock(com.clenzy.booking.repository.SitePageRepository.class),
+                displayCurrencyService,
+                mock(UpsellService.class),
+                fraudScoringService,
+                mock(com.clenzy.service.agent.supervision.SupervisionSuggestionService.class),
+                mockDataProvider,
+                orchestrationService,
+                transactionManager);
+        resultCache = new StaySearchResultCache(new ConcurrentMapCacheManager(), new SimpleMeterRegistry());
+        service = new StaySearchService(bookingService, propertyRepository, calendarDayRepository,
+                restrictionEngine, priceEngine, displayCurrencyService, mockDataProvider, resultCache);
+
+        in = LocalDate.now().plusDays(7);
+        out = LocalDate.now().plusDays(10);
+    }
+
+    // ───────────────────── helpers ──────────────────────────────────────────────
+
+    private PublicBookingService.OrgContext ctx() {
+        Organization o = new Organization();
+        o.setId(ORG_ID);
+        o.setSlug("my-org");
+        BookingEngineConfig c = new BookingEngineConfig();
+        c.setId(1L);
+        c.setOrganizationId(ORG_ID);
+        c.setEnabled(true);
+        c.setMinAdvanceDays(0);
+        c.setMaxAdvanceDays(365);
+        c.setShowCleaningFee(true);
+        c.setShowTouristTax(true);
+        c.setDefaultCurrency("EUR");
+        return new PublicBookingService.OrgContext(o, c);
+    }
+
+    private Property property(long id, int maxGuests) {
+        Property p = new Property();
+        p.setId(id);
+        p.setName("Logement " + id);
+        p.setOrganizationId(ORG_ID);
+        p.setMaxGuests(maxGuests);
+        p.setMinimumNights(1);
+        p.setNightlyPrice(new BigDecimal("100.00"));
+        p.setCleaningBasePrice(new BigDecimal("30.00"));
+        p.setDefaultCurrency("EUR");
+        p.setType(PropertyType.APARTMENT);
+        return p;
+    }
+
+    private Map<LocalDate, BigDecimal> prices() {
+        Map<LocalDate, BigDecimal> prices = new HashMap<>();
+        prices.put(in, new BigDecimal("120.00"));
+        prices.put(in.plusDays(1), new BigDecimal("110.00"));
+        prices.put(in.plusDays(2), new BigDecimal("100.00"));
+        return prices;
+    }
+
+    private List<AvailabilityResponseDto> search(int guests) {
+        return service.search(ctx(), in, out, guests, false, PropertySearchFilters.NONE, null);
+    }
+
+    // ───────────────────── tests ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("filtre par passes batch : capacité en mémoire, restrictions, calendrier puis prix des seuls survivants")
+    void search_filtersInBatchedPasses() {
+        Property free = property(1L, 4);
+        Property restricted = property(2L, 4);
+        Property booked = property(3L, 4);
+        Property tooSmall = property(4L, 1);
+        when(propertyRepository.findBookingEngineVisible(ORG_ID))
+                .thenReturn(List.of(free, restricted, booked, tooSmall));
+        when(restrictionEngine.validateAll(List.of(1L, 2L, 3L), in, out, ORG_ID)).thenReturn(Map.of(
+                1L, RestrictionEngine.ValidationResult.valid(),
+                2L, RestrictionEngine.ValidationResult.invalid(List.of("Sejour min 5 nuits")),
+                3L, RestrictionEngine.ValidationResult.valid()));
+        when(calendarDayRepository.findConflictingPropertyIds(List.of(1L, 3L), in, out, ORG_ID))
+                .thenReturn(List.of(3L));
+        when(priceEngine.resolvePriceRanges(List.of(free), in, out, ORG_ID))
+                .thenReturn(Map.of(1L, prices()));
+
+        List<AvailabilityResponseDto> results = search(2);
+
+        assertThat(results).extracting(AvailabilityResponseDto::propertyId).containsExactly(1L);
+        verify(restrictionEngine, never()).validate(anyLong(), any(), any(), anyLong());
+        verify(calendarDayRepository, never()).countConflicts(anyLong(), any(), any(), anyLong());
+        verify(priceEngine, never()).resolvePriceRange(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("total identique au devis /availability (montant facturé au checkout)")
+    void search_totalMatchesCheckAvailability() {
+        Property p = property(42L, 4);
+        when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of(p));
+        when(propertyRepository.findBookingEngineProperty(42L, ORG_ID)).thenReturn(Optional.of(p));
+        when(restrictionEngine.validateAll(List.of(42L), in, out, ORG_ID))
+                .thenReturn(Map.of(42L, RestrictionEngine.ValidationResult.valid()));
+        when(restrictionEngine.validate(42L, in, out, ORG_ID)).thenReturn(RestrictionEngine.ValidationResult.valid());
+        when(calendarDayRepository.findConflictingPropertyIds(List.of(42L), in, out, ORG_ID)).thenReturn(List.of());
+        when(calendarDayRepository.countConflicts(42L, in, out, ORG_ID)).thenReturn(0L);
+        when(priceEngine.resolvePriceRanges(List.of(p), in, out, ORG_ID)).thenReturn(Map.of(42L, prices()));
+        when(priceEngine.resolvePriceRange(42L, in, out, ORG_ID)).thenReturn(prices());
+        when(touristTaxService.calculate(eq(42L), eq(ORG_ID), eq(3), eq(2), any()))
+                .thenReturn(new TouristTaxCalculationDto(42L, "Paris", null, 3, 2,
+                        new BigDecimal("1.50"), new BigDecimal("9.00"), "ok"));
+
+        List<AvailabilityResponseDto> results = search(2);
+        AvailabilityResponseDto quote = bookingService.checkAvailability(ctx(),
+                new AvailabilityRequestDto(42L, in, out, 2));
+
+        assertThat(results).containsExactly(quote);
+        assertThat(results.get(0).total()).isEqualByComparingTo("369.00");
+    }
+
+    @Test
+    @DisplayName("cache : la 2e recherche identique ne touche pas la base ; l'invalidation de l'org la recalcule")
+    void search_cachedUntilOrganizationInvalidated() {
+        when(propertyRepository.findBookingEngineVisible(ORG_ID)).thenReturn(List.of());
+
+        search(2);
+        search(2);
+        verify(propertyRepository, times(1)).findBookingEngineVisible(ORG_ID);
+
+        resultCache.invalidateOrganization(ORG_ID + 1);
+        search(2);
+        verify(propertyRepository, times(1)).findBookingEngineVisible(ORG_ID);
+
+        resultCache.invalidateOrganization(ORG_ID);
+        search(2);
+        verify(propertyRepository, times(2)).findBookingEngineVisible(ORG_ID);
+    }
+
+    @Test
+    @DisplayName("checkOut <= checkIn ou fenêtre > 365 nuits → IllegalArgumentException")
+    void search_invalidWindow_rejected() {
+        assertThatThrownBy(() -> service.search(ctx(), in, in, 2, false, PropertySearchFilters.NONE, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(ctx(), in, in.plusDays(366), 2, false, PropertySearchFilters.NONE, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(propertyRepository);
+    }
+}
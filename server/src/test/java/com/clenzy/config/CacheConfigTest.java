@@ -1,9 +1,11 @@
 package com.clenzy.config;
 
+import com.clenzy.booking.dto.AvailabilityResponseDto;
 import com.clenzy.booking.dto.PropertyCalendarDto;
 import com.clenzy.booking.dto.PublicPropertyDetailDto;
 import com.clenzy.booking.dto.PublicPropertyDto;
 import com.clenzy.booking.dto.PublicSearchFiltersDto;
+import com.clenzy.booking.service.SiteRenderCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,7 +20,11 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -179,6 +185,42 @@ class CacheConfigTest {
             assertThat(back).isInstanceOf(PropertyCalendarDto.class).isEqualTo(original);
         }
 
+        @Test
+        @DisplayName("ArrayList<AvailabilityResponseDto> (cache booking-engine-stay-search) survit au round-trip")
+        void staySearchResults_roundTrip() throws Exception {
+            AvailabilityResponseDto quote = new AvailabilityResponseDto(
+                true, 42L, "Villa Azur", LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 3), 2, 2,
+                List.of(new AvailabilityResponseDto.NightBreakdown(LocalDate.of(2026, 8, 1), new BigDecimal("120.00"), "BASE"),
+                        new AvailabilityResponseDto.NightBreakdown(LocalDate.of(2026, 8, 2), new BigDecimal("130.00"), "CUSTOM")),
+                new BigDecimal("250.00"), new BigDecimal("40.00"), new BigDecimal("4.00"), new BigDecimal("294.00"),
+                new BigDecimal("0.00"), "EUR", 2, 6, "15:00", "11:00", List.of());
+            ArrayList<AvailabilityResponseDto> original = new ArrayList<>(List.of(quote));
+
+            Object back = roundTrip(original);
+
+            assertThat(back).isInstanceOf(List.class);
+            assertThat((List<?>) back).containsExactly(quote);
+        }
+
+        @Test
+        @DisplayName("RenderedSite (cache site-delivery) survit au round-trip, corps gzip et ETag intacts")
+        void renderedSite_roundTrip() throws Exception {
+            SiteRenderCache.RenderedBody body = new SiteRenderCache.RenderedBody("W/\"abc\"", new byte[]{31, -117, 8, 0});
+            SiteRenderCache.RenderedSite original = new SiteRenderCache.RenderedSite(true, body,
+                new HashMap<>(Map.of("/|*", body)), new HashSet<>(Set.of("/|en")), body,
+                new HashMap<>(), new HashSet<>(), body);
+
+            Object back = roundTrip(original);
+
+            assertThat(back).isInstanceOf(SiteRenderCache.RenderedSite.class);
+            SiteRenderCache.RenderedSite site = (SiteRenderCache.RenderedSite) back;
+            assertThat(site.published()).isTrue();
+            assertThat(site.pages().get("/|*").etag()).isEqualTo("W/\"abc\"");
+            assertThat(site.pages().get("/|*").gzip()).isEqualTo(body.gzip());
+            assertThat(site.hiddenPages()).containsExactly("/|en");
+            assertThat(site.sitemap().gzip()).isEqualTo(body.gzip());
+        }
+
         @Test
         @DisplayName("BigDecimal (valeur du cache exchange-rates) survit au round-trip")
         void bigDecimalRate_roundTrips() throws Exception {
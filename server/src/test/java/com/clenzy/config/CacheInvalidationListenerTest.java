@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.connection.Message;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 
@@ -62,4 +63,29 @@ class CacheInvalidationListenerTest {
 
         verifyNoInteractions(cacheManager);
     }
+
+    @Test void whenMessageTargetsRegisteredLocalCache_thenEvictsOnlyThatKey() {
+        LocalCacheInvalidation localCache = mock(LocalCacheInvalidation.class);
+        when(localCache.cacheName()).thenReturn("org-settings-snapshot");
+        CacheInvalidationListener routing =
+                new CacheInvalidationListener(cacheManager, List.of(localCache), SELF_ID);
+
+        routing.onMessage(message(new CacheInvalidationMessage("node-other", "org-settings-snapshot", "7").serialize()), null);
+        routing.onMessage(message(CacheInvalidationMessage.clear("node-other", "org-settings-snapshot").serialize()), null);
+
+        verify(localCache).evictLocal("7");
+        verify(localCache).evictLocal(null);
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test void whenNoTwoLayerManager_thenLocalCachesStillServed() {
+        LocalCacheInvalidation localCache = mock(LocalCacheInvalidation.class);
+        when(localCache.cacheName()).thenReturn("org-settings-snapshot");
+        CacheInvalidationListener localOnly = new CacheInvalidationListener(null, List.of(localCache), SELF_ID);
+
+        localOnly.onMessage(message(new CacheInvalidationMessage("node-other", "properties", "42").serialize()), null);
+        localOnly.onMessage(message(new CacheInvalidationMessage("node-other", "org-settings-snapshot", "7").serialize()), null);
+
+        verify(localCache).evictLocal("7");
+    }
 }
@@ -0,0 +1,125 @@
+package com.clenzy.config;
+
+import com.clenzy.service.storage.archival.ArchivalService;
+import com.clenzy.service.storage.archival.ArchivalService.ArchivalResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarCommandPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private ArchivalService archivalService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CalendarCommandPartitionManager manager(boolean dropAfterArchive) {
+        return new CalendarCommandPartitionManager(jdbcTemplate, archivalService, meterRegistry,
+                24, "calendar-commands", dropAfterArchive);
+    }
+
+    private double failureCount() {
+        return meterRegistry.counter("clenzy.calendar.commands.partition.failures").count();
+    }
+
+    @Test
+    void monthOf_parsesMonthlyPartitionsOnly() {
+        assertEquals(YearMonth.of(2024, 1), CalendarCommandPartitionManager.monthOf("calendar_commands_2024_01"));
+        assertNull(CalendarCommandPartitionManager.monthOf("calendar_commands_default"));
+        assertNull(CalendarCommandPartitionManager.monthOf("calendar_commands_2024_01; DROP TABLE x"));
+        assertEquals("calendar_commands_2026_10", CalendarCommandPartitionManager.partitionName(YearMonth.of(2026, 10)));
+    }
+
+    @Test
+    void ensureFuturePartitions_createsCurrentAndThreeMonthsAheadIdempotently() {
+        manager(false).ensureFuturePartitions(TODAY);
+
+        verify(jdbcTemplate, times(4)).execute(contains("CREATE TABLE IF NOT EXISTS"));
+        verify(jdbcTemplate).execute(
+                "CREATE TABLE IF NOT EXISTS calendar_commands_2026_10 PARTITION OF calendar_commands "
+                        + "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')");
+        verify(jdbcTemplate).execute(contains("calendar_commands_2027_01"));
+    }
+
+    @Test
+    void ensureFuturePartitions_failureIsCountedAndDoesNotStopOtherMonths() {
+        doThrow(new RuntimeException("default overlap")).when(jdbcTemplate).execute(contains("calendar_commands_2026_11"));
+
+        assertDoesNotThrow(() -> manager(false).ensureFuturePartitions(TODAY));
+
+        verify(jdbcTemplate, times(4)).execute(anyString());
+        assertEquals(1.0, failureCount());
+    }
+
+    @Test
+    void detachExpiredPartitions_detachesOnlyMonthsBeyondRetention() {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of(
+                "calendar_commands_2024_09", "calendar_commands_2024_10", "calendar_commands_2026_10",
+                "calendar_commands_default"));
+
+        manager(false).detachExpiredPartitions(TODAY);
+
+        // Retention 24 mois : on garde a partir de 2024_10.
+        verify(jdbcTemplate).execute("ALTER TABLE calendar_commands DETACH PARTITION calendar_commands_2024_09");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    void archiveDetachedPartitions_dropsOnlyWhenArchiveIsCompleteAndDropEnabled() {
+        when(jdbcTemplate.queryForList(contains("NOT EXISTS"), eq(String.class)))
+                .thenReturn(List.of("calendar_commands_2024_08"));
+        when(archivalService.archiveSegment(eq("calendar-commands"), eq("2024_08"), any()))
+                .thenReturn(new ArchivalResult("calendar-commands", true, "ok", 1, 42L, 4_200L));
+        when(jdbcTemplate.queryForObject("SELECT count(*) FROM calendar_commands_2024_08", Long.class))
+                .thenReturn(42L);
+
+        manager(true).archiveDetachedPartitions();
+
+        verify(jdbcTemplate).execute("DROP TABLE calendar_commands_2024_08");
+    }
+
+    @Test
+    void archiveDetachedPartitions_keepsPartitionWhenArchivalInertOrIncomplete() {
+        when(jdbcTemplate.queryForList(contains("NOT EXISTS"), eq(String.class)))
+                .thenReturn(List.of("calendar_commands_2024_07", "calendar_commands_2024_08"));
+        when(archivalService.archiveSegment(eq("calendar-commands"), eq("2024_07"), any()))
+                .thenReturn(new ArchivalResult("calendar-commands", false, "archival-disabled", 0, 0L, 0L));
+        when(archivalService.archiveSegment(eq("calendar-commands"), eq("2024_08"), any()))
+                .thenReturn(new ArchivalResult("calendar-commands", true, "ok", 1, 41L, 4_100L));
+        when(jdbcTemplate.queryForObject("SELECT count(*) FROM calendar_commands_2024_08", Long.class))
+                .thenReturn(42L);
+
+        manager(true).archiveDetachedPartitions();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertEquals(1.0, failureCount());
+        assertEquals(2.0, meterRegistry.get("clenzy.calendar.commands.partition.detached_pending").gauge().value());
+    }
+
+    @Test
+    void maintainPartitions_tableNotPartitioned_skipsGracefully() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(Boolean.FALSE);
+
+        manager(true).maintainPartitions();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(archivalService);
+    }
+}
@@ -1,6 +1,8 @@
 package com.clenzy.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -9,10 +11,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
 
 import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link DataSourceRoutingConfig} and {@link ReadWriteRoutingDataSource}.
@@ -28,14 +40,34 @@ class DataSourceRoutingConfigTest {
 
     @Mock private DataSource primaryDataSource;
     @Mock private DataSource replicaDataSource;
+    @Mock private ReadYourWritesTracker readYourWritesTracker;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private final DataSourceRoutingConfig config = new DataSourceRoutingConfig();
 
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
     @AfterEach
     void tearDown() {
         TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
     }
 
+    private ReplicaLagMonitor monitor() {
+        Clock clock = new Clock() {
+            @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+            @Override public Instant instant() { return Instant.ofEpochMilli(now.get()); }
+        };
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, Duration.ofSeconds(5),
+                DataSize.ofBytes(10_000), Duration.ofSeconds(1), meterRegistry, clock);
+    }
+
+    private double decisions(String target, String reason) {
+        return meterRegistry.get("clenzy.datasource.routing").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
     @Nested
     @DisplayName("ReadWriteRoutingDataSource — lookup key")
     class RoutingLookup {
@@ -60,13 +92,114 @@ class DataSourceRoutingConfigTest {
         }
     }
 
+    @Nested
+    @DisplayName("Routage sensible au retard / read-your-writes")
+    class LagAwareRouting {
+
+        private ReplicaLagMonitor monitor;
+        private ReadWriteRoutingDataSource routing;
+
+        @BeforeEach
+        void setUp() {
+            monitor = monitor();
+            routing = new ReadWriteRoutingDataSource(monitor, readYourWritesTracker, meterRegistry);
+        }
+
+        @Test
+        void whenReplicaCaughtUpAndNoRecentWrite_thenReadGoesToReplica() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, 4_900, 0.2, now.get()));
+            when(readYourWritesTracker.requiredLsn()).thenReturn(0L);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.REPLICA);
+            assertThat(decisions("replica", "read")).isEqualTo(1.0);
+            assertThat(meterRegistry.get("clenzy.datasource.replica.lag_bytes").gauge().value()).isEqualTo(100.0);
+        }
+
+        @Test
+        void whenReplicaLagsBeyondMax_thenReadGoesToPrimary() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, 1_000, 7.5, now.get()));
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+            assertThat(decisions("primary", "lagging")).isEqualTo(1.0);
+            verify(readYourWritesTracker, never()).requiredLsn();
+        }
+
+        @Test
+        void whenReceiverStalled_thenReplayCaughtUpWithReceivedWalIsNotEnough() {
+            // Recepteur arrete : receive = replay, donc lag_seconds = 0, mais le primaire a avance.
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000_000, 1_000, 0, true, now.get()));
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+            assertThat(decisions("primary", "lagging")).isEqualTo(1.0);
+        }
+
+        @Test
+        void whenWalReceiverNotStreaming_thenReadGoesToPrimary() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, 5_000, 0, false, now.get()));
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+            assertThat(meterRegistry.get("clenzy.datasource.replica.usable").gauge().value()).isZero();
+        }
+
+        @Test
+        void whenSampleStale_thenReadGoesToPrimary() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, 5_000, 0, now.get()));
+            now.addAndGet(3_001);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+            assertThat(meterRegistry.get("clenzy.datasource.replica.usable").gauge().value()).isZero();
+        }
+
+        @Test
+        void whenUserWroteAfterReplayPosition_thenReadGoesToPrimaryUntilReplayed() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, 4_900, 0.1, now.get()));
+            when(readYourWritesTracker.requiredLsn()).thenReturn(4_950L);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+            assertThat(decisions("primary", "read_your_writes")).isEqualTo(1.0);
+
+            monitor.accept(new ReplicaLagMonitor.Sample(5_100, 5_000, 0, now.get()));
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.REPLICA);
+        }
+
+        @Test
+        void whenReplicaNotInRecovery_thenAlwaysCaughtUp() {
+            monitor.accept(new ReplicaLagMonitor.Sample(5_000, ReplicaLagMonitor.CAUGHT_UP, 0, now.get()));
+            when(readYourWritesTracker.requiredLsn()).thenReturn(ReadYourWritesTracker.ALWAYS_PRIMARY - 1);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.REPLICA);
+        }
+
+        @Test
+        void whenWriteTransaction_thenPrimaryAndCommitPositionTracked() {
+            assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceType.PRIMARY);
+
+            verify(readYourWritesTracker).onWriteTransaction();
+            assertThat(decisions("primary", "write")).isEqualTo(1.0);
+        }
+
+        @Test
+        void parsesPgLsn() {
+            assertThat(ReplicaLagMonitor.parseLsn("0/0")).isZero();
+            assertThat(ReplicaLagMonitor.parseLsn("16/B374D848")).isEqualTo((0x16L << 32) | 0xB374D848L);
+        }
+    }
+
     @Nested
     @DisplayName("Beans — proxy lazy @Primary devant le routing")
     class BeanWiring {
 
         @Test
         void whenPrimaryDataSourceBeanBuilt_thenWrapsRoutingInLazyProxy() {
-            DataSource routing = config.routingDataSource(primaryDataSource, replicaDataSource);
+            DataSource routing = config.routingDataSource(primaryDataSource, replicaDataSource,
+                    monitor(), readYourWritesTracker, meterRegistry);
 
             DataSource primaryBean = config.dataSource(routing);
 
@@ -77,7 +210,8 @@ class DataSourceRoutingConfigTest {
 
         @Test
         void whenRoutingDataSourceBuilt_thenIsReadWriteRouting() {
-            DataSource routing = config.routingDataSource(primaryDataSource, replicaDataSource);
+            DataSource routing = config.routingDataSource(primaryDataSource, replicaDataSource,
+                    monitor(), readYourWritesTracker, meterRegistry);
 
             assertThat(routing).isInstanceOf(ReadWriteRoutingDataSource.class);
         }
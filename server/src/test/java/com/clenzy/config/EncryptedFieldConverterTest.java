@@ -1,10 +1,12 @@
 package com.clenzy.config;
 
 import com.clenzy.exception.FieldDecryptionException;
+import org.jasypt.util.text.AES256TextEncryptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -12,7 +14,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 /**
  * Tests for {@link EncryptedFieldConverter}.
  * Validates AES-256 encryption/decryption, null/empty handling,
- * ANONYMIZED bypass, and typed failure on undecryptable values (Z1-SEC-08).
+ * ANONYMIZED bypass, typed failure on undecryptable values (Z1-SEC-08),
+ * and the AES-GCM envelope format with transparent legacy Jasypt reads.
  */
 class EncryptedFieldConverterTest {
 
@@ -25,6 +28,15 @@ class EncryptedFieldConverterTest {
         converter.setEncryptorPassword("test-encryption-password-for-unit-tests");
         // Etat statique partage : remettre le mode strict (defaut prod)
         converter.setFailOnDecryptError(true);
+        converter.setKeyVersion(1);
+        converter.setPreviousPasswords("");
+        converter.setWriteFormat("envelope");
+    }
+
+    private static String jasypt(String password, String plain) {
+        AES256TextEncryptor legacy = new AES256TextEncryptor();
+        legacy.setPassword(password);
+        return legacy.encrypt(plain);
     }
 
     @Nested
@@ -160,4 +172,122 @@ class EncryptedFieldConverterTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("Format enveloppe AES-GCM")
+    class EnvelopeFormat {
+
+        private static final String PASSWORD = "test-encryption-password-for-unit-tests";
+
+        @Test
+        void whenWriting_thenUsesVersionedEnvelope() {
+            String encrypted = converter.convertToDatabaseColumn("john@example.com");
+
+            assertThat(encrypted).startsWith("FEv1:");
+            assertThat(EncryptedFieldConverter.isEnvelope(encrypted)).isTrue();
+            assertThat(converter.convertToEntityAttribute(encrypted)).isEqualTo("john@example.com");
+        }
+
+        @Test
+        void whenLegacyJasyptValue_thenDecryptedTransparently() {
+            String legacy = jasypt(PASSWORD, "+33612345678");
+
+            assertThat(EncryptedFieldConverter.isEnvelope(legacy)).isFalse();
+            assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo("+33612345678");
+        }
+
+        @Test
+        void whenWriteFormatJasypt_thenWritesLegacyAndStillReadsEnvelope() {
+            String envelope = converter.convertToDatabaseColumn("before");
+            converter.setWriteFormat("jasypt");
+
+            String legacy = converter.convertToDatabaseColumn("after");
+
+            assertThat(EncryptedFieldConverter.isEnvelope(legacy)).isFalse();
+            assertThat(jasyptDecrypt(legacy)).isEqualTo("after");
+            assertThat(converter.convertToEntityAttribute(envelope)).isEqualTo("before");
+            assertThat(EncryptedFieldConverter.currentEnvelopePrefix()).isNull();
+            assertThat(EncryptedFieldConverter.needsReencryption(legacy)).isFalse();
+        }
+
+        @Test
+        void defaultWriteFormatIsJasypt_untilEveryInstanceReadsEnvelope() throws NoSuchMethodException {
+            // Phase 1 du deploiement en deux temps : un pod N-1 ne sait pas lire "FEv1:".
+            Value value = EncryptedFieldConverter.class.getMethod("setWriteFormat", String.class)
+                    .getAnnotation(Value.class);
+
+            assertThat(value.value()).endsWith(":jasypt}");
+        }
+
+        @Test
+        void whenEnvelopeTampered_thenThrowsTypedException() {
+            String encrypted = converter.convertToDatabaseColumn("FR7630006000011234567890189");
+            int at = "FEv1:".length() + 20; // dans le ciphertext, hors padding Base64
+            char c = encrypted.charAt(at);
+            String tampered = encrypted.substring(0, at) + (c == 'A' ? 'B' : 'A') + encrypted.substring(at + 1);
+
+            assertThatThrownBy(() -> converter.convertToEntityAttribute(tampered))
+                .isInstanceOf(FieldDecryptionException.class);
+        }
+
+        @Test
+        void whenVersionPrefixRewritten_thenAuthenticationFails() {
+            // Le prefixe est authentifie (AAD) : impossible de relabelliser une version.
+            converter.setKeyVersion(2);
+            converter.setPreviousPasswords(PASSWORD);
+            String v2 = converter.convertToDatabaseColumn("secret");
+
+            assertThatThrownBy(() -> converter.convertToEntityAttribute("FEv1:" + v2.substring("FEv2:".length())))
+                .isInstanceOf(FieldDecryptionException.class);
+        }
+
+        @Test
+        void whenKeyRotated_thenPreviousVersionStillReadableAndFlaggedForReencryption() {
+            String v1 = converter.convertToDatabaseColumn("wifi-pass");
+
+            converter.setKeyVersion(2);
+            converter.setEncryptorPassword("rotated-password");
+            converter.setPreviousPasswords(PASSWORD);
+
+            assertThat(converter.convertToEntityAttribute(v1)).isEqualTo("wifi-pass");
+            assertThat(EncryptedFieldConverter.needsReencryption(v1)).isTrue();
+            String v2 = EncryptedFieldConverter.reencrypt(v1);
+            assertThat(v2).startsWith("FEv2:");
+            assertThat(EncryptedFieldConverter.needsReencryption(v2)).isFalse();
+            assertThat(converter.convertToEntityAttribute(v2)).isEqualTo("wifi-pass");
+        }
+
+        @Test
+        void whenReencryptingLegacy_thenEnvelopeWithSamePlaintext() {
+            String legacy = jasypt(PASSWORD, "Jean");
+
+            assertThat(EncryptedFieldConverter.needsReencryption(legacy)).isTrue();
+            String migrated = EncryptedFieldConverter.reencrypt(legacy);
+
+            assertThat(migrated).startsWith("FEv1:");
+            assertThat(converter.convertToEntityAttribute(migrated)).isEqualTo("Jean");
+        }
+
+        @Test
+        void whenReencryptingUndecryptableValue_thenThrowsEvenInTolerantMode() {
+            converter.setFailOnDecryptError(false);
+
+            assertThatThrownBy(() -> EncryptedFieldConverter.reencrypt("legacy-plaintext-value"))
+                .isInstanceOf(FieldDecryptionException.class);
+        }
+
+        @Test
+        void whenAnonymizedOrEmpty_thenNeverFlaggedForReencryption() {
+            assertThat(EncryptedFieldConverter.needsReencryption("ANONYMIZED")).isFalse();
+            assertThat(EncryptedFieldConverter.needsReencryption("anon_42")).isFalse();
+            assertThat(EncryptedFieldConverter.needsReencryption("")).isFalse();
+            assertThat(EncryptedFieldConverter.needsReencryption(null)).isFalse();
+        }
+
+        private String jasyptDecrypt(String value) {
+            AES256TextEncryptor legacy = new AES256TextEncryptor();
+            legacy.setPassword(PASSWORD);
+            return legacy.decrypt(value);
+        }
+    }
 }
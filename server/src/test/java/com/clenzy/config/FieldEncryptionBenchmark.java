@@ -0,0 +1,85 @@
+package com.clenzy.config;
+
+import org.jasypt.util.text.AES256TextEncryptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmark JMH : format legacy Jasypt vs enveloppe AES-GCM ({@link FieldEnvelopeCipher})
+ * des colonnes {@code @Convert(EncryptedFieldConverter)}, en chiffrement et en dechiffrement.
+ *
+ * Hors surefire (pas de suffixe Test) ; a lancer a la demande, apres {@code mvn test-compile} :
+ *   java -cp "target/test-classes:target/classes:$(cat cp.txt)" com.clenzy.config.FieldEncryptionBenchmark
+ * (cp.txt via {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldEncryptionBenchmark {
+
+    private static final String PASSWORD = "benchmark-encryption-password";
+
+    /** Email (court) et adresse postale (plus longue) : tailles typiques des colonnes PII. */
+    @Param({"jean.dupont@example.com", "12 rue de la Republique, Appartement 4B, 69002 Lyon, France"})
+    public String plain;
+
+    private AES256TextEncryptor jasypt;
+    private FieldEnvelopeCipher envelope;
+    private String jasyptCiphertext;
+    private String envelopeCiphertext;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        jasypt = new AES256TextEncryptor();
+        jasypt.setPassword(PASSWORD);
+        envelope = new FieldEnvelopeCipher(1, Map.of(1, FieldEnvelopeCipher.deriveKey(PASSWORD)));
+        jasyptCiphertext = jasypt.encrypt(plain);
+        envelopeCiphertext = envelope.encrypt(plain);
+    }
+
+    @Benchmark
+    public String encryptJasypt() {
+        return jasypt.encrypt(plain);
+    }
+
+    @Benchmark
+    public String encryptEnvelope() throws GeneralSecurityException {
+        return envelope.encrypt(plain);
+    }
+
+    @Benchmark
+    public String decryptJasypt() {
+        return jasypt.decrypt(jasyptCiphertext);
+    }
+
+    @Benchmark
+    public String decryptEnvelope() throws GeneralSecurityException {
+        return envelope.decrypt(envelopeCiphertext);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FieldEncryptionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
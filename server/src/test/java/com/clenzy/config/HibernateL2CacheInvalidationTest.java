@@ -0,0 +1,138 @@
+package com.clenzy.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HibernateL2CacheInvalidationTest {
+
+    private static final String COUNTRY = "com.clenzy.model.Country";
+    private static final String RATE_PLAN = "com.clenzy.model.RatePlan";
+
+    @Mock private EntityManagerFactory entityManagerFactory;
+    @Mock private SessionFactoryImplementor sessionFactory;
+    @Mock private CacheImplementor cache;
+    @Mock private MappingMetamodelImplementor mappingMetamodel;
+    @Mock private CacheInvalidationPublisher publisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HibernateL2CacheInvalidation invalidation;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+        lenient().when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        invalidation = new HibernateL2CacheInvalidation(entityManagerFactory, publisher, meterRegistry);
+    }
+
+    private EntityPersister persister(String entityName, String region) {
+        EntityPersister persister = mock(EntityPersister.class);
+        lenient().when(persister.getEntityName()).thenReturn(entityName);
+        lenient().when(persister.canWriteToCache()).thenReturn(region != null);
+        if (region != null) {
+            EntityDataAccess access = mock(EntityDataAccess.class);
+            DomainDataRegion domainRegion = mock(DomainDataRegion.class);
+            lenient().when(domainRegion.getName()).thenReturn(region);
+            lenient().when(access.getRegion()).thenReturn(domainRegion);
+            lenient().when(persister.getCacheAccessStrategy()).thenReturn(access);
+        }
+        lenient().when(mappingMetamodel.getEntityDescriptor(entityName)).thenReturn(persister);
+        return persister;
+    }
+
+    private double counted(String direction) {
+        return meterRegistry.get("clenzy.hibernate.l2.invalidations").tag("direction", direction).counter().count();
+    }
+
+    @Test
+    void committedWritesOnCachedEntity_arePublishedWithEntityAndId() {
+        EntityPersister ratePlan = persister(RATE_PLAN, HibernateCacheRegions.TENANT_REFERENCE);
+        PostUpdateEvent update = mock(PostUpdateEvent.class);
+        when(update.getPersister()).thenReturn(ratePlan);
+        when(update.getId()).thenReturn(7L);
+        PostDeleteEvent delete = mock(PostDeleteEvent.class);
+        when(delete.getPersister()).thenReturn(ratePlan);
+        when(delete.getId()).thenReturn(8L);
+
+        invalidation.onPostUpdate(update);
+        invalidation.onPostDelete(delete);
+
+        verify(publisher).publishEviction(HibernateL2CacheInvalidation.CACHE_NAME, RATE_PLAN + "#7");
+        verify(publisher).publishEviction(HibernateL2CacheInvalidation.CACHE_NAME, RATE_PLAN + "#8");
+        assertThat(counted("published")).isEqualTo(2);
+    }
+
+    @Test
+    void entityOutsideSecondLevelCache_isIgnored() {
+        EntityPersister reservation = persister("com.clenzy.model.Reservation", null);
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getPersister()).thenReturn(reservation);
+
+        assertThat(invalidation.requiresPostCommitHandling(reservation)).isFalse();
+        invalidation.onPostInsert(insert);
+
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void remoteEvictionOfGlobalReference_alsoDropsReferenceQueries() {
+        persister(COUNTRY, HibernateCacheRegions.REFERENCE);
+
+        invalidation.evictLocal(COUNTRY + "#3");
+
+        verify(cache).evictEntityData(COUNTRY, 3L);
+        verify(cache).evictQueryRegion(HibernateCacheRegions.QUERY_REFERENCE);
+        assertThat(counted("received")).isEqualTo(1);
+    }
+
+    @Test
+    void remoteEvictionOfTenantEntity_keepsQueryRegions() {
+        persister(RATE_PLAN, HibernateCacheRegions.TENANT_REFERENCE);
+
+        invalidation.evictLocal(RATE_PLAN + "#42");
+
+        verify(cache).evictEntityData(RATE_PLAN, 42L);
+        verify(cache, never()).evictQueryRegion(anyString());
+    }
+
+    @Test
+    void remoteClear_evictsAllRegions() {
+        invalidation.evictLocal(null);
+
+        verify(cache).evictAllRegions();
+    }
+
+    @Test
+    void malformedMessage_neverThrows() {
+        assertThatCode(() -> invalidation.evictLocal("sans-separateur")).doesNotThrowAnyException();
+        assertThatCode(() -> invalidation.evictLocal(RATE_PLAN + "#abc")).doesNotThrowAnyException();
+
+        verify(cache, never()).evictEntityData(anyString(), any());
+    }
+}
@@ -0,0 +1,183 @@
+package com.clenzy.config;
+
+import com.clenzy.AbstractIntegrationTest;
+import com.clenzy.model.*;
+import com.clenzy.repository.*;
+import com.clenzy.tenant.TenantScopedExecutor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache de second niveau sur les entites org-scopees : le cache ne doit JAMAIS court-circuiter
+ * le filtre {@code organizationFilter}.
+ *
+ * PAS de @Transactional au niveau classe : le cache L2 n'est alimente qu'au commit —
+ * chaque etape tourne dans sa propre transaction (TransactionTemplate).
+ */
+class HibernateSecondLevelCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RatePlanRepository ratePlanRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HibernateL2CacheInvalidation l2CacheInvalidation;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TransactionTemplate txTemplate;
+
+    private Long orgA;
+    private Long orgB;
+    private Long planA;
+    private Long planB;
+    private final List<Long> propertyIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        txTemplate = new TransactionTemplate(txManager);
+        setupTenantContext(null, true);
+        orgA = createOrganization("l2-org-a");
+        orgB = createOrganization("l2-org-b");
+        planA = createRatePlan(orgA, "l2-a");
+        planB = createRatePlan(orgB, "l2-b");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        txTemplate.executeWithoutResult(status -> {
+            ratePlanRepository.deleteAllById(List.of(planA, planB));
+            propertyRepository.deleteAllById(propertyIds);
+            userRepository.deleteAllById(userIds);
+            organizationRepository.deleteAllById(List.of(orgA, orgB));
+        });
+    }
+
+    @Test
+    void loadById_isServedFromSecondLevelCache() {
+        readById(planA);
+        CacheRegionStatistics region = regionStatistics();
+        long hitsBefore = region.getHitCount();
+
+        assertTrue(entityManagerFactory.getCache().contains(RatePlan.class, planA));
+        readById(planA);
+
+        assertEquals(hitsBefore + 1, region.getHitCount(), "Second chargement par id servi par le L2");
+    }
+
+    @Test
+    void cachedEntities_stillFilteredPerOrganization() {
+        // Les deux plans sont en cache L2 : une requete filtree ne doit pourtant voir que ceux de son org.
+        readById(planA);
+        readById(planB);
+        assertTrue(entityManagerFactory.getCache().contains(RatePlan.class, planA));
+        assertTrue(entityManagerFactory.getCache().contains(RatePlan.class, planB));
+
+        assertEquals(List.of(planA), filteredPlanIds(orgA));
+        assertEquals(List.of(planB), filteredPlanIds(orgB));
+        // Rejoue dans l'ordre inverse : aucun resultat d'une org resservi a l'autre.
+        assertEquals(List.of(planB), filteredPlanIds(orgB));
+        assertEquals(List.of(planA), filteredPlanIds(orgA));
+    }
+
+    @Test
+    void remoteInvalidation_evictsEntityFromLocalRegion() {
+        readById(planA);
+        assertTrue(entityManagerFactory.getCache().contains(RatePlan.class, planA));
+
+        // Message tel que diffuse par un autre noeud apres son commit.
+        l2CacheInvalidation.evictLocal(RatePlan.class.getName() + "#" + planA);
+
+        assertFalse(entityManagerFactory.getCache().contains(RatePlan.class, planA));
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private void readById(Long id) {
+        txTemplate.executeWithoutResult(status -> assertTrue(ratePlanRepository.findById(id).isPresent()));
+    }
+
+    private List<Long> filteredPlanIds(Long orgId) {
+        return txTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.enableFilter(TenantScopedExecutor.ORGANIZATION_FILTER)
+                    .setParameter(TenantScopedExecutor.ORG_ID_PARAM, orgId);
+            try {
+                return entityManager.createQuery(
+                                "SELECT r FROM RatePlan r WHERE r.id IN :ids ORDER BY r.id", RatePlan.class)
+                        .setParameter("ids", List.of(planA, planB))
+                        .getResultStream()
+                        .map(RatePlan::getId)
+                        .toList();
+            } finally {
+                session.disableFilter(TenantScopedExecutor.ORGANIZATION_FILTER);
+            }
+        });
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getCacheRegionStatistics(HibernateCacheRegions.TENANT_REFERENCE);
+    }
+
+    private Long createOrganization(String slug) {
+        return txTemplate.execute(status -> {
+            Organization org = new Organization("Org " + slug, OrganizationType.INDIVIDUAL, slug);
+            organizationRepository.save(org);
+            return org.getId();
+        });
+    }
+
+    private Long createRatePlan(Long orgId, String slug) {
+        return txTemplate.execute(status -> {
+            User owner = new User("Owner", slug, slug + "@test.com", "password123");
+            owner.setOrganizationId(orgId);
+            owner.setKeycloakId("kc-" + slug);
+            userRepository.save(owner);
+            userIds.add(owner.getId());
+
+            Property property = new Property("Logement " + slug, "1 rue du Cache", 1, 1, owner);
+            property.setOrganizationId(orgId);
+            property.setNightlyPrice(new BigDecimal("100.00"));
+            propertyRepository.save(property);
+            propertyIds.add(property.getId());
+
+            RatePlan plan = new RatePlan(property, "Base " + slug, RatePlanType.BASE,
+                    new BigDecimal("120.00"), orgId);
+            plan.setIsActive(true);
+            ratePlanRepository.save(plan);
+            return plan.getId();
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.clenzy.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesTrackerTest {
+
+    private static final String KEY = ReadYourWritesTracker.KEY_PREFIX + "kc-user-1";
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private final AtomicLong primaryLsn = new AtomicLong(42_000);
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        tracker = new ReadYourWritesTracker(redisTemplate, primaryLsn::get, Duration.ofSeconds(60), Runnable::run);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void authenticate() {
+        Jwt jwt = Jwt.withTokenValue("t").header("alg", "none").subject("kc-user-1").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @Test
+    void withoutAuthenticatedUser_noRequirementAndNoRedisCall() {
+        assertThat(tracker.requiredLsn()).isZero();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void requiredLsn_readFromRedisOncePerRequest() {
+        authenticate();
+        when(valueOperations.get(KEY)).thenReturn("41000");
+
+        assertThat(tracker.requiredLsn()).isEqualTo(41_000);
+        assertThat(tracker.requiredLsn()).isEqualTo(41_000);
+
+        verify(valueOperations, times(1)).get(KEY);
+    }
+
+    @Test
+    void whenRedisDown_thenNoRequirement() {
+        authenticate();
+        when(valueOperations.get(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(tracker.requiredLsn()).isZero();
+    }
+
+    @Test
+    void writeTransaction_recordsPrimaryPositionAfterCommit_onceAndForTheRequest() {
+        authenticate();
+        TransactionSynchronizationManager.initSynchronization();
+
+        tracker.onWriteTransaction();
+        tracker.onWriteTransaction();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        verifyNoInteractions(redisTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(valueOperations).set(KEY, "42000", Duration.ofSeconds(60));
+        assertThat(tracker.requiredLsn()).isEqualTo(42_000);
+    }
+
+    @Test
+    void redisWrite_leavesTheCommitPath_butRequestSeesPositionImmediately() {
+        authenticate();
+        List<Runnable> pending = new ArrayList<>();
+        tracker = new ReadYourWritesTracker(redisTemplate, primaryLsn::get, Duration.ofSeconds(60), pending::add);
+
+        tracker.recordWrite("kc-user-1", RequestContextHolder.getRequestAttributes());
+
+        assertThat(tracker.requiredLsn()).isEqualTo(42_000);
+        verifyNoInteractions(redisTemplate);
+
+        pending.forEach(Runnable::run);
+        verify(valueOperations).set(KEY, "42000", Duration.ofSeconds(60));
+    }
+
+    @Test
+    void whenPrimaryPositionUnreadable_thenPrimaryForRestOfRequest() {
+        authenticate();
+        tracker = new ReadYourWritesTracker(redisTemplate, () -> {
+            throw new IllegalStateException("primary down");
+        }, Duration.ofSeconds(60), Runnable::run);
+
+        tracker.recordWrite("kc-user-1", RequestContextHolder.getRequestAttributes());
+
+        assertThat(tracker.requiredLsn()).isEqualTo(ReadYourWritesTracker.ALWAYS_PRIMARY);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void writeOutsideTransactionOrAnonymous_notTracked() {
+        tracker.onWriteTransaction();
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.onWriteTransaction();
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+}
@@ -100,6 +100,23 @@ class SecretColumnEncryptionBackfillTest {
         verify(jdbcTemplate, never()).update(anyString(), any(), any());
     }
 
+    @Test
+    @DisplayName("Une valeur au format enveloppe AES-GCM du converter n'est pas re-chiffrée")
+    void whenEnvelopeValue_thenSkipped() {
+        EncryptedFieldConverter converter = new EncryptedFieldConverter();
+        converter.setEncryptorPassword("test-backfill-encryption-password");
+        converter.setWriteFormat("envelope");
+        String envelope = converter.convertToDatabaseColumn("9012");
+        when(jdbcTemplate.queryForList(anyString()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).contains("access_code")
+                        ? List.of(Map.of("id", 4L, "val", envelope))
+                        : List.of());
+
+        backfill.run(new DefaultApplicationArguments());
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+
     @Test
     @DisplayName("Relancer le backfill sur des valeurs chiffrées n'écrit rien (re-run sûr)")
     void whenRerunOnEncryptedData_thenNoUpdate() {
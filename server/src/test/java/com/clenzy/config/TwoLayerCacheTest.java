@@ -67,6 +67,25 @@ class TwoLayerCacheTest {
         assertThat(result).isNull();
     }
 
+    @Test void putIfAbsent_usesRedisSetIfAbsent_andKeepsTheExistingValue() {
+        org.springframework.cache.Cache.ValueWrapper existing = mock(org.springframework.cache.Cache.ValueWrapper.class);
+        when(existing.get()).thenReturn("newer");
+        when(redisCache.putIfAbsent("key1", "stale")).thenReturn(existing);
+
+        org.springframework.cache.Cache.ValueWrapper result = twoLayerCache.putIfAbsent("key1", "stale");
+
+        assertThat(result.get()).isEqualTo("newer");
+        assertThat(caffeineCache.getIfPresent("key1")).isEqualTo("newer");
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    @Test void putIfAbsent_absentKey_writesBothLayers() {
+        when(redisCache.putIfAbsent("key1", "value1")).thenReturn(null);
+
+        assertThat(twoLayerCache.putIfAbsent("key1", "value1")).isNull();
+        assertThat(caffeineCache.getIfPresent("key1")).isEqualTo("value1");
+    }
+
     @Test void evict_invalidatesBoth() {
         caffeineCache.put("key1", "value1");
         twoLayerCache.evict("key1");
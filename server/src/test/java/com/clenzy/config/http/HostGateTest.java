@@ -0,0 +1,211 @@
+package com.clenzy.config.http;
+
+import com.clenzy.config.http.HostGate.HostSaturatedException;
+import com.clenzy.config.http.OutboundHttpProperties.HostPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HostGateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private HostGate gate(Integer max, Integer min, Double rate, Integer burst) {
+        HostPolicy policy = new HostPolicy(null, null, max, min, Duration.ZERO, rate, burst,
+                Duration.ofMillis(500), null).orElse(OutboundHttpProperties.BUILT_IN);
+        return new HostGate("api.example.com", policy, meterRegistry, clock::get);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("clenzy.http.outbound.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("token bucket")
+    class TokenBucket {
+
+        @Test
+        void whenBucketEmpty_thenRejectedUntilRefill() throws Exception {
+            HostGate gate = gate(8, 1, 1.0, 1);
+
+            gate.acquire().release();
+            assertThatThrownBy(gate::acquire)
+                    .isInstanceOf(HostSaturatedException.class)
+                    .hasMessageContaining("rate");
+            assertThat(rejected("rate")).isEqualTo(1.0);
+
+            clock.addAndGet(Duration.ofMillis(1100).toNanos());
+            gate.acquire().release();
+        }
+
+        @Test
+        void whenNoRateConfigured_thenUnlimited() throws Exception {
+            HostGate gate = gate(8, 1, null, null);
+            for (int i = 0; i < 100; i++) {
+                gate.acquire().release();
+            }
+            assertThat(rejected("rate")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("bulkhead")
+    class Bulkhead {
+
+        @Test
+        void whenLimitReached_thenRejectedAndSlotFreedOnRelease() throws Exception {
+            HostGate gate = gate(2, 1, null, null);
+
+            HostGate.Permit first = gate.acquire();
+            gate.acquire();
+            assertThat(gate.inFlight()).isEqualTo(2);
+            assertThatThrownBy(gate::acquire).isInstanceOf(HostSaturatedException.class);
+            assertThat(gate.tryAcquire()).isNull();
+            assertThat(rejected("concurrency")).isEqualTo(1.0);
+
+            first.release();
+            first.release(); // idempotent
+            assertThat(gate.inFlight()).isEqualTo(1);
+            assertThat(gate.tryAcquire()).isNotNull();
+            assertThat(meterRegistry.get("clenzy.http.outbound.in_flight").gauge().value()).isEqualTo(2.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("limite adaptative (AIMD)")
+    class Aimd {
+
+        @Test
+        void when429_thenLimitHalvesDownToFloor() {
+            HostGate gate = gate(10, 2, null, null);
+
+            gate.record(Duration.ofMillis(50).toNanos(), 429);
+            assertThat(gate.concurrencyLimit()).isEqualTo(5.0);
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            gate.record(Duration.ofMillis(50).toNanos(), 503);
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            gate.record(Duration.ofMillis(50).toNanos(), 429);
+            assertThat(gate.concurrencyLimit()).isEqualTo(2.0);
+        }
+
+        @Test
+        void whenBurstOfCongestedReplies_thenOnlyOneDecrease() {
+            HostGate gate = gate(20, 2, null, null);
+
+            // 20 requetes envoyees ensemble, toutes lentes puis toutes en 429.
+            for (int i = 0; i < 20; i++) {
+                gate.record(Duration.ofSeconds(1).toNanos(), 200);
+            }
+            assertThat(gate.concurrencyLimit()).isEqualTo(18.0);
+
+            clock.addAndGet(Duration.ofMillis(10).toNanos());
+            for (int i = 0; i < 20; i++) {
+                gate.record(Duration.ofSeconds(1).toNanos(), 429);
+            }
+            assertThat(gate.concurrencyLimit()).isEqualTo(18.0);
+
+            // Une requete envoyee apres la reduction peut de nouveau reduire.
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            gate.record(Duration.ofMillis(50).toNanos(), 429);
+            assertThat(gate.concurrencyLimit()).isEqualTo(9.0);
+        }
+
+        @Test
+        void whenSlowOrIoError_thenLimitDecaysSoftly() {
+            HostGate gate = gate(10, 2, null, null);
+
+            gate.record(Duration.ofSeconds(1).toNanos(), 200);
+            assertThat(gate.concurrencyLimit()).isEqualTo(9.0);
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            gate.record(Duration.ofMillis(10).toNanos(), -1);
+            assertThat(gate.concurrencyLimit()).isCloseTo(8.1, within(1e-9));
+        }
+
+        @Test
+        void whenFastAndBusy_thenLimitGrowsAdditivelyUpToMax() throws Exception {
+            HostGate gate = gate(4, 1, null, null);
+            gate.record(0, 429); // 2.0
+            gate.acquire();
+
+            gate.record(Duration.ofMillis(10).toNanos(), 200);
+            assertThat(gate.concurrencyLimit()).isEqualTo(2.5);
+
+            for (int i = 0; i < 50; i++) {
+                gate.record(Duration.ofMillis(10).toNanos(), 200);
+                if (gate.inFlight() * 2 < gate.concurrencyLimit()) {
+                    gate.acquire();
+                }
+            }
+            assertThat(gate.concurrencyLimit()).isEqualTo(4.0);
+        }
+
+        @Test
+        void whenFastButIdle_thenLimitUnchanged() {
+            HostGate gate = gate(4, 1, null, null);
+            gate.record(0, 429);
+
+            gate.record(Duration.ofMillis(10).toNanos(), 200);
+
+            assertThat(gate.concurrencyLimit()).isEqualTo(2.0);
+        }
+    }
+
+    @Test
+    void latencyIsTaggedByOutcome() {
+        HostGate gate = gate(4, 1, null, null);
+        gate.record(Duration.ofMillis(10).toNanos(), 200);
+        gate.record(Duration.ofMillis(10).toNanos(), 429);
+        gate.record(Duration.ofMillis(10).toNanos(), -1);
+
+        assertThat(meterRegistry.get("clenzy.http.outbound.latency").tag("outcome", "2xx").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("clenzy.http.outbound.latency").tag("outcome", "429").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("clenzy.http.outbound.latency").tag("outcome", "io_error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void overflowGate_hasFixedLimit_soOneSlowHostCannotStarveTheOthers() {
+        OutboundHttpProperties properties = new OutboundHttpProperties(true, 1,
+                new HostPolicy(null, null, 8, 2, null, null, null, null, null), null);
+        OutboundHttpPlatform platform = new OutboundHttpPlatform(properties, meterRegistry);
+
+        HostGate first = platform.gate("first.example.com");
+        HostGate overflow = platform.gate("slow.example.com");
+        assertThat(overflow.host()).isEqualTo(OutboundHttpPlatform.OVERFLOW_HOST);
+        assertThat(platform.gate("other.example.com")).isSameAs(overflow);
+
+        // Gardes de la plateforme sur l'horloge reelle : latence nulle = chaque 429 suit la
+        // reduction precedente et compte comme un nouvel evenement de congestion.
+        for (int i = 0; i < 5; i++) {
+            overflow.record(0, 429);
+            first.record(0, 429);
+        }
+
+        assertThat(overflow.concurrencyLimit()).isEqualTo(8.0);
+        assertThat(first.concurrencyLimit()).isEqualTo(2.0); // hote dedie : AIMD inchange
+        platform.shutdown();
+    }
+
+    @Test
+    void propertiesMergeHostPolicyOverDefaults() {
+        OutboundHttpProperties properties = new OutboundHttpProperties(null, null, null,
+                Map.of("API.Example.com", new HostPolicy(null, null, 4, null, null, 2.0, null, null, Duration.ofMillis(300))));
+
+        HostPolicy declared = properties.policyFor("api.example.com");
+        assertThat(declared.maxConcurrency()).isEqualTo(4);
+        assertThat(declared.readTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(declared.effectiveBurst()).isEqualTo(2);
+        assertThat(declared.hedgeDelay()).isEqualTo(Duration.ofMillis(300));
+        assertThat(properties.policyFor("other.example.com").rateLimited()).isFalse();
+        assertThat(properties.enabled()).isTrue();
+    }
+}
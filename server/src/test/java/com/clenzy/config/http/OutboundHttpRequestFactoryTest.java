@@ -0,0 +1,177 @@
+package com.clenzy.config.http;
+
+import com.clenzy.config.http.OutboundHttpProperties.HostPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class OutboundHttpRequestFactoryTest {
+
+    private static final URI URI_GET = URI.create("https://ota.example.com/api/v1/bookings");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<MockClientHttpRequest> sent = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private HostGate gate(Duration hedgeDelay) {
+        HostPolicy policy = new HostPolicy(null, null, 4, 1, Duration.ofMillis(200), null, null,
+                Duration.ofSeconds(5), hedgeDelay).orElse(OutboundHttpProperties.BUILT_IN);
+        return new HostGate("ota.example.com", policy, meterRegistry, System::nanoTime);
+    }
+
+    private OutboundHttpRequestFactory factory(HostGate gate, ClientHttpRequestFactory delegate) {
+        return new OutboundHttpRequestFactory(host -> gate, (g, uri) -> delegate, executor, System::nanoTime);
+    }
+
+    /** Delegue qui renvoie les reponses dans l'ordre ; le statut 0 simule une erreur d'E/S. */
+    private ClientHttpRequestFactory respondingWith(int... statuses) {
+        AtomicInteger next = new AtomicInteger();
+        return (uri, method) -> {
+            int status = statuses[next.getAndIncrement()];
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    if (status == 0) {
+                        throw new IOException("connection reset");
+                    }
+                    return super.executeInternal();
+                }
+            };
+            request.setResponse(new MockClientHttpResponse("ok".getBytes(StandardCharsets.UTF_8), status == 0 ? 200 : status));
+            sent.add(request);
+            return request;
+        };
+    }
+
+    @Test
+    void forwardsHeadersAndBody_andHoldsSlotUntilResponseClosed() throws Exception {
+        HostGate gate = gate(null);
+        ClientHttpRequest request = factory(gate, respondingWith(200))
+                .createRequest(URI.create("https://ota.example.com/api/v1/rates"), HttpMethod.POST);
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer t");
+        request.getBody().write("{\"rate\":120}".getBytes(StandardCharsets.UTF_8));
+
+        ClientHttpResponse response = request.execute();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer t");
+        assertThat(sent.get(0).getBodyAsString()).isEqualTo("{\"rate\":120}");
+        assertThat(gate.inFlight()).isEqualTo(1);
+        response.close();
+        response.close();
+        assertThat(gate.inFlight()).isZero();
+    }
+
+    @Test
+    void whenTooManyRequests_thenLimitBacksOff() throws Exception {
+        HostGate gate = gate(null);
+
+        try (ClientHttpResponse response = factory(gate, respondingWith(429)).createRequest(URI_GET, HttpMethod.GET).execute()) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        assertThat(gate.concurrencyLimit()).isEqualTo(2.0);
+    }
+
+    @Test
+    void whenIoError_thenSlotReleasedAndOutcomeRecorded() {
+        HostGate gate = gate(null);
+
+        assertThatThrownBy(() -> factory(gate, respondingWith(0)).createRequest(URI_GET, HttpMethod.GET).execute())
+                .isInstanceOf(IOException.class);
+
+        assertThat(gate.inFlight()).isZero();
+        assertThat(meterRegistry.get("clenzy.http.outbound.latency").tag("outcome", "io_error").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void whenGateSaturated_thenRejectedWithoutSending() throws Exception {
+        HostGate gate = gate(null);
+        for (int i = 0; i < 4; i++) {
+            gate.acquire();
+        }
+
+        assertThatThrownBy(() -> factory(gate, respondingWith(200)).createRequest(URI_GET, HttpMethod.GET).execute())
+                .isInstanceOf(HostGate.HostSaturatedException.class);
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void slowGet_isHedged_andFirstResponseWins() throws Exception {
+        HostGate gate = gate(Duration.ofMillis(50));
+        CountDownLatch slowRelease = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ClientHttpRequestFactory delegate = (uri, method) -> {
+            boolean slow = calls.getAndIncrement() == 0;
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    if (slow) {
+                        try {
+                            slowRelease.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return super.executeInternal();
+                }
+            };
+            request.setResponse(new MockClientHttpResponse((slow ? "slow" : "hedge").getBytes(StandardCharsets.UTF_8), 200));
+            return request;
+        };
+
+        try (ClientHttpResponse response = factory(gate, delegate).createRequest(URI_GET, HttpMethod.GET).execute()) {
+            assertThat(new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hedge");
+        }
+
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("clenzy.http.outbound.hedges").tag("result", "won").counter().count()).isEqualTo(1.0);
+        slowRelease.countDown();
+        // La tentative perdante est fermee a son arrivee : plus aucune place occupee.
+        await().atMost(Duration.ofSeconds(5)).until(() -> gate.inFlight() == 0);
+    }
+
+    @Test
+    void post_isNeverHedged() throws Exception {
+        HostGate gate = gate(Duration.ofMillis(1));
+
+        try (ClientHttpResponse response = factory(gate, respondingWith(200))
+                .createRequest(URI_GET, HttpMethod.POST).execute()) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        assertThat(sent).hasSize(1);
+        assertThat(OutboundHttpRequestFactory.hedgeable(HttpMethod.HEAD)).isTrue();
+        assertThat(OutboundHttpRequestFactory.hedgeable(HttpMethod.PUT)).isFalse();
+    }
+}
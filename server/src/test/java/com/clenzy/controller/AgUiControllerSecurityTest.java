@@ -53,7 +53,9 @@ class AgUiControllerSecurityTest {
                                   com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService) {
             return new AgUiController(orchestrator, tenantContext, objectMapper, pendingToolStore,
                     supervisionActivityService,
-                    org.mockito.Mockito.mock(com.clenzy.service.agent.AgentRunQueryService.class));
+                    org.mockito.Mockito.mock(com.clenzy.service.agent.AgentRunQueryService.class),
+                    new com.clenzy.service.agent.stream.AgentStreamFactory(
+                            new io.micrometer.core.instrument.simple.SimpleMeterRegistry(), 40, 1024, 256, 30, 100));
         }
     }
 
@@ -6,9 +6,11 @@ import com.clenzy.service.PhotoStorageService;
 import com.clenzy.service.agent.AgentContext;
 import com.clenzy.service.agent.AgentOrchestrator;
 import com.clenzy.service.agent.AttachmentRef;
+import com.clenzy.service.agent.stream.AgentStreamFactory;
 import com.clenzy.service.assistant.AssistantConversationService;
 import com.clenzy.tenant.TenantContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
@@ -41,6 +43,8 @@ class AssistantControllerTest {
     private TenantContext tenantContext;
     private PhotoStorageService photoStorageService;
     private AssistantController controller;
+    private final AgentStreamFactory agentStreams =
+            new AgentStreamFactory(new SimpleMeterRegistry(), 40, 1024, 256, 30, 100);
     private Jwt jwt;
 
     @BeforeEach
@@ -55,7 +59,7 @@ class AssistantControllerTest {
                 tenantContext, new ObjectMapper(), photoStorageService,
                 mock(com.clenzy.service.agent.briefing.AssistantBriefingPrefService.class),
                 mock(com.clenzy.service.agent.briefing.BriefingComposer.class),
-                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class));
+                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class), agentStreams);
 
         jwt = Jwt.withTokenValue("token")
                 .header("alg", "none")
@@ -308,7 +312,7 @@ class AssistantControllerTest {
             com.clenzy.service.agent.briefing.BriefingDelivery delivery =
                 mock(com.clenzy.service.agent.briefing.BriefingDelivery.class);
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
-                new ObjectMapper(), photoStorageService, prefService, composer, delivery);
+                new ObjectMapper(), photoStorageService, prefService, composer, delivery, agentStreams);
 
             com.clenzy.model.AssistantBriefingPref pref = new com.clenzy.model.AssistantBriefingPref(1L, "user-123");
             pref.setEnabled(true);
@@ -333,7 +337,7 @@ class AssistantControllerTest {
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
                 new ObjectMapper(), photoStorageService, prefService,
                 mock(com.clenzy.service.agent.briefing.BriefingComposer.class),
-                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class));
+                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class), agentStreams);
 
             com.clenzy.model.AssistantBriefingPref defaultPref =
                 new com.clenzy.model.AssistantBriefingPref(1L, "user-123");
@@ -358,7 +362,7 @@ class AssistantControllerTest {
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
                 new ObjectMapper(), photoStorageService, prefService,
                 mock(com.clenzy.service.agent.briefing.BriefingComposer.class),
-                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class));
+                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class), agentStreams);
 
             com.clenzy.model.AssistantBriefingPref pref = new com.clenzy.model.AssistantBriefingPref(1L, "user-123");
             pref.setEnabled(true);
@@ -383,7 +387,7 @@ class AssistantControllerTest {
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
                 new ObjectMapper(), photoStorageService, prefService,
                 mock(com.clenzy.service.agent.briefing.BriefingComposer.class),
-                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class));
+                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class), agentStreams);
 
             AssistantController.BriefingPrefsBody body = new AssistantController.BriefingPrefsBody(
                 true, "daily_morning", List.of("in_app"), "not-a-time", "Europe/Paris");
@@ -399,7 +403,7 @@ class AssistantControllerTest {
                 mock(com.clenzy.service.agent.briefing.BriefingComposer.class);
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
                 new ObjectMapper(), photoStorageService, prefService, composer,
-                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class));
+                mock(com.clenzy.service.agent.briefing.BriefingDelivery.class), agentStreams);
 
             com.clenzy.model.AssistantBriefingPref pref = new com.clenzy.model.AssistantBriefingPref(1L, "user-123");
             when(prefService.get("user-123")).thenReturn(Optional.of(pref));
@@ -418,7 +422,7 @@ class AssistantControllerTest {
             com.clenzy.service.agent.briefing.BriefingDelivery delivery =
                 mock(com.clenzy.service.agent.briefing.BriefingDelivery.class);
             controller = new AssistantController(orchestrator, conversationService, tenantContext,
-                new ObjectMapper(), photoStorageService, prefService, composer, delivery);
+                new ObjectMapper(), photoStorageService, prefService, composer, delivery, agentStreams);
 
             com.clenzy.model.AssistantBriefingPref pref = new com.clenzy.model.AssistantBriefingPref(1L, "user-123");
             when(prefService.get("user-123")).thenReturn(Optional.of(pref));
@@ -1,5 +1,6 @@
 package com.clenzy.controller;
 
+import com.clenzy.dto.CalendarGrid;
 import com.clenzy.exception.NotFoundException;
 import com.clenzy.integration.channel.AirbnbChannelAdapter;
 import com.clenzy.integration.channel.SyncResult;
@@ -308,6 +309,49 @@ class CalendarControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("getGrids - grilles compactes")
+    class GetGrids {
+        @Test
+        void whenCalled_thenReturnsAlignedArraysPerProperty() {
+            setupSuperAdminAccess(10L);
+            LocalDate from = LocalDate.of(2026, 3, 1);
+            CalendarGrid grid = CalendarGrid.empty(10L, from, 3);
+            grid.statuses()[1] = CalendarDayStatus.BOOKED;
+            grid.nightlyPrices()[1] = new BigDecimal("120.00");
+            grid.reservationIds()[1] = 55L;
+            when(calendarEngine.getGrids(List.of(10L), from, from.plusDays(3), 1L))
+                .thenReturn(Map.of(10L, grid));
+
+            ResponseEntity<List<Map<String, Object>>> response = controller.getGrids(
+                List.of(10L), from, from.plusDays(3), jwt);
+
+            assertThat(response.getBody()).hasSize(1);
+            Map<String, Object> body = response.getBody().get(0);
+            assertThat(body.get("to")).isEqualTo("2026-03-04");
+            assertThat(body.get("statuses")).isEqualTo(List.of("AVAILABLE", "BOOKED", "AVAILABLE"));
+            assertThat(body.get("nightlyPrices")).isEqualTo(Arrays.asList(null, 120.0, null));
+            assertThat(body.get("reservationIds")).isEqualTo(Arrays.asList(null, 55L, null));
+            // Ownership verifiee en un lot, pas propriete par propriete.
+            verify(reservationService).validatePropertiesAccess(eq(List.of(10L)), any());
+            verify(reservationService, never()).validatePropertyAccess(any(), any());
+        }
+
+        @Test
+        void whenTooManyProperties_thenThrows() {
+            setupSuperAdminAccess(1L);
+            List<Long> ids = new ArrayList<>();
+            for (long i = 0; i <= CalendarController.MAX_GRID_PROPERTIES; i++) {
+                ids.add(i);
+            }
+
+            assertThatThrownBy(() -> controller.getGrids(ids, LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 4, 1), jwt))
+                .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(calendarEngine);
+        }
+    }
+
     @Nested
     @DisplayName("blockDates with source override")
     class BlockDatesWithSource {
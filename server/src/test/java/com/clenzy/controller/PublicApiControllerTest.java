@@ -46,7 +46,7 @@ class PublicApiControllerTest {
 
     private WebhookConfigDto webhookDto(Long id) {
         return new WebhookConfigDto(id, "https://hook.test", List.of("reservation.created"),
-                WebhookStatus.ACTIVE, 0, null, Instant.now());
+                WebhookStatus.ACTIVE, 0, null, Instant.now(), 1);
     }
 
     @Test
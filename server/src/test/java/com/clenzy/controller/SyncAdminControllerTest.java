@@ -1,6 +1,8 @@
 package com.clenzy.controller;
 
 import com.clenzy.dto.syncadmin.SyncAdminDtos.*;
+import com.clenzy.service.CalendarCommandReplayService;
+import com.clenzy.service.CalendarCommandReplayService.CalendarReplay;
 import com.clenzy.service.SyncAdminService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,12 +25,13 @@ import static org.mockito.Mockito.*;
 class SyncAdminControllerTest {
 
     @Mock private SyncAdminService syncAdminService;
+    @Mock private CalendarCommandReplayService calendarCommandReplayService;
 
     private SyncAdminController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new SyncAdminController(syncAdminService);
+        controller = new SyncAdminController(syncAdminService, calendarCommandReplayService);
     }
 
     @Nested
@@ -168,6 +172,29 @@ class SyncAdminControllerTest {
 
             assertThat(response.getStatusCode().value()).isEqualTo(200);
         }
+
+        @Test
+        void whenReplay_thenReturnsReplayWithoutArchivedSegmentsByDefault() {
+            LocalDate from = LocalDate.of(2026, 3, 1);
+            CalendarReplay replay = new CalendarReplay(7L, 1L, from, from.plusDays(30), 0, null, Map.of(), List.of());
+            when(calendarCommandReplayService.replay(7L, 1L, from, from.plusDays(30), List.of())).thenReturn(replay);
+
+            ResponseEntity<?> response = controller.replayCalendar(7L, 1L, from, from.plusDays(30), null);
+
+            assertThat(response.getStatusCode().value()).isEqualTo(200);
+            assertThat(response.getBody()).isSameAs(replay);
+        }
+
+        @Test
+        void whenReplayWindowInvalid_thenBadRequest() {
+            LocalDate from = LocalDate.of(2026, 3, 1);
+            when(calendarCommandReplayService.replay(any(), any(), any(), any(), any()))
+                    .thenThrow(new IllegalArgumentException("Fenetre calendrier invalide"));
+
+            ResponseEntity<?> response = controller.replayCalendar(7L, 1L, from, from, null);
+
+            assertThat(response.getStatusCode().value()).isEqualTo(400);
+        }
     }
 
     @Nested
@@ -215,13 +215,14 @@ class DtoCoverageTest {
         }
         @Test void noiseAlertConfigDto() {
             NoiseAlertConfigDto dto = new NoiseAlertConfigDto(1L, 2L, "Property A",
-                    true, true, true, false, false, false, 30, "admin@test.com", List.of());
+                    true, true, true, false, false, false, 30, "admin@test.com", List.of(), 10);
             assertThat(dto.enabled()).isTrue();
             assertThat(dto.cooldownMinutes()).isEqualTo(30);
+            assertThat(dto.sustainedMinutes()).isEqualTo(10);
         }
         @Test void saveNoiseAlertConfigDto() {
             SaveNoiseAlertConfigDto dto = new SaveNoiseAlertConfigDto(true, true, true, false,
-                    false, false, 30, "admin@test.com", List.of());
+                    false, false, 30, "admin@test.com", List.of(), null);
             assertThat(dto.enabled()).isTrue();
             assertThat(dto.cooldownMinutes()).isEqualTo(30);
         }
@@ -5,6 +5,8 @@ import com.clenzy.model.NoiseAlert.AlertSource;
 import com.clenzy.model.NoiseDevice;
 import com.clenzy.repository.NoiseDeviceRepository;
 import com.clenzy.service.NoiseAlertService;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,7 @@ class MinutWebhookConsumerTest {
     @Mock private NoiseDeviceRepository deviceRepository;
     @Mock private NoiseAlertService noiseAlertService;
     @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock private SensorTimeSeriesStore timeSeriesStore;
 
     @InjectMocks
     private MinutWebhookConsumer consumer;
@@ -55,6 +58,7 @@ class MinutWebhookConsumerTest {
 
         verify(noiseAlertService).evaluateNoiseLevel(
             eq(10L), eq(100L), eq(5L), eq(82.5), eq(AlertSource.WEBHOOK));
+        verify(timeSeriesStore).append(eq(SeriesKey.noise(10L, 5L)), anyList());
     }
 
     @Test
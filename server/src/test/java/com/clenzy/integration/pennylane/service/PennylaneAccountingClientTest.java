@@ -16,7 +16,6 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -44,8 +43,7 @@ class PennylaneAccountingClientTest {
 
     @BeforeEach
     void setUp() {
-        client = new PennylaneAccountingClient(config, oauthService);
-        ReflectionTestUtils.setField(client, "restTemplate", restTemplate);
+        client = new PennylaneAccountingClient(config, oauthService, restTemplate);
         when(config.getAccountingApiBaseUrl()).thenReturn(BASE_URL);
         when(oauthService.getValidAccessToken(ORG_ID)).thenReturn("bearer-token");
     }
@@ -18,7 +18,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
@@ -39,8 +38,7 @@ import static org.mockito.Mockito.when;
  * <p>Covers signature request creation, status fetching (incl. all status
  * mappings), document download, header bearer auth, and signer mapping.</p>
  *
- * <p>The service instantiates its own {@link RestTemplate}, so we inject the
- * mock via {@link ReflectionTestUtils}.</p>
+ * <p>The shared {@link RestTemplate} is injected through the constructor.</p>
  */
 @ExtendWith(MockitoExtension.class)
 class PennylaneApiServiceTest {
@@ -52,8 +50,7 @@ class PennylaneApiServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new PennylaneApiService(config);
-        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
+        service = new PennylaneApiService(config, restTemplate);
     }
 
     // ===================================================================
@@ -46,11 +46,14 @@ class KbRetrievalEvalIT extends AbstractIntegrationTest {
             "CLENZY_RAG_EVAL_MODEL", "voyage-3-large");
     /** Plancher assume : en-dessous, le retrieval est objectivement casse. */
     private static final double MIN_RECALL_AT_4 = 0.60;
+    /** Recall de l'index global en memoire contre le scan exact. */
+    private static final double MIN_INDEX_RECALL = 0.90;
 
     @Autowired private KbGlobalSeeder kbGlobalSeeder;
     @Autowired private KbRetrievalEvalService kbRetrievalEvalService;
     @Autowired private com.clenzy.repository.KbDocumentRepository kbDocumentRepository;
     @Autowired private com.clenzy.repository.KbChunkRepository kbChunkRepository;
+    @Autowired private com.clenzy.service.agent.kb.GlobalKbVectorIndex globalKbVectorIndex;
 
     /**
      * Remplace la config IA DB : le modele EMBEDDINGS pointe vers la vraie API
@@ -81,6 +84,7 @@ class KbRetrievalEvalIT extends AbstractIntegrationTest {
         kbDocumentRepository.deleteAll();
         int ingested = kbGlobalSeeder.seed();
         assertTrue(ingested >= 20, "le corpus doit etre seede (ingere=" + ingested + ")");
+        globalKbVectorIndex.refresh();
 
         KbRetrievalEvalService.EvalReport report = kbRetrievalEvalService.evaluate();
 
@@ -98,5 +102,8 @@ class KbRetrievalEvalIT extends AbstractIntegrationTest {
         assertTrue(report.recallAtK() >= MIN_RECALL_AT_4, String.format(Locale.ROOT,
                 "recall@%d %.2f sous le plancher %.2f — voir le rapport ci-dessus",
                 KbRetrievalEvalService.TOP_K, report.recallAtK(), MIN_RECALL_AT_4));
+        assertTrue(report.indexRecall() >= MIN_INDEX_RECALL, String.format(Locale.ROOT,
+                "recall index global %.2f sous le plancher %.2f",
+                report.indexRecall(), MIN_INDEX_RECALL));
     }
 }
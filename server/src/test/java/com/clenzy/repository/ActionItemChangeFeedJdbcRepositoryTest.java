@@ -0,0 +1,47 @@
+package com.clenzy.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Borne de stabilisation : exprimée dans le fuseau où Hibernate écrit
+ * {@code outbox_events.created_at}, pas dans l'UTC de l'horloge applicative.
+ */
+class ActionItemChangeFeedJdbcRepositoryTest {
+
+    private static final Instant SETTLED_BEFORE = Instant.parse("2026-07-29T08:59:30Z");
+
+    @Test
+    void settleCutoff_isBoundInTheWriterZone() {
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(100L), eq(100L),
+                eq(Timestamp.valueOf("2026-07-29 10:59:30")))).thenReturn(120L);
+        final ActionItemChangeFeedJdbcRepository repository =
+                new ActionItemChangeFeedJdbcRepository(jdbcTemplate, "Europe/Paris");
+
+        // Heure d'été à Paris : UTC+2. Une borne en UTC raterait deux heures d'outbox.
+        assertThat(repository.lastSettledId(100L, SETTLED_BEFORE)).isEqualTo(120L);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), eq(100L), eq(100L),
+                eq(Timestamp.valueOf("2026-07-29 10:59:30")));
+    }
+
+    @Test
+    void writerTimestamp_followsTheWriterWallClock() {
+        assertThat(ActionItemChangeFeedJdbcRepository.writerTimestamp(SETTLED_BEFORE, ZoneId.of("UTC")))
+                .isEqualTo(Timestamp.valueOf("2026-07-29 08:59:30"));
+        assertThat(ActionItemChangeFeedJdbcRepository.writerTimestamp(
+                Instant.parse("2026-01-15T12:00:00Z"), ZoneId.of("Europe/Paris")))
+                .isEqualTo(Timestamp.valueOf("2026-01-15 13:00:00"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.clenzy.repository;
+
+import com.clenzy.dto.CalendarGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmark JMH : lecture de grilles planning sur {@code calendar_days} partitionnée par mois
+ * (5 ans d'historique x {@code properties} logements, PostgreSQL via Testcontainers).
+ * Compare le chemin "entité" (toutes colonnes, une ligne par jour, heap visité) au chemin
+ * {@link CalendarGridJdbcRepository} (index couvrant 0421, une ligne agrégée par logement).
+ *
+ * Hors surefire (pas de suffixe Test), Docker requis ; a lancer a la demande, apres {@code mvn test-compile} :
+ *   java -cp "target/test-classes:target/classes:$(cat cp.txt)" com.clenzy.repository.CalendarGridBenchmark
+ * (cp.txt via {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CalendarGridBenchmark {
+
+    private static final long ORG_ID = 1L;
+    private static final LocalDate HISTORY_START = LocalDate.of(2022, 1, 1);
+    private static final int HISTORY_MONTHS = 60;
+
+    /** Planning mensuel d'un portefeuille, puis vue trimestrielle. */
+    private static final LocalDate WINDOW_FROM = LocalDate.of(2026, 3, 1);
+
+    // Même projection que les requêtes entités de CalendarDayRepository (toutes colonnes).
+    private static final String ENTITY_SQL = """
+            SELECT * FROM calendar_days
+            WHERE property_id = ANY(?) AND date >= ? AND date < ? AND organization_id = ?
+            ORDER BY property_id, date
+            """;
+
+    @Param({"2000"})
+    public int properties;
+
+    @Param({"31", "92"})
+    public int windowDays;
+
+    private PostgreSQLContainer<?> postgres;
+    private JdbcTemplate jdbcTemplate;
+    private CalendarGridJdbcRepository gridRepository;
+    private List<Long> propertyIds;
+    private LocalDate windowTo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        createSchema();
+        gridRepository = new CalendarGridJdbcRepository(jdbcTemplate);
+        propertyIds = LongStream.rangeClosed(1, properties).boxed().toList();
+        windowTo = WINDOW_FROM.plusDays(windowDays);
+    }
+
+    /** Schéma réduit de 0050 (partitions mensuelles) + index couvrant 0421 ; un jour sur trois occupé. */
+    private void createSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE calendar_days (
+                    id              BIGSERIAL,
+                    organization_id BIGINT NOT NULL,
+                    property_id     BIGINT NOT NULL,
+                    date            DATE NOT NULL,
+                    status          VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+                    reservation_id  BIGINT,
+                    nightly_price   DECIMAL(10,2),
+                    min_stay        INTEGER DEFAULT 1,
+                    source          VARCHAR(30) DEFAULT 'MANUAL',
+                    notes           TEXT,
+                    created_at      TIMESTAMP NOT NULL DEFAULT now(),
+                    updated_at      TIMESTAMP NOT NULL DEFAULT now(),
+                    PRIMARY KEY (id, date)
+                ) PARTITION BY RANGE (date)
+                """);
+        for (int m = 0; m < HISTORY_MONTHS; m++) {
+            LocalDate month = HISTORY_START.plusMonths(m);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE calendar_days_%d_%02d PARTITION OF calendar_days FOR VALUES FROM ('%s') TO ('%s')",
+                    month.getYear(), month.getMonthValue(), month, month.plusMonths(1)));
+        }
+        jdbcTemplate.update("""
+                INSERT INTO calendar_days (organization_id, property_id, date, status, reservation_id, nightly_price, source)
+                SELECT ?, p, d::date,
+                       CASE WHEN p % 7 = 0 THEN 'BLOCKED' ELSE 'BOOKED' END,
+                       CASE WHEN p % 7 = 0 THEN NULL ELSE p * 100000 + (d::date - ?::date) / 3 END,
+                       100 + p % 50, 'AIRBNB'
+                FROM generate_series(1, ?) AS p,
+                     generate_series(?::date, ?::date - 1, interval '1 day') AS d
+                WHERE (p + (d::date - ?::date)) % 3 = 0
+                """, ORG_ID, Date.valueOf(HISTORY_START), properties,
+                Date.valueOf(HISTORY_START), Date.valueOf(HISTORY_START.plusMonths(HISTORY_MONTHS)),
+                Date.valueOf(HISTORY_START));
+        jdbcTemplate.execute("""
+                CREATE INDEX idx_calendar_days_grid ON calendar_days (property_id, date)
+                    INCLUDE (status, nightly_price, reservation_id, organization_id)
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE calendar_days");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> entityRows() {
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(ENTITY_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", propertyIds.toArray()));
+            ps.setDate(2, Date.valueOf(WINDOW_FROM));
+            ps.setDate(3, Date.valueOf(windowTo));
+            ps.setLong(4, ORG_ID);
+            return ps;
+        }, (rs, i) -> Map.of(
+                "propertyId", rs.getLong("property_id"),
+                "date", rs.getDate("date").toLocalDate(),
+                "status", rs.getString("status"),
+                "nightlyPrice", rs.getBigDecimal("nightly_price") != null ? rs.getBigDecimal("nightly_price") : BigDecimal.ZERO,
+                "notes", String.valueOf(rs.getString("notes"))));
+    }
+
+    @Benchmark
+    public Map<Long, CalendarGrid> grids() {
+        return gridRepository.findGrids(propertyIds, WINDOW_FROM, windowTo, ORG_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CalendarGridBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
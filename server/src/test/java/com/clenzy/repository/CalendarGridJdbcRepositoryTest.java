@@ -0,0 +1,76 @@
+package com.clenzy.repository;
+
+import com.clenzy.dto.CalendarGrid;
+import com.clenzy.model.CalendarDayStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Grilles compactes {@code calendar_days} : bornes de fenêtre (garantie d'élagage des partitions)
+ * et rangement des agrégats PostgreSQL dans les tableaux denses.
+ */
+class CalendarGridJdbcRepositoryTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+
+    @Test
+    @DisplayName("fenêtre [from, to) : nombre de jours, to exclu")
+    void windowDays_countsExclusiveEnd() {
+        assertThat(CalendarGridJdbcRepository.windowDays(FROM, FROM.plusDays(1))).isEqualTo(1);
+        assertThat(CalendarGridJdbcRepository.windowDays(FROM, LocalDate.of(2026, 4, 1))).isEqualTo(31);
+        assertThat(CalendarGridJdbcRepository.windowDays(FROM, FROM.plusDays(CalendarGridJdbcRepository.MAX_WINDOW_DAYS)))
+            .isEqualTo(CalendarGridJdbcRepository.MAX_WINDOW_DAYS);
+    }
+
+    @Test
+    @DisplayName("fenêtre vide, inversée, nulle ou trop longue → IllegalArgumentException")
+    void windowDays_rejectsUnboundedOrInvalidWindows() {
+        assertThatThrownBy(() -> CalendarGridJdbcRepository.windowDays(FROM, FROM))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CalendarGridJdbcRepository.windowDays(FROM, FROM.minusDays(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CalendarGridJdbcRepository.windowDays(FROM, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CalendarGridJdbcRepository.windowDays(FROM,
+                FROM.plusDays(CalendarGridJdbcRepository.MAX_WINDOW_DAYS + 1L)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("agrégats non ordonnés rangés par décalage ; jours sans ligne = AVAILABLE")
+    void fill_placesRowsByOffset() {
+        CalendarGrid grid = CalendarGrid.empty(7L, FROM, 5);
+
+        CalendarGridJdbcRepository.fill(grid,
+            new Integer[] {3, 0},
+            new String[] {"BOOKED", "BLOCKED"},
+            new BigDecimal[] {new BigDecimal("120.00"), null},
+            new Long[] {55L, null});
+
+        assertThat(grid.statuses()).containsExactly(CalendarDayStatus.BLOCKED, CalendarDayStatus.AVAILABLE,
+            CalendarDayStatus.AVAILABLE, CalendarDayStatus.BOOKED, CalendarDayStatus.AVAILABLE);
+        assertThat(grid.nightlyPrice(FROM.plusDays(3))).isEqualByComparingTo("120.00");
+        assertThat(grid.nightlyPrice(FROM)).isNull();
+        assertThat(grid.reservationId(FROM.plusDays(3))).isEqualTo(55L);
+        assertThat(grid.reservationId(FROM)).isNull();
+        assertThat(grid.unavailableDates()).containsExactlyInAnyOrder(FROM, FROM.plusDays(3));
+        assertThat(grid.isAvailable(FROM.plusDays(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("accès hors de la grille → IndexOutOfBoundsException (to exclu)")
+    void grid_rejectsDatesOutsideWindow() {
+        CalendarGrid grid = CalendarGrid.empty(7L, FROM, 5);
+
+        assertThat(grid.to()).isEqualTo(FROM.plusDays(5));
+        assertThat(grid.length()).isEqualTo(5);
+        assertThatThrownBy(() -> grid.status(grid.to())).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> grid.status(FROM.minusDays(1))).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
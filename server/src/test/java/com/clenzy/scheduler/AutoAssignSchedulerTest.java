@@ -6,6 +6,7 @@ import com.clenzy.repository.ServiceRequestRepository;
 import com.clenzy.repository.WorkflowSettingsRepository;
 import com.clenzy.service.ServiceRequestService;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
+import com.clenzy.testkit.TestOrganizationSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,7 +35,7 @@ class AutoAssignSchedulerTest {
     @BeforeEach
     void setUp() {
         scheduler = new AutoAssignScheduler(serviceRequestRepository,
-                workflowSettingsRepository, serviceRequestService, supervisionActivityService);
+                TestOrganizationSettings.provider(workflowSettingsRepository), serviceRequestService, supervisionActivityService);
     }
 
     @Test
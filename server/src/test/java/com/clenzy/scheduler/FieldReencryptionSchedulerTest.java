@@ -0,0 +1,186 @@
+package com.clenzy.scheduler;
+
+import com.clenzy.config.EncryptedFieldConverter;
+import com.clenzy.repository.EncryptedColumnJdbcRepository;
+import com.clenzy.repository.EncryptedColumnJdbcRepository.StoredValue;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.jasypt.util.text.AES256TextEncryptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FieldReencryptionSchedulerTest {
+
+    private static final String PASSWORD = "test-reencryption-password";
+
+    private EncryptedColumnJdbcRepository repository;
+    private EncryptedFieldConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EncryptedColumnJdbcRepository.class);
+        when(repository.findPending(anyString(), anyString(), anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+        when(repository.compareAndSet(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenReturn(true);
+        converter = new EncryptedFieldConverter();
+        converter.setEncryptorPassword(PASSWORD);
+        converter.setKeyVersion(1);
+        converter.setPreviousPasswords("");
+        converter.setWriteFormat("envelope");
+        converter.setFailOnDecryptError(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        converter.setWriteFormat("envelope");
+    }
+
+    private static String jasypt(String plain) {
+        AES256TextEncryptor legacy = new AES256TextEncryptor();
+        legacy.setPassword(PASSWORD);
+        return legacy.encrypt(plain);
+    }
+
+    @Test
+    void runOnce_legacyValues_areReencryptedWithCompareAndSet() {
+        String legacy = jasypt("john@example.com");
+        when(repository.findPending(eq("guests"), eq("email"), eq("FEv1:"), eq(0L), anyInt()))
+                .thenReturn(List.of(new StoredValue(7L, legacy)));
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, true, 20_000);
+
+        FieldReencryptionScheduler.RunStats stats = scheduler.runOnce();
+
+        assertThat(stats.reencrypted()).isEqualTo(1);
+        verify(repository).compareAndSet(eq("guests"), eq("email"), eq(7L), eq(legacy),
+                argThat(v -> v.startsWith("FEv1:")
+                        && "john@example.com".equals(converter.convertToEntityAttribute(v))));
+    }
+
+    @Test
+    void runOnce_concurrentWrite_isCountedAsConflict() {
+        when(repository.findPending(eq("guests"), eq("phone"), anyString(), eq(0L), anyInt()))
+                .thenReturn(List.of(new StoredValue(3L, jasypt("+33612345678"))));
+        when(repository.compareAndSet(eq("guests"), eq("phone"), eq(3L), anyString(), anyString()))
+                .thenReturn(false);
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, true, 20_000);
+
+        FieldReencryptionScheduler.RunStats stats = scheduler.runOnce();
+
+        assertThat(stats.reencrypted()).isZero();
+        assertThat(stats.conflicts()).isEqualTo(1);
+    }
+
+    @Test
+    void runOnce_undecryptableValue_isNeverRewritten() {
+        when(repository.findPending(eq("users"), eq("email"), anyString(), eq(0L), anyInt()))
+                .thenReturn(List.of(new StoredValue(5L, "plaintext-legacy")));
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, true, 20_000);
+
+        FieldReencryptionScheduler.RunStats stats = scheduler.runOnce();
+
+        assertThat(stats.failures()).isEqualTo(1);
+        verify(repository, never()).compareAndSet(eq("users"), eq("email"), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void runOnce_budgetExhausted_resumesFromCursorOnNextRun() {
+        List<StoredValue> batch = new ArrayList<>();
+        for (long id = 1; id <= FieldReencryptionScheduler.BATCH_SIZE; id++) {
+            batch.add(new StoredValue(id, "ANONYMIZED"));
+        }
+        when(repository.findPending(eq("guests"), eq("email"), anyString(), eq(0L), anyInt()))
+                .thenReturn(batch);
+        FieldReencryptionScheduler scheduler =
+                new FieldReencryptionScheduler(repository, true, FieldReencryptionScheduler.BATCH_SIZE);
+
+        scheduler.runOnce();
+        scheduler.runOnce();
+
+        // Premier passage : budget consomme par le premier lot ; le second reprend apres l'id 500.
+        verify(repository).findPending(eq("guests"), eq("email"), anyString(),
+                eq((long) FieldReencryptionScheduler.BATCH_SIZE), anyInt());
+    }
+
+    @Test
+    void runOnce_completedColumns_areNotScannedAgain() {
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, true, 20_000);
+
+        scheduler.runOnce();
+        scheduler.runOnce();
+
+        verify(repository, times(FieldReencryptionScheduler.COLUMNS.size()))
+                .findPending(anyString(), anyString(), anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void runOnce_jasyptWriteFormat_doesNothing() {
+        converter.setWriteFormat("jasypt");
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, true, 20_000);
+
+        FieldReencryptionScheduler.RunStats stats = scheduler.runOnce();
+
+        assertThat(stats.scanned()).isZero();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void reencryptPending_disabled_noRepositoryCall() {
+        FieldReencryptionScheduler scheduler = new FieldReencryptionScheduler(repository, false, 20_000);
+
+        scheduler.reencryptPending();
+
+        verifyNoInteractions(repository);
+    }
+
+    /** Toute colonne @Convert(EncryptedFieldConverter) doit etre migree par le job. */
+    @Test
+    void columns_coverEveryEncryptedEntityField() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        Set<FieldReencryptionScheduler.EncryptedColumn> expected = new HashSet<>();
+        for (BeanDefinition bd : scanner.findCandidateComponents("com.clenzy")) {
+            Class<?> entity = Class.forName(bd.getBeanClassName());
+            Table table = entity.getAnnotation(Table.class);
+            for (Field field : entity.getDeclaredFields()) {
+                Convert convert = field.getAnnotation(Convert.class);
+                if (convert == null || convert.converter() != EncryptedFieldConverter.class) {
+                    continue;
+                }
+                Column column = field.getAnnotation(Column.class);
+                String name = column != null && !column.name().isEmpty()
+                        ? column.name()
+                        : field.getName().replaceAll("([A-Z])", "_$1").toLowerCase();
+                expected.add(new FieldReencryptionScheduler.EncryptedColumn(table.name(), name));
+            }
+        }
+
+        assertThat(expected).isNotEmpty();
+        assertThat(FieldReencryptionScheduler.COLUMNS).containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
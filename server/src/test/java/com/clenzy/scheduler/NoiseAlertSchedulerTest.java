@@ -1,6 +1,5 @@
 package com.clenzy.scheduler;
 
-import com.clenzy.dto.noise.NoiseDataPointDto;
 import com.clenzy.model.NoiseAlert;
 import com.clenzy.model.NoiseAlertConfig;
 import com.clenzy.model.NoiseDevice;
@@ -11,6 +10,9 @@ import com.clenzy.service.NoiseAlertService;
 import com.clenzy.service.NoiseDeviceService;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
 import com.clenzy.service.agent.supervision.SupervisionSuggestionService;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,7 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -43,13 +51,22 @@ class NoiseAlertSchedulerTest {
     private SupervisionActivityService supervisionActivityService;
     @Mock
     private SupervisionSuggestionService supervisionSuggestionService;
+    @Mock
+    private SensorTimeSeriesStore timeSeriesStore;
+
+    private static final Instant NOW = Instant.parse("2026-03-10T22:00:00Z");
 
     private NoiseAlertScheduler scheduler;
 
     @BeforeEach
     void setUp() {
         scheduler = new NoiseAlertScheduler(configRepository, deviceRepository, deviceService, alertService,
-                supervisionActivityService, supervisionSuggestionService);
+                supervisionActivityService, supervisionSuggestionService, timeSeriesStore,
+                Clock.fixed(NOW, ZoneOffset.UTC), 2);
+    }
+
+    private static Sample sample(long secondsAgo, double db) {
+        return new Sample(NOW.getEpochSecond() - secondsAgo, db);
     }
 
     private NoiseAlertConfig createConfig(Long propertyId, Long orgId) {
@@ -99,16 +116,81 @@ class NoiseAlertSchedulerTest {
             when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
             when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE)).thenReturn(List.of(device));
 
-            NoiseDataPointDto dataPoint = new NoiseDataPointDto();
-            dataPoint.setDecibels(85.0);
-            when(deviceService.getNoiseData(eq("user-1"), eq(100L), anyString(), anyString()))
-                    .thenReturn(List.of(dataPoint));
+            when(deviceService.pollSamples(eq(device), any(), eq(NOW)))
+                    .thenReturn(List.of(sample(120, 60.0), sample(60, 85.0)));
 
             scheduler.checkNoiseLevels();
 
+            verify(timeSeriesStore).append(eq(SeriesKey.noise(10L, 100L)), anyList());
             verify(alertService).evaluateNoiseLevel(10L, 1L, 100L, 85.0, NoiseAlert.AlertSource.SCHEDULER);
         }
 
+        @Test
+        void whenSeriesPolledBefore_thenPollsSinceEndOfLastPoll_andRecordsCoverage() {
+            NoiseAlertConfig config = createConfig(1L, 10L);
+            NoiseDevice device = createDevice(100L, "user-1");
+            Instant polledUntil = NOW.minusSeconds(300);
+
+            when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
+            when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE)).thenReturn(List.of(device));
+            when(timeSeriesStore.polledUntil(SeriesKey.noise(10L, 100L))).thenReturn(Optional.of(polledUntil));
+
+            scheduler.checkNoiseLevels();
+
+            verify(deviceService).pollSamples(device, polledUntil.plusSeconds(1), NOW);
+            // Poll vide mais reussi : la periode est couverte (silence), rien a evaluer.
+            verify(timeSeriesStore, never()).append(any(), anyList());
+            verify(timeSeriesStore).recordPolled(SeriesKey.noise(10L, 100L), polledUntil.plusSeconds(1), NOW);
+            verifyNoInteractions(alertService);
+        }
+
+        @Test
+        void whenPollFails_thenCoverageNotRecorded() {
+            NoiseAlertConfig config = createConfig(1L, 10L);
+            NoiseDevice device = createDevice(100L, "user-1");
+
+            when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
+            when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE)).thenReturn(List.of(device));
+            when(deviceService.pollSamples(eq(device), any(), eq(NOW))).thenThrow(new IllegalStateException("503"));
+
+            scheduler.checkNoiseLevels();
+
+            verify(timeSeriesStore, never()).recordPolled(any(), any(), any());
+        }
+
+        @Test
+        void whenSustainedWindowConfigured_thenEvaluatesLevelHeldOverWindow() {
+            NoiseAlertConfig config = createConfig(1L, 10L);
+            config.setSustainedMinutes(10);
+            NoiseDevice device = createDevice(100L, "user-1");
+
+            when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
+            when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE)).thenReturn(List.of(device));
+            when(deviceService.pollSamples(eq(device), any(), eq(NOW))).thenReturn(List.of(sample(60, 90.0)));
+            when(timeSeriesStore.sustainedLevel(SeriesKey.noise(10L, 100L), Duration.ofMinutes(10), NOW))
+                    .thenReturn(OptionalDouble.of(72.0));
+
+            scheduler.checkNoiseLevels();
+
+            verify(alertService).evaluateNoiseLevel(10L, 1L, 100L, 72.0, NoiseAlert.AlertSource.SCHEDULER);
+        }
+
+        @Test
+        void whenSustainedWindowNotCoveredYet_thenSkipsEvaluation() {
+            NoiseAlertConfig config = createConfig(1L, 10L);
+            config.setSustainedMinutes(10);
+            NoiseDevice device = createDevice(100L, "user-1");
+
+            when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
+            when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE)).thenReturn(List.of(device));
+            when(deviceService.pollSamples(eq(device), any(), eq(NOW))).thenReturn(List.of(sample(60, 90.0)));
+            when(timeSeriesStore.sustainedLevel(any(), any(), any())).thenReturn(OptionalDouble.empty());
+
+            scheduler.checkNoiseLevels();
+
+            verifyNoInteractions(alertService);
+        }
+
         @Test
         void whenDeviceServiceThrows_thenContinuesWithNextDevice() {
             NoiseAlertConfig config = createConfig(1L, 10L);
@@ -119,13 +201,10 @@ class NoiseAlertSchedulerTest {
             when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE))
                     .thenReturn(List.of(device1, device2));
 
-            when(deviceService.getNoiseData(eq("user-1"), eq(100L), anyString(), anyString()))
+            when(deviceService.pollSamples(eq(device1), any(), any()))
                     .thenThrow(new RuntimeException("API error"));
-
-            NoiseDataPointDto dataPoint = new NoiseDataPointDto();
-            dataPoint.setDecibels(70.0);
-            when(deviceService.getNoiseData(eq("user-2"), eq(200L), anyString(), anyString()))
-                    .thenReturn(List.of(dataPoint));
+            when(deviceService.pollSamples(eq(device2), any(), any()))
+                    .thenReturn(List.of(sample(30, 70.0)));
 
             scheduler.checkNoiseLevels();
 
@@ -141,11 +220,12 @@ class NoiseAlertSchedulerTest {
             when(configRepository.findAllEnabledWithTimeWindows()).thenReturn(List.of(config));
             when(deviceRepository.findByPropertyIdAndStatus(1L, DeviceStatus.ACTIVE))
                     .thenReturn(List.of(device));
-            when(deviceService.getNoiseData(eq("user-1"), eq(100L), anyString(), anyString()))
+            when(deviceService.pollSamples(eq(device), any(), any()))
                     .thenReturn(List.of());
 
             scheduler.checkNoiseLevels();
 
+            verify(timeSeriesStore, never()).append(any(), anyList());
             verifyNoInteractions(alertService);
         }
 
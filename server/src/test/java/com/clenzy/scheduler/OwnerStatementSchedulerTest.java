@@ -7,22 +7,25 @@ import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.automation.AutomationEngine;
 import com.clenzy.service.automation.AutomationSubject;
 import com.clenzy.service.automation.SendOwnerStatementExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -38,9 +41,15 @@ class OwnerStatementSchedulerTest {
     @Mock private com.clenzy.repository.OrganizationRepository organizationRepository;
     @Mock private com.clenzy.service.agent.supervision.SupervisionSuggestionService supervisionSuggestionService;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private OwnerStatementScheduler scheduler;
 
+    @BeforeEach
+    void setUp() {
+        scheduler = new OwnerStatementScheduler(automationRuleRepository, propertyRepository, automationEngine,
+                organizationRepository, supervisionSuggestionService, meterRegistry, 2);
+    }
+
     private static AutomationRule rule(Long orgId, AutomationTrigger trigger) {
         AutomationRule rule = new AutomationRule();
         rule.setOrganizationId(orgId);
@@ -88,7 +97,7 @@ class OwnerStatementSchedulerTest {
         LocalDate expectedTo = expectedFrom.plusMonths(1).minusDays(1);
 
         List<AutomationSubject> subjects = subjectCaptor.getAllValues();
-        assertThat(subjects).extracting(AutomationSubject::subjectId).containsExactly(100L, 200L);
+        assertThat(subjects).extracting(AutomationSubject::subjectId).containsExactlyInAnyOrder(100L, 200L);
         for (AutomationSubject subject : subjects) {
             assertThat(subject.subjectType()).isEqualTo(SendOwnerStatementExecutor.SUBJECT_OWNER);
             assertThat(subject.data())
@@ -128,4 +137,40 @@ class OwnerStatementSchedulerTest {
         verify(automationEngine, never()).fireTrigger(
                 eq(AutomationTrigger.OWNER_MONTHLY_STATEMENT), eq(1L), any());
     }
+
+    @Test
+    @DisplayName("declenchements en parallele bornes, echec d'un proprietaire isole et compte")
+    void firesOwnersConcurrentlyWithinBound_andCountsOutcomes() {
+        when(automationRuleRepository.findByEnabledTrue()).thenReturn(List.of(
+                rule(10L, AutomationTrigger.OWNER_MONTHLY_STATEMENT)));
+        when(propertyRepository.findDistinctOwnerIdsByOrgId(10L))
+                .thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+                AutomationSubject subject = invocation.getArgument(2);
+                if (subject.subjectId() == 3L) {
+                    throw new IllegalStateException("SMTP");
+                }
+                return null;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }).when(automationEngine).fireTrigger(eq(AutomationTrigger.OWNER_MONTHLY_STATEMENT), eq(10L), any());
+
+        assertDoesNotThrow(() -> scheduler.fireMonthlyOwnerStatements());
+
+        verify(automationEngine, org.mockito.Mockito.times(6)).fireTrigger(
+                eq(AutomationTrigger.OWNER_MONTHLY_STATEMENT), eq(10L), any());
+        assertThat(maxInFlight.get()).isBetween(1, 2);
+        assertThat(meterRegistry.get("clenzy.owner_statements.fired").tag("outcome", "success").counter().count())
+                .isEqualTo(5.0);
+        assertThat(meterRegistry.get("clenzy.owner_statements.fired").tag("outcome", "failure").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("clenzy.owner_statements.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("clenzy.owner_statements.run").timer().count()).isEqualTo(1);
+    }
 }
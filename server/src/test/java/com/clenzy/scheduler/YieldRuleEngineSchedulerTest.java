@@ -4,15 +4,19 @@ import com.clenzy.model.YieldOrgConfig;
 import com.clenzy.repository.YieldOrgConfigRepository;
 import com.clenzy.service.yield.YieldRuleEngine;
 import com.clenzy.tenant.TenantScopedExecutor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -29,7 +33,12 @@ class YieldRuleEngineSchedulerTest {
     @Mock private YieldRuleEngine yieldRuleEngine;
     @Mock private TenantScopedExecutor tenantScopedExecutor;
 
-    @InjectMocks private YieldRuleEngineScheduler scheduler;
+    private YieldRuleEngineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new YieldRuleEngineScheduler(configRepository, yieldRuleEngine, tenantScopedExecutor, 2);
+    }
 
     private static YieldOrgConfig enabledConfig(Long orgId) {
         YieldOrgConfig config = new YieldOrgConfig(orgId);
@@ -76,4 +85,30 @@ class YieldRuleEngineSchedulerTest {
 
         verify(yieldRuleEngine).evaluateOrganization(2L);
     }
+
+    @Test
+    void whenSeveralOrgsAreEnabled_thenTheyRunConcurrentlyWithinTheBound() throws Exception {
+        when(configRepository.findByEnabledTrue())
+                .thenReturn(List.of(enabledConfig(1L), enabledConfig(2L), enabledConfig(3L)));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            bothStarted.countDown();
+            // Les deux premières orgs ne se terminent que si elles tournent en même temps.
+            bothStarted.await(5, TimeUnit.SECONDS);
+            invocation.getArgument(1, Runnable.class).run();
+            inFlight.decrementAndGet();
+            return null;
+        }).when(tenantScopedExecutor).runAsOrganization(any(), any(Runnable.class));
+
+        scheduler.runDaily();
+
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(maxInFlight.get()).isEqualTo(2); // borne clenzy.yield.org-parallelism
+        verify(yieldRuleEngine).evaluateOrganization(1L);
+        verify(yieldRuleEngine).evaluateOrganization(2L);
+        verify(yieldRuleEngine).evaluateOrganization(3L);
+    }
 }
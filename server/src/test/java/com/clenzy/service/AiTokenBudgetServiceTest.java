@@ -4,12 +4,16 @@ import com.clenzy.config.AiProperties;
 import com.clenzy.config.ai.AiResponse;
 import com.clenzy.dto.AiFeatureUsageBreakdownDto;
 import com.clenzy.dto.AiUsageStatsDto;
+import com.clenzy.dto.DailyUsageDto;
 import com.clenzy.exception.AiBudgetExceededException;
 import com.clenzy.model.AiFeature;
 import com.clenzy.model.AiTokenBudget;
-import com.clenzy.model.AiTokenUsage;
 import com.clenzy.repository.AiTokenBudgetRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository.DailyRow;
 import com.clenzy.repository.AiTokenUsageRepository;
+import com.clenzy.service.ai.AiTokenUsageCounters;
+import com.clenzy.service.ai.AiTokenUsageDailyBuffer;
 import com.clenzy.service.ai.LlmPricingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,8 +21,10 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +37,9 @@ class AiTokenBudgetServiceTest {
     private AiTokenUsageRepository usageRepository;
     private LlmPricingService pricingService;
     private com.clenzy.tenant.TenantContext tenantContext;
+    private AiTokenUsageCounters usageCounters;
+    private AiTokenUsageDailyBuffer dailyBuffer;
+    private AiTokenUsageDailyJdbcRepository dailyRepository;
     private AiTokenBudgetService service;
 
     @BeforeEach
@@ -43,8 +52,14 @@ class AiTokenBudgetServiceTest {
         usageRepository = mock(AiTokenUsageRepository.class);
         pricingService = new LlmPricingService(); // real impl — pure stateless, no Spring needed
         tenantContext = mock(com.clenzy.tenant.TenantContext.class); // isSuperAdmin() = false par défaut
+        usageCounters = mock(AiTokenUsageCounters.class);
+        dailyBuffer = mock(AiTokenUsageDailyBuffer.class);
+        dailyRepository = mock(AiTokenUsageDailyJdbcRepository.class);
+        // Compteur froid par defaut : chaque lecture retombe sur la somme Postgres
+        when(usageCounters.used(anyLong(), any(), anyString(), any()))
+                .thenAnswer(inv -> ((LongSupplier) inv.getArgument(3)).getAsLong());
         service = spy(new AiTokenBudgetService(aiProperties, budgetRepository, usageRepository,
-                pricingService, tenantContext));
+                pricingService, tenantContext, usageCounters, dailyBuffer, dailyRepository));
 
         // Fix month for deterministic tests
         doReturn("2026-03").when(service).getCurrentMonthYear();
@@ -117,6 +132,17 @@ class AiTokenBudgetServiceTest {
 
             assertTrue(service.hasBudget(1L, AiFeature.ANALYTICS));
         }
+
+        @Test
+        void hotCounter_answersWithoutMonthlyAggregate() {
+            when(budgetRepository.findByOrganizationIdAndFeature(1L, AiFeature.ASSISTANT_CHAT))
+                    .thenReturn(Optional.empty());
+            when(usageCounters.used(eq(1L), eq(AiFeature.ASSISTANT_CHAT), eq("2026-03"), any()))
+                    .thenReturn(100_000L);
+
+            assertFalse(service.hasBudget(1L, AiFeature.ASSISTANT_CHAT));
+            verifyNoInteractions(usageRepository);
+        }
     }
 
     // ─── requireBudget ──────────────────────────────────────────────────
@@ -177,6 +203,17 @@ class AiTokenBudgetServiceTest {
             assertEquals(150, saved.getTotalTokens());
             assertEquals("2026-03", saved.getMonthYear());
         }
+
+        @Test
+        void feedsHotCounterAndDailyBuffer() {
+            AiResponse response = new AiResponse("hello", 100, 50, 150, "gpt-4o", "stop");
+
+            service.recordUsage(1L, AiFeature.PRICING, "openai", response);
+
+            verify(usageCounters).add(1L, AiFeature.PRICING, "2026-03", 150L);
+            verify(dailyBuffer).record(eq(1L), any(LocalDate.class), eq(AiFeature.PRICING), eq("openai"),
+                    eq("gpt-4o"), eq(100L), eq(50L), eq(150L));
+        }
     }
 
     // ─── getUsageStats ──────────────────────────────────────────────────
@@ -231,18 +268,18 @@ class AiTokenBudgetServiceTest {
 
         @Test
         void groupsByProviderAndModel_andSortsByCostDesc() {
-            // ASSISTANT_CHAT : 2 appels Sonnet + 1 appel Haiku
-            AiTokenUsage sonnet1 = new AiTokenUsage(1L, AiFeature.ASSISTANT_CHAT, "anthropic",
-                    "claude-sonnet-4-20250514", 80_000, 10_000, 90_000, "2026-03");
-            AiTokenUsage sonnet2 = new AiTokenUsage(1L, AiFeature.ASSISTANT_CHAT, "anthropic",
-                    "claude-sonnet-4-20250514", 60_000, 8_000, 68_000, "2026-03");
-            AiTokenUsage haiku = new AiTokenUsage(1L, AiFeature.ASSISTANT_CHAT, "anthropic",
-                    "claude-haiku-4-5", 20_000, 3_000, 23_000, "2026-03");
+            // ASSISTANT_CHAT : Sonnet sur deux jours (1 appel chacun) + 1 appel Haiku
+            DailyRow sonnet1 = row(3, AiFeature.ASSISTANT_CHAT, "anthropic",
+                    "claude-sonnet-4-20250514", 80_000, 10_000, 1);
+            DailyRow sonnet2 = row(4, AiFeature.ASSISTANT_CHAT, "anthropic",
+                    "claude-sonnet-4-20250514", 60_000, 8_000, 1);
+            DailyRow haiku = row(4, AiFeature.ASSISTANT_CHAT, "anthropic",
+                    "claude-haiku-4-5", 20_000, 3_000, 1);
             // DESIGN : 1 appel modele inconnu
-            AiTokenUsage unknown = new AiTokenUsage(1L, AiFeature.DESIGN, "nvidia",
-                    "qwen3-coder-480b", 50_000, 8_000, 58_000, "2026-03");
+            DailyRow unknown = row(4, AiFeature.DESIGN, "nvidia",
+                    "qwen3-coder-480b", 50_000, 8_000, 1);
 
-            when(usageRepository.findByOrganizationIdAndMonthYear(1L, "2026-03"))
+            when(dailyRepository.findByOrganizationBetween(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)))
                     .thenReturn(List.of(sonnet1, sonnet2, haiku, unknown));
 
             AiFeatureUsageBreakdownDto result = service.getUsageBreakdown(1L);
@@ -283,8 +320,6 @@ class AiTokenBudgetServiceTest {
 
         @Test
         void noUsage_returnsEmptyListsPerFeature() {
-            when(usageRepository.findByOrganizationIdAndMonthYear(1L, "2026-03"))
-                    .thenReturn(List.of());
 
             AiFeatureUsageBreakdownDto result = service.getUsageBreakdown(1L);
 
@@ -298,22 +333,46 @@ class AiTokenBudgetServiceTest {
         }
 
         @Test
-        void nullProviderOrModel_falsBackToUnknown() {
-            AiTokenUsage anonymous = new AiTokenUsage(1L, AiFeature.PRICING, null,
-                    null, 1_000, 200, 1_200, "2026-03");
-            when(usageRepository.findByOrganizationIdAndMonthYear(1L, "2026-03"))
-                    .thenReturn(List.of(anonymous));
+        void readsMonthRangeFromDailyAggregate_notPerCallRows() {
+            service.getUsageBreakdown(1L);
 
-            AiFeatureUsageBreakdownDto result = service.getUsageBreakdown(1L);
-            List<AiFeatureUsageBreakdownDto.ModelUsage> pricing =
-                    result.breakdownByFeature().get("PRICING");
+            verify(dailyRepository).findByOrganizationBetween(
+                    1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+            verifyNoInteractions(usageRepository);
+        }
+    }
 
-            assertEquals(1, pricing.size());
-            assertEquals("unknown", pricing.get(0).provider());
-            assertEquals("unknown", pricing.get(0).model());
+    // ─── getDailyUsage ──────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getDailyUsage()")
+    class GetDailyUsage {
+
+        @Test
+        void sumsFeaturesPerDayAndModel() {
+            LocalDate day = LocalDate.now();
+            when(dailyRepository.findByOrganizationBetween(1L, day.minusDays(6), day)).thenReturn(List.of(
+                    new DailyRow(1L, day, AiFeature.ASSISTANT_CHAT, "anthropic", "claude-haiku-4-5",
+                            1_000, 100, 1_100, 3),
+                    new DailyRow(1L, day, AiFeature.ASSISTANT_SMALL, "anthropic", "claude-haiku-4-5",
+                            2_000, 200, 2_200, 2)));
+
+            List<DailyUsageDto> result = service.getDailyUsage(1L, 7);
+
+            assertEquals(1, result.size());
+            assertEquals(day.toString(), result.get(0).date());
+            assertEquals(3_000L, result.get(0).tokensIn());
+            assertEquals(300L, result.get(0).tokensOut());
+            assertEquals(5L, result.get(0).calls());
         }
     }
 
+    private static DailyRow row(int dayOfMonth, AiFeature feature, String provider, String model,
+                                long tokensIn, long tokensOut, long calls) {
+        return new DailyRow(1L, LocalDate.of(2026, 3, dayOfMonth), feature, provider, model,
+                tokensIn, tokensOut, tokensIn + tokensOut, calls);
+    }
+
     // ─── feature toggles ───────────────────────────────────────────────
 
     @org.junit.jupiter.api.Nested
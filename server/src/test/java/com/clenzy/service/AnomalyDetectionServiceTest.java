@@ -1,15 +1,25 @@
 package com.clenzy.service;
 
 import com.clenzy.dto.AnomalyDto;
+import com.clenzy.model.AnomalySeverity;
 import com.clenzy.model.AnomalyType;
+import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.Reservation;
+import com.clenzy.repository.CalendarDayRepository;
 import com.clenzy.repository.ReservationRepository;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -19,7 +29,9 @@ import static org.mockito.Mockito.when;
 class AnomalyDetectionServiceTest {
 
     private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
-    private final AnomalyDetectionService service = new AnomalyDetectionService(reservationRepository);
+    private final CalendarDayRepository calendarDayRepository = mock(CalendarDayRepository.class);
+    private final AnomalyDetectionService service = new AnomalyDetectionService(reservationRepository,
+        calendarDayRepository, Clock.fixed(Instant.parse("2026-07-01T08:00:00Z"), ZoneOffset.UTC));
 
     private Reservation res(Long id, String status, String checkIn, String checkOut) {
         Reservation r = new Reservation();
@@ -84,4 +96,61 @@ class AnomalyDetectionServiceTest {
         assertThat(anomalies).hasSize(1);
         assertThat(anomalies.get(0).type()).isEqualTo(AnomalyType.DOUBLE_BOOKING);
     }
+
+    @Test
+    void sweepFindsEveryOverlappingPairLikeThePairwiseCheck() {
+        Random random = new Random(7);
+        List<AnomalyDetectionService.Stay> stays = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            LocalDate in = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(200));
+            stays.add(new AnomalyDetectionService.Stay(id, (long) random.nextInt(5), in,
+                in.plusDays(1 + random.nextInt(10))));
+        }
+        int expected = 0;
+        for (int i = 0; i < stays.size(); i++) {
+            for (int j = i + 1; j < stays.size(); j++) {
+                AnomalyDetectionService.Stay a = stays.get(i);
+                AnomalyDetectionService.Stay b = stays.get(j);
+                if (a.propertyId().equals(b.propertyId())
+                        && a.checkIn().isBefore(b.checkOut()) && b.checkIn().isBefore(a.checkOut())) {
+                    expected++;
+                }
+            }
+        }
+
+        assertThat(AnomalyDetectionService.detectOverlaps(stays)).hasSize(expected);
+    }
+
+    @Test
+    void overlapsAreOnlyReportedWithinTheSameProperty() {
+        List<AnomalyDetectionService.Stay> stays = List.of(
+            new AnomalyDetectionService.Stay(1L, 7L, LocalDate.parse("2026-07-01"), LocalDate.parse("2026-07-05")),
+            new AnomalyDetectionService.Stay(2L, 8L, LocalDate.parse("2026-07-02"), LocalDate.parse("2026-07-06")));
+
+        assertThat(AnomalyDetectionService.detectOverlaps(stays)).isEmpty();
+    }
+
+    @Test
+    void portfolioScanCrossChecksCalendarDays() {
+        when(reservationRepository.findConfirmedStaysForScan(1L, LocalDate.parse("2026-07-01"))).thenReturn(List.of(
+            new Object[] {1L, 7L, LocalDate.parse("2026-07-01"), LocalDate.parse("2026-07-03")},
+            new Object[] {2L, 8L, LocalDate.parse("2026-07-01"), LocalDate.parse("2026-07-03")},
+            new Object[] {3L, 9L, LocalDate.parse("2026-07-01"), LocalDate.parse("2026-07-02")}));
+        when(calendarDayRepository.findUnavailableDaysForScan(eq(1L), any(), any())).thenReturn(List.of(
+            // bien 7 : correctement reserve
+            new Object[] {7L, LocalDate.parse("2026-07-01"), CalendarDayStatus.BOOKED, 1L, "MANUAL"},
+            new Object[] {7L, LocalDate.parse("2026-07-02"), CalendarDayStatus.BOOKED, 1L, "MANUAL"},
+            // bien 8 : 2e nuit bloquee par un canal
+            new Object[] {8L, LocalDate.parse("2026-07-01"), CalendarDayStatus.BOOKED, 2L, "MANUAL"},
+            new Object[] {8L, LocalDate.parse("2026-07-02"), CalendarDayStatus.BLOCKED, null, "AIRBNB"}));
+            // bien 9 : nuit restee disponible
+
+        List<AnomalyDto> anomalies = service.detectForOrganization(1L);
+
+        assertThat(anomalies).extracting(AnomalyDto::entityId).containsExactly(2L, 3L);
+        assertThat(anomalies).allMatch(a -> a.type() == AnomalyType.CALENDAR_MISMATCH);
+        assertThat(anomalies.get(0).severity()).isEqualTo(AnomalySeverity.HIGH);
+        assertThat(anomalies.get(0).description()).contains("2026-07-02", "AIRBNB");
+        assertThat(anomalies.get(1).severity()).isEqualTo(AnomalySeverity.MEDIUM);
+    }
 }
@@ -6,6 +6,7 @@ import com.clenzy.model.Property;
 import com.clenzy.repository.BookingRestrictionRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +15,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -34,6 +37,7 @@ class BookingRestrictionServiceTest {
     @Mock private BookingRestrictionRepository restrictionRepository;
     @Mock private PropertyRepository propertyRepository;
     @Mock private OutboxPublisher outboxPublisher;
+    @Mock private SearchCacheInvalidator searchCacheInvalidator;
     private ObjectMapper objectMapper;
 
     private BookingRestrictionService service;
@@ -45,7 +49,7 @@ class BookingRestrictionServiceTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         service = new BookingRestrictionService(restrictionRepository, propertyRepository,
-            outboxPublisher, objectMapper);
+            outboxPublisher, objectMapper, searchCacheInvalidator);
         when(restrictionRepository.save(any(BookingRestriction.class))).thenAnswer(inv -> {
             BookingRestriction r = inv.getArgument(0);
             if (r.getId() == null) r.setId(7L);
@@ -53,6 +57,13 @@ class BookingRestrictionServiceTest {
         });
     }
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     private Property sampleProperty() {
         Property p = new Property();
         p.setId(PROPERTY_ID);
@@ -208,6 +219,42 @@ class BookingRestrictionServiceTest {
             .isInstanceOf(IllegalArgumentException.class);
     }
 
+    // ----- Stay-search cache invalidation -----
+
+    @Test
+    void create_invalidatesStaySearchOnlyAfterCommit() {
+        when(propertyRepository.findById(PROPERTY_ID)).thenReturn(Optional.of(sampleProperty()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.create(fullRequest(), ORG_ID);
+        verifyNoInteractions(searchCacheInvalidator);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(searchCacheInvalidator).onAvailabilityOrPriceChanged(ORG_ID);
+    }
+
+    @Test
+    void updateAndDelete_invalidateStaySearchForOrg() {
+        when(restrictionRepository.findById(7L)).thenReturn(Optional.of(sampleRestriction()));
+
+        service.update(7L, ORG_ID, fullRequest());
+        service.delete(7L, ORG_ID);
+
+        verify(searchCacheInvalidator, times(2)).onAvailabilityOrPriceChanged(ORG_ID);
+    }
+
+    @Test
+    void rollback_neverInvalidates() {
+        when(restrictionRepository.findById(7L)).thenReturn(Optional.of(sampleRestriction()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.delete(7L, ORG_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(searchCacheInvalidator);
+    }
+
     // ----- Event publishing robustness -----
 
     @Test
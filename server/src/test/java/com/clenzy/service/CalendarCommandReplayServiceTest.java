@@ -0,0 +1,146 @@
+package com.clenzy.service;
+
+import com.clenzy.dto.CalendarCommandRecord;
+import com.clenzy.dto.CalendarGrid;
+import com.clenzy.model.CalendarCommand;
+import com.clenzy.model.CalendarCommandType;
+import com.clenzy.model.CalendarDayStatus;
+import com.clenzy.repository.CalendarCommandRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
+import com.clenzy.service.CalendarCommandReplayService.CalendarReplay;
+import com.clenzy.service.CalendarCommandReplayService.ReplayedDay;
+import com.clenzy.service.storage.ObjectStorageClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarCommandReplayServiceTest {
+
+    private static final Long PID = 7L;
+    private static final Long ORG = 1L;
+    private static final LocalDate D1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Mock private CalendarCommandRepository calendarCommandRepository;
+    @Mock private CalendarGridJdbcRepository calendarGridRepository;
+    @Mock private ObjectStorageClient objectStorageClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private CalendarCommandReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CalendarCommandReplayService(calendarCommandRepository, calendarGridRepository,
+                objectStorageClient, objectMapper, "calendar-commands");
+    }
+
+    private static CalendarCommandRecord command(long id, CalendarCommandType type, LocalDate from, LocalDate to,
+                                                 Long reservationId, BigDecimal price, List<LocalDate> dates) {
+        return new CalendarCommandRecord(id, ORG, PID, type, from, to, "MANUAL", reservationId, "actor",
+                price, null, dates, "EXECUTED", T0.plusMinutes(id));
+    }
+
+    private static CalendarCommand entity(CalendarCommandRecord record) {
+        CalendarCommand command = new CalendarCommand(record.organizationId(), record.propertyId(),
+                record.commandType(), record.dateFrom(), record.dateTo(), record.source());
+        command.setId(record.id());
+        command.setReservationId(record.reservationId());
+        command.setPrice(record.price());
+        command.setDates(record.dates());
+        command.setExecutedAt(record.executedAt());
+        return command;
+    }
+
+    @Test
+    @DisplayName("BOOK puis CANCEL de la reservation : jours liberes, prix pose par UPDATE_PRICE conserve")
+    void fold_bookCancelAndPrice() {
+        SortedMap<LocalDate, ReplayedDay> state = CalendarCommandReplayService.fold(List.of(
+                command(1, CalendarCommandType.UPDATE_PRICE, D1, D1.plusDays(2), null, new BigDecimal("150.00"), null),
+                command(2, CalendarCommandType.BOOK, D1, D1.plusDays(3), 55L, null, null),
+                command(3, CalendarCommandType.CANCEL, D1, D1.plusDays(3), 55L, null, null)));
+
+        assertThat(state.get(D1)).isEqualTo(new ReplayedDay(CalendarDayStatus.AVAILABLE, null, new BigDecimal("150.00")));
+        assertThat(state.get(D1.plusDays(2)).status()).isEqualTo(CalendarDayStatus.AVAILABLE);
+        assertThat(state.get(D1.plusDays(2)).price()).isNull();
+    }
+
+    @Test
+    @DisplayName("BLOCK/UNBLOCK avec jours explicites : seuls ces jours bougent ; UNBLOCK ne libere pas un BOOKED")
+    void fold_explicitDatesAndUnblockOnlyBlocked() {
+        SortedMap<LocalDate, ReplayedDay> state = CalendarCommandReplayService.fold(List.of(
+                command(1, CalendarCommandType.BOOK, D1.plusDays(1), D1.plusDays(2), 9L, null, null),
+                command(2, CalendarCommandType.BLOCK, D1, D1.plusDays(10), null, null,
+                        List.of(D1, D1.plusDays(4))),
+                command(3, CalendarCommandType.UNBLOCK, D1, D1.plusDays(10), null, null, null)));
+
+        assertThat(state.get(D1).status()).isEqualTo(CalendarDayStatus.AVAILABLE);
+        assertThat(state.get(D1.plusDays(1))).isEqualTo(new ReplayedDay(CalendarDayStatus.BOOKED, 9L, null));
+        assertThat(state).doesNotContainKey(D1.plusDays(2));
+        assertThat(state.get(D1.plusDays(4)).status()).isEqualTo(CalendarDayStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("ordre (executedAt, id), doublons archive/log vivant dedupliques, commandes non EXECUTED ignorees")
+    void order_sortsDeduplicatesAndFilters() {
+        CalendarCommandRecord first = command(1, CalendarCommandType.BLOCK, D1, D1.plusDays(1), null, null, null);
+        CalendarCommandRecord second = command(2, CalendarCommandType.UNBLOCK, D1, D1.plusDays(1), null, null, null);
+        CalendarCommandRecord failed = new CalendarCommandRecord(3L, ORG, PID, CalendarCommandType.BLOCK, D1,
+                D1.plusDays(1), "MANUAL", null, null, null, null, null, "FAILED", T0.plusMinutes(3));
+
+        assertThat(CalendarCommandReplayService.order(List.of(second, first, failed, first)))
+                .containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("replay : archive NDJSON + log vivant, divergences avec calendar_days")
+    void replay_mergesArchiveAndReportsDivergences() throws Exception {
+        CalendarCommandRecord archived = command(1, CalendarCommandType.BOOK, D1, D1.plusDays(2), 55L, null, null);
+        CalendarCommandRecord otherProperty = new CalendarCommandRecord(2L, ORG, 99L, CalendarCommandType.BLOCK,
+                D1, D1.plusDays(5), "MANUAL", null, null, null, null, null, "EXECUTED", T0);
+        String ndjson = objectMapper.writeValueAsString(archived) + "\n" + objectMapper.writeValueAsString(otherProperty) + "\n";
+        when(objectStorageClient.isArchiveConfigured()).thenReturn(true);
+        when(objectStorageClient.archiveBucket()).thenReturn("cold");
+        when(objectStorageClient.exists("cold", "archive/calendar-commands/2025_12/page-000000.ndjson")).thenReturn(true);
+        when(objectStorageClient.exists("cold", "archive/calendar-commands/2025_12/page-000001.ndjson")).thenReturn(false);
+        when(objectStorageClient.get(anyString(), anyString())).thenReturn(ndjson.getBytes(StandardCharsets.UTF_8));
+
+        CalendarCommandRecord live = command(5, CalendarCommandType.BLOCK, D1.plusDays(3), D1.plusDays(4), null, null, null);
+        when(calendarCommandRepository.findForReplay(PID, ORG)).thenReturn(List.of(entity(live)));
+
+        // calendar_days : jour 0 BOOKED (ok), jour 1 libre (divergence), jour 3 BLOCKED (ok)
+        CalendarGrid grid = CalendarGrid.empty(PID, D1, 5);
+        grid.statuses()[0] = CalendarDayStatus.BOOKED;
+        grid.reservationIds()[0] = 55L;
+        grid.statuses()[3] = CalendarDayStatus.BLOCKED;
+        when(calendarGridRepository.findGrid(PID, D1, D1.plusDays(5), ORG)).thenReturn(grid);
+
+        CalendarReplay replay = service.replay(PID, ORG, D1, D1.plusDays(5), List.of("2025_12"));
+
+        assertThat(replay.commandsReplayed()).isEqualTo(2);
+        assertThat(replay.firstCommandAt()).isEqualTo(archived.executedAt());
+        assertThat(replay.days()).containsOnlyKeys(D1, D1.plusDays(1), D1.plusDays(3));
+        assertThat(replay.divergences()).singleElement().satisfies(d -> {
+            assertThat(d.date()).isEqualTo(D1.plusDays(1));
+            assertThat(d.replayedStatus()).isEqualTo(CalendarDayStatus.BOOKED);
+            assertThat(d.actualStatus()).isEqualTo(CalendarDayStatus.AVAILABLE);
+            assertThat(d.replayedReservationId()).isEqualTo(55L);
+            assertThat(d.actualReservationId()).isNull();
+        });
+    }
+}
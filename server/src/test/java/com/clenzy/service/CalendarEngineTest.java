@@ -3,6 +3,7 @@ package com.clenzy.service;
 import com.clenzy.exception.CalendarConflictException;
 import com.clenzy.exception.CalendarLockException;
 import com.clenzy.exception.RestrictionViolationException;
+import com.clenzy.model.CalendarCommand;
 import com.clenzy.model.CalendarDay;
 import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.Property;
@@ -10,6 +11,7 @@ import com.clenzy.model.RateOverride;
 import com.clenzy.model.Reservation;
 import com.clenzy.repository.CalendarCommandRepository;
 import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarGridJdbcRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.repository.RateOverrideRepository;
 import com.clenzy.repository.ReservationRepository;
@@ -72,6 +74,9 @@ class CalendarEngineTest {
     @Mock
     private SearchCacheInvalidator searchCacheInvalidator;
 
+    @Mock
+    private CalendarGridJdbcRepository calendarGridRepository;
+
     @InjectMocks
     private CalendarEngine calendarEngine;
 
@@ -415,6 +420,12 @@ class CalendarEngineTest {
         assertEquals(CalendarDayStatus.AVAILABLE, icalStale.getStatus());
         assertEquals(CalendarDayStatus.BLOCKED, manualBlock.getStatus()); // blocage manuel preserve
         verify(outboxPublisher).publishCalendarEvent(eq("CALENDAR_UNBLOCKED"), eq(propertyId), eq(orgId), anyString());
+
+        // Le log garde les jours effectivement touches (rejouable), pas toute la fenetre.
+        ArgumentCaptor<CalendarCommand> commands = ArgumentCaptor.forClass(CalendarCommand.class);
+        verify(calendarCommandRepository, times(2)).save(commands.capture());
+        assertEquals(List.of(kept), commands.getAllValues().get(0).getDates());
+        assertEquals(List.of(stale), commands.getAllValues().get(1).getDates());
     }
 
     @Test
@@ -434,6 +445,11 @@ class CalendarEngineTest {
 
         verify(calendarDayRepository).saveAll(anyList());
         verify(outboxPublisher).publishCalendarEvent(eq("CALENDAR_PRICE_UPDATED"), eq(propertyId), eq(orgId), anyString());
+
+        ArgumentCaptor<CalendarCommand> command = ArgumentCaptor.forClass(CalendarCommand.class);
+        verify(calendarCommandRepository).save(command.capture());
+        assertEquals(newPrice, command.getValue().getPrice());
+        assertNull(command.getValue().getDates());
     }
 
     @Test
@@ -13,6 +13,7 @@ import com.clenzy.model.Property;
 import com.clenzy.repository.EnvironmentSensorRepository;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
 import com.clenzy.tenant.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -47,6 +48,7 @@ class EnvironmentSensorServiceTest {
     @Mock NotificationService notificationService;
     @Mock NetatmoApiService netatmoApiService;
     @Mock SupervisionActivityService supervisionActivityService;
+    @Mock SensorTimeSeriesStore timeSeriesStore;
 
     EnvironmentSensorService service;
 
@@ -55,7 +57,7 @@ class EnvironmentSensorServiceTest {
         service = new EnvironmentSensorService(sensorRepository, propertyRepository,
                 tuyaApiService, tenantContext, claimService, notificationService, netatmoApiService,
                 supervisionActivityService,
-                new com.clenzy.service.access.OrganizationAccessGuard(tenantContext));
+                new com.clenzy.service.access.OrganizationAccessGuard(tenantContext), timeSeriesStore, 4);
         // Isolation multi-tenant (audit P1-09/P1-10/P1-15) : sans organisation courante,
         // le garde refuse — il est fail-closed. Les entites de ces tests portent la meme.
         org.mockito.Mockito.lenient().when(tenantContext.getOrganizationId()).thenReturn(1L);
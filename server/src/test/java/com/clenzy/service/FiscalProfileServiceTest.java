@@ -28,11 +28,14 @@ class FiscalProfileServiceTest {
     @Mock
     private TenantContext tenantContext;
 
+    @Mock
+    private OrganizationSettingsProvider settingsProvider;
+
     private FiscalProfileService fiscalProfileService;
 
     @BeforeEach
     void setUp() {
-        fiscalProfileService = new FiscalProfileService(fiscalProfileRepository, tenantContext);
+        fiscalProfileService = new FiscalProfileService(fiscalProfileRepository, tenantContext, settingsProvider);
     }
 
     private FiscalProfile createTestProfile() {
@@ -167,6 +170,23 @@ class FiscalProfileServiceTest {
             assertThat(captor.getValue().getCountryCode()).isEqualTo("MA");
             assertThat(captor.getValue().getDefaultCurrency()).isEqualTo("MAD");
         }
+
+        @Test
+        void shouldInvalidateSettingsSnapshotOfOrganization() {
+            when(tenantContext.getRequiredOrganizationId()).thenReturn(42L);
+            when(fiscalProfileRepository.findByOrganizationId(42L))
+                .thenReturn(Optional.of(createTestProfile()));
+            when(fiscalProfileRepository.save(any(FiscalProfile.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+            fiscalProfileService.updateProfile(new FiscalProfileDto(
+                1L, 42L, "MA", "MAD", null, null,
+                FiscalRegime.STANDARD, true, "MONTHLY",
+                "fr", "FA-", null, "Test", "Test Addr"
+            ));
+
+            verify(settingsProvider).invalidate(42L);
+        }
     }
 
     @Nested
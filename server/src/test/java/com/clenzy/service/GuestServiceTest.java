@@ -1,8 +1,10 @@
 package com.clenzy.service;
 
+import com.clenzy.config.GuestBlindIndex;
 import com.clenzy.model.Guest;
 import com.clenzy.model.GuestChannel;
 import com.clenzy.repository.GuestRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,6 +26,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -539,4 +542,74 @@ class GuestServiceTest {
             assertThat(result.content().get(0).organizationName()).isEqualTo("Org A");
         }
     }
+
+    // ===== INDEX AVEUGLES =====
+
+    @Nested
+    class BlindIndexLookups {
+
+        @BeforeEach
+        void enableBlindIndex() {
+            new GuestBlindIndex().setSecret("test-blind-index-secret");
+        }
+
+        @AfterEach
+        void disableBlindIndex() {
+            // Etat statique partage : les autres tests couvrent le repli memoire.
+            new GuestBlindIndex().setSecret(null);
+        }
+
+        @Test
+        void emailDedup_matchesCandidateCaseInsensitively() {
+            Guest existing = buildGuest(2L, "Marie", "Curie");
+            existing.setEmail("Marie@Test.com");
+            when(guestRepository.findEmailCandidates(ORG_ID, GuestBlindIndex.emailIndex(" MARIE@test.com ")))
+                    .thenReturn(List.of(existing));
+
+            Guest result = guestService.findOrCreate("Marie", "Curie", "marie@test.com",
+                    null, GuestChannel.DIRECT, null, ORG_ID);
+
+            assertThat(result.getId()).isEqualTo(2L);
+            verify(guestRepository, never()).findByOrganizationId(any(), any(Pageable.class));
+        }
+
+        @Test
+        void search_loadsTokenCandidatesOnly_thenFiltersDecryptedValues() {
+            Guest alice = buildGuest(1L, "Alice", "Dupont");
+            Guest collision = buildGuest(2L, "Bob", "Martin");
+            when(guestRepository.findSearchCandidates(eq(ORG_ID), anyString()))
+                    .thenReturn(List.of(alice, collision));
+
+            GuestPageDto result = guestService.listGuestsPage(ORG_ID, "Alic", null, 0, 10);
+
+            assertThat(result.totalElements()).isEqualTo(1);
+            assertThat(result.content().get(0).firstName()).isEqualTo("Alice");
+            verify(guestRepository, never()).findByOrganizationId(ORG_ID);
+        }
+
+        @Test
+        void searchByName_passesTermTrigramsAsArrayLiteral() {
+            when(guestRepository.findSearchCandidates(eq(ORG_ID), anyString())).thenReturn(List.of());
+
+            guestService.searchByName(ORG_ID, "dupo");
+
+            ArgumentCaptor<String> literal = ArgumentCaptor.forClass(String.class);
+            verify(guestRepository).findSearchCandidates(eq(ORG_ID), literal.capture());
+            // "dupo" → 2 trigrammes (dup, upo)
+            assertThat(literal.getValue()).matches("\\{[0-9a-f]{16},[0-9a-f]{16}\\}");
+        }
+
+        @Test
+        void persistedGuest_tokensCoverEverySearchableSubstring() {
+            Guest guest = buildGuest(1L, "Jean-Luc", "Picard");
+            guest.setEmail("jl@enterprise.fr");
+            GuestBlindIndex.refresh(guest);
+
+            for (String term : List.of("jean", "luc pic", "picard", "enterpr", "jl")) {
+                assertThat(guest.getSearchTokens()).containsAll(GuestBlindIndex.queryTokens(term));
+            }
+            assertThat(guest.getSearchTokens()).doesNotContainAnyElementsOf(GuestBlindIndex.queryTokens("riker"));
+            assertThat(guest.getBlindIndexVersion()).isEqualTo(GuestBlindIndex.VERSION);
+        }
+    }
 }
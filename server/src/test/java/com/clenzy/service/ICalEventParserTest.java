@@ -455,4 +455,91 @@ class ICalEventParserTest {
                     .isEqualTo(LocalDate.of(2026, 6, 15));
         }
     }
+
+    @Nested
+    @DisplayName("Lecture en flux et fenetre de parsing")
+    class StreamingAndWindow {
+
+        @Test
+        void whenWindowGiven_thenPastEventsCountedButNotMaterialized() {
+            String ical = buildIcal(
+                    buildVEvent("uid-old", "Old Guest", "20200101", "20200105"),
+                    buildVEvent("uid-edge", "Edge Guest", "20260225", "20260301"),
+                    buildVEvent("uid-new", "New Guest", "20260310", "20260312"));
+
+            ICalEventParser.ParseResult result = ICalEventParser.parse(
+                    toStream(ical), ZoneId.of("Europe/Paris"), LocalDate.of(2026, 3, 1));
+
+            // DTEND exclusif : un sejour termine le jour du debut de fenetre est hors fenetre
+            assertThat(result.events()).extracting(ICalEventPreview::getUid).containsExactly("uid-new");
+            assertThat(result.outOfWindowEvents()).isEqualTo(2);
+        }
+
+        @Test
+        void whenWindowGiven_thenRecurringAndUnparsableEventsKept() {
+            String recurring = "BEGIN:VEVENT\r\nUID:uid-rec\r\nSUMMARY:Guest\r\n"
+                    + "DTSTART;VALUE=DATE:20200101\r\nDTEND;VALUE=DATE:20200103\r\n"
+                    + "RRULE:FREQ=YEARLY\r\nEND:VEVENT\r\n";
+            String broken = "BEGIN:VEVENT\r\nUID:uid-broken\r\nSUMMARY:Guest\r\nEND:VEVENT\r\n";
+
+            ICalEventParser.ParseResult result = ICalEventParser.parse(
+                    toStream(buildIcal(recurring, broken)), ZoneId.of("Europe/Paris"), LocalDate.of(2026, 3, 1));
+
+            assertThat(result.events()).extracting(ICalEventPreview::getUid).containsExactly("uid-rec");
+            assertThat(result.unparsableUids()).containsExactly("uid-broken");
+            assertThat(result.outOfWindowEvents()).isZero();
+        }
+
+        @Test
+        void whenFoldedAndEscapedLines_thenUnfoldedAndUnescaped() {
+            String vevent = "BEGIN:VEVENT\r\nUID:uid-fold\r\n"
+                    + "SUMMARY:Jean\\, Marie Dupont\r\n"
+                    + "DTSTART;VALUE=DATE:20260301\r\nDTEND;VALUE=DATE:20260305\r\n"
+                    + "DESCRIPTION:Ligne 1\\nNIGHTS: \r\n 4\r\n"
+                    + "END:VEVENT\r\n";
+
+            ICalEventPreview event = ICalEventParser.parseEvents(toStream(buildIcal(vevent))).get(0);
+
+            assertThat(event.getGuestName()).isEqualTo("Jean, Marie Dupont");
+            assertThat(event.getDescription()).isEqualTo("Ligne 1\nNIGHTS: 4");
+            assertThat(event.getNights()).isEqualTo(4);
+        }
+
+        @Test
+        void whenNestedAlarm_thenAlarmPropertiesIgnored() {
+            String vevent = "BEGIN:VEVENT\r\nUID:uid-alarm\r\n"
+                    + "BEGIN:VALARM\r\nSUMMARY:Rappel\r\nDESCRIPTION:Alarme\r\nEND:VALARM\r\n"
+                    + "SUMMARY:Guest Name\r\n"
+                    + "DTSTART;VALUE=DATE:20260301\r\nDTEND;VALUE=DATE:20260305\r\n"
+                    + "END:VEVENT\r\n";
+
+            ICalEventPreview event = ICalEventParser.parseEvents(toStream(buildIcal(vevent))).get(0);
+
+            assertThat(event.getSummary()).isEqualTo("Guest Name");
+            assertThat(event.getDescription()).isNull();
+        }
+
+        @Test
+        void whenQuotedTzid_thenQuotesStripped() {
+            String vevent = "BEGIN:VEVENT\r\nUID:uid-q\r\nSUMMARY:Guest\r\n"
+                    + "DTSTART;TZID=\"America/New_York\":20260615T230000\r\n"
+                    + "DTEND;TZID=\"America/New_York\":20260620T230000\r\nEND:VEVENT\r\n";
+
+            ICalEventParser.ParseResult result = ICalEventParser.parse(
+                    toStream(buildIcal(vevent)), ZoneId.of("Europe/Paris"));
+
+            assertThat(result.events().get(0).getDtStart()).isEqualTo(LocalDate.of(2026, 6, 16));
+        }
+
+        @Test
+        void whenFeedTruncated_thenRejectedInsteadOfPartiallyParsed() {
+            String truncated = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"
+                    + buildVEvent("uid-1", "Guest", "20260301", "20260305")
+                    + "BEGIN:VEVENT\r\nUID:uid-2\r\nSUMMARY:Gue";
+
+            assertThatThrownBy(() -> ICalEventParser.parse(toStream(truncated)))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("iCal");
+        }
+    }
 }
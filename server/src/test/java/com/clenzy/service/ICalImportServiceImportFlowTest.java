@@ -92,6 +92,7 @@ class ICalImportServiceImportFlowTest {
     @Mock private ServiceRequestService serviceRequestService;
     @Mock private OtaReservationInvoicingService otaInvoicingService;
     @Mock private ICalFeedDownloader feedDownloader;
+    @Mock private com.clenzy.repository.ICalFeedEventHashRepository eventHashRepository;
 
     private TenantContext tenantContext;
     private ICalImportService service;
@@ -123,6 +124,7 @@ class ICalImportServiceImportFlowTest {
                 serviceRequestRepository,
                 new com.clenzy.service.pricing.CleaningPricingEngine(pricingConfigService, new com.fasterxml.jackson.databind.ObjectMapper(), org.mockito.Mockito.mock(com.clenzy.repository.HousekeeperRateRepository.class)),
                 tenantContext),
+            new com.clenzy.service.ical.ICalFeedEventIndex(eventHashRepository),
             org.mockito.Mockito.mock(com.clenzy.service.agent.supervision.SupervisionActivityService.class),
             org.mockito.Mockito.mock(com.clenzy.service.agent.supervision.SupervisionSuggestionService.class),
             selfProvider);
@@ -1516,6 +1518,72 @@ class ICalImportServiceImportFlowTest {
             .isEqualTo(java.time.LocalTime.of(14, 0));
     }
 
+    // ─── Application differentielle : feed inchange entre deux synchros ─────
+
+    @Test
+    @DisplayName("re-synchro d'un feed inchange → le 2e passage (differentiel) ne rejoue aucun evenement")
+    void importIcalFeed_unchangedFeedWithinFullPassInterval_skipsUnchangedEvents() {
+        // Arrange
+        User owner = host(10L, "kc", "premium");
+        Property prop = property(20L, owner);
+        when(userRepository.findByKeycloakId("kc")).thenReturn(Optional.of(owner));
+        when(propertyRepository.findById(20L)).thenReturn(Optional.of(prop));
+        when(icalFeedRepository.findByUrlAndDifferentProperty(eq(FEED_URL), eq(20L), eq(ORG_ID)))
+            .thenReturn(List.of());
+        ICalFeed feed = new ICalFeed(prop, FEED_URL, "Airbnb");
+        feed.setId(50L);
+        when(icalFeedRepository.findByPropertyIdAndUrl(eq(20L), eq(FEED_URL), eq(ORG_ID))).thenReturn(feed);
+        when(icalFeedRepository.save(any(ICalFeed.class))).thenAnswer(inv -> inv.getArgument(0));
+        Reservation existing = new Reservation();
+        existing.setId(1000L);
+        existing.setExternalUid("res-diff@example.com");
+        existing.setIcalFeed(feed);
+        when(reservationRepository2.findByPropertyId(eq(20L), eq(ORG_ID))).thenReturn(List.of(existing));
+        when(reservationRepository2.findById(1000L)).thenReturn(Optional.of(existing));
+        when(reservationRepository2.findActiveByICalFeedId(50L, ORG_ID)).thenReturn(List.of());
+
+        String ics = """
+            BEGIN:VCALENDAR
+            VERSION:2.0
+            PRODID:-//TestProvider//iCalImport//EN
+            BEGIN:VEVENT
+            UID:res-diff@example.com
+            DTSTART;VALUE=DATE:20990701
+            DTEND;VALUE=DATE:20990703
+            SUMMARY:Jean Dupont (HM12345AB)
+            END:VEVENT
+            END:VCALENDAR
+            """;
+        injectHttpClientReturning(ics, 200);
+
+        ImportRequest req = new ImportRequest();
+        req.setUrl(FEED_URL);
+        req.setPropertyId(20L);
+        req.setSourceName("Airbnb");
+        req.setAutoCreateInterventions(false);
+
+        // Act : 1er passage (complet) → indexe l'evenement
+        ImportResponse first = service.importICalFeed(req, "kc");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<com.clenzy.model.ICalFeedEventHash>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(eventHashRepository).saveAll(indexed.capture());
+        when(eventHashRepository.findByFeedId(50L)).thenReturn(indexed.getValue());
+
+        // Act : 2e passage, dans l'intervalle → differentiel
+        ImportResponse second = service.importICalFeed(req, "kc");
+
+        // Assert
+        assertThat(feed.getLastFullSyncAt()).isNotNull();
+        assertThat(indexed.getValue()).extracting(com.clenzy.model.ICalFeedEventHash::getUid)
+            .containsExactly("res-diff@example.com");
+        assertThat(first.getSkipped()).isEqualTo(1);
+        assertThat(second.getSkipped()).isEqualTo(1);
+        assertThat(second.getErrors()).isEmpty();
+        // la reservation n'est relue qu'au passage complet ; l'index n'est pas reecrit
+        verify(reservationRepository2, org.mockito.Mockito.times(1)).findById(1000L);
+        verify(eventHashRepository, org.mockito.Mockito.times(1)).saveAll(any());
+    }
+
     private void setupCommonMocks(Property prop, User owner, String kc, Long feedId) {
         when(userRepository.findByKeycloakId(kc)).thenReturn(Optional.of(owner));
         when(propertyRepository.findById(20L)).thenReturn(Optional.of(prop));
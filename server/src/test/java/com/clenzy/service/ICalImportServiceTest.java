@@ -88,6 +88,8 @@ class ICalImportServiceTest {
                         serviceRequestRepository,
                 new com.clenzy.service.pricing.CleaningPricingEngine(pricingConfigService, new com.fasterxml.jackson.databind.ObjectMapper(), org.mockito.Mockito.mock(com.clenzy.repository.HousekeeperRateRepository.class)),
                 tenantContext),
+                new com.clenzy.service.ical.ICalFeedEventIndex(
+                        org.mockito.Mockito.mock(com.clenzy.repository.ICalFeedEventHashRepository.class)),
                 supervisionActivityService,
                 org.mockito.Mockito.mock(com.clenzy.service.agent.supervision.SupervisionSuggestionService.class),
                 selfProvider
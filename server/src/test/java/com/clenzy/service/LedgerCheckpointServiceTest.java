@@ -0,0 +1,75 @@
+package com.clenzy.service;
+
+import com.clenzy.repository.WalletBalanceJdbcRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository.BalanceHead;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Checkpoint;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Recount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class LedgerCheckpointServiceTest {
+
+    private WalletBalanceJdbcRepository balances;
+    private SimpleMeterRegistry registry;
+    private LedgerCheckpointService service;
+
+    @BeforeEach
+    void setUp() {
+        balances = mock(WalletBalanceJdbcRepository.class);
+        registry = new SimpleMeterRegistry();
+        service = new LedgerCheckpointService(balances, registry, 500);
+    }
+
+    private static Checkpoint checkpoint(String balance, long entries) {
+        return new Checkpoint(11L, 7L, 900L, new BigDecimal(balance), entries);
+    }
+
+    @Test
+    void checkpointDueWallets_snapshotsEveryDueHead() {
+        BalanceHead head = new BalanceHead(7L, new BigDecimal("42.00"), 1200L, 640L);
+        when(balances.findHeadsDueForCheckpoint(500L)).thenReturn(List.of(head));
+
+        assertEquals(1, service.checkpointDueWallets());
+        verify(balances).insertCheckpoint(head);
+    }
+
+    @Test
+    void verifyCheckpoints_matchingRecountAndHead_marksVerified() {
+        when(balances.findUnverifiedCheckpoints(anyInt())).thenReturn(List.of(checkpoint("500.00", 40)));
+        when(balances.recount(7L, 900L)).thenReturn(new Recount(new BigDecimal("500.00"), 40));
+        when(balances.findHead(7L)).thenReturn(Optional.of(new BalanceHead(7L, new BigDecimal("480.00"), 950L, 42)));
+        when(balances.sumBetween(7L, 900L, 950L)).thenReturn(new BigDecimal("-20.00"));
+
+        assertEquals(0, service.verifyCheckpoints());
+        verify(balances).markVerified(11L);
+    }
+
+    @Test
+    void verifyCheckpoints_recountMismatch_isCountedAndLeftUnverified() {
+        when(balances.findUnverifiedCheckpoints(anyInt())).thenReturn(List.of(checkpoint("500.00", 40)));
+        when(balances.recount(7L, 900L)).thenReturn(new Recount(new BigDecimal("499.00"), 40));
+
+        assertEquals(1, service.verifyCheckpoints());
+        verify(balances, never()).markVerified(any());
+        assertEquals(1.0, registry.counter("clenzy.ledger.checkpoint.mismatch").count());
+    }
+
+    @Test
+    void verifyCheckpoints_runningBalanceDrift_isReported() {
+        when(balances.findUnverifiedCheckpoints(anyInt())).thenReturn(List.of(checkpoint("500.00", 40)));
+        when(balances.recount(7L, 900L)).thenReturn(new Recount(new BigDecimal("500.00"), 40));
+        when(balances.findHead(7L)).thenReturn(Optional.of(new BalanceHead(7L, new BigDecimal("470.00"), 950L, 42)));
+        when(balances.sumBetween(7L, 900L, 950L)).thenReturn(new BigDecimal("-20.00"));
+
+        assertEquals(1, service.verifyCheckpoints());
+        verify(balances, never()).markVerified(any());
+    }
+}
@@ -6,6 +6,9 @@ import com.clenzy.model.LedgerReferenceType;
 import com.clenzy.model.Wallet;
 import com.clenzy.model.WalletType;
 import com.clenzy.repository.LedgerEntryRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository;
+import com.clenzy.repository.WalletBalanceJdbcRepository.BalanceHead;
+import com.clenzy.repository.WalletBalanceJdbcRepository.Checkpoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,12 +30,18 @@ import static org.mockito.Mockito.*;
 class LedgerServiceTest {
 
     private LedgerEntryRepository repo;
+    private WalletBalanceJdbcRepository balances;
     private LedgerService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(LedgerEntryRepository.class);
-        service = new LedgerService(repo);
+        balances = mock(WalletBalanceJdbcRepository.class);
+        service = new LedgerService(repo, balances);
+    }
+
+    private static BalanceHead head(Long walletId, String balance) {
+        return new BalanceHead(walletId, new BigDecimal(balance), 0L, 0L);
     }
 
     private static Wallet wallet(Long id, Long orgId, String currency) {
@@ -43,6 +53,27 @@ class LedgerServiceTest {
         return w;
     }
 
+    @Test
+    void calculateBalance_readsRunningBalance_withoutSummingTheLedger() {
+        when(balances.findHead(7L)).thenReturn(Optional.of(head(7L, "88.10")));
+        assertEquals(new BigDecimal("88.10"), service.calculateBalance(7L));
+        verify(repo, never()).calculateBalance(any());
+    }
+
+    @Test
+    void calculateBalanceAsOf_addsEntriesSinceNearestCheckpoint() {
+        when(balances.findCheckpointAtOrBefore(7L, 950L))
+                .thenReturn(Optional.of(new Checkpoint(1L, 7L, 900L, new BigDecimal("500.00"), 40L)));
+        when(balances.sumBetween(7L, 900L, 950L)).thenReturn(new BigDecimal("-20.00"));
+        assertEquals(new BigDecimal("480.00"), service.calculateBalanceAsOf(7L, 950L));
+    }
+
+    @Test
+    void calculateBalanceAsOf_withoutCheckpoint_sumsFromTheStart() {
+        when(balances.sumBetween(7L, 0L, 10L)).thenReturn(new BigDecimal("12.00"));
+        assertEquals(new BigDecimal("12.00"), service.calculateBalanceAsOf(7L, 10L));
+    }
+
     @Test
     void calculateBalance_returnsValueFromRepo() {
         when(repo.calculateBalance(7L)).thenReturn(new BigDecimal("123.45"));
@@ -115,8 +146,8 @@ class LedgerServiceTest {
         Wallet to = wallet(2L, 100L, "EUR");
 
         // initial balances : from=200, to=50
-        when(repo.calculateBalance(1L)).thenReturn(new BigDecimal("200.00"));
-        when(repo.calculateBalance(2L)).thenReturn(new BigDecimal("50.00"));
+        when(balances.lockHead(1L)).thenReturn(head(1L, "200.00"));
+        when(balances.lockHead(2L)).thenReturn(head(2L, "50.00"));
 
         // Mock save() to assign IDs (auto-increment simulation)
         AtomicLong idGen = new AtomicLong(1000);
@@ -159,6 +190,28 @@ class LedgerServiceTest {
 
         // save() called 4 times : 2 inserts + 2 updates for counterpart wiring
         verify(repo, times(4)).save(any(LedgerEntry.class));
+        // running balances advanced to the new entries
+        verify(balances).advanceHead(1L, new BigDecimal("125.00"), debit.getId());
+        verify(balances).advanceHead(2L, new BigDecimal("125.00"), credit.getId());
+    }
+
+    @Test
+    void recordTransfer_locksRunningBalancesInWalletIdOrder() {
+        Wallet from = wallet(9L, 100L, "EUR");
+        Wallet to = wallet(2L, 100L, "EUR");
+        when(balances.lockHead(any())).thenAnswer(inv -> head(inv.getArgument(0), "0"));
+        AtomicLong idGen = new AtomicLong(1);
+        when(repo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
+            LedgerEntry e = inv.getArgument(0);
+            if (e.getId() == null) e.setId(idGen.getAndIncrement());
+            return e;
+        });
+
+        service.recordTransfer(from, to, BigDecimal.ONE, LedgerReferenceType.PAYOUT, "p-1", "payout");
+
+        var order = inOrder(balances);
+        order.verify(balances).lockHead(2L);
+        order.verify(balances).lockHead(9L);
     }
 
     @Test
@@ -166,7 +219,7 @@ class LedgerServiceTest {
         Wallet from = wallet(1L, 1L, "EUR");
         Wallet to = wallet(2L, 1L, "EUR");
 
-        when(repo.calculateBalance(any())).thenReturn(null);
+        when(balances.lockHead(any())).thenAnswer(inv -> head(inv.getArgument(0), "0"));
         when(repo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
             LedgerEntry e = inv.getArgument(0);
             if (e.getId() == null) e.setId(1L);
@@ -185,7 +238,7 @@ class LedgerServiceTest {
     void recordTransfer_crossOrgsAndCurrencies_arePreservedFromWalletInputs() {
         Wallet from = wallet(1L, 100L, "USD");
         Wallet to = wallet(2L, 200L, "EUR");
-        when(repo.calculateBalance(any())).thenReturn(BigDecimal.TEN);
+        when(balances.lockHead(any())).thenAnswer(inv -> head(inv.getArgument(0), "10"));
         when(repo.save(any(LedgerEntry.class))).thenAnswer(inv -> {
             LedgerEntry e = inv.getArgument(0);
             if (e.getId() == null) e.setId(1L);
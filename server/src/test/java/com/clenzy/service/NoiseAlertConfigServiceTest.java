@@ -40,7 +40,8 @@ class NoiseAlertConfigServiceTest {
 
         SaveNoiseAlertConfigDto dto = new SaveNoiseAlertConfigDto(
             true, true, true, false, false, false, 30, null,
-            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Jour", "07:00", "22:00", 70, 85))
+            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Jour", "07:00", "22:00", 70, 85)),
+            null
         );
 
         NoiseAlertConfigDto result = service.save(10L, 100L, dto);
@@ -67,7 +68,8 @@ class NoiseAlertConfigServiceTest {
 
         SaveNoiseAlertConfigDto dto = new SaveNoiseAlertConfigDto(
             true, true, false, true, false, false, 60, "admin@example.com",
-            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Nuit", "22:00", "07:00", 55, 70))
+            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Nuit", "22:00", "07:00", 55, 70)),
+            10
         );
 
         NoiseAlertConfigDto result = service.save(10L, 100L, dto);
@@ -77,13 +79,15 @@ class NoiseAlertConfigServiceTest {
         assertFalse(result.notifyEmail());
         assertEquals(60, result.cooldownMinutes());
         assertEquals("admin@example.com", result.emailRecipients());
+        assertEquals(10, result.sustainedMinutes());
     }
 
     @Test
     void whenCriticalBelowWarning_thenThrowsException() {
         SaveNoiseAlertConfigDto dto = new SaveNoiseAlertConfigDto(
             true, true, true, false, false, false, 30, null,
-            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Test", "07:00", "22:00", 80, 70))
+            List.of(new SaveNoiseAlertConfigDto.TimeWindowInput("Test", "07:00", "22:00", 80, 70)),
+            null
         );
 
         assertThrows(IllegalArgumentException.class, () -> service.save(10L, 100L, dto));
@@ -13,6 +13,9 @@ import com.clenzy.model.NoiseDevice.DeviceType;
 import com.clenzy.model.Property;
 import com.clenzy.repository.NoiseDeviceRepository;
 import com.clenzy.repository.PropertyRepository;
+import com.clenzy.service.timeseries.Sample;
+import com.clenzy.service.timeseries.SensorTimeSeriesStore;
+import com.clenzy.service.timeseries.SeriesKey;
 import com.clenzy.tenant.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +45,7 @@ class NoiseDeviceServiceTest {
     @Mock private MinutApiService minutApiService;
     @Mock private TuyaApiService tuyaApiService;
     @Mock private TuyaDeviceClaimService claimService;
+    @Mock private SensorTimeSeriesStore timeSeriesStore;
 
     private TenantContext tenantContext;
     private NoiseDeviceService service;
@@ -53,7 +58,7 @@ class NoiseDeviceServiceTest {
         tenantContext.setOrganizationId(ORG_ID);
         service = new NoiseDeviceService(noiseDeviceRepository, propertyRepository,
                 minutApiService, tuyaApiService, tenantContext, claimService,
-                new com.clenzy.service.access.OrganizationAccessGuard(tenantContext));
+                new com.clenzy.service.access.OrganizationAccessGuard(tenantContext), timeSeriesStore);
     }
 
     private NoiseDevice buildDevice(Long id, String name, DeviceType type) {
@@ -301,6 +306,54 @@ class NoiseDeviceServiceTest {
             assertThat(result).isEmpty();
         }
 
+        @Test
+        @DisplayName("when period covered by local store then serves history without vendor call")
+        void whenCoveredLocally_thenNoVendorCall() {
+            // Arrange
+            NoiseDevice device = buildDevice(1L, "Minut Sensor", DeviceType.MINUT);
+            device.setExternalDeviceId("ext-minut-1");
+            when(noiseDeviceRepository.findById(1L)).thenReturn(Optional.of(device));
+            when(propertyRepository.findById(1L)).thenReturn(Optional.of(buildProperty(1L, "Paris Apt")));
+
+            SeriesKey key = SeriesKey.noise(ORG_ID, 1L);
+            Instant start = Instant.parse("2026-02-22T14:00:00Z");
+            Instant end = Instant.parse("2026-02-22T16:00:00Z");
+            when(timeSeriesStore.isPolledRange(key, start, end)).thenReturn(true);
+            when(timeSeriesStore.history(key, start, end)).thenReturn(List.of(
+                    new Sample(Instant.parse("2026-02-22T14:30:00Z").getEpochSecond(), 45.5)));
+
+            // Act
+            List<NoiseDataPointDto> result = service.getNoiseData(USER_ID, 1L, start.toString(), end.toString());
+
+            // Assert
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getTime()).isEqualTo("14:30");
+            assertThat(result.get(0).getDecibels()).isEqualTo(45.5);
+            verifyNoInteractions(minutApiService, tuyaApiService);
+        }
+
+        @Test
+        @DisplayName("when local samples exist but polling does not cover the period then calls vendor")
+        void whenNotPolled_thenVendorCallDespiteLocalSamples() {
+            // Arrange : capteur alimente par le seul webhook (mesures ponctuelles)
+            NoiseDevice device = buildDevice(1L, "Minut Sensor", DeviceType.MINUT);
+            device.setExternalDeviceId("ext-minut-1");
+            when(noiseDeviceRepository.findById(1L)).thenReturn(Optional.of(device));
+            when(propertyRepository.findById(1L)).thenReturn(Optional.of(buildProperty(1L, "Paris Apt")));
+            Instant start = Instant.parse("2026-02-22T14:00:00Z");
+            Instant end = Instant.parse("2026-02-22T16:00:00Z");
+            when(timeSeriesStore.isPolledRange(SeriesKey.noise(ORG_ID, 1L), start, end)).thenReturn(false);
+            when(minutApiService.getSoundLevels(eq(USER_ID), eq("ext-minut-1"), any(), any(), eq(1800)))
+                    .thenReturn(Map.of("values", List.of()));
+
+            // Act
+            service.getNoiseData(USER_ID, 1L, start.toString(), end.toString());
+
+            // Assert
+            verify(minutApiService).getSoundLevels(eq(USER_ID), eq("ext-minut-1"), any(), any(), eq(1800));
+            verify(timeSeriesStore, never()).history(any(), any(), any());
+        }
+
         @Test
         @DisplayName("when MINUT device then calls MinutApiService and parses response")
         void whenMinutDevice_thenCallsMinutApi() {
@@ -0,0 +1,148 @@
+package com.clenzy.service;
+
+import com.clenzy.config.CacheInvalidationPublisher;
+import com.clenzy.model.FiscalProfile;
+import com.clenzy.model.WorkflowSettings;
+import com.clenzy.repository.FiscalProfileRepository;
+import com.clenzy.repository.WorkflowSettingsRepository;
+import com.clenzy.testkit.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationSettingsProviderTest {
+
+    private static final Long ORG_ID = 7L;
+
+    @Mock private WorkflowSettingsRepository workflowSettingsRepository;
+    @Mock private FiscalProfileRepository fiscalProfileRepository;
+    @Mock private CacheInvalidationPublisher invalidationPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = MutableClock.utc(Instant.parse("2026-03-01T08:00:00Z"));
+    private OrganizationSettingsProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new OrganizationSettingsProvider(workflowSettingsRepository, fiscalProfileRepository,
+                invalidationPublisher, meterRegistry, clock, 600);
+    }
+
+    private double count(String type, String result) {
+        var counter = meterRegistry.find(OrganizationSettingsProvider.ACCESS_COUNTER)
+                .tag("type", type).tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void snapshotIsAssembledOnce_andServedFromMemory() {
+        WorkflowSettings ws = new WorkflowSettings();
+        ws.setAutoAssignInterventions(false);
+        FiscalProfile fp = new FiscalProfile();
+        fp.setCountryCode("MA");
+        fp.setDefaultCurrency("MAD");
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.of(ws));
+        when(fiscalProfileRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.of(fp));
+
+        assertThat(provider.workflow(ORG_ID).autoAssignInterventions()).isFalse();
+        assertThat(provider.workflow(ORG_ID).autoAssignInterventions()).isFalse();
+        assertThat(provider.fiscal(ORG_ID)).hasValueSatisfying(f -> assertThat(f.countryCode()).isEqualTo("MA"));
+
+        verify(workflowSettingsRepository, times(1)).findByOrganizationId(ORG_ID);
+        verify(fiscalProfileRepository, times(1)).findByOrganizationId(ORG_ID);
+        assertThat(count("workflow", "miss")).isEqualTo(1);
+        assertThat(count("workflow", "hit")).isEqualTo(1);
+        assertThat(count("fiscal", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void missingRows_fallBackToEntityDefaults_withVersionZero() {
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.empty());
+        when(fiscalProfileRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.empty());
+
+        assertThat(provider.workflow(ORG_ID)).isEqualTo(OrganizationSettingsSnapshot.Workflow.DEFAULTS);
+        assertThat(OrganizationSettingsSnapshot.Workflow.DEFAULTS.autoAssignInterventions()).isTrue();
+        assertThat(provider.fiscal(ORG_ID)).isEmpty();
+    }
+
+    @Test
+    void version_isLatestUpdateAcrossSourceTables() {
+        WorkflowSettings ws = mock(WorkflowSettings.class);
+        when(ws.getUpdatedAt()).thenReturn(LocalDateTime.parse("2026-02-01T10:00:00"));
+        FiscalProfile fp = mock(FiscalProfile.class);
+        when(fp.getUpdatedAt()).thenReturn(LocalDateTime.parse("2026-02-03T10:00:00"));
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.of(ws));
+        when(fiscalProfileRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.of(fp));
+
+        OrganizationSettingsSnapshot snapshot = provider.snapshot(ORG_ID);
+
+        assertThat(snapshot.version())
+                .isEqualTo(LocalDateTime.parse("2026-02-03T10:00:00").toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(snapshot.organizationId()).isEqualTo(ORG_ID);
+    }
+
+    @Test
+    void invalidate_outsideTransaction_evictsLocally_andPublishes() {
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.empty());
+        provider.workflow(ORG_ID);
+
+        provider.invalidate(ORG_ID);
+        provider.workflow(ORG_ID);
+
+        verify(invalidationPublisher).publishEviction(OrganizationSettingsProvider.CACHE_NAME, ORG_ID);
+        verify(workflowSettingsRepository, times(2)).findByOrganizationId(ORG_ID);
+    }
+
+    @Test
+    void remoteEviction_dropsOnlyThatOrganization() {
+        when(workflowSettingsRepository.findByOrganizationId(anyLong())).thenReturn(Optional.empty());
+        provider.workflow(ORG_ID);
+        provider.workflow(8L);
+
+        provider.evictLocal(String.valueOf(ORG_ID));
+        provider.workflow(ORG_ID);
+        provider.workflow(8L);
+
+        verify(workflowSettingsRepository, times(2)).findByOrganizationId(ORG_ID);
+        verify(workflowSettingsRepository, times(1)).findByOrganizationId(8L);
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void evictionDuringAssembly_resultIsNotCached() {
+        // Une invalidation concurrente de l'assemblage : la valeur lue a pu preceder le commit.
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenAnswer(inv -> {
+            provider.evictLocal(null);
+            return Optional.empty();
+        }).thenReturn(Optional.empty());
+
+        provider.workflow(ORG_ID);
+        provider.workflow(ORG_ID);
+
+        verify(workflowSettingsRepository, times(2)).findByOrganizationId(ORG_ID);
+    }
+
+    @Test
+    void snapshotOlderThanMaxAge_isReassembled() {
+        when(workflowSettingsRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.empty());
+        provider.workflow(ORG_ID);
+
+        clock.advance(Duration.ofMinutes(11));
+        provider.workflow(ORG_ID);
+
+        verify(workflowSettingsRepository, times(2)).findByOrganizationId(ORG_ID);
+    }
+}
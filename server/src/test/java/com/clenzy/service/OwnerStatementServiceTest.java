@@ -8,6 +8,8 @@ import com.clenzy.model.Property;
 import com.clenzy.model.ProviderExpense;
 import com.clenzy.model.User;
 import com.clenzy.repository.OwnerPayoutRepository;
+import com.clenzy.repository.OwnerStatementMonthJdbcRepository;
+import com.clenzy.repository.OwnerStatementMonthJdbcRepository.MonthAggregate;
 import com.clenzy.repository.ProviderExpenseRepository;
 import com.clenzy.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -28,7 +31,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,13 +48,18 @@ class OwnerStatementServiceTest {
     @Mock private ProviderExpenseRepository providerExpenseRepository;
     @Mock private com.clenzy.repository.PropertyRepository propertyRepository;
     @Mock private com.clenzy.service.agent.supervision.SupervisionActivityService supervisionActivityService;
+    @Mock private OwnerStatementMonthJdbcRepository statementMonthRepository;
 
     private OwnerStatementService service;
 
     @BeforeEach
     void setUp() {
         service = new OwnerStatementService(payoutRepository, userRepository, emailService,
-                providerExpenseRepository, propertyRepository, supervisionActivityService);
+                providerExpenseRepository, propertyRepository, supervisionActivityService,
+                statementMonthRepository);
+        // Par defaut, agregat absent (schema sans migration 0423) : calcul direct.
+        lenient().when(statementMonthRepository.findMonth(any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("owner_statement_months absente"));
     }
 
     private User user(Long id, String email, String first, String last) {
@@ -456,6 +466,95 @@ class OwnerStatementServiceTest {
         }
     }
 
+    // ── Agregat mensuel (owner_statement_months) ─────────────────────────
+
+    @Nested
+    @DisplayName("agregat mensuel")
+    class MonthlyAggregate {
+
+        private OwnerPayout persisted(Long id, LocalDate start, LocalDate end, String net) {
+            OwnerPayout p = payout(PayoutStatus.PAID, start, end,
+                    new BigDecimal("1000"), new BigDecimal("200"), BigDecimal.ZERO, new BigDecimal(net));
+            p.setId(id);
+            return p;
+        }
+
+        @Test
+        void calendarMonth_readsAggregateAndLoadsListedPayoutsInOrder() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "e@x.com", "John", "Doe")));
+            when(statementMonthRepository.findMonth(100L, 1L, LocalDate.of(2026, 5, 1)))
+                    .thenReturn(Optional.of(new MonthAggregate(100L, 1L, 2,
+                            new BigDecimal("1400.5"), new BigDecimal("2000"), new BigDecimal("400"),
+                            new BigDecimal("0"), List.of(8L, 7L))));
+            OwnerPayout p7 = persisted(7L, LocalDate.of(2026, 4, 20), LocalDate.of(2026, 5, 10), "700.25");
+            OwnerPayout p8 = persisted(8L, LocalDate.of(2026, 5, 11), LocalDate.of(2026, 5, 31), "700.25");
+            when(payoutRepository.findAllById(List.of(8L, 7L))).thenReturn(List.of(p7, p8));
+
+            OwnerStatementService.OwnerStatementResult result = service.sendStatement(
+                    1L, 100L, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 31), "Co.");
+
+            assertThat(result.payoutsCount()).isEqualTo(2);
+            assertThat(result.totalPaid()).isEqualByComparingTo("1400.50");
+            assertThat(result.totalGross()).isEqualByComparingTo("2000.00");
+            verify(payoutRepository, never()).findByOwnerId(anyLong(), anyLong());
+            ArgumentCaptor<String> html = ArgumentCaptor.forClass(String.class);
+            verify(emailService).sendSimpleHtmlEmail(eq("e@x.com"), anyString(), html.capture());
+            // period_end decroissant : le reversement 8 (31/05) avant le 7 (10/05)
+            assertThat(html.getValue().indexOf("11/05/2026")).isLessThan(html.getValue().indexOf("20/04/2026"));
+        }
+
+        @Test
+        void calendarMonthWithoutRow_sendsEmptyStatementWithoutScanningHistory() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "e@x.com", "John", "Doe")));
+            when(statementMonthRepository.findMonth(100L, 1L, LocalDate.of(2026, 2, 1))).thenReturn(Optional.empty());
+
+            OwnerStatementService.OwnerStatementResult result = service.sendStatement(
+                    1L, 100L, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), "Co.");
+
+            assertThat(result.payoutsCount()).isZero();
+            assertThat(result.totalPaid()).isEqualByComparingTo("0.00");
+            verify(payoutRepository, never()).findByOwnerId(anyLong(), anyLong());
+        }
+
+        @Test
+        void aggregateOutOfStepWithPrimary_fallsBackToHistory() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "e@x.com", "John", "Doe")));
+            // Replica : 2 reversements pour 1400.50 ; le primaire n'en connait plus qu'un.
+            when(statementMonthRepository.findMonth(100L, 1L, LocalDate.of(2026, 5, 1)))
+                    .thenReturn(Optional.of(new MonthAggregate(100L, 1L, 2,
+                            new BigDecimal("1400.5"), new BigDecimal("2000"), new BigDecimal("400"),
+                            new BigDecimal("0"), List.of(8L, 7L))));
+            OwnerPayout p8 = persisted(8L, LocalDate.of(2026, 5, 11), LocalDate.of(2026, 5, 31), "700.25");
+            when(payoutRepository.findAllById(List.of(8L, 7L))).thenReturn(List.of(p8));
+            when(payoutRepository.findByOwnerId(1L, 100L)).thenReturn(List.of(p8));
+
+            OwnerStatementService.OwnerStatementResult result = service.sendStatement(
+                    1L, 100L, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 31), "Co.");
+
+            assertThat(result.payoutsCount()).isEqualTo(1);
+            assertThat(result.totalPaid()).isEqualByComparingTo("700.25");
+            assertThat(result.totalGross()).isEqualByComparingTo("1000.00");
+        }
+
+        @Test
+        void partialPeriod_computedFromHistory() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "e@x.com", "John", "Doe")));
+            when(payoutRepository.findByOwnerId(1L, 100L)).thenReturn(List.of());
+
+            service.sendStatement(1L, 100L, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 15), "Co.");
+
+            verify(statementMonthRepository, never()).findMonth(any(), any(), any());
+        }
+
+        @Test
+        void isCalendarMonth() {
+            assertThat(OwnerStatementService.isCalendarMonth(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29))).isTrue();
+            assertThat(OwnerStatementService.isCalendarMonth(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28))).isFalse();
+            assertThat(OwnerStatementService.isCalendarMonth(LocalDate.of(2024, 2, 2), LocalDate.of(2024, 2, 29))).isFalse();
+            assertThat(OwnerStatementService.isCalendarMonth(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29))).isFalse();
+        }
+    }
+
     // ── OwnerStatementResult record ──────────────────────────────────────
 
     @Nested
@@ -645,4 +645,57 @@ class PriceEngineTest {
         assertEquals(new BigDecimal("100.00"), result.get(date).price());
         assertEquals(PriceEngine.SOURCE_PROPERTY_DEFAULT, result.get(date).source());
     }
+
+    @Test
+    void resolvePriceRanges_batchesAllPropertiesInTwoQueries() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 3); // [Jun 1, Jun 3) = 2 days
+
+        Property first = new Property();
+        first.setId(1L);
+        first.setNightlyPrice(new BigDecimal("150.00"));
+        Property second = new Property();
+        second.setId(2L);
+        second.setNightlyPrice(new BigDecimal("90.00"));
+
+        RateOverride override = new RateOverride();
+        override.setProperty(first);
+        override.setDate(from);
+        override.setNightlyPrice(new BigDecimal("300.00"));
+
+        RatePlan seasonal = new RatePlan();
+        seasonal.setProperty(second);
+        seasonal.setType(RatePlanType.SEASONAL);
+        seasonal.setPriority(200);
+        seasonal.setNightlyPrice(new BigDecimal("110.00"));
+        seasonal.setIsActive(true);
+        seasonal.setStartDate(from.plusDays(1));
+        seasonal.setEndDate(from.plusDays(1));
+
+        when(rateOverrideRepository.findByPropertyIdsAndDateRange(List.of(1L, 2L), from, to, orgId))
+                .thenReturn(List.of(override));
+        when(ratePlanRepository.findActiveByPropertyIds(List.of(1L, 2L), orgId))
+                .thenReturn(List.of(seasonal));
+
+        Map<Long, Map<LocalDate, BigDecimal>> result =
+                priceEngine.resolvePriceRanges(List.of(first, second), from, to, orgId);
+
+        assertEquals(new BigDecimal("300.00"), result.get(1L).get(from));             // override
+        assertEquals(new BigDecimal("150.00"), result.get(1L).get(from.plusDays(1))); // fallback
+        assertEquals(new BigDecimal("90.00"), result.get(2L).get(from));              // fallback
+        assertEquals(new BigDecimal("110.00"), result.get(2L).get(from.plusDays(1))); // plan
+        // Aucune requete par propriete : ni findById, ni requetes unitaires
+        verify(propertyRepository, never()).findById(anyLong());
+        verify(rateOverrideRepository, never()).findByPropertyIdAndDateRange(anyLong(), any(), any(), anyLong());
+        verify(ratePlanRepository, never()).findActiveByPropertyId(anyLong(), anyLong());
+    }
+
+    @Test
+    void resolvePriceRanges_noProperties_noQuery() {
+        Map<Long, Map<LocalDate, BigDecimal>> result = priceEngine.resolvePriceRanges(
+                List.of(), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 3), orgId);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(rateOverrideRepository, ratePlanRepository, propertyRepository);
+    }
 }
@@ -3,22 +3,30 @@ package com.clenzy.service;
 import com.clenzy.dto.RatePlanDto;
 import com.clenzy.model.Property;
 import com.clenzy.model.RatePlan;
+import com.clenzy.model.RatePlanType;
 import com.clenzy.repository.PropertyRepository;
 import com.clenzy.repository.RatePlanRepository;
 import com.clenzy.tenant.TenantContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +44,7 @@ class RatePlanServiceEventTest {
     private ReservationService reservationService;
     private TenantContext tenantContext;
     private OutboxPublisher outboxPublisher;
+    private SearchCacheInvalidator searchCacheInvalidator;
     private RatePlanService service;
 
     @BeforeEach
@@ -45,11 +54,12 @@ class RatePlanServiceEventTest {
         reservationService = mock(ReservationService.class);
         tenantContext = mock(TenantContext.class);
         outboxPublisher = mock(OutboxPublisher.class);
+        searchCacheInvalidator = mock(SearchCacheInvalidator.class);
         // Horloge fixe (2026-07-01) pour borner "aujourd'hui" et rendre le test déterministe.
         Clock clock = Clock.fixed(Instant.parse("2026-07-01T00:00:00Z"), ZoneOffset.UTC);
 
         service = new RatePlanService(ratePlanRepository, propertyRepository,
-            reservationService, tenantContext, outboxPublisher, new ObjectMapper(), clock);
+            reservationService, tenantContext, searchCacheInvalidator, outboxPublisher, new ObjectMapper(), clock);
 
         Property property = new Property();
         property.setId(100L);
@@ -88,4 +98,41 @@ class RatePlanServiceEventTest {
         // Horloge fixée au 2026-07-01 -> from = aujourd'hui.
         assertThat(payloadCap.getValue()).contains("\"from\":\"2026-07-01\"");
     }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("create -> recherche par sejour de l'org invalidee, seulement apres commit")
+    void createInvalidatesStaySearchAfterCommit() {
+        RatePlanDto dto = new RatePlanDto(null, 100L, "Promo", "PROMOTIONAL", 5,
+            90.0, "EUR", "2026-07-03", "2026-07-09", null, null, true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.create(dto, "kc-user");
+        verifyNoInteractions(searchCacheInvalidator);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(searchCacheInvalidator).onAvailabilityOrPriceChanged(42L);
+    }
+
+    @Test
+    @DisplayName("update / delete -> recherche par sejour de l'org du plan invalidee")
+    void updateAndDeleteInvalidateStaySearch() {
+        Property property = new Property();
+        property.setId(100L);
+        RatePlan plan = new RatePlan(property, "Base", RatePlanType.BASE, BigDecimal.valueOf(100), 42L);
+        plan.setId(9L);
+        when(ratePlanRepository.findById(9L)).thenReturn(Optional.of(plan));
+
+        service.update(9L, new RatePlanDto(null, null, null, null, null,
+            120.0, null, null, null, null, 3, null), "kc-user");
+        service.delete(9L, "kc-user");
+
+        verify(searchCacheInvalidator, times(2)).onAvailabilityOrPriceChanged(42L);
+    }
 }
@@ -43,6 +43,7 @@ class RatePlanServiceTest {
     @Mock private PropertyRepository propertyRepository;
     @Mock private ReservationService reservationService;
     @Mock private TenantContext tenantContext;
+    @Mock private SearchCacheInvalidator searchCacheInvalidator;
 
     @InjectMocks
     private RatePlanService service;
@@ -15,6 +15,7 @@ import com.clenzy.model.CalendarDayStatus;
 import com.clenzy.model.NotificationKey;
 import com.clenzy.model.ReconciliationRun;
 import com.clenzy.repository.CalendarDayRepository;
+import com.clenzy.repository.CalendarMonthDigestJdbcRepository;
 import com.clenzy.repository.ReconciliationRunRepository;
 import com.clenzy.integration.channel.repository.ChannelMappingRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,7 +29,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,6 +46,7 @@ class ReconciliationServiceTest {
 
     @Mock private ChannelMappingRepository mappingRepository;
     @Mock private CalendarDayRepository calendarDayRepository;
+    @Mock private CalendarMonthDigestJdbcRepository monthDigestRepository;
     @Mock private ChannelConnectorRegistry connectorRegistry;
     @Mock private ReconciliationRunRepository reconciliationRunRepository;
     @Mock private SyncMetrics syncMetrics;
@@ -60,12 +66,14 @@ class ReconciliationServiceTest {
         service = new ReconciliationService(
                 mappingRepository,
                 calendarDayRepository,
+                monthDigestRepository,
                 connectorRegistry,
                 reconciliationRunRepository,
                 syncMetrics,
                 notificationService,
                 auditLogService,
-                objectMapper
+                objectMapper,
+                2
         );
 
         connection = new ChannelConnection(1L, ChannelName.AIRBNB);
@@ -455,6 +463,77 @@ class ReconciliationServiceTest {
         }
     }
 
+    // ── Empreintes mensuelles ────────────────────────────────────────────────
+
+    @Nested
+    class MonthDigestTests {
+
+        private List<ChannelCalendarDay> fullWindow(LocalDate from, LocalDate to, String status) {
+            List<ChannelCalendarDay> days = new ArrayList<>();
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                days.add(channelDay(d, status));
+            }
+            return days;
+        }
+
+        @Test
+        void channelMonthDigests_matchesCanonicalSqlForm_andFlagsMissingDays() {
+            LocalDate from = LocalDate.of(2026, 7, 31);
+            LocalDate to = LocalDate.of(2026, 8, 1);
+
+            Map<YearMonth, String> digests = ReconciliationService.channelMonthDigests(
+                    List.of(channelDay(from, "reserved")), from, to);
+
+            // md5("2026-07-31:BOOKED") / md5("2026-08-01:?") — statut normalise, jour absent = "?"
+            assertThat(digests).containsExactly(
+                    Map.entry(YearMonth.of(2026, 7), "3daeb0b522ce14fa492a51547c044f52"),
+                    Map.entry(YearMonth.of(2026, 8), "e26879326f9a221d6951e32478f6f1e7"));
+        }
+
+        @Test
+        void reconcileMapping_allMonthDigestsMatch_skipsPmsCalendarLoad() {
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(30);
+            List<ChannelCalendarDay> channelDays = fullWindow(from, to, "AVAILABLE");
+            when(connectorRegistry.getConnector(ChannelName.AIRBNB)).thenReturn(Optional.of(connector));
+            when(connector.getChannelCalendar(eq(mapping), any(), any())).thenReturn(channelDays);
+            when(monthDigestRepository.statusDigestsByMonth(42L, 1L, from, to))
+                    .thenReturn(ReconciliationService.channelMonthDigests(channelDays, from, to));
+
+            ReconciliationRun run = service.reconcileMapping(mapping);
+
+            assertThat(run.getStatus()).isEqualTo("SUCCESS");
+            assertThat(run.getDiscrepanciesFound()).isZero();
+            assertThat(run.getPmsDaysChecked()).isZero();
+            verifyNoInteractions(calendarDayRepository);
+            verify(connector, never()).pushCalendarUpdate(anyLong(), any(), any(), anyLong());
+        }
+
+        @Test
+        void reconcileMapping_oneDivergentMonth_drillsIntoThatMonthOnly() {
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(30);
+            List<ChannelCalendarDay> channelDays = fullWindow(from, to, "AVAILABLE");
+            Map<YearMonth, String> pmsDigests =
+                    new HashMap<>(ReconciliationService.channelMonthDigests(channelDays, from, to));
+            pmsDigests.put(YearMonth.from(to), "changed");
+            LocalDate drillFrom = to.withDayOfMonth(1).isAfter(from) ? to.withDayOfMonth(1) : from;
+            when(connectorRegistry.getConnector(ChannelName.AIRBNB)).thenReturn(Optional.of(connector));
+            when(connector.getChannelCalendar(eq(mapping), any(), any())).thenReturn(channelDays);
+            when(monthDigestRepository.statusDigestsByMonth(42L, 1L, from, to)).thenReturn(pmsDigests);
+            when(calendarDayRepository.findByPropertyAndDateRange(42L, drillFrom, to, 1L))
+                    .thenReturn(List.of(pmsDay(to, CalendarDayStatus.BOOKED)));
+            when(connector.pushCalendarUpdate(42L, to, to.plusDays(1), 1L))
+                    .thenReturn(SyncResult.success(1, 10));
+
+            ReconciliationRun run = service.reconcileMapping(mapping);
+
+            assertThat(run.getDiscrepanciesFound()).isEqualTo(1);
+            assertThat(run.getDiscrepanciesFixed()).isEqualTo(1);
+            verify(calendarDayRepository).findByPropertyAndDateRange(42L, drillFrom, to, 1L);
+        }
+    }
+
     // ── scheduledReconciliation ──────────────────────────────────────────────
 
     @Nested
@@ -19,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -1327,6 +1328,44 @@ class ReservationServiceTest {
 
             reservationService.validatePropertyAccess(1L, "user-1");
         }
+
+        @Test
+        void batch_whenAllOwned_thenOneReadOfPropertiesAndUser() {
+            Property first = buildOwnedProperty(1L, "user-1", orgId);
+            Property second = buildOwnedProperty(1L, "user-1", orgId);
+            second.setId(2L);
+            second.setOwner(first.getOwner());
+            when(propertyRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+            when(userRepository.findByKeycloakId("user-1")).thenReturn(Optional.of(first.getOwner()));
+
+            reservationService.validatePropertiesAccess(List.of(1L, 2L, 1L), "user-1");
+
+            verify(propertyRepository, never()).findById(any());
+            verify(userRepository, times(1)).findByKeycloakId("user-1");
+        }
+
+        @Test
+        void batch_whenOnePropertyMissing_thenThrowsNotFound() {
+            Property first = buildOwnedProperty(1L, "user-1", orgId);
+            when(propertyRepository.findAllById(Set.of(1L, 77L))).thenReturn(List.of(first));
+
+            assertThatThrownBy(() -> reservationService.validatePropertiesAccess(List.of(1L, 77L), "user-1"))
+                    .isInstanceOf(com.clenzy.exception.NotFoundException.class)
+                    .hasMessageContaining("77");
+        }
+
+        @Test
+        void batch_whenOnePropertyNotOwned_thenAccessDenied() {
+            Property mine = buildOwnedProperty(1L, "user-1", orgId);
+            Property theirs = buildOwnedProperty(9L, "other", orgId);
+            theirs.setId(2L);
+            when(propertyRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(mine, theirs));
+            when(userRepository.findByKeycloakId("user-1")).thenReturn(Optional.of(mine.getOwner()));
+
+            assertThatThrownBy(() -> reservationService.validatePropertiesAccess(List.of(1L, 2L), "user-1"))
+                    .isInstanceOf(org.springframework.security.access.AccessDeniedException.class)
+                    .hasMessageContaining("proprietaire");
+        }
     }
 
     @Nested
@@ -217,4 +217,29 @@ class RestrictionEngineTest {
         assertTrue(result.isValid());
         assertTrue(result.getViolations().isEmpty());
     }
+
+    @Test
+    void validateAll_singleQuery_evaluatesEachProperty() {
+        Property other = new Property();
+        other.setId(2L);
+
+        BookingRestriction minStay = new BookingRestriction();
+        minStay.setProperty(property);
+        minStay.setStartDate(checkIn.minusDays(1));
+        minStay.setEndDate(checkOut.plusDays(1));
+        minStay.setMinStay(5);
+        minStay.setClosedToArrival(false);
+        minStay.setClosedToDeparture(false);
+        minStay.setPriority(10);
+
+        when(restrictionRepository.findApplicableForProperties(anyList(), eq(checkIn), eq(checkOut), eq(orgId)))
+                .thenReturn(List.of(minStay));
+
+        var results = restrictionEngine.validateAll(List.of(1L, 2L), checkIn, checkOut, orgId);
+
+        assertFalse(results.get(1L).isValid());
+        assertTrue(results.get(2L).isValid()); // aucune restriction : recevable
+        verify(restrictionRepository, times(1)).findApplicableForProperties(anyList(), any(), any(), anyLong());
+        verify(restrictionRepository, never()).findApplicable(anyLong(), any(), any(), anyLong());
+    }
 }
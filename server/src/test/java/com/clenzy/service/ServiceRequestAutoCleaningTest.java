@@ -3,6 +3,7 @@ package com.clenzy.service;
 import com.clenzy.model.*;
 import com.clenzy.repository.*;
 import com.clenzy.tenant.TenantContext;
+import com.clenzy.testkit.TestOrganizationSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,7 +66,7 @@ class ServiceRequestAutoCleaningTest {
                 serviceRequestRepository, userRepository, propertyRepository,
                 interventionRepository, reservationRepository, teamRepository, notificationService,
                 propertyTeamService, kafkaTemplate, new TenantContext(), serviceRequestMapper,
-                assignmentEventRepository, workflowSettingsRepository,
+                assignmentEventRepository, TestOrganizationSettings.provider(workflowSettingsRepository),
                 cleaningPricingEngine, housekeeperScoreService,
                 supervisionSuggestionService, supervisionAutoApplyService, autoApplyGate,
                 organizationAccessGuard);
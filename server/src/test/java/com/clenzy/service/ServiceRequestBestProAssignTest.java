@@ -9,6 +9,7 @@ import com.clenzy.service.pricing.CleaningPricingEngine.ResolvedCleaningPrice;
 import com.clenzy.service.pricing.HousekeeperScoreService;
 import com.clenzy.service.pricing.HousekeeperScoreService.HousekeeperScore;
 import com.clenzy.tenant.TenantContext;
+import com.clenzy.testkit.TestOrganizationSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -72,7 +73,7 @@ class ServiceRequestBestProAssignTest {
                 serviceRequestRepository, userRepository, propertyRepository,
                 interventionRepository, reservationRepository, teamRepository, notificationService,
                 propertyTeamService, kafkaTemplate, new TenantContext(), serviceRequestMapper,
-                assignmentEventRepository, workflowSettingsRepository,
+                assignmentEventRepository, TestOrganizationSettings.provider(workflowSettingsRepository),
                 cleaningPricingEngine, housekeeperScoreService,
                 supervisionSuggestionService, supervisionAutoApplyService, autoApplyGate,
                 organizationAccessGuard);
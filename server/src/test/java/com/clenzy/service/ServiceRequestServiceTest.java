@@ -5,6 +5,7 @@ import com.clenzy.exception.NotFoundException;
 import com.clenzy.model.*;
 import com.clenzy.repository.*;
 import com.clenzy.tenant.TenantContext;
+import com.clenzy.testkit.TestOrganizationSettings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -68,7 +69,7 @@ class ServiceRequestServiceTest {
                 serviceRequestRepository, userRepository, propertyRepository,
                 interventionRepository, reservationRepository, teamRepository, notificationService,
                 propertyTeamService, kafkaTemplate, tenantContext, serviceRequestMapper,
-                assignmentEventRepository, workflowSettingsRepository,
+                assignmentEventRepository, TestOrganizationSettings.provider(workflowSettingsRepository),
                 cleaningPricingEngine, housekeeperScoreService,
                 supervisionSuggestionService, supervisionAutoApplyService, autoApplyGate,
                 organizationAccessGuard);
@@ -0,0 +1,176 @@
+package com.clenzy.service;
+
+import com.clenzy.service.WebhookDeliveryService.AttemptOutcome;
+import com.clenzy.service.WebhookDeliveryService.PendingDelivery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Moteur de livraison webhook : file par abonne, lots, deduplication, concurrence AIMD et
+ * metriques. Executor manuel : les slots ne s'executent qu'a {@code runAll()}.
+ */
+@ExtendWith(MockitoExtension.class)
+class WebhookDeliveryEngineTest {
+
+    @Mock private WebhookDeliveryService deliveryService;
+
+    private SimpleMeterRegistry registry;
+    private ManualExecutor executor;
+    private WebhookDeliveryEngine engine;
+
+    private static final AttemptOutcome DELIVERED = new AttemptOutcome(true, true, 200);
+    private static final AttemptOutcome FAILED = new AttemptOutcome(true, false, 503);
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = new ManualExecutor();
+        engine = new WebhookDeliveryEngine(deliveryService, registry, executor, 10, 4, 8, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void submit_singleDelivery_attemptsAndCompletes() {
+        when(deliveryService.attempt(10L)).thenReturn(DELIVERED);
+
+        CompletableFuture<Void> done = engine.submit(new PendingDelivery(10L, 1L, 1));
+        assertThat(done).isNotDone();
+        executor.runAll();
+
+        assertThat(done).isDone();
+        verify(deliveryService).attempt(10L);
+        assertThat(registry.get("clenzy.webhooks.delivery.latency")
+            .tags("subscription", "1", "outcome", "delivered").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_sameDeliveryTwice_isAttemptedOnce() {
+        when(deliveryService.attempt(10L)).thenReturn(DELIVERED);
+
+        engine.submit(new PendingDelivery(10L, 1L, 1));
+        CompletableFuture<Void> duplicate = engine.submit(new PendingDelivery(10L, 1L, 1));
+        executor.runAll();
+
+        assertThat(duplicate).isDone();
+        verify(deliveryService, times(1)).attempt(10L);
+    }
+
+    @Test
+    void batchSize_groupsQueuedDeliveriesIntoOneAttempt() {
+        engine = new WebhookDeliveryEngine(deliveryService, registry, executor, 10, 1, 8, Duration.ofSeconds(2));
+        when(deliveryService.attempt(1L)).thenReturn(DELIVERED);
+        when(deliveryService.attemptBatch(List.of(2L, 3L, 4L))).thenReturn(DELIVERED);
+
+        // limite 1 : le premier slot part seul, les suivants s'accumulent dans la file
+        engine.submit(new PendingDelivery(1L, 1L, 3));
+        engine.submit(new PendingDelivery(2L, 1L, 3));
+        engine.submit(new PendingDelivery(3L, 1L, 3));
+        engine.submit(new PendingDelivery(4L, 1L, 3));
+        executor.runAll();
+
+        verify(deliveryService).attempt(1L);
+        verify(deliveryService).attemptBatch(List.of(2L, 3L, 4L));
+    }
+
+    @Test
+    void failure_halvesConcurrencyLimit() {
+        when(deliveryService.attempt(anyLong())).thenReturn(FAILED);
+
+        engine.submit(new PendingDelivery(10L, 1L, 1));
+        executor.runAll();
+
+        assertThat(engine.concurrencyLimit(1L)).isEqualTo(2);
+        engine.submit(new PendingDelivery(11L, 1L, 1));
+        executor.runAll();
+        assertThat(engine.concurrencyLimit(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void fastSuccesses_increaseLimitAdditively_upToMax() {
+        when(deliveryService.attempt(anyLong())).thenReturn(DELIVERED);
+
+        for (long id = 1; id <= 4; id++) {
+            engine.submit(new PendingDelivery(id, 1L, 1));
+            executor.runAll();
+        }
+
+        // 4 succes rapides consecutifs avec une limite de 4 → +1
+        assertThat(engine.concurrencyLimit(1L)).isEqualTo(5);
+    }
+
+    @Test
+    void endpointsAreIsolated() {
+        when(deliveryService.attempt(10L)).thenReturn(FAILED);
+        when(deliveryService.attempt(20L)).thenReturn(DELIVERED);
+
+        engine.submit(new PendingDelivery(10L, 1L, 1));
+        engine.submit(new PendingDelivery(20L, 2L, 1));
+        executor.runAll();
+
+        assertThat(engine.concurrencyLimit(1L)).isEqualTo(2);
+        assertThat(engine.concurrencyLimit(2L)).isEqualTo(4);
+    }
+
+    @Test
+    void fullQueue_rejectsAndLeavesDeliveryToRetry() {
+        engine = new WebhookDeliveryEngine(deliveryService, registry, executor, 1, 1, 1, Duration.ofSeconds(2));
+
+        engine.submit(new PendingDelivery(1L, 1L, 1)); // part en vol (limite 1)
+        engine.submit(new PendingDelivery(2L, 1L, 1)); // occupe la file (capacite 1)
+        CompletableFuture<Void> rejected = engine.submit(new PendingDelivery(3L, 1L, 1));
+
+        assertThat(rejected).isDone();
+        assertThat(registry.get("clenzy.webhooks.queue.rejected").tag("subscription", "1").counter().count())
+            .isEqualTo(1.0);
+        verify(deliveryService, never()).attempt(3L);
+    }
+
+    @Test
+    void updateRetryBacklog_publishesGaugePerSubscription() {
+        engine.updateRetryBacklog(Map.of(1L, 7L, 2L, 3L));
+
+        assertThat(registry.get("clenzy.webhooks.retry.backlog").tag("subscription", "1").gauge().value())
+            .isEqualTo(7.0);
+        assertThat(registry.get("clenzy.webhooks.retry.backlog").tag("subscription", "2").gauge().value())
+            .isEqualTo(3.0);
+    }
+
+    /** Executor qui empile les taches et ne les execute qu'a la demande. */
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private boolean shutdown;
+
+        void runAll() {
+            Runnable next;
+            while ((next = tasks.poll()) != null) {
+                next.run();
+            }
+        }
+
+        @Override public void execute(Runnable command) { tasks.add(command); }
+        @Override public void shutdown() { shutdown = true; }
+        @Override public List<Runnable> shutdownNow() { shutdown = true; return List.copyOf(tasks); }
+        @Override public boolean isShutdown() { return shutdown; }
+        @Override public boolean isTerminated() { return shutdown && tasks.isEmpty(); }
+        @Override public boolean awaitTermination(long timeout, TimeUnit unit) { return true; }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,6 +54,9 @@ class WebhookDeliveryServiceTest {
         service = new WebhookDeliveryService(
             webhookRepository, deliveryRepository, new ObjectMapper(),
             notificationService, httpClient, Clock.fixed(NOW, ZoneOffset.UTC));
+        // Par defaut le bail est obtenu pour toutes les livraisons demandees.
+        lenient().when(deliveryRepository.claim(any(), any(), any()))
+            .thenAnswer(inv -> List.copyOf(inv.<java.util.Collection<Long>>getArgument(0)));
     }
 
     private WebhookConfig webhook(String events) {
@@ -128,12 +132,12 @@ class WebhookDeliveryServiceTest {
     @Test
     void attempt_success_marksDelivered() throws Exception {
         WebhookDelivery d = pendingDelivery();
+        d.setClaimedUntil(NOW.plus(WebhookDeliveryService.CLAIM_LEASE));
         when(deliveryRepository.findById(10L)).thenReturn(Optional.of(d));
         WebhookConfig w = webhook("reservation.created");
         w.setFailureCount(3);
         when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(w));
         when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(webhookRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         stubHttpStatus(200);
 
         service.attempt(10L);
@@ -141,8 +145,10 @@ class WebhookDeliveryServiceTest {
         assertThat(d.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
         assertThat(d.getDeliveredAt()).isEqualTo(NOW);
         assertThat(d.getAttempts()).isEqualTo(1);
-        assertThat(w.getFailureCount()).isZero();
-        assertThat(w.getLastTriggeredAt()).isEqualTo(NOW);
+        assertThat(d.getClaimedUntil()).isNull();
+        verify(deliveryRepository).claim(List.of(10L), NOW, NOW.plus(WebhookDeliveryService.CLAIM_LEASE));
+        verify(webhookRepository).recordDeliverySuccess(1L, NOW);
+        verify(webhookRepository, never()).save(any());
     }
 
     @Test
@@ -152,7 +158,6 @@ class WebhookDeliveryServiceTest {
         WebhookConfig w = webhook("reservation.created");
         when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(w));
         when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(webhookRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         stubHttpStatus(500);
 
         service.attempt(10L);
@@ -161,7 +166,8 @@ class WebhookDeliveryServiceTest {
         assertThat(d.getAttempts()).isEqualTo(1);
         assertThat(d.getNextAttemptAt()).isAfter(NOW); // backoff applique
         assertThat(d.getResponseStatus()).isEqualTo(500);
-        assertThat(w.getFailureCount()).isEqualTo(1);
+        verify(webhookRepository).recordDeliveryFailure(1L, NOW, "HTTP 500");
+        verify(webhookRepository, never()).disableIfActive(any());
         verify(notificationService, never()).notifyAdminsAndManagersByOrgId(any(), any(), any(), any(), any());
     }
 
@@ -173,18 +179,45 @@ class WebhookDeliveryServiceTest {
         WebhookConfig w = webhook("reservation.created");
         when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(w));
         when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(webhookRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(webhookRepository.disableIfActive(1L)).thenReturn(1);
         stubHttpStatus(503);
 
         service.attempt(10L);
 
         assertThat(d.getStatus()).isEqualTo(DeliveryStatus.FAILED);
         assertThat(d.getAttempts()).isEqualTo(5);
-        assertThat(w.getStatus()).isEqualTo(WebhookStatus.FAILED);
+        verify(webhookRepository).disableIfActive(1L);
         verify(notificationService).notifyAdminsAndManagersByOrgId(
             eq(ORG_ID), eq(NotificationKey.WEBHOOK_DELIVERY_FAILED), any(), any(), any());
     }
 
+    @Test
+    void attempt_failureReachesMax_alreadyDisabledElsewhere_notifiesOnlyOnce() throws Exception {
+        WebhookDelivery d = pendingDelivery();
+        d.setAttempts(4);
+        when(deliveryRepository.findById(10L)).thenReturn(Optional.of(d));
+        when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(webhook("*")));
+        when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(webhookRepository.disableIfActive(1L)).thenReturn(0); // autre noeud / admin plus rapide
+        stubHttpStatus(503);
+
+        service.attempt(10L);
+
+        verify(webhookRepository).recordDeliveryFailure(1L, NOW, "HTTP 503");
+        verify(notificationService, never()).notifyAdminsAndManagersByOrgId(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void attempt_claimHeldByAnotherNode_skipsWithoutHttpCall() throws Exception {
+        when(deliveryRepository.claim(any(), any(), any())).thenReturn(List.of());
+
+        WebhookDeliveryService.AttemptOutcome outcome = service.attempt(10L);
+
+        assertThat(outcome.attempted()).isFalse();
+        verify(deliveryRepository, never()).findById(any());
+        verify(httpClient, never()).send(any(), any());
+    }
+
     @Test
     void attempt_webhookDeleted_marksFailed() {
         WebhookDelivery d = pendingDelivery();
@@ -208,6 +241,85 @@ class WebhookDeliveryServiceTest {
         verify(webhookRepository, never()).findByIdAndOrgId(any(), any());
     }
 
+    @Test
+    void enqueueForDispatch_defersScheduledRetryAndCarriesBatchSize() {
+        WebhookConfig w = webhook("*");
+        w.setBatchSize(20);
+        when(webhookRepository.findActiveByOrgId(ORG_ID)).thenReturn(List.of(w));
+        WebhookDelivery[] holder = new WebhookDelivery[1];
+        when(deliveryRepository.save(any())).thenAnswer(inv -> {
+            holder[0] = inv.getArgument(0);
+            holder[0].setId(7L);
+            return holder[0];
+        });
+
+        List<WebhookDeliveryService.PendingDelivery> pending =
+            service.enqueueForDispatch(WebhookEventType.PAYMENT_CONFIRMED, ORG_ID, null);
+
+        assertThat(pending).containsExactly(new WebhookDeliveryService.PendingDelivery(7L, 1L, 20));
+        // le moteur tente tout de suite ; le scheduler de retry n'y touche qu'apres le delai de grace
+        assertThat(holder[0].getNextAttemptAt()).isAfter(NOW);
+    }
+
+    // ── attemptBatch ─────────────────────────────────────────────────────────
+
+    @Test
+    void attemptBatch_postsSingleEnvelopeAndMarksAllDelivered() throws Exception {
+        WebhookDelivery d1 = pendingDelivery();
+        WebhookDelivery d2 = pendingDelivery();
+        d2.setId(11L);
+        when(deliveryRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(d2, d1));
+        WebhookConfig w = webhook("*");
+        w.setFailureCount(2);
+        when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(w));
+        when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        stubHttpStatus(200);
+
+        WebhookDeliveryService.AttemptOutcome outcome = service.attemptBatch(List.of(10L, 11L));
+
+        assertThat(outcome.ok()).isTrue();
+        verify(httpClient, org.mockito.Mockito.times(1)).send(any(), any());
+        assertThat(d1.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
+        assertThat(d2.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
+        verify(webhookRepository).recordDeliverySuccess(1L, NOW);
+    }
+
+    @Test
+    void attemptBatch_sendsOnlyTheDeliveriesThisNodeClaimed() throws Exception {
+        WebhookDelivery d1 = pendingDelivery();
+        when(deliveryRepository.claim(any(), any(), any())).thenReturn(List.of(10L)); // 11 : autre noeud
+        when(deliveryRepository.findById(10L)).thenReturn(Optional.of(d1));
+        when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(webhook("*")));
+        when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        stubHttpStatus(200);
+
+        service.attemptBatch(List.of(10L, 11L));
+
+        verify(deliveryRepository, never()).findAllById(any());
+        verify(httpClient, org.mockito.Mockito.times(1)).send(any(), any());
+        assertThat(d1.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
+    }
+
+    @Test
+    void attemptBatch_failure_countsOneWebhookFailureForTheWholeBatch() throws Exception {
+        WebhookDelivery d1 = pendingDelivery();
+        WebhookDelivery d2 = pendingDelivery();
+        d2.setId(11L);
+        when(deliveryRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(d1, d2));
+        WebhookConfig w = webhook("*");
+        when(webhookRepository.findByIdAndOrgId(1L, ORG_ID)).thenReturn(Optional.of(w));
+        when(deliveryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        stubHttpStatus(502);
+
+        WebhookDeliveryService.AttemptOutcome outcome = service.attemptBatch(List.of(10L, 11L));
+
+        assertThat(outcome.ok()).isFalse();
+        assertThat(outcome.responseStatus()).isEqualTo(502);
+        assertThat(d1.getStatus()).isEqualTo(DeliveryStatus.RETRYING);
+        assertThat(d2.getStatus()).isEqualTo(DeliveryStatus.RETRYING);
+        verify(webhookRepository, org.mockito.Mockito.times(1)).recordDeliveryFailure(1L, NOW, "HTTP 502");
+    }
+
     @Test
     void deliverTest_createsDeliveryAndAttempts() throws Exception {
         WebhookConfig w = webhook("*");
@@ -220,7 +332,6 @@ class WebhookDeliveryServiceTest {
             return d;
         });
         when(deliveryRepository.findById(77L)).thenAnswer(inv -> Optional.ofNullable(holder[0]));
-        when(webhookRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         stubHttpStatus(200);
 
         WebhookDeliveryDto dto = service.deliverTest(1L, ORG_ID);
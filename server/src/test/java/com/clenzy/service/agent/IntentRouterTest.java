@@ -7,14 +7,22 @@ import com.clenzy.service.ResolvedTarget;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests du routeur d'intention pre-orchestration (T-02) : classification
  * DIRECT/SIMPLE/MULTI, biais de securite vers MULTI (reponse inattendue,
- * erreur provider, message vide), et compteur de decisions.
+ * erreur provider, message vide), compteur de decisions, et premier etage
+ * local (court-circuit du LLM, audit, journalisation du corpus).
  */
 class IntentRouterTest {
 
@@ -42,7 +50,7 @@ class IntentRouterTest {
     }
 
     private IntentRouter router(ChatLLMProvider provider) {
-        return new IntentRouter(provider, registry, null, true, "");
+        return new IntentRouter(provider, registry, null, null, true, "");
     }
 
     private double decisionCount(String route) {
@@ -125,7 +133,7 @@ class IntentRouterTest {
                 consumer.accept(new ChatEvent.Done(1, 1, request.model(), "end_turn", "SIMPLE"));
             }
         };
-        IntentRouter overridden = new IntentRouter(capturing, registry, null, true, "claude-haiku-4-5");
+        IntentRouter overridden = new IntentRouter(capturing, registry, null, null, true, "claude-haiku-4-5");
 
         overridden.classify("Liste mes factures", target, null);
 
@@ -147,4 +155,61 @@ class IntentRouterTest {
 
         assertThat(sent[0]).hasSize(400);
     }
+
+    @Test
+    void confidentLocalPrediction_skipsLlmCall() {
+        LocalIntentClassifier local = mock(LocalIntentClassifier.class);
+        when(local.predict(anyString())).thenReturn(Optional.of(
+                new LocalIntentClassifier.Prediction(IntentRouter.Route.DIRECT, 0.98)));
+        IntentRouter withLocal = new IntentRouter(providerThrowing(), registry, null, local, true, "");
+
+        IntentRouter.RouteDecision d = withLocal.classify("Merci beaucoup !", target, null);
+
+        assertThat(d.route()).isEqualTo(IntentRouter.Route.DIRECT);
+        assertThat(d.promptTokens()).isZero();
+        assertThat(decisionCount("direct")).isEqualTo(1d);
+        assertThat(registry.find(IntentRouter.ROUTING_LATENCY).tag("stage", "local").timer().count())
+                .isEqualTo(1L);
+        verify(local, never()).recordLabel(anyString(), any());
+    }
+
+    @Test
+    void lowConfidence_fallsThroughToLlm_andRecordsLabel() {
+        LocalIntentClassifier local = mock(LocalIntentClassifier.class);
+        when(local.predict(anyString())).thenReturn(Optional.empty());
+        IntentRouter withLocal = new IntentRouter(providerAnswering("SIMPLE"), registry, null, local, true, "");
+
+        IntentRouter.RouteDecision d = withLocal.classify("Liste mes factures", target, null);
+
+        assertThat(d.route()).isEqualTo(IntentRouter.Route.SIMPLE);
+        verify(local).recordLabel("Liste mes factures", IntentRouter.Route.SIMPLE);
+        assertThat(registry.find(IntentRouter.ROUTING_LATENCY).tag("stage", "llm").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void auditedPrediction_servesLlmDecision_andMeasuresAgreement() {
+        LocalIntentClassifier local = mock(LocalIntentClassifier.class);
+        when(local.predict(anyString())).thenReturn(Optional.of(
+                new LocalIntentClassifier.Prediction(IntentRouter.Route.SIMPLE, 0.95)));
+        when(local.shouldAudit()).thenReturn(true);
+        IntentRouter withLocal = new IntentRouter(providerAnswering("MULTI"), registry, null, local, true, "");
+
+        IntentRouter.RouteDecision d = withLocal.classify("Compare mes revenus et mon taux de menage", target, null);
+
+        assertThat(d.route()).isEqualTo(IntentRouter.Route.MULTI);
+        verify(local).recordAudit(IntentRouter.Route.SIMPLE, IntentRouter.Route.MULTI);
+        verify(local).recordLabel(anyString(), any());
+    }
+
+    @Test
+    void llmFallback_isNotRecordedAsTrainingLabel() {
+        LocalIntentClassifier local = mock(LocalIntentClassifier.class);
+        when(local.predict(anyString())).thenReturn(Optional.empty());
+        IntentRouter withLocal = new IntentRouter(providerAnswering("PEUT-ETRE"), registry, null, local, true, "");
+
+        withLocal.classify("Question ambigue", target, null);
+
+        verify(local, never()).recordLabel(anyString(), any());
+    }
 }
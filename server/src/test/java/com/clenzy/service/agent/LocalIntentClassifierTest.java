@@ -0,0 +1,163 @@
+package com.clenzy.service.agent;
+
+import com.clenzy.repository.RoutingSampleJdbcRepository;
+import com.clenzy.repository.RoutingSampleJdbcRepository.RoutingSample;
+import com.clenzy.service.agent.IntentRouter.Route;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classifieur d'intention local : featurizer stable et insensible aux accents,
+ * entrainement sur le corpus des decisions LLM, evaluation hors ligne et
+ * activation conditionnee a la qualite mesuree.
+ */
+class LocalIntentClassifierTest {
+
+    private static final List<String> DIRECT = List.of(
+            "bonjour", "merci beaucoup", "salut, ca va ?", "qui es-tu ?", "merci pour ton aide",
+            "bonsoir", "tu peux faire quoi ?", "super, merci", "hello", "bonne journee");
+
+    private static final List<String> SIMPLE = List.of(
+            "liste mes reservations de %s", "quel est le prix de la nuit du 12 %s",
+            "affiche les factures impayees de %s", "combien de menages sont prevus en %s",
+            "montre les voyageurs qui arrivent en %s", "quel est le taux d'occupation de %s");
+
+    private static final List<String> MULTI = List.of(
+            "analyse mes performances de %s et propose un plan d'action",
+            "compare mes revenus et mes couts de menage sur %s",
+            "optimise mes tarifs et mon planning de menage pour %s",
+            "fais un bilan global de %s : reservations, finances et avis");
+
+    private static final List<String> MONTHS = List.of(
+            "janvier", "fevrier", "mars", "avril", "mai", "juin",
+            "juillet", "aout", "septembre", "octobre", "novembre", "decembre");
+
+    private final RoutingSampleJdbcRepository repository = mock(RoutingSampleJdbcRepository.class);
+
+    private static List<RoutingSample> corpus() {
+        List<RoutingSample> samples = new ArrayList<>();
+        for (int round = 0; round < 6; round++) {
+            for (String message : DIRECT) {
+                samples.add(sample(message, Route.DIRECT));
+            }
+            for (String month : MONTHS) {
+                SIMPLE.forEach(t -> samples.add(sample(t.formatted(month), Route.SIMPLE)));
+                MULTI.forEach(t -> samples.add(sample(t.formatted(month), Route.MULTI)));
+            }
+        }
+        return samples;
+    }
+
+    private static RoutingSample sample(String message, Route route) {
+        return new RoutingSample(route.name(), IntentFeaturizer.features(message));
+    }
+
+    private LocalIntentClassifier classifier(boolean enabled, int minSamples, double minAccuracy) {
+        return new LocalIntentClassifier(repository, new SimpleMeterRegistry(),
+                enabled, 0.7, minSamples, 20_000, minAccuracy, 0.0);
+    }
+
+    @Test
+    void featurizer_isAccentAndCaseInsensitive_andDeterministic() {
+        assertThat(IntentFeaturizer.features("Réservations d'Août"))
+                .containsExactly(IntentFeaturizer.features("reservations d'aout"));
+        assertThat(IntentFeaturizer.features("bonjour")).isSortedAccordingTo(Integer::compare);
+        assertThat(IntentFeaturizer.features("   ")).isEmpty();
+    }
+
+    @Test
+    void retrain_publishesModelThatPassesHoldout_andPredictsUnseenMessages() {
+        when(repository.findLatest(eq(IntentFeaturizer.VERSION), anyInt())).thenReturn(corpus());
+        LocalIntentClassifier classifier = classifier(true, 100, 0.9);
+
+        classifier.retrain();
+
+        assertThat(classifier.lastEvaluation()).hasValueSatisfying(e -> {
+            assertThat(e.holdoutSize()).isPositive();
+            assertThat(e.confidentAccuracy()).isGreaterThanOrEqualTo(0.9);
+        });
+        assertThat(classifier.predict("Merci beaucoup !")).hasValueSatisfying(p ->
+                assertThat(p.route()).isEqualTo(Route.DIRECT));
+        assertThat(classifier.predict("Liste mes réservations de la semaine prochaine"))
+                .hasValueSatisfying(p -> assertThat(p.route()).isEqualTo(Route.SIMPLE));
+        assertThat(classifier.predict("Analyse mes performances et propose un plan d'action global"))
+                .hasValueSatisfying(p -> assertThat(p.route()).isEqualTo(Route.MULTI));
+    }
+
+    @Test
+    void retrain_belowAccuracyTarget_keepsEverythingOnLlm() {
+        when(repository.findLatest(eq(IntentFeaturizer.VERSION), anyInt())).thenReturn(corpus());
+        LocalIntentClassifier classifier = classifier(true, 100, 1.01);
+
+        classifier.retrain();
+
+        assertThat(classifier.lastEvaluation()).isPresent();
+        assertThat(classifier.predict("bonjour")).isEmpty();
+    }
+
+    @Test
+    void retrain_withTooFewSamples_staysInactive() {
+        when(repository.findLatest(eq(IntentFeaturizer.VERSION), anyInt()))
+                .thenReturn(corpus().subList(0, 50));
+        LocalIntentClassifier classifier = classifier(true, 100, 0.9);
+
+        classifier.retrain();
+
+        assertThat(classifier.lastEvaluation()).isEmpty();
+        assertThat(classifier.predict("bonjour")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordLabel_isBufferedOffTheRequestPath_thenFlushedAsOneBatchOfHashedFeatures() {
+        LocalIntentClassifier classifier = classifier(true, 100, 0.9);
+
+        classifier.recordLabel("Liste mes factures", Route.SIMPLE);
+        classifier.recordLabel("bonjour", Route.DIRECT);
+        verifyNoInteractions(repository);
+
+        classifier.flushLabels();
+
+        ArgumentCaptor<List<RoutingSample>> batch = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertAll(eq(IntentFeaturizer.VERSION), batch.capture());
+        assertThat(batch.getValue()).extracting(RoutingSample::route).containsExactly("SIMPLE", "DIRECT");
+        assertThat(batch.getValue().get(0).features()).containsExactly(IntentFeaturizer.features("Liste mes factures"));
+        assertThat(classifier.pendingLabelCount()).isZero();
+    }
+
+    @Test
+    void recordLabel_dropsSamplesBeyondBufferCapacity() {
+        LocalIntentClassifier classifier = classifier(true, 100, 0.9);
+
+        for (int i = 0; i < LocalIntentClassifier.MAX_PENDING_LABELS + 10; i++) {
+            classifier.recordLabel("message " + i, Route.SIMPLE);
+        }
+
+        assertThat(classifier.pendingLabelCount()).isEqualTo(LocalIntentClassifier.MAX_PENDING_LABELS);
+    }
+
+    @Test
+    void disabled_neverPredicts_skipsTraining_andLogsNothing() {
+        LocalIntentClassifier classifier = classifier(false, 100, 0.9);
+
+        classifier.recordLabel("Liste mes factures", Route.SIMPLE);
+        classifier.flushLabels();
+        classifier.retrain();
+
+        assertThat(classifier.predict("bonjour")).isEmpty();
+        assertThat(classifier.lastEvaluation()).isEmpty();
+        verifyNoInteractions(repository);
+    }
+}
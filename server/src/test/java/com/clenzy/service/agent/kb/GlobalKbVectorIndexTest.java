@@ -0,0 +1,87 @@
+package com.clenzy.service.agent.kb;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalKbVectorIndexTest {
+
+    private static final GlobalKbVectorIndex.Signature SIG = new GlobalKbVectorIndex.Signature(0, 0);
+
+    @Test
+    void parseVector_readsPgvectorText() {
+        assertArrayEquals(new float[] {0.1f, -0.2f, 3f}, GlobalKbVectorIndex.parseVector("[0.1,-0.2, 3]"));
+        assertNull(GlobalKbVectorIndex.parseVector("[]"));
+        assertNull(GlobalKbVectorIndex.parseVector("[a,b]"));
+    }
+
+    @Test
+    void exactScan_returnsNearestFirst_withPgvectorRelevance() {
+        List<GlobalKbVectorIndex.Entry> entries = List.of(entry(1), entry(2), entry(3));
+        float[][] vectors = {
+                GlobalKbVectorIndex.normalize(new float[] {1, 0}),
+                GlobalKbVectorIndex.normalize(new float[] {0, 1}),
+                GlobalKbVectorIndex.normalize(new float[] {1, 1})};
+        GlobalKbVectorIndex.Snapshot snapshot = GlobalKbVectorIndex.build(SIG, entries, vectors, 100);
+        assertNull(snapshot.centroids(), "petit corpus → scan exact, pas d'IVF");
+
+        List<GlobalKbVectorIndex.ScoredEntry> hits = GlobalKbVectorIndex.search(
+                snapshot, GlobalKbVectorIndex.normalize(new float[] {1, 0.1f}), 2, 8);
+
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.get(0).entry().chunkId());
+        assertEquals(3L, hits.get(1).entry().chunkId());
+        assertTrue(hits.get(0).distance() < hits.get(1).distance());
+    }
+
+    @Test
+    void ivf_recallAgainstExactScan_isHigh() {
+        Random random = new Random(42);
+        int n = 2000;
+        int dim = 32;
+        List<GlobalKbVectorIndex.Entry> entries = new ArrayList<>(n);
+        float[][] vectors = new float[n][];
+        // Donnees groupees (comme un corpus par themes) : 20 clusters bruites
+        float[][] themes = new float[20][];
+        for (int t = 0; t < themes.length; t++) themes[t] = randomVector(random, dim);
+        for (int i = 0; i < n; i++) {
+            float[] base = themes[i % themes.length];
+            float[] v = new float[dim];
+            for (int d = 0; d < dim; d++) v[d] = base[d] + (float) random.nextGaussian() * 0.3f;
+            vectors[i] = GlobalKbVectorIndex.normalize(v);
+            entries.add(entry(i));
+        }
+        GlobalKbVectorIndex.Snapshot snapshot = GlobalKbVectorIndex.build(SIG, entries, vectors, 500);
+        assertNotNull(snapshot.centroids());
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = GlobalKbVectorIndex.normalize(randomVector(random, dim));
+            Set<Long> exact = new HashSet<>();
+            GlobalKbVectorIndex.search(snapshot, query, 4, Integer.MAX_VALUE)
+                    .forEach(h -> exact.add(h.entry().chunkId()));
+            expected += exact.size();
+            found += (int) GlobalKbVectorIndex.search(snapshot, query, 4, 12).stream()
+                    .filter(h -> exact.contains(h.entry().chunkId()))
+                    .count();
+        }
+        assertTrue((double) found / expected >= 0.9, "recall IVF = " + (double) found / expected);
+    }
+
+    private static GlobalKbVectorIndex.Entry entry(long id) {
+        return new GlobalKbVectorIndex.Entry(id, id, "t" + id, "doc" + id + ".md", "contenu " + id);
+    }
+
+    private static float[] randomVector(Random random, int dim) {
+        float[] v = new float[dim];
+        for (int d = 0; d < dim; d++) v[d] = (float) random.nextGaussian();
+        return v;
+    }
+}
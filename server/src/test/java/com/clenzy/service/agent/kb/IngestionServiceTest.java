@@ -4,6 +4,7 @@ import com.clenzy.model.KbChunk;
 import com.clenzy.model.KbDocument;
 import com.clenzy.repository.KbChunkRepository;
 import com.clenzy.repository.KbDocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -29,7 +30,9 @@ class IngestionServiceTest {
         chunkRepository = mock(KbChunkRepository.class);
         embeddingService = mock(EmbeddingService.class);
         service = new IngestionService(documentRepository, chunkRepository, embeddingService,
-                mock(org.springframework.transaction.PlatformTransactionManager.class));
+                mock(org.springframework.transaction.PlatformTransactionManager.class),
+                new SimpleMeterRegistry(),
+                mock(org.springframework.context.ApplicationEventPublisher.class));
 
         when(documentRepository.save(any(KbDocument.class))).thenAnswer(inv -> {
             KbDocument d = inv.getArgument(0);
@@ -175,6 +178,69 @@ class IngestionServiceTest {
         verify(chunkRepository).deleteByDocumentId(42L);
     }
 
+    @Test
+    void ingestMarkdown_reIngest_onlyEmbedsChangedChunks() {
+        KbDocument existing = new KbDocument("doc.md", "Titre", "old content", "fr", null);
+        existing.setId(42L);
+        when(documentRepository.findBySourcePathAndOrg("doc.md", null))
+                .thenReturn(Optional.of(existing));
+
+        String md = "# Titre\n\nIntro tres longue " + "x".repeat(300)
+                + "\n\n## Section A\nContenu A " + "y".repeat(200)
+                + "\n\n## Section B\nContenu B modifie";
+        List<String> sections = service.splitIntoChunks(md, "Titre");
+        // Chunks actuels : tous sauf la section B (modifiee) sont identiques
+        List<KbChunk> current = new java.util.ArrayList<>();
+        for (int i = 0; i < sections.size() - 1; i++) {
+            current.add(new KbChunk(42L, i, sections.get(i), "[0.5,0.5,0.5]", 10));
+        }
+        current.add(new KbChunk(42L, sections.size() - 1, "## Section B\nContenu B", "[0.9,0.9,0.9]", 10));
+        when(chunkRepository.findByDocumentIdOrderByChunkIdxAsc(42L)).thenReturn(current);
+        when(embeddingService.embedBatchAsVectorStrings(anyList()))
+                .thenAnswer(inv -> {
+                    List<String> texts = inv.getArgument(0);
+                    return texts.stream().map(t -> "[0.1,0.2,0.3]").toList();
+                });
+
+        service.ingestMarkdown("doc.md", md, null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> batch = ArgumentCaptor.forClass(List.class);
+        verify(embeddingService).embedBatchAsVectorStrings(batch.capture());
+        assertEquals(List.of(sections.get(sections.size() - 1)), batch.getValue(),
+                "Seul le chunk modifie doit etre re-embedde");
+
+        ArgumentCaptor<KbChunk> cap = ArgumentCaptor.forClass(KbChunk.class);
+        verify(chunkRepository, times(sections.size())).save(cap.capture());
+        List<KbChunk> saved = cap.getAllValues();
+        for (int i = 0; i < saved.size() - 1; i++) {
+            assertEquals("[0.5,0.5,0.5]", saved.get(i).getEmbedding());
+            assertEquals(IngestionService.contentHash(sections.get(i)), saved.get(i).getContentHash());
+        }
+        assertEquals("[0.1,0.2,0.3]", saved.get(saved.size() - 1).getEmbedding());
+    }
+
+    @Test
+    void ingestMarkdown_sameChunks_noEmbeddingNoRewrite() {
+        KbDocument existing = new KbDocument("doc.md", "Titre", "old content", "fr", null);
+        existing.setId(42L);
+        when(documentRepository.findBySourcePathAndOrg("doc.md", null))
+                .thenReturn(Optional.of(existing));
+        String md = "# Titre\nContenu";
+        List<String> sections = service.splitIntoChunks(md, "Titre");
+        List<KbChunk> current = new java.util.ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            current.add(new KbChunk(42L, i, sections.get(i), "[0.5,0.5,0.5]", 10));
+        }
+        when(chunkRepository.findByDocumentIdOrderByChunkIdxAsc(42L)).thenReturn(current);
+
+        service.ingestMarkdown("doc.md", md, null, "fr");
+
+        verify(embeddingService, never()).embedBatchAsVectorStrings(anyList());
+        verify(chunkRepository, never()).deleteByDocumentId(any());
+        verify(chunkRepository, never()).save(any(KbChunk.class));
+    }
+
     @Test
     void ingestMarkdown_embeddingFailure_savesChunksWithoutEmbedding() {
         when(documentRepository.findBySourcePathAndOrg(any(), any())).thenReturn(Optional.empty());
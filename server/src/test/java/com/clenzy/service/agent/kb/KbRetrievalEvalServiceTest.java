@@ -21,12 +21,14 @@ class KbRetrievalEvalServiceTest {
 
     @Mock private KbSearchService kbSearchService;
     @Mock private EmbeddingService embeddingService;
+    @Mock private GlobalKbVectorIndex globalIndex;
 
     private KbRetrievalEvalService service;
 
     @BeforeEach
     void setUp() {
-        service = new KbRetrievalEvalService(kbSearchService, embeddingService, new VoyageRateThrottle(), new ObjectMapper());
+        service = new KbRetrievalEvalService(kbSearchService, embeddingService, new VoyageRateThrottle(), new ObjectMapper(),
+                globalIndex);
         when(embeddingService.isConfigured()).thenReturn(true);
     }
 
@@ -46,6 +48,8 @@ class KbRetrievalEvalServiceTest {
         assertEquals(report.total(), report.hits());
         assertEquals(1.0, report.recallAtK(), 1e-9);
         assertEquals(0.5, report.mrr(), 1e-9);
+        // Index global non construit (mock) → recall index non mesure
+        assertEquals(-1.0, report.indexRecall(), 1e-9);
     }
 
     @Test
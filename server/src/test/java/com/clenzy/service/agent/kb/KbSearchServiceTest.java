@@ -37,7 +37,10 @@ class KbSearchServiceTest {
         when(embeddingService.isConfigured()).thenReturn(true);
         service = new KbSearchService(embeddingService, chunkRepository, rerankService,
                 embeddingOrgQuota, new io.micrometer.core.instrument.simple.SimpleMeterRegistry(),
-                mock(org.springframework.transaction.PlatformTransactionManager.class), 10);
+                mock(org.springframework.transaction.PlatformTransactionManager.class), 10,
+                new KbSearchResultCache(new org.springframework.cache.support.NoOpCacheManager(),
+                        new io.micrometer.core.instrument.simple.SimpleMeterRegistry()),
+                mock(GlobalKbVectorIndex.class));
     }
 
     @Test
@@ -357,4 +360,48 @@ class KbSearchServiceTest {
         // topK 5 × 10 = 50 → reste 50 (< 80)
         assertEquals(50, service.computeFetchSize(5));
     }
+
+    @Test
+    void search_sameQueryTwice_servedFromResultCache() {
+        KbSearchService cached = new KbSearchService(embeddingService, chunkRepository, rerankService,
+                embeddingOrgQuota, new io.micrometer.core.instrument.simple.SimpleMeterRegistry(),
+                mock(org.springframework.transaction.PlatformTransactionManager.class), 10,
+                new KbSearchResultCache(new org.springframework.cache.concurrent.ConcurrentMapCacheManager(),
+                        new io.micrometer.core.instrument.simple.SimpleMeterRegistry()),
+                mock(GlobalKbVectorIndex.class));
+        when(embeddingService.embedQueryAsVectorString(anyString())).thenReturn("[0.1,0.2,0.3]");
+        List<Object[]> rows = new java.util.ArrayList<>();
+        rows.add(new Object[]{42L, "Snippet", "doc.md", "Titre", 7L, 0.2d});
+        when(chunkRepository.searchByCosineSimilarity(anyString(), eq(1L), anyString(), anyInt())).thenReturn(rows);
+
+        List<KbSearchService.KbSearchHit> first = cached.search("test", 1L, 3);
+        List<KbSearchService.KbSearchHit> second = cached.search("Test ", 1L, 3);
+
+        assertEquals(first, second);
+        verify(chunkRepository, times(1)).searchByCosineSimilarity(anyString(), any(), anyString(), anyInt());
+    }
+
+    @Test
+    void search_globalIndexReady_onlyOrgDocsHitPostgres() {
+        GlobalKbVectorIndex globalIndex = mock(GlobalKbVectorIndex.class);
+        KbSearchService indexed = new KbSearchService(embeddingService, chunkRepository, rerankService,
+                embeddingOrgQuota, new io.micrometer.core.instrument.simple.SimpleMeterRegistry(),
+                mock(org.springframework.transaction.PlatformTransactionManager.class), 10,
+                new KbSearchResultCache(new org.springframework.cache.support.NoOpCacheManager(),
+                        new io.micrometer.core.instrument.simple.SimpleMeterRegistry()),
+                globalIndex);
+        when(embeddingService.embedQueryAsVectorString(anyString())).thenReturn("[0.1,0.2,0.3]");
+        when(globalIndex.isReady("fr")).thenReturn(true);
+        when(globalIndex.search(any(), eq("fr"), anyInt())).thenReturn(List.of(
+                new KbSearchService.KbSearchHit(1L, 10L, "Global", "baitly/fr/g.md", "global", 0.8)));
+        List<Object[]> orgRows = new java.util.ArrayList<>();
+        orgRows.add(new Object[]{2L, "propre", "org.md", "Org", 20L, 0.2d});
+        when(chunkRepository.searchOrgByCosineSimilarity(anyString(), eq(1L), anyInt())).thenReturn(orgRows);
+
+        List<KbSearchService.KbSearchHit> hits = indexed.search("test", 1L, 3);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(KbSearchService.KbSearchHit::chunkId).toList(),
+                "fusion par relevance : doc org (0.9) avant doc global (0.8)");
+        verify(chunkRepository, never()).searchByCosineSimilarity(anyString(), any(), anyString(), anyInt());
+    }
 }
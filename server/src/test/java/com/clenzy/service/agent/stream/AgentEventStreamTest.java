@@ -0,0 +1,106 @@
+package com.clenzy.service.agent.stream;
+
+import com.clenzy.service.agent.AgentSseEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coalescence des deltas texte, ordre preserve avec les autres evenements,
+ * backpressure (client lent abandonne, jamais de buffer non borne) et metriques.
+ */
+class AgentEventStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AgentEventStream stream(AgentEventStream.FrameWriter writer, Duration maxDelay,
+                                    int queueCapacity, Duration stallTimeout) {
+        return new AgentEventStream("test", writer,
+                new AgentEventStream.Settings(maxDelay, 1024, queueCapacity, stallTimeout),
+                meterRegistry, Thread.ofVirtual());
+    }
+
+    private double clients(String outcome) {
+        var counter = meterRegistry.find(AgentEventStream.CLIENTS_COUNTER)
+                .tag("endpoint", "test").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void firstDeltaGoesOutAlone_followingDeltasAreCoalesced_andOrderIsKept() {
+        List<AgentSseEvent> frames = new CopyOnWriteArrayList<>();
+        AgentEventStream stream = stream(frames::add, Duration.ofSeconds(5), 64, Duration.ofSeconds(5));
+
+        stream.accept(AgentSseEvent.textDelta("Bon"));
+        stream.accept(AgentSseEvent.textDelta("jour"));
+        stream.accept(AgentSseEvent.textDelta(" !"));
+        stream.accept(AgentSseEvent.toolCallExecuted("get_kpis", "toolu_1", false, "summary", "{}"));
+        stream.accept(AgentSseEvent.textDelta(""));
+        stream.accept(AgentSseEvent.done("end_turn"));
+        stream.close();
+
+        assertThat(frames).extracting(AgentSseEvent::type)
+                .containsExactly("text_delta", "text_delta", "tool_call_executed", "done");
+        assertThat(frames.get(0).delta()).isEqualTo("Bon");
+        // Le tool vide le texte en attente sans attendre la fin du budget (5 s).
+        assertThat(frames.get(1).delta()).isEqualTo("jour !");
+        assertThat(meterRegistry.find(AgentEventStream.TTFT_TIMER).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(AgentEventStream.DELTAS_PER_FRAME).summary().max()).isEqualTo(2);
+        assertThat(meterRegistry.find(AgentEventStream.TOKEN_RATE).summary().count()).isEqualTo(1);
+        assertThat(clients("completed")).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectedClient_isAbandoned_andLaterEventsAreDropped() {
+        List<AgentSseEvent> frames = new CopyOnWriteArrayList<>();
+        AgentEventStream stream = stream(frame -> {
+            if (!frames.isEmpty()) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(frame);
+        }, Duration.ZERO, 64, Duration.ofSeconds(5));
+
+        stream.accept(AgentSseEvent.textDelta("a"));
+        stream.accept(AgentSseEvent.done("end_turn"));
+        stream.close();
+        stream.accept(AgentSseEvent.textDelta("b"));
+
+        assertThat(frames).hasSize(1);
+        assertThat(stream.isOpen()).isFalse();
+        assertThat(clients("disconnected")).isEqualTo(1);
+        assertThat(clients("completed")).isZero();
+    }
+
+    @Test
+    void slowClient_blocksProducerAtMostStallTimeout_thenIsAbandoned() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AgentEventStream stream = stream(frame -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Duration.ZERO, 2, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            stream.accept(AgentSseEvent.toolCallExecuted("t" + i, "id" + i, false, null, null));
+        }
+        stream.close();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(stream.isOpen()).isFalse();
+        assertThat(clients("slow")).isEqualTo(1);
+        // Une seule attente de stallTimeout, puis tout est ignore.
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+    }
+}
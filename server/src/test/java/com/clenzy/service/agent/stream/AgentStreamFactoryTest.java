@@ -0,0 +1,58 @@
+package com.clenzy.service.agent.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Admission des tours d'agent : plafond partage entre endpoints, refus compte,
+ * place liberee a la fin du tour.
+ */
+class AgentStreamFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AgentStreamFactory factory = new AgentStreamFactory(meterRegistry, 40, 1024, 256, 30, 2);
+
+    @Test
+    void turnsBeyondTheCap_areRejectedAndCounted_untilOneFinishes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final Runnable blocking = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        final Executor assistant = factory.executor("assistant");
+        final Executor agui = factory.executor("agui");
+
+        assistant.execute(blocking);
+        agui.execute(blocking);
+
+        assertThatThrownBy(() -> assistant.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.counter(AgentStreamFactory.REJECTED_COUNTER, "endpoint", "assistant").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(AgentStreamFactory.ACTIVE_GAUGE).gauge().value()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        // Le permis est rendu apres la fin de la tache : attente bornee de la liberation.
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (factory.active() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        final CountDownLatch ran = new CountDownLatch(1);
+        assistant.execute(ran::countDown);
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
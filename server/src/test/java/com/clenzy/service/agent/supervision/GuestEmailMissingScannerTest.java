@@ -15,6 +15,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -22,6 +23,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -149,4 +151,20 @@ class GuestEmailMissingScannerTest {
         verify(suggestionService, never()).record(anyLong(), anyLong(), anyString(), anyString(),
                 anyString(), anyString(), anyLong(), anyString());
     }
+
+    @Test
+    void snapshotScan_usesSharedReservations_withoutQueryingRepository() {
+        when(suggestionService.findPendingByTool(ORG, PROP, "guest_email_missing"))
+                .thenReturn(List.of());
+        SupervisionScanSnapshot snapshot = new SupervisionScanSnapshot(ORG, PROP,
+                LocalDate.parse("2026-07-08"), LocalDate.parse("2026-07-08").atTime(10, 0), null,
+                List.of(reservation("2026-07-10", null)), List.of(),
+                LocalDate.parse("2026-05-09").atStartOfDay(), List.of(), Map.of());
+
+        scanner().scan(snapshot);
+
+        verify(suggestionService).record(eq(ORG), eq(PROP), eq("com"), eq("guest_email_missing"),
+                anyString(), anyString(), eq(RES_ID), eq("warning"));
+        verifyNoInteractions(reservationRepository);
+    }
 }
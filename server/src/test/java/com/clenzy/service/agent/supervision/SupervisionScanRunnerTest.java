@@ -0,0 +1,201 @@
+package com.clenzy.service.agent.supervision;
+
+import com.clenzy.model.Intervention;
+import com.clenzy.model.Reservation;
+import com.clenzy.model.SecurityDeposit;
+import com.clenzy.repository.InterventionRepository;
+import com.clenzy.repository.PropertyRepository;
+import com.clenzy.repository.ReservationRepository;
+import com.clenzy.repository.SecurityDepositRepository;
+import com.clenzy.tenant.TenantScopedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scatter-gather des scanners déterministes : instantané chargé une fois et partagé,
+ * scanners concurrents, échec isolé, repli sur le chargement par scanner, durées
+ * rapportées par scanner.
+ */
+class SupervisionScanRunnerTest {
+
+    private static final Long ORG = 1L;
+    private static final Long PROP = 3L;
+
+    // Aujourd'hui = 2026-07-08 10:00 UTC.
+    private final Clock clock = Clock.fixed(Instant.parse("2026-07-08T10:00:00Z"), ZoneOffset.UTC);
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final InterventionRepository interventionRepository = mock(InterventionRepository.class);
+    private final SecurityDepositRepository securityDepositRepository = mock(SecurityDepositRepository.class);
+    private final PropertyRepository propertyRepository = mock(PropertyRepository.class);
+    private final TenantScopedExecutor tenantScopedExecutor = mock(TenantScopedExecutor.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void tenantScopePassesThrough() {
+        doAnswer(inv -> inv.<Supplier<?>>getArgument(1).get())
+                .when(tenantScopedExecutor).callAsOrganization(anyLong(), any());
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return null;
+        }).when(tenantScopedExecutor).runAsOrganization(anyLong(), any());
+        when(propertyRepository.findById(PROP)).thenReturn(Optional.empty());
+    }
+
+    private SupervisionScanRunner runner(DeterministicScanner... scanners) {
+        return new SupervisionScanRunner(List.of(scanners), reservationRepository, interventionRepository,
+                securityDepositRepository, propertyRepository, tenantScopedExecutor, meterRegistry, clock, 4);
+    }
+
+    private static Reservation reservation(long id) {
+        Reservation r = new Reservation();
+        r.setId(id);
+        r.setCheckOut(LocalDate.parse("2026-07-07"));
+        return r;
+    }
+
+    @Test
+    void loadsSnapshotOnce_andRunsScannersConcurrentlyAgainstIt() {
+        when(reservationRepository.findCurrentOrNextByPropertyId(eq(PROP), any(), eq(ORG)))
+                .thenReturn(List.of(reservation(10L)));
+        // Chaque scanner attend l'autre : ne passe que s'ils tournent en même temps.
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Set<SupervisionScanSnapshot> seen = ConcurrentHashMap.newKeySet();
+        LatchScanner first = new LatchScanner(bothRunning, seen);
+        OtherLatchScanner second = new OtherLatchScanner(bothRunning, seen);
+
+        SupervisionScanRunner.Report report = runner(first, second).run(ORG, PROP);
+
+        assertThat(first.completed).isTrue();
+        assertThat(second.completed).isTrue();
+        assertThat(seen).hasSize(1);
+        assertThat(seen.iterator().next().upcoming()).extracting(Reservation::getId).containsExactly(10L);
+        verify(reservationRepository).findCurrentOrNextByPropertyId(eq(PROP), any(), eq(ORG));
+        assertThat(report.byScanner()).containsOnlyKeys("LatchScanner", "OtherLatchScanner");
+        assertThat(report.failures()).isZero();
+        assertThat(meterRegistry.find(SupervisionScanRunner.SCANNER_TIMER)
+                .tag("scanner", "LatchScanner").tag("outcome", "ok").timer()).isNotNull();
+    }
+
+    @Test
+    void failingScanner_isCounted_andDoesNotStopOthers() {
+        LatchScanner healthy = new LatchScanner(new CountDownLatch(0), ConcurrentHashMap.newKeySet());
+
+        SupervisionScanRunner.Report report = runner(new FailingScanner(), healthy).run(ORG, PROP);
+
+        assertThat(healthy.completed).isTrue();
+        assertThat(report.failures()).isEqualTo(1);
+        assertThat(meterRegistry.find(SupervisionScanRunner.SCANNER_TIMER)
+                .tag("scanner", "FailingScanner").tag("outcome", "error").timer()).isNotNull();
+    }
+
+    @Test
+    void snapshotFailure_fallsBackToPerScannerLoading() {
+        when(reservationRepository.findCurrentOrNextByPropertyId(eq(PROP), any(), eq(ORG)))
+                .thenThrow(new IllegalStateException("db down"));
+        LatchScanner scanner = new LatchScanner(new CountDownLatch(0), ConcurrentHashMap.newKeySet());
+
+        runner(scanner).run(ORG, PROP);
+
+        assertThat(scanner.fallbackCalls).isEqualTo(1);
+        assertThat(scanner.completed).isFalse();
+    }
+
+    @Test
+    void loadSnapshot_fetchesDepositsOfRecentCheckouts_andInterventionWindow() {
+        SecurityDeposit deposit = new SecurityDeposit();
+        deposit.setReservationId(20L);
+        when(reservationRepository.findRecentCheckoutsByPropertyId(
+                PROP, LocalDate.parse("2026-07-05"), LocalDate.parse("2026-07-09"), ORG))
+                .thenReturn(List.of(reservation(20L)));
+        when(securityDepositRepository.findHeldByReservationIds(List.of(20L))).thenReturn(List.of(deposit));
+        LocalDateTime now = LocalDateTime.parse("2026-07-08T10:00:00");
+        Intervention recent = new Intervention();
+        recent.setCreatedAt(now.minusDays(5));
+        when(interventionRepository.findWithAssigneeByPropertyAndCreatedBetween(
+                PROP, ORG, now.minusDays(SupervisionScanSnapshot.INTERVENTION_LOOKBACK_DAYS), now))
+                .thenReturn(List.of(recent));
+
+        SupervisionScanSnapshot snapshot = runner().loadSnapshot(ORG, PROP);
+
+        assertThat(snapshot.heldDeposits()).containsOnlyKeys(20L);
+        assertThat(snapshot.interventionsCreatedBetween(now.minusDays(14), now))
+                .hasValueSatisfying(list -> assertThat(list).containsExactly(recent));
+        assertThat(snapshot.interventionsCreatedBetween(now.minusDays(1), now))
+                .hasValueSatisfying(list -> assertThat(list).isEmpty());
+        // Fenêtre antérieure à l'instantané : le scanner doit requêter lui-même.
+        assertThat(snapshot.interventionsCreatedBetween(now.minusDays(90), now)).isEmpty();
+        verify(interventionRepository, never()).findByPropertyAndCreatedBetween(anyLong(), anyLong(), any(), any());
+    }
+
+    /** Scanner de test : attend ses pairs (latch), trace l'instantané reçu. */
+    static class LatchScanner implements DeterministicScanner {
+        private final CountDownLatch latch;
+        private final Set<SupervisionScanSnapshot> seen;
+        volatile boolean completed;
+        volatile int fallbackCalls;
+
+        LatchScanner(CountDownLatch latch, Set<SupervisionScanSnapshot> seen) {
+            this.latch = latch;
+            this.seen = seen;
+        }
+
+        @Override
+        public void scanProperty(Long orgId, Long propertyId) {
+            fallbackCalls++;
+        }
+
+        @Override
+        public void scan(SupervisionScanSnapshot snapshot) {
+            seen.add(snapshot);
+            latch.countDown();
+            try {
+                completed = latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static class OtherLatchScanner extends LatchScanner {
+        OtherLatchScanner(CountDownLatch latch, Set<SupervisionScanSnapshot> seen) {
+            super(latch, seen);
+        }
+    }
+
+    static class FailingScanner implements DeterministicScanner {
+        @Override
+        public void scanProperty(Long orgId, Long propertyId) {
+            throw new IllegalStateException("boom");
+        }
+
+        @Override
+        public void scan(SupervisionScanSnapshot snapshot) {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
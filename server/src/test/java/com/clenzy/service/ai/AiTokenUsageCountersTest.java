@@ -0,0 +1,107 @@
+package com.clenzy.service.ai;
+
+import com.clenzy.model.AiFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compteurs chauds de tokens : lecture Redis, rechargement sans perte au cache-miss,
+ * TTL pose a la creation seulement, repli Postgres quand Redis est indisponible.
+ */
+@ExtendWith(MockitoExtension.class)
+class AiTokenUsageCountersTest {
+
+    private static final String KEY = "ai:tokens:used:7:ASSISTANT_CHAT:2026-03";
+    private static final String PENDING = KEY + ":pending";
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOps;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final LongSupplier loader = () -> {
+        loads.incrementAndGet();
+        return 4_200L;
+    };
+
+    private AiTokenUsageCounters counters() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        return new AiTokenUsageCounters(redisTemplate);
+    }
+
+    @Test
+    void hotCounter_isServedWithoutLoading() {
+        AiTokenUsageCounters counters = counters();
+        when(valueOps.get(KEY)).thenReturn("9000");
+
+        assertThat(counters.used(7L, AiFeature.ASSISTANT_CHAT, "2026-03", loader)).isEqualTo(9_000L);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void cacheMiss_marksReloadBeforeLoading_thenSeedsWithPendingDeltas() {
+        AiTokenUsageCounters counters = counters();
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        // Le script de chargement renvoie la somme + le reliquat accumule pendant la lecture.
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY, PENDING)), eq("4200"), eq("3600")))
+                .thenReturn(4_350L);
+
+        assertThat(counters.used(7L, AiFeature.ASSISTANT_CHAT, "2026-03", loader)).isEqualTo(4_350L);
+
+        InOrder order = inOrder(valueOps, redisTemplate);
+        order.verify(valueOps).setIfAbsent(PENDING, "0", Duration.ofMinutes(1));
+        order.verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY, PENDING)), eq("4200"), eq("3600"));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void cacheMiss_concurrentSeedWins() {
+        AiTokenUsageCounters counters = counters();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY, PENDING)), anyString(), anyString()))
+                .thenReturn(4_500L);
+
+        assertThat(counters.used(7L, AiFeature.ASSISTANT_CHAT, "2026-03", loader)).isEqualTo(4_500L);
+    }
+
+    @Test
+    void add_targetsCounterThenPendingReload_withoutRefreshingTheTtl() {
+        AiTokenUsageCounters counters = new AiTokenUsageCounters(redisTemplate);
+
+        counters.add(7L, AiFeature.ASSISTANT_CHAT, "2026-03", 150L);
+
+        // Un seul argument : l'increment. Le TTL n'est pose qu'au chargement (pas de fenetre glissante).
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY, PENDING)), eq("150"));
+    }
+
+    @Test
+    void redisDown_fallsBackToDatabaseSum() {
+        AiTokenUsageCounters counters = counters();
+        when(valueOps.get(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(counters.used(7L, AiFeature.ASSISTANT_CHAT, "2026-03", loader)).isEqualTo(4_200L);
+    }
+}
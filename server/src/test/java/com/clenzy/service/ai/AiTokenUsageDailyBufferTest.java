@@ -0,0 +1,89 @@
+package com.clenzy.service.ai;
+
+import com.clenzy.model.AiFeature;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository;
+import com.clenzy.repository.AiTokenUsageDailyJdbcRepository.DailyRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Write-behind de l'agregat journalier : fusion des increments par cle, flush en un
+ * batch trie, re-enfilage sur echec.
+ */
+@ExtendWith(MockitoExtension.class)
+class AiTokenUsageDailyBufferTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Mock private AiTokenUsageDailyJdbcRepository repository;
+
+    @SuppressWarnings("unchecked")
+    private List<DailyRow> flushedRows(int times) {
+        ArgumentCaptor<List<DailyRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(times)).addAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void flush_mergesCallsPerKey_andSortsRows() {
+        AiTokenUsageDailyBuffer buffer = new AiTokenUsageDailyBuffer(repository);
+        buffer.record(2L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 100, 10, 110);
+        buffer.record(1L, DAY, AiFeature.ASSISTANT_CHAT, "anthropic", "claude-haiku-4-5", 300, 30, 330);
+        buffer.record(2L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 200, 20, 220);
+
+        buffer.flush();
+
+        List<DailyRow> rows = flushedRows(1);
+        assertThat(rows).containsExactly(
+                new DailyRow(1L, DAY, AiFeature.ASSISTANT_CHAT, "anthropic", "claude-haiku-4-5", 300, 30, 330, 1),
+                new DailyRow(2L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 300, 30, 330, 2));
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void record_withoutProviderOrModel_usesUnknown() {
+        AiTokenUsageDailyBuffer buffer = new AiTokenUsageDailyBuffer(repository);
+        buffer.record(1L, DAY, AiFeature.PRICING, null, null, 1, 1, 2);
+
+        buffer.flush();
+
+        assertThat(flushedRows(1)).singleElement().satisfies(r -> {
+            assertThat(r.provider()).isEqualTo("unknown");
+            assertThat(r.model()).isEqualTo("unknown");
+        });
+    }
+
+    @Test
+    void flush_whenWriteFails_keepsIncrementsForNextFlush() {
+        AiTokenUsageDailyBuffer buffer = new AiTokenUsageDailyBuffer(repository);
+        buffer.record(1L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 100, 10, 110);
+        doThrow(new RuntimeException("db down")).doNothing().when(repository).addAll(anyList());
+
+        buffer.flush();
+        buffer.record(1L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 50, 5, 55);
+        buffer.flush();
+
+        assertThat(flushedRows(2)).containsExactly(
+                new DailyRow(1L, DAY, AiFeature.PRICING, "openai", "gpt-4o", 150, 15, 165, 2));
+    }
+
+    @Test
+    void flush_whenNothingPending_doesNotTouchDatabase() {
+        new AiTokenUsageDailyBuffer(repository).flush();
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,123 @@
+package com.clenzy.service.dashboard;
+
+import com.clenzy.dto.DashboardOperationsDto.ActionItemDto;
+import com.clenzy.dto.DashboardOperationsDto.ActionItemKind;
+import com.clenzy.repository.ActionItemChangeFeedJdbcRepository;
+import com.clenzy.repository.ActionItemChangeFeedJdbcRepository.Change;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ce qu'un changement publié dans l'outbox rend « sale » : la bonne source, le
+ * bon sujet, la bonne organisation — et rien d'autre.
+ */
+class ActionItemChangeTrackerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-29T09:00:00Z"), ZoneOffset.UTC);
+    private static final Instant SETTLED_BEFORE = Instant.parse("2026-07-29T08:59:30Z");
+
+    private ActionItemChangeFeedJdbcRepository changeFeed;
+
+    /** Source qui ne déclare que ses dépendances. */
+    private record DependentSource(String name, Set<ActionItemDependency> dependsOn) implements ActionItemSource {
+        @Override
+        public List<ActionItemDto> collect(ActionItemContext context) {
+            return List.of();
+        }
+
+        @Override
+        public Set<ActionItemKind> kinds() {
+            return Set.of(ActionItemKind.BALANCE_DUE);
+        }
+
+        @Override
+        public Scope scope() {
+            return Scope.BUSINESS;
+        }
+    }
+
+    private final DependentSource reservations = new DependentSource("reservations", Set.of(
+            ActionItemDependency.onTarget("RESERVATION"), ActionItemDependency.onProperty("CALENDAR")));
+    private final DependentSource interventions = new DependentSource("interventions", Set.of(
+            ActionItemDependency.onTarget("INTERVENTION")));
+    private final DependentSource blind = new DependentSource("blind", Set.of());
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = mock(ActionItemChangeFeedJdbcRepository.class);
+        when(changeFeed.cursor()).thenReturn(100L);
+    }
+
+    private ActionItemChangeTracker tracker() {
+        return new ActionItemChangeTracker(List.of(reservations, interventions, blind), changeFeed, CLOCK, 30);
+    }
+
+    @Test
+    void changesMarkOnlyDependentSources_withTheKeyTheirAggregateDesignates() {
+        when(changeFeed.changesAfter(eq(100L), anyCollection(), eq(SETTLED_BEFORE), anyInt())).thenReturn(List.of(
+                new Change(101L, 1L, "RESERVATION", "88"),
+                new Change(102L, 1L, "CALENDAR", "7"),
+                new Change(103L, 2L, "INTERVENTION", "5"),
+                new Change(104L, 2L, "PAYMENT", "tx_ab12")));
+        when(changeFeed.lastSettledId(100L, SETTLED_BEFORE)).thenReturn(110L);
+
+        ActionItemChangeTracker.Batch batch = tracker().poll();
+
+        assertThat(batch.dirtyByOrg()).containsOnlyKeys(1L, 2L);
+        assertThat(batch.dirtyByOrg().get(1L)).containsOnlyKeys(reservations);
+        assertThat(batch.dirtyByOrg().get(1L).get(reservations))
+                .isEqualTo(new ActionItemDirtyKeys(Set.of(88L), Set.of(7L)));
+        assertThat(batch.dirtyByOrg().get(2L)).containsOnlyKeys(interventions);
+        // Lot incomplet : le curseur saute aussi les événements dont personne ne dépend.
+        assertThat(batch.cursor()).isEqualTo(110L);
+    }
+
+    @Test
+    void onlyAggregateTypesWithADependentAreRead() {
+        when(changeFeed.changesAfter(anyLong(), anyCollection(), any(), anyInt())).thenReturn(List.of());
+        when(changeFeed.lastSettledId(100L, SETTLED_BEFORE)).thenReturn(100L);
+
+        tracker().poll();
+
+        verify(changeFeed).changesAfter(eq(100L),
+                org.mockito.ArgumentMatchers.argThat(types ->
+                        Set.copyOf(types).equals(Set.of("RESERVATION", "CALENDAR", "INTERVENTION"))),
+                eq(SETTLED_BEFORE), eq(ActionItemChangeTracker.BATCH_SIZE));
+    }
+
+    @Test
+    void fullBatch_cursorStopsAtTheLastChangeRead() {
+        final List<Change> full = java.util.stream.LongStream
+                .rangeClosed(101, 100 + ActionItemChangeTracker.BATCH_SIZE)
+                .mapToObj(id -> new Change(id, 1L, "RESERVATION", String.valueOf(id)))
+                .toList();
+        when(changeFeed.changesAfter(anyLong(), anyCollection(), any(), anyInt())).thenReturn(full);
+
+        ActionItemChangeTracker.Batch batch = tracker().poll();
+
+        assertThat(batch.cursor()).isEqualTo(100L + ActionItemChangeTracker.BATCH_SIZE);
+    }
+
+    @Test
+    void advance_persistsTheBatchCursor() {
+        tracker().advance(new ActionItemChangeTracker.Batch(142L, java.util.Map.of()));
+
+        verify(changeFeed).advanceCursor(142L);
+    }
+}
@@ -13,6 +13,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -192,6 +193,47 @@ class ActionItemReconcilerTest {
                 !kinds.contains(ActionItemKind.PAYMENT_INCIDENT.name())), eq(NOW));
     }
 
+    // ── Passe incrémentale ───────────────────────────────────────────────────
+
+    private static ActionItemDto dto(ActionItemKind kind, String id, Long targetId) {
+        return new ActionItemDto(id, kind, "warning", "Titre", null, null,
+                targetId, null, null, null, null, null, null);
+    }
+
+    @Test
+    void whenSubjectsAreDirty_thenOnlyTheirActionsAreWrittenAndClosable() {
+        // La source remonte deux réservations ; une seule a changé.
+        final FakeSource source = new FakeSource(Set.of(ActionItemKind.BALANCE_DUE),
+                ActionItemSource.Scope.BUSINESS,
+                List.of(dto(ActionItemKind.BALANCE_DUE, "balance:88", 88L),
+                        dto(ActionItemKind.BALANCE_DUE, "balance:89", 89L)), false);
+        when(repository.findDerivedForSubjects(any(), anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+
+        reconciler(source).reconcileDirty(ORG,
+                Map.of(source, new ActionItemDirtyKeys(Set.of(88L), Set.of())));
+
+        assertThat(saved).singleElement()
+                .satisfies(item -> assertThat(item.getSubjectRef()).isEqualTo("balance:88"));
+        verify(repository).closeUnseenForSubjects(eq(ORG),
+                argThat(kinds -> kinds.contains(ActionItemKind.BALANCE_DUE.name())),
+                eq(Set.of(88L)), eq(Set.of(-1L)), eq(NOW));
+        // Jamais de clôture à l'échelle de l'organisation en passe incrémentale.
+        verify(repository, never()).closeUnseen(any(), anyCollection(), any());
+    }
+
+    @Test
+    void whenADirtySourceFails_thenNothingIsClosedOnItsSubjects() {
+        final FakeSource failing = new FakeSource(Set.of(ActionItemKind.BALANCE_DUE),
+                ActionItemSource.Scope.BUSINESS, List.of(), true);
+
+        reconciler(failing).reconcileDirty(ORG,
+                Map.of(failing, new ActionItemDirtyKeys(Set.of(88L), Set.of())));
+
+        verify(repository, never()).closeUnseenForSubjects(any(), anyCollection(), anyCollection(),
+                anyCollection(), any());
+    }
+
     private static Collection<String> argThat(java.util.function.Predicate<Collection<String>> p) {
         return org.mockito.ArgumentMatchers.argThat(p::test);
     }
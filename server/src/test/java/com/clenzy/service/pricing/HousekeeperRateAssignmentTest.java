@@ -7,6 +7,7 @@ import com.clenzy.service.pricing.CleaningPricingEngine.CleaningPriceSource;
 import com.clenzy.service.pricing.CleaningPricingEngine.CleaningQuote;
 import com.clenzy.service.pricing.CleaningPricingEngine.ResolvedCleaningPrice;
 import com.clenzy.tenant.TenantContext;
+import com.clenzy.testkit.TestOrganizationSettings;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -175,7 +176,8 @@ class HousekeeperRateAssignmentTest {
             return new ServiceRequestService(serviceRequestRepository, userRepository, propertyRepository,
                     interventionRepository, reservationRepository, teamRepository, notificationService,
                     propertyTeamService, kafkaTemplate, new TenantContext(), serviceRequestMapper,
-                    assignmentEventRepository, workflowSettingsRepository, cleaningPricingEngine, housekeeperScoreService,
+                    assignmentEventRepository, TestOrganizationSettings.provider(workflowSettingsRepository),
+                    cleaningPricingEngine, housekeeperScoreService,
                     supervisionSuggestionService, supervisionAutoApplyService, autoApplyGate,
                     organizationAccessGuard);
         }
@@ -197,4 +197,41 @@ class ArchivalServiceTest {
             verify(objectStorageClient, never()).putArchive(anyString(), any(), anyString());
         }
     }
+
+    @Nested
+    @DisplayName("segments (source fournie par l'appelant)")
+    class Segments {
+
+        @Test
+        @DisplayName("archiveSegment -> cles prefixees par le segment, sans source enregistree")
+        void exportsUnderSegmentPrefix() {
+            when(objectStorageClient.isArchiveConfigured()).thenReturn(true);
+            lenient().when(objectStorageClient.archiveBucket()).thenReturn("clenzy-cold-archive");
+
+            final ArchivalService service = new ArchivalService(
+                    props(true, target()), objectStorageClient, objectMapper, List.of());
+
+            final ArchivalResult result = service.archiveSegment(TARGET, "2024_01", sourceWithTwoRows());
+
+            final ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+            verify(objectStorageClient).putArchive(keyCaptor.capture(), any(), anyString());
+            assertThat(keyCaptor.getValue()).isEqualTo("archive/" + TARGET + "/2024_01/page-000000.ndjson")
+                    .isEqualTo(ArchivalService.archiveKey(TARGET, "2024_01", 0));
+            assertThat(result.executed()).isTrue();
+            assertThat(result.records()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("archiveSegment respecte les memes verrous (desactive -> no-op)")
+        void segmentHonoursDisabledFlag() {
+            final ArchivalService service = new ArchivalService(
+                    props(false, target()), objectStorageClient, objectMapper, List.of());
+
+            final ArchivalResult result = service.archiveSegment(TARGET, "2024_01", sourceWithTwoRows());
+
+            assertThat(result.executed()).isFalse();
+            assertThat(result.reason()).isEqualTo("archival-disabled");
+            verify(objectStorageClient, never()).putArchive(anyString(), any(), anyString());
+        }
+    }
 }
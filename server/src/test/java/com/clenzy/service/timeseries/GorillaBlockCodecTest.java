@@ -0,0 +1,67 @@
+package com.clenzy.service.timeseries;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GorillaBlockCodecTest {
+
+    private static final long HOUR = 1_773_180_000L;
+
+    @Test
+    @DisplayName("empty block round-trips")
+    void emptyBlock() {
+        assertThat(GorillaBlockCodec.decode(GorillaBlockCodec.encode(List.of()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("regular one-minute polling of a stable level compresses to a few bytes per sample")
+    void regularStableSeries_compressesWell() {
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            samples.add(new Sample(HOUR + i * 60L, i % 10 == 0 ? 48.5 : 42.0));
+        }
+
+        byte[] payload = GorillaBlockCodec.encode(samples);
+
+        assertThat(GorillaBlockCodec.decode(payload)).containsExactlyElementsOf(samples);
+        assertThat(payload.length).isLessThan(60 * 16 / 4);
+    }
+
+    @Test
+    @DisplayName("irregular timestamps and arbitrary doubles round-trip exactly")
+    void irregularSeries_roundTrips() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<Sample> samples = new ArrayList<>();
+            long ts = HOUR;
+            int size = 1 + random.nextInt(200);
+            for (int i = 0; i < size; i++) {
+                ts += 1 + switch (random.nextInt(4)) {
+                    case 0 -> 59;
+                    case 1 -> random.nextInt(300);
+                    case 2 -> random.nextInt(5000);
+                    default -> random.nextInt(1_000_000);
+                };
+                double value = random.nextBoolean() ? Math.round(random.nextDouble() * 1200) / 10.0 : random.nextGaussian();
+                samples.add(new Sample(ts, value));
+            }
+
+            assertThat(GorillaBlockCodec.decode(GorillaBlockCodec.encode(samples))).containsExactlyElementsOf(samples);
+        }
+    }
+
+    @Test
+    @DisplayName("non increasing timestamps are rejected")
+    void nonIncreasingTimestamps_rejected() {
+        List<Sample> samples = List.of(new Sample(HOUR + 60, 40.0), new Sample(HOUR + 60, 41.0));
+
+        assertThatThrownBy(() -> GorillaBlockCodec.encode(samples)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,185 @@
+package com.clenzy.service.timeseries;
+
+import com.clenzy.repository.SensorSeriesJdbcRepository;
+import com.clenzy.repository.SensorSeriesJdbcRepository.BlockRow;
+import com.clenzy.repository.SensorSeriesJdbcRepository.RollupRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SensorTimeSeriesStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T22:00:00Z");
+    private static final long BLOCK = NOW.getEpochSecond() - 3600; // 21:00
+    private static final SeriesKey KEY = SeriesKey.noise(10L, 100L);
+
+    @Mock private SensorSeriesJdbcRepository repository;
+
+    private SensorTimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SensorTimeSeriesStore(repository, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static BlockRow block(long blockStart, List<Sample> samples) {
+        return new BlockRow(blockStart, samples.size(), samples.get(0).epochSecond(),
+                samples.get(samples.size() - 1).epochSecond(), 0, 0, GorillaBlockCodec.encode(samples));
+    }
+
+    @Nested
+    @DisplayName("append")
+    class Append {
+
+        @Test
+        void mergesWithExistingBlock_andReplacesDuplicateTimestamps() {
+            when(repository.findBlock(KEY, BLOCK)).thenReturn(Optional.of(block(BLOCK, List.of(
+                    new Sample(BLOCK + 60, 40.0), new Sample(BLOCK + 120, 41.0)))));
+
+            int accepted = store.append(KEY, List.of(
+                    new Sample(BLOCK + 120, 50.0), new Sample(BLOCK + 180, 60.0), new Sample(BLOCK + 240, Double.NaN)));
+
+            assertThat(accepted).isEqualTo(2);
+            ArgumentCaptor<BlockRow> written = ArgumentCaptor.forClass(BlockRow.class);
+            verify(repository).upsertBlock(eq(KEY), written.capture());
+            assertThat(GorillaBlockCodec.decode(written.getValue().payload())).containsExactly(
+                    new Sample(BLOCK + 60, 40.0), new Sample(BLOCK + 120, 50.0), new Sample(BLOCK + 180, 60.0));
+            assertThat(written.getValue().minValue()).isEqualTo(40.0);
+            assertThat(written.getValue().maxValue()).isEqualTo(60.0);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void recomputesOnlyTouchedRollupBuckets() {
+            when(repository.findBlock(KEY, BLOCK)).thenReturn(Optional.empty());
+
+            store.append(KEY, List.of(new Sample(BLOCK + 10, 40.0), new Sample(BLOCK + 50, 60.0),
+                    new Sample(BLOCK + 1000, 70.0)));
+
+            ArgumentCaptor<List<RollupRow>> minute = ArgumentCaptor.forClass(List.class);
+            verify(repository).upsertRollups(eq(KEY), eq("1m"), minute.capture());
+            assertThat(minute.getValue()).containsExactly(
+                    new RollupRow(BLOCK, 2, 40.0, 60.0, 100.0, 60.0),
+                    new RollupRow(BLOCK + 960, 1, 70.0, 70.0, 70.0, 70.0));
+
+            ArgumentCaptor<List<RollupRow>> hour = ArgumentCaptor.forClass(List.class);
+            verify(repository).upsertRollups(eq(KEY), eq("1h"), hour.capture());
+            assertThat(hour.getValue()).containsExactly(new RollupRow(BLOCK, 3, 40.0, 70.0, 170.0, 70.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("sustainedLevel")
+    class SustainedLevel {
+
+        @Test
+        void returnsLowestLevelHeldOverWindow_includingValueAtWindowStart() {
+            long windowStart = NOW.getEpochSecond() - 600;
+            when(repository.findBlocks(eq(KEY), anyLong(), anyLong())).thenReturn(List.of(block(BLOCK, List.of(
+                    new Sample(windowStart - 120, 75.0),
+                    new Sample(windowStart + 120, 90.0),
+                    new Sample(windowStart + 420, 82.0)))));
+
+            assertThat(store.sustainedLevel(KEY, Duration.ofMinutes(10), NOW)).hasValue(75.0);
+        }
+
+        @Test
+        void isEmptyWhenNothingKnownAtWindowStart() {
+            long windowStart = NOW.getEpochSecond() - 600;
+            when(repository.findBlocks(eq(KEY), anyLong(), anyLong())).thenReturn(List.of(block(BLOCK, List.of(
+                    new Sample(windowStart + 120, 90.0)))));
+
+            assertThat(store.sustainedLevel(KEY, Duration.ofMinutes(10), NOW)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("history")
+    class History {
+
+        @Test
+        void shortRecentRange_servedRaw() {
+            assertThat(store.resolutionFor(NOW.minus(Duration.ofHours(2)), NOW)).isEqualTo(Resolution.RAW);
+        }
+
+        @Test
+        void longerRanges_servedFromRollups() {
+            assertThat(store.resolutionFor(NOW.minus(Duration.ofDays(1)), NOW)).isEqualTo(Resolution.MINUTE);
+            assertThat(store.resolutionFor(NOW.minus(Duration.ofDays(20)), NOW)).isEqualTo(Resolution.QUARTER_HOUR);
+            assertThat(store.resolutionFor(NOW.minus(Duration.ofDays(120)), NOW)).isEqualTo(Resolution.HOUR);
+            // Plage courte mais au-dela de la retention brute : agregats.
+            Instant old = NOW.minus(Duration.ofDays(5));
+            assertThat(store.resolutionFor(old, old.plus(Duration.ofHours(1)))).isEqualTo(Resolution.MINUTE);
+        }
+
+        @Test
+        void rollupPointsAreBucketAverages() {
+            Instant from = NOW.minus(Duration.ofDays(1));
+            when(repository.findRollups(eq(KEY), eq("1m"), anyLong(), anyLong()))
+                    .thenReturn(List.of(new RollupRow(BLOCK, 4, 40.0, 60.0, 200.0, 55.0)));
+
+            assertThat(store.history(KEY, from, NOW)).containsExactly(new Sample(BLOCK, 50.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("couverture du polling")
+    class PollCoverage {
+
+        private void polled(Instant from, Instant until) {
+            when(repository.findPollCoverage(KEY)).thenReturn(Optional.of(
+                    new SensorSeriesJdbcRepository.PollCoverageRow(from.getEpochSecond(), until.getEpochSecond())));
+        }
+
+        @Test
+        void seriesNeverPolled_isNotCovered_evenWithWebhookSamples() {
+            when(repository.findPollCoverage(KEY)).thenReturn(Optional.empty());
+
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofHours(2)), NOW)).isFalse();
+            assertThat(store.polledUntil(KEY)).isEmpty();
+        }
+
+        @Test
+        void rangeInsidePolledInterval_isCovered_upToFreshnessTolerance() {
+            polled(NOW.minus(Duration.ofDays(2)), NOW.minus(Duration.ofMinutes(4)));
+
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofDays(1)), NOW)).isTrue();
+            // Fin dans le futur : bornee a maintenant.
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofHours(1)), NOW.plus(Duration.ofHours(1)))).isTrue();
+            assertThat(store.polledUntil(KEY)).contains(NOW.minus(Duration.ofMinutes(4)));
+        }
+
+        @Test
+        void rangeStartingBeforePolling_orPollingStale_isNotCovered() {
+            polled(NOW.minus(Duration.ofDays(2)), NOW.minus(Duration.ofMinutes(30)));
+
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofDays(3)), NOW.minus(Duration.ofDays(1)))).isFalse();
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofHours(1)), NOW)).isFalse();
+            assertThat(store.isPolledRange(KEY, NOW.minus(Duration.ofHours(2)), NOW.minus(Duration.ofHours(1)))).isTrue();
+        }
+
+        @Test
+        void recordPolled_storesEpochSecondBounds() {
+            store.recordPolled(KEY, NOW.minusSeconds(300), NOW);
+
+            verify(repository).recordPoll(KEY, NOW.getEpochSecond() - 300, NOW.getEpochSecond());
+        }
+    }
+}
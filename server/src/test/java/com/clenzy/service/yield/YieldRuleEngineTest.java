@@ -9,6 +9,8 @@ import com.clenzy.model.YieldOrgConfig;
 import com.clenzy.model.YieldRule;
 import com.clenzy.repository.CalendarDayRepository;
 import com.clenzy.repository.PropertyRepository;
+import com.clenzy.repository.RateOverrideJdbcRepository;
+import com.clenzy.repository.RateOverrideJdbcRepository.OverrideRow;
 import com.clenzy.repository.RateOverrideRepository;
 import com.clenzy.repository.YieldAdjustmentRepository;
 import com.clenzy.repository.YieldOrgConfigRepository;
@@ -18,6 +20,7 @@ import com.clenzy.service.SearchCacheInvalidator;
 import com.clenzy.service.agent.supervision.SupervisionActionType;
 import com.clenzy.service.agent.supervision.SupervisionActivityService;
 import com.clenzy.service.agent.supervision.SupervisionSuggestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,6 +36,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +69,7 @@ class YieldRuleEngineTest {
     @Mock private PropertyRepository propertyRepository;
     @Mock private CalendarDayRepository calendarDayRepository;
     @Mock private RateOverrideRepository rateOverrideRepository;
+    @Mock private RateOverrideJdbcRepository rateOverrideJdbcRepository;
     @Mock private PriceEngine priceEngine;
     @Mock private SupervisionSuggestionService suggestionService;
     @Mock private SupervisionActivityService activityService;
@@ -76,6 +81,8 @@ class YieldRuleEngineTest {
 
     private final Clock clock = Clock.fixed(Instant.parse("2026-07-03T08:00:00Z"), ZoneId.of("UTC"));
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private YieldRuleEngine engine;
     private Property property;
     private YieldRule rule;
@@ -84,10 +91,12 @@ class YieldRuleEngineTest {
     @BeforeEach
     void setUp() {
         lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Étapes parallèles exécutées sur le thread du test (déterminisme des vérifications).
         engine = new YieldRuleEngine(configRepository, yieldRuleRepository, journalRepository,
                 propertyRepository, calendarDayRepository, rateOverrideRepository,
-                priceEngine, suggestionService, activityService, searchCacheInvalidator,
-                clock, AUTO_HITL_PCT, transactionManager);
+                rateOverrideJdbcRepository, priceEngine, suggestionService, activityService,
+                searchCacheInvalidator, meterRegistry, clock, AUTO_HITL_PCT, transactionManager,
+                Runnable::run);
 
         property = new Property();
         property.setId(PROPERTY_ID);
@@ -120,14 +129,15 @@ class YieldRuleEngineTest {
         when(yieldRuleRepository.findActiveV1ByOrganization(ORG_ID)).thenReturn(List.of(rule));
         when(propertyRepository.findByOrganizationIdAndStatus(ORG_ID, PropertyStatus.ACTIVE))
                 .thenReturn(List.of(property));
-        lenient().when(journalRepository.existsByPropertyIdAndAdjustmentDayAndSkipReasonIsNull(
-                PROPERTY_ID, TODAY)).thenReturn(false);
-        lenient().when(calendarDayRepository.findBookedDatesInRange(
-                PROPERTY_ID, TODAY, TODAY.plusDays(10), ORG_ID)).thenReturn(bookedDates);
+        lenient().when(journalRepository.findPropertyIdsEvaluatedOn(List.of(PROPERTY_ID), TODAY))
+                .thenReturn(List.of());
+        lenient().when(calendarDayRepository.findBookedDatesByPropertyIds(
+                List.of(PROPERTY_ID), TODAY, TODAY.plusDays(10), ORG_ID))
+                .thenReturn(bookedRows(PROPERTY_ID, bookedDates));
         // Batch (audit perf P1-2) : overrides + prix de la fenêtre préchargés
         // en une passe — pas d'override existant par défaut, prix uniforme.
-        lenient().when(rateOverrideRepository.findByPropertyIdAndDateRange(
-                        eq(PROPERTY_ID), any(), any(), eq(ORG_ID)))
+        lenient().when(rateOverrideRepository.findByPropertyIdsAndDateRange(
+                        eq(List.of(PROPERTY_ID)), any(), any(), eq(ORG_ID)))
                 .thenReturn(List.of());
         lenient().when(priceEngine.resolvePriceRange(eq(PROPERTY_ID), any(), any(), eq(ORG_ID)))
                 .thenReturn(windowPrices(nightlyPrice));
@@ -142,6 +152,20 @@ class YieldRuleEngineTest {
         return prices;
     }
 
+    /** Lignes {@code [propertyId, date]} telles que renvoyées par la requête batch d'occupation. */
+    private static List<Object[]> bookedRows(Long propertyId, List<LocalDate> dates) {
+        List<Object[]> rows = new ArrayList<>();
+        dates.forEach(date -> rows.add(new Object[] {propertyId, date}));
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OverrideRow> capturedOverrideRows() {
+        ArgumentCaptor<List<OverrideRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rateOverrideJdbcRepository).upsertSameSource(captor.capture());
+        return captor.getValue();
+    }
+
     @SuppressWarnings("unchecked")
     private List<YieldAdjustment> capturedJournalLines() {
         ArgumentCaptor<List<YieldAdjustment>> captor = ArgumentCaptor.forClass(List.class);
@@ -170,8 +194,7 @@ class YieldRuleEngineTest {
             assertThat(line.getSkipReason()).isNull();
         });
         // SIMULATION : zéro écriture tarifaire, zéro suggestion
-        verify(rateOverrideRepository, never()).save(any());
-        verifyNoInteractions(suggestionService, searchCacheInvalidator);
+        verifyNoInteractions(rateOverrideJdbcRepository, suggestionService, searchCacheInvalidator);
     }
 
     @Test
@@ -203,7 +226,7 @@ class YieldRuleEngineTest {
 
         verify(journalRepository, never()).saveAll(any());
         verify(journalRepository, never()).save(any());
-        verify(rateOverrideRepository, never()).save(any());
+        verifyNoInteractions(rateOverrideJdbcRepository, priceEngine);
     }
 
     // ── Bornes plancher / plafond ───────────────────────────────────────────
@@ -245,11 +268,13 @@ class YieldRuleEngineTest {
 
         engine.evaluateOrganization(ORG_ID);
 
-        ArgumentCaptor<YieldAdjustment> captor = ArgumentCaptor.forClass(YieldAdjustment.class);
-        verify(journalRepository).save(captor.capture());
-        assertThat(captor.getValue().getSkipReason()).isEqualTo(YieldAdjustment.SKIP_NO_BOUNDS);
-        assertThat(captor.getValue().getTargetDate()).isNull();
-        verifyNoInteractions(priceEngine, rateOverrideRepository, suggestionService);
+        List<YieldAdjustment> lines = capturedJournalLines();
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.getSkipReason()).isEqualTo(YieldAdjustment.SKIP_NO_BOUNDS);
+            assertThat(line.getTargetDate()).isNull();
+        });
+        verifyNoInteractions(calendarDayRepository, priceEngine, rateOverrideRepository,
+                rateOverrideJdbcRepository, suggestionService);
     }
 
     // ── Cap journalier ──────────────────────────────────────────────────────
@@ -260,16 +285,15 @@ class YieldRuleEngineTest {
         when(yieldRuleRepository.findActiveV1ByOrganization(ORG_ID)).thenReturn(List.of(rule));
         when(propertyRepository.findByOrganizationIdAndStatus(ORG_ID, PropertyStatus.ACTIVE))
                 .thenReturn(List.of(property));
-        when(journalRepository.existsByPropertyIdAndAdjustmentDayAndSkipReasonIsNull(
-                PROPERTY_ID, TODAY)).thenReturn(true); // un run a déjà eu lieu aujourd'hui
+        when(journalRepository.findPropertyIdsEvaluatedOn(List.of(PROPERTY_ID), TODAY))
+                .thenReturn(List.of(PROPERTY_ID)); // un run a déjà eu lieu aujourd'hui
 
         engine.evaluateOrganization(ORG_ID);
 
-        ArgumentCaptor<YieldAdjustment> captor = ArgumentCaptor.forClass(YieldAdjustment.class);
-        verify(journalRepository).save(captor.capture());
-        assertThat(captor.getValue().getSkipReason())
-                .isEqualTo(YieldAdjustment.SKIP_DAILY_CAP_REACHED);
-        verifyNoInteractions(priceEngine, rateOverrideRepository, suggestionService);
+        assertThat(capturedJournalLines()).singleElement().satisfies(line ->
+                assertThat(line.getSkipReason()).isEqualTo(YieldAdjustment.SKIP_DAILY_CAP_REACHED));
+        verifyNoInteractions(calendarDayRepository, priceEngine, rateOverrideRepository,
+                rateOverrideJdbcRepository, suggestionService);
     }
 
     // ── Modes SUGGEST et AUTO ───────────────────────────────────────────────
@@ -292,8 +316,7 @@ class YieldRuleEngineTest {
             assertThat(line.getSuggestionId()).isEqualTo(99L);
         });
         // SUGGEST : aucune écriture tarifaire tant que l'opérateur n'applique pas
-        verify(rateOverrideRepository, never()).save(any());
-        verifyNoInteractions(searchCacheInvalidator);
+        verifyNoInteractions(rateOverrideJdbcRepository, searchCacheInvalidator);
     }
 
     @Test
@@ -307,7 +330,7 @@ class YieldRuleEngineTest {
         engine.evaluateOrganization(ORG_ID);
 
         verify(journalRepository, never()).saveAll(any());
-        verify(rateOverrideRepository, never()).save(any());
+        verifyNoInteractions(rateOverrideJdbcRepository);
     }
 
     @Test
@@ -317,15 +340,17 @@ class YieldRuleEngineTest {
 
         engine.evaluateOrganization(ORG_ID);
 
-        ArgumentCaptor<RateOverride> overrideCaptor = ArgumentCaptor.forClass(RateOverride.class);
-        verify(rateOverrideRepository, org.mockito.Mockito.times(10)).save(overrideCaptor.capture());
-        assertThat(overrideCaptor.getAllValues()).allSatisfy(override -> {
-            assertThat(override.getNightlyPrice()).isEqualByComparingTo("92.00");
-            assertThat(override.getSource()).isEqualTo("YIELD_RULE");
+        // Upsert batché : une seule écriture pour les 10 nuits du bien.
+        List<OverrideRow> rows = capturedOverrideRows();
+        assertThat(rows).hasSize(10);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.nightlyPrice()).isEqualByComparingTo("92.00");
+            assertThat(row.source()).isEqualTo("YIELD_RULE");
+            assertThat(row.organizationId()).isEqualTo(ORG_ID);
         });
         assertThat(capturedJournalLines()).allSatisfy(line ->
                 assertThat(line.getMode()).isEqualTo(YieldAdjustment.Mode.APPLIED));
-        verify(searchCacheInvalidator).onAvailabilityOrPriceChanged();
+        verify(searchCacheInvalidator).onAvailabilityOrPriceChanged(ORG_ID);
         // R1 : l'agent Revenue émet un feed « En direct » sur application AUTO.
         verify(activityService).recordModuleAct(eq(ORG_ID), eq(PROPERTY_ID),
                 eq("rev"), eq("yield_price_adjusted"), anyString());
@@ -347,7 +372,7 @@ class YieldRuleEngineTest {
         engine.evaluateOrganization(ORG_ID);
 
         // Pas d'écriture tarifaire ni de feed « action faite » : c'est une proposition.
-        verify(rateOverrideRepository, never()).save(any());
+        verifyNoInteractions(rateOverrideJdbcRepository);
         verify(activityService, never()).recordModuleAct(anyLong(), anyLong(), anyString(),
                 anyString(), anyString());
         verify(suggestionService).recordActionableWithId(eq(ORG_ID), eq(PROPERTY_ID), anyString(),
@@ -363,18 +388,73 @@ class YieldRuleEngineTest {
         config.setMode(YieldMode.AUTO);
         stubHappyPath(List.of(), new BigDecimal("100.00"));
         RateOverride manual = new RateOverride(property, TODAY, new BigDecimal("150.00"), "MANUAL", ORG_ID);
-        when(rateOverrideRepository.findByPropertyIdAndDateRange(
-                        eq(PROPERTY_ID), any(), any(), eq(ORG_ID)))
+        when(rateOverrideRepository.findByPropertyIdsAndDateRange(
+                        eq(List.of(PROPERTY_ID)), any(), any(), eq(ORG_ID)))
                 .thenReturn(List.of(manual));
 
         engine.evaluateOrganization(ORG_ID);
 
         // 9 nuits ajustées (la nuit sous override MANUAL est intouchée)
-        verify(rateOverrideRepository, org.mockito.Mockito.times(9)).save(any());
+        assertThat(capturedOverrideRows()).hasSize(9)
+                .noneSatisfy(row -> assertThat(row.date()).isEqualTo(TODAY));
         assertThat(manual.getNightlyPrice()).isEqualByComparingTo("150.00");
         assertThat(manual.getSource()).isEqualTo("MANUAL");
     }
 
+    // ── Run batché multi-biens ──────────────────────────────────────────────
+
+    @Test
+    void whenOrgHasSeveralProperties_thenOccupancyIsLoadedInOneQueryAndStagesAreTimed() {
+        Property second = new Property();
+        second.setId(8L);
+        second.setOrganizationId(ORG_ID);
+        second.setName("Studio Baitly");
+        second.setTimezone("Europe/Paris");
+        second.setYieldPriceFloor(new BigDecimal("50.00"));
+        second.setYieldPriceCeiling(new BigDecimal("200.00"));
+        when(configRepository.findByOrganizationId(ORG_ID)).thenReturn(Optional.of(config));
+        when(yieldRuleRepository.findActiveV1ByOrganization(ORG_ID)).thenReturn(List.of(rule));
+        when(propertyRepository.findByOrganizationIdAndStatus(ORG_ID, PropertyStatus.ACTIVE))
+                .thenReturn(List.of(property, second));
+        when(journalRepository.findPropertyIdsEvaluatedOn(List.of(PROPERTY_ID, 8L), TODAY))
+                .thenReturn(List.of());
+        // Bien 7 : 0 % → déclenché ; bien 8 : 5/10 = 50 % → pas de déclenchement.
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(new Object[] {8L, TODAY.plusDays(i)});
+        }
+        when(calendarDayRepository.findBookedDatesByPropertyIds(
+                List.of(PROPERTY_ID, 8L), TODAY, TODAY.plusDays(10), ORG_ID)).thenReturn(rows);
+        when(rateOverrideRepository.findByPropertyIdsAndDateRange(
+                List.of(PROPERTY_ID), TODAY, TODAY.plusDays(10), ORG_ID)).thenReturn(List.of());
+        when(priceEngine.resolvePriceRange(PROPERTY_ID, TODAY, TODAY.plusDays(10), ORG_ID))
+                .thenReturn(windowPrices(new BigDecimal("100.00")));
+
+        engine.evaluateOrganization(ORG_ID);
+
+        assertThat(capturedJournalLines()).hasSize(10)
+                .allSatisfy(line -> assertThat(line.getPropertyId()).isEqualTo(PROPERTY_ID));
+        verify(priceEngine, never()).resolvePriceRange(eq(8L), any(), any(), any());
+        assertThat(meterRegistry.find("clenzy.yield.stage").timers())
+                .extracting(timer -> timer.getId().getTag("stage"))
+                .containsExactlyInAnyOrder("load", "evaluate", "pricing", "plan", "write");
+    }
+
+    @Test
+    void whenPriceResolutionFails_thenOnlyThatPropertyIsJournaledAsError() {
+        stubHappyPath(List.of(), new BigDecimal("100.00"));
+        when(priceEngine.resolvePriceRange(eq(PROPERTY_ID), any(), any(), eq(ORG_ID)))
+                .thenThrow(new IllegalStateException("cascade indisponible"));
+
+        engine.evaluateOrganization(ORG_ID);
+
+        assertThat(capturedJournalLines()).singleElement().satisfies(line -> {
+            assertThat(line.getSkipReason()).isEqualTo(YieldAdjustment.SKIP_EVALUATION_ERROR);
+            assertThat(line.getReason()).isEqualTo("cascade indisponible");
+        });
+        verifyNoInteractions(rateOverrideJdbcRepository, suggestionService);
+    }
+
     // ── Kill-switch ─────────────────────────────────────────────────────────
 
     @Test
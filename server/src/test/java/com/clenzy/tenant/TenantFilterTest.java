@@ -4,9 +4,10 @@ import com.clenzy.model.Organization;
 import com.clenzy.model.OrganizationType;
 import com.clenzy.model.User;
 import com.clenzy.model.UserRole;
-import com.clenzy.repository.FiscalProfileRepository;
 import com.clenzy.repository.OrganizationRepository;
 import com.clenzy.repository.UserRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
+import com.clenzy.service.OrganizationSettingsSnapshot;
 import jakarta.persistence.EntityManager;
 import org.hibernate.Filter;
 import org.hibernate.Session;
@@ -41,7 +42,7 @@ class TenantFilterTest {
     private OrganizationRepository organizationRepository;
 
     @Mock
-    private FiscalProfileRepository fiscalProfileRepository;
+    private OrganizationSettingsProvider settingsProvider;
 
     @Mock
     private EntityManager entityManager;
@@ -68,7 +69,7 @@ class TenantFilterTest {
     void setUp() {
         tenantContext = new TenantContext();
         tenantFilter = new TenantFilter(userRepository, organizationRepository,
-                fiscalProfileRepository, entityManager, redisTemplate, tenantContext);
+                settingsProvider, entityManager, redisTemplate, tenantContext);
 
         lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
         lenient().when(session.enableFilter("organizationFilter")).thenReturn(hibernateFilter);
@@ -190,6 +191,33 @@ class TenantFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilter_cacheHit_fiscalContextServedBySettingsSnapshot() throws Exception {
+        String keycloakId = "cached-user";
+        Long orgId = 2L;
+        setupJwtAuth(keycloakId);
+
+        when(valueOperations.get("tenant:" + keycloakId)).thenReturn(new TenantFilter.TenantInfo(orgId, false, false));
+        when(settingsProvider.fiscal(orgId)).thenReturn(Optional.of(
+                new OrganizationSettingsSnapshot.Fiscal("MA", "MAD", false)));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setRequestURI("/api/properties");
+
+        String[] captured = {null, null};
+        doAnswer(inv -> {
+            captured[0] = tenantContext.getCountryCode();
+            captured[1] = tenantContext.getDefaultCurrency();
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        tenantFilter.doFilter(request, response, filterChain);
+
+        assertEquals("MA", captured[0]);
+        assertEquals("MAD", captured[1]);
+    }
+
     @Test
     void doFilter_userNotInDb_orgScopedPath_thenRefused403() throws Exception {
         // Z2-SEC-05 : plus de fallback implicite sur l'unique org existante —
@@ -0,0 +1,30 @@
+package com.clenzy.testkit;
+
+import com.clenzy.repository.FiscalProfileRepository;
+import com.clenzy.repository.WorkflowSettingsRepository;
+import com.clenzy.service.OrganizationSettingsProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+
+/**
+ * {@link OrganizationSettingsProvider} reel adosse aux repositories (mocks) du test :
+ * les stubs {@code findByOrganizationId} existants pilotent l'instantane, sans
+ * diffusion Redis.
+ */
+public final class TestOrganizationSettings {
+
+    private TestOrganizationSettings() {
+    }
+
+    public static OrganizationSettingsProvider provider(WorkflowSettingsRepository workflowSettingsRepository) {
+        return provider(workflowSettingsRepository, Mockito.mock(FiscalProfileRepository.class));
+    }
+
+    public static OrganizationSettingsProvider provider(WorkflowSettingsRepository workflowSettingsRepository,
+                                                        FiscalProfileRepository fiscalProfileRepository) {
+        return new OrganizationSettingsProvider(workflowSettingsRepository, fiscalProfileRepository,
+                (cacheName, key) -> { }, new SimpleMeterRegistry(), Clock.systemUTC(), 600);
+    }
+}